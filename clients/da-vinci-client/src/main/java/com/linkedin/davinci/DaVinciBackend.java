@@ -318,7 +318,9 @@ public class DaVinciBackend implements Closeable {
             backendConfig.getBlobTransferPeersConnectivityFreshnessInSeconds(),
             backendConfig.getBlobTransferClientReadLimitBytesPerSec(),
             backendConfig.getBlobTransferServiceWriteLimitBytesPerSec(),
-            backendConfig.getSnapshotCleanupIntervalInMins());
+            backendConfig.getSnapshotCleanupIntervalInMins(),
+            backendConfig.getBlobReceiveParallelConnectionCount(),
+            backendConfig.getBlobReceiveMaxPeerCount());
 
         blobTransferManager = new BlobTransferManagerBuilder().setBlobTransferConfig(p2PBlobTransferConfig)
             .setClientConfig(clientConfig)
@@ -11,6 +11,7 @@ import com.linkedin.davinci.storage.chunking.AbstractAvroChunkingAdapter;
 import com.linkedin.davinci.store.StorageEngine;
 import com.linkedin.venice.client.store.streaming.StreamingCallback;
 import com.linkedin.venice.compression.VeniceCompressor;
+import com.linkedin.venice.compute.ComputeFilter;
 import com.linkedin.venice.compute.ComputeRequestWrapper;
 import com.linkedin.venice.compute.ComputeUtils;
 import com.linkedin.venice.exceptions.VeniceException;
@@ -251,6 +252,30 @@ public class VersionBackend {
         compressor.get());
   }
 
+  /**
+   * Batch variant of {@link #read} for keys which all belong to the same partition.
+   *
+   * @return a list aligned with {@param keys}, containing null for the keys which do not exist.
+   */
+  public <V> List<V> multiRead(
+      int userPartition,
+      List<byte[]> keys,
+      AbstractAvroChunkingAdapter<V> chunkingAdaptor,
+      StoreDeserializerCache<V> storeDeserializerCache,
+      int readerSchemaId,
+      BinaryDecoder binaryDecoder) {
+    return chunkingAdaptor.multiGet(
+        getStorageEngineOrThrow(),
+        userPartition,
+        keys,
+        binaryDecoder,
+        version.isChunkingEnabled(),
+        NoOpReadResponseStats.SINGLETON,
+        readerSchemaId,
+        storeDeserializerCache,
+        compressor.get());
+  }
+
   public GenericRecord compute(
       int userPartition,
       byte[] keyBytes,
@@ -277,6 +302,11 @@ public class VersionBackend {
         storeDeserializerCache,
         compressor.get());
 
+    ComputeFilter filter = computeRequestWrapper.getFilter();
+    if (reusableValueRecord != null && filter != null && !filter.test(reusableValueRecord)) {
+      // Like the servers do, report the records which do not match the filter without a result
+      return null;
+    }
     return ComputeUtils.computeResult(
         computeRequestWrapper.getOperations(),
         computeRequestWrapper.getOperationResultFields(),
@@ -301,6 +331,10 @@ public class VersionBackend {
         new StreamingCallback<GenericRecord, GenericRecord>() {
           @Override
           public void onRecordReceived(GenericRecord key, GenericRecord value) {
+            ComputeFilter filter = computeRequestWrapper.getFilter();
+            if (value != null && filter != null && !filter.test(value)) {
+              return;
+            }
             GenericRecord computeResult = ComputeUtils.computeResult(
                 computeRequestWrapper.getOperations(),
                 computeRequestWrapper.getOperationResultFields(),
@@ -2,6 +2,7 @@ package com.linkedin.davinci.blobtransfer;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.linkedin.alpini.base.concurrency.Executors;
+import com.linkedin.davinci.blobtransfer.BlobTransferUtils.BlobTransferRequestType;
 import com.linkedin.davinci.storage.StorageEngineRepository;
 import com.linkedin.davinci.storage.StorageMetadataService;
 import com.linkedin.davinci.store.AbstractStoragePartition;
@@ -15,11 +16,19 @@ import com.linkedin.venice.utils.DaemonThreadFactory;
 import com.linkedin.venice.utils.SparseConcurrentList;
 import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import com.linkedin.venice.utils.locks.AutoCloseableLock;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -37,8 +46,10 @@ public class BlobSnapshotManager {
   private static final Logger LOGGER = LogManager.getLogger(BlobSnapshotManager.class);
   private static final InternalAvroSpecificSerializer<StoreVersionState> storeVersionStateSerializer =
       AvroProtocolDefinition.STORE_VERSION_STATE.getSerializer();
-  private final static int DEFAULT_SNAPSHOT_RETENTION_TIME_IN_MIN = 30;
+  final static int DEFAULT_SNAPSHOT_RETENTION_TIME_IN_MIN = 30;
   public final static int DEFAULT_SNAPSHOT_CLEANUP_INTERVAL_IN_MINS = 120;
+  // Checksumming a snapshot reads it entirely, so a couple of threads keep up with the disk
+  private final static int SNAPSHOT_CHECKSUM_THREAD_COUNT = 2;
 
   // A map to keep track of the number of hosts using a snapshot for a particular topic and partition, use to restrict
   // concurrent user count
@@ -52,6 +63,10 @@ public class BlobSnapshotManager {
   // snapshot/offset consistency
   // Example: <topicName, <partitionId, offset>>
   private VeniceConcurrentHashMap<String, VeniceConcurrentHashMap<Integer, BlobTransferPartitionMetadata>> snapshotMetadataRecords;
+  // A map to keep track of the files of the snapshot for a particular topic and partition along with their checksums,
+  // which are computed once per snapshot
+  // Example: <topicName, <partitionId, snapshotFiles>>
+  private VeniceConcurrentHashMap<String, VeniceConcurrentHashMap<Integer, SnapshotFiles>> snapshotFiles;
 
   // Locks for coordinating access to each snapshot
   // Example: <topicName, <partitionId, lock>>
@@ -63,6 +78,7 @@ public class BlobSnapshotManager {
   private final int snapshotCleanupIntervalInMins;
   private final BlobTransferUtils.BlobTransferTableFormat blobTransferTableFormat;
   private final ScheduledExecutorService snapshotCleanupScheduler;
+  private final ExecutorService snapshotChecksumExecutor;
 
   /**
    * Constructor for the BlobSnapshotManager
@@ -73,6 +89,24 @@ public class BlobSnapshotManager {
       int snapshotRetentionTimeInMin,
       BlobTransferUtils.BlobTransferTableFormat transferTableFormat,
       int snapshotCleanupIntervalInMins) {
+    this(
+        storageEngineRepository,
+        storageMetadataService,
+        snapshotRetentionTimeInMin,
+        transferTableFormat,
+        snapshotCleanupIntervalInMins,
+        Executors.newFixedThreadPool(
+            SNAPSHOT_CHECKSUM_THREAD_COUNT,
+            new DaemonThreadFactory("Venice-BlobTransfer-Snapshot-Checksum")));
+  }
+
+  BlobSnapshotManager(
+      StorageEngineRepository storageEngineRepository,
+      StorageMetadataService storageMetadataService,
+      int snapshotRetentionTimeInMin,
+      BlobTransferUtils.BlobTransferTableFormat transferTableFormat,
+      int snapshotCleanupIntervalInMins,
+      ExecutorService snapshotChecksumExecutor) {
     this.storageEngineRepository = storageEngineRepository;
     this.storageMetadataService = storageMetadataService;
     this.snapshotRetentionTimeInMillis = TimeUnit.MINUTES.toMillis(snapshotRetentionTimeInMin);
@@ -82,6 +116,8 @@ public class BlobSnapshotManager {
     this.concurrentSnapshotUsers = new VeniceConcurrentHashMap<>();
     this.snapshotTimestamps = new VeniceConcurrentHashMap<>();
     this.snapshotMetadataRecords = new VeniceConcurrentHashMap<>();
+    this.snapshotFiles = new VeniceConcurrentHashMap<>();
+    this.snapshotChecksumExecutor = snapshotChecksumExecutor;
 
     this.snapshotAccessLocks = new VeniceConcurrentHashMap<>();
 
@@ -114,6 +150,8 @@ public class BlobSnapshotManager {
    *            1.1.1. if it does not have active users: recreate the snapshot and metadata, then return the metadata
    *            1.1.2. if it has active users: no need to recreate the snapshot, throw an exception to let the client move to next candidate.
    *     1.2. if not stale, directly return the metadata
+   * A file request fetches a file of the snapshot which a manifest was sent for, so it never recreates the snapshot,
+   * even if it's stale, and fails if there is none.
    *
    * @param payload the blob transfer payload
    * @param successCountedAsActiveCurrentUser Indicates whether this request has been successfully counted as an active user.
@@ -141,6 +179,12 @@ public class BlobSnapshotManager {
     ReentrantLock lock = getSnapshotLock(topicName, partitionId);
     try (AutoCloseableLock ignored = AutoCloseableLock.of(lock)) {
       initializeTrackingValues(topicName, partitionId);
+      boolean isFileRequest = payload.getRequestType() == BlobTransferRequestType.FILE;
+      if (isFileRequest && !snapshotTimestamps.get(topicName).containsKey(partitionId)) {
+        throw new VeniceException(
+            "No snapshot to fetch file " + payload.getRequestFileName() + " from for topic: " + topicName
+                + " partition: " + partitionId);
+      }
 
       boolean havingActiveUsers = getConcurrentSnapshotUsers(topicName, partitionId) > 0;
       boolean isSnapshotStale = isSnapshotStale(topicName, partitionId);
@@ -153,7 +197,14 @@ public class BlobSnapshotManager {
       // Even if creating a snapshot is fast, the stale snapshot may still be in use and transferring data for a
       // previous request.
       // If the transfer is taking too long, it's better not to wait; instead, let the client proceed to the next peer.
-      if (isSnapshotStale) {
+      if (isFileRequest) {
+        // A file request fetches from the snapshot which its manifest was sent for, so it never recreates it
+        LOGGER.debug(
+            "Fetching file {} of the snapshot for topic {} partition {}",
+            payload.getRequestFileName(),
+            topicName,
+            partitionId);
+      } else if (isSnapshotStale) {
         if (!havingActiveUsers) {
           recreateSnapshotAndMetadata(payload);
         } else {
@@ -174,6 +225,69 @@ public class BlobSnapshotManager {
     }
   }
 
+  /**
+   * Get the id of the current snapshot of a partition, which changes every time the snapshot gets recreated, so that
+   * the file requests can check they fetch from the snapshot their manifest lists. It's stable for as long as the
+   * caller is counted as an active user of the snapshot by {@link #getTransferMetadata}.
+   *
+   * @return the id of the snapshot, or -1 if there is none
+   */
+  public long getSnapshotId(String topicName, int partitionId) {
+    Map<Integer, Long> partitionTimestamps = snapshotTimestamps.get(topicName);
+    Long snapshotTimestamp = partitionTimestamps == null ? null : partitionTimestamps.get(partitionId);
+    return snapshotTimestamp == null ? -1 : snapshotTimestamp;
+  }
+
+  /**
+   * Get the files of the current snapshot of a partition, along with their size and checksum. The checksums are
+   * computed once per snapshot on a dedicated executor, so that neither the manifest nor the file requests read the
+   * snapshot on the calling thread. Must be called by a request counted as an active user of the snapshot by
+   * {@link #getTransferMetadata}, so that the snapshot can't be recreated meanwhile.
+   */
+  public CompletableFuture<List<BlobTransferFileInfo>> getSnapshotFileInfos(BlobTransferPayload payload) {
+    String topicName = payload.getTopicName();
+    int partitionId = payload.getPartition();
+    long snapshotId = getSnapshotId(topicName, partitionId);
+    ReentrantLock lock = getSnapshotLock(topicName, partitionId);
+    try (AutoCloseableLock ignored = AutoCloseableLock.of(lock)) {
+      SnapshotFiles files = snapshotFiles.computeIfAbsent(topicName, k -> new VeniceConcurrentHashMap<>())
+          .compute(
+              partitionId,
+              (k, current) -> current != null && current.snapshotId == snapshotId
+                  && !current.fileInfos.isCompletedExceptionally()
+                      ? current
+                      : new SnapshotFiles(
+                          snapshotId,
+                          CompletableFuture.supplyAsync(
+                              () -> computeFileInfos(payload.getSnapshotDir()),
+                              snapshotChecksumExecutor)));
+      return files.fileInfos;
+    }
+  }
+
+  private static List<BlobTransferFileInfo> computeFileInfos(String snapshotDir) {
+    File[] files = new File(snapshotDir).listFiles();
+    if (files == null) {
+      throw new VeniceException("Failed to access files at " + snapshotDir);
+    }
+    List<BlobTransferFileInfo> fileInfos = new ArrayList<>(files.length);
+    for (File file: files) {
+      if (!file.isFile()) {
+        continue;
+      }
+      try {
+        fileInfos.add(
+            new BlobTransferFileInfo(
+                file.getName(),
+                file.length(),
+                BlobTransferUtils.generateFileChecksum(file.toPath())));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return Collections.unmodifiableList(fileInfos);
+  }
+
   /**
    * Recreate a snapshot and metadata for both batch and hybrid store
    * and update the snapshot timestamp and metadata records
@@ -364,6 +478,7 @@ public class BlobSnapshotManager {
   public void removeTrackingValues(String topicName, int partitionId) {
     removePartitionEntry(snapshotTimestamps, topicName, partitionId);
     removePartitionEntry(snapshotMetadataRecords, topicName, partitionId);
+    removePartitionEntry(snapshotFiles, topicName, partitionId);
     removePartitionEntry(concurrentSnapshotUsers, topicName, partitionId);
     snapshotAccessLocks.computeIfPresent(topicName, (key, lockList) -> {
       lockList.remove(partitionId);
@@ -450,10 +565,25 @@ public class BlobSnapshotManager {
     concurrentSnapshotUsers.clear();
     snapshotTimestamps.clear();
     snapshotMetadataRecords.clear();
+    snapshotFiles.clear();
     snapshotAccessLocks.clear();
 
     if (snapshotCleanupScheduler != null) {
       snapshotCleanupScheduler.shutdown();
     }
+    snapshotChecksumExecutor.shutdownNow();
+  }
+
+  /**
+   * The files of a snapshot with their checksums, computed asynchronously.
+   */
+  private static class SnapshotFiles {
+    private final long snapshotId;
+    private final CompletableFuture<List<BlobTransferFileInfo>> fileInfos;
+
+    private SnapshotFiles(long snapshotId, CompletableFuture<List<BlobTransferFileInfo>> fileInfos) {
+      this.snapshotId = snapshotId;
+      this.fileInfos = fileInfos;
+    }
   }
 }
@@ -0,0 +1,74 @@
+package com.linkedin.davinci.blobtransfer;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Objects;
+
+
+/**
+ * This class describes a single file of a snapshot in the {@link BlobTransferManifest}
+ */
+public class BlobTransferFileInfo {
+  public String fileName;
+  public long fileSize;
+  public String fileChecksum;
+
+  public BlobTransferFileInfo() {
+  }
+
+  public BlobTransferFileInfo(
+      @JsonProperty("fileName") String fileName,
+      @JsonProperty("fileSize") long fileSize,
+      @JsonProperty("fileChecksum") String fileChecksum) {
+    this.fileName = fileName;
+    this.fileSize = fileSize;
+    this.fileChecksum = fileChecksum;
+  }
+
+  public String getFileName() {
+    return fileName;
+  }
+
+  public void setFileName(String fileName) {
+    this.fileName = fileName;
+  }
+
+  public long getFileSize() {
+    return fileSize;
+  }
+
+  public void setFileSize(long fileSize) {
+    this.fileSize = fileSize;
+  }
+
+  public String getFileChecksum() {
+    return fileChecksum;
+  }
+
+  public void setFileChecksum(String fileChecksum) {
+    this.fileChecksum = fileChecksum;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    BlobTransferFileInfo that = (BlobTransferFileInfo) o;
+    return fileSize == that.fileSize && Objects.equals(fileName, that.fileName)
+        && Objects.equals(fileChecksum, that.fileChecksum);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(fileName, fileSize, fileChecksum);
+  }
+
+  @Override
+  public String toString() {
+    return "BlobTransferFileInfo {" + " fileName='" + fileName + ", fileSize=" + fileSize + ", fileChecksum="
+        + fileChecksum + " }";
+  }
+}
@@ -3,6 +3,7 @@ package com.linkedin.davinci.blobtransfer;
 import static com.linkedin.davinci.blobtransfer.BlobTransferGlobalTrafficShapingHandlerHolder.getGlobalChannelTrafficShapingHandlerInstance;
 
 import com.linkedin.davinci.blobtransfer.client.NettyFileTransferClient;
+import com.linkedin.davinci.blobtransfer.client.ParallelFileTransferFetcher;
 import com.linkedin.davinci.blobtransfer.server.P2PBlobTransferService;
 import com.linkedin.davinci.stats.AggVersionedBlobTransferStats;
 import com.linkedin.davinci.storage.StorageEngineRepository;
@@ -115,6 +116,23 @@ public class BlobTransferManagerBuilder {
           blobTransferConfig.getTransferSnapshotTableFormat(),
           blobTransferConfig.getSnapshotCleanupIntervalInMins());
 
+      NettyFileTransferClient nettyClient = new NettyFileTransferClient(
+          blobTransferConfig.getP2pTransferClientPort(),
+          blobTransferConfig.getBaseDir(),
+          storageMetadataService,
+          blobTransferConfig.getPeersConnectivityFreshnessInSeconds(),
+          blobTransferConfig.getBlobReceiveTimeoutInMin(),
+          globalTrafficHandler,
+          sslFactory);
+      ParallelFileTransferFetcher parallelFileTransferFetcher = null;
+      if (blobTransferConfig.getBlobReceiveParallelConnectionCount() > 1) {
+        parallelFileTransferFetcher = new ParallelFileTransferFetcher(
+            nettyClient,
+            blobTransferConfig.getBaseDir(),
+            blobTransferConfig.getBlobReceiveParallelConnectionCount(),
+            blobTransferConfig.getBlobReceiveMaxPeerCount());
+      }
+
       BlobTransferManager<Void> blobTransferManager = new NettyP2PBlobTransferManager(
           new P2PBlobTransferService(
               blobTransferConfig.getP2pTransferServerPort(),
@@ -124,18 +142,13 @@ public class BlobTransferManagerBuilder {
               globalTrafficHandler,
               sslFactory,
               aclHandler,
-              blobTransferConfig.getMaxConcurrentSnapshotUser()),
-          new NettyFileTransferClient(
-              blobTransferConfig.getP2pTransferClientPort(),
-              blobTransferConfig.getBaseDir(),
-              storageMetadataService,
-              blobTransferConfig.getPeersConnectivityFreshnessInSeconds(),
-              blobTransferConfig.getBlobReceiveTimeoutInMin(),
-              globalTrafficHandler,
-              sslFactory),
+              blobTransferConfig.getMaxConcurrentSnapshotUser(),
+              aggVersionedBlobTransferStats),
+          nettyClient,
           blobFinder,
           blobTransferConfig.getBaseDir(),
-          aggVersionedBlobTransferStats);
+          aggVersionedBlobTransferStats,
+          parallelFileTransferFetcher);
 
       // start the P2P blob transfer manager
       blobTransferManager.start();
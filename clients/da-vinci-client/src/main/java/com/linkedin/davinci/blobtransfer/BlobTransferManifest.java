@@ -0,0 +1,59 @@
+package com.linkedin.davinci.blobtransfer;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+
+/**
+ * This class is the manifest of a snapshot in the blob transfer client. It lists the files of the snapshot, so that
+ * the client can fetch them over multiple connections, and it carries the metadata of the partition, which should
+ * only be applied once all the files are received.
+ */
+public class BlobTransferManifest {
+  public BlobTransferPartitionMetadata metadata;
+  public List<BlobTransferFileInfo> files;
+  // The id of the snapshot on the peer, which the requests of its files refer to
+  public long snapshotId;
+
+  public BlobTransferManifest() {
+  }
+
+  public BlobTransferManifest(
+      @JsonProperty("metadata") BlobTransferPartitionMetadata metadata,
+      @JsonProperty("files") List<BlobTransferFileInfo> files,
+      @JsonProperty("snapshotId") long snapshotId) {
+    this.metadata = metadata;
+    this.files = files;
+    this.snapshotId = snapshotId;
+  }
+
+  public BlobTransferPartitionMetadata getMetadata() {
+    return metadata;
+  }
+
+  public void setMetadata(BlobTransferPartitionMetadata metadata) {
+    this.metadata = metadata;
+  }
+
+  public List<BlobTransferFileInfo> getFiles() {
+    return files;
+  }
+
+  public void setFiles(List<BlobTransferFileInfo> files) {
+    this.files = files;
+  }
+
+  public long getSnapshotId() {
+    return snapshotId;
+  }
+
+  public void setSnapshotId(long snapshotId) {
+    this.snapshotId = snapshotId;
+  }
+
+  @Override
+  public String toString() {
+    return "BlobTransferManifest {" + " metadata=" + metadata + ", files=" + files + ", snapshotId=" + snapshotId
+        + " }";
+  }
+}
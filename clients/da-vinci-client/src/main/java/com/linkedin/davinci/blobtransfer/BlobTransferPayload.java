@@ -3,6 +3,7 @@ package com.linkedin.davinci.blobtransfer;
 import static com.linkedin.venice.store.rocksdb.RocksDBUtils.composePartitionDbDir;
 import static com.linkedin.venice.store.rocksdb.RocksDBUtils.composeSnapshotDir;
 
+import com.linkedin.davinci.blobtransfer.BlobTransferUtils.BlobTransferRequestType;
 import com.linkedin.davinci.blobtransfer.BlobTransferUtils.BlobTransferTableFormat;
 import com.linkedin.venice.utils.Utils;
 
@@ -16,6 +17,11 @@ public class BlobTransferPayload {
   private final String partitionDir;
   private final String storeName;
   private final BlobTransferTableFormat requestTableFormat;
+  private final BlobTransferRequestType requestType;
+  // The requested file name, only set for the FILE request type
+  private final String requestFileName;
+  // The id of the snapshot which the manifest of the requested file was sent for, only set for the FILE request type
+  private final long requestSnapshotId;
 
   public BlobTransferPayload(
       String baseDir,
@@ -23,11 +29,37 @@ public class BlobTransferPayload {
       int version,
       int partition,
       BlobTransferTableFormat requestTableFormat) {
+    this(baseDir, storeName, version, partition, requestTableFormat, BlobTransferRequestType.PARTITION, null);
+  }
+
+  public BlobTransferPayload(
+      String baseDir,
+      String storeName,
+      int version,
+      int partition,
+      BlobTransferTableFormat requestTableFormat,
+      BlobTransferRequestType requestType,
+      String requestFileName) {
+    this(baseDir, storeName, version, partition, requestTableFormat, requestType, requestFileName, -1);
+  }
+
+  public BlobTransferPayload(
+      String baseDir,
+      String storeName,
+      int version,
+      int partition,
+      BlobTransferTableFormat requestTableFormat,
+      BlobTransferRequestType requestType,
+      String requestFileName,
+      long requestSnapshotId) {
     this.partition = partition;
     this.storeName = storeName;
     this.topicName = storeName + "_v" + version;
     this.partitionDir = composePartitionDbDir(baseDir, topicName, partition);
     this.requestTableFormat = requestTableFormat;
+    this.requestType = requestType;
+    this.requestFileName = requestFileName;
+    this.requestSnapshotId = requestSnapshotId;
   }
 
   public String getPartitionDir() {
@@ -57,4 +89,16 @@ public class BlobTransferPayload {
   public BlobTransferTableFormat getRequestTableFormat() {
     return requestTableFormat;
   }
+
+  public BlobTransferRequestType getRequestType() {
+    return requestType;
+  }
+
+  public String getRequestFileName() {
+    return requestFileName;
+  }
+
+  public long getRequestSnapshotId() {
+    return requestSnapshotId;
+  }
 }
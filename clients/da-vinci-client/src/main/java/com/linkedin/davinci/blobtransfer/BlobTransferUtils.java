@@ -32,9 +32,22 @@ public class BlobTransferUtils {
   public static final String BLOB_TRANSFER_STATUS = "X-Blob-Transfer-Status";
   public static final String BLOB_TRANSFER_COMPLETED = "Completed";
   public static final String BLOB_TRANSFER_TYPE = "X-Blob-Transfer-Type";
+  // The optional path segments after the table format, to request the manifest or a single file of a snapshot
+  public static final String BLOB_TRANSFER_MANIFEST_PATH = "manifest";
+  public static final String BLOB_TRANSFER_FILE_PATH = "file";
 
   public enum BlobTransferType {
-    FILE, METADATA
+    FILE, METADATA, MANIFEST
+  }
+
+  /**
+   * The kind of the blob transfer request:
+   * PARTITION: all the files of the snapshot followed by the metadata, over a single connection.
+   * MANIFEST: the metadata and the list of the files in the snapshot, along with their sizes and checksums.
+   * FILE: a single file of the snapshot, so that the files can be fetched in parallel over multiple connections.
+   */
+  public enum BlobTransferRequestType {
+    PARTITION, MANIFEST, FILE
   }
 
   public enum BlobTransferTableFormat {
@@ -54,6 +67,19 @@ public class BlobTransferUtils {
     return metadataHeader.equals(BlobTransferUtils.BlobTransferType.METADATA.name());
   }
 
+  /**
+   * Check if the HttpResponse message is for a snapshot manifest.
+   * @param msg the HttpResponse message
+   * @return true if the message is a manifest message, false otherwise
+   */
+  public static boolean isManifestMessage(HttpResponse msg) {
+    String typeHeader = msg.headers().get(BlobTransferUtils.BLOB_TRANSFER_TYPE);
+    if (typeHeader == null) {
+      return false;
+    }
+    return typeHeader.equals(BlobTransferUtils.BlobTransferType.MANIFEST.name());
+  }
+
   /**
    * Generate MD5 checksum for a file
    * @param filePath the path to the file
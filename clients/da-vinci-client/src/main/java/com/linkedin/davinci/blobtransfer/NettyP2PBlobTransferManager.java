@@ -4,6 +4,7 @@ import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.getThroughputP
 
 import com.linkedin.davinci.blobtransfer.BlobTransferUtils.BlobTransferTableFormat;
 import com.linkedin.davinci.blobtransfer.client.NettyFileTransferClient;
+import com.linkedin.davinci.blobtransfer.client.ParallelFileTransferFetcher;
 import com.linkedin.davinci.blobtransfer.server.P2PBlobTransferService;
 import com.linkedin.davinci.stats.AggVersionedBlobTransferStats;
 import com.linkedin.venice.blobtransfer.BlobFinder;
@@ -48,6 +49,9 @@ public class NettyP2PBlobTransferManager implements P2PBlobTransferManager<Void>
       "Replica {} peer {} does not have the requested blob. Exception: {}";
   private static final String FAILED_TO_FETCH_BLOB_MSG =
       "Replica {} failed to fetch blob from peer {}. Deleting partially downloaded blobs. Exception: {}";
+  private static final String FAILED_TO_FETCH_BLOB_IN_PARALLEL_MSG =
+      "Replica {} failed to fetch blob in parallel from peers {}. Falling back to fetch from one peer at a time. "
+          + "Exception: {}";
 
   private final P2PBlobTransferService blobTransferService;
   // netty client is responsible to make requests against other peers for blob fetching
@@ -56,6 +60,8 @@ public class NettyP2PBlobTransferManager implements P2PBlobTransferManager<Void>
   protected final AggVersionedBlobTransferStats aggVersionedBlobTransferStats;
   // peer finder is responsible to find the peers that have the requested blob
   protected final BlobFinder peerFinder;
+  // parallel fetcher is responsible to fetch the files of a snapshot over multiple connections, null if disabled
+  private final ParallelFileTransferFetcher parallelFileTransferFetcher;
   private final String baseDir;
 
   public NettyP2PBlobTransferManager(
@@ -64,11 +70,22 @@ public class NettyP2PBlobTransferManager implements P2PBlobTransferManager<Void>
       BlobFinder peerFinder,
       String baseDir,
       AggVersionedBlobTransferStats aggVersionedBlobTransferStats) {
+    this(blobTransferService, nettyClient, peerFinder, baseDir, aggVersionedBlobTransferStats, null);
+  }
+
+  public NettyP2PBlobTransferManager(
+      P2PBlobTransferService blobTransferService,
+      NettyFileTransferClient nettyClient,
+      BlobFinder peerFinder,
+      String baseDir,
+      AggVersionedBlobTransferStats aggVersionedBlobTransferStats,
+      ParallelFileTransferFetcher parallelFileTransferFetcher) {
     this.blobTransferService = blobTransferService;
     this.nettyClient = nettyClient;
     this.peerFinder = peerFinder;
     this.baseDir = baseDir;
     this.aggVersionedBlobTransferStats = aggVersionedBlobTransferStats;
+    this.parallelFileTransferFetcher = parallelFileTransferFetcher;
   }
 
   @Override
@@ -98,12 +115,46 @@ public class NettyP2PBlobTransferManager implements P2PBlobTransferManager<Void>
     List<String> discoverPeers = response.getDiscoveryResult();
     List<String> connectablePeers = getConnectableHosts(discoverPeers, storeName, version, partition);
 
-    // 2: Process peers sequentially to fetch the blob
-    processPeersSequentially(connectablePeers, storeName, version, partition, tableFormat, resultFuture);
+    // 2: Fetch the files from multiple peers over multiple connections if enabled, otherwise process peers
+    // sequentially to fetch the blob
+    if (parallelFileTransferFetcher != null && !connectablePeers.isEmpty()) {
+      processPeersInParallel(connectablePeers, storeName, version, partition, tableFormat, resultFuture);
+    } else {
+      processPeersSequentially(connectablePeers, storeName, version, partition, tableFormat, resultFuture);
+    }
 
     return resultFuture;
   }
 
+  /**
+   * Fetch the files of the snapshot over multiple connections with {@link ParallelFileTransferFetcher}.
+   * If it fails, e.g. because the peers don't support fetching single files yet, the partially downloaded blobs are
+   * deleted and the peers are processed sequentially instead.
+   */
+  private void processPeersInParallel(
+      List<String> connectablePeers,
+      String storeName,
+      int version,
+      int partition,
+      BlobTransferTableFormat tableFormat,
+      CompletableFuture<InputStream> resultFuture) {
+    String replicaId = Utils.getReplicaId(Version.composeKafkaTopic(storeName, version), partition);
+    Instant startTime = Instant.now();
+    parallelFileTransferFetcher.fetch(connectablePeers, storeName, version, partition, tableFormat)
+        .whenComplete((ignored, ex) -> {
+          if (ex == null) {
+            long transferTime = Duration.between(startTime, Instant.now()).getSeconds();
+            LOGGER.info(FETCHED_BLOB_SUCCESS_MSG, replicaId, connectablePeers, transferTime);
+            resultFuture.complete(null);
+            updateBlobTransferFileReceiveStats(transferTime, storeName, version, partition);
+          } else {
+            LOGGER.warn(FAILED_TO_FETCH_BLOB_IN_PARALLEL_MSG, replicaId, connectablePeers, ex.getMessage());
+            RocksDBUtils.deletePartitionDir(baseDir, storeName, version, partition);
+            processPeersSequentially(connectablePeers, storeName, version, partition, tableFormat, resultFuture);
+          }
+        });
+  }
+
   /**
    * Process the peers sequentially to fetch the blob for the given storeName and partition
    * - Error cases:
@@ -217,6 +268,9 @@ public class NettyP2PBlobTransferManager implements P2PBlobTransferManager<Void>
   @Override
   public void close() throws Exception {
     blobTransferService.close();
+    if (parallelFileTransferFetcher != null) {
+      parallelFileTransferFetcher.close();
+    }
     nettyClient.close();
     peerFinder.close();
   }
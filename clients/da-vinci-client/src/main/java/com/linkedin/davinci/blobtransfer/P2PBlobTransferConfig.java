@@ -28,6 +28,10 @@ public class P2PBlobTransferConfig {
   private final long blobTransferServiceWriteLimitBytesPerSec;
   // Interval in mins for snapshot manager to clean up old snapshots
   private final int snapshotCleanupIntervalInMins;
+  // Max concurrent connections to fetch the files of a snapshot, 1 to fetch all files over a single connection
+  private final int blobReceiveParallelConnectionCount;
+  // Max peers to fetch the files of a snapshot from at the same time, when fetching over multiple connections
+  private final int blobReceiveMaxPeerCount;
 
   public P2PBlobTransferConfig(
       int p2pTransferServerPort,
@@ -42,6 +46,38 @@ public class P2PBlobTransferConfig {
       long blobTransferClientReadLimitBytesPerSec,
       long blobTransferServiceWriteLimitBytesPerSec,
       int snapshotCleanupIntervalInMins) {
+    this(
+        p2pTransferServerPort,
+        p2pTransferClientPort,
+        baseDir,
+        maxConcurrentSnapshotUser,
+        snapshotRetentionTimeInMin,
+        blobTransferMaxTimeoutInMin,
+        blobReceiveMaxTimeoutInMin,
+        transferSnapshotTableFormat,
+        peersConnectivityFreshnessInSeconds,
+        blobTransferClientReadLimitBytesPerSec,
+        blobTransferServiceWriteLimitBytesPerSec,
+        snapshotCleanupIntervalInMins,
+        1,
+        1);
+  }
+
+  public P2PBlobTransferConfig(
+      int p2pTransferServerPort,
+      int p2pTransferClientPort,
+      String baseDir,
+      int maxConcurrentSnapshotUser,
+      int snapshotRetentionTimeInMin,
+      int blobTransferMaxTimeoutInMin,
+      int blobReceiveMaxTimeoutInMin,
+      BlobTransferUtils.BlobTransferTableFormat transferSnapshotTableFormat,
+      int peersConnectivityFreshnessInSeconds,
+      long blobTransferClientReadLimitBytesPerSec,
+      long blobTransferServiceWriteLimitBytesPerSec,
+      int snapshotCleanupIntervalInMins,
+      int blobReceiveParallelConnectionCount,
+      int blobReceiveMaxPeerCount) {
     this.p2pTransferServerPort = p2pTransferServerPort;
     this.p2pTransferClientPort = p2pTransferClientPort;
     this.baseDir = baseDir;
@@ -54,6 +90,8 @@ public class P2PBlobTransferConfig {
     this.blobTransferClientReadLimitBytesPerSec = blobTransferClientReadLimitBytesPerSec;
     this.blobTransferServiceWriteLimitBytesPerSec = blobTransferServiceWriteLimitBytesPerSec;
     this.snapshotCleanupIntervalInMins = snapshotCleanupIntervalInMins;
+    this.blobReceiveParallelConnectionCount = blobReceiveParallelConnectionCount;
+    this.blobReceiveMaxPeerCount = blobReceiveMaxPeerCount;
   }
 
   public int getP2pTransferServerPort() {
@@ -103,4 +141,12 @@ public class P2PBlobTransferConfig {
   public int getSnapshotCleanupIntervalInMins() {
     return snapshotCleanupIntervalInMins;
   }
+
+  public int getBlobReceiveParallelConnectionCount() {
+    return blobReceiveParallelConnectionCount;
+  }
+
+  public int getBlobReceiveMaxPeerCount() {
+    return blobReceiveMaxPeerCount;
+  }
 }
@@ -1,6 +1,12 @@
 package com.linkedin.davinci.blobtransfer.client;
 
+import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BLOB_TRANSFER_FILE_PATH;
+import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BLOB_TRANSFER_MANIFEST_PATH;
+
 import com.linkedin.alpini.base.concurrency.Executors;
+import com.linkedin.davinci.blobtransfer.BlobTransferFileInfo;
+import com.linkedin.davinci.blobtransfer.BlobTransferManifest;
+import com.linkedin.davinci.blobtransfer.BlobTransferPartitionMetadata;
 import com.linkedin.davinci.blobtransfer.BlobTransferUtils;
 import com.linkedin.davinci.blobtransfer.BlobTransferUtils.BlobTransferTableFormat;
 import com.linkedin.davinci.storage.StorageMetadataService;
@@ -22,6 +28,7 @@ import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.IdleStateHandler;
@@ -289,21 +296,16 @@ public class NettyFileTransferClient {
       ch.writeAndFlush(prepareRequest(storeName, version, partition, requestedTableFormat));
 
       // Set a timeout, otherwise if the host is not responding, the future will never complete
-      connectTimeoutScheduler.schedule(() -> {
-        if (!inputStream.toCompletableFuture().isDone()) {
-          String errorMsg = String.format(
-              "Request timed out for store %s version %d partition %d table format %s from host %s after %d minutes",
+      scheduleRequestTimeout(
+          inputStream.toCompletableFuture(),
+          ch,
+          String.format(
+              "store %s version %d partition %d table format %s from host %s",
               storeName,
               version,
               partition,
               requestedTableFormat,
-              host,
-              blobReceiveTimeoutInMin);
-          inputStream.toCompletableFuture().completeExceptionally(new TimeoutException(errorMsg));
-
-          ch.close(); // Close the channel if the request times out
-        }
-      }, blobReceiveTimeoutInMin, TimeUnit.MINUTES);
+              host));
     } catch (Exception e) {
       if (!inputStream.toCompletableFuture().isCompletedExceptionally()) {
         inputStream.toCompletableFuture().completeExceptionally(e);
@@ -312,6 +314,125 @@ public class NettyFileTransferClient {
     return inputStream;
   }
 
+  /**
+   * Fetch the manifest of the snapshot from the given host, which lists the files that can then be fetched in parallel
+   * with {@link #getFile}. The connection is closed once the manifest is received.
+   */
+  public CompletionStage<BlobTransferManifest> getManifest(
+      String host,
+      String storeName,
+      int version,
+      int partition,
+      BlobTransferTableFormat requestedTableFormat) {
+    CompletableFuture<BlobTransferManifest> manifestFuture = new CompletableFuture<>();
+    try {
+      Channel ch = connectToHost(host, storeName, version, partition);
+      ch.pipeline()
+          .addLast(new IdleStateHandler(0, 0, 60))
+          .addLast(new HttpObjectAggregator(MAX_METADATA_CONTENT_LENGTH))
+          .addLast(
+              new P2PManifestTransferHandler(
+                  manifestFuture,
+                  baseDir,
+                  storeName,
+                  version,
+                  partition,
+                  requestedTableFormat));
+      ch.writeAndFlush(
+          prepareRequest(
+              String.format(
+                  "/%s/%d/%d/%s/%s",
+                  storeName,
+                  version,
+                  partition,
+                  requestedTableFormat.name(),
+                  BLOB_TRANSFER_MANIFEST_PATH)));
+      scheduleRequestTimeout(
+          manifestFuture,
+          ch,
+          String.format(
+              "the manifest of store %s version %d partition %d table format %s from host %s",
+              storeName,
+              version,
+              partition,
+              requestedTableFormat,
+              host));
+    } catch (Exception e) {
+      manifestFuture.completeExceptionally(e);
+    }
+    return manifestFuture;
+  }
+
+  /**
+   * Fetch a single file of the snapshot from the given host, over its own connection. The received file is verified
+   * against both the size and the checksum listed in the manifest.
+   *
+   * @param snapshotId the id of the snapshot listed in the manifest of the host, which the host checks the file
+   *                   still belongs to
+   */
+  public CompletionStage<InputStream> getFile(
+      String host,
+      String storeName,
+      int version,
+      int partition,
+      BlobTransferTableFormat requestedTableFormat,
+      BlobTransferFileInfo fileInfo,
+      long snapshotId) {
+    CompletableFuture<InputStream> inputStream = new CompletableFuture<>();
+    try {
+      Channel ch = connectToHost(host, storeName, version, partition);
+      ch.pipeline()
+          .addLast(new IdleStateHandler(0, 0, 60))
+          .addLast(
+              new P2PFileTransferClientHandler(
+                  baseDir,
+                  inputStream,
+                  storeName,
+                  version,
+                  partition,
+                  requestedTableFormat,
+                  fileInfo.getFileChecksum()));
+      ch.writeAndFlush(
+          prepareRequest(
+              String.format(
+                  "/%s/%d/%d/%s/%s/%d/%s",
+                  storeName,
+                  version,
+                  partition,
+                  requestedTableFormat.name(),
+                  BLOB_TRANSFER_FILE_PATH,
+                  snapshotId,
+                  fileInfo.getFileName())));
+      scheduleRequestTimeout(
+          inputStream,
+          ch,
+          String.format(
+              "file %s of store %s version %d partition %d table format %s from host %s",
+              fileInfo.getFileName(),
+              storeName,
+              version,
+              partition,
+              requestedTableFormat,
+              host));
+    } catch (Exception e) {
+      inputStream.completeExceptionally(e);
+    }
+    return inputStream;
+  }
+
+  /**
+   * Apply the metadata received with the manifest, once all the files of the snapshot are received.
+   */
+  public void updateStorePartitionMetadata(
+      String storeName,
+      int version,
+      int partition,
+      BlobTransferTableFormat tableFormat,
+      BlobTransferPartitionMetadata metadata) {
+    new P2PMetadataTransferHandler(storageMetadataService, baseDir, storeName, version, partition, tableFormat)
+        .updateStorePartitionMetadata(storageMetadataService, metadata);
+  }
+
   public void close() {
     workerGroup.shutdownGracefully();
     hostConnectExecutorService.shutdown();
@@ -325,10 +446,27 @@ public class NettyFileTransferClient {
       int version,
       int partition,
       BlobTransferTableFormat requestTableFormat) {
-    return new DefaultFullHttpRequest(
-        HttpVersion.HTTP_1_1,
-        HttpMethod.GET,
-        String.format("/%s/%d/%d/%s", storeName, version, partition, requestTableFormat.name()));
+    return prepareRequest(String.format("/%s/%d/%d/%s", storeName, version, partition, requestTableFormat.name()));
+  }
+
+  private FullHttpRequest prepareRequest(String uri) {
+    return new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri);
+  }
+
+  /**
+   * Set a timeout for the request, otherwise if the host is not responding, the future will never complete.
+   * The channel is closed if the request times out.
+   */
+  private void scheduleRequestTimeout(CompletableFuture<?> future, Channel ch, String requestDescription) {
+    connectTimeoutScheduler.schedule(() -> {
+      if (!future.isDone()) {
+        String errorMsg =
+            String.format("Request timed out for %s after %d minutes", requestDescription, blobReceiveTimeoutInMin);
+        future.completeExceptionally(new TimeoutException(errorMsg));
+
+        ch.close(); // Close the channel if the request times out
+      }
+    }, blobReceiveTimeoutInMin, TimeUnit.MINUTES);
   }
 
   /**
@@ -44,6 +44,8 @@ public class P2PFileTransferClientHandler extends SimpleChannelInboundHandler<Ht
   private static final Pattern FILENAME_PATTERN = Pattern.compile("filename=\"(.+?)\"");
   private final CompletionStage<InputStream> inputStreamFuture;
   private final BlobTransferPayload payload;
+  // The checksum listed in the manifest, if only a single file is requested. It's null for the full partition request.
+  private final String expectedFileChecksum;
 
   // mutable states for a single file transfer. It will be updated for each file transfer.
   private FileChannel outputFileChannel;
@@ -59,8 +61,25 @@ public class P2PFileTransferClientHandler extends SimpleChannelInboundHandler<Ht
       int version,
       int partition,
       BlobTransferUtils.BlobTransferTableFormat tableFormat) {
+    this(baseDir, inputStreamFuture, storeName, version, partition, tableFormat, null);
+  }
+
+  /**
+   * @param expectedFileChecksum the checksum of the requested file in the manifest. A response with any other
+   *                             checksum means the snapshot has changed on the remote peer since the manifest was
+   *                             fetched, so it's rejected before writing anything to the disk.
+   */
+  public P2PFileTransferClientHandler(
+      String baseDir,
+      CompletionStage<InputStream> inputStreamFuture,
+      String storeName,
+      int version,
+      int partition,
+      BlobTransferUtils.BlobTransferTableFormat tableFormat,
+      String expectedFileChecksum) {
     this.inputStreamFuture = inputStreamFuture;
     this.payload = new BlobTransferPayload(baseDir, storeName, version, partition, tableFormat);
+    this.expectedFileChecksum = expectedFileChecksum;
   }
 
   @Override
@@ -100,6 +119,12 @@ public class P2PFileTransferClientHandler extends SimpleChannelInboundHandler<Ht
         throw new VeniceException("No file name specified in the response for " + payload.getFullResourceName());
       }
 
+      if (expectedFileChecksum != null && !expectedFileChecksum.equals(fileChecksum)) {
+        throw new VeniceException(
+            "File checksum mismatch with the manifest for " + fileName + ". Expected: " + expectedFileChecksum
+                + ", Actual: " + fileChecksum);
+      }
+
       LOGGER.info(
           "Starting blob file receiving for file: {} for {}",
           fileName,
@@ -0,0 +1,83 @@
+package com.linkedin.davinci.blobtransfer.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkedin.davinci.blobtransfer.BlobTransferManifest;
+import com.linkedin.davinci.blobtransfer.BlobTransferPayload;
+import com.linkedin.davinci.blobtransfer.BlobTransferUtils;
+import com.linkedin.davinci.blobtransfer.BlobTransferUtils.BlobTransferTableFormat;
+import com.linkedin.venice.exceptions.VeniceBlobTransferFileNotFoundException;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.utils.ObjectMapperFactory;
+import com.linkedin.venice.utils.Utils;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import java.util.concurrent.CompletableFuture;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * The client-side Netty handler to process the manifest response of a snapshot. The manifest lists the files of the
+ * snapshot, which are then fetched with separate requests, possibly over multiple connections.
+ */
+public class P2PManifestTransferHandler extends SimpleChannelInboundHandler<FullHttpResponse> {
+  private static final Logger LOGGER = LogManager.getLogger(P2PManifestTransferHandler.class);
+  private final CompletableFuture<BlobTransferManifest> manifestFuture;
+  private final BlobTransferPayload payload;
+
+  public P2PManifestTransferHandler(
+      CompletableFuture<BlobTransferManifest> manifestFuture,
+      String baseDir,
+      String storeName,
+      int version,
+      int partition,
+      BlobTransferTableFormat tableFormat) {
+    this.manifestFuture = manifestFuture;
+    this.payload = new BlobTransferPayload(baseDir, storeName, version, partition, tableFormat);
+  }
+
+  @Override
+  protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse msg) throws Exception {
+    if (!msg.status().equals(HttpResponseStatus.OK)) {
+      if (msg.status().equals(HttpResponseStatus.NOT_FOUND)) {
+        throw new VeniceBlobTransferFileNotFoundException(
+            "Requested snapshot from remote peer is not found. Response: " + msg.status());
+      } else {
+        throw new VeniceException("Failed to fetch manifest from remote peer. Response: " + msg.status());
+      }
+    }
+    if (!BlobTransferUtils.isManifestMessage(msg)) {
+      throw new VeniceException("Unexpected response received for the manifest of " + payload.getFullResourceName());
+    }
+
+    ByteBuf content = msg.content();
+    byte[] manifestBytes = new byte[content.readableBytes()];
+    content.readBytes(manifestBytes);
+    ObjectMapper objectMapper = ObjectMapperFactory.getInstance();
+    BlobTransferManifest manifest = objectMapper.readValue(manifestBytes, BlobTransferManifest.class);
+    if (manifest == null || manifest.getMetadata() == null || manifest.getFiles() == null) {
+      throw new VeniceException("No valid manifest received for " + payload.getFullResourceName());
+    }
+
+    LOGGER.info(
+        "Received manifest with {} files from remote peer for {}",
+        manifest.getFiles().size(),
+        Utils.getReplicaId(payload.getTopicName(), payload.getPartition()));
+    manifestFuture.complete(manifest);
+    // The files are requested over their own connections, so this one is no longer needed
+    ctx.close();
+  }
+
+  @Override
+  public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+    LOGGER.error(
+        "Exception caught in when receiving manifest for {} with cause {}",
+        Utils.getReplicaId(payload.getTopicName(), payload.getPartition()),
+        cause);
+    manifestFuture.completeExceptionally(cause);
+    ctx.close();
+  }
+}
@@ -0,0 +1,386 @@
+package com.linkedin.davinci.blobtransfer.client;
+
+import com.linkedin.alpini.base.concurrency.Executors;
+import com.linkedin.davinci.blobtransfer.BlobTransferFileInfo;
+import com.linkedin.davinci.blobtransfer.BlobTransferManifest;
+import com.linkedin.davinci.blobtransfer.BlobTransferPayload;
+import com.linkedin.davinci.blobtransfer.BlobTransferUtils.BlobTransferTableFormat;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.exceptions.VenicePeersConnectionException;
+import com.linkedin.venice.exceptions.VenicePeersNotFoundException;
+import com.linkedin.venice.utils.DaemonThreadFactory;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * Fetches the files of a snapshot over multiple concurrent connections, instead of streaming all of them one after
+ * another over a single connection like {@link NettyFileTransferClient#get}.
+ *
+ * 1. The manifests of the snapshot are fetched from up to {@link #maxPeerCount} peers. The first peer which returns a
+ *    manifest is the primary one: its manifest defines the files to fetch, and its metadata is applied once all of
+ *    them are received.
+ * 2. Each file is fetched with its own request, over up to {@link #connectionCount} connections at the same time.
+ *    A file can be fetched from any peer whose manifest lists a file with the same name, size and checksum, since
+ *    such files are identical, and the requests are spread over these peers.
+ * 3. Each received file is verified against the size and the checksum listed in the manifest. A failed file is
+ *    retried from another peer when possible, without fetching the already received files again.
+ * 4. If the transfer from the primary peer can't be completed, the next peer with a manifest becomes the primary
+ *    one, and the received files which are also listed in its manifest are kept.
+ *
+ * The replicas of a partition don't share the same snapshot files in general, e.g. they are compacted independently,
+ * so the files are never mixed between peers unless their checksums match.
+ */
+public class ParallelFileTransferFetcher implements AutoCloseable {
+  private static final Logger LOGGER = LogManager.getLogger(ParallelFileTransferFetcher.class);
+  // The max attempts to fetch a single file within the transfer from a primary peer
+  private static final int MAX_ATTEMPTS_PER_FILE = 3;
+
+  private final NettyFileTransferClient nettyClient;
+  private final String baseDir;
+  private final int connectionCount;
+  private final int maxPeerCount;
+  private final ExecutorService fetchExecutorService;
+
+  public ParallelFileTransferFetcher(
+      NettyFileTransferClient nettyClient,
+      String baseDir,
+      int connectionCount,
+      int maxPeerCount) {
+    if (connectionCount <= 0 || maxPeerCount <= 0) {
+      throw new IllegalArgumentException(
+          "The connection count and the max peer count must be positive, but got: " + connectionCount + " and "
+              + maxPeerCount);
+    }
+    this.nettyClient = nettyClient;
+    this.baseDir = baseDir;
+    this.connectionCount = connectionCount;
+    this.maxPeerCount = maxPeerCount;
+    this.fetchExecutorService =
+        Executors.newCachedThreadPool(new DaemonThreadFactory("Venice-BlobTransfer-Parallel-Fetch-Executor-Service"));
+  }
+
+  /**
+   * Fetch the snapshot of the given partition from the given connectable peers, in the order of preference.
+   * @return a future which completes once all the files are received and the metadata is applied, or completes
+   *         exceptionally if no peer can provide the whole snapshot.
+   */
+  public CompletableFuture<Void> fetch(
+      List<String> peers,
+      String storeName,
+      int version,
+      int partition,
+      BlobTransferTableFormat tableFormat) {
+    BlobTransferPayload payload = new BlobTransferPayload(baseDir, storeName, version, partition, tableFormat);
+    List<String> candidatePeers = peers.subList(0, Math.min(maxPeerCount, peers.size()));
+
+    // 1. Fetch the manifests from the candidate peers in parallel
+    List<CompletableFuture<BlobTransferManifest>> manifestFutures = new ArrayList<>(candidatePeers.size());
+    for (String peer: candidatePeers) {
+      manifestFutures.add(
+          CompletableFuture
+              .supplyAsync(
+                  () -> nettyClient.getManifest(peer, storeName, version, partition, tableFormat),
+                  fetchExecutorService)
+              .thenCompose(manifestStage -> manifestStage)
+              .exceptionally(e -> {
+                LOGGER.warn(
+                    "Failed to fetch manifest from peer {} for {}. Exception: {}",
+                    peer,
+                    payload.getFullResourceName(),
+                    e.getMessage());
+                return null;
+              }));
+    }
+
+    return CompletableFuture.allOf(manifestFutures.toArray(new CompletableFuture[0])).thenComposeAsync(ignored -> {
+      Map<String, BlobTransferManifest> peerToManifest = new LinkedHashMap<>();
+      for (int i = 0; i < candidatePeers.size(); i++) {
+        BlobTransferManifest manifest = manifestFutures.get(i).join();
+        if (manifest != null) {
+          peerToManifest.put(candidatePeers.get(i), manifest);
+        }
+      }
+      if (peerToManifest.isEmpty()) {
+        CompletableFuture<Void> failedFuture = new CompletableFuture<>();
+        failedFuture.completeExceptionally(
+            new VenicePeersNotFoundException("No peer provided a manifest for " + payload.getFullResourceName()));
+        return failedFuture;
+      }
+
+      // 2. Try the peers with a manifest as the primary one in order, and resume with the received files on failures
+      Map<String, BlobTransferFileInfo> receivedFiles = new HashMap<>();
+      CompletableFuture<Void> chainOfPrimaryPeersFuture = null;
+      for (String primaryPeer: peerToManifest.keySet()) {
+        if (chainOfPrimaryPeersFuture == null) {
+          chainOfPrimaryPeersFuture =
+              fetchFromPrimaryPeer(primaryPeer, peerToManifest, receivedFiles, payload, version);
+        } else {
+          chainOfPrimaryPeersFuture = chainOfPrimaryPeersFuture.handle((v, e) -> e).thenComposeAsync(e -> {
+            if (e == null) {
+              return CompletableFuture.completedFuture(null);
+            }
+            LOGGER.warn(
+                "Failed to fetch {} from the primary peer, resuming with peer {}. Exception: {}",
+                payload.getFullResourceName(),
+                primaryPeer,
+                e.getMessage());
+            return fetchFromPrimaryPeer(primaryPeer, peerToManifest, receivedFiles, payload, version);
+          }, fetchExecutorService);
+        }
+      }
+      return chainOfPrimaryPeersFuture;
+    }, fetchExecutorService);
+  }
+
+  private CompletableFuture<Void> fetchFromPrimaryPeer(
+      String primaryPeer,
+      Map<String, BlobTransferManifest> peerToManifest,
+      Map<String, BlobTransferFileInfo> receivedFiles,
+      BlobTransferPayload payload,
+      int version) {
+    BlobTransferManifest primaryManifest = peerToManifest.get(primaryPeer);
+    FetchSession session;
+    try {
+      session = new FetchSession(primaryPeer, peerToManifest, receivedFiles, payload, version);
+    } catch (IOException e) {
+      CompletableFuture<Void> failedFuture = new CompletableFuture<>();
+      failedFuture.completeExceptionally(e);
+      return failedFuture;
+    }
+    LOGGER.info(
+        "Fetching {} files of {} from primary peer {} with {} peers, {} files are already received",
+        session.pendingFileCount(),
+        payload.getFullResourceName(),
+        primaryPeer,
+        peerToManifest.size(),
+        primaryManifest.getFiles().size() - session.pendingFileCount());
+
+    int workerCount = Math.max(1, Math.min(connectionCount, session.pendingFileCount()));
+    List<CompletableFuture<Void>> workerFutures = new ArrayList<>(workerCount);
+    for (int i = 0; i < workerCount; i++) {
+      workerFutures
+          .add(CompletableFuture.supplyAsync(() -> session, fetchExecutorService).thenCompose(this::runWorker));
+    }
+    return CompletableFuture.allOf(workerFutures.toArray(new CompletableFuture[0])).thenRun(() -> {
+      session.verifyCompleted();
+      // 3. Only apply the metadata once all the files of the snapshot are received
+      nettyClient.updateStorePartitionMetadata(
+          payload.getStoreName(),
+          version,
+          payload.getPartition(),
+          payload.getRequestTableFormat(),
+          primaryManifest.getMetadata());
+      LOGGER.info(
+          "All files received successfully for {} with {} peers",
+          payload.getFullResourceName(),
+          peerToManifest.size());
+    });
+  }
+
+  /**
+   * A worker fetches the pending files one at a time over its own connections, until there are no more pending files.
+   */
+  private CompletableFuture<Void> runWorker(FetchSession session) {
+    FileTask task = session.nextTask();
+    if (task == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+    String peer = session.chooseSource(task);
+    return nettyClient
+        .getFile(
+            peer,
+            session.payload.getStoreName(),
+            session.version,
+            session.payload.getPartition(),
+            session.payload.getRequestTableFormat(),
+            task.fileInfo,
+            session.peerToManifest.get(peer).getSnapshotId())
+        .toCompletableFuture()
+        .handleAsync((ignored, e) -> {
+          session.onFileCompleted(task, peer, e);
+          return session;
+        }, fetchExecutorService)
+        .thenCompose(this::runWorker);
+  }
+
+  @Override
+  public void close() {
+    fetchExecutorService.shutdownNow();
+  }
+
+  private static class FileTask {
+    private final BlobTransferFileInfo fileInfo;
+    // The peers whose manifest lists the same file, with the primary peer first
+    private final List<String> sources;
+    private int attempts = 0;
+
+    FileTask(BlobTransferFileInfo fileInfo, List<String> sources) {
+      this.fileInfo = fileInfo;
+      this.sources = sources;
+    }
+  }
+
+  /**
+   * The states of the transfer from a single primary peer, which are shared by all the workers.
+   */
+  private static class FetchSession {
+    private final String primaryPeer;
+    private final Map<String, BlobTransferManifest> peerToManifest;
+    private final BlobTransferPayload payload;
+    private final int version;
+    private final Map<String, BlobTransferFileInfo> receivedFiles;
+    private final Deque<FileTask> pendingTasks = new ArrayDeque<>();
+    private final Map<String, Integer> inFlightRequestsPerPeer = new HashMap<>();
+    private final Set<String> failedPeers = new HashSet<>();
+    private int inFlightTaskCount = 0;
+    private Throwable failure;
+
+    FetchSession(
+        String primaryPeer,
+        Map<String, BlobTransferManifest> peerToManifest,
+        Map<String, BlobTransferFileInfo> receivedFiles,
+        BlobTransferPayload payload,
+        int version) throws IOException {
+      this.primaryPeer = primaryPeer;
+      this.peerToManifest = peerToManifest;
+      this.payload = payload;
+      this.version = version;
+      this.receivedFiles = receivedFiles;
+
+      List<BlobTransferFileInfo> primaryFiles = peerToManifest.get(primaryPeer).getFiles();
+      Map<String, BlobTransferFileInfo> primaryFileMap = new HashMap<>();
+      for (BlobTransferFileInfo fileInfo: primaryFiles) {
+        primaryFileMap.put(fileInfo.getFileName(), fileInfo);
+      }
+      synchronized (receivedFiles) {
+        // Only keep the received files which are identical to the ones of the primary peer
+        receivedFiles.entrySet().removeIf(entry -> !entry.getValue().equals(primaryFileMap.get(entry.getKey())));
+        File partitionDir = new File(payload.getPartitionDir());
+        Files.createDirectories(partitionDir.toPath());
+        File[] existingFiles = partitionDir.listFiles();
+        if (existingFiles != null) {
+          for (File existingFile: existingFiles) {
+            if (!receivedFiles.containsKey(existingFile.getName())) {
+              Files.deleteIfExists(existingFile.toPath());
+            }
+          }
+        }
+      }
+
+      // Fetch the largest files first, so that the connections are busy for about the same amount of time
+      List<BlobTransferFileInfo> filesToFetch = new ArrayList<>(primaryFiles);
+      filesToFetch.sort(Comparator.comparingLong(BlobTransferFileInfo::getFileSize).reversed());
+      for (BlobTransferFileInfo fileInfo: filesToFetch) {
+        if (receivedFiles.containsKey(fileInfo.getFileName())) {
+          continue;
+        }
+        List<String> sources = new ArrayList<>();
+        sources.add(primaryPeer);
+        for (Map.Entry<String, BlobTransferManifest> entry: peerToManifest.entrySet()) {
+          if (!entry.getKey().equals(primaryPeer) && entry.getValue().getFiles().contains(fileInfo)) {
+            sources.add(entry.getKey());
+          }
+        }
+        pendingTasks.add(new FileTask(fileInfo, sources));
+      }
+    }
+
+    synchronized int pendingFileCount() {
+      return pendingTasks.size();
+    }
+
+    synchronized FileTask nextTask() {
+      if (failure != null) {
+        return null;
+      }
+      FileTask task = pendingTasks.poll();
+      if (task != null) {
+        inFlightTaskCount++;
+      }
+      return task;
+    }
+
+    /**
+     * Pick the available source of the file with the fewest in-flight requests, to spread the load over the peers.
+     */
+    synchronized String chooseSource(FileTask task) {
+      String chosenPeer = null;
+      int minInFlightRequests = Integer.MAX_VALUE;
+      for (String source: task.sources) {
+        if (failedPeers.contains(source)) {
+          continue;
+        }
+        int inFlightRequests = inFlightRequestsPerPeer.getOrDefault(source, 0);
+        if (inFlightRequests < minInFlightRequests) {
+          chosenPeer = source;
+          minInFlightRequests = inFlightRequests;
+        }
+      }
+      if (chosenPeer == null) {
+        // All the sources have failed, so retry the primary peer, which is the last resort within this session
+        chosenPeer = primaryPeer;
+      }
+      inFlightRequestsPerPeer.merge(chosenPeer, 1, Integer::sum);
+      return chosenPeer;
+    }
+
+    synchronized void onFileCompleted(FileTask task, String peer, Throwable e) {
+      inFlightTaskCount--;
+      inFlightRequestsPerPeer.merge(peer, -1, Integer::sum);
+      if (e == null) {
+        synchronized (receivedFiles) {
+          receivedFiles.put(task.fileInfo.getFileName(), task.fileInfo);
+        }
+        return;
+      }
+      Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+      task.attempts++;
+      LOGGER.warn(
+          "Failed to fetch file {} of {} from peer {} in attempt {}. Exception: {}",
+          task.fileInfo.getFileName(),
+          payload.getFullResourceName(),
+          peer,
+          task.attempts,
+          cause.getMessage());
+      if (cause instanceof VenicePeersConnectionException && !peer.equals(primaryPeer)) {
+        // The secondary peer is gone, so don't pick it for the other files
+        failedPeers.add(peer);
+      } else if (task.sources.size() > 1) {
+        task.sources.remove(peer);
+      }
+      boolean primaryPeerUnreachable = peer.equals(primaryPeer) && cause instanceof VenicePeersConnectionException;
+      if (failure == null && (task.attempts >= MAX_ATTEMPTS_PER_FILE || primaryPeerUnreachable)) {
+        failure = cause;
+        return;
+      }
+      pendingTasks.addFirst(task);
+    }
+
+    synchronized void verifyCompleted() {
+      if (failure != null) {
+        throw new VeniceException("Failed to fetch " + payload.getFullResourceName() + " from " + primaryPeer, failure);
+      }
+      if (!pendingTasks.isEmpty() || inFlightTaskCount != 0) {
+        throw new VeniceException(
+            "Not all files of " + payload.getFullResourceName() + " are received from " + primaryPeer);
+      }
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.linkedin.davinci.blobtransfer.server;
 import com.linkedin.alpini.netty4.ssl.SslInitializer;
 import com.linkedin.davinci.blobtransfer.BlobSnapshotManager;
 import com.linkedin.davinci.blobtransfer.BlobTransferAclHandler;
+import com.linkedin.davinci.stats.AggVersionedBlobTransferStats;
 import com.linkedin.venice.listener.VerifySslHandler;
 import com.linkedin.venice.security.SSLFactory;
 import com.linkedin.venice.utils.SslUtils;
@@ -32,15 +33,19 @@ public class BlobTransferNettyChannelInitializer extends ChannelInitializer<Sock
       GlobalChannelTrafficShapingHandler globalChannelTrafficShapingHandler,
       Optional<SSLFactory> sslFactory,
       Optional<BlobTransferAclHandler> aclHandler,
-      int maxAllowedConcurrentSnapshotUsers) {
+      int maxAllowedConcurrentSnapshotUsers,
+      AggVersionedBlobTransferStats aggVersionedBlobTransferStats) {
     this.globalChannelTrafficShapingHandler = globalChannelTrafficShapingHandler;
     this.sslFactory = sslFactory;
     this.aclHandler = aclHandler;
+    // Zero-copy transfer is only possible when the content doesn't need to be encrypted in user space
     this.p2pFileTransferServerHandler = new P2PFileTransferServerHandler(
         baseDir,
         blobTransferMaxTimeoutInMin,
         blobSnapshotManager,
-        maxAllowedConcurrentSnapshotUsers);
+        maxAllowedConcurrentSnapshotUsers,
+        !sslFactory.isPresent(),
+        aggVersionedBlobTransferStats);
   }
 
   @Override
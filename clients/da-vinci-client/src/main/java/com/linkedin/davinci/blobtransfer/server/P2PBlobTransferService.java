@@ -2,6 +2,7 @@ package com.linkedin.davinci.blobtransfer.server;
 
 import com.linkedin.davinci.blobtransfer.BlobSnapshotManager;
 import com.linkedin.davinci.blobtransfer.BlobTransferAclHandler;
+import com.linkedin.davinci.stats.AggVersionedBlobTransferStats;
 import com.linkedin.venice.security.SSLFactory;
 import com.linkedin.venice.service.AbstractVeniceService;
 import io.netty.bootstrap.ServerBootstrap;
@@ -42,7 +43,8 @@ public class P2PBlobTransferService extends AbstractVeniceService {
       GlobalChannelTrafficShapingHandler globalChannelTrafficShapingHandler,
       Optional<SSLFactory> sslFactory,
       Optional<BlobTransferAclHandler> aclHandler,
-      int maxAllowedConcurrentSnapshotUsers) {
+      int maxAllowedConcurrentSnapshotUsers,
+      AggVersionedBlobTransferStats aggVersionedBlobTransferStats) {
     this.port = port;
     this.serverBootstrap = new ServerBootstrap();
     this.blobSnapshotManager = blobSnapshotManager;
@@ -68,7 +70,8 @@ public class P2PBlobTransferService extends AbstractVeniceService {
                 globalChannelTrafficShapingHandler,
                 sslFactory,
                 aclHandler,
-                maxAllowedConcurrentSnapshotUsers))
+                maxAllowedConcurrentSnapshotUsers,
+                aggVersionedBlobTransferStats))
         .option(ChannelOption.SO_BACKLOG, 1000)
         .option(ChannelOption.SO_REUSEADDR, true)
         .childOption(ChannelOption.SO_KEEPALIVE, true)
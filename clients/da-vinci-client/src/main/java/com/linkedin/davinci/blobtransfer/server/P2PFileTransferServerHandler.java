@@ -1,8 +1,11 @@
 package com.linkedin.davinci.blobtransfer.server;
 
 import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BLOB_TRANSFER_COMPLETED;
+import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BLOB_TRANSFER_FILE_PATH;
+import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BLOB_TRANSFER_MANIFEST_PATH;
 import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BLOB_TRANSFER_STATUS;
 import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BLOB_TRANSFER_TYPE;
+import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BlobTransferRequestType;
 import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BlobTransferTableFormat;
 import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BlobTransferType;
 import static com.linkedin.venice.utils.NettyUtils.setupResponseAndFlush;
@@ -12,9 +15,13 @@ import static io.netty.handler.codec.http.HttpHeaderValues.APPLICATION_OCTET_STR
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.linkedin.davinci.blobtransfer.BlobSnapshotManager;
+import com.linkedin.davinci.blobtransfer.BlobTransferFileInfo;
+import com.linkedin.davinci.blobtransfer.BlobTransferManifest;
 import com.linkedin.davinci.blobtransfer.BlobTransferPartitionMetadata;
 import com.linkedin.davinci.blobtransfer.BlobTransferPayload;
 import com.linkedin.davinci.blobtransfer.BlobTransferUtils;
+import com.linkedin.davinci.stats.AggVersionedBlobTransferStats;
+import com.linkedin.venice.meta.Version;
 import com.linkedin.venice.request.RequestHelper;
 import com.linkedin.venice.utils.ObjectMapperFactory;
 import com.linkedin.venice.utils.Utils;
@@ -22,6 +29,7 @@ import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.DefaultFileRegion;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.DefaultHttpResponse;
@@ -33,6 +41,8 @@ import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.stream.ChunkedFile;
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
@@ -41,6 +51,9 @@ import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -62,6 +75,9 @@ public class P2PFileTransferServerHandler extends SimpleChannelInboundHandler<Fu
   // Max allowed global concurrent snapshot users
   private final int maxAllowedConcurrentSnapshotUsers;
   private BlobSnapshotManager blobSnapshotManager;
+  // Whether the files can be sent with zero-copy file regions when the channel is not TLS-wrapped
+  private final boolean zeroCopyEnabled;
+  private final AggVersionedBlobTransferStats aggVersionedBlobTransferStats;
   // Global counter for all active transfer requests across all topics and partitions
   private final AtomicInteger globalConcurrentTransferRequests = new AtomicInteger(0);
   private static final AttributeKey<BlobTransferPayload> BLOB_TRANSFER_REQUEST =
@@ -74,10 +90,28 @@ public class P2PFileTransferServerHandler extends SimpleChannelInboundHandler<Fu
       int blobTransferMaxTimeoutInMin,
       BlobSnapshotManager blobSnapshotManager,
       int maxAllowedConcurrentSnapshotUsers) {
+    this(baseDir, blobTransferMaxTimeoutInMin, blobSnapshotManager, maxAllowedConcurrentSnapshotUsers, false, null);
+  }
+
+  /**
+   * @param zeroCopyEnabled whether to send the files with {@link DefaultFileRegion}, which lets the kernel transfer
+   *                        the file content to the socket directly (sendfile). It is only used when there is no
+   *                        {@link SslHandler} in the pipeline, since TLS needs to encrypt the content in user space.
+   * @param aggVersionedBlobTransferStats used to record the file send throughput, if not null.
+   */
+  public P2PFileTransferServerHandler(
+      String baseDir,
+      int blobTransferMaxTimeoutInMin,
+      BlobSnapshotManager blobSnapshotManager,
+      int maxAllowedConcurrentSnapshotUsers,
+      boolean zeroCopyEnabled,
+      AggVersionedBlobTransferStats aggVersionedBlobTransferStats) {
     this.baseDir = baseDir;
     this.blobTransferMaxTimeoutInMin = blobTransferMaxTimeoutInMin;
     this.blobSnapshotManager = blobSnapshotManager;
     this.maxAllowedConcurrentSnapshotUsers = maxAllowedConcurrentSnapshotUsers;
+    this.zeroCopyEnabled = zeroCopyEnabled;
+    this.aggVersionedBlobTransferStats = aggVersionedBlobTransferStats;
   }
 
   /**
@@ -174,8 +208,97 @@ public class P2PFileTransferServerHandler extends SimpleChannelInboundHandler<Fu
       return;
     }
 
+    if (blobTransferRequest.getRequestType() == BlobTransferRequestType.PARTITION) {
+      transferFiles(ctx, blobTransferRequest, transferPartitionMetadata, files, null);
+      return;
+    }
+
+    /**
+     * The snapshot is pinned for as long as this request is counted as one of its users, and the manifest carries its
+     * id, so that the file requests following it can check they get the files of the very same snapshot.
+     */
+    long snapshotId =
+        blobSnapshotManager.getSnapshotId(blobTransferRequest.getTopicName(), blobTransferRequest.getPartition());
+    if (blobTransferRequest.getRequestType() == BlobTransferRequestType.FILE
+        && blobTransferRequest.getRequestSnapshotId() != snapshotId) {
+      byte[] errBody = ("Snapshot " + blobTransferRequest.getRequestSnapshotId() + " of "
+          + blobTransferRequest.getFullResourceName() + " is gone, the current one is " + snapshotId).getBytes();
+      setupResponseAndFlush(HttpResponseStatus.NOT_FOUND, errBody, false, ctx);
+      return;
+    }
+    // The checksums are computed once per snapshot off the event loop, and the response is sent back on it
+    final BlobTransferPayload request = blobTransferRequest;
+    blobSnapshotManager.getSnapshotFileInfos(blobTransferRequest).whenCompleteAsync((fileInfos, throwable) -> {
+      try {
+        if (throwable != null) {
+          LOGGER.error(
+              "Failed to compute the checksums of the snapshot for {}",
+              request.getFullResourceName(),
+              throwable);
+          setupResponseAndFlush(
+              HttpResponseStatus.INTERNAL_SERVER_ERROR,
+              ("Failed to compute the checksums of the snapshot for " + request.getFullResourceName()).getBytes(),
+              false,
+              ctx);
+        } else if (request.getRequestType() == BlobTransferRequestType.MANIFEST) {
+          sendManifest(ctx, transferPartitionMetadata, snapshotId, fileInfos);
+        } else {
+          sendSnapshotFile(ctx, request, files, fileInfos);
+        }
+      } catch (Exception e) {
+        ctx.fireExceptionCaught(e);
+      }
+    }, ctx.executor());
+  }
+
+  /**
+   * Send a single file of the snapshot, with the checksum listed in the manifest. Only the files listed in the
+   * manifest can be requested, so that the file name can't be used to access any other path.
+   */
+  private void sendSnapshotFile(
+      ChannelHandlerContext ctx,
+      BlobTransferPayload blobTransferRequest,
+      File[] files,
+      List<BlobTransferFileInfo> fileInfos) throws IOException {
+    BlobTransferFileInfo requestedFileInfo = null;
+    for (BlobTransferFileInfo fileInfo: fileInfos) {
+      if (fileInfo.getFileName().equals(blobTransferRequest.getRequestFileName())) {
+        requestedFileInfo = fileInfo;
+        break;
+      }
+    }
+    File requestedFile = getRequestedFile(files, blobTransferRequest.getRequestFileName());
+    if (requestedFileInfo == null || requestedFile == null) {
+      byte[] errBody = ("File " + blobTransferRequest.getRequestFileName() + " doesn't exist in the snapshot for "
+          + blobTransferRequest.getFullResourceName()).getBytes();
+      setupResponseAndFlush(HttpResponseStatus.NOT_FOUND, errBody, false, ctx);
+      return;
+    }
+    transferFiles(
+        ctx,
+        blobTransferRequest,
+        null,
+        new File[] { requestedFile },
+        Collections.singletonMap(requestedFile.getName(), requestedFileInfo.getFileChecksum()));
+  }
+
+  /**
+   * Send the given files, followed by the metadata if any, and the status of the transfer.
+   *
+   * @param fileChecksums the checksums of the files by name, or null to compute them while sending
+   */
+  private void transferFiles(
+      ChannelHandlerContext ctx,
+      BlobTransferPayload blobTransferRequest,
+      BlobTransferPartitionMetadata transferPartitionMetadata,
+      File[] files,
+      Map<String, String> fileChecksums) throws IOException {
     // Set up the time limitation for the transfer
     long startTime = System.currentTimeMillis();
+    long startTimeNs = System.nanoTime();
+    boolean useZeroCopy = zeroCopyEnabled && ctx.pipeline().get(SslHandler.class) == null;
+    long totalFileSizeInBytes = 0;
+    ChannelFuture lastFileFuture = null;
 
     // transfer files
     for (File file: files) {
@@ -188,10 +311,23 @@ public class P2PFileTransferServerHandler extends SimpleChannelInboundHandler<Fu
         return;
       }
       // send file
-      sendFile(file, ctx);
+      String fileChecksum = fileChecksums == null
+          ? BlobTransferUtils.generateFileChecksum(file.toPath())
+          : fileChecksums.get(file.getName());
+      lastFileFuture = sendFile(file, fileChecksum, ctx, useZeroCopy);
+      totalFileSizeInBytes += file.length();
     }
+    recordFileSendThroughputOnCompletion(
+        lastFileFuture,
+        blobTransferRequest,
+        totalFileSizeInBytes,
+        startTimeNs,
+        useZeroCopy);
 
-    sendMetadata(ctx, transferPartitionMetadata);
+    // For a single file request, the metadata has already been sent with the manifest
+    if (transferPartitionMetadata != null) {
+      sendMetadata(ctx, transferPartitionMetadata);
+    }
 
     // end of transfer
     HttpResponse endOfTransfer = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
@@ -253,12 +389,12 @@ public class P2PFileTransferServerHandler extends SimpleChannelInboundHandler<Fu
     ctx.close();
   }
 
-  private void sendFile(File file, ChannelHandlerContext ctx) throws IOException {
+  private ChannelFuture sendFile(File file, String fileChecksum, ChannelHandlerContext ctx, boolean useZeroCopy)
+      throws IOException {
     RandomAccessFile raf = new RandomAccessFile(file, "r");
     ChannelFuture sendFileFuture;
     ChannelFuture lastContentFuture;
     long length = raf.length();
-    String fileChecksum = BlobTransferUtils.generateFileChecksum(file.toPath());
 
     HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
     response.headers().set(HttpHeaderNames.CONTENT_LENGTH, length);
@@ -269,8 +405,14 @@ public class P2PFileTransferServerHandler extends SimpleChannelInboundHandler<Fu
 
     ctx.write(response);
 
-    sendFileFuture = ctx.writeAndFlush(new HttpChunkedInput(new ChunkedFile(raf)));
-    lastContentFuture = sendFileFuture;
+    if (useZeroCopy) {
+      // The file region takes over the file channel, and closes it once the region is released after the transfer
+      sendFileFuture = ctx.write(new DefaultFileRegion(raf.getChannel(), 0, length));
+      lastContentFuture = ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+    } else {
+      sendFileFuture = ctx.writeAndFlush(new HttpChunkedInput(new ChunkedFile(raf)));
+      lastContentFuture = sendFileFuture;
+    }
 
     sendFileFuture.addListener(future -> {
       if (future.isSuccess()) {
@@ -287,6 +429,40 @@ public class P2PFileTransferServerHandler extends SimpleChannelInboundHandler<Fu
         LOGGER.error("Failed to send last content for {}", file.getName());
       }
     });
+    return lastContentFuture;
+  }
+
+  /**
+   * The writes of a channel complete in order, so the partition is fully sent once the last file is.
+   */
+  private void recordFileSendThroughputOnCompletion(
+      ChannelFuture lastFileFuture,
+      BlobTransferPayload blobTransferRequest,
+      long totalFileSizeInBytes,
+      long startTimeNs,
+      boolean isZeroCopy) {
+    if (aggVersionedBlobTransferStats == null || lastFileFuture == null) {
+      return;
+    }
+    lastFileFuture.addListener(future -> {
+      if (!future.isSuccess()) {
+        return;
+      }
+      double transferTimeInSec = (System.nanoTime() - startTimeNs) / (double) TimeUnit.SECONDS.toNanos(1);
+      if (transferTimeInSec <= 0) {
+        return;
+      }
+      double throughput = totalFileSizeInBytes / (1000.0 * 1000.0) / transferTimeInSec;
+      try {
+        aggVersionedBlobTransferStats.recordBlobTransferFileSendThroughput(
+            blobTransferRequest.getStoreName(),
+            Version.parseVersionFromKafkaTopicName(blobTransferRequest.getTopicName()),
+            throughput,
+            isZeroCopy);
+      } catch (Exception e) {
+        LOGGER.error("Failed to record the file send throughput for {}", blobTransferRequest.getFullResourceName(), e);
+      }
+    });
   }
 
   /**
@@ -323,6 +499,53 @@ public class P2PFileTransferServerHandler extends SimpleChannelInboundHandler<Fu
     });
   }
 
+  /**
+   * Send the manifest of the snapshot, which contains the metadata, the id of the snapshot and the name, size and
+   * checksum of each file, so that the client can fetch the files with separate FILE requests.
+   * @param ctx the channel context
+   * @param metadata the metadata of the snapshot
+   * @param snapshotId the id of the snapshot, which the FILE requests refer to
+   * @param fileInfos the files of the snapshot
+   */
+  private void sendManifest(
+      ChannelHandlerContext ctx,
+      BlobTransferPartitionMetadata metadata,
+      long snapshotId,
+      List<BlobTransferFileInfo> fileInfos) throws IOException {
+    ObjectMapper objectMapper = ObjectMapperFactory.getInstance();
+    byte[] manifestBytes = objectMapper.writeValueAsBytes(new BlobTransferManifest(metadata, fileInfos, snapshotId));
+
+    FullHttpResponse manifestResponse = new DefaultFullHttpResponse(
+        HttpVersion.HTTP_1_1,
+        HttpResponseStatus.OK,
+        Unpooled.wrappedBuffer(manifestBytes));
+    manifestResponse.headers().set(HttpHeaderNames.CONTENT_LENGTH, manifestBytes.length);
+    manifestResponse.headers().set(HttpHeaderNames.CONTENT_TYPE, APPLICATION_JSON);
+    manifestResponse.headers().set(BLOB_TRANSFER_TYPE, BlobTransferType.MANIFEST);
+
+    String replicaInfo = Utils.getReplicaId(metadata.getTopicName(), metadata.getPartitionId());
+    ctx.writeAndFlush(manifestResponse).addListener(future -> {
+      if (future.isSuccess()) {
+        LOGGER.info("Manifest for {} sent successfully with {} files", replicaInfo, fileInfos.size());
+      } else {
+        LOGGER.error("Failed to send manifest for {}", replicaInfo, future.cause());
+      }
+    });
+  }
+
+  /**
+   * Only the files listed in the snapshot directory can be requested, so that the file name can't be used to access
+   * any other path.
+   */
+  private File getRequestedFile(File[] files, String requestFileName) {
+    for (File file: files) {
+      if (file.isFile() && file.getName().equals(requestFileName)) {
+        return file;
+      }
+    }
+    return null;
+  }
+
   /**
    * Parse the URI to locate the blob
    * @param uri
@@ -349,6 +572,27 @@ public class P2PFileTransferServerHandler extends SimpleChannelInboundHandler<Fu
           Integer.parseInt(requestParts[2]),
           Integer.parseInt(requestParts[3]),
           requestTableFormat);
+    } else if (requestParts.length == 6 && requestParts[5].equals(BLOB_TRANSFER_MANIFEST_PATH)) {
+      // [0]""/[1]"store"/[2]"version"/[3]"partition/[4]"table format"/[5]"manifest"
+      return new BlobTransferPayload(
+          baseDir,
+          requestParts[1],
+          Integer.parseInt(requestParts[2]),
+          Integer.parseInt(requestParts[3]),
+          requestTableFormat,
+          BlobTransferRequestType.MANIFEST,
+          null);
+    } else if (requestParts.length == 8 && requestParts[5].equals(BLOB_TRANSFER_FILE_PATH)) {
+      // [0]""/[1]"store"/[2]"version"/[3]"partition/[4]"table format"/[5]"file"/[6]"snapshot id"/[7]"file name"
+      return new BlobTransferPayload(
+          baseDir,
+          requestParts[1],
+          Integer.parseInt(requestParts[2]),
+          Integer.parseInt(requestParts[3]),
+          requestTableFormat,
+          BlobTransferRequestType.FILE,
+          requestParts[7],
+          Long.parseLong(requestParts[6]));
     } else {
       throw new IllegalArgumentException("Invalid request for fetching blob at " + uri.getPath());
     }
@@ -14,6 +14,7 @@ import static com.linkedin.venice.ConfigKeys.DA_VINCI_SUBSCRIBE_ON_DISK_PARTITIO
 import static com.linkedin.venice.ConfigKeys.INGESTION_MEMORY_LIMIT;
 import static com.linkedin.venice.ConfigKeys.INGESTION_USE_DA_VINCI_CLIENT;
 import static com.linkedin.venice.ConfigKeys.KAFKA_BOOTSTRAP_SERVERS;
+import static com.linkedin.venice.ConfigKeys.PERSISTENCE_TYPE;
 import static com.linkedin.venice.ConfigKeys.ZOOKEEPER_ADDRESS;
 import static com.linkedin.venice.client.store.ClientFactory.getTransportClient;
 import static org.apache.avro.Schema.Type.RECORD;
@@ -45,6 +46,7 @@ import com.linkedin.venice.compute.ComputeUtils;
 import com.linkedin.venice.controllerapi.D2ServiceDiscoveryResponse;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.exceptions.VeniceUnsupportedOperationException;
+import com.linkedin.venice.meta.PersistenceType;
 import com.linkedin.venice.meta.Store;
 import com.linkedin.venice.meta.Version;
 import com.linkedin.venice.schema.SchemaReader;
@@ -374,10 +376,15 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
         throw new VeniceClientException("Da Vinci client is not subscribed, storeName=" + getStoreName());
       }
       int readerSchemaId = versionBackend.getSupersetOrLatestValueSchemaId();
+      boolean multiGetEnabled = getDaVinciConfig().isBatchGetWithMultiGetEnabled();
 
       Consumer<Iterable<K>> keyArrayConsumer = keyList -> {
         ReusableObjects reusableObjects = REUSABLE_OBJECTS.get();
 
+        if (multiGetEnabled) {
+          multiGetFromLocalStorage(keyList, versionBackend, readerSchemaId, reusableObjects.binaryDecoder, result);
+          return;
+        }
         for (K key: keyList) {
           byte[] keyBytes = getKeySerializer().serialize(key);
           int partition = versionBackend.getPartition(keyBytes);
@@ -433,6 +440,59 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
     }
   }
 
+  /**
+   * Groups the keys by partition and looks up each group with a single batched storage engine call, which saves the
+   * per-key JNI crossing and block cache lookup overhead of issuing one point lookup per key.
+   */
+  private void multiGetFromLocalStorage(
+      Iterable<K> keys,
+      VersionBackend versionBackend,
+      int readerSchemaId,
+      BinaryDecoder binaryDecoder,
+      Map<K, V> result) {
+    Map<Integer, List<K>> partitionToKeys = new HashMap<>();
+    Map<Integer, List<byte[]>> partitionToKeyBytes = new HashMap<>();
+    for (K key: keys) {
+      byte[] keyBytes = getKeySerializer().serialize(key);
+      int partition = versionBackend.getPartition(keyBytes);
+      List<K> partitionKeys = partitionToKeys.get(partition);
+      if (partitionKeys == null) {
+        if (!isPartitionReadyToServe(versionBackend, partition)) {
+          if (!isPartitionSubscribed(versionBackend, partition)) {
+            storeBackend.getStats().recordBadRequest();
+            throw new NonLocalAccessException(versionBackend.toString(), partition);
+          }
+          throw new VeniceClientException(
+              "Partition: " + partition + " for store version: " + versionBackend + " is not ready to serve");
+        }
+        partitionKeys = new ArrayList<>();
+        partitionToKeys.put(partition, partitionKeys);
+        partitionToKeyBytes.put(partition, new ArrayList<>());
+      }
+      partitionKeys.add(key);
+      partitionToKeyBytes.get(partition).add(keyBytes);
+    }
+
+    for (Map.Entry<Integer, List<K>> entry: partitionToKeys.entrySet()) {
+      int partition = entry.getKey();
+      List<K> partitionKeys = entry.getValue();
+      List<V> values = versionBackend.multiRead(
+          partition,
+          partitionToKeyBytes.get(partition),
+          getAvroChunkingAdapter(),
+          getStoreDeserializerCache(),
+          readerSchemaId,
+          binaryDecoder);
+      for (int i = 0; i < partitionKeys.size(); i++) {
+        V value = values.get(i);
+        if (value != null) {
+          // The result should only contain entries for the keys that have a value associated with them
+          result.put(partitionKeys.get(i), value);
+        }
+      }
+    }
+  }
+
   @Override
   public CompletableFuture<Map<K, V>> batchGet(Set<K> keys) throws VeniceClientException {
     throwIfNotReady();
@@ -705,7 +765,7 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
       recordTransformerOutputValueSchema = Objects.toString(recordTransformerConfig.getOutputValueSchema(), "null");
     }
 
-    VeniceProperties config = new PropertyBuilder().put(CLUSTER_NAME, clusterName)
+    PropertyBuilder propertyBuilder = new PropertyBuilder().put(CLUSTER_NAME, clusterName)
         .put(ROCKSDB_LEVEL0_FILE_NUM_COMPACTION_TRIGGER, 4) // RocksDB default config
         .put(ROCKSDB_LEVEL0_SLOWDOWN_WRITES_TRIGGER, 20) // RocksDB default config
         .put(ROCKSDB_LEVEL0_STOPS_WRITES_TRIGGER, 36) // RocksDB default config
@@ -720,8 +780,12 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
         .put(RECORD_TRANSFORMER_VALUE_SCHEMA, recordTransformerOutputValueSchema)
         // Explicitly disable memory limiter in Isolated Process
         .put(INGESTION_ISOLATION_CONFIG_PREFIX + "." + INGESTION_MEMORY_LIMIT, -1)
-        .put(backendConfig.toProperties())
-        .build();
+        .put(backendConfig.toProperties());
+    if (daVinciConfig.getStorageClass() == StorageClass.IN_MEMORY_HASH_INDEX) {
+      // The storage class picks the storage engine, whatever the persistence type of the backend config
+      propertyBuilder.put(PERSISTENCE_TYPE, PersistenceType.IN_MEMORY_HASH_INDEX.name());
+    }
+    VeniceProperties config = propertyBuilder.build();
     logger.info("backendConfig=" + config.toString(true));
     return new VeniceConfigLoader(config, config);
   }
@@ -47,6 +47,12 @@ public class DaVinciConfig {
    */
   private int largeBatchRequestSplitThreshold = AvroGenericDaVinciClient.DEFAULT_CHUNK_SPLIT_THRESHOLD;
 
+  /**
+   * Whether batch get should group the keys by partition and look them up with a single batched storage engine call
+   * per partition, instead of issuing one lookup per key.
+   */
+  private boolean batchGetWithMultiGetEnabled = false;
+
   /**
    * Determines whether to enable request-based metadata retrieval directly from the Venice Server.
    * By default, metadata is retrieved from a system store via a thin client.
@@ -76,6 +82,8 @@ public class DaVinciConfig {
         .append(cacheConfig)
         .append(", largeBatchRequestSplitThreshold=")
         .append(largeBatchRequestSplitThreshold)
+        .append(", batchGetWithMultiGetEnabled=")
+        .append(batchGetWithMultiGetEnabled)
         .append("}");
     return sb.toString();
   }
@@ -154,6 +162,15 @@ public class DaVinciConfig {
     return this;
   }
 
+  public boolean isBatchGetWithMultiGetEnabled() {
+    return batchGetWithMultiGetEnabled;
+  }
+
+  public DaVinciConfig setBatchGetWithMultiGetEnabled(boolean batchGetWithMultiGetEnabled) {
+    this.batchGetWithMultiGetEnabled = batchGetWithMultiGetEnabled;
+    return this;
+  }
+
   public boolean isUseRequestBasedMetaRepository() {
     return useRequestBasedMetaRepository;
   }
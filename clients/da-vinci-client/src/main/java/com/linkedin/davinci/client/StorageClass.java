@@ -20,5 +20,15 @@ public enum StorageClass {
    * 4. At serving time, all the read request will be served out of memory and internally, RocksDB in DaVinci is using
    * mmap to bring the on-disk data files into RAM.
    */
-  MEMORY_BACKED_BY_DISK
+  MEMORY_BACKED_BY_DISK,
+  /**
+   * The mode has the following implications:
+   * 1. Keep all the data in an off-heap hash index, so that point lookups don't go through RocksDB at all.
+   * 2. Keep a log and a snapshot of the hash index on disk, which are only read to restore the data after a restart.
+   * 3. Application needs to have enough RAM to keep DaVinci databases fully in RAM, off-heap (ideally, it should
+   * have enough RAM to keep two versions since Venice/DaVinci database is versioned.)
+   * 4. This mode is recommended for small and medium stores serving point lookups, and doesn't support the features
+   * which rely on RocksDB, such as blob transfer.
+   */
+  IN_MEMORY_HASH_INDEX
 }
@@ -5,7 +5,9 @@ import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_TOT
 import static com.linkedin.venice.ConfigConstants.DEFAULT_MAX_RECORD_SIZE_BYTES_BACKFILL;
 import static com.linkedin.venice.ConfigKeys.ACL_IN_MEMORY_CACHE_TTL_MS;
 import static com.linkedin.venice.ConfigKeys.AUTOCREATE_DATA_PATH;
+import static com.linkedin.venice.ConfigKeys.BLOB_RECEIVE_MAX_PEER_COUNT;
 import static com.linkedin.venice.ConfigKeys.BLOB_RECEIVE_MAX_TIMEOUT_IN_MIN;
+import static com.linkedin.venice.ConfigKeys.BLOB_RECEIVE_PARALLEL_CONNECTION_COUNT;
 import static com.linkedin.venice.ConfigKeys.BLOB_TRANSFER_ACL_ENABLED;
 import static com.linkedin.venice.ConfigKeys.BLOB_TRANSFER_CLIENT_READ_LIMIT_BYTES_PER_SEC;
 import static com.linkedin.venice.ConfigKeys.BLOB_TRANSFER_DISABLED_OFFSET_LAG_THRESHOLD;
@@ -61,6 +63,7 @@ import static com.linkedin.venice.ConfigKeys.PUBSUB_TOPIC_MANAGER_METADATA_FETCH
 import static com.linkedin.venice.ConfigKeys.PUBSUB_TOPIC_MANAGER_METADATA_FETCHER_THREAD_POOL_SIZE;
 import static com.linkedin.venice.ConfigKeys.ROUTER_PRINCIPAL_NAME;
 import static com.linkedin.venice.ConfigKeys.SERVER_AA_WC_INGESTION_STORAGE_LOOKUP_THREAD_POOL_SIZE;
+import static com.linkedin.venice.ConfigKeys.SERVER_AA_WC_KEY_LEVEL_LOCK_STRIPE_COUNT;
 import static com.linkedin.venice.ConfigKeys.SERVER_AA_WC_LEADER_QUOTA_RECORDS_PER_SECOND;
 import static com.linkedin.venice.ConfigKeys.SERVER_AA_WC_WORKLOAD_PARALLEL_PROCESSING_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_AA_WC_WORKLOAD_PARALLEL_PROCESSING_THREAD_POOL_SIZE;
@@ -159,6 +162,7 @@ import static com.linkedin.venice.ConfigKeys.SERVER_PUBSUB_CONSUMER_POLL_RETRY_T
 import static com.linkedin.venice.ConfigKeys.SERVER_QUOTA_ENFORCEMENT_CAPACITY_MULTIPLE;
 import static com.linkedin.venice.ConfigKeys.SERVER_QUOTA_ENFORCEMENT_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_QUOTA_ENFORCEMENT_INTERVAL_IN_MILLIS;
+import static com.linkedin.venice.ConfigKeys.SERVER_READ_CACHE_CAPACITY_PER_STORE_VERSION_IN_BYTES;
 import static com.linkedin.venice.ConfigKeys.SERVER_RECORD_LEVEL_METRICS_WHEN_BOOTSTRAPPING_CURRENT_VERSION_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_REMOTE_CONSUMER_CONFIG_PREFIX;
 import static com.linkedin.venice.ConfigKeys.SERVER_REMOTE_INGESTION_REPAIR_SLEEP_INTERVAL_SECONDS;
@@ -177,6 +181,7 @@ import static com.linkedin.venice.ConfigKeys.SERVER_SHUTDOWN_DISK_UNHEALTHY_TIME
 import static com.linkedin.venice.ConfigKeys.SERVER_SKIP_CHECK_AFTER_UNSUB_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_SOURCE_TOPIC_OFFSET_CHECK_INTERVAL_MS;
 import static com.linkedin.venice.ConfigKeys.SERVER_SSL_HANDSHAKE_QUEUE_CAPACITY;
+import static com.linkedin.venice.ConfigKeys.SERVER_SST_FILE_PUSH_STAGING_DIR;
 import static com.linkedin.venice.ConfigKeys.SERVER_SSL_HANDSHAKE_THREAD_POOL_SIZE;
 import static com.linkedin.venice.ConfigKeys.SERVER_STOP_CONSUMPTION_TIMEOUT_IN_SECONDS;
 import static com.linkedin.venice.ConfigKeys.SERVER_STORE_TO_EARLY_TERMINATION_THRESHOLD_MS_MAP;
@@ -197,8 +202,12 @@ import static com.linkedin.venice.ConfigKeys.SERVER_ZSTD_DICT_COMPRESSION_LEVEL;
 import static com.linkedin.venice.ConfigKeys.SEVER_CALCULATE_QUOTA_USAGE_BASED_ON_PARTITIONS_ASSIGNMENT_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SORTED_INPUT_DRAINER_SIZE;
 import static com.linkedin.venice.ConfigKeys.STORE_WRITER_BUFFER_AFTER_LEADER_LOGIC_ENABLED;
+import static com.linkedin.venice.ConfigKeys.STORE_WRITER_BUFFER_DRAIN_BATCH_MAX_BYTES;
+import static com.linkedin.venice.ConfigKeys.STORE_WRITER_BUFFER_DRAIN_BATCH_SIZE;
 import static com.linkedin.venice.ConfigKeys.STORE_WRITER_BUFFER_MEMORY_CAPACITY;
+import static com.linkedin.venice.ConfigKeys.STORE_WRITER_BUFFER_MESSAGE_POOL_CAPACITY;
 import static com.linkedin.venice.ConfigKeys.STORE_WRITER_BUFFER_NOTIFY_DELTA;
+import static com.linkedin.venice.ConfigKeys.STORE_WRITER_BUFFER_RING_BUFFER_CAPACITY;
 import static com.linkedin.venice.ConfigKeys.STORE_WRITER_NUMBER;
 import static com.linkedin.venice.ConfigKeys.SYSTEM_SCHEMA_CLUSTER_NAME;
 import static com.linkedin.venice.ConfigKeys.SYSTEM_SCHEMA_INITIALIZATION_AT_START_TIME_ENABLED;
@@ -330,6 +339,25 @@ public class VeniceServerConfig extends VeniceClusterConfig {
    */
   private final long storeWriterBufferNotifyDelta;
 
+  /**
+   * Number of slots of the ring buffer used by each writer, see
+   * {@link com.linkedin.venice.utils.collections.MemoryBoundRingBufferQueue}. A non-positive value keeps the
+   * {@link MemoryBoundBlockingQueue}.
+   */
+  private final int storeWriterBufferRingBufferCapacity;
+
+  /**
+   * Max number and max heap size of the buffered records each writer pulls out of its buffer per wake-up.
+   */
+  private final int storeWriterBufferDrainBatchSize;
+  private final long storeWriterBufferDrainBatchMaxBytes;
+
+  /**
+   * Max number of consumed message containers kept around to be recycled once the writers are done with them, see
+   * {@link com.linkedin.venice.pubsub.PooledPubSubMessage}. A non-positive value disables the pooling.
+   */
+  private final int storeWriterBufferMessagePoolCapacity;
+
   /**
    * The number of threads being used to serve get requests.
    */
@@ -450,6 +478,8 @@ public class VeniceServerConfig extends VeniceClusterConfig {
 
   private final int parallelBatchGetChunkSize;
 
+  private final long readCacheCapacityPerStoreVersionInBytes;
+
   private final boolean keyValueProfilingEnabled;
 
   private final boolean enableDatabaseMemoryStats;
@@ -471,6 +501,7 @@ public class VeniceServerConfig extends VeniceClusterConfig {
   private final int ingestionServicePort;
   private final int ingestionApplicationPort;
   private final boolean databaseChecksumVerificationEnabled;
+  private final String sstFilePushStagingDir;
   private final boolean rocksDbStorageEngineConfigCheckEnabled;
 
   private final VeniceProperties kafkaConsumerConfigsForLocalConsumption;
@@ -598,6 +629,8 @@ public class VeniceServerConfig extends VeniceClusterConfig {
   private final int maxConcurrentSnapshotUser;
   private final int blobTransferMaxTimeoutInMin;
   private final int blobReceiveMaxTimeoutInMin;
+  private final int blobReceiveParallelConnectionCount;
+  private final int blobReceiveMaxPeerCount;
   private final int blobTransferPeersConnectivityFreshnessInSeconds;
   private final long blobTransferClientReadLimitBytesPerSec;
   private final long blobTransferServiceWriteLimitBytesPerSec;
@@ -620,6 +653,7 @@ public class VeniceServerConfig extends VeniceClusterConfig {
   private final int channelOptionWriteBufferHighBytes;
   private final boolean aaWCWorkloadParallelProcessingEnabled;
   private final int aaWCWorkloadParallelProcessingThreadPoolSize;
+  private final int aaWCKeyLevelLockStripeCount;
   private final boolean isGlobalRtDivEnabled;
   private final boolean nearlineWorkloadProducerThroughputOptimizationEnabled;
   private final int zstdDictCompressionLevel;
@@ -673,6 +707,8 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     maxConcurrentSnapshotUser = serverProperties.getInt(BLOB_TRANSFER_MAX_CONCURRENT_SNAPSHOT_USER, 15);
     blobTransferMaxTimeoutInMin = serverProperties.getInt(BLOB_TRANSFER_MAX_TIMEOUT_IN_MIN, 20);
     blobReceiveMaxTimeoutInMin = serverProperties.getInt(BLOB_RECEIVE_MAX_TIMEOUT_IN_MIN, 30);
+    blobReceiveParallelConnectionCount = serverProperties.getInt(BLOB_RECEIVE_PARALLEL_CONNECTION_COUNT, 1);
+    blobReceiveMaxPeerCount = serverProperties.getInt(BLOB_RECEIVE_MAX_PEER_COUNT, 2);
     blobTransferPeersConnectivityFreshnessInSeconds =
         serverProperties.getInt(BLOB_TRANSFER_PEERS_CONNECTIVITY_FRESHNESS_IN_SECONDS, 30);
     blobTransferClientReadLimitBytesPerSec =
@@ -708,6 +744,11 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     storeWriterBufferMemoryCapacity =
         serverProperties.getSizeInBytes(STORE_WRITER_BUFFER_MEMORY_CAPACITY, 10 * 1024 * 1024);
     storeWriterBufferNotifyDelta = serverProperties.getSizeInBytes(STORE_WRITER_BUFFER_NOTIFY_DELTA, 1 * 1024 * 1024);
+    storeWriterBufferRingBufferCapacity = serverProperties.getInt(STORE_WRITER_BUFFER_RING_BUFFER_CAPACITY, 0);
+    storeWriterBufferDrainBatchSize = serverProperties.getInt(STORE_WRITER_BUFFER_DRAIN_BATCH_SIZE, 1);
+    storeWriterBufferDrainBatchMaxBytes =
+        serverProperties.getSizeInBytes(STORE_WRITER_BUFFER_DRAIN_BATCH_MAX_BYTES, 1 * 1024 * 1024);
+    storeWriterBufferMessagePoolCapacity = serverProperties.getInt(STORE_WRITER_BUFFER_MESSAGE_POOL_CAPACITY, 0);
     restServiceStorageThreadNum = serverProperties.getInt(SERVER_REST_SERVICE_STORAGE_THREAD_NUM, 16);
     serverComputeThreadNum = serverProperties.getInt(SERVER_COMPUTE_THREAD_NUM, 16);
     nettyIdleTimeInSeconds = serverProperties.getInt(SERVER_NETTY_IDLE_TIME_SECONDS, (int) TimeUnit.HOURS.toSeconds(3));
@@ -785,6 +826,8 @@ public class VeniceServerConfig extends VeniceClusterConfig {
 
     enableParallelBatchGet = serverProperties.getBoolean(SERVER_ENABLE_PARALLEL_BATCH_GET, false);
     parallelBatchGetChunkSize = serverProperties.getInt(SERVER_PARALLEL_BATCH_GET_CHUNK_SIZE, 5);
+    readCacheCapacityPerStoreVersionInBytes =
+        serverProperties.getSizeInBytes(SERVER_READ_CACHE_CAPACITY_PER_STORE_VERSION_IN_BYTES, 0L);
 
     keyValueProfilingEnabled = serverProperties.getBoolean(KEY_VALUE_PROFILING_ENABLED, false);
     enableDatabaseMemoryStats = serverProperties.getBoolean(SERVER_DATABASE_MEMORY_STATS_ENABLED, true);
@@ -849,6 +892,7 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     ingestionApplicationPort = serverProperties.getInt(SERVER_INGESTION_ISOLATION_APPLICATION_PORT, 27016);
     databaseChecksumVerificationEnabled =
         serverProperties.getBoolean(SERVER_DATABASE_CHECKSUM_VERIFICATION_ENABLED, false);
+    sstFilePushStagingDir = serverProperties.getString(SERVER_SST_FILE_PUSH_STAGING_DIR, "");
 
     kafkaConsumerConfigsForLocalConsumption =
         serverProperties.clipAndFilterNamespace(SERVER_LOCAL_CONSUMER_CONFIG_PREFIX);
@@ -1060,6 +1104,7 @@ public class VeniceServerConfig extends VeniceClusterConfig {
         serverProperties.getBoolean(SERVER_AA_WC_WORKLOAD_PARALLEL_PROCESSING_ENABLED, false);
     aaWCWorkloadParallelProcessingThreadPoolSize =
         serverProperties.getInt(SERVER_AA_WC_WORKLOAD_PARALLEL_PROCESSING_THREAD_POOL_SIZE, 8);
+    aaWCKeyLevelLockStripeCount = serverProperties.getInt(SERVER_AA_WC_KEY_LEVEL_LOCK_STRIPE_COUNT, 0);
     nearlineWorkloadProducerThroughputOptimizationEnabled =
         serverProperties.getBoolean(SERVER_NEARLINE_WORKLOAD_PRODUCER_THROUGHPUT_OPTIMIZATION_ENABLED, true);
     zstdDictCompressionLevel =
@@ -1238,6 +1283,14 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return blobReceiveMaxTimeoutInMin;
   }
 
+  public int getBlobReceiveParallelConnectionCount() {
+    return blobReceiveParallelConnectionCount;
+  }
+
+  public int getBlobReceiveMaxPeerCount() {
+    return blobReceiveMaxPeerCount;
+  }
+
   public int getBlobTransferPeersConnectivityFreshnessInSeconds() {
     return blobTransferPeersConnectivityFreshnessInSeconds;
   }
@@ -1307,6 +1360,22 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return this.storeWriterBufferNotifyDelta;
   }
 
+  public int getStoreWriterBufferRingBufferCapacity() {
+    return this.storeWriterBufferRingBufferCapacity;
+  }
+
+  public int getStoreWriterBufferDrainBatchSize() {
+    return this.storeWriterBufferDrainBatchSize;
+  }
+
+  public long getStoreWriterBufferDrainBatchMaxBytes() {
+    return this.storeWriterBufferDrainBatchMaxBytes;
+  }
+
+  public int getStoreWriterBufferMessagePoolCapacity() {
+    return this.storeWriterBufferMessagePoolCapacity;
+  }
+
   public int getRestServiceStorageThreadNum() {
     return restServiceStorageThreadNum;
   }
@@ -1439,6 +1508,10 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return parallelBatchGetChunkSize;
   }
 
+  public long getReadCacheCapacityPerStoreVersionInBytes() {
+    return readCacheCapacityPerStoreVersionInBytes;
+  }
+
   public boolean isKeyValueProfilingEnabled() {
     return keyValueProfilingEnabled;
   }
@@ -1503,6 +1576,10 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return databaseChecksumVerificationEnabled;
   }
 
+  public String getSstFilePushStagingDir() {
+    return sstFilePushStagingDir;
+  }
+
   public VeniceProperties getKafkaConsumerConfigsForLocalConsumption() {
     return kafkaConsumerConfigsForLocalConsumption;
   }
@@ -1883,6 +1960,10 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return getDataBasePath() + File.separator + "rocksdb";
   }
 
+  public String getHashIndexPath() {
+    return getDataBasePath() + File.separator + "hash_index";
+  }
+
   public boolean isDaVinciCurrentVersionBootstrappingSpeedupEnabled() {
     return daVinciCurrentVersionBootstrappingSpeedupEnabled;
   }
@@ -1955,6 +2036,10 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return aaWCWorkloadParallelProcessingThreadPoolSize;
   }
 
+  public int getAAWCKeyLevelLockStripeCount() {
+    return aaWCKeyLevelLockStripeCount;
+  }
+
   public boolean isGlobalRtDivEnabled() {
     return isGlobalRtDivEnabled;
   }
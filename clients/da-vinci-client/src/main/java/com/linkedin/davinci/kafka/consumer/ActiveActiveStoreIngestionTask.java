@@ -89,6 +89,10 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
   private final MergeConflictResolver mergeConflictResolver;
   private final RmdSerDe rmdSerDe;
   private final Lazy<KeyLevelLocksManager> keyLevelLocksManager;
+  /**
+   * Only set when the key level locks are striped, in which case it is used instead of {@link #keyLevelLocksManager}.
+   */
+  private final Lazy<StripedKeyLevelLocksManager> stripedKeyLevelLocksManager;
   private final AggVersionedIngestionStats aggVersionedIngestionStats;
   private final RemoteIngestionRepairService remoteIngestionRepairService;
   private final Lazy<IngestionBatchProcessor> ingestionBatchProcessorLazy;
@@ -140,6 +144,9 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
             getVersionTopic().getName(),
             initialPoolSize,
             getKeyLevelLockMaxPoolSizeBasedOnServerConfig(serverConfig, storeVersionPartitionCount)));
+    int keyLevelLockStripeCount = serverConfig.getAAWCKeyLevelLockStripeCount();
+    this.stripedKeyLevelLocksManager =
+        keyLevelLockStripeCount > 0 ? Lazy.of(() -> new StripedKeyLevelLocksManager(keyLevelLockStripeCount)) : null;
     StringAnnotatedStoreSchemaCache annotatedReadOnlySchemaRepository =
         new StringAnnotatedStoreSchemaCache(storeName, schemaRepository);
 
@@ -164,7 +171,8 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
       return new IngestionBatchProcessor(
           kafkaVersionTopic,
           parallelProcessingThreadPool,
-          keyLevelLocksManager.get(),
+          stripedKeyLevelLocksManager == null ? keyLevelLocksManager.get() : null,
+          stripedKeyLevelLocksManager == null ? null : stripedKeyLevelLocksManager.get(),
           this::processActiveActiveMessage,
           isWriteComputationEnabled,
           isActiveActiveReplicationEnabled(),
@@ -225,7 +233,23 @@ public class ActiveActiveStoreIngestionTask extends LeaderFollowerStoreIngestion
        * -> [fabric B thread]update transient record cache -> [fabric B thread]produce to VT -> [fabric A thread]update transient record cache
        * -> [fabric A thread]produce to VT
        */
-      final ByteArrayKey byteArrayKey = ByteArrayKey.wrap(consumerRecordWrapper.getMessage().getKey().getKey());
+      final byte[] keyBytes = consumerRecordWrapper.getMessage().getKey().getKey();
+      if (stripedKeyLevelLocksManager != null) {
+        ReentrantLock keyLevelLock = this.stripedKeyLevelLocksManager.get().getLockForKey(keyBytes);
+        keyLevelLock.lock();
+        try {
+          return super.delegateConsumerRecord(
+              consumerRecordWrapper,
+              partition,
+              kafkaUrl,
+              kafkaClusterId,
+              beforeProcessingPerRecordTimestampNs,
+              beforeProcessingBatchRecordsTimestampMs);
+        } finally {
+          keyLevelLock.unlock();
+        }
+      }
+      final ByteArrayKey byteArrayKey = ByteArrayKey.wrap(keyBytes);
       ReentrantLock keyLevelLock = this.keyLevelLocksManager.get().acquireLockByKey(byteArrayKey);
       keyLevelLock.lock();
       try {
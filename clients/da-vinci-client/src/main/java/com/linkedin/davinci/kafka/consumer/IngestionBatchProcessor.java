@@ -44,6 +44,7 @@ public class IngestionBatchProcessor {
   private final int version;
   private final ExecutorService batchProcessingThreadPool;
   private final KeyLevelLocksManager lockManager;
+  private final StripedKeyLevelLocksManager stripedLockManager;
   private final boolean isWriteComputationEnabled;
   private final boolean isActiveActiveReplicationEnabled;
   private final ProcessingFunction processingFunction;
@@ -59,9 +60,35 @@ public class IngestionBatchProcessor {
       boolean isActiveActiveReplicationEnabled,
       AggVersionedIngestionStats aggVersionedIngestionStats,
       HostLevelIngestionStats hostLevelIngestionStats) {
+    this(
+        storeVersionName,
+        batchProcessingThreadPool,
+        lockManager,
+        null,
+        processingFunction,
+        isWriteComputationEnabled,
+        isActiveActiveReplicationEnabled,
+        aggVersionedIngestionStats,
+        hostLevelIngestionStats);
+  }
+
+  /**
+   * @param stripedLockManager when not null, it is used to lock the keys instead of {@param lockManager}.
+   */
+  public IngestionBatchProcessor(
+      String storeVersionName,
+      ExecutorService batchProcessingThreadPool,
+      KeyLevelLocksManager lockManager,
+      StripedKeyLevelLocksManager stripedLockManager,
+      ProcessingFunction processingFunction,
+      boolean isWriteComputationEnabled,
+      boolean isActiveActiveReplicationEnabled,
+      AggVersionedIngestionStats aggVersionedIngestionStats,
+      HostLevelIngestionStats hostLevelIngestionStats) {
     this.storeVersionName = storeVersionName;
     this.batchProcessingThreadPool = batchProcessingThreadPool;
     this.lockManager = lockManager;
+    this.stripedLockManager = stripedLockManager;
     this.processingFunction = processingFunction;
     this.isWriteComputationEnabled = isWriteComputationEnabled;
     this.isActiveActiveReplicationEnabled = isActiveActiveReplicationEnabled;
@@ -77,11 +104,31 @@ public class IngestionBatchProcessor {
     return this.lockManager;
   }
 
+  // For testing
+  StripedKeyLevelLocksManager getStripedLockManager() {
+    return this.stripedLockManager;
+  }
+
   /**
-   * When {@link #lockManager} is not null, this function will try to lock all the keys
+   * When {@link #stripedLockManager} or {@link #lockManager} is not null, this function will try to lock all the keys
    * (except Control Messages) passed by the params.
    */
-  public NavigableMap<ByteArrayKey, ReentrantLock> lockKeys(List<DefaultPubSubMessage> records) {
+  public LockedKeys lockKeys(List<DefaultPubSubMessage> records) {
+    if (stripedLockManager != null) {
+      int[] stripeIndices = new int[records.size()];
+      int keyCount = 0;
+      for (DefaultPubSubMessage record: records) {
+        if (!record.getKey().isControlMessage()) {
+          stripeIndices[keyCount++] = stripedLockManager.getStripeIndex(record.getKey().getKey());
+        }
+      }
+      /**
+       * The stripes are locked in ascending index order to avoid deadlocks between the consumers which are executing
+       * this function concurrently.
+       */
+      int lockedStripeCount = stripedLockManager.lockStripes(stripeIndices, keyCount);
+      return new LockedKeys(null, stripeIndices, lockedStripeCount);
+    }
     if (lockManager != null) {
       /**
        * Need to use a {@link TreeMap} to make sure the locking will be executed in a deterministic order, otherwise
@@ -96,14 +143,16 @@ public class IngestionBatchProcessor {
         }
       });
       keyLockMap.forEach((k, v) -> v.lock());
-      return keyLockMap;
+      return new LockedKeys(keyLockMap, null, 0);
     }
-    return Collections.emptyNavigableMap();
+    return LockedKeys.EMPTY;
   }
 
-  public void unlockKeys(NavigableMap<ByteArrayKey, ReentrantLock> keyLockMap) {
-    if (lockManager != null) {
-      keyLockMap.descendingMap().forEach((key, lock) -> {
+  public void unlockKeys(LockedKeys lockedKeys) {
+    if (lockedKeys.lockedStripeIndices != null) {
+      stripedLockManager.unlockStripes(lockedKeys.lockedStripeIndices, lockedKeys.lockedStripeCount);
+    } else if (lockManager != null) {
+      lockedKeys.keyLockMap.descendingMap().forEach((key, lock) -> {
         lock.unlock();
         lockManager.releaseLock(key);
       });
@@ -195,4 +244,34 @@ public class IngestionBatchProcessor {
 
     return resultList;
   }
+
+  /**
+   * The locks held for the keys of a batch, which should be released by {@link #unlockKeys(LockedKeys)}.
+   */
+  public static final class LockedKeys {
+    private static final LockedKeys EMPTY = new LockedKeys(Collections.emptyNavigableMap(), null, 0);
+
+    private final NavigableMap<ByteArrayKey, ReentrantLock> keyLockMap;
+    private final int[] lockedStripeIndices;
+    private final int lockedStripeCount;
+
+    private LockedKeys(
+        NavigableMap<ByteArrayKey, ReentrantLock> keyLockMap,
+        int[] lockedStripeIndices,
+        int lockedStripeCount) {
+      this.keyLockMap = keyLockMap;
+      this.lockedStripeIndices = lockedStripeIndices;
+      this.lockedStripeCount = lockedStripeCount;
+    }
+
+    // For testing
+    NavigableMap<ByteArrayKey, ReentrantLock> getKeyLockMap() {
+      return keyLockMap;
+    }
+
+    // For testing
+    int getLockedStripeCount() {
+      return lockedStripeCount;
+    }
+  }
 }
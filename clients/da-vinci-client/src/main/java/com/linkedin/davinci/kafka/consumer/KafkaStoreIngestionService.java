@@ -350,7 +350,10 @@ public class KafkaStoreIngestionService extends AbstractVeniceService implements
           serverConfig.isStoreWriterBufferAfterLeaderLogicEnabled(),
           serverConfig.getRegionName(),
           metricsRepository,
-          true);
+          true,
+          serverConfig.getStoreWriterBufferRingBufferCapacity(),
+          serverConfig.getStoreWriterBufferDrainBatchSize(),
+          serverConfig.getStoreWriterBufferDrainBatchMaxBytes());
     }
     this.kafkaMessageEnvelopeSchemaReader = kafkaMessageEnvelopeSchemaReader;
 
@@ -396,10 +399,12 @@ public class KafkaStoreIngestionService extends AbstractVeniceService implements
         : new OptimizedKafkaValueSerializer();
 
     kafkaMessageEnvelopeSchemaReader.ifPresent(kafkaValueSerializer::setSchemaReader);
+    // The pooled messages are released by the store writers, see StoreBufferService
     PubSubMessageDeserializer pubSubDeserializer = new PubSubMessageDeserializer(
         kafkaValueSerializer,
         new LandFillObjectPool<>(KafkaMessageEnvelope::new),
-        new LandFillObjectPool<>(KafkaMessageEnvelope::new));
+        new LandFillObjectPool<>(KafkaMessageEnvelope::new),
+        serverConfig.getStoreWriterBufferMessagePoolCapacity());
 
     aggKafkaConsumerService = new AggKafkaConsumerService(
         pubSubClientsFactory.getConsumerAdapterFactory(),
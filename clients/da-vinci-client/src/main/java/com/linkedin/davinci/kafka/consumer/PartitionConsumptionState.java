@@ -97,6 +97,25 @@ public class PartitionConsumptionState {
    */
   private volatile Future<Void> lastLeaderPersistFuture = null;
 
+  /**
+   * The preparation of the SST file staged by the push job, which completes with its record count, see
+   * {@link StoreIngestionTask#isReadyToProcessAfterStagedSSTFile}. It's started by the consumer thread and checked by
+   * the ingestion task and drainer threads.
+   */
+  private volatile CompletableFuture<Long> stagedSSTFilePreparationFuture = null;
+
+  /**
+   * Whether the partition was resubscribed once the staged SST file was prepared, only accessed by the ingestion task
+   * thread.
+   */
+  private boolean resubscribedAfterStagedSSTFilePrepared = false;
+
+  /**
+   * Whether the end of push held back until the staged SST file was prepared was let through, only accessed by the
+   * consumer thread.
+   */
+  private boolean stagedSSTFileEndOfPushReleased = false;
+
   /**
    * In-memory cache for the TopicSwitch in {@link com.linkedin.venice.kafka.protocol.state.StoreVersionState};
    * make sure to keep the in-memory state and StoreVersionState in sync.
@@ -433,6 +452,30 @@ public class PartitionConsumptionState {
     return this.lastLeaderPersistFuture;
   }
 
+  public CompletableFuture<Long> getStagedSSTFilePreparationFuture() {
+    return this.stagedSSTFilePreparationFuture;
+  }
+
+  public void setStagedSSTFilePreparationFuture(CompletableFuture<Long> future) {
+    this.stagedSSTFilePreparationFuture = future;
+  }
+
+  public boolean isResubscribedAfterStagedSSTFilePrepared() {
+    return this.resubscribedAfterStagedSSTFilePrepared;
+  }
+
+  public void setResubscribedAfterStagedSSTFilePrepared(boolean resubscribed) {
+    this.resubscribedAfterStagedSSTFilePrepared = resubscribed;
+  }
+
+  public boolean isStagedSSTFileEndOfPushReleased() {
+    return this.stagedSSTFileEndOfPushReleased;
+  }
+
+  public void setStagedSSTFileEndOfPushReleased(boolean released) {
+    this.stagedSSTFileEndOfPushReleased = released;
+  }
+
   public CompletableFuture<Void> getLastQueuedRecordPersistedFuture() {
     return lastQueuedRecordPersistedFuture;
   }
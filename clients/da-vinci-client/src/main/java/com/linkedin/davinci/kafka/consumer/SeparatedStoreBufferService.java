@@ -34,7 +34,10 @@ public class SeparatedStoreBufferService extends AbstractStoreBufferService {
             serverConfig.isStoreWriterBufferAfterLeaderLogicEnabled(),
             serverConfig.getRegionName(),
             metricsRepository,
-            true),
+            true,
+            serverConfig.getStoreWriterBufferRingBufferCapacity(),
+            serverConfig.getStoreWriterBufferDrainBatchSize(),
+            serverConfig.getStoreWriterBufferDrainBatchMaxBytes()),
         new StoreBufferService(
             serverConfig.getDrainerPoolSizeUnsortedInput(),
             serverConfig.getStoreWriterBufferMemoryCapacity(),
@@ -42,7 +45,10 @@ public class SeparatedStoreBufferService extends AbstractStoreBufferService {
             serverConfig.isStoreWriterBufferAfterLeaderLogicEnabled(),
             serverConfig.getRegionName(),
             metricsRepository,
-            false));
+            false,
+            serverConfig.getStoreWriterBufferRingBufferCapacity(),
+            serverConfig.getStoreWriterBufferDrainBatchSize(),
+            serverConfig.getStoreWriterBufferDrainBatchMaxBytes()));
     LOGGER.info(
         "Created separated store buffer service with {} sorted drainers and {} unsorted drainers queues with capacity of {}",
         sortedPoolSize,
@@ -16,6 +16,7 @@ import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
 import com.linkedin.venice.memory.ClassSizeEstimator;
 import com.linkedin.venice.memory.Measurable;
 import com.linkedin.venice.message.KafkaKey;
+import com.linkedin.venice.pubsub.PooledPubSubMessage;
 import com.linkedin.venice.pubsub.api.DefaultPubSubMessage;
 import com.linkedin.venice.pubsub.api.PubSubMessage;
 import com.linkedin.venice.pubsub.api.PubSubPosition;
@@ -24,8 +25,11 @@ import com.linkedin.venice.pubsub.api.PubSubTopicPartition;
 import com.linkedin.venice.utils.DaemonThreadFactory;
 import com.linkedin.venice.utils.Utils;
 import com.linkedin.venice.utils.collections.MemoryBoundBlockingQueue;
+import com.linkedin.venice.utils.collections.MemoryBoundQueue;
+import com.linkedin.venice.utils.collections.MemoryBoundRingBufferQueue;
 import io.tehuti.metrics.MetricsRepository;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -62,10 +66,12 @@ import org.apache.logging.log4j.Logger;
 public class StoreBufferService extends AbstractStoreBufferService {
   private static final Logger LOGGER = LogManager.getLogger(StoreBufferService.class);
   private final int drainerNum;
-  private final ArrayList<MemoryBoundBlockingQueue<QueueNode>> blockingQueueArr;
+  private final ArrayList<MemoryBoundQueue<QueueNode>> blockingQueueArr;
   private ExecutorService executorService;
   private final List<StoreBufferDrainer> drainerList = new ArrayList<>();
   private final long bufferCapacityPerDrainer;
+  private final int drainBatchSize;
+  private final long drainBatchMaxBytes;
 
   private final RecordHandler leaderRecordHandler;
   private final StoreBufferServiceStats storeBufferServiceStats;
@@ -84,6 +90,36 @@ public class StoreBufferService extends AbstractStoreBufferService {
       String regionName,
       MetricsRepository metricsRepository,
       boolean sorted) {
+    this(
+        drainerNum,
+        bufferCapacityPerDrainer,
+        bufferNotifyDelta,
+        queueLeaderWrites,
+        regionName,
+        metricsRepository,
+        sorted,
+        0,
+        1,
+        Long.MAX_VALUE);
+  }
+
+  /**
+   * @param ringBufferCapacityPerDrainer when positive, each drainer is fed by a {@link MemoryBoundRingBufferQueue}
+   *                                     with this many slots instead of a {@link MemoryBoundBlockingQueue}.
+   * @param drainBatchSize the max number of queued nodes each drainer pulls out of its queue per wake-up.
+   * @param drainBatchMaxBytes the max heap size of the queued nodes each drainer pulls out of its queue per wake-up.
+   */
+  public StoreBufferService(
+      int drainerNum,
+      long bufferCapacityPerDrainer,
+      long bufferNotifyDelta,
+      boolean queueLeaderWrites,
+      String regionName,
+      MetricsRepository metricsRepository,
+      boolean sorted,
+      int ringBufferCapacityPerDrainer,
+      int drainBatchSize,
+      long drainBatchMaxBytes) {
     this(
         drainerNum,
         bufferCapacityPerDrainer,
@@ -92,7 +128,10 @@ public class StoreBufferService extends AbstractStoreBufferService {
         null,
         regionName,
         metricsRepository,
-        sorted);
+        sorted,
+        ringBufferCapacityPerDrainer,
+        drainBatchSize,
+        drainBatchMaxBytes);
   }
 
   /**
@@ -105,7 +144,45 @@ public class StoreBufferService extends AbstractStoreBufferService {
       boolean queueLeaderWrites,
       StoreBufferServiceStats stats,
       String regionName) {
-    this(drainerNum, bufferCapacityPerDrainer, bufferNotifyDelta, queueLeaderWrites, stats, regionName, null, true);
+    this(
+        drainerNum,
+        bufferCapacityPerDrainer,
+        bufferNotifyDelta,
+        queueLeaderWrites,
+        stats,
+        regionName,
+        null,
+        true,
+        0,
+        1,
+        Long.MAX_VALUE);
+  }
+
+  /**
+   * Package-private constructor for testing
+   */
+  StoreBufferService(
+      int drainerNum,
+      long bufferCapacityPerDrainer,
+      long bufferNotifyDelta,
+      boolean queueLeaderWrites,
+      StoreBufferServiceStats stats,
+      String regionName,
+      int ringBufferCapacityPerDrainer,
+      int drainBatchSize,
+      long drainBatchMaxBytes) {
+    this(
+        drainerNum,
+        bufferCapacityPerDrainer,
+        bufferNotifyDelta,
+        queueLeaderWrites,
+        stats,
+        regionName,
+        null,
+        true,
+        ringBufferCapacityPerDrainer,
+        drainBatchSize,
+        drainBatchMaxBytes);
   }
 
   /**
@@ -123,13 +200,26 @@ public class StoreBufferService extends AbstractStoreBufferService {
       StoreBufferServiceStats stats,
       String regionName,
       MetricsRepository metricsRepository,
-      boolean sorted) {
+      boolean sorted,
+      int ringBufferCapacityPerDrainer,
+      int drainBatchSize,
+      long drainBatchMaxBytes) {
     this.regionName = regionName;
     this.drainerNum = drainerNum;
+    this.drainBatchSize = Math.max(1, drainBatchSize);
+    this.drainBatchMaxBytes = drainBatchMaxBytes;
     this.blockingQueueArr = new ArrayList<>();
     this.bufferCapacityPerDrainer = bufferCapacityPerDrainer;
     for (int cur = 0; cur < drainerNum; ++cur) {
-      this.blockingQueueArr.add(new MemoryBoundBlockingQueue<>(bufferCapacityPerDrainer, bufferNotifyDelta));
+      if (ringBufferCapacityPerDrainer > 0) {
+        this.blockingQueueArr.add(
+            new MemoryBoundRingBufferQueue<>(
+                bufferCapacityPerDrainer,
+                bufferNotifyDelta,
+                ringBufferCapacityPerDrainer));
+      } else {
+        this.blockingQueueArr.add(new MemoryBoundBlockingQueue<>(bufferCapacityPerDrainer, bufferNotifyDelta));
+      }
     }
     this.isSorted = sorted;
     this.leaderRecordHandler = queueLeaderWrites ? this::queueLeaderRecord : StoreBufferService::processRecord;
@@ -150,7 +240,7 @@ public class StoreBufferService extends AbstractStoreBufferService {
     this.hashCodeCache = Caffeine.newBuilder().maximumSize(2000).build(Utils::calculateTopicHashCode);
   }
 
-  protected MemoryBoundBlockingQueue<QueueNode> getDrainerForConsumerRecord(
+  protected MemoryBoundQueue<QueueNode> getDrainerForConsumerRecord(
       DefaultPubSubMessage consumerRecord,
       int partition) {
     int drainerIndex = getDrainerIndexForConsumerRecord(consumerRecord, partition);
@@ -306,9 +396,10 @@ public class StoreBufferService extends AbstractStoreBufferService {
 
     QueueNode fakeNode = new QueueNode(fakeRecord, null, "dummyKafkaUrl", 0);
 
+    StoreBufferDrainer drainer = drainerList.get(workerIndex);
     int cur = 0;
     while (cur++ < retryNum) {
-      if (!blockingQueue.contains(fakeNode)) {
+      if (!blockingQueue.contains(fakeNode) && !drainer.isProcessing(fakeNode)) {
         LOGGER.info(
             "The blocking queue of store writer thread: {} doesn't contain any record for: {}",
             workerIndex,
@@ -352,7 +443,12 @@ public class StoreBufferService extends AbstractStoreBufferService {
 
     // Submit all the buffer drainers
     for (int cur = 0; cur < drainerNum; ++cur) {
-      StoreBufferDrainer drainer = new StoreBufferDrainer(this.blockingQueueArr.get(cur), cur, storeBufferServiceStats);
+      StoreBufferDrainer drainer = new StoreBufferDrainer(
+          this.blockingQueueArr.get(cur),
+          cur,
+          storeBufferServiceStats,
+          drainBatchSize,
+          drainBatchMaxBytes);
       this.executorService.submit(drainer);
       drainerList.add(drainer);
     }
@@ -375,7 +471,7 @@ public class StoreBufferService extends AbstractStoreBufferService {
   @Override
   public long getTotalMemoryUsage() {
     long totalUsage = 0;
-    for (MemoryBoundBlockingQueue<QueueNode> queue: blockingQueueArr) {
+    for (MemoryBoundQueue<QueueNode> queue: blockingQueueArr) {
       totalUsage += queue.getMemoryUsage();
     }
     return totalUsage;
@@ -384,7 +480,7 @@ public class StoreBufferService extends AbstractStoreBufferService {
   @Override
   public long getTotalRemainingMemory() {
     long totalRemaining = 0;
-    for (MemoryBoundBlockingQueue<QueueNode> queue: blockingQueueArr) {
+    for (MemoryBoundQueue<QueueNode> queue: blockingQueueArr) {
       totalRemaining += queue.remainingMemoryCapacityInByte();
     }
     return totalRemaining;
@@ -399,7 +495,7 @@ public class StoreBufferService extends AbstractStoreBufferService {
       return maxUsage;
     }
 
-    for (MemoryBoundBlockingQueue<QueueNode> queue: blockingQueueArr) {
+    for (MemoryBoundQueue<QueueNode> queue: blockingQueueArr) {
       maxUsage = Math.max(maxUsage, queue.getMemoryUsage());
       if (queue.getMemoryUsage() > 0.8 * bufferCapacityPerDrainer) {
         slowDrainerExists = true;
@@ -410,7 +506,7 @@ public class StoreBufferService extends AbstractStoreBufferService {
       StoreBufferDrainer drainer = drainerList.get(index);
       // print drainer info when there is a slow drainer.
       if (slowDrainerExists) {
-        MemoryBoundBlockingQueue<QueueNode> queue = blockingQueueArr.get(index);
+        MemoryBoundQueue<QueueNode> queue = blockingQueueArr.get(index);
         int count = queue.getMemoryUsage() > 0.8 * bufferCapacityPerDrainer ? 5 : 1;
         List<Map.Entry<PubSubTopicPartition, Long>> slowestEntries = drainer.topicToTimeSpent.entrySet()
             .stream()
@@ -436,7 +532,7 @@ public class StoreBufferService extends AbstractStoreBufferService {
   @Override
   public long getMinMemoryUsagePerDrainer() {
     long minUsage = Long.MAX_VALUE;
-    for (MemoryBoundBlockingQueue<QueueNode> queue: blockingQueueArr) {
+    for (MemoryBoundQueue<QueueNode> queue: blockingQueueArr) {
       minUsage = Math.min(minUsage, queue.getMemoryUsage());
     }
     return minUsage;
@@ -725,122 +821,374 @@ public class StoreBufferService extends AbstractStoreBufferService {
    */
   private static class StoreBufferDrainer implements Runnable {
     private static final Logger LOGGER = LogManager.getLogger(StoreBufferDrainer.class);
-    private final BlockingQueue<QueueNode> blockingQueue;
+    private final MemoryBoundQueue<QueueNode> blockingQueue;
     private final AtomicBoolean isRunning = new AtomicBoolean(true);
     private final int drainerIndex;
     private final ConcurrentMap<PubSubTopicPartition, Long> topicToTimeSpent = new ConcurrentHashMap<>();
     private final StoreBufferServiceStats stats;
-
-    public StoreBufferDrainer(BlockingQueue<QueueNode> blockingQueue, int drainerIndex, StoreBufferServiceStats stats) {
+    private final int drainBatchSize;
+    private final long drainBatchMaxBytes;
+    /**
+     * The batch pulled out of {@link #blockingQueue} and being processed, so that the nodes which are not in the
+     * queue anymore but haven't been processed yet are still visible to {@link #isProcessing(QueueNode)}.
+     */
+    private volatile DrainedBatch currentBatch = DrainedBatch.EMPTY;
+
+    public StoreBufferDrainer(
+        MemoryBoundQueue<QueueNode> blockingQueue,
+        int drainerIndex,
+        StoreBufferServiceStats stats,
+        int drainBatchSize,
+        long drainBatchMaxBytes) {
       this.blockingQueue = blockingQueue;
       this.drainerIndex = drainerIndex;
       this.stats = stats;
+      this.drainBatchSize = drainBatchSize;
+      this.drainBatchMaxBytes = drainBatchMaxBytes;
     }
 
     public void stop() {
       isRunning.set(false);
     }
 
+    /**
+     * @return whether a node equal to the given one has been pulled out of the queue by this drainer, but its
+     *         processing hasn't started yet.
+     */
+    boolean isProcessing(QueueNode node) {
+      DrainedBatch batch = currentBatch;
+      for (int i = batch.nextIndex; i < batch.nodes.size(); ++i) {
+        if (node.equals(batch.nodes.get(i))) {
+          return true;
+        }
+      }
+      return false;
+    }
+
     @Override
     public void run() {
-      LOGGER.info("Starting StoreBufferDrainer Thread for drainer: {}....", drainerIndex);
-      QueueNode node = null;
-      DefaultPubSubMessage consumerRecord = null;
-      LeaderProducedRecordContext leaderProducedRecordContext = null;
-      StoreIngestionTask ingestionTask = null;
-      CompletableFuture<Void> recordPersistedFuture = null;
-      while (isRunning.get()) {
+      LOGGER.info(
+          "Starting StoreBufferDrainer Thread for drainer: {} with drain batch size: {}....",
+          drainerIndex,
+          drainBatchSize);
+      boolean fatalErrorEncountered = false;
+      while (isRunning.get() && !fatalErrorEncountered) {
+        List<QueueNode> nodes;
         try {
-          node = blockingQueue.take();
+          QueueNode firstNode = blockingQueue.take();
+          if (drainBatchSize == 1) {
+            nodes = Collections.singletonList(firstNode);
+          } else {
+            nodes = new ArrayList<>(drainBatchSize);
+            nodes.add(firstNode);
+            /**
+             * Only the first node is waited for, and the batch is completed with whatever is already buffered, so
+             * that batching never adds latency. The freed memory is handed back to the producers once per batch.
+             */
+            blockingQueue.drainTo(nodes, drainBatchSize - 1, drainBatchMaxBytes - firstNode.getHeapSize());
+            stats.recordDrainBatchSize(nodes.size());
+          }
+        } catch (InterruptedException e) {
+          LOGGER.error("Drainer {} received InterruptedException, will exit", drainerIndex);
+          break;
+        } catch (Throwable e) {
+          LOGGER.error("Drainer {} received throwable: ", drainerIndex, e);
+          stats.recordInternalProcessingError();
+          if (e instanceof Exception) {
+            continue;
+          }
+          break;
+        }
 
-          consumerRecord = node.getConsumerRecord();
-          int partitionNum = consumerRecord.getTopicPartition().getPartitionNumber();
-          leaderProducedRecordContext = node.getLeaderProducedRecordContext();
-          ingestionTask = node.getIngestionTask();
-          recordPersistedFuture = node.getQueuedRecordPersistedFuture();
+        DrainedBatch batch = new DrainedBatch(nodes);
+        currentBatch = batch;
+        try {
+          int i = 0;
+          while (i < nodes.size() && !fatalErrorEncountered) {
+            int runEnd = getBatchableRunEnd(nodes, i);
+            if (runEnd - i > 1) {
+              fatalErrorEncountered = !processRecordBatch(batch, i, runEnd);
+              i = runEnd;
+            } else {
+              batch.nextIndex = i + 1;
+              fatalErrorEncountered = !processNode(nodes.get(i));
+              i++;
+            }
+          }
+          if (fatalErrorEncountered) {
+            failNodes(nodes.subList(i, nodes.size()), null);
+          }
+        } finally {
+          currentBatch = DrainedBatch.EMPTY;
+        }
+      }
+      LOGGER.info("Current StoreBufferDrainer {} stopped", drainerIndex);
+    }
 
-          long startTime = System.currentTimeMillis();
+    /**
+     * @return the end, exclusive, of the run of nodes starting at the given index which can be processed as a single
+     *         batch, see {@link StoreIngestionTask#beginConsumerRecordBatch}.
+     */
+    private int getBatchableRunEnd(List<QueueNode> nodes, int start) {
+      if (drainBatchSize == 1 || !isBatchable(nodes.get(start))) {
+        return start + 1;
+      }
+      StoreIngestionTask ingestionTask = nodes.get(start).getIngestionTask();
+      PubSubTopicPartition topicPartition = nodes.get(start).getConsumerRecord().getTopicPartition();
+      int end = start + 1;
+      while (end < nodes.size() && isBatchable(nodes.get(end)) && nodes.get(end).getIngestionTask() == ingestionTask
+          && nodes.get(end).getConsumerRecord().getTopicPartition().equals(topicPartition)) {
+        end++;
+      }
+      return end;
+    }
 
-          if (node instanceof CommandQueueNode) {
-            processCommand(
-                (CommandQueueNode) node,
-                ingestionTask,
-                ingestionTask.getPartitionConsumptionState(partitionNum));
-            continue;
-          } else if (node instanceof SyncVtDivNode) {
-            ((SyncVtDivNode) node).execute();
-            continue;
+    private static boolean isBatchable(QueueNode node) {
+      if (node instanceof CommandQueueNode || node instanceof SyncVtDivNode || node instanceof LeaderQueueNode) {
+        return false;
+      }
+      KafkaKey key = node.getConsumerRecord().getKey();
+      return !key.isControlMessage() && !key.isGlobalRtDiv();
+    }
+
+    /**
+     * Processes the data records of the given range of the batch, which all belong to the same partition, with their
+     * writes applied as one storage engine write batch. Their persisted futures are only completed once that write
+     * batch is committed.
+     *
+     * @return false if the drainer should stop because of an unrecoverable error.
+     */
+    private boolean processRecordBatch(DrainedBatch batch, int start, int end) {
+      List<QueueNode> nodes = batch.nodes;
+      QueueNode firstNode = nodes.get(start);
+      StoreIngestionTask ingestionTask = firstNode.getIngestionTask();
+      PubSubTopicPartition topicPartition = firstNode.getConsumerRecord().getTopicPartition();
+      int partition = topicPartition.getPartitionNumber();
+      long startTime = System.currentTimeMillis();
+      try {
+        ingestionTask.beginConsumerRecordBatch(partition);
+      } catch (Exception e) {
+        // The records are processed one by one instead, which surfaces the failure the same way as before.
+        LOGGER.warn("Drainer {} failed to begin a write batch for: {}", drainerIndex, topicPartition, e);
+        for (int i = start; i < end; ++i) {
+          batch.nextIndex = i + 1;
+          if (!processNode(nodes.get(i))) {
+            failNodes(nodes.subList(i + 1, end), null);
+            return false;
           }
+        }
+        return true;
+      }
 
-          processRecord(
-              consumerRecord,
-              ingestionTask,
-              leaderProducedRecordContext,
-              consumerRecord.getTopicPartition().getPartitionNumber(),
+      List<QueueNode> appliedNodes = new ArrayList<>(end - start);
+      boolean fatalErrorEncountered = false;
+      for (int i = start; i < end; ++i) {
+        batch.nextIndex = i + 1;
+        QueueNode node = nodes.get(i);
+        try {
+          ingestionTask.processConsumerRecordInBatch(
+              node.getConsumerRecord(),
+              partition,
               node.getKafkaUrl(),
               node.getBeforeProcessingRecordTimestampNs());
-
-          /**
-           * Complete {@link QueueNode#queuedRecordPersistedFuture} since the processing for the current record is done.
-           */
-          if (recordPersistedFuture != null) {
-            recordPersistedFuture.complete(null);
-          }
-          long latencyInMS = System.currentTimeMillis() - startTime;
-          this.stats.recordInternalProcessingLatency(latencyInMS);
-          topicToTimeSpent.compute(consumerRecord.getTopicPartition(), (K, V) -> (V == null ? 0 : V) + latencyInMS);
+          appliedNodes.add(node);
         } catch (Throwable e) {
-          if (e instanceof InterruptedException) {
-            LOGGER.error("Drainer {} received InterruptedException, will exit", drainerIndex);
+          if (!handleProcessingFailure(node, e)) {
+            failNodes(nodes.subList(i + 1, end), e);
+            fatalErrorEncountered = true;
             break;
           }
-          StringBuilder logBuilder = new StringBuilder().append("Drainer ").append(drainerIndex);
-          if (consumerRecord == null) {
-            logBuilder.append(" received throwable: ");
-          } else {
-            String consumerRecordString = consumerRecord.toString();
-            if (consumerRecordString.length() > 1024) {
-              // Careful not to flood the logs with too much content...
-              consumerRecordString = consumerRecordString.substring(0, 1024);
-              logBuilder
-                  .append(" received throwable while processing consumer record (truncated at 1024 characters): ");
-            } else {
-              logBuilder.append(" received throwable while processing consumer record: ");
-            }
-            logBuilder.append(consumerRecordString);
-          }
-          LOGGER.error(logBuilder.toString(), e);
-          stats.recordInternalProcessingError();
+        }
+      }
 
-          /**
-           * Catch all the thrown exception and store it in {@link StoreIngestionTask#lastWorkerException}.
-           */
-          if (e instanceof Exception) {
-            Exception processConsumerRecordException = (Exception) e;
-            if (ingestionTask != null) {
-              try {
-                ingestionTask.setIngestionException(
-                    consumerRecord.getTopicPartition().getPartitionNumber(),
-                    processConsumerRecordException);
-              } catch (VeniceException ingestionException) {
-                ingestionTask.setLastStoreIngestionException(ingestionException);
-              }
-              if (e instanceof VeniceChecksumException) {
-                ingestionTask.recordChecksumVerificationFailure();
-              }
-            }
-            if (leaderProducedRecordContext != null) {
-              leaderProducedRecordContext.completePersistedToDBFuture(processConsumerRecordException);
-            }
-            if (recordPersistedFuture != null) {
-              recordPersistedFuture.completeExceptionally(processConsumerRecordException);
-            }
-          } else {
-            break;
+      try {
+        ingestionTask.commitConsumerRecordBatch(
+            partition,
+            appliedNodes.isEmpty() ? null : appliedNodes.get(appliedNodes.size() - 1).getConsumerRecord());
+      } catch (Throwable e) {
+        // None of the writes of the batch can be considered persisted. The failure is reported once for the batch.
+        if (!appliedNodes.isEmpty()) {
+          QueueNode lastNode = appliedNodes.remove(appliedNodes.size() - 1);
+          fatalErrorEncountered |= !handleProcessingFailure(lastNode, e);
+          failNodes(appliedNodes, e);
+        } else {
+          fatalErrorEncountered |= !handleProcessingFailure(firstNode, e);
+        }
+        return !fatalErrorEncountered;
+      }
+
+      for (QueueNode node: appliedNodes) {
+        CompletableFuture<Void> recordPersistedFuture = node.getQueuedRecordPersistedFuture();
+        if (recordPersistedFuture != null) {
+          recordPersistedFuture.complete(null);
+        }
+        // Leader records are never batched, so none of these is referenced anymore, see processNode.
+        if (node.getConsumerRecord() instanceof PooledPubSubMessage) {
+          ((PooledPubSubMessage) node.getConsumerRecord()).release();
+        }
+      }
+      long latencyInMS = System.currentTimeMillis() - startTime;
+      this.stats.recordInternalProcessingLatency(latencyInMS);
+      topicToTimeSpent.compute(topicPartition, (K, V) -> (V == null ? 0 : V) + latencyInMS);
+      return !fatalErrorEncountered;
+    }
+
+    /**
+     * @return false if the drainer should stop because of an unrecoverable error.
+     */
+    private boolean processNode(QueueNode node) {
+      try {
+        DefaultPubSubMessage consumerRecord = node.getConsumerRecord();
+        int partitionNum = consumerRecord.getTopicPartition().getPartitionNumber();
+        LeaderProducedRecordContext leaderProducedRecordContext = node.getLeaderProducedRecordContext();
+        StoreIngestionTask ingestionTask = node.getIngestionTask();
+        CompletableFuture<Void> recordPersistedFuture = node.getQueuedRecordPersistedFuture();
+
+        long startTime = System.currentTimeMillis();
+
+        if (node instanceof CommandQueueNode) {
+          processCommand(
+              (CommandQueueNode) node,
+              ingestionTask,
+              ingestionTask.getPartitionConsumptionState(partitionNum));
+          return true;
+        } else if (node instanceof SyncVtDivNode) {
+          ((SyncVtDivNode) node).execute();
+          return true;
+        }
+
+        processRecord(
+            consumerRecord,
+            ingestionTask,
+            leaderProducedRecordContext,
+            consumerRecord.getTopicPartition().getPartitionNumber(),
+            node.getKafkaUrl(),
+            node.getBeforeProcessingRecordTimestampNs());
+
+        /**
+         * Complete {@link QueueNode#queuedRecordPersistedFuture} since the processing for the current record is done.
+         */
+        if (recordPersistedFuture != null) {
+          recordPersistedFuture.complete(null);
+        }
+        long latencyInMS = System.currentTimeMillis() - startTime;
+        this.stats.recordInternalProcessingLatency(latencyInMS);
+        topicToTimeSpent.compute(consumerRecord.getTopicPartition(), (K, V) -> (V == null ? 0 : V) + latencyInMS);
+
+        /**
+         * The records which were not produced by the leader are not referenced anymore once they are processed, since
+         * the consumer thread is done with them as soon as it queues them. The ones produced by the leader are still
+         * referenced by the producer callbacks, and are therefore never recycled.
+         */
+        if (leaderProducedRecordContext == null && consumerRecord instanceof PooledPubSubMessage) {
+          ((PooledPubSubMessage) consumerRecord).release();
+        }
+      } catch (Throwable e) {
+        return handleProcessingFailure(node, e);
+      }
+      return true;
+    }
+
+    /**
+     * @return false if the drainer should stop because of an unrecoverable error.
+     */
+    private boolean handleProcessingFailure(QueueNode node, Throwable e) {
+      if (e instanceof InterruptedException) {
+        LOGGER.error("Drainer {} received InterruptedException, will exit", drainerIndex);
+        failNodes(Collections.singletonList(node), e);
+        return false;
+      }
+      DefaultPubSubMessage consumerRecord = node.getConsumerRecord();
+      LeaderProducedRecordContext leaderProducedRecordContext = node.getLeaderProducedRecordContext();
+      StoreIngestionTask ingestionTask = node.getIngestionTask();
+      CompletableFuture<Void> recordPersistedFuture = node.getQueuedRecordPersistedFuture();
+      StringBuilder logBuilder = new StringBuilder().append("Drainer ").append(drainerIndex);
+      if (consumerRecord == null) {
+        logBuilder.append(" received throwable: ");
+      } else {
+        String consumerRecordString = consumerRecord.toString();
+        if (consumerRecordString.length() > 1024) {
+          // Careful not to flood the logs with too much content...
+          consumerRecordString = consumerRecordString.substring(0, 1024);
+          logBuilder.append(" received throwable while processing consumer record (truncated at 1024 characters): ");
+        } else {
+          logBuilder.append(" received throwable while processing consumer record: ");
+        }
+        logBuilder.append(consumerRecordString);
+      }
+      LOGGER.error(logBuilder.toString(), e);
+      stats.recordInternalProcessingError();
+
+      /**
+       * Catch all the thrown exception and store it in {@link StoreIngestionTask#lastWorkerException}.
+       */
+      if (e instanceof Exception) {
+        Exception processConsumerRecordException = (Exception) e;
+        if (ingestionTask != null) {
+          try {
+            ingestionTask.setIngestionException(
+                consumerRecord.getTopicPartition().getPartitionNumber(),
+                processConsumerRecordException);
+          } catch (VeniceException ingestionException) {
+            ingestionTask.setLastStoreIngestionException(ingestionException);
+          }
+          if (e instanceof VeniceChecksumException) {
+            ingestionTask.recordChecksumVerificationFailure();
           }
         }
+        if (leaderProducedRecordContext != null) {
+          leaderProducedRecordContext.completePersistedToDBFuture(processConsumerRecordException);
+        }
+        if (recordPersistedFuture != null) {
+          recordPersistedFuture.completeExceptionally(processConsumerRecordException);
+        }
+        return true;
       }
-      LOGGER.info("Current StoreBufferDrainer {} stopped", drainerIndex);
+      failNodes(Collections.singletonList(node), e);
+      return false;
+    }
+
+    /**
+     * Completes exceptionally the futures of nodes which won't be processed, either because their processing failed
+     * along with the ones they were batched with, or because the drainer is stopping. Their memory has already been
+     * handed back to the producers, so they would otherwise be waited for forever.
+     */
+    private void failNodes(List<QueueNode> nodes, Throwable cause) {
+      for (QueueNode node: nodes) {
+        VeniceException exception = cause instanceof VeniceException
+            ? (VeniceException) cause
+            : new VeniceException(
+                "Drainer " + drainerIndex + " could not process a record of: "
+                    + node.getConsumerRecord().getTopicPartition(),
+                cause);
+        if (node.getLeaderProducedRecordContext() != null) {
+          node.getLeaderProducedRecordContext().completePersistedToDBFuture(exception);
+        }
+        if (node.getQueuedRecordPersistedFuture() != null) {
+          node.getQueuedRecordPersistedFuture().completeExceptionally(exception);
+        }
+        if (node instanceof CommandQueueNode) {
+          ((CommandQueueNode) node).getCmdExecutedFuture().completeExceptionally(exception);
+        }
+      }
+    }
+  }
+
+  /**
+   * The nodes pulled out of the queue of a {@link StoreBufferDrainer} in one go. {@link #nodes} is never modified once
+   * the batch has been published to other threads.
+   */
+  private static class DrainedBatch {
+    private static final DrainedBatch EMPTY = new DrainedBatch(Collections.emptyList());
+
+    private final List<QueueNode> nodes;
+    /**
+     * Index of the first node whose processing hasn't started yet, only updated by the drainer thread.
+     */
+    private volatile int nextIndex = 0;
+
+    DrainedBatch(List<QueueNode> nodes) {
+      this.nodes = nodes;
     }
   }
 
@@ -47,7 +47,6 @@ import com.linkedin.davinci.store.cache.backend.ObjectCacheBackend;
 import com.linkedin.davinci.store.memory.InMemoryStorageEngine;
 import com.linkedin.davinci.store.record.ByteBufferValueRecord;
 import com.linkedin.davinci.store.record.ValueRecord;
-import com.linkedin.davinci.utils.ByteArrayKey;
 import com.linkedin.davinci.utils.InMemoryChunkAssembler;
 import com.linkedin.davinci.validation.DataIntegrityValidator;
 import com.linkedin.davinci.validation.PartitionTracker;
@@ -73,6 +72,7 @@ import com.linkedin.venice.exceptions.validation.UnsupportedMessageTypeException
 import com.linkedin.venice.kafka.protocol.ControlMessage;
 import com.linkedin.venice.kafka.protocol.Delete;
 import com.linkedin.venice.kafka.protocol.EndOfIncrementalPush;
+import com.linkedin.venice.kafka.protocol.EndOfPush;
 import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
 import com.linkedin.venice.kafka.protocol.Put;
 import com.linkedin.venice.kafka.protocol.StartOfIncrementalPush;
@@ -109,9 +109,11 @@ import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
 import com.linkedin.venice.serializer.RecordDeserializer;
 import com.linkedin.venice.stats.StatsErrorCode;
 import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
+import com.linkedin.venice.store.rocksdb.RocksDBUtils;
 import com.linkedin.venice.system.store.MetaStoreWriter;
 import com.linkedin.venice.utils.ByteUtils;
 import com.linkedin.venice.utils.ComplementSet;
+import com.linkedin.venice.utils.DaemonThreadFactory;
 import com.linkedin.venice.utils.DiskUsage;
 import com.linkedin.venice.utils.ExceptionUtils;
 import com.linkedin.venice.utils.HelixUtils;
@@ -129,7 +131,10 @@ import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import com.linkedin.venice.utils.lazy.Lazy;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.ArrayList;
@@ -140,13 +145,13 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.CountDownLatch;
@@ -157,7 +162,6 @@ import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -166,6 +170,7 @@ import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import org.apache.avro.AvroRuntimeException;
 import org.apache.avro.Schema;
+import org.apache.commons.lang.StringUtils;
 import org.apache.helix.manager.zk.ZKHelixAdmin;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -291,6 +296,12 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
   protected final Optional<HybridStoreConfig> hybridStoreConfig;
   protected final Consumer<DataValidationException> divErrorMetricCallback;
   private final ExecutorService missingSOPCheckExecutor = Executors.newSingleThreadExecutor();
+  /**
+   * Copies and verifies the SST files staged by the push job, see {@link #isReadyToProcessAfterStagedSSTFile}.
+   */
+  private final Lazy<ExecutorService> stagedSSTFilePreparationExecutor = Lazy.of(
+      () -> Executors
+          .newSingleThreadExecutor(new DaemonThreadFactory("Venice-Staged-SST-File-" + this.kafkaVersionTopic)));
   private final VeniceStoreVersionConfig storeVersionConfig;
   protected final long readCycleDelayMs;
   protected final long emptyPollSleepMs;
@@ -1161,6 +1172,8 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
         beforeProcessingPerRecordTimestampNs,
         beforeProcessingBatchRecordsTimestampMs);
 
+    // N.B.: The record must not be accessed once queued, since the drainer may recycle it, see PooledPubSubMessage.
+    int payloadSize = record.getPayloadSize();
     switch (delegateConsumerRecordResult) {
       case QUEUED_TO_DRAINER:
         long queuePutStartTimeInNS = metricsEnabled ? System.nanoTime() : 0;
@@ -1190,7 +1203,7 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
     // Update the latest message consumed time
     partitionConsumptionState.setLatestMessageConsumedTimestampInMs(beforeProcessingBatchRecordsTimestampMs);
 
-    return record.getPayloadSize();
+    return payloadSize;
   }
 
   /**
@@ -1244,6 +1257,10 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
       if (!shouldProcessRecord(record)) {
         continue;
       }
+      if (!isReadyToProcessAfterStagedSSTFile(record, partitionConsumptionState)) {
+        // The records from the end of push onwards are consumed again once the staged SST file is prepared
+        break;
+      }
 
       // Check schema id availability before putting consumer record to drainer queue
       waitReadyToProcessRecord(record);
@@ -1330,7 +1347,7 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
      * Process records batch by batch.
      */
     for (List<DefaultPubSubMessage> batch: batches) {
-      NavigableMap<ByteArrayKey, ReentrantLock> keyLockMap = ingestionBatchProcessor.lockKeys(batch);
+      IngestionBatchProcessor.LockedKeys lockedKeys = ingestionBatchProcessor.lockKeys(batch);
       try {
         long beforeProcessingPerRecordTimestampNs = System.nanoTime();
         List<PubSubMessageProcessedResultWrapper> processedResults = ingestionBatchProcessor.process(
@@ -1355,7 +1372,7 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
               elapsedTimeForPuttingIntoQueue);
         }
       } finally {
-        ingestionBatchProcessor.unlockKeys(keyLockMap);
+        ingestionBatchProcessor.unlockKeys(lockedKeys);
       }
     }
 
@@ -1485,6 +1502,7 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
       throw new VeniceException("Exception thrown by shared consumer", lastConsumerException);
     }
 
+    maybeResubscribeAfterStagedSSTFilePrepared();
     /**
      * We will unsubscribe all the errored partitions without killing the ingestion task.
      */
@@ -1856,6 +1874,9 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
     }
 
     this.missingSOPCheckExecutor.shutdownNow();
+    if (this.stagedSSTFilePreparationExecutor.isPresent()) {
+      this.stagedSSTFilePreparationExecutor.get().shutdownNow();
+    }
 
     // Only reset Offset and Drop Partition Messages are important, subscribe/unsubscribe will be handled
     // on the restart by Helix Controller notifications on the new StoreIngestionTask.
@@ -2577,9 +2598,80 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
     // reference to all downstream methods so that all offset persistence operations use the same
     // partitionConsumptionState
     PartitionConsumptionState partitionConsumptionState = partitionConsumptionStateMap.get(partition);
-    if (!shouldPersistRecord(record, partitionConsumptionState)) {
+    if (processConsumerRecordWithoutSync(
+        record,
+        leaderProducedRecordContext,
+        partitionConsumptionState,
+        kafkaUrl,
+        beforeProcessingRecordTimestampNs)) {
+      maybeSyncOffsetAfterProcessing(partitionConsumptionState, record, leaderProducedRecordContext);
+    }
+  }
+
+  /**
+   * Opens a batch of data records of the given partition, drained together by {@link StoreBufferService}. The writes
+   * of the records passed to {@link #processConsumerRecordInBatch} are buffered into a single storage engine write
+   * batch, which is only applied by {@link #commitConsumerRecordBatch}, along with the offset checkpointing and the
+   * readiness checks which are otherwise done after every record.
+   *
+   * Only the data records which were not produced by the leader can be batched: the leader-produced ones may back a
+   * transient record, which must not be purged before its write is applied, and the control messages may change the
+   * write mode of the partition or require an immediate checkpoint.
+   */
+  void beginConsumerRecordBatch(int partition) {
+    if (storageEngine.containsPartition(partition)) {
+      storageEngine.beginWriteBatch(partition);
+    }
+  }
+
+  void processConsumerRecordInBatch(
+      DefaultPubSubMessage record,
+      int partition,
+      String kafkaUrl,
+      long beforeProcessingRecordTimestampNs) {
+    processConsumerRecordWithoutSync(
+        record,
+        null,
+        partitionConsumptionStateMap.get(partition),
+        kafkaUrl,
+        beforeProcessingRecordTimestampNs);
+  }
+
+  /**
+   * Applies the writes of the records processed since {@link #beginConsumerRecordBatch}, and then checks once whether
+   * the offset should be synced, as of the last record of the batch.
+   *
+   * @param lastRecord the last record processed successfully, or null if there was none
+   */
+  void commitConsumerRecordBatch(int partition, DefaultPubSubMessage lastRecord) {
+    try {
+      storageEngine.commitWriteBatch(partition);
+    } catch (PersistenceFailureException e) {
+      if (partitionConsumptionStateMap.containsKey(partition)) {
+        throw e;
+      }
+      // Same as for individual records, the writes to a partition which is being unsubscribed can be ignored.
       return;
     }
+    PartitionConsumptionState partitionConsumptionState = partitionConsumptionStateMap.get(partition);
+    if (partitionConsumptionState != null && lastRecord != null) {
+      maybeSyncOffsetAfterProcessing(partitionConsumptionState, lastRecord, null);
+    }
+  }
+
+  /**
+   * @return whether the record was persisted, in which case the caller should go on with
+   *         {@link #maybeSyncOffsetAfterProcessing}.
+   */
+  private boolean processConsumerRecordWithoutSync(
+      DefaultPubSubMessage record,
+      LeaderProducedRecordContext leaderProducedRecordContext,
+      PartitionConsumptionState partitionConsumptionState,
+      String kafkaUrl,
+      long beforeProcessingRecordTimestampNs) {
+    if (!shouldPersistRecord(record, partitionConsumptionState)) {
+      return false;
+    }
 
     int recordSize = 0;
     try {
@@ -2642,6 +2734,13 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
       }
       partitionConsumptionState.incrementProcessedRecordSizeSinceLastSync(recordSize);
     }
+    return true;
+  }
+
+  private void maybeSyncOffsetAfterProcessing(
+      PartitionConsumptionState partitionConsumptionState,
+      DefaultPubSubMessage record,
+      LeaderProducedRecordContext leaderProducedRecordContext) {
     reportIfCatchUpVersionTopicOffset(partitionConsumptionState);
 
     long syncBytesInterval = getSyncBytesInterval(partitionConsumptionState);
@@ -3075,6 +3174,171 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
     partitionConsumptionState.setStartOfPushTimestamp(startOfPushKME.producerMetadata.messageTimestamp);
   }
 
+  /**
+   * The push job may stage the batch data as one SST file per partition rather than produce it to the version topic,
+   * as marked by {@link EndOfPush#sstFilesStaged}. Copying and verifying that file may take a while, so rather than
+   * doing it in the drainer, the end of push is held back here, along with the records after it, until the file is
+   * prepared next to the partition by {@link #stagedSSTFilePreparationExecutor}. The partition is then resubscribed
+   * by {@link #maybeResubscribeAfterStagedSSTFilePrepared} to consume them again, and the drainer only has to move the
+   * prepared file into place when processing the end of push.
+   *
+   * @return whether the record can be processed
+   */
+  private boolean isReadyToProcessAfterStagedSSTFile(
+      DefaultPubSubMessage record,
+      PartitionConsumptionState partitionConsumptionState) {
+    if (partitionConsumptionState.isEndOfPushReceived()
+        || partitionConsumptionState.isStagedSSTFileEndOfPushReleased()) {
+      return true;
+    }
+    CompletableFuture<Long> preparationFuture = partitionConsumptionState.getStagedSSTFilePreparationFuture();
+    if (!isStagedSSTFileEndOfPush(record)) {
+      return preparationFuture == null;
+    }
+    if (preparationFuture == null) {
+      partitionConsumptionState.setStagedSSTFilePreparationFuture(prepareStagedSSTFile(partitionConsumptionState));
+      return false;
+    }
+    if (!preparationFuture.isDone()) {
+      return false;
+    }
+    partitionConsumptionState.setStagedSSTFileEndOfPushReleased(true);
+    return true;
+  }
+
+  private boolean isStagedSSTFileEndOfPush(DefaultPubSubMessage record) {
+    if (!record.getKey().isControlMessage() || !record.getTopicPartition().getPubSubTopic().isVersionTopic()) {
+      return false;
+    }
+    ControlMessage controlMessage = (ControlMessage) record.getValue().payloadUnion;
+    return ControlMessageType.valueOf(controlMessage) == ControlMessageType.END_OF_PUSH
+        && ((EndOfPush) controlMessage.controlMessageUnion).sstFilesStaged;
+  }
+
+  /**
+   * Looks up the SST file staged for the partition, failing right away when it's missing, then copies and verifies it
+   * asynchronously. A partition without any record only has a manifest, with a record count of 0, and nothing to copy.
+   *
+   * @return the future of the preparation, which completes with the record count of the file
+   */
+  private CompletableFuture<Long> prepareStagedSSTFile(PartitionConsumptionState partitionConsumptionState) {
+    int partition = partitionConsumptionState.getPartition();
+    String stagingDir = serverConfig.getSstFilePushStagingDir();
+    String sstFilePath;
+    long recordCount;
+    byte[] checksum;
+    try {
+      if (StringUtils.isEmpty(stagingDir)) {
+        throw new VeniceException(
+            "The push staged an SST file for replica: " + partitionConsumptionState.getReplicaId() + ", but "
+                + ConfigKeys.SERVER_SST_FILE_PUSH_STAGING_DIR + " is not configured");
+      }
+      if (serverConfig.getRocksDBServerConfig().isRocksDBPlainTableFormatEnabled()) {
+        throw new VeniceException(
+            "Staged SST file for replica: " + partitionConsumptionState.getReplicaId()
+                + " can't be imported with the plain table format");
+      }
+      File manifestFile =
+          new File(RocksDBUtils.composeStagedSSTManifestPath(stagingDir, kafkaVersionTopic, partition));
+      if (!manifestFile.exists()) {
+        throw new VeniceException(
+            "Staged SST file manifest: " + manifestFile + " is missing for replica: "
+                + partitionConsumptionState.getReplicaId());
+      }
+      Properties manifest = new Properties();
+      try (InputStream inputStream = new FileInputStream(manifestFile)) {
+        manifest.load(inputStream);
+      }
+      String recordCountProperty = manifest.getProperty(RocksDBUtils.STAGED_SST_RECORD_COUNT);
+      if (recordCountProperty == null) {
+        throw new VeniceException(
+            "Staged SST file manifest: " + manifestFile + " is incomplete for replica: "
+                + partitionConsumptionState.getReplicaId());
+      }
+      recordCount = Long.parseLong(recordCountProperty);
+      if (recordCount == 0) {
+        LOGGER.info("No record was staged for replica: {}", partitionConsumptionState.getReplicaId());
+        return CompletableFuture.completedFuture(0L);
+      }
+      sstFilePath = RocksDBUtils.composeStagedSSTFilePath(
+          stagingDir,
+          kafkaVersionTopic,
+          partition,
+          manifest.getProperty(RocksDBUtils.STAGED_SST_FILE_NAME));
+      if (!new File(sstFilePath).exists()) {
+        throw new VeniceException(
+            "Staged SST file: " + sstFilePath + " is missing for replica: " + partitionConsumptionState.getReplicaId());
+      }
+      checksum = serverConfig.isDatabaseChecksumVerificationEnabled()
+          ? ByteUtils.fromHexString(manifest.getProperty(RocksDBUtils.STAGED_SST_CHECKSUM))
+          : null;
+    } catch (Exception e) {
+      CompletableFuture<Long> failedFuture = new CompletableFuture<>();
+      failedFuture.completeExceptionally(e);
+      return failedFuture;
+    }
+    LOGGER.info("Preparing staged SST file: {} for replica: {}", sstFilePath, partitionConsumptionState.getReplicaId());
+    return CompletableFuture.supplyAsync(() -> {
+      storageEngine.prepareSSTFileImport(partition, sstFilePath, recordCount, checksum);
+      return recordCount;
+    }, stagedSSTFilePreparationExecutor.get());
+  }
+
+  /**
+   * Fails the partitions whose staged SST file couldn't be prepared, and resubscribes the ones whose file is ready,
+   * so that the end of push held back by {@link #isReadyToProcessAfterStagedSSTFile} is consumed again.
+   */
+  private void maybeResubscribeAfterStagedSSTFilePrepared() throws InterruptedException {
+    for (PartitionConsumptionState partitionConsumptionState: partitionConsumptionStateMap.values()) {
+      CompletableFuture<Long> preparationFuture = partitionConsumptionState.getStagedSSTFilePreparationFuture();
+      if (preparationFuture == null || !preparationFuture.isDone()
+          || partitionConsumptionState.isResubscribedAfterStagedSSTFilePrepared()) {
+        continue;
+      }
+      partitionConsumptionState.setResubscribedAfterStagedSSTFilePrepared(true);
+      if (preparationFuture.isCompletedExceptionally()) {
+        try {
+          preparationFuture.join();
+        } catch (CompletionException e) {
+          setIngestionException(
+              partitionConsumptionState.getPartition(),
+              new VeniceException(
+                  "Failed to prepare the staged SST file for replica: " + partitionConsumptionState.getReplicaId(),
+                  e.getCause()));
+        }
+        continue;
+      }
+      LOGGER.info(
+          "Staged SST file is prepared for replica: {}, resubscribing to consume the end of push again",
+          partitionConsumptionState.getReplicaId());
+      resubscribe(partitionConsumptionState);
+    }
+  }
+
+  /**
+   * Imports the SST file prepared by {@link #prepareStagedSSTFile} along with the batch data written so far. Since the
+   * file holds the records as they are stored, it can only be imported while writing in deferred mode. There is nothing
+   * to import for a partition without any record.
+   */
+  private void importStagedSSTFile(PartitionConsumptionState partitionConsumptionState) {
+    CompletableFuture<Long> preparationFuture = partitionConsumptionState.getStagedSSTFilePreparationFuture();
+    if (preparationFuture == null || !preparationFuture.isDone() || preparationFuture.isCompletedExceptionally()) {
+      throw new VeniceException(
+          "The staged SST file for replica: " + partitionConsumptionState.getReplicaId() + " was not prepared");
+    }
+    if (!partitionConsumptionState.isDeferredWrite()) {
+      throw new VeniceException(
+          "Staged SST file for replica: " + partitionConsumptionState.getReplicaId()
+              + " can only be imported in deferred write mode");
+    }
+    long recordCount = preparationFuture.join();
+    if (recordCount == 0) {
+      LOGGER.info("Nothing to import from the staged data of replica: {}", partitionConsumptionState.getReplicaId());
+      return;
+    }
+    storageEngine.importSSTFile(partitionConsumptionState.getPartition(), recordCount);
+  }
+
   protected void processEndOfPush(
       KafkaMessageEnvelope endOfPushKME,
       long offset,
@@ -3091,6 +3355,11 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
 
     // We need to keep track of when the EOP happened, as that is used within Hybrid Stores' lag measurement
     partitionConsumptionState.getOffsetRecord().endOfPushReceived(offset);
+    // The batch data may have been staged as an SST file rather than produced to the version topic
+    EndOfPush endOfPush = (EndOfPush) ((ControlMessage) endOfPushKME.payloadUnion).controlMessageUnion;
+    if (endOfPush.sstFilesStaged) {
+      importStagedSSTFile(partitionConsumptionState);
+    }
     /*
      * Right now, we assume there are no sorted message after EndOfPush control message.
      * TODO: if this behavior changes in the future, the logic needs to be adjusted as well.
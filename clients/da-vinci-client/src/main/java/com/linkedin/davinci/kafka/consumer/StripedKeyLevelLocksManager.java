@@ -0,0 +1,88 @@
+package com.linkedin.davinci.kafka.consumer;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * A striped alternative to {@link KeyLevelLocksManager} for the Active/Active write path.
+ *
+ * Instead of assigning a lock from a pool to each key on demand, which requires a global monitor and a map entry per
+ * key, the key bytes are hashed into a fixed table of locks. Looking up the lock of a key doesn't allocate anything
+ * and doesn't need any coordination with other threads, and there is no lock to hand back once the key is processed.
+ * The trade-off is that different keys mapped to the same stripe are serialized, so the stripe count should be
+ * comfortably larger than the number of keys being processed at the same time.
+ *
+ * The locks are created lazily, so that the store versions which are never written by the Active/Active write path
+ * don't pay for the whole table.
+ *
+ * Multiple keys (e.g. a batch in {@link IngestionBatchProcessor}) must be locked with {@link #lockStripes(int[], int)},
+ * which acquires the stripes in ascending index order, so that concurrent batches can't deadlock each other.
+ */
+public class StripedKeyLevelLocksManager {
+  private final AtomicReferenceArray<ReentrantLock> stripes;
+  private final int stripeMask;
+
+  public StripedKeyLevelLocksManager(int stripeCount) {
+    if (stripeCount <= 0) {
+      throw new IllegalArgumentException("Stripe count must be positive, but got: " + stripeCount);
+    }
+    int roundedStripeCount = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+    this.stripes = new AtomicReferenceArray<>(roundedStripeCount);
+    this.stripeMask = roundedStripeCount - 1;
+  }
+
+  public int getStripeCount() {
+    return stripes.length();
+  }
+
+  public int getStripeIndex(byte[] key) {
+    int hash = Arrays.hashCode(key);
+    // Spread the higher bits, since only the lower ones are used to pick the stripe
+    return (hash ^ (hash >>> 16)) & stripeMask;
+  }
+
+  public ReentrantLock getLockForKey(byte[] key) {
+    return getLockForStripe(getStripeIndex(key));
+  }
+
+  public ReentrantLock getLockForStripe(int stripeIndex) {
+    ReentrantLock lock = stripes.get(stripeIndex);
+    if (lock == null) {
+      ReentrantLock newLock = new ReentrantLock();
+      lock = stripes.compareAndSet(stripeIndex, null, newLock) ? newLock : stripes.get(stripeIndex);
+    }
+    return lock;
+  }
+
+  /**
+   * Locks the stripes of the first {@param length} indices of {@param stripeIndices}. The indices are sorted and
+   * de-duplicated in place, and the stripes are locked in ascending order.
+   *
+   * @return the number of distinct stripes locked, which are the ones at the beginning of {@param stripeIndices},
+   *         and which should be released with {@link #unlockStripes(int[], int)}.
+   */
+  public int lockStripes(int[] stripeIndices, int length) {
+    Arrays.sort(stripeIndices, 0, length);
+    int distinctCount = 0;
+    for (int i = 0; i < length; i++) {
+      if (distinctCount == 0 || stripeIndices[distinctCount - 1] != stripeIndices[i]) {
+        stripeIndices[distinctCount++] = stripeIndices[i];
+      }
+    }
+    for (int i = 0; i < distinctCount; i++) {
+      getLockForStripe(stripeIndices[i]).lock();
+    }
+    return distinctCount;
+  }
+
+  /**
+   * Releases the stripes locked by {@link #lockStripes(int[], int)}, in the reverse order.
+   */
+  public void unlockStripes(int[] stripeIndices, int lockedCount) {
+    for (int i = lockedCount - 1; i >= 0; i--) {
+      stripes.get(stripeIndices[i]).unlock();
+    }
+  }
+}
@@ -70,4 +70,22 @@ public class AggVersionedBlobTransferStats
   public void recordBlobTransferTimeInSec(String storeName, int version, double timeInSec) {
     recordVersionedAndTotalStat(storeName, version, stats -> stats.recordBlobTransferTimeInSec(timeInSec));
   }
+
+  /**
+   * Record the blob transfer file send throughput
+   * @param storeName the store name
+   * @param version the version of the store
+   * @param throughput the throughput in MB/sec
+   * @param isZeroCopy whether the files were sent with zero-copy file regions, or with chunked reads
+   */
+  public void recordBlobTransferFileSendThroughput(
+      String storeName,
+      int version,
+      double throughput,
+      boolean isZeroCopy) {
+    recordVersionedAndTotalStat(
+        storeName,
+        version,
+        stats -> stats.recordBlobTransferFileSendThroughput(throughput, isZeroCopy));
+  }
 }
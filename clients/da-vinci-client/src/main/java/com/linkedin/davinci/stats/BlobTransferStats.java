@@ -26,6 +26,11 @@ public class BlobTransferStats {
   protected static final String BLOB_TRANSFER_THROUGHPUT = "blob_transfer_file_receive_throughput";
   protected static final String BLOB_TRANSFER_TIME = "blob_transfer_time";
 
+  // As a sender, the blob file sending throughput (in MB/sec) per partition, for the zero-copy and the chunked modes
+  protected static final String BLOB_TRANSFER_ZERO_COPY_SEND_THROUGHPUT =
+      "blob_transfer_zero_copy_file_send_throughput";
+  protected static final String BLOB_TRANSFER_CHUNKED_SEND_THROUGHPUT = "blob_transfer_chunked_file_send_throughput";
+
   private static final MetricConfig METRIC_CONFIG = new MetricConfig();
   private final MetricsRepository localMetricRepository;
   private Count blobTransferTotalNumResponsesCount = new Count();
@@ -38,6 +43,10 @@ public class BlobTransferStats {
   private Sensor blobTransferFileReceiveThroughputSensor;
   private Gauge blobTransferTimeGauge = new Gauge();
   private Sensor blobTransferTimeSensor;
+  private Gauge blobTransferZeroCopySendThroughputGauge = new Gauge();
+  private Sensor blobTransferZeroCopySendThroughputSensor;
+  private Gauge blobTransferChunkedSendThroughputGauge = new Gauge();
+  private Sensor blobTransferChunkedSendThroughputSensor;
 
   public BlobTransferStats() {
     localMetricRepository = new MetricsRepository(METRIC_CONFIG);
@@ -57,6 +66,14 @@ public class BlobTransferStats {
 
     blobTransferTimeSensor = localMetricRepository.sensor(BLOB_TRANSFER_TIME);
     blobTransferTimeSensor.add(BLOB_TRANSFER_TIME, blobTransferTimeGauge);
+
+    blobTransferZeroCopySendThroughputSensor = localMetricRepository.sensor(BLOB_TRANSFER_ZERO_COPY_SEND_THROUGHPUT);
+    blobTransferZeroCopySendThroughputSensor
+        .add(BLOB_TRANSFER_ZERO_COPY_SEND_THROUGHPUT, blobTransferZeroCopySendThroughputGauge);
+
+    blobTransferChunkedSendThroughputSensor = localMetricRepository.sensor(BLOB_TRANSFER_CHUNKED_SEND_THROUGHPUT);
+    blobTransferChunkedSendThroughputSensor
+        .add(BLOB_TRANSFER_CHUNKED_SEND_THROUGHPUT, blobTransferChunkedSendThroughputGauge);
   }
 
   /**
@@ -95,6 +112,19 @@ public class BlobTransferStats {
     blobTransferTimeSensor.record(time, System.currentTimeMillis());
   }
 
+  /**
+   * Record the blob transfer file send throughput of a partition.
+   * @param throughput in MB/sec
+   * @param isZeroCopy whether the files were sent with zero-copy file regions, or with chunked reads
+   */
+  public void recordBlobTransferFileSendThroughput(double throughput, boolean isZeroCopy) {
+    if (isZeroCopy) {
+      blobTransferZeroCopySendThroughputSensor.record(throughput, System.currentTimeMillis());
+    } else {
+      blobTransferChunkedSendThroughputSensor.record(throughput, System.currentTimeMillis());
+    }
+  }
+
   /**
    * All get methods to get the sensor value
    * @return the sensor value
@@ -138,4 +168,20 @@ public class BlobTransferStats {
       return blobTransferTimeGauge.measure(METRIC_CONFIG, System.currentTimeMillis());
     }
   }
+
+  public double getBlobTransferZeroCopyFileSendThroughput() {
+    if (blobTransferZeroCopySendThroughputGauge == null) {
+      return 0;
+    } else {
+      return blobTransferZeroCopySendThroughputGauge.measure(METRIC_CONFIG, System.currentTimeMillis());
+    }
+  }
+
+  public double getBlobTransferChunkedFileSendThroughput() {
+    if (blobTransferChunkedSendThroughputGauge == null) {
+      return 0;
+    } else {
+      return blobTransferChunkedSendThroughputGauge.measure(METRIC_CONFIG, System.currentTimeMillis());
+    }
+  }
 }
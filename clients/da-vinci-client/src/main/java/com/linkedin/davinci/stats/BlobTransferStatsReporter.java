@@ -45,6 +45,16 @@ public class BlobTransferStatsReporter extends AbstractVeniceStatsReporter<BlobT
             BlobTransferStats.BLOB_TRANSFER_THROUGHPUT));
     registerSensor(
         new IngestionStatsGauge(this, () -> getStats().getBlobTransferTime(), BlobTransferStats.BLOB_TRANSFER_TIME));
+    registerSensor(
+        new IngestionStatsGauge(
+            this,
+            () -> getStats().getBlobTransferZeroCopyFileSendThroughput(),
+            BlobTransferStats.BLOB_TRANSFER_ZERO_COPY_SEND_THROUGHPUT));
+    registerSensor(
+        new IngestionStatsGauge(
+            this,
+            () -> getStats().getBlobTransferChunkedFileSendThroughput(),
+            BlobTransferStats.BLOB_TRANSFER_CHUNKED_SEND_THROUGHPUT));
   }
 
   protected static class IngestionStatsGauge extends AsyncGauge {
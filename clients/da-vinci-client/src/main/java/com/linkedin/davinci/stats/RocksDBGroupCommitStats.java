@@ -0,0 +1,40 @@
+package com.linkedin.davinci.stats;
+
+import com.linkedin.venice.stats.AbstractVeniceStats;
+import io.tehuti.metrics.MetricsRepository;
+import io.tehuti.metrics.Sensor;
+import io.tehuti.metrics.stats.Avg;
+import io.tehuti.metrics.stats.Max;
+import io.tehuti.metrics.stats.OccurrenceRate;
+
+
+/**
+ * Host level stats of the RocksDB group commit write path, see
+ * {@link com.linkedin.davinci.store.rocksdb.RocksDBServerConfig#ROCKSDB_GROUP_COMMIT_ENABLED}.
+ */
+public class RocksDBGroupCommitStats extends AbstractVeniceStats {
+  private static final String METRICS_PREFIX = "rocksdb_group_commit";
+
+  private final Sensor batchSizeSensor;
+  private final Sensor commitLatencySensor;
+  private final Sensor commitErrorSensor;
+
+  public RocksDBGroupCommitStats(MetricsRepository metricsRepository) {
+    super(metricsRepository, METRICS_PREFIX);
+    batchSizeSensor = registerSensor("batch_size", new Avg(), new Max());
+    commitLatencySensor = registerSensor("commit_latency", new Avg(), new Max());
+    commitErrorSensor = registerSensor("commit_error", new OccurrenceRate());
+  }
+
+  public void recordBatchSize(int batchSize) {
+    batchSizeSensor.record(batchSize);
+  }
+
+  public void recordCommitLatency(double latencyInMs) {
+    commitLatencySensor.record(latencyInMs);
+  }
+
+  public void recordCommitError() {
+    commitErrorSensor.record();
+  }
+}
@@ -17,6 +17,7 @@ public class StoreBufferServiceStats extends AbstractVeniceStats {
   private final Sensor minMemoryUsagePerWriterSensor;
   private final Sensor internalProcessingLatencySensor;
   private final Sensor internalProcessingErrorSensor;
+  private final Sensor drainBatchSizeSensor;
 
   public StoreBufferServiceStats(
       MetricsRepository metricsRepository,
@@ -41,6 +42,7 @@ public class StoreBufferServiceStats extends AbstractVeniceStats {
 
     internalProcessingLatencySensor = registerSensor("internal_processing_latency", new Avg(), new Max());
     internalProcessingErrorSensor = registerSensor("internal_processing_error", new OccurrenceRate());
+    drainBatchSizeSensor = registerSensor("drain_batch_size", new Avg(), new Max());
   }
 
   public void recordInternalProcessingError() {
@@ -50,4 +52,8 @@ public class StoreBufferServiceStats extends AbstractVeniceStats {
   public void recordInternalProcessingLatency(long latency) {
     internalProcessingLatencySensor.record(latency);
   }
+
+  public void recordDrainBatchSize(int batchSize) {
+    drainBatchSizeSensor.record(batchSize);
+  }
 }
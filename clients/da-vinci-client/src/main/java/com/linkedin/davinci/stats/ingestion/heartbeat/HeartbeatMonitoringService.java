@@ -17,7 +17,9 @@ import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import io.tehuti.metrics.MetricConfig;
 import io.tehuti.metrics.MetricsRepository;
 import java.time.Duration;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -50,6 +52,7 @@ public class HeartbeatMonitoringService extends AbstractVeniceService {
   public static final long DEFAULT_STALE_HEARTBEAT_LOG_THRESHOLD_MILLIS = TimeUnit.MINUTES.toMillis(10);
 
   private static final Logger LOGGER = LogManager.getLogger(HeartbeatMonitoringService.class);
+  private static final int STORE_NOT_FOUND = -1;
   private final ReadOnlyStoreRepository metadataRepository;
   private final Thread reportingThread;
   private final Thread lagLoggingThread;
@@ -57,9 +60,8 @@ public class HeartbeatMonitoringService extends AbstractVeniceService {
   private final Set<String> regionNames;
   private final String localRegionName;
 
-  // store -> version -> partition -> region -> (timestamp, RTS)
-  private final Map<String, Map<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>>> followerHeartbeatTimeStamps;
-  private final Map<String, Map<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>>> leaderHeartbeatTimeStamps;
+  private final HeartbeatTimestampTable followerHeartbeatTimeStamps;
+  private final HeartbeatTimestampTable leaderHeartbeatTimeStamps;
   private final HeartbeatVersionedStats versionStatsReporter;
   private final HeartbeatMonitoringServiceStats heartbeatMonitoringServiceStats;
   private final Duration maxWaitForVersionInfo;
@@ -74,8 +76,8 @@ public class HeartbeatMonitoringService extends AbstractVeniceService {
     this.maxWaitForVersionInfo = serverConfig.getServerMaxWaitForVersionInfo();
     this.reportingThread = new HeartbeatReporterThread();
     this.lagLoggingThread = new HeartbeatLagLoggingThread();
-    this.followerHeartbeatTimeStamps = new VeniceConcurrentHashMap<>();
-    this.leaderHeartbeatTimeStamps = new VeniceConcurrentHashMap<>();
+    this.followerHeartbeatTimeStamps = new HeartbeatTimestampTable();
+    this.leaderHeartbeatTimeStamps = new HeartbeatTimestampTable();
     this.metadataRepository = metadataRepository;
     this.versionStatsReporter = new HeartbeatVersionedStats(
         metricsRepository,
@@ -91,7 +93,7 @@ public class HeartbeatMonitoringService extends AbstractVeniceService {
   }
 
   private synchronized void initializeEntry(
-      Map<String, Map<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>>> heartbeatTimestamps,
+      HeartbeatTimestampTable heartbeatTimestamps,
       Version version,
       int partition,
       boolean isFollower) {
@@ -99,36 +101,23 @@ public class HeartbeatMonitoringService extends AbstractVeniceService {
     if (version.getHybridStoreConfig() == null) {
       return;
     }
-    heartbeatTimestamps.computeIfAbsent(version.getStoreName(), storeKey -> new VeniceConcurrentHashMap<>())
-        .computeIfAbsent(version.getNumber(), versionKey -> new VeniceConcurrentHashMap<>())
-        .computeIfAbsent(partition, partitionKey -> {
-          Map<String, HeartbeatTimeStampEntry> regionTimestamps = new VeniceConcurrentHashMap<>();
-          if (version.isActiveActiveReplicationEnabled() && !isFollower) {
-            for (String region: regionNames) {
-              if (Utils.isSeparateTopicRegion(region) && !version.isSeparateRealTimeTopicEnabled()) {
-                continue;
-              }
-              regionTimestamps.put(region, new HeartbeatTimeStampEntry(System.currentTimeMillis(), false, false));
-            }
-          } else {
-            regionTimestamps
-                .put(localRegionName, new HeartbeatTimeStampEntry(System.currentTimeMillis(), false, false));
-          }
-          return regionTimestamps;
-        });
-  }
-
-  private synchronized void removeEntry(
-      Map<String, Map<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>>> heartbeatTimestamps,
-      Version version,
-      int partition) {
-    heartbeatTimestamps.computeIfPresent(version.getStoreName(), (storeKey, versionMap) -> {
-      versionMap.computeIfPresent(version.getNumber(), (versionKey, partitionMap) -> {
-        partitionMap.remove(partition);
-        return partitionMap;
-      });
-      return versionMap;
-    });
+    List<String> regions = new ArrayList<>();
+    if (version.isActiveActiveReplicationEnabled() && !isFollower) {
+      for (String region: regionNames) {
+        if (Utils.isSeparateTopicRegion(region) && !version.isSeparateRealTimeTopicEnabled()) {
+          continue;
+        }
+        regions.add(region);
+      }
+    } else {
+      regions.add(localRegionName);
+    }
+    heartbeatTimestamps
+        .addReplica(version.getStoreName(), version.getNumber(), partition, regions, System.currentTimeMillis());
+  }
+
+  private synchronized void removeEntry(HeartbeatTimestampTable heartbeatTimestamps, Version version, int partition) {
+    heartbeatTimestamps.removeReplica(version.getStoreName(), version.getNumber(), partition);
   }
 
   /**
@@ -173,7 +162,7 @@ public class HeartbeatMonitoringService extends AbstractVeniceService {
     Map<String, ReplicaHeartbeatInfo> aggregateResult = new VeniceConcurrentHashMap<>();
     long currentTimestamp = System.currentTimeMillis();
     aggregateResult.putAll(
-        getHeartbeatInfoFromMap(
+        getHeartbeatInfoFromTable(
             leaderHeartbeatTimeStamps,
             LeaderFollowerStateType.LEADER.name(),
             currentTimestamp,
@@ -181,7 +170,7 @@ public class HeartbeatMonitoringService extends AbstractVeniceService {
             partitionFilter,
             filterLagReplica));
     aggregateResult.putAll(
-        getHeartbeatInfoFromMap(
+        getHeartbeatInfoFromTable(
             followerHeartbeatTimeStamps,
             LeaderFollowerStateType.STANDBY.name(),
             currentTimestamp,
@@ -191,46 +180,30 @@ public class HeartbeatMonitoringService extends AbstractVeniceService {
     return aggregateResult;
   }
 
-  Map<String, ReplicaHeartbeatInfo> getHeartbeatInfoFromMap(
-      Map<String, Map<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>>> heartbeatTimestampMap,
+  Map<String, ReplicaHeartbeatInfo> getHeartbeatInfoFromTable(
+      HeartbeatTimestampTable heartbeatTimestamps,
       String leaderState,
       long currentTimestamp,
       String versionTopicName,
       int partitionFilter,
       boolean filterLagReplica) {
     Map<String, ReplicaHeartbeatInfo> result = new VeniceConcurrentHashMap<>();
-    for (Map.Entry<String, Map<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>>> storeName: heartbeatTimestampMap
-        .entrySet()) {
-      for (Map.Entry<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>> version: storeName.getValue()
-          .entrySet()) {
-        for (Map.Entry<Integer, Map<String, HeartbeatTimeStampEntry>> partition: version.getValue().entrySet()) {
-          for (Map.Entry<String, HeartbeatTimeStampEntry> region: partition.getValue().entrySet()) {
-            String topicName = Version.composeKafkaTopic(storeName.getKey(), version.getKey());
-            long heartbeatTs = region.getValue().timestamp;
-            long lag = currentTimestamp - heartbeatTs;
-            if (!versionTopicName.equals(topicName)) {
-              continue;
-            }
-            if (partitionFilter >= 0 && partitionFilter != partition.getKey()) {
-              continue;
-            }
-            if (filterLagReplica && lag < DEFAULT_STALE_HEARTBEAT_LOG_THRESHOLD_MILLIS) {
-              continue;
-            }
-            String replicaId =
-                Utils.getReplicaId(Version.composeKafkaTopic(storeName.getKey(), version.getKey()), partition.getKey());
-            ReplicaHeartbeatInfo replicaHeartbeatInfo = new ReplicaHeartbeatInfo(
-                replicaId,
-                region.getKey(),
-                leaderState,
-                region.getValue().readyToServe,
-                heartbeatTs,
-                lag);
-            result.put(replicaId + "-" + region.getKey(), replicaHeartbeatInfo);
-          }
-        }
+    heartbeatTimestamps.forEach((replica, region, heartbeatTs, readyToServe, consumedFromUpstream) -> {
+      long lag = currentTimestamp - heartbeatTs;
+      if (!versionTopicName.equals(replica.versionTopicName)) {
+        return;
       }
-    }
+      if (partitionFilter >= 0 && partitionFilter != replica.partition) {
+        return;
+      }
+      if (filterLagReplica && lag < DEFAULT_STALE_HEARTBEAT_LOG_THRESHOLD_MILLIS) {
+        return;
+      }
+      String replicaId = Utils.getReplicaId(replica.versionTopicName, replica.partition);
+      ReplicaHeartbeatInfo replicaHeartbeatInfo =
+          new ReplicaHeartbeatInfo(replicaId, region, leaderState, readyToServe, heartbeatTs, lag);
+      result.put(replicaId + "-" + region, replicaHeartbeatInfo);
+    });
     return result;
   }
 
@@ -350,11 +323,9 @@ public class HeartbeatMonitoringService extends AbstractVeniceService {
       String storeName,
       int version,
       boolean shouldLogLag) {
-    Map<String, HeartbeatTimeStampEntry> replicaTimestampMap =
-        getLeaderHeartbeatTimeStamps().getOrDefault(storeName, Collections.emptyMap())
-            .getOrDefault(version, Collections.emptyMap())
-            .getOrDefault(partitionConsumptionState.getPartition(), Collections.emptyMap());
-    if (replicaTimestampMap.isEmpty()) {
+    HeartbeatTimestampTable.Replica replica =
+        getLeaderHeartbeatTable().getReplica(storeName, version, partitionConsumptionState.getPartition());
+    if (replica == null) {
       if (shouldLogLag) {
         LOGGER.warn("Replica: {} leader lag entry not found.", partitionConsumptionState.getReplicaId());
       }
@@ -363,30 +334,32 @@ public class HeartbeatMonitoringService extends AbstractVeniceService {
     long currentTimestamp = System.currentTimeMillis();
     long maxLag = 0;
     /**
-     * When initializing A/A leader lag entry, we will initialize towards all available regions, so scanning this map
-     * should be able to tell us all the lag information.
+     * When initializing A/A leader lag entry, we will initialize towards all available regions, so scanning the
+     * regions of the replica should be able to tell us all the lag information.
      */
-    for (Map.Entry<String, HeartbeatTimeStampEntry> entry: replicaTimestampMap.entrySet()) {
+    for (int i = 0; i < replica.regions.length; i++) {
+      String region = replica.regions[i];
       // Skip separate RT topic as it is not tracked towards replication latency goal.
-      if (Utils.isSeparateTopicRegion(entry.getKey())) {
+      if (Utils.isSeparateTopicRegion(region)) {
         continue;
       }
-      if (!entry.getValue().consumedFromUpstream) {
+      long state = getLeaderHeartbeatTable().getState(replica, i);
+      if (!HeartbeatTimestampTable.isConsumedFromUpstream(state)) {
         if (shouldLogLag) {
           LOGGER.info(
               "Replica: {} has not received any valid leader heartbeat from region: {}.",
               partitionConsumptionState.getReplicaId(),
-              entry.getKey());
+              region);
         }
         maxLag = Long.MAX_VALUE;
       } else {
-        long heartbeatLag = currentTimestamp - entry.getValue().timestamp;
+        long heartbeatLag = currentTimestamp - HeartbeatTimestampTable.getTimestamp(state);
         if (shouldLogLag) {
           LOGGER.info(
               "Replica: {} has leader heartbeat lag: {}ms from region: {}.",
               partitionConsumptionState.getReplicaId(),
               heartbeatLag,
-              entry.getKey());
+              region);
         }
         maxLag = Math.max(maxLag, heartbeatLag);
       }
@@ -403,18 +376,17 @@ public class HeartbeatMonitoringService extends AbstractVeniceService {
       String storeName,
       int version,
       boolean shouldLogLag) {
-    HeartbeatTimeStampEntry followerReplicaTimestamp =
-        getFollowerHeartbeatTimeStamps().getOrDefault(storeName, Collections.emptyMap())
-            .getOrDefault(version, Collections.emptyMap())
-            .getOrDefault(partitionConsumptionState.getPartition(), Collections.emptyMap())
-            .get(getLocalRegionName());
-    if (followerReplicaTimestamp == null) {
+    HeartbeatTimestampTable.Replica replica =
+        getFollowerHeartbeatTable().getReplica(storeName, version, partitionConsumptionState.getPartition());
+    int regionIndex = replica == null ? -1 : replica.getRegionIndex(getLocalRegionName());
+    if (regionIndex < 0) {
       if (shouldLogLag) {
         LOGGER.warn("Replica: {} follower lag entry not found.", partitionConsumptionState.getReplicaId());
       }
       return Long.MAX_VALUE;
     }
-    if (!followerReplicaTimestamp.consumedFromUpstream) {
+    long state = getFollowerHeartbeatTable().getState(replica, regionIndex);
+    if (!HeartbeatTimestampTable.isConsumedFromUpstream(state)) {
       if (shouldLogLag) {
         LOGGER.info(
             "Replica: {} has not received any valid follower heartbeat from local region.",
@@ -422,7 +394,7 @@ public class HeartbeatMonitoringService extends AbstractVeniceService {
       }
       return Long.MAX_VALUE;
     }
-    long heartbeatLag = System.currentTimeMillis() - followerReplicaTimestamp.timestamp;
+    long heartbeatLag = System.currentTimeMillis() - HeartbeatTimestampTable.getTimestamp(state);
     if (shouldLogLag) {
       LOGGER.info(
           "Replica: {} has follower heartbeat lag: {}ms from local region.",
@@ -446,60 +418,45 @@ public class HeartbeatMonitoringService extends AbstractVeniceService {
       int partition,
       String region,
       Long timestamp,
-      Map<String, Map<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>>> heartbeatTimestamps,
+      HeartbeatTimestampTable heartbeatTimestamps,
       boolean isReadyToServe,
       boolean retainHighestTimeStamp) {
     if (region != null) {
-      heartbeatTimestamps.computeIfPresent(store, (storeKey, perVersionMap) -> {
-        perVersionMap.computeIfPresent(version, (versionKey, perPartitionMap) -> {
-          perPartitionMap.computeIfPresent(partition, (partitionKey, perRegionMap) -> {
-            // If we are retaining only the highest timestamp for a given heartbeat, if the current held heartbeat
-            // is of a higher value AND was an entry was consumed (not a placeholder value by the process) then
-            // we will No-Op in favor of retaining that higher timestamp. This behavior is specific to follower
-            // nodes because the intent of this metric is to only show the lag of the follower relative to the leader
-            if (retainHighestTimeStamp && perRegionMap.get(region) != null
-                && perRegionMap.get(region).timestamp > timestamp && perRegionMap.get(region).consumedFromUpstream) {
-              // No-Op
-            } else {
-              // record the heartbeat time stamp
-              perRegionMap.put(region, new HeartbeatTimeStampEntry(timestamp, isReadyToServe, true));
-            }
-            return perRegionMap;
-          });
-          return perPartitionMap;
-        });
-        return perVersionMap;
-      });
+      // If we are retaining only the highest timestamp for a given heartbeat, if the current held heartbeat
+      // is of a higher value AND was an entry was consumed (not a placeholder value by the process) then
+      // we will No-Op in favor of retaining that higher timestamp. This behavior is specific to follower
+      // nodes because the intent of this metric is to only show the lag of the follower relative to the leader
+      heartbeatTimestamps
+          .recordHeartbeat(store, version, partition, region, timestamp, isReadyToServe, retainHighestTimeStamp);
     }
   }
 
-  protected Map<String, Map<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>>> getLeaderHeartbeatTimeStamps() {
+  HeartbeatTimestampTable getLeaderHeartbeatTable() {
     return leaderHeartbeatTimeStamps;
   }
 
-  protected Map<String, Map<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>>> getFollowerHeartbeatTimeStamps() {
+  HeartbeatTimestampTable getFollowerHeartbeatTable() {
     return followerHeartbeatTimeStamps;
   }
 
-  protected void recordLags(
-      Map<String, Map<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>>> heartbeatTimestamps,
-      ReportLagFunction lagFunction) {
-    for (Map.Entry<String, Map<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>>> storeName: heartbeatTimestamps
-        .entrySet()) {
-      for (Map.Entry<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>> version: storeName.getValue()
-          .entrySet()) {
-        for (Map.Entry<Integer, Map<String, HeartbeatTimeStampEntry>> partition: version.getValue().entrySet()) {
-          for (Map.Entry<String, HeartbeatTimeStampEntry> region: partition.getValue().entrySet()) {
-            lagFunction.apply(
-                storeName.getKey(),
-                version.getKey(),
-                region.getKey(),
-                region.getValue().timestamp,
-                region.getValue().readyToServe);
-          }
-        }
-      }
-    }
+  /**
+   * @return a snapshot of the leader heartbeats as store -> version -> partition -> region -> (timestamp, RTS)
+   */
+  protected Map<String, Map<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>>> getLeaderHeartbeatTimeStamps() {
+    return leaderHeartbeatTimeStamps.toMap();
+  }
+
+  /**
+   * @return a snapshot of the follower heartbeats as store -> version -> partition -> region -> (timestamp, RTS)
+   */
+  protected Map<String, Map<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>>> getFollowerHeartbeatTimeStamps() {
+    return followerHeartbeatTimeStamps.toMap();
+  }
+
+  protected void recordLags(HeartbeatTimestampTable heartbeatTimestamps, ReportLagFunction lagFunction) {
+    heartbeatTimestamps.forEach(
+        (replica, region, heartbeatTs, readyToServe, consumedFromUpstream) -> lagFunction
+            .apply(replica.storeName, replica.version, region, heartbeatTs, readyToServe));
   }
 
   protected void record() {
@@ -513,32 +470,21 @@ public class HeartbeatMonitoringService extends AbstractVeniceService {
             .recordFollowerLag(storeName, version, region, heartbeatTs, isReadyToServe)));
   }
 
-  protected void checkAndMaybeLogHeartbeatDelayMap(
-      Map<String, Map<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>>> heartbeatTimestamps) {
+  protected void checkAndMaybeLogHeartbeatDelayMap(HeartbeatTimestampTable heartbeatTimestamps) {
     long currentTimestamp = System.currentTimeMillis();
-    for (Map.Entry<String, Map<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>>> storeName: heartbeatTimestamps
-        .entrySet()) {
-      for (Map.Entry<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>> version: storeName.getValue()
-          .entrySet()) {
-        for (Map.Entry<Integer, Map<String, HeartbeatTimeStampEntry>> partition: version.getValue().entrySet()) {
-          for (Map.Entry<String, HeartbeatTimeStampEntry> region: partition.getValue().entrySet()) {
-            long heartbeatTs = region.getValue().timestamp;
-            long lag = currentTimestamp - heartbeatTs;
-            if (lag > DEFAULT_STALE_HEARTBEAT_LOG_THRESHOLD_MILLIS && region.getValue().readyToServe) {
-              String replicaId = Utils
-                  .getReplicaId(Version.composeKafkaTopic(storeName.getKey(), version.getKey()), partition.getKey());
-              LOGGER.warn(
-                  "Replica: {}, region: {} is having heartbeat lag: {}, latest heartbeat: {}, current timestamp: {}",
-                  replicaId,
-                  region.getKey(),
-                  lag,
-                  heartbeatTs,
-                  currentTimestamp);
-            }
-          }
-        }
+    heartbeatTimestamps.forEach((replica, region, heartbeatTs, readyToServe, consumedFromUpstream) -> {
+      long lag = currentTimestamp - heartbeatTs;
+      if (lag > DEFAULT_STALE_HEARTBEAT_LOG_THRESHOLD_MILLIS && readyToServe) {
+        String replicaId = Utils.getReplicaId(replica.versionTopicName, replica.partition);
+        LOGGER.warn(
+            "Replica: {}, region: {} is having heartbeat lag: {}, latest heartbeat: {}, current timestamp: {}",
+            replicaId,
+            region,
+            lag,
+            heartbeatTs,
+            currentTimestamp);
       }
-    }
+    });
   }
 
   protected void checkAndMaybeLogHeartbeatDelay() {
@@ -546,37 +492,30 @@ public class HeartbeatMonitoringService extends AbstractVeniceService {
     checkAndMaybeLogHeartbeatDelayMap(followerHeartbeatTimeStamps);
   }
 
-  AggregatedHeartbeatLagEntry getMaxHeartbeatLag(
-      Map<String, Map<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>>> heartbeatTimestamps) {
+  AggregatedHeartbeatLagEntry getMaxHeartbeatLag(HeartbeatTimestampTable heartbeatTimestamps) {
     long currentTimestamp = System.currentTimeMillis();
-    long minHeartbeatTimestampForCurrentVersion = Long.MAX_VALUE;
-    long minHeartbeatTimestampForNonCurrentVersion = Long.MAX_VALUE;
-    for (Map.Entry<String, Map<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>>> storeName: heartbeatTimestamps
-        .entrySet()) {
-      Store store = metadataRepository.getStore(storeName.getKey());
-      if (store == null) {
-        LOGGER.warn("Store: {} not found in repository", storeName.getKey());
-        continue;
-      }
-      int currentVersion = store.getCurrentVersion();
-      for (Map.Entry<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>> version: storeName.getValue()
-          .entrySet()) {
-        for (Map.Entry<Integer, Map<String, HeartbeatTimeStampEntry>> partition: version.getValue().entrySet()) {
-          for (Map.Entry<String, HeartbeatTimeStampEntry> region: partition.getValue().entrySet()) {
-            long heartbeatTs = region.getValue().timestamp;
-            if (currentVersion == version.getKey()) {
-              minHeartbeatTimestampForCurrentVersion = Math.min(minHeartbeatTimestampForCurrentVersion, heartbeatTs);
-            } else {
-              minHeartbeatTimestampForNonCurrentVersion =
-                  Math.min(minHeartbeatTimestampForNonCurrentVersion, heartbeatTs);
-            }
-          }
+    // The min heartbeat timestamps for the current versions and for the other ones
+    long[] minHeartbeatTimestamps = { Long.MAX_VALUE, Long.MAX_VALUE };
+    // The slots of a store are scattered across the table, so its current version is looked up once per scan
+    Map<String, Integer> currentVersions = new HashMap<>();
+    heartbeatTimestamps.forEach((replica, region, heartbeatTs, readyToServe, consumedFromUpstream) -> {
+      Integer currentVersion = currentVersions.computeIfAbsent(replica.storeName, storeName -> {
+        Store store = metadataRepository.getStore(storeName);
+        if (store == null) {
+          LOGGER.warn("Store: {} not found in repository", storeName);
+          return STORE_NOT_FOUND;
         }
+        return store.getCurrentVersion();
+      });
+      if (currentVersion == STORE_NOT_FOUND) {
+        return;
       }
-    }
+      int index = currentVersion == replica.version ? 0 : 1;
+      minHeartbeatTimestamps[index] = Math.min(minHeartbeatTimestamps[index], heartbeatTs);
+    });
     return new AggregatedHeartbeatLagEntry(
-        currentTimestamp - minHeartbeatTimestampForCurrentVersion,
-        currentTimestamp - minHeartbeatTimestampForNonCurrentVersion);
+        currentTimestamp - minHeartbeatTimestamps[0],
+        currentTimestamp - minHeartbeatTimestamps[1]);
   }
 
   public AggregatedHeartbeatLagEntry getMaxLeaderHeartbeatLag() {
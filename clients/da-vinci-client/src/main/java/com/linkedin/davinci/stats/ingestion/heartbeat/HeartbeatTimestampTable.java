@@ -0,0 +1,407 @@
+package com.linkedin.davinci.stats.ingestion.heartbeat;
+
+import com.linkedin.venice.annotation.Threadsafe;
+import com.linkedin.venice.meta.Version;
+import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * The heartbeat timestamps of the replicas which this server hosts in a given role, leader or follower.
+ * <p>
+ * Each region of a replica gets a slot of a flat table when the lag monitor of the replica is added, and keeps it until
+ * the monitor is removed, so that the slot index is a stable handle of the replica region. The timestamp of a slot is
+ * packed along with its flags and its generation into a single long, which makes recording a heartbeat a single
+ * compare-and-set, and aggregating the lags a scan over arrays. The slots are allocated in chunks which never move, so
+ * that growing the table never loses a concurrent write.
+ * <p>
+ * The generation of a slot is bumped every time it gets reassigned, and the replica keeps the one of each of its slots.
+ * Since it is part of the state, a heartbeat recorded concurrently with the removal of its replica cannot land in the
+ * slot once it got reassigned to another replica, and the readers tell apart the state of the current owner of a slot
+ * from the one of a previous owner.
+ * <p>
+ * The replicas are looked up by store name, then by version and partition number in small arrays, since a server only
+ * hosts a few versions of each store. Adding and removing replicas is synchronized, while recording and reading the
+ * heartbeats is lock-free.
+ */
+@Threadsafe
+final class HeartbeatTimestampTable {
+  private static final int CHUNK_SHIFT = 10;
+  private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+  private static final int FLAG_BITS = 2;
+  private static final long CONSUMED_FROM_UPSTREAM_FLAG = 1;
+  private static final long READY_TO_SERVE_FLAG = 2;
+  /**
+   * The generation wraps around, which is only a concern if a slot got reassigned that many times while a single
+   * heartbeat was being recorded. The remaining 46 bits of signed timestamp in milliseconds last for over a millennium.
+   */
+  private static final int GENERATION_BITS = 16;
+  private static final int GENERATION_MASK = (1 << GENERATION_BITS) - 1;
+  private static final int TIMESTAMP_SHIFT = FLAG_BITS + GENERATION_BITS;
+  /** The state of a slot which was reassigned, as seen by a previous owner. */
+  private static final long UNKNOWN_STATE = 0;
+
+  private final Map<String, StoreReplicas> stores = new VeniceConcurrentHashMap<>();
+  private volatile Chunk[] chunks = new Chunk[0];
+  /** The number of slots allocated so far, including the free ones. Only written while holding the lock. */
+  private volatile int slotCount;
+  /** Guarded by this. */
+  private final IntArrayList freeSlots = new IntArrayList();
+
+  /**
+   * Allocates the slots of a replica, unless it's already present, with the given regions marked as not having
+   * consumed any heartbeat yet.
+   */
+  synchronized void addReplica(String storeName, int version, int partition, List<String> regions, long timestamp) {
+    if (getReplica(storeName, version, partition) != null) {
+      return;
+    }
+    int[] slots = new int[regions.size()];
+    int[] generations = new int[regions.size()];
+    Replica replica = new Replica(storeName, version, partition, regions.toArray(new String[0]), slots, generations);
+    for (int i = 0; i < slots.length; i++) {
+      allocateSlot(replica, i, timestamp);
+    }
+    setReplica(storeName, version, partition, replica);
+  }
+
+  /**
+   * Frees the slots of a replica, if it's present.
+   */
+  synchronized void removeReplica(String storeName, int version, int partition) {
+    Replica replica = getReplica(storeName, version, partition);
+    if (replica == null) {
+      return;
+    }
+    setReplica(storeName, version, partition, null);
+    for (int slot: replica.slots) {
+      getChunk(slot).owners.set(slot & CHUNK_MASK, null);
+      freeSlots.add(slot);
+    }
+  }
+
+  /**
+   * Records a heartbeat of a replica, which is ignored if the replica is absent. A region which the replica does not
+   * have a slot for yet gets one.
+   *
+   * @param retainHighestTimestamp whether to ignore the heartbeat if it's older than the one previously consumed
+   */
+  void recordHeartbeat(
+      String storeName,
+      int version,
+      int partition,
+      String region,
+      long timestamp,
+      boolean isReadyToServe,
+      boolean retainHighestTimestamp) {
+    Replica replica = getReplica(storeName, version, partition);
+    if (replica == null) {
+      return;
+    }
+    int regionIndex = replica.getRegionIndex(region);
+    if (regionIndex < 0) {
+      replica = addRegion(replica, region);
+      if (replica == null) {
+        return;
+      }
+      regionIndex = replica.getRegionIndex(region);
+    }
+    int slot = replica.slots[regionIndex];
+    int generation = replica.generations[regionIndex];
+    AtomicLongArray states = getChunk(slot).states;
+    long newState = pack(timestamp, generation, isReadyToServe, true);
+    while (true) {
+      long state = states.get(slot & CHUNK_MASK);
+      if (getGeneration(state) != generation) {
+        // The replica got removed, and its slot reassigned
+        return;
+      }
+      if (retainHighestTimestamp && isConsumedFromUpstream(state) && getTimestamp(state) > timestamp) {
+        return;
+      }
+      if (states.compareAndSet(slot & CHUNK_MASK, state, newState)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * @return the replica, or null if it's absent
+   */
+  Replica getReplica(String storeName, int version, int partition) {
+    StoreReplicas storeReplicas = stores.get(storeName);
+    if (storeReplicas == null) {
+      return null;
+    }
+    VersionReplicas versionReplicas = storeReplicas.getVersion(version);
+    if (versionReplicas == null) {
+      return null;
+    }
+    Replica[] partitions = versionReplicas.partitions;
+    return partition >= 0 && partition < partitions.length ? partitions[partition] : null;
+  }
+
+  boolean containsStore(String storeName) {
+    return stores.containsKey(storeName);
+  }
+
+  /**
+   * @return the packed timestamp and flags of the slot of the given region of the replica, to be decoded with
+   *         {@link #getTimestamp(long)}, {@link #isReadyToServe(long)} and {@link #isConsumedFromUpstream(long)}, or a
+   *         state which has not consumed any heartbeat if the replica got removed in the meantime
+   */
+  long getState(Replica replica, int regionIndex) {
+    int slot = replica.slots[regionIndex];
+    long state = getChunk(slot).states.get(slot & CHUNK_MASK);
+    return getGeneration(state) == replica.generations[regionIndex] ? state : UNKNOWN_STATE;
+  }
+
+  /**
+   * Calls the visitor with each allocated slot, in slot order.
+   */
+  void forEach(SlotVisitor visitor) {
+    int count = slotCount;
+    Chunk[] currentChunks = chunks;
+    for (int slot = 0; slot < count; slot++) {
+      Chunk chunk = currentChunks[slot >>> CHUNK_SHIFT];
+      while (true) {
+        SlotOwner owner = chunk.owners.get(slot & CHUNK_MASK);
+        if (owner == null) {
+          break;
+        }
+        long state = chunk.states.get(slot & CHUNK_MASK);
+        if (getGeneration(state) != owner.replica.generations[owner.regionIndex]) {
+          // The slot got reassigned in between, so its owner needs to be read again
+          continue;
+        }
+        visitor.visit(
+            owner.replica,
+            owner.replica.regions[owner.regionIndex],
+            getTimestamp(state),
+            isReadyToServe(state),
+            isConsumedFromUpstream(state));
+        break;
+      }
+    }
+  }
+
+  /**
+   * @return a snapshot of the table as store -> version -> partition -> region -> entry, for tests and debugging
+   */
+  Map<String, Map<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>>> toMap() {
+    Map<String, Map<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>>> map = new VeniceConcurrentHashMap<>();
+    forEach(
+        (replica, region, timestamp, readyToServe, consumedFromUpstream) -> map
+            .computeIfAbsent(replica.storeName, s -> new VeniceConcurrentHashMap<>())
+            .computeIfAbsent(replica.version, v -> new VeniceConcurrentHashMap<>())
+            .computeIfAbsent(replica.partition, p -> new VeniceConcurrentHashMap<>())
+            .put(region, new HeartbeatTimeStampEntry(timestamp, readyToServe, consumedFromUpstream)));
+    return map;
+  }
+
+  static long getTimestamp(long state) {
+    return state >> TIMESTAMP_SHIFT;
+  }
+
+  static boolean isReadyToServe(long state) {
+    return (state & READY_TO_SERVE_FLAG) != 0;
+  }
+
+  static boolean isConsumedFromUpstream(long state) {
+    return (state & CONSUMED_FROM_UPSTREAM_FLAG) != 0;
+  }
+
+  private static int getGeneration(long state) {
+    return (int) (state >>> FLAG_BITS) & GENERATION_MASK;
+  }
+
+  private static long pack(long timestamp, int generation, boolean readyToServe, boolean consumedFromUpstream) {
+    return (timestamp << TIMESTAMP_SHIFT) | ((long) generation << FLAG_BITS) | (readyToServe ? READY_TO_SERVE_FLAG : 0)
+        | (consumedFromUpstream ? CONSUMED_FROM_UPSTREAM_FLAG : 0);
+  }
+
+  /**
+   * @return the replica with a slot for the region, or null if the replica was concurrently removed
+   */
+  private synchronized Replica addRegion(Replica replica, String region) {
+    Replica currentReplica = getReplica(replica.storeName, replica.version, replica.partition);
+    if (currentReplica == null || currentReplica.getRegionIndex(region) >= 0) {
+      return currentReplica;
+    }
+    int regionCount = currentReplica.regions.length;
+    String[] regions = Arrays.copyOf(currentReplica.regions, regionCount + 1);
+    regions[regionCount] = region;
+    int[] slots = Arrays.copyOf(currentReplica.slots, regionCount + 1);
+    int[] generations = Arrays.copyOf(currentReplica.generations, regionCount + 1);
+    Replica newReplica =
+        new Replica(replica.storeName, replica.version, replica.partition, regions, slots, generations);
+    // Recorded right away by the caller
+    allocateSlot(newReplica, regionCount, 0);
+    for (int i = 0; i < regionCount; i++) {
+      getChunk(slots[i]).owners.set(slots[i] & CHUNK_MASK, new SlotOwner(newReplica, i));
+    }
+    setReplica(replica.storeName, replica.version, replica.partition, newReplica);
+    return newReplica;
+  }
+
+  /**
+   * Allocates the slot of the given region of the replica, with the next generation of the slot, marked as not having
+   * consumed any heartbeat yet. Must be called while holding the lock, before the replica gets published.
+   */
+  private void allocateSlot(Replica replica, int regionIndex, long timestamp) {
+    int slot;
+    if (freeSlots.isEmpty()) {
+      slot = slotCount;
+      if ((slot >>> CHUNK_SHIFT) == chunks.length) {
+        Chunk[] newChunks = Arrays.copyOf(chunks, chunks.length + 1);
+        newChunks[chunks.length] = new Chunk();
+        chunks = newChunks;
+      }
+    } else {
+      slot = freeSlots.popInt();
+    }
+    Chunk chunk = getChunk(slot);
+    int generation = (getGeneration(chunk.states.get(slot & CHUNK_MASK)) + 1) & GENERATION_MASK;
+    replica.slots[regionIndex] = slot;
+    replica.generations[regionIndex] = generation;
+    chunk.states.set(slot & CHUNK_MASK, pack(timestamp, generation, false, false));
+    chunk.owners.set(slot & CHUNK_MASK, new SlotOwner(replica, regionIndex));
+    if (slot == slotCount) {
+      slotCount = slot + 1;
+    }
+  }
+
+  /**
+   * Must be called while holding the lock. Replaces the arrays rather than writing into them, so that the lock-free
+   * readers always see consistent ones.
+   */
+  private void setReplica(String storeName, int version, int partition, Replica replica) {
+    StoreReplicas storeReplicas = stores.get(storeName);
+    if (storeReplicas == null) {
+      if (replica == null) {
+        return;
+      }
+      storeReplicas = new StoreReplicas();
+      stores.put(storeName, storeReplicas);
+    }
+    VersionReplicas versionReplicas = storeReplicas.getVersion(version);
+    if (versionReplicas == null) {
+      if (replica == null) {
+        return;
+      }
+      Replica[] partitions = new Replica[partition + 1];
+      partitions[partition] = replica;
+      VersionReplicas[] versions = Arrays.copyOf(storeReplicas.versions, storeReplicas.versions.length + 1);
+      versions[versions.length - 1] = new VersionReplicas(version, partitions);
+      storeReplicas.versions = versions;
+      return;
+    }
+    Replica[] partitions = versionReplicas.partitions;
+    if (replica == null && partition >= partitions.length) {
+      return;
+    }
+    Replica[] newPartitions = Arrays.copyOf(partitions, Math.max(partitions.length, partition + 1));
+    newPartitions[partition] = replica;
+    versionReplicas.partitions = newPartitions;
+    if (replica == null && Arrays.stream(newPartitions).allMatch(p -> p == null)) {
+      storeReplicas.versions =
+          Arrays.stream(storeReplicas.versions).filter(v -> v != versionReplicas).toArray(VersionReplicas[]::new);
+      if (storeReplicas.versions.length == 0) {
+        stores.remove(storeName);
+      }
+    }
+  }
+
+  private Chunk getChunk(int slot) {
+    return chunks[slot >>> CHUNK_SHIFT];
+  }
+
+  @FunctionalInterface
+  interface SlotVisitor {
+    void visit(Replica replica, String region, long timestamp, boolean readyToServe, boolean consumedFromUpstream);
+  }
+
+  /**
+   * The slots of the regions of a replica. Never modified once published: adding a region replaces the replica.
+   */
+  static final class Replica {
+    final String storeName;
+    final int version;
+    final int partition;
+    final String versionTopicName;
+    final String[] regions;
+    /** The slot of each region. */
+    final int[] slots;
+    /** The generation of the slot of each region when it got assigned to this replica. */
+    final int[] generations;
+
+    Replica(String storeName, int version, int partition, String[] regions, int[] slots, int[] generations) {
+      this.storeName = storeName;
+      this.version = version;
+      this.partition = partition;
+      this.versionTopicName = Version.composeKafkaTopic(storeName, version);
+      this.regions = regions;
+      this.slots = slots;
+      this.generations = generations;
+    }
+
+    int getRegionIndex(String region) {
+      for (int i = 0; i < regions.length; i++) {
+        if (regions[i].equals(region)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+  }
+
+  private static final class StoreReplicas {
+    volatile VersionReplicas[] versions = new VersionReplicas[0];
+
+    VersionReplicas getVersion(int version) {
+      for (VersionReplicas versionReplicas: versions) {
+        if (versionReplicas.version == version) {
+          return versionReplicas;
+        }
+      }
+      return null;
+    }
+  }
+
+  private static final class VersionReplicas {
+    final int version;
+    /** Indexed by partition number, with null for the partitions which are not hosted in this role. */
+    volatile Replica[] partitions;
+
+    VersionReplicas(int version, Replica[] partitions) {
+      this.version = version;
+      this.partitions = partitions;
+    }
+  }
+
+  /**
+   * The replica and region which a slot is assigned to, replaced as a whole so that the readers never see the replica
+   * of one owner along with the region index of another.
+   */
+  private static final class SlotOwner {
+    final Replica replica;
+    /** The index of the region of the slot in the {@link Replica#regions} of its owner. */
+    final int regionIndex;
+
+    SlotOwner(Replica replica, int regionIndex) {
+      this.replica = replica;
+      this.regionIndex = regionIndex;
+    }
+  }
+
+  private static final class Chunk {
+    final AtomicLongArray states = new AtomicLongArray(CHUNK_SIZE);
+    final AtomicReferenceArray<SlotOwner> owners = new AtomicReferenceArray<>(CHUNK_SIZE);
+  }
+}
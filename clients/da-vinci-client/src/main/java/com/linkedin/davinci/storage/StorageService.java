@@ -2,6 +2,7 @@ package com.linkedin.davinci.storage;
 
 import static com.linkedin.venice.meta.PersistenceType.BLACK_HOLE;
 import static com.linkedin.venice.meta.PersistenceType.IN_MEMORY;
+import static com.linkedin.venice.meta.PersistenceType.IN_MEMORY_HASH_INDEX;
 import static com.linkedin.venice.meta.PersistenceType.ROCKS_DB;
 
 import com.linkedin.davinci.config.VeniceConfigLoader;
@@ -13,6 +14,7 @@ import com.linkedin.davinci.store.AbstractStorageEngine;
 import com.linkedin.davinci.store.StorageEngine;
 import com.linkedin.davinci.store.StorageEngineFactory;
 import com.linkedin.davinci.store.blackhole.BlackHoleStorageEngineFactory;
+import com.linkedin.davinci.store.memory.HashIndexStorageEngineFactory;
 import com.linkedin.davinci.store.memory.InMemoryStorageEngineFactory;
 import com.linkedin.davinci.store.rocksdb.RocksDBStorageEngineFactory;
 import com.linkedin.venice.ConfigKeys;
@@ -214,6 +216,8 @@ public class StorageService extends AbstractVeniceService {
             storeVersionStateSerializer,
             partitionStateSerializer));
     persistenceTypeToStorageEngineFactoryMap.put(BLACK_HOLE, new BlackHoleStorageEngineFactory());
+    persistenceTypeToStorageEngineFactoryMap
+        .put(IN_MEMORY_HASH_INDEX, new HashIndexStorageEngineFactory(serverConfig));
   }
 
   static void deleteStorageEngineOnRocksDBError(
@@ -16,6 +16,8 @@ import com.linkedin.venice.utils.ByteUtils;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.BinaryDecoder;
 
@@ -186,6 +188,40 @@ public abstract class AbstractAvroChunkingAdapter<T> implements ChunkingAdapter<
         compressor);
   }
 
+  /**
+   * Looks up all the given keys of one partition with a single batched storage lookup.
+   *
+   * @return a list aligned with {@param keys}, containing null for the keys which do not exist.
+   */
+  public List<T> multiGet(
+      StorageEngine store,
+      int partition,
+      List<byte[]> keys,
+      BinaryDecoder reusedDecoder,
+      boolean isChunked,
+      ReadResponseStats responseStats,
+      int readerSchemaId,
+      StoreDeserializerCache<T> storeDeserializerCache,
+      VeniceCompressor compressor) {
+    if (isChunked) {
+      List<byte[]> keysWithChunkingSuffix = new ArrayList<>(keys.size());
+      for (byte[] key: keys) {
+        keysWithChunkingSuffix.add(ChunkingUtils.KEY_WITH_CHUNKING_SUFFIX_SERIALIZER.serializeNonChunkedKey(key));
+      }
+      keys = keysWithChunkingSuffix;
+    }
+    return ChunkingUtils.multiGetFromStorage(
+        this,
+        store,
+        partition,
+        keys,
+        reusedDecoder,
+        responseStats,
+        readerSchemaId,
+        storeDeserializerCache,
+        compressor);
+  }
+
   public void getByPartialKey(
       StorageEngine store,
       int userPartition,
@@ -19,6 +19,8 @@ import com.linkedin.venice.storage.protocol.ChunkedKeySuffix;
 import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
 import com.linkedin.venice.writer.VeniceWriter;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.BinaryDecoder;
@@ -149,6 +151,46 @@ public class ChunkingUtils {
         null);
   }
 
+  /**
+   * Batch variant of the single key lookup above, which fetches all the top-level keys of a partition with a single
+   * {@link StorageEngine#multiGet(int, List)} call. The chunks of large values, if any, are still fetched one by one.
+   *
+   * @return a list aligned with {@param keys}, containing null for the keys which do not exist.
+   */
+  static <VALUE, CHUNKS_CONTAINER> List<VALUE> multiGetFromStorage(
+      ChunkingAdapter<CHUNKS_CONTAINER, VALUE> adapter,
+      StorageEngine store,
+      int partition,
+      List<byte[]> keys,
+      BinaryDecoder reusedDecoder,
+      ReadResponseStats responseStats,
+      int readerSchemaId,
+      StoreDeserializerCache<VALUE> storeDeserializerCache,
+      VeniceCompressor compressor) {
+    long databaseLookupStartTimeInNS = responseStats.getCurrentTimeInNanos();
+    List<byte[]> rawValues = store.multiGet(partition, keys);
+    List<VALUE> values = new ArrayList<>(rawValues.size());
+    for (byte[] rawValue: rawValues) {
+      values.add(
+          getFromStorage(
+              rawValue,
+              (rawValue == null ? 0 : rawValue.length),
+              databaseLookupStartTimeInNS,
+              adapter,
+              store::get,
+              store.getStoreVersionName(),
+              partition,
+              responseStats,
+              null,
+              reusedDecoder,
+              readerSchemaId,
+              storeDeserializerCache,
+              compressor,
+              null));
+    }
+    return values;
+  }
+
   static <CHUNKS_CONTAINER, VALUE> void getFromStorageByPartialKey(
       ChunkingAdapter<CHUNKS_CONTAINER, VALUE> adapter,
       StorageEngine store,
@@ -14,6 +14,7 @@ import com.linkedin.venice.offsets.OffsetRecord;
 import com.linkedin.venice.serialization.avro.InternalAvroSpecificSerializer;
 import com.linkedin.venice.utils.LatencyUtils;
 import com.linkedin.venice.utils.SparseConcurrentList;
+import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -23,6 +24,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -81,6 +83,22 @@ public abstract class AbstractStorageEngine<Partition extends AbstractStoragePar
    */
   private final List<ReadWriteLock> rwLockForStoragePartitionAdjustmentList = new SparseConcurrentList<>();
 
+  /**
+   * Tracks the writes applied to each data partition, see {@link #getPartitionWriteGeneration}. Like the read-write
+   * locks above, the entries are kept when a partition gets closed or dropped, so that the generation of a partition
+   * never goes backward if the partition is added back later.
+   */
+  private final Map<Integer, PartitionWriteGeneration> partitionWriteGenerations = new VeniceConcurrentHashMap<>();
+  /**
+   * The write generations are only tracked once something reads them, see {@link #enableWriteGenerationTracking()}.
+   */
+  private volatile boolean writeGenerationTrackingEnabled = false;
+
+  private static class PartitionWriteGeneration {
+    final AtomicLong startedWrites = new AtomicLong();
+    final AtomicLong completedWrites = new AtomicLong();
+  }
+
   public AbstractStorageEngine(
       String storeVersionName,
       InternalAvroSpecificSerializer<StoreVersionState> storeVersionStateSerializer,
@@ -214,6 +232,7 @@ public abstract class AbstractStorageEngine<Partition extends AbstractStoragePar
 
     Partition partition = createStoragePartition(storagePartitionConfig);
     this.partitionList.set(partitionId, partition);
+    markPartitionModified(partitionId);
     if (this.rwLockForStoragePartitionAdjustmentList.get(partitionId) == null) {
       /**
        * It is intentional to keep the read-write lock even the partition gets moved to other places
@@ -234,6 +253,7 @@ public abstract class AbstractStorageEngine<Partition extends AbstractStoragePar
       return;
     }
     partition.close();
+    markPartitionModified(partitionId);
     if (getNumberOfPartitions() == 0) {
       LOGGER.info("All Partitions closed for store {} ", getStoreVersionName());
     }
@@ -291,6 +311,7 @@ public abstract class AbstractStorageEngine<Partition extends AbstractStoragePar
 
     AbstractStoragePartition partition = this.partitionList.remove(partitionId);
     partition.drop();
+    markPartitionModified(partitionId);
 
     if (getNumberOfPartitions() == 0 && dropMetadataPartitionWhenEmpty) {
       if (!suppressLogs) {
@@ -413,6 +434,8 @@ public abstract class AbstractStorageEngine<Partition extends AbstractStoragePar
     LOGGER.info("End batch write for storage partition config: {}", storagePartitionConfig);
     AbstractStoragePartition partition = getPartitionOrThrow(storagePartitionConfig.getPartitionId());
     partition.endBatchWrite();
+    // Ending the batch write may ingest the buffered records into the database, e.g. as SST files.
+    markPartitionModified(storagePartitionConfig.getPartitionId());
     /**
      * After end of batch push, we would like to adjust the underlying database for the future ingestion, such as from streaming.
      */
@@ -423,6 +446,25 @@ public abstract class AbstractStorageEngine<Partition extends AbstractStoragePar
     }
   }
 
+  /**
+   * Not synchronized, so that the copy doesn't block the other partitions of this store version.
+   */
+  @Override
+  public void prepareSSTFileImport(
+      int partitionId,
+      String sourcePath,
+      long expectedRecordCount,
+      byte[] expectedChecksum) {
+    LOGGER.info("Prepare SST file: {} for partition: {} of store: {}", sourcePath, partitionId, storeVersionName);
+    getPartitionOrThrow(partitionId).prepareSSTFileImport(sourcePath, expectedRecordCount, expectedChecksum);
+  }
+
+  @Override
+  public synchronized void importSSTFile(int partitionId, long expectedRecordCount) {
+    LOGGER.info("Import SST file into partition: {} of store: {}", partitionId, storeVersionName);
+    getPartitionOrThrow(partitionId).importSSTFile(expectedRecordCount);
+  }
+
   private void executeWithSafeGuard(int partitionId, Runnable runnable) {
     executeWithSafeGuard(partitionId, () -> {
       runnable.run();
@@ -457,12 +499,90 @@ public abstract class AbstractStorageEngine<Partition extends AbstractStoragePar
       }
       AbstractStoragePartition storagePartition = getPartitionOrThrow(partitionId);
       storagePartition.reopen();
+      markPartitionModified(partitionId);
     });
   }
 
+  /**
+   * The write generation is only exact while no write is in flight, so this returns -1 whenever the counts of started
+   * and completed writes differ. The completed count is read first, so that a write starting in between the two reads
+   * makes them differ as well.
+   */
   @Override
-  public void put(int partitionId, byte[] key, byte[] value) throws VeniceException {
+  public long getPartitionWriteGeneration(int partitionId) {
+    if (!writeGenerationTrackingEnabled) {
+      return -1;
+    }
+    PartitionWriteGeneration generation = getWriteGeneration(partitionId);
+    long completedWrites = generation.completedWrites.get();
+    return completedWrites == generation.startedWrites.get() ? completedWrites : -1;
+  }
+
+  private PartitionWriteGeneration getWriteGeneration(int partitionId) {
+    return partitionWriteGenerations.computeIfAbsent(partitionId, p -> new PartitionWriteGeneration());
+  }
+
+  @Override
+  public void enableWriteGenerationTracking() {
+    writeGenerationTrackingEnabled = true;
+  }
+
+  /**
+   * Apply a write to a partition under {@link #executeWithSafeGuard}, counting it in the write generation of the
+   * partition both before and after, even if it fails.
+   *
+   * A write which started before the tracking got enabled is counted once it is done if the tracking got enabled in
+   * the meantime, since a reader may have looked up the previous value in between.
+   */
+  private void executeWrite(int partitionId, Runnable runnable) {
+    if (!writeGenerationTrackingEnabled) {
+      try {
+        executeWithSafeGuard(partitionId, runnable);
+      } finally {
+        markPartitionModified(partitionId);
+      }
+      return;
+    }
+    PartitionWriteGeneration generation = getWriteGeneration(partitionId);
+    generation.startedWrites.incrementAndGet();
+    try {
+      executeWithSafeGuard(partitionId, runnable);
+    } finally {
+      generation.completedWrites.incrementAndGet();
+    }
+  }
+
+  /**
+   * Advance the write generation of a partition whose content may have changed as a whole, e.g. when it gets closed,
+   * dropped or reopened. This is invoked after the change, which invalidates whatever got read while it was ongoing.
+   * Nothing needs to be invalidated while the tracking is disabled, since nothing reads the generations then.
+   */
+  private void markPartitionModified(int partitionId) {
+    if (!writeGenerationTrackingEnabled) {
+      return;
+    }
+    PartitionWriteGeneration generation = getWriteGeneration(partitionId);
+    generation.startedWrites.incrementAndGet();
+    generation.completedWrites.incrementAndGet();
+  }
+
+  @Override
+  public void beginWriteBatch(int partitionId) {
     executeWithSafeGuard(partitionId, () -> {
+      getPartitionOrThrow(partitionId).beginWriteBatch();
+    });
+  }
+
+  @Override
+  public void commitWriteBatch(int partitionId) {
+    executeWrite(partitionId, () -> {
+      getPartitionOrThrow(partitionId).commitWriteBatch();
+    });
+  }
+
+  @Override
+  public void put(int partitionId, byte[] key, byte[] value) throws VeniceException {
+    executeWrite(partitionId, () -> {
       AbstractStoragePartition partition = getPartitionOrThrow(partitionId);
       partition.put(key, value);
     });
@@ -470,7 +590,7 @@ public abstract class AbstractStorageEngine<Partition extends AbstractStoragePar
 
   @Override
   public void put(int partitionId, byte[] key, ByteBuffer value) throws VeniceException {
-    executeWithSafeGuard(partitionId, () -> {
+    executeWrite(partitionId, () -> {
       AbstractStoragePartition partition = getPartitionOrThrow(partitionId);
       partition.put(key, value);
     });
@@ -479,7 +599,7 @@ public abstract class AbstractStorageEngine<Partition extends AbstractStoragePar
   @Override
   public void putWithReplicationMetadata(int partitionId, byte[] key, ByteBuffer value, byte[] replicationMetadata)
       throws VeniceException {
-    executeWithSafeGuard(partitionId, () -> {
+    executeWrite(partitionId, () -> {
       AbstractStoragePartition partition = getPartitionOrThrow(partitionId);
       partition.putWithReplicationMetadata(key, value, replicationMetadata);
     });
@@ -517,6 +637,14 @@ public abstract class AbstractStorageEngine<Partition extends AbstractStoragePar
     });
   }
 
+  @Override
+  public List<byte[]> multiGet(int partitionId, List<byte[]> keys) throws VeniceException {
+    return executeWithSafeGuard(partitionId, () -> {
+      AbstractStoragePartition partition = getPartitionOrThrow(partitionId);
+      return partition.multiGet(keys);
+    });
+  }
+
   @Override
   public void getByKeyPrefix(int partitionId, byte[] partialKey, BytesStreamingCallback bytesStreamingCallback) {
     executeWithSafeGuard(partitionId, () -> {
@@ -527,7 +655,7 @@ public abstract class AbstractStorageEngine<Partition extends AbstractStoragePar
 
   @Override
   public void delete(int partitionId, byte[] key) throws VeniceException {
-    executeWithSafeGuard(partitionId, () -> {
+    executeWrite(partitionId, () -> {
       AbstractStoragePartition partition = getPartitionOrThrow(partitionId);
       partition.delete(key);
     });
@@ -536,7 +664,7 @@ public abstract class AbstractStorageEngine<Partition extends AbstractStoragePar
   @Override
   public void deleteWithReplicationMetadata(int partitionId, byte[] key, byte[] replicationMetadata)
       throws VeniceException {
-    executeWithSafeGuard(partitionId, () -> {
+    executeWrite(partitionId, () -> {
       AbstractStoragePartition partition = getPartitionOrThrow(partitionId);
       partition.deleteWithReplicationMetadata(key, replicationMetadata);
     });
@@ -4,6 +4,8 @@ import com.linkedin.davinci.callback.BytesStreamingCallback;
 import com.linkedin.davinci.store.rocksdb.ReplicationMetadataRocksDBStoragePartition;
 import com.linkedin.venice.exceptions.VeniceUnsupportedOperationException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
@@ -60,6 +62,20 @@ public abstract class AbstractStoragePartition {
 
   public abstract byte[] get(ByteBuffer key);
 
+  /**
+   * Get the values of multiple keys from the partition database.
+   * @param keys keys to be retrieved
+   * @return a list aligned with {@param keys}, containing null for the keys which do not exist.
+   */
+  public List<byte[]> multiGet(List<byte[]> keys) {
+    // Naive default impl is not optimized... only storage engines that support batched lookups override it.
+    List<byte[]> values = new ArrayList<>(keys.size());
+    for (byte[] key: keys) {
+      values.add(get(key));
+    }
+    return values;
+  }
+
   /**
    * Populate provided callback with key-value pairs from the partition database where the keys have provided prefix.
    * If prefix is null, callback will be populated will all key-value pairs from the partition database.
@@ -127,6 +143,31 @@ public abstract class AbstractStoragePartition {
   public void endBatchWrite() {
   }
 
+  /**
+   * See {@link StorageEngine#beginWriteBatch}. Partitions which can't buffer their writes apply them right away.
+   */
+  public void beginWriteBatch() {
+  }
+
+  public void commitWriteBatch() {
+  }
+
+  /**
+   * Copies an SST file which was built out of band next to the partition, to be added by {@link #importSSTFile}. Only
+   * the RocksDB based implementations support it.
+   */
+  public void prepareSSTFileImport(String sourcePath, long expectedRecordCount, byte[] expectedChecksum) {
+    throw new VeniceUnsupportedOperationException("prepareSSTFileImport");
+  }
+
+  /**
+   * Adds the SST file copied by {@link #prepareSSTFileImport} to the batch being written, see
+   * {@link #beginBatchWrite}. Only the RocksDB based implementations support it.
+   */
+  public void importSSTFile(long expectedRecordCount) {
+    throw new VeniceUnsupportedOperationException("importSSTFile");
+  }
+
   /**
    * Get the partition database size in bytes
    * @return partition database size
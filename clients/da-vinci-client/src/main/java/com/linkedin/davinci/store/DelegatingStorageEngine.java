@@ -6,6 +6,7 @@ import com.linkedin.venice.kafka.protocol.state.StoreVersionState;
 import com.linkedin.venice.meta.PersistenceType;
 import com.linkedin.venice.offsets.OffsetRecord;
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -107,6 +108,30 @@ public class DelegatingStorageEngine<P extends AbstractStoragePartition> impleme
     this.delegate.endBatchWrite(storagePartitionConfig);
   }
 
+  @Override
+  public void prepareSSTFileImport(
+      int partitionId,
+      String sourcePath,
+      long expectedRecordCount,
+      byte[] expectedChecksum) {
+    this.delegate.prepareSSTFileImport(partitionId, sourcePath, expectedRecordCount, expectedChecksum);
+  }
+
+  @Override
+  public void importSSTFile(int partitionId, long expectedRecordCount) {
+    this.delegate.importSSTFile(partitionId, expectedRecordCount);
+  }
+
+  @Override
+  public void beginWriteBatch(int partitionId) {
+    this.delegate.beginWriteBatch(partitionId);
+  }
+
+  @Override
+  public void commitWriteBatch(int partitionId) {
+    this.delegate.commitWriteBatch(partitionId);
+  }
+
   @Override
   public void reopenStoragePartition(int partitionId) {
     this.delegate.reopenStoragePartition(partitionId);
@@ -148,6 +173,11 @@ public class DelegatingStorageEngine<P extends AbstractStoragePartition> impleme
     return this.delegate.get(partitionId, keyBuffer);
   }
 
+  @Override
+  public List<byte[]> multiGet(int partitionId, List<byte[]> keys) throws VeniceException {
+    return this.delegate.multiGet(partitionId, keys);
+  }
+
   @Override
   public void getByKeyPrefix(int partitionId, byte[] partialKey, BytesStreamingCallback bytesStreamingCallback) {
     this.delegate.getByKeyPrefix(partitionId, partialKey, bytesStreamingCallback);
@@ -234,6 +264,16 @@ public class DelegatingStorageEngine<P extends AbstractStoragePartition> impleme
     return this.delegate.getStats();
   }
 
+  @Override
+  public long getPartitionWriteGeneration(int partitionId) {
+    return this.delegate.getPartitionWriteGeneration(partitionId);
+  }
+
+  @Override
+  public void enableWriteGenerationTracking() {
+    this.delegate.enableWriteGenerationTracking();
+  }
+
   @Override
   public void beginBatchWrite(
       StoragePartitionConfig storagePartitionConfig,
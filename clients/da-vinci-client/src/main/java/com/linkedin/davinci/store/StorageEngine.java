@@ -7,6 +7,7 @@ import com.linkedin.venice.meta.PersistenceType;
 import com.linkedin.venice.offsets.OffsetRecord;
 import java.io.Closeable;
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -88,6 +89,37 @@ public interface StorageEngine<Partition extends AbstractStoragePartition> exten
    */
   void endBatchWrite(StoragePartitionConfig storagePartitionConfig);
 
+  /**
+   * Starts buffering the puts and deletes applied to the given partition into a single batch, which is applied at once
+   * by {@link #commitWriteBatch}. Unlike {@link #beginBatchWrite}, this doesn't change the write mode of the partition,
+   * and it is meant for the records drained together by an ingestion thread.
+   *
+   * The buffered writes are not visible to reads until committed. Storage engines which can't buffer writes keep
+   * applying them one by one.
+   */
+  default void beginWriteBatch(int partitionId) {
+  }
+
+  /**
+   * Applies the writes buffered since {@link #beginWriteBatch}, if any.
+   */
+  default void commitWriteBatch(int partitionId) {
+  }
+
+  /**
+   * Copies an SST file which was built out of band, e.g. by the push job, next to a partition and verifies it, to be
+   * added by {@link #importSSTFile}. It may take a while and can be invoked concurrently with the writes.
+   *
+   * @param expectedChecksum the checksum of the key/value pairs of the file, or null to skip verifying it
+   */
+  void prepareSSTFileImport(int partitionId, String sourcePath, long expectedRecordCount, byte[] expectedChecksum);
+
+  /**
+   * Adds the SST file copied by {@link #prepareSSTFileImport} to the batch being written into a partition, see
+   * {@link #beginBatchWrite}.
+   */
+  void importSSTFile(int partitionId, long expectedRecordCount);
+
   /**
    * Reopen the underlying database.
    */
@@ -108,6 +140,14 @@ public interface StorageEngine<Partition extends AbstractStoragePartition> exten
 
   byte[] get(int partitionId, ByteBuffer keyBuffer) throws VeniceException;
 
+  /**
+   * Look up multiple keys of the same partition in one call, which lets storage engines supporting batched lookups
+   * amortize the per-key overhead.
+   *
+   * @return a list aligned with {@param keys}, containing null for the keys which do not exist.
+   */
+  List<byte[]> multiGet(int partitionId, List<byte[]> keys) throws VeniceException;
+
   void getByKeyPrefix(int partitionId, byte[] partialKey, BytesStreamingCallback bytesStreamingCallback);
 
   void delete(int partitionId, byte[] key) throws VeniceException;
@@ -176,4 +216,24 @@ public interface StorageEngine<Partition extends AbstractStoragePartition> exten
   default StorageEngineStats getStats() {
     return StorageEngineNoOpStats.SINGLETON;
   }
+
+  /**
+   * Return a number which increases every time a write to the given partition gets applied, so that a reader can tell
+   * whether a value it looked up earlier may have been modified since.
+   *
+   * @return the number of writes applied to the partition so far, or -1 if a write is currently in flight or if the
+   *         storage engine does not track its writes, in which case values read from it must not be cached.
+   * @see #enableWriteGenerationTracking()
+   */
+  default long getPartitionWriteGeneration(int partitionId) {
+    return -1;
+  }
+
+  /**
+   * Start tracking the writes applied to the partitions, see {@link #getPartitionWriteGeneration}. This is off by
+   * default so that the write path does not pay for it when nothing reads the generations, and it cannot be turned
+   * off again.
+   */
+  default void enableWriteGenerationTracking() {
+  }
 }
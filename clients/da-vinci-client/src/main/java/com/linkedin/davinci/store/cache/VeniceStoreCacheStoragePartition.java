@@ -5,7 +5,9 @@ import com.linkedin.davinci.callback.BytesStreamingCallback;
 import com.linkedin.davinci.store.AbstractStoragePartition;
 import com.linkedin.davinci.store.StoragePartitionConfig;
 import com.linkedin.davinci.store.cache.backend.ObjectCacheConfig;
+import com.linkedin.davinci.store.cache.backend.ObjectCacheType;
 import com.linkedin.davinci.store.cache.caffeine.CaffeineVeniceStoreCache;
+import com.linkedin.davinci.store.cache.offheap.OffHeapVeniceStoreCache;
 import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
 import com.linkedin.venice.serializer.RecordDeserializer;
 import java.nio.ByteBuffer;
@@ -40,10 +42,12 @@ public class VeniceStoreCacheStoragePartition extends AbstractStoragePartition {
       RecordDeserializer keyRecordDeserializer,
       AsyncCacheLoader cacheLoader) {
     super(partitionId);
-    // TODO: At some point we may want other cache implementations aside from caffeine. The config should inform this
-    // assignment.
     // TODO: We should also consult the cacheConfig to determine if we should be caching nulls with ttl
-    veniceCache = new CaffeineVeniceStoreCache(cacheConfig, cacheLoader);
+    if (cacheConfig.getCacheType() == ObjectCacheType.OFF_HEAP) {
+      veniceCache = new OffHeapVeniceStoreCache(cacheConfig, cacheLoader);
+    } else {
+      veniceCache = new CaffeineVeniceStoreCache(cacheConfig, cacheLoader);
+    }
 
     // We could use a specific record deserializer here, but wiring in the specific key class value is a bit confusing
     // in the interface. Since
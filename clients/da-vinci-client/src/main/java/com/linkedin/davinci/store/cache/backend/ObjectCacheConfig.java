@@ -6,6 +6,8 @@ import java.util.Optional;
 public class ObjectCacheConfig {
   private Optional<Long> maxCacheSize = Optional.empty();
   private Optional<Long> ttlInMilliseconds = Optional.empty();
+  private ObjectCacheType cacheType = ObjectCacheType.CAFFEINE;
+  private Optional<Long> maxPerPartitionCacheSizeInBytes = Optional.empty();
 
   public ObjectCacheConfig setMaxPerPartitionCacheSize(Long maxPerPartitionCacheSize) {
     this.maxCacheSize = Optional.of(maxPerPartitionCacheSize);
@@ -17,6 +19,20 @@ public class ObjectCacheConfig {
     return this;
   }
 
+  public ObjectCacheConfig setCacheType(ObjectCacheType cacheType) {
+    this.cacheType = cacheType;
+    return this;
+  }
+
+  /**
+   * The capacity of the serialized values held by a partition of an {@link ObjectCacheType#OFF_HEAP} cache. The entry
+   * count based {@link #setMaxPerPartitionCacheSize(Long)} only applies to {@link ObjectCacheType#CAFFEINE}.
+   */
+  public ObjectCacheConfig setMaxPerPartitionCacheSizeInBytes(Long maxPerPartitionCacheSizeInBytes) {
+    this.maxPerPartitionCacheSizeInBytes = Optional.of(maxPerPartitionCacheSizeInBytes);
+    return this;
+  }
+
   public Optional<Long> getMaxCacheSize() {
     return maxCacheSize;
   }
@@ -25,6 +41,14 @@ public class ObjectCacheConfig {
     return ttlInMilliseconds;
   }
 
+  public ObjectCacheType getCacheType() {
+    return cacheType;
+  }
+
+  public Optional<Long> getMaxPerPartitionCacheSizeInBytes() {
+    return maxPerPartitionCacheSizeInBytes;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (o == null) {
@@ -44,6 +68,14 @@ public class ObjectCacheConfig {
     if (!this.getMaxCacheSize().orElse(-1L).equals(c.getMaxCacheSize().orElse(-1L))) {
       return false;
     }
+    if (this.getCacheType() != c.getCacheType()) {
+      return false;
+    }
+    if (!this.getMaxPerPartitionCacheSizeInBytes()
+        .orElse(-1L)
+        .equals(c.getMaxPerPartitionCacheSizeInBytes().orElse(-1L))) {
+      return false;
+    }
     return true;
   }
 
@@ -52,11 +84,14 @@ public class ObjectCacheConfig {
     int result = 1;
     result = result * 31 + maxCacheSize.hashCode();
     result = result * 31 + ttlInMilliseconds.hashCode();
+    result = result * 31 + cacheType.hashCode();
+    result = result * 31 + maxPerPartitionCacheSizeInBytes.hashCode();
     return result;
   }
 
   @Override
   public String toString() {
-    return "ObjectCacheConfig{" + "maxCacheSize=" + maxCacheSize + ", ttlInMilliseconds=" + ttlInMilliseconds + "}";
+    return "ObjectCacheConfig{" + "maxCacheSize=" + maxCacheSize + ", ttlInMilliseconds=" + ttlInMilliseconds
+        + ", cacheType=" + cacheType + ", maxPerPartitionCacheSizeInBytes=" + maxPerPartitionCacheSizeInBytes + "}";
   }
 }
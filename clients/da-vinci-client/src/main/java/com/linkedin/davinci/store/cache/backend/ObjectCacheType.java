@@ -0,0 +1,18 @@
+package com.linkedin.davinci.store.cache.backend;
+
+/**
+ * The {@link com.linkedin.davinci.store.cache.VeniceStoreCache} implementation backing the object cache.
+ */
+public enum ObjectCacheType {
+  /**
+   * Deserialized values are kept on heap in a Caffeine cache, so a hit doesn't need any decoding, at the expense of
+   * GC pressure once the cache holds a lot of records.
+   */
+  CAFFEINE,
+
+  /**
+   * Serialized values are kept in slab-allocated direct memory with a byte-based capacity, and are deserialized on
+   * every hit. See {@link com.linkedin.davinci.store.cache.offheap.OffHeapVeniceStoreCache}.
+   */
+  OFF_HEAP
+}
@@ -0,0 +1,101 @@
+package com.linkedin.davinci.store.cache.offheap;
+
+/**
+ * A 4-bit Count-Min sketch estimating the popularity of keys, used by the TinyLFU admission policy of
+ * {@link OffHeapVeniceStoreCache}, as well as by the read cache of the Venice server.
+ *
+ * Each long of the table holds sixteen 4-bit counters, and a key increments one counter in each of 4 rows picked by
+ * independent hashes, its frequency being the minimum of those counters. Once the number of increments reaches 10
+ * times the table capacity, all the counters are halved, so that the sketch ages out keys which used to be popular.
+ *
+ * The counters are updated without any synchronization: concurrent increments may be lost, which only makes the
+ * estimates slightly less accurate and is much cheaper than a CAS loop on the read path.
+ */
+public class FrequencySketch {
+  private static final long[] SEEDS =
+      { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final long ONE_MASK = 0x1111111111111111L;
+  private static final int MIN_TABLE_SIZE = 256;
+  private static final int MAX_TABLE_SIZE = 1 << 24;
+
+  private final long[] table;
+  private final int tableMask;
+  private final int sampleSize;
+  private int incrementCount;
+
+  public FrequencySketch(long expectedEntryCount) {
+    int tableSize = (int) Math.min(Math.max(expectedEntryCount, MIN_TABLE_SIZE), MAX_TABLE_SIZE);
+    tableSize = Integer.highestOneBit(tableSize - 1) << 1;
+    this.table = new long[tableSize];
+    this.tableMask = tableSize - 1;
+    this.sampleSize = 10 * tableSize;
+  }
+
+  /**
+   * @return the estimated number of occurrences of the key, up to 15.
+   */
+  public int frequency(int keyHash) {
+    int hash = spread(keyHash);
+    int start = (hash & 3) << 2;
+    int frequency = Integer.MAX_VALUE;
+    for (int i = 0; i < 4; i++) {
+      int index = indexOf(hash, i);
+      int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  /**
+   * Records one more occurrence of the key. The callers share the sketch across reader threads and call this without
+   * any lock, so the read-modify-write of a counter, or of the increment count, can race with another one and lose an
+   * update. A lost update only makes the admission decisions slightly less accurate: it can neither corrupt the table
+   * nor fail the read.
+   */
+  public void increment(int keyHash) {
+    int hash = spread(keyHash);
+    int start = (hash & 3) << 2;
+    boolean added = false;
+    for (int i = 0; i < 4; i++) {
+      added |= incrementAt(indexOf(hash, i), start + i);
+    }
+    if (added && ++incrementCount >= sampleSize) {
+      reset();
+    }
+  }
+
+  private boolean incrementAt(int index, int counterIndex) {
+    int offset = counterIndex << 2;
+    long mask = 0xfL << offset;
+    if ((table[index] & mask) != mask) {
+      table[index] += 1L << offset;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Halves every counter. The odd counters lose their lowest bit, which is accounted for in the new increment count.
+   */
+  private void reset() {
+    int oddCount = 0;
+    for (int i = 0; i < table.length; i++) {
+      oddCount += Long.bitCount(table[i] & ONE_MASK);
+      table[i] = (table[i] >>> 1) & RESET_MASK;
+    }
+    incrementCount = (incrementCount >>> 1) - (oddCount >>> 2);
+  }
+
+  private int indexOf(int hash, int row) {
+    long h = (hash + SEEDS[row]) * SEEDS[row];
+    h += h >>> 32;
+    return ((int) h) & tableMask;
+  }
+
+  private static int spread(int hash) {
+    hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+    hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+    return (hash >>> 16) ^ hash;
+  }
+}
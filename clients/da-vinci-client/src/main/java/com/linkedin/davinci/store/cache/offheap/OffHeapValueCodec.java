@@ -0,0 +1,118 @@
+package com.linkedin.davinci.store.cache.offheap;
+
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
+import com.linkedin.venice.serializer.RecordDeserializer;
+import com.linkedin.venice.serializer.RecordSerializer;
+import com.linkedin.venice.serializer.SerializerDeserializerFactory;
+import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericContainer;
+import org.apache.avro.specific.SpecificRecord;
+
+
+/**
+ * Serializes the values of {@link OffHeapVeniceStoreCache} into Avro binary, and turns them back into objects of the
+ * same class on a hit.
+ *
+ * The cache is fed with the deserialized values handed to the Da Vinci client, whose schema is only known at runtime,
+ * so every distinct pair of value class and schema is registered on first use, and the id of the registration is
+ * stored along with the serialized bytes. Avro records (generic or specific) carry their own schema, and the primitive
+ * values of stores with a primitive value schema are mapped to the matching Avro type.
+ */
+class OffHeapValueCodec {
+  private final Map<ValueTypeKey, Integer> valueTypeIds = new VeniceConcurrentHashMap<>();
+  private final CopyOnWriteArrayList<ValueType> valueTypes = new CopyOnWriteArrayList<>();
+
+  int getValueTypeId(Object value) {
+    Schema schema = getSchema(value);
+    return valueTypeIds.computeIfAbsent(new ValueTypeKey(value.getClass(), schema), key -> {
+      synchronized (valueTypes) {
+        valueTypes.add(new ValueType(key.valueClass, key.schema));
+        return valueTypes.size() - 1;
+      }
+    });
+  }
+
+  byte[] encode(int valueTypeId, Object value) {
+    return valueTypes.get(valueTypeId).serializer.serialize(value);
+  }
+
+  Object decode(int valueTypeId, byte[] bytes) {
+    ValueType valueType = valueTypes.get(valueTypeId);
+    Object value = valueType.deserializer.deserialize(bytes);
+    // Avro decodes strings into Utf8, so give back the same class as the one which was cached
+    return valueType.isJavaString ? value.toString() : value;
+  }
+
+  private static Schema getSchema(Object value) {
+    if (value instanceof GenericContainer) {
+      return ((GenericContainer) value).getSchema();
+    } else if (value instanceof CharSequence) {
+      return Schema.create(Schema.Type.STRING);
+    } else if (value instanceof Integer) {
+      return Schema.create(Schema.Type.INT);
+    } else if (value instanceof Long) {
+      return Schema.create(Schema.Type.LONG);
+    } else if (value instanceof Float) {
+      return Schema.create(Schema.Type.FLOAT);
+    } else if (value instanceof Double) {
+      return Schema.create(Schema.Type.DOUBLE);
+    } else if (value instanceof Boolean) {
+      return Schema.create(Schema.Type.BOOLEAN);
+    } else if (value instanceof ByteBuffer) {
+      return Schema.create(Schema.Type.BYTES);
+    }
+    throw new VeniceException("Unsupported value type for the off-heap object cache: " + value.getClass().getName());
+  }
+
+  private static class ValueType {
+    private final RecordSerializer<Object> serializer;
+    private final RecordDeserializer<Object> deserializer;
+    private final boolean isJavaString;
+
+    private ValueType(Class<?> valueClass, Schema schema) {
+      this.serializer = SerializerDeserializerFactory.getAvroGenericSerializer(schema);
+      if (SpecificRecord.class.isAssignableFrom(valueClass)) {
+        this.deserializer = (RecordDeserializer<Object>) (RecordDeserializer<?>) FastSerializerDeserializerFactory
+            .getFastAvroSpecificDeserializer(schema, (Class<? extends SpecificRecord>) valueClass);
+      } else if (schema.getType() == Schema.Type.RECORD) {
+        this.deserializer = FastSerializerDeserializerFactory.getFastAvroGenericDeserializer(schema, schema);
+      } else {
+        this.deserializer = SerializerDeserializerFactory.getAvroGenericDeserializer(schema);
+      }
+      this.isJavaString = valueClass == String.class;
+    }
+  }
+
+  private static class ValueTypeKey {
+    private final Class<?> valueClass;
+    private final Schema schema;
+
+    private ValueTypeKey(Class<?> valueClass, Schema schema) {
+      this.valueClass = valueClass;
+      this.schema = schema;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ValueTypeKey)) {
+        return false;
+      }
+      ValueTypeKey that = (ValueTypeKey) o;
+      return valueClass == that.valueClass && schema.equals(that.schema);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(valueClass, schema);
+    }
+  }
+}
@@ -0,0 +1,648 @@
+package com.linkedin.davinci.store.cache.offheap;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.linkedin.davinci.store.cache.VeniceStoreCache;
+import com.linkedin.davinci.store.cache.backend.ObjectCacheConfig;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+
+/**
+ * A {@link VeniceStoreCache} keeping the values serialized in direct memory, so that a cache holding millions of
+ * records doesn't weigh on the GC the way {@link com.linkedin.davinci.store.cache.caffeine.CaffeineVeniceStoreCache}
+ * does. Values are deserialized on every hit, so each hit hands out a fresh object.
+ *
+ * The memory is carved out of fixed size slabs, which are assigned on demand to size classes growing by
+ * {@link #CHUNK_SIZE_GROWTH_FACTOR}, and each slab is split into chunks of the size of its class. A value is stored in
+ * a chunk of the smallest class it fits in. The capacity in bytes is configured through
+ * {@link ObjectCacheConfig#setMaxPerPartitionCacheSizeInBytes(Long)}, and values bigger than a slab are never cached.
+ *
+ * Once all the slabs are assigned and a size class has no free chunk left, a victim is picked among a sample of the
+ * chunks of that class, the least recently accessed one losing. Like W-TinyLFU, the new value is then only admitted if
+ * its key is estimated to be more popular than the victim's by a {@link FrequencySketch} recording every access, so
+ * that a burst of one-hit wonders can't flush the popular records out of the cache.
+ *
+ * So that the slabs don't stay with the size classes which first asked for them when the value sizes shift, a full
+ * size class which has needed a slab worth of chunks since its last attempt, or which owns no slab at all, tries to
+ * take over a slab of another class. Among a sample of slabs, the one whose sampled entries were accessed least
+ * recently moves, provided that all of them are older than the victim of the class, and its entries are evicted.
+ *
+ * Keys are kept on heap along with the location of their value, since they are needed in their deserialized form to
+ * look up and invalidate the cached records. Reads copy the value bytes under a shared lock, while the structural
+ * changes (inserts, evictions, invalidations and slab moves) are serialized by an exclusive lock, so a chunk can't be
+ * reused while it's being read.
+ *
+ * Every write or invalidation of a key bumps a write generation, which is striped by key hash. A loaded value is only
+ * cached if the generation of its key didn't change since the load started, so that a load racing with an
+ * invalidation can't cache a stale value.
+ */
+public class OffHeapVeniceStoreCache implements VeniceStoreCache {
+  static final int DEFAULT_SLAB_SIZE = 1024 * 1024;
+  static final int MIN_CHUNK_SIZE = 64;
+  static final double CHUNK_SIZE_GROWTH_FACTOR = 1.25;
+  /**
+   * A Da Vinci client may host many partitions, and the slabs are only allocated as the cache fills up, so the default
+   * is kept small.
+   */
+  static final long DEFAULT_MAX_SIZE_IN_BYTES = 32L * 1024 * 1024;
+  private static final int EVICTION_SAMPLE_SIZE = 8;
+  private static final int ESTIMATED_AVERAGE_VALUE_SIZE = 256;
+  private static final int WRITE_GENERATION_STRIPES = 4096;
+
+  private final AsyncCacheLoader loadingFunction;
+  private final Executor executor;
+  private final long ttlInMilliseconds;
+  private final int slabSize;
+  private final ByteBuffer[] slabs;
+  /** The size class each assigned slab belongs to. */
+  private final SizeClass[] slabOwners;
+  /** The entry stored in each chunk of each assigned slab, so that a slab can be emptied before it moves. */
+  private final Entry[][] slabEntries;
+  private final SizeClass[] sizeClasses;
+  private final FrequencySketch frequencySketch;
+  private final OffHeapValueCodec valueCodec = new OffHeapValueCodec();
+  private final VeniceConcurrentHashMap<Object, Entry> entries = new VeniceConcurrentHashMap<>();
+  private final VeniceConcurrentHashMap<Object, CompletableFuture<Object>> pendingLoads =
+      new VeniceConcurrentHashMap<>();
+  /** Only bumped with the write lock held. */
+  private final AtomicLongArray writeGenerations = new AtomicLongArray(WRITE_GENERATION_STRIPES);
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private int assignedSlabCount = 0;
+
+  public OffHeapVeniceStoreCache(ObjectCacheConfig cacheConfig, AsyncCacheLoader loadingFunction) {
+    this(cacheConfig, loadingFunction, DEFAULT_SLAB_SIZE, ForkJoinPool.commonPool());
+  }
+
+  OffHeapVeniceStoreCache(
+      ObjectCacheConfig cacheConfig,
+      AsyncCacheLoader loadingFunction,
+      int slabSize,
+      Executor executor) {
+    long maxSizeInBytes = cacheConfig.getMaxPerPartitionCacheSizeInBytes().orElse(DEFAULT_MAX_SIZE_IN_BYTES);
+    if (maxSizeInBytes < MIN_CHUNK_SIZE) {
+      throw new VeniceException("Off-heap object cache size must be at least " + MIN_CHUNK_SIZE + " bytes");
+    }
+    this.loadingFunction = loadingFunction;
+    this.executor = executor;
+    this.ttlInMilliseconds = cacheConfig.getTtlInMilliseconds().orElse(-1L);
+    this.slabSize = (int) Math.min(slabSize, maxSizeInBytes);
+    this.slabs = new ByteBuffer[(int) (maxSizeInBytes / this.slabSize)];
+    this.slabOwners = new SizeClass[slabs.length];
+    this.slabEntries = new Entry[slabs.length][];
+
+    List<SizeClass> classes = new ArrayList<>();
+    int chunkSize = MIN_CHUNK_SIZE;
+    while (chunkSize < this.slabSize) {
+      classes.add(new SizeClass(chunkSize, this.slabSize));
+      // Keep the chunks 8 bytes aligned
+      chunkSize = Math.max(chunkSize + 8, ((int) (chunkSize * CHUNK_SIZE_GROWTH_FACTOR) + 7) & ~7);
+    }
+    classes.add(new SizeClass(this.slabSize, this.slabSize));
+    this.sizeClasses = classes.toArray(new SizeClass[0]);
+    this.frequencySketch = new FrequencySketch(maxSizeInBytes / ESTIMATED_AVERAGE_VALUE_SIZE);
+  }
+
+  @Override
+  public <K, V> V getIfPresent(K key) {
+    frequencySketch.increment(key.hashCode());
+    V value = read(key);
+    if (value == null) {
+      missCount.increment();
+    } else {
+      hitCount.increment();
+    }
+    return value;
+  }
+
+  @Override
+  public <K, V> Map<K, V> getAllPresent(Iterable<K> keys) {
+    Map<K, V> result = new HashMap<>();
+    for (K key: keys) {
+      V value = getIfPresent(key);
+      if (value != null) {
+        result.put(key, value);
+      }
+    }
+    return Collections.unmodifiableMap(result);
+  }
+
+  @Override
+  public <K, V> CompletableFuture<V> get(K key, Function<K, V> mappingFunction) {
+    return getOrLoad(key, () -> CompletableFuture.supplyAsync(() -> mappingFunction.apply(key), executor));
+  }
+
+  @Override
+  public <K, V> CompletableFuture<V> get(K key) {
+    return getOrLoad(key, () -> {
+      try {
+        return loadingFunction.asyncLoad(key, executor);
+      } catch (Exception e) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
+      }
+    });
+  }
+
+  @Override
+  public <K, V> CompletableFuture<Map<K, V>> getAll(
+      Iterable<K> keys,
+      Function<Iterable<K>, Map<K, V>> mappingFunction) {
+    Map<K, V> result = new HashMap<>();
+    Set<K> missingKeys = new LinkedHashSet<>();
+    for (K key: keys) {
+      V value = getIfPresent(key);
+      if (value != null) {
+        result.put(key, value);
+      } else {
+        missingKeys.add(key);
+      }
+    }
+    if (missingKeys.isEmpty()) {
+      return CompletableFuture.completedFuture(Collections.unmodifiableMap(result));
+    }
+    Map<K, Long> loadWriteGenerations = new HashMap<>(missingKeys.size());
+    for (K key: missingKeys) {
+      loadWriteGenerations.put(key, getWriteGeneration(key));
+    }
+    return CompletableFuture.supplyAsync(() -> mappingFunction.apply(missingKeys), executor).thenApply(loaded -> {
+      for (Map.Entry<K, V> entry: loaded.entrySet()) {
+        if (entry.getValue() != null) {
+          Long loadWriteGeneration = loadWriteGenerations.get(entry.getKey());
+          if (loadWriteGeneration != null) {
+            insertLoaded(entry.getKey(), entry.getValue(), loadWriteGeneration);
+          }
+          result.put(entry.getKey(), entry.getValue());
+        }
+      }
+      return Collections.unmodifiableMap(result);
+    });
+  }
+
+  @Override
+  public <K, V> void insert(K key, V value) {
+    if (value == null) {
+      invalidate(key);
+      return;
+    }
+    int valueTypeId = valueCodec.getValueTypeId(value);
+    byte[] bytes = valueCodec.encode(valueTypeId, value);
+
+    lock.writeLock().lock();
+    try {
+      bumpWriteGeneration(key);
+      store(key, valueTypeId, bytes);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public <K> void invalidate(K key) {
+    // A pending load still completes for its readers, but its value won't be cached, since it may be stale
+    pendingLoads.remove(key);
+    lock.writeLock().lock();
+    try {
+      bumpWriteGeneration(key);
+      removeEntry(key);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void clear() {
+    pendingLoads.clear();
+    lock.writeLock().lock();
+    try {
+      for (int i = 0; i < WRITE_GENERATION_STRIPES; i++) {
+        writeGenerations.incrementAndGet(i);
+      }
+      entries.clear();
+      for (SizeClass sizeClass: sizeClasses) {
+        sizeClass.reset();
+      }
+      // Keep the slabs around for the next round of inserts, they are just reassigned to the size classes on demand
+      assignedSlabCount = 0;
+      Arrays.fill(slabOwners, null);
+      Arrays.fill(slabEntries, null);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void close() {
+    clear();
+    lock.writeLock().lock();
+    try {
+      // Direct memory is released once the slabs are garbage collected
+      for (int i = 0; i < slabs.length; i++) {
+        slabs[i] = null;
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public long size() {
+    return entries.size();
+  }
+
+  @Override
+  public double hitRate() {
+    long hits = hitCount.sum();
+    long requests = hits + missCount.sum();
+    return requests == 0 ? 1.0 : (double) hits / requests;
+  }
+
+  @Override
+  public long hitCount() {
+    return hitCount.sum();
+  }
+
+  @Override
+  public long missCount() {
+    return missCount.sum();
+  }
+
+  /**
+   * @return the bytes of direct memory assigned to the size classes so far.
+   */
+  public long getAllocatedSizeInBytes() {
+    return (long) assignedSlabCount * slabSize;
+  }
+
+  private <K, V> CompletableFuture<V> getOrLoad(K key, LoaderInvocation<V> loaderInvocation) {
+    V value = getIfPresent(key);
+    if (value != null) {
+      return CompletableFuture.completedFuture(value);
+    }
+    CompletableFuture<Object> newLoad = new CompletableFuture<>();
+    CompletableFuture<Object> pendingLoad = pendingLoads.putIfAbsent(key, newLoad);
+    if (pendingLoad != null) {
+      return (CompletableFuture<V>) pendingLoad;
+    }
+    long loadWriteGeneration = getWriteGeneration(key);
+    loaderInvocation.invoke().whenComplete((loaded, throwable) -> {
+      pendingLoads.remove(key, newLoad);
+      if (throwable == null && loaded != null) {
+        insertLoaded(key, loaded, loadWriteGeneration);
+      }
+      if (throwable != null) {
+        newLoad.completeExceptionally(throwable);
+      } else {
+        newLoad.complete(loaded);
+      }
+    });
+    return (CompletableFuture<V>) newLoad;
+  }
+
+  private <K, V> V read(K key) {
+    byte[] bytes;
+    int valueTypeId;
+    lock.readLock().lock();
+    try {
+      Entry entry = entries.get(key);
+      if (entry == null) {
+        return null;
+      }
+      if (ttlInMilliseconds >= 0 && System.currentTimeMillis() - entry.writeTimeInMs > ttlInMilliseconds) {
+        return null;
+      }
+      ByteBuffer slab = slabs[entry.getSlabIndex()].duplicate();
+      slab.position(entry.getOffsetInSlab());
+      bytes = new byte[entry.length];
+      slab.get(bytes);
+      valueTypeId = entry.valueTypeId;
+      entry.lastAccessTimeInNs = System.nanoTime();
+    } finally {
+      lock.readLock().unlock();
+    }
+    // Deserialize outside of the lock
+    return (V) valueCodec.decode(valueTypeId, bytes);
+  }
+
+  /**
+   * Caches a loaded value, unless its key was written or invalidated since the load started.
+   */
+  private void insertLoaded(Object key, Object value, long loadWriteGeneration) {
+    int valueTypeId = valueCodec.getValueTypeId(value);
+    byte[] bytes = valueCodec.encode(valueTypeId, value);
+
+    lock.writeLock().lock();
+    try {
+      if (getWriteGeneration(key) == loadWriteGeneration) {
+        store(key, valueTypeId, bytes);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Must be called with the write lock held.
+   */
+  private void store(Object key, int valueTypeId, byte[] bytes) {
+    removeEntry(key);
+    SizeClass sizeClass = getSizeClass(bytes.length);
+    if (sizeClass == null) {
+      // Bigger than a slab
+      return;
+    }
+    int chunk = allocateChunk(sizeClass, key);
+    if (chunk < 0) {
+      // Not admitted
+      return;
+    }
+    Entry entry = new Entry(key, sizeClass, chunk, bytes.length, valueTypeId);
+    ByteBuffer slab = slabs[entry.getSlabIndex()].duplicate();
+    slab.position(entry.getOffsetInSlab());
+    slab.put(bytes);
+    sizeClass.occupy(entry);
+    slabEntries[entry.getSlabIndex()][entry.getChunkInSlab()] = entry;
+    entries.put(key, entry);
+  }
+
+  private int getWriteGenerationStripe(Object key) {
+    int hash = key.hashCode();
+    return (hash ^ (hash >>> 16)) & (WRITE_GENERATION_STRIPES - 1);
+  }
+
+  private long getWriteGeneration(Object key) {
+    return writeGenerations.get(getWriteGenerationStripe(key));
+  }
+
+  /**
+   * Must be called with the write lock held, so that a loaded value can be checked and stored atomically.
+   */
+  private void bumpWriteGeneration(Object key) {
+    writeGenerations.incrementAndGet(getWriteGenerationStripe(key));
+  }
+
+  private SizeClass getSizeClass(int length) {
+    for (SizeClass sizeClass: sizeClasses) {
+      if (length <= sizeClass.chunkSize) {
+        return sizeClass;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Must be called with the write lock held.
+   *
+   * @return the global index of a free chunk of the size class, or -1 if the candidate isn't admitted.
+   */
+  private int allocateChunk(SizeClass sizeClass, Object candidateKey) {
+    int chunk = sizeClass.pollFreeChunk();
+    if (chunk >= 0) {
+      return chunk;
+    }
+    if (assignedSlabCount < slabs.length) {
+      int slabIndex = assignedSlabCount++;
+      if (slabs[slabIndex] == null) {
+        slabs[slabIndex] = ByteBuffer.allocateDirect(slabSize);
+      }
+      assignSlab(slabIndex, sizeClass);
+      return sizeClass.pollFreeChunk();
+    }
+    Entry victim = sizeClass.sampleVictim();
+    if (victim == null || ++sizeClass.fullAllocationCount >= sizeClass.chunksPerSlab) {
+      sizeClass.fullAllocationCount = 0;
+      // A class without any slab compares the other slabs to a victim accessed just now
+      if (moveSlab(sizeClass, victim == null ? System.nanoTime() : victim.lastAccessTimeInNs)) {
+        return sizeClass.pollFreeChunk();
+      }
+    }
+    if (victim == null) {
+      // All the slabs are assigned to other size classes, and none of the sampled ones was old enough to move
+      return -1;
+    }
+    if (frequencySketch.frequency(candidateKey.hashCode()) <= frequencySketch.frequency(victim.key.hashCode())) {
+      return -1;
+    }
+    removeEntry(victim.key);
+    return sizeClass.pollFreeChunk();
+  }
+
+  /**
+   * Moves the slab of another size class whose sampled entries were accessed least recently to the given class, if
+   * they were all accessed before the given time. Must be called with the write lock held.
+   *
+   * @return whether a slab was moved.
+   */
+  private boolean moveSlab(SizeClass recipient, long victimAccessTimeInNs) {
+    int donorSlabIndex = -1;
+    long donorAccessTimeInNs = victimAccessTimeInNs;
+    for (int i = 0; i < EVICTION_SAMPLE_SIZE; i++) {
+      int slabIndex = ThreadLocalRandom.current().nextInt(assignedSlabCount);
+      if (slabOwners[slabIndex] == recipient) {
+        continue;
+      }
+      long accessTimeInNs = sampleSlabAccessTime(slabIndex);
+      if (accessTimeInNs < donorAccessTimeInNs) {
+        donorSlabIndex = slabIndex;
+        donorAccessTimeInNs = accessTimeInNs;
+      }
+    }
+    if (donorSlabIndex < 0) {
+      return false;
+    }
+    for (Entry entry: slabEntries[donorSlabIndex]) {
+      if (entry != null) {
+        removeEntry(entry.key);
+      }
+    }
+    slabOwners[donorSlabIndex].unassignSlab(donorSlabIndex);
+    assignSlab(donorSlabIndex, recipient);
+    return true;
+  }
+
+  /**
+   * @return the latest access time of a sample of the entries of the slab, free chunks counting as never accessed.
+   */
+  private long sampleSlabAccessTime(int slabIndex) {
+    Entry[] entriesOfSlab = slabEntries[slabIndex];
+    long accessTimeInNs = Long.MIN_VALUE;
+    for (int i = 0; i < Math.min(EVICTION_SAMPLE_SIZE, entriesOfSlab.length); i++) {
+      Entry sample = entriesOfSlab[ThreadLocalRandom.current().nextInt(entriesOfSlab.length)];
+      if (sample != null) {
+        accessTimeInNs = Math.max(accessTimeInNs, sample.lastAccessTimeInNs);
+      }
+    }
+    return accessTimeInNs;
+  }
+
+  /**
+   * Must be called with the write lock held.
+   */
+  private void assignSlab(int slabIndex, SizeClass sizeClass) {
+    sizeClass.assignSlab(slabIndex);
+    slabOwners[slabIndex] = sizeClass;
+    slabEntries[slabIndex] = new Entry[sizeClass.chunksPerSlab];
+  }
+
+  /**
+   * Must be called with the write lock held.
+   */
+  private void removeEntry(Object key) {
+    Entry entry = entries.remove(key);
+    if (entry != null) {
+      slabEntries[entry.getSlabIndex()][entry.getChunkInSlab()] = null;
+      entry.sizeClass.release(entry);
+    }
+  }
+
+  private interface LoaderInvocation<V> {
+    CompletableFuture<V> invoke();
+  }
+
+  /**
+   * The location of a cached value. The chunk index is global to the cache: the slab assigned to the size class holds
+   * the chunks from {@code slabIndex * chunksPerSlab} to {@code (slabIndex + 1) * chunksPerSlab - 1}.
+   */
+  private static class Entry {
+    private final Object key;
+    private final SizeClass sizeClass;
+    private final int chunk;
+    private final int length;
+    private final int valueTypeId;
+    private final long writeTimeInMs;
+    private volatile long lastAccessTimeInNs;
+    // The position of this entry in the occupied chunks of its size class
+    private int occupiedIndex;
+
+    private Entry(Object key, SizeClass sizeClass, int chunk, int length, int valueTypeId) {
+      this.key = key;
+      this.sizeClass = sizeClass;
+      this.chunk = chunk;
+      this.length = length;
+      this.valueTypeId = valueTypeId;
+      this.writeTimeInMs = System.currentTimeMillis();
+      this.lastAccessTimeInNs = System.nanoTime();
+    }
+
+    private int getSlabIndex() {
+      return chunk / sizeClass.chunksPerSlab;
+    }
+
+    private int getChunkInSlab() {
+      return chunk % sizeClass.chunksPerSlab;
+    }
+
+    private int getOffsetInSlab() {
+      return getChunkInSlab() * sizeClass.chunkSize;
+    }
+  }
+
+  /**
+   * The chunks of a given size, only accessed with the write lock held.
+   */
+  private static class SizeClass {
+    private final int chunkSize;
+    private final int chunksPerSlab;
+    private int[] freeChunks = new int[0];
+    private int freeChunkCount = 0;
+    private int assignedChunkCount = 0;
+    private final List<Entry> occupiedChunks = new ArrayList<>();
+    /** The allocations which found the class full since it last tried to take over a slab. */
+    private int fullAllocationCount = 0;
+
+    private SizeClass(int chunkSize, int slabSize) {
+      this.chunkSize = chunkSize;
+      this.chunksPerSlab = slabSize / chunkSize;
+    }
+
+    private void assignSlab(int slabIndex) {
+      int firstChunk = slabIndex * chunksPerSlab;
+      assignedChunkCount += chunksPerSlab;
+      // Every assigned chunk may be free at some point
+      if (freeChunks.length < assignedChunkCount) {
+        int[] newFreeChunks = new int[assignedChunkCount];
+        System.arraycopy(freeChunks, 0, newFreeChunks, 0, freeChunkCount);
+        freeChunks = newFreeChunks;
+      }
+      // Push in reverse order, so that the chunks are handed out in address order
+      for (int i = chunksPerSlab - 1; i >= 0; i--) {
+        freeChunks[freeChunkCount++] = firstChunk + i;
+      }
+    }
+
+    /**
+     * Drops the chunks of a slab whose entries were all released.
+     */
+    private void unassignSlab(int slabIndex) {
+      int firstChunk = slabIndex * chunksPerSlab;
+      int remainingFreeChunkCount = 0;
+      for (int i = 0; i < freeChunkCount; i++) {
+        if (freeChunks[i] < firstChunk || freeChunks[i] >= firstChunk + chunksPerSlab) {
+          freeChunks[remainingFreeChunkCount++] = freeChunks[i];
+        }
+      }
+      freeChunkCount = remainingFreeChunkCount;
+      assignedChunkCount -= chunksPerSlab;
+    }
+
+    private int pollFreeChunk() {
+      return freeChunkCount == 0 ? -1 : freeChunks[--freeChunkCount];
+    }
+
+    private void occupy(Entry entry) {
+      entry.occupiedIndex = occupiedChunks.size();
+      occupiedChunks.add(entry);
+    }
+
+    private void release(Entry entry) {
+      // Swap with the last occupied chunk to remove in constant time
+      Entry last = occupiedChunks.remove(occupiedChunks.size() - 1);
+      if (last != entry) {
+        occupiedChunks.set(entry.occupiedIndex, last);
+        last.occupiedIndex = entry.occupiedIndex;
+      }
+      freeChunks[freeChunkCount++] = entry.chunk;
+    }
+
+    private Entry sampleVictim() {
+      int occupiedCount = occupiedChunks.size();
+      if (occupiedCount == 0) {
+        return null;
+      }
+      Entry victim = null;
+      for (int i = 0; i < Math.min(EVICTION_SAMPLE_SIZE, occupiedCount); i++) {
+        Entry sample = occupiedChunks.get(ThreadLocalRandom.current().nextInt(occupiedCount));
+        if (victim == null || sample.lastAccessTimeInNs < victim.lastAccessTimeInNs) {
+          victim = sample;
+        }
+      }
+      return victim;
+    }
+
+    private void reset() {
+      freeChunkCount = 0;
+      assignedChunkCount = 0;
+      fullAllocationCount = 0;
+      occupiedChunks.clear();
+    }
+  }
+}
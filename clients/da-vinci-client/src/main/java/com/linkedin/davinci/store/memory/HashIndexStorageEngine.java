@@ -0,0 +1,85 @@
+package com.linkedin.davinci.store.memory;
+
+import com.linkedin.davinci.config.VeniceStoreVersionConfig;
+import com.linkedin.davinci.store.AbstractStorageEngine;
+import com.linkedin.davinci.store.StoragePartitionConfig;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.meta.PersistenceType;
+import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * A store serving all its reads out of off-heap hash indexes, see {@link HashIndexStoragePartition}. The files of the
+ * partitions are kept in a folder per store version, under the base path of {@link HashIndexStorageEngineFactory}.
+ */
+public class HashIndexStorageEngine extends AbstractStorageEngine<HashIndexStoragePartition> {
+  private static final Logger LOGGER = LogManager.getLogger(HashIndexStorageEngine.class);
+
+  private final VeniceStoreVersionConfig storeConfig;
+  private final File storeDir;
+  private final ExecutorService snapshotExecutor;
+
+  public HashIndexStorageEngine(
+      VeniceStoreVersionConfig storeConfig,
+      String basePath,
+      ExecutorService snapshotExecutor) {
+    super(
+        storeConfig.getStoreVersionName(),
+        AvroProtocolDefinition.STORE_VERSION_STATE.getSerializer(),
+        AvroProtocolDefinition.PARTITION_STATE.getSerializer());
+    this.storeConfig = storeConfig;
+    this.storeDir = new File(basePath, storeConfig.getStoreVersionName());
+    this.snapshotExecutor = snapshotExecutor;
+    if (!storeDir.exists() && !storeDir.mkdirs()) {
+      throw new VeniceException("Failed to create hash index dir: " + storeDir);
+    }
+    restoreStoragePartitions(storeConfig.isRestoreMetadataPartition(), storeConfig.isRestoreDataPartitions());
+  }
+
+  @Override
+  public PersistenceType getType() {
+    return PersistenceType.IN_MEMORY_HASH_INDEX;
+  }
+
+  @Override
+  public Set<Integer> getPersistedPartitionIds() {
+    Set<Integer> partitionIds = new HashSet<>();
+    String[] fileNames = storeDir.list();
+    if (fileNames != null) {
+      for (String fileName: fileNames) {
+        String suffix = fileName.endsWith(HashIndexStoragePartition.SNAPSHOT_FILE_SUFFIX)
+            ? HashIndexStoragePartition.SNAPSHOT_FILE_SUFFIX
+            : fileName.endsWith(HashIndexStoragePartition.LOG_FILE_SUFFIX)
+                ? HashIndexStoragePartition.LOG_FILE_SUFFIX
+                : fileName.endsWith(HashIndexStoragePartition.PREVIOUS_LOG_FILE_SUFFIX)
+                    ? HashIndexStoragePartition.PREVIOUS_LOG_FILE_SUFFIX
+                    : null;
+        if (suffix != null) {
+          partitionIds.add(Integer.parseInt(fileName.substring(0, fileName.length() - suffix.length())));
+        }
+      }
+    }
+    return partitionIds;
+  }
+
+  @Override
+  public HashIndexStoragePartition createStoragePartition(StoragePartitionConfig storagePartitionConfig) {
+    return new HashIndexStoragePartition(storagePartitionConfig, storeDir, snapshotExecutor);
+  }
+
+  @Override
+  public synchronized void drop() {
+    super.drop();
+
+    // Whoever is in control of the metadata partition should be responsible of dropping the storage engine folder.
+    if (storeConfig.isRestoreMetadataPartition() && storeDir.exists() && !storeDir.delete()) {
+      LOGGER.warn("Failed to remove dir: {}.", storeDir);
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package com.linkedin.davinci.store.memory;
+
+import com.linkedin.davinci.config.VeniceServerConfig;
+import com.linkedin.davinci.config.VeniceStoreVersionConfig;
+import com.linkedin.davinci.store.StorageEngine;
+import com.linkedin.davinci.store.StorageEngineFactory;
+import com.linkedin.venice.exceptions.StorageInitializationException;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.meta.PersistenceType;
+import com.linkedin.venice.utils.DaemonThreadFactory;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * Creates the {@link HashIndexStorageEngine}s, which keep the whole data set of the store versions in off-heap hash
+ * indexes, and only use local files to survive restarts.
+ *
+ * The factory owns the thread writing the snapshots of all the partitions, which is shut down once the engines are
+ * closed.
+ */
+public class HashIndexStorageEngineFactory extends StorageEngineFactory {
+  private static final Logger LOGGER = LogManager.getLogger(HashIndexStorageEngineFactory.class);
+
+  private final String basePath;
+  private final Map<String, HashIndexStorageEngine> storageEngineMap = new HashMap<>();
+  private final ExecutorService snapshotExecutor =
+      Executors.newSingleThreadExecutor(new DaemonThreadFactory("HashIndexSnapshotWriter"));
+
+  public HashIndexStorageEngineFactory(VeniceServerConfig serverConfig) {
+    this.basePath = serverConfig.getHashIndexPath();
+  }
+
+  @Override
+  public synchronized StorageEngine getStorageEngine(VeniceStoreVersionConfig storeConfig)
+      throws StorageInitializationException {
+    verifyPersistenceType(storeConfig);
+    try {
+      return storageEngineMap.computeIfAbsent(
+          storeConfig.getStoreVersionName(),
+          ignored -> new HashIndexStorageEngine(storeConfig, basePath, snapshotExecutor));
+    } catch (Exception e) {
+      throw new StorageInitializationException(e);
+    }
+  }
+
+  @Override
+  public synchronized Set<String> getPersistedStoreNames() {
+    String[] storeDirs = new File(basePath).list();
+    if (storeDirs == null) {
+      LOGGER.info("Hash index dir: {} doesn't exist, so nothing to restore", basePath);
+      return new HashSet<>();
+    }
+    return new HashSet<>(Arrays.asList(storeDirs));
+  }
+
+  @Override
+  public synchronized void close() {
+    storageEngineMap.values().forEach(HashIndexStorageEngine::close);
+    storageEngineMap.clear();
+    // Closing the partitions waited for their snapshots, so there is nothing left to run
+    snapshotExecutor.shutdown();
+  }
+
+  @Override
+  public synchronized void removeStorageEngine(StorageEngine engine) {
+    verifyPersistenceType(engine);
+    HashIndexStorageEngine storageEngine = storageEngineMap.remove(engine.getStoreVersionName());
+    if (storageEngine != null) {
+      storageEngine.drop();
+    }
+  }
+
+  @Override
+  public synchronized void removeStorageEngine(String storeName) {
+    removeStorageEnginePartition(storeName, -1);
+  }
+
+  @Override
+  public synchronized void removeStorageEnginePartition(String storeName, int partitionId) {
+    if (storageEngineMap.containsKey(storeName)) {
+      throw new VeniceException(
+          "Storage engine: " + storeName + " is opened, please use #removeStorageEngine(StorageEngine) for deletion");
+    }
+    File storeDir = new File(basePath, storeName);
+    try {
+      // partitionId -1 means removes all partitions of the store.
+      if (partitionId == -1) {
+        FileUtils.deleteDirectory(storeDir);
+      } else {
+        FileUtils.deleteQuietly(new File(storeDir, partitionId + HashIndexStoragePartition.SNAPSHOT_FILE_SUFFIX));
+        FileUtils.deleteQuietly(new File(storeDir, partitionId + HashIndexStoragePartition.LOG_FILE_SUFFIX));
+      }
+    } catch (IOException e) {
+      throw new VeniceException("Failed to delete hash index folder for store: " + storeName, e);
+    }
+  }
+
+  @Override
+  public synchronized void closeStorageEngine(StorageEngine engine) {
+    verifyPersistenceType(engine);
+    HashIndexStorageEngine storageEngine = storageEngineMap.remove(engine.getStoreVersionName());
+    if (storageEngine != null) {
+      storageEngine.close();
+    }
+  }
+
+  @Override
+  public PersistenceType getPersistenceType() {
+    return PersistenceType.IN_MEMORY_HASH_INDEX;
+  }
+}
@@ -0,0 +1,517 @@
+package com.linkedin.davinci.store.memory;
+
+import com.linkedin.davinci.callback.BytesStreamingCallback;
+import com.linkedin.davinci.store.AbstractStoragePartition;
+import com.linkedin.davinci.store.StoragePartitionConfig;
+import com.linkedin.venice.exceptions.PersistenceFailureException;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * A storage partition serving reads out of a {@link SlabHashIndex}, which is only backed by local files for
+ * durability and restart.
+ *
+ * Every write is applied to the index and appended to a log file, which is flushed and fsync-ed by {@link #sync()},
+ * i.e. before the ingestion checkpoints its offset. Once the log outgrows the live records, {@link #sync()} sets it
+ * aside as the previous log, starts a new one of the next generation, and hands the snapshot of the index over to a
+ * background thread, so that the ingestion does not wait for it. The snapshot carries the generation of the new log,
+ * and the previous log is deleted once the snapshot is complete.
+ *
+ * On restart, the partition loads the snapshot, then replays the previous log and the log, skipping the ones of a
+ * generation older than the snapshot, which it already covers, and dropping a record only partially written to the
+ * log. Since the snapshot is taken while the writes go on, it may already contain some of the writes of the log,
+ * which are replayed again on top of it to the same effect. A previous log left behind by a process which died before
+ * completing the snapshot gets folded into a new snapshot right away.
+ *
+ * Writes are applied under the monitor of the partition, along with everything else touching the log. The snapshots
+ * run on an executor owned by {@link HashIndexStorageEngineFactory}, which outlives the partition.
+ */
+public class HashIndexStoragePartition extends AbstractStoragePartition {
+  private static final Logger LOGGER = LogManager.getLogger(HashIndexStoragePartition.class);
+
+  static final String SNAPSHOT_FILE_SUFFIX = ".snapshot";
+  static final String LOG_FILE_SUFFIX = ".log";
+  static final String PREVIOUS_LOG_FILE_SUFFIX = ".log.previous";
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+  private static final int FORMAT_VERSION = 1;
+  private static final byte LOG_OP_PUT = 0;
+  private static final byte LOG_OP_DELETE = 1;
+  private static final int SNAPSHOT_END_MARKER = -1;
+  private static final long MIN_LOG_BYTES_FOR_SNAPSHOT = 64L * 1024 * 1024;
+  private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+  private final SlabHashIndex index;
+  private final ExecutorService snapshotExecutor;
+  private final File snapshotFile;
+  private final File logFile;
+  private final File previousLogFile;
+  private final long minLogBytesForSnapshot;
+  private int generation;
+  private FileOutputStream logFileStream;
+  private DataOutputStream logStream;
+  private long logBytes;
+  /**
+   * The snapshot being written in the background, if any, see {@link #sync()}.
+   */
+  private Future<?> pendingSnapshot;
+
+  public HashIndexStoragePartition(
+      StoragePartitionConfig partitionConfig,
+      File storeDir,
+      ExecutorService snapshotExecutor) {
+    this(partitionConfig, storeDir, snapshotExecutor, SlabHashIndex.DEFAULT_PAGE_SIZE, MIN_LOG_BYTES_FOR_SNAPSHOT);
+  }
+
+  HashIndexStoragePartition(
+      StoragePartitionConfig partitionConfig,
+      File storeDir,
+      ExecutorService snapshotExecutor,
+      int pageSize,
+      long minLogBytesForSnapshot) {
+    super(partitionConfig.getPartitionId());
+    this.index = new SlabHashIndex(pageSize, true);
+    this.snapshotExecutor = snapshotExecutor;
+    this.snapshotFile = new File(storeDir, partitionConfig.getPartitionId() + SNAPSHOT_FILE_SUFFIX);
+    this.logFile = new File(storeDir, partitionConfig.getPartitionId() + LOG_FILE_SUFFIX);
+    this.previousLogFile = new File(storeDir, partitionConfig.getPartitionId() + PREVIOUS_LOG_FILE_SUFFIX);
+    this.minLogBytesForSnapshot = minLogBytesForSnapshot;
+    try {
+      restore();
+    } catch (IOException e) {
+      throw new PersistenceFailureException(
+          "Failed to restore hash index partition: " + partitionConfig.getPartitionId() + " from: " + storeDir,
+          e);
+    }
+  }
+
+  @Override
+  public void put(byte[] key, byte[] value) {
+    put(key, ByteBuffer.wrap(value));
+  }
+
+  @Override
+  public synchronized void put(byte[] key, ByteBuffer value) {
+    checkLogIsOpen();
+    index.put(key, value);
+    try {
+      logStream.writeByte(LOG_OP_PUT);
+      logStream.writeInt(key.length);
+      logStream.write(key);
+      logStream.writeInt(value.remaining());
+      if (value.hasArray()) {
+        logStream.write(value.array(), value.arrayOffset() + value.position(), value.remaining());
+      } else {
+        byte[] valueBytes = new byte[value.remaining()];
+        value.duplicate().get(valueBytes);
+        logStream.write(valueBytes);
+      }
+      logBytes += 1 + 2 * Integer.BYTES + key.length + value.remaining();
+    } catch (IOException e) {
+      throw new PersistenceFailureException("Failed to append a put to: " + logFile, e);
+    }
+  }
+
+  @Override
+  public <K, V> void put(K key, V value) {
+    throw new UnsupportedOperationException("Method not implemented!!");
+  }
+
+  @Override
+  public byte[] get(byte[] key) {
+    return index.get(key);
+  }
+
+  @Override
+  public <K, V> V get(K key) {
+    throw new UnsupportedOperationException("Method not implemented!!");
+  }
+
+  @Override
+  public byte[] get(ByteBuffer key) {
+    byte[] keyBytes = new byte[key.remaining()];
+    key.duplicate().get(keyBytes);
+    return index.get(keyBytes);
+  }
+
+  @Override
+  public void getByKeyPrefix(byte[] keyPrefix, BytesStreamingCallback callback) {
+    index.forEach((key, value) -> {
+      if (keyPrefix == null || startsWith(key, keyPrefix)) {
+        byte[] keyBytes = new byte[key.remaining()];
+        key.get(keyBytes);
+        byte[] valueBytes = new byte[value.remaining()];
+        value.get(valueBytes);
+        callback.onRecordReceived(keyBytes, valueBytes);
+      }
+    });
+    callback.onCompletion();
+  }
+
+  @Override
+  public synchronized void delete(byte[] key) {
+    checkLogIsOpen();
+    index.delete(key);
+    try {
+      logStream.writeByte(LOG_OP_DELETE);
+      logStream.writeInt(key.length);
+      logStream.write(key);
+      logBytes += 1 + Integer.BYTES + key.length;
+    } catch (IOException e) {
+      throw new PersistenceFailureException("Failed to append a delete to: " + logFile, e);
+    }
+  }
+
+  /**
+   * Only flushes the log and starts a new one when needed. The snapshot itself is written in the background, and the
+   * next one cannot start before it is done.
+   */
+  @Override
+  public synchronized Map<String, String> sync() {
+    checkLogIsOpen();
+    try {
+      logStream.flush();
+      logFileStream.getChannel().force(false);
+      if (pendingSnapshot != null && !pendingSnapshot.isDone()) {
+        return Collections.emptyMap();
+      }
+      if (previousLogFile.exists()) {
+        // The previous snapshot failed, so its log is still needed until a snapshot covers it
+        startSnapshot();
+      } else if (logBytes > Math.max(minLogBytesForSnapshot, index.getLiveRecordBytes())) {
+        rotateLog();
+        startSnapshot();
+      }
+    } catch (IOException e) {
+      throw new PersistenceFailureException("Failed to sync hash index partition: " + getPartitionId(), e);
+    }
+    return Collections.emptyMap();
+  }
+
+  @Override
+  public synchronized void drop() {
+    waitForPendingSnapshot();
+    closeLog();
+    index.clear();
+    deleteFile(logFile);
+    deleteFile(previousLogFile);
+    deleteFile(snapshotFile);
+    deleteFile(getTempFile(snapshotFile));
+  }
+
+  @Override
+  public synchronized void close() {
+    // The snapshot reads the index, which is about to be cleared
+    waitForPendingSnapshot();
+    try {
+      if (logStream != null) {
+        logStream.flush();
+        logFileStream.getChannel().force(false);
+      }
+    } catch (IOException e) {
+      LOGGER.error("Failed to flush the log of hash index partition: {}", getPartitionId(), e);
+    }
+    closeLog();
+    index.clear();
+  }
+
+  @Override
+  public boolean verifyConfig(StoragePartitionConfig storagePartitionConfig) {
+    // no need to do any special check
+    return true;
+  }
+
+  @Override
+  public long getPartitionSizeInBytes() {
+    return index.getLiveRecordBytes();
+  }
+
+  @Override
+  public void createSnapshot() {
+    throw new UnsupportedOperationException("Method not implemented!");
+  }
+
+  @Override
+  public void cleanupSnapshot() {
+    throw new UnsupportedOperationException("Method not implemented!");
+  }
+
+  // For testing purpose only.
+  int getGeneration() {
+    return generation;
+  }
+
+  private void restore() throws IOException {
+    int snapshotGeneration = 0;
+    if (snapshotFile.exists()) {
+      try (DataInputStream in = openInput(snapshotFile)) {
+        snapshotGeneration = readHeader(in, snapshotFile);
+        for (int keyLength = in.readInt(); keyLength != SNAPSHOT_END_MARKER; keyLength = in.readInt()) {
+          byte[] key = readBytes(in, keyLength);
+          index.put(key, ByteBuffer.wrap(readBytes(in, in.readInt())));
+        }
+      }
+    }
+    generation = snapshotGeneration;
+    boolean previousLogReplayed = replayLog(previousLogFile, snapshotGeneration) >= 0;
+    long validLogBytes = Math.max(replayLog(logFile, snapshotGeneration), 0);
+    openLog(validLogBytes);
+    if (previousLogReplayed) {
+      // The process died before the snapshot covering the previous log was complete
+      writeSnapshot(generation);
+    } else {
+      deleteFile(previousLogFile);
+    }
+    LOGGER.info(
+        "Restored hash index partition: {} of generation: {} with {} records",
+        getPartitionId(),
+        generation,
+        index.size());
+  }
+
+  /**
+   * Replays the given log on top of the index, unless it is of a generation older than the snapshot, and bumps the
+   * generation of the partition to the one of the log.
+   *
+   * @return the number of bytes of the log up to its last complete record, or -1 if it was not replayed.
+   */
+  private long replayLog(File file, int snapshotGeneration) throws IOException {
+    // A log shorter than its header was never synced, so it has nothing to replay
+    if (!file.exists() || file.length() < 2 * Integer.BYTES) {
+      return -1;
+    }
+    try (DataInputStream in = openInput(file)) {
+      int logGeneration = readHeader(in, file);
+      if (logGeneration < snapshotGeneration) {
+        LOGGER.info(
+            "Skipping log of generation: {} superseded by the snapshot of generation: {} in: {}",
+            logGeneration,
+            snapshotGeneration,
+            file);
+        return -1;
+      }
+      generation = Math.max(generation, logGeneration);
+      int recordCount = 0;
+      long validLogBytes = 2 * Integer.BYTES;
+      while (true) {
+        try {
+          byte op = in.readByte();
+          byte[] key = readBytes(in, in.readInt());
+          if (op == LOG_OP_PUT) {
+            byte[] value = readBytes(in, in.readInt());
+            index.put(key, ByteBuffer.wrap(value));
+            validLogBytes += 1 + 2 * Integer.BYTES + key.length + value.length;
+          } else {
+            index.delete(key);
+            validLogBytes += 1 + Integer.BYTES + key.length;
+          }
+          recordCount++;
+        } catch (EOFException e) {
+          break;
+        }
+      }
+      LOGGER.info("Replayed {} records of generation: {} from: {}", recordCount, logGeneration, file);
+      return validLogBytes;
+    }
+  }
+
+  /**
+   * Opens the log for appends, truncating it at {@param validLogBytes}, which drops a torn record at its end, or the
+   * whole log of a previous generation.
+   */
+  private void openLog(long validLogBytes) throws IOException {
+    logFile.getParentFile().mkdirs();
+    try (FileChannel channel =
+        FileChannel.open(logFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      channel.truncate(validLogBytes);
+    }
+    logFileStream = new FileOutputStream(logFile, true);
+    logStream = new DataOutputStream(new BufferedOutputStream(logFileStream, STREAM_BUFFER_SIZE));
+    if (validLogBytes == 0) {
+      writeHeader(logStream, generation);
+      validLogBytes = 2 * Integer.BYTES;
+    }
+    logBytes = validLogBytes;
+  }
+
+  private void checkLogIsOpen() {
+    if (logStream == null) {
+      throw new PersistenceFailureException("Hash index partition: " + getPartitionId() + " is closed");
+    }
+  }
+
+  /**
+   * Sets the current log aside as the previous log, which is kept until the snapshot started right after is complete,
+   * and starts the log of the next generation.
+   */
+  private void rotateLog() throws IOException {
+    closeLog();
+    Files.move(logFile.toPath(), previousLogFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+    generation++;
+    openLog(0);
+    logStream.flush();
+    logFileStream.getChannel().force(false);
+  }
+
+  private void startSnapshot() {
+    int snapshotGeneration = generation;
+    pendingSnapshot = snapshotExecutor.submit(() -> {
+      try {
+        writeSnapshot(snapshotGeneration);
+      } catch (IOException | RuntimeException e) {
+        // The previous log is kept, and the next sync tries again
+        LOGGER.error("Failed to write the snapshot of hash index partition: {}", getPartitionId(), e);
+      }
+    });
+  }
+
+  private void waitForPendingSnapshot() {
+    if (pendingSnapshot == null) {
+      return;
+    }
+    try {
+      pendingSnapshot.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PersistenceFailureException("Interrupted while waiting for the snapshot of: " + getPartitionId(), e);
+    } catch (ExecutionException e) {
+      // Already logged by the snapshot task
+    }
+    pendingSnapshot = null;
+  }
+
+  private void closeLog() {
+    if (logStream != null) {
+      try {
+        logStream.close();
+      } catch (IOException e) {
+        LOGGER.error("Failed to close the log of hash index partition: {}", getPartitionId(), e);
+      }
+      logStream = null;
+      logFileStream = null;
+    }
+  }
+
+  /**
+   * Writes a snapshot of the index, which covers every log older than the given generation, and then deletes the
+   * previous log. This only reads the index, without holding the monitor of the partition.
+   */
+  private void writeSnapshot(int snapshotGeneration) throws IOException {
+    long startTime = System.currentTimeMillis();
+    File tempFile = getTempFile(snapshotFile);
+    int[] recordCount = new int[1];
+    try (FileOutputStream fileStream = new FileOutputStream(tempFile);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileStream, STREAM_BUFFER_SIZE))) {
+      writeHeader(out, snapshotGeneration);
+      IOException[] failure = new IOException[1];
+      index.forEachIncrementally((key, value) -> {
+        if (failure[0] == null) {
+          try {
+            out.writeInt(key.remaining());
+            writeBuffer(out, key);
+            out.writeInt(value.remaining());
+            writeBuffer(out, value);
+            recordCount[0]++;
+          } catch (IOException e) {
+            failure[0] = e;
+          }
+        }
+      });
+      if (failure[0] != null) {
+        throw failure[0];
+      }
+      out.writeInt(SNAPSHOT_END_MARKER);
+      out.flush();
+      fileStream.getChannel().force(true);
+    }
+    Files.move(
+        tempFile.toPath(),
+        snapshotFile.toPath(),
+        StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+    // The previous log is ignored from now on, so it's safe to delete it
+    deleteFile(previousLogFile);
+    LOGGER.info(
+        "Wrote snapshot of generation: {} with {} records for hash index partition: {} in {} ms",
+        snapshotGeneration,
+        recordCount[0],
+        getPartitionId(),
+        System.currentTimeMillis() - startTime);
+  }
+
+  private static void writeHeader(DataOutputStream out, int generation) throws IOException {
+    out.writeInt(FORMAT_VERSION);
+    out.writeInt(generation);
+  }
+
+  private static int readHeader(DataInputStream in, File file) throws IOException {
+    int version = in.readInt();
+    if (version != FORMAT_VERSION) {
+      throw new PersistenceFailureException("Unknown format version: " + version + " of: " + file);
+    }
+    return in.readInt();
+  }
+
+  private static DataInputStream openInput(File file) throws IOException {
+    InputStream in = new FileInputStream(file);
+    return new DataInputStream(new BufferedInputStream(in, STREAM_BUFFER_SIZE));
+  }
+
+  private static byte[] readBytes(DataInputStream in, int length) throws IOException {
+    if (length < 0) {
+      throw new EOFException("Invalid length: " + length);
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  private static void writeBuffer(OutputStream out, ByteBuffer buffer) throws IOException {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    out.write(bytes);
+  }
+
+  private static boolean startsWith(ByteBuffer key, byte[] prefix) {
+    if (key.remaining() < prefix.length) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length; i++) {
+      if (key.get(key.position() + i) != prefix[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static File getTempFile(File file) {
+    return new File(file.getPath() + TEMP_FILE_SUFFIX);
+  }
+
+  private static void deleteFile(File file) {
+    if (file.exists() && !file.delete()) {
+      LOGGER.warn("Failed to delete: {}", file);
+    }
+  }
+}
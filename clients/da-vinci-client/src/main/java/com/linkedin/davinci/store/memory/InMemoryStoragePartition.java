@@ -4,49 +4,47 @@ import com.linkedin.davinci.callback.BytesStreamingCallback;
 import com.linkedin.davinci.store.AbstractStoragePartition;
 import com.linkedin.davinci.store.StoragePartitionConfig;
 import com.linkedin.venice.exceptions.PersistenceFailureException;
-import com.linkedin.venice.utils.ByteArray;
 import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 
 /**
- * An in-memory hashmap implementation of a storage partition
- *
+ * An in-memory implementation of a storage partition, packing its keys and values into a {@link SlabHashIndex} of
+ * on-heap slabs instead of keeping a pair of arrays and a map entry per record. This keeps the partition dense for the
+ * small meta stores and the test harnesses relying on it, and spares the GC from tracing every record.
  *
  *Assumptions:
  * 1.No need to worry about synchronizing write/deletes as the model is based on a single writer.
  * So all updates are already serialized.
  * 2. Concurrent reads may be stale if writes/deletes are going on. But the consistency model is also designed to be eventual.
  * Since "read your own writes semantics" is not guaranteed this eventual consistency is tolerable.
- *
- * Even though there will be one writer and 1 or more readers, we may still need a concurrentHashMap to avoid
- * ConcurrentModicfictionException thrown from the iterators
  */
 public class InMemoryStoragePartition extends AbstractStoragePartition {
-  private final ConcurrentMap<ByteArray, ByteArray> partitionDb;
-  private long partitionSize = 0;
+  /**
+   * Small enough to not waste much memory on the many tiny partitions of the test harnesses.
+   */
+  static final int DEFAULT_SLAB_SIZE = 256 * 1024;
+  private static final byte[] EMPTY_PREFIX = new byte[0];
+
+  private final SlabHashIndex index;
 
   public InMemoryStoragePartition(Integer partitionId) {
+    this(partitionId, DEFAULT_SLAB_SIZE);
+  }
+
+  InMemoryStoragePartition(Integer partitionId, int slabSize) {
     super(partitionId);
-    partitionDb = new ConcurrentHashMap<>();
+    this.index = new SlabHashIndex(slabSize, false);
   }
 
   public void put(byte[] key, byte[] value) {
-    ByteArray k = new ByteArray(key);
-    ByteArray v = new ByteArray(value);
-    partitionSize += key.length;
-    partitionSize += value.length;
-    partitionDb.put(k, v);
+    index.put(key, ByteBuffer.wrap(value));
   }
 
   @Override
   public void put(byte[] key, ByteBuffer valueBuffer) {
-    byte[] value = new byte[valueBuffer.remaining()];
-    System.arraycopy(valueBuffer.array(), valueBuffer.position(), value, 0, valueBuffer.remaining());
-    put(key, value);
+    index.put(key, valueBuffer);
   }
 
   @Override
@@ -55,11 +53,7 @@ public class InMemoryStoragePartition extends AbstractStoragePartition {
   }
 
   public byte[] get(byte[] key) throws PersistenceFailureException {
-    ByteArray k = new ByteArray(key);
-    if (partitionDb.containsKey(k)) {
-      return partitionDb.get(k).get();
-    }
-    return null;
+    return index.get(key);
   }
 
   @Override
@@ -69,31 +63,22 @@ public class InMemoryStoragePartition extends AbstractStoragePartition {
 
   @Override
   public byte[] get(ByteBuffer key) {
-    ByteArray keyArray = new ByteArray(key.array());
-    ByteArray byteArray = partitionDb.get(keyArray);
-    if (byteArray != null) {
-      return byteArray.get();
-    }
-    return null;
+    return index.get(toBytes(key));
   }
 
+  /**
+   * Streams the matching records in the byte order of their keys, like the RocksDB partitions do.
+   */
   @Override
   public void getByKeyPrefix(byte[] keyPrefix, BytesStreamingCallback callback) {
-    for (Map.Entry<ByteArray, ByteArray> entry: partitionDb.entrySet()) {
-      if (keyPrefix == null || entry.getKey().startsWith(keyPrefix)) {
-        callback.onRecordReceived(entry.getKey().get(), entry.getValue().get());
-      }
-    }
+    index.forEachWithPrefixSorted(
+        keyPrefix == null ? EMPTY_PREFIX : keyPrefix,
+        (key, value) -> callback.onRecordReceived(toBytes(key), toBytes(value)));
     callback.onCompletion();
   }
 
   public void delete(byte[] key) {
-    ByteArray k = new ByteArray(key);
-    ByteArray v = partitionDb.remove(k);
-    partitionSize -= k.length();
-    if (v != null) {
-      partitionSize -= v.length();
-    }
+    index.delete(key);
   }
 
   @Override
@@ -104,7 +89,7 @@ public class InMemoryStoragePartition extends AbstractStoragePartition {
 
   @Override
   public void drop() {
-    partitionDb.clear();
+    index.clear();
   }
 
   @Override
@@ -118,9 +103,25 @@ public class InMemoryStoragePartition extends AbstractStoragePartition {
     return true;
   }
 
+  /**
+   * @return the exact bytes of the live records, including the 8 bytes of lengths of each of them.
+   */
   @Override
   public long getPartitionSizeInBytes() {
-    return partitionSize;
+    return index.getLiveRecordBytes();
+  }
+
+  /**
+   * @return the bytes held by the slabs and the index, including the garbage left by overwrites and deletes.
+   */
+  long getAllocatedSizeInBytes() {
+    return index.getAllocatedBytes();
+  }
+
+  private static byte[] toBytes(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return bytes;
   }
 
   @Override
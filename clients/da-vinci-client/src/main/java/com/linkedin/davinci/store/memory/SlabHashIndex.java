@@ -0,0 +1,561 @@
+package com.linkedin.davinci.store.memory;
+
+import com.linkedin.venice.exceptions.VeniceException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+
+
+/**
+ * An open-addressing hash table packing its slots and its records into a few large buffers, either in direct memory
+ * for {@link HashIndexStoragePartition}, or on heap for {@link InMemoryStoragePartition}.
+ *
+ * Records are appended to fixed size pages as {@code [key length][value length][key][value]}, and the slot table maps
+ * each key to the address of its latest record with linear probing. Every slot is a single long holding a tag taken
+ * from the key hash along with the record address, so that probing only dereferences the records whose tag matches.
+ * Overwritten and deleted records are left behind as garbage in the pages until it outweighs the live records, at
+ * which point the live records are copied into fresh pages. A record bigger than the page size gets a page of its own.
+ *
+ * The index supports a single writer and any number of concurrent readers. Lookups are optimistic reads of a
+ * {@link StampedLock}, which only fall back to the read lock if a write happened during the lookup, so a point lookup
+ * doesn't contend with other readers.
+ */
+class SlabHashIndex {
+  static final int DEFAULT_PAGE_SIZE = 16 * 1024 * 1024;
+  private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+  private static final int MIN_SLOT_COUNT = 1024;
+  private static final double MAX_LOAD_FACTOR = 0.7;
+  private static final int ADDRESS_BITS = 40;
+  private static final long ADDRESS_MASK = (1L << ADDRESS_BITS) - 1;
+  private static final long EMPTY_SLOT = 0;
+  private static final long TOMBSTONE_SLOT = -1;
+  private static final int INCREMENTAL_VISIT_SLOT_COUNT = 4096;
+  private static final int MAX_INCREMENTAL_VISIT_RESTARTS = 3;
+
+  private final int pageSize;
+  private final int pageBits;
+  private final boolean offHeap;
+  private final StampedLock lock = new StampedLock();
+
+  /**
+   * Replaced as a whole on resize and compaction, so that a lookup racing with those sees a consistent snapshot.
+   */
+  private volatile State state;
+
+  // Only updated by the writer, the volatile ones are also read by size queries
+  private volatile int usedSlotCount = 0;
+  private int tombstoneCount = 0;
+  private volatile long liveRecordBytes = 0;
+  private long garbageRecordBytes = 0;
+
+  SlabHashIndex() {
+    this(DEFAULT_PAGE_SIZE, true);
+  }
+
+  SlabHashIndex(int pageSize, boolean offHeap) {
+    if (Integer.bitCount(pageSize) != 1) {
+      throw new IllegalArgumentException("Page size must be a power of 2, but got: " + pageSize);
+    }
+    this.pageSize = pageSize;
+    this.pageBits = Integer.numberOfTrailingZeros(pageSize);
+    this.offHeap = offHeap;
+    this.state = new State(allocate(MIN_SLOT_COUNT * Long.BYTES), new ByteBuffer[0], 0);
+  }
+
+  byte[] get(byte[] key) {
+    long hash = hash(key);
+    long stamp = lock.tryOptimisticRead();
+    if (stamp != 0) {
+      try {
+        byte[] value = state.lookup(key, hash);
+        if (lock.validate(stamp)) {
+          return value;
+        }
+      } catch (RuntimeException e) {
+        // A torn read of a record which was being written, unless nothing changed in the meantime
+        if (lock.validate(stamp)) {
+          throw e;
+        }
+      }
+    }
+    stamp = lock.readLock();
+    try {
+      return state.lookup(key, hash);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  void put(byte[] key, ByteBuffer value) {
+    long hash = hash(key);
+    long stamp = lock.writeLock();
+    try {
+      State current = state;
+      int recordSize = RECORD_HEADER_SIZE + key.length + value.remaining();
+      long address = current.append(key, value, recordSize);
+      int slotIndex = current.findSlot(key, hash);
+      long slot = current.getSlot(slotIndex);
+      if (slot != EMPTY_SLOT && slot != TOMBSTONE_SLOT) {
+        garbageRecordBytes += current.getRecordSize(slot);
+        liveRecordBytes -= current.getRecordSize(slot);
+      } else {
+        if (slot == TOMBSTONE_SLOT) {
+          tombstoneCount--;
+        }
+        usedSlotCount++;
+      }
+      current.setSlot(slotIndex, encodeSlot(tagOf(hash), address));
+      liveRecordBytes += recordSize;
+      maintain();
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  boolean delete(byte[] key) {
+    long hash = hash(key);
+    long stamp = lock.writeLock();
+    try {
+      State current = state;
+      int slotIndex = current.findSlot(key, hash);
+      long slot = current.getSlot(slotIndex);
+      if (slot == EMPTY_SLOT || slot == TOMBSTONE_SLOT) {
+        return false;
+      }
+      current.setSlot(slotIndex, TOMBSTONE_SLOT);
+      usedSlotCount--;
+      tombstoneCount++;
+      garbageRecordBytes += current.getRecordSize(slot);
+      liveRecordBytes -= current.getRecordSize(slot);
+      maintain();
+      return true;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Visits every live record, with buffers positioned on its key and value, which are only valid during the call.
+   */
+  void forEach(BiConsumer<ByteBuffer, ByteBuffer> consumer) {
+    long stamp = lock.readLock();
+    try {
+      State current = state;
+      int slotCount = current.getSlotCount();
+      for (int i = 0; i < slotCount; i++) {
+        long slot = current.getSlot(i);
+        if (slot != EMPTY_SLOT && slot != TOMBSTONE_SLOT) {
+          current.visitRecord(slot, consumer);
+        }
+      }
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Visits every live record like {@link #forEach}, but only holds the read lock for a few slots at a time, so that a
+   * long iteration does not block the writer. Every record which is not modified during the iteration gets visited, but
+   * the ones written during the iteration may or may not be, and a record may be visited more than once, since a resize
+   * or a compaction moves the records around and makes the iteration start over.
+   *
+   * A writer rebuilding the index faster than the iteration goes would make it start over forever, so past
+   * {@link #MAX_INCREMENTAL_VISIT_RESTARTS} restarts, the last pass holds the read lock until it is done.
+   */
+  void forEachIncrementally(BiConsumer<ByteBuffer, ByteBuffer> consumer) {
+    State visitedState = null;
+    int nextSlotIndex = 0;
+    int restartCount = 0;
+    while (true) {
+      long stamp = lock.readLock();
+      try {
+        State current = state;
+        if (current != visitedState) {
+          if (visitedState != null) {
+            restartCount++;
+          }
+          visitedState = current;
+          nextSlotIndex = 0;
+        }
+        int slotCount = current.getSlotCount();
+        int endSlotIndex = restartCount >= MAX_INCREMENTAL_VISIT_RESTARTS
+            ? slotCount
+            : Math.min(slotCount, nextSlotIndex + INCREMENTAL_VISIT_SLOT_COUNT);
+        for (int i = nextSlotIndex; i < endSlotIndex; i++) {
+          long slot = current.getSlot(i);
+          if (slot != EMPTY_SLOT && slot != TOMBSTONE_SLOT) {
+            current.visitRecord(slot, consumer);
+          }
+        }
+        nextSlotIndex = endSlotIndex;
+        if (nextSlotIndex == slotCount) {
+          return;
+        }
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+  }
+
+  /**
+   * Visits the live records whose key starts with the given prefix, in the unsigned lexicographic order of their keys,
+   * with buffers positioned on their key and value, which are only valid during the call. Only the matching records
+   * are sorted, so this costs a scan of the whole index plus a sort of the matches.
+   */
+  void forEachWithPrefixSorted(byte[] prefix, BiConsumer<ByteBuffer, ByteBuffer> consumer) {
+    long stamp = lock.readLock();
+    try {
+      State current = state;
+      int slotCount = current.getSlotCount();
+      long[] matches = new long[16];
+      int matchCount = 0;
+      for (int i = 0; i < slotCount; i++) {
+        long slot = current.getSlot(i);
+        if (slot != EMPTY_SLOT && slot != TOMBSTONE_SLOT && current.keyStartsWith(slot, prefix)) {
+          if (matchCount == matches.length) {
+            matches = Arrays.copyOf(matches, matchCount * 2);
+          }
+          matches[matchCount++] = slot;
+        }
+      }
+      Long[] sortedMatches = new Long[matchCount];
+      for (int i = 0; i < matchCount; i++) {
+        sortedMatches[i] = matches[i];
+      }
+      Arrays.sort(sortedMatches, current::compareKeys);
+      for (Long slot: sortedMatches) {
+        current.visitRecord(slot, consumer);
+      }
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  void clear() {
+    long stamp = lock.writeLock();
+    try {
+      state = new State(allocate(MIN_SLOT_COUNT * Long.BYTES), new ByteBuffer[0], 0);
+      usedSlotCount = 0;
+      tombstoneCount = 0;
+      liveRecordBytes = 0;
+      garbageRecordBytes = 0;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  int size() {
+    return usedSlotCount;
+  }
+
+  /**
+   * @return the bytes of the live records, including their headers.
+   */
+  long getLiveRecordBytes() {
+    return liveRecordBytes;
+  }
+
+  /**
+   * @return the bytes held by the slots and the pages.
+   */
+  long getAllocatedBytes() {
+    State current = state;
+    long allocatedBytes = current.slots.capacity();
+    for (ByteBuffer page: current.pages) {
+      allocatedBytes += page.capacity();
+    }
+    return allocatedBytes;
+  }
+
+  /**
+   * Must be called with the write lock held.
+   */
+  private void maintain() {
+    State current = state;
+    if (garbageRecordBytes > pageSize && garbageRecordBytes > liveRecordBytes) {
+      rebuild(getSlotCountFor(usedSlotCount), true);
+    } else if (usedSlotCount + tombstoneCount > current.getSlotCount() * MAX_LOAD_FACTOR) {
+      // Only grow if the live records need it, otherwise rehashing is enough to get rid of the tombstones
+      rebuild(getSlotCountFor(usedSlotCount), false);
+    }
+  }
+
+  private int getSlotCountFor(int recordCount) {
+    long slotCount = Math.max(MIN_SLOT_COUNT, (long) (recordCount / (MAX_LOAD_FACTOR / 2)));
+    if (slotCount > Integer.MAX_VALUE / Long.BYTES) {
+      throw new VeniceException("Too many records for the slab hash index: " + recordCount);
+    }
+    return Integer.highestOneBit((int) slotCount - 1) << 1;
+  }
+
+  /**
+   * Must be called with the write lock held.
+   */
+  private void rebuild(int slotCount, boolean compactPages) {
+    State current = state;
+    State rebuilt = new State(
+        allocate(slotCount * Long.BYTES),
+        compactPages ? new ByteBuffer[0] : current.pages,
+        compactPages ? 0 : current.pageWriteOffset);
+    int currentSlotCount = current.getSlotCount();
+    for (int i = 0; i < currentSlotCount; i++) {
+      long slot = current.getSlot(i);
+      if (slot == EMPTY_SLOT || slot == TOMBSTONE_SLOT) {
+        continue;
+      }
+      long tag = slot >>> ADDRESS_BITS;
+      long address = addressOf(slot);
+      if (compactPages) {
+        ByteBuffer record = current.getRecord(slot);
+        address = rebuilt.append(record, record.remaining());
+      }
+      // The table index is derived from the tag, so the key doesn't need to be hashed again
+      rebuilt.setSlot(rebuilt.findEmptySlot(tag), encodeSlot(tag, address));
+    }
+    tombstoneCount = 0;
+    if (compactPages) {
+      garbageRecordBytes = 0;
+    }
+    state = rebuilt;
+  }
+
+  private ByteBuffer allocate(int capacity) {
+    return offHeap ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+  }
+
+  private static long hash(byte[] key) {
+    // Murmur3 finalizer, to spread the bits of the polynomial hash over the whole long
+    long h = Arrays.hashCode(key) * 0x9E3779B97F4A7C15L + key.length;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  /**
+   * The upper bits of the hash are kept as the tag of the slot, and the address is shifted by one so that no record
+   * is encoded as an empty slot. The tombstone, whose bits are all set, would need a record at the very last address,
+   * which is never handed out.
+   */
+  private static long encodeSlot(long tag, long address) {
+    return (tag << ADDRESS_BITS) | (address + 1);
+  }
+
+  private static long addressOf(long slot) {
+    return (slot & ADDRESS_MASK) - 1;
+  }
+
+  private static long tagOf(long hash) {
+    return hash >>> ADDRESS_BITS;
+  }
+
+  private final class State {
+    private final ByteBuffer slots;
+    private final int slotMask;
+    private ByteBuffer[] pages;
+    private int pageWriteOffset;
+
+    private State(ByteBuffer slots, ByteBuffer[] pages, int pageWriteOffset) {
+      this.slots = slots;
+      this.slotMask = slots.capacity() / Long.BYTES - 1;
+      this.pages = pages;
+      this.pageWriteOffset = pageWriteOffset;
+    }
+
+    private int getSlotCount() {
+      return slotMask + 1;
+    }
+
+    private long getSlot(int index) {
+      return slots.getLong(index << 3);
+    }
+
+    private void setSlot(int index, long slot) {
+      slots.putLong(index << 3, slot);
+    }
+
+    private int indexOf(long tag) {
+      // Mix the tag again, since its lower bits are the ones picking the slot
+      return (int) ((tag * 0x9E3779B97F4A7C15L) >>> 32) & slotMask;
+    }
+
+    /**
+     * @return the index of the slot of the key, or of the slot where it should be inserted.
+     */
+    private int findSlot(byte[] key, long hash) {
+      long tag = tagOf(hash);
+      int index = indexOf(tag);
+      int firstTombstone = -1;
+      for (int probes = 0; probes <= slotMask; probes++) {
+        long slot = getSlot(index);
+        if (slot == EMPTY_SLOT) {
+          return firstTombstone >= 0 ? firstTombstone : index;
+        } else if (slot == TOMBSTONE_SLOT) {
+          if (firstTombstone < 0) {
+            firstTombstone = index;
+          }
+        } else if ((slot >>> ADDRESS_BITS) == tag && keyMatches(slot, key)) {
+          return index;
+        }
+        index = (index + 1) & slotMask;
+      }
+      if (firstTombstone >= 0) {
+        return firstTombstone;
+      }
+      throw new VeniceException("Slab hash index is full");
+    }
+
+    private int findEmptySlot(long tag) {
+      int index = indexOf(tag);
+      while (getSlot(index) != EMPTY_SLOT) {
+        index = (index + 1) & slotMask;
+      }
+      return index;
+    }
+
+    private byte[] lookup(byte[] key, long hash) {
+      long tag = tagOf(hash);
+      int index = indexOf(tag);
+      for (int probes = 0; probes <= slotMask; probes++) {
+        long slot = getSlot(index);
+        if (slot == EMPTY_SLOT) {
+          return null;
+        }
+        if (slot != TOMBSTONE_SLOT && (slot >>> ADDRESS_BITS) == tag && keyMatches(slot, key)) {
+          ByteBuffer record = getRecord(slot);
+          int keyLength = record.getInt(record.position());
+          int valueLength = record.getInt(record.position() + Integer.BYTES);
+          byte[] value = new byte[valueLength];
+          record.position(record.position() + RECORD_HEADER_SIZE + keyLength);
+          record.get(value);
+          return value;
+        }
+        index = (index + 1) & slotMask;
+      }
+      return null;
+    }
+
+    private boolean keyMatches(long slot, byte[] key) {
+      ByteBuffer record = getRecord(slot);
+      int position = record.position();
+      if (record.getInt(position) != key.length) {
+        return false;
+      }
+      position += RECORD_HEADER_SIZE;
+      for (int i = 0; i < key.length; i++) {
+        if (record.get(position + i) != key[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private boolean keyStartsWith(long slot, byte[] prefix) {
+      ByteBuffer record = getRecord(slot);
+      int position = record.position();
+      if (record.getInt(position) < prefix.length) {
+        return false;
+      }
+      position += RECORD_HEADER_SIZE;
+      for (int i = 0; i < prefix.length; i++) {
+        if (record.get(position + i) != prefix[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private int compareKeys(long slot1, long slot2) {
+      ByteBuffer record1 = getRecord(slot1);
+      ByteBuffer record2 = getRecord(slot2);
+      int position1 = record1.position() + RECORD_HEADER_SIZE;
+      int position2 = record2.position() + RECORD_HEADER_SIZE;
+      int length1 = record1.getInt(record1.position());
+      int length2 = record2.getInt(record2.position());
+      int commonLength = Math.min(length1, length2);
+      for (int i = 0; i < commonLength; i++) {
+        int diff = (record1.get(position1 + i) & 0xFF) - (record2.get(position2 + i) & 0xFF);
+        if (diff != 0) {
+          return diff;
+        }
+      }
+      return Integer.compare(length1, length2);
+    }
+
+    /**
+     * @return a buffer positioned at the header of the record, and limited to its end.
+     */
+    private ByteBuffer getRecord(long slot) {
+      long address = addressOf(slot);
+      ByteBuffer page = pages[(int) (address >>> pageBits)].duplicate();
+      int offset = (int) (address & (pageSize - 1));
+      int recordEnd = offset + RECORD_HEADER_SIZE + page.getInt(offset) + page.getInt(offset + Integer.BYTES);
+      if (recordEnd > page.capacity() || recordEnd < offset) {
+        // Can only happen with a torn read
+        throw new IllegalStateException("Invalid record at address: " + address);
+      }
+      page.limit(recordEnd);
+      page.position(offset);
+      return page;
+    }
+
+    private int getRecordSize(long slot) {
+      return getRecord(slot).remaining();
+    }
+
+    private void visitRecord(long slot, BiConsumer<ByteBuffer, ByteBuffer> consumer) {
+      ByteBuffer record = getRecord(slot);
+      int keyStart = record.position() + RECORD_HEADER_SIZE;
+      int valueStart = keyStart + record.getInt(record.position());
+      ByteBuffer key = record.duplicate();
+      key.position(keyStart);
+      key.limit(valueStart);
+      ByteBuffer value = record.duplicate();
+      value.position(valueStart);
+      consumer.accept(key, value);
+    }
+
+    private long append(byte[] key, ByteBuffer value, int recordSize) {
+      ByteBuffer page = reserve(recordSize);
+      page.putInt(key.length);
+      page.putInt(value.remaining());
+      page.put(key);
+      page.put(value.duplicate());
+      return allocateAddress(recordSize);
+    }
+
+    private long append(ByteBuffer record, int recordSize) {
+      ByteBuffer page = reserve(recordSize);
+      page.put(record);
+      return allocateAddress(recordSize);
+    }
+
+    /**
+     * @return a buffer over the last page, positioned where the record should be written.
+     */
+    private ByteBuffer reserve(int recordSize) {
+      if (pages.length == 0 || pageWriteOffset + recordSize > pageSize) {
+        if ((((long) pages.length + 1) << pageBits) >= ADDRESS_MASK) {
+          throw new VeniceException("Slab hash index ran out of addressable pages");
+        }
+        // Publish a new array, so that concurrent readers never see a partially updated one
+        ByteBuffer[] newPages = Arrays.copyOf(pages, pages.length + 1);
+        newPages[pages.length] = allocate(Math.max(pageSize, recordSize));
+        pages = newPages;
+        pageWriteOffset = 0;
+      }
+      ByteBuffer page = pages[pages.length - 1].duplicate();
+      page.position(pageWriteOffset);
+      return page;
+    }
+
+    private long allocateAddress(int recordSize) {
+      long address = (((long) pages.length - 1) << pageBits) | pageWriteOffset;
+      pageWriteOffset += recordSize;
+      return address;
+    }
+  }
+}
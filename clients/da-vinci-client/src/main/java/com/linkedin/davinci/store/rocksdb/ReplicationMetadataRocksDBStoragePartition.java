@@ -74,6 +74,9 @@ public class ReplicationMetadataRocksDBStoragePartition extends RocksDBStoragePa
       if (deferredWrite) {
         super.put(key, value);
         rocksDBSstFileWriter.put(key, ByteBuffer.wrap(metadata));
+      } else if (getOpenWriteBatch() != null) {
+        getOpenWriteBatch().put(columnFamilyHandleList.get(DEFAULT_COLUMN_FAMILY_INDEX), key, value);
+        getOpenWriteBatch().put(columnFamilyHandleList.get(REPLICATION_METADATA_COLUMN_FAMILY_INDEX), key, metadata);
       } else {
         try (WriteBatch writeBatch = new WriteBatch()) {
           writeBatch.put(columnFamilyHandleList.get(DEFAULT_COLUMN_FAMILY_INDEX), key, value);
@@ -96,6 +99,8 @@ public class ReplicationMetadataRocksDBStoragePartition extends RocksDBStoragePa
     try {
       if (deferredWrite) {
         rocksDBSstFileWriter.put(key, ByteBuffer.wrap(metadata));
+      } else if (getOpenWriteBatch() != null) {
+        getOpenWriteBatch().put(columnFamilyHandleList.get(REPLICATION_METADATA_COLUMN_FAMILY_INDEX), key, metadata);
       } else {
         rocksDB.put(columnFamilyHandleList.get(REPLICATION_METADATA_COLUMN_FAMILY_INDEX), writeOptions, key, metadata);
       }
@@ -158,6 +163,10 @@ public class ReplicationMetadataRocksDBStoragePartition extends RocksDBStoragePa
       if (deferredWrite) {
         // Just update the RMD for deletion during repush
         rocksDBSstFileWriter.put(key, ByteBuffer.wrap(replicationMetadata));
+      } else if (getOpenWriteBatch() != null) {
+        getOpenWriteBatch().delete(columnFamilyHandleList.get(DEFAULT_COLUMN_FAMILY_INDEX), key);
+        getOpenWriteBatch()
+            .put(columnFamilyHandleList.get(REPLICATION_METADATA_COLUMN_FAMILY_INDEX), key, replicationMetadata);
       } else {
         try (WriteBatch writeBatch = new WriteBatch()) {
           writeBatch.delete(columnFamilyHandleList.get(DEFAULT_COLUMN_FAMILY_INDEX), key);
@@ -0,0 +1,180 @@
+package com.linkedin.davinci.store.rocksdb;
+
+import com.linkedin.davinci.stats.RocksDBGroupCommitStats;
+import com.linkedin.venice.utils.LatencyUtils;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteBatch;
+
+
+/**
+ * This class implements group commit for the non-deferred write path of {@link RocksDBStoragePartition}.
+ *
+ * A writer which finds no other writer in flight applies its put directly, without any allocation nor copy, so a
+ * partition written by a single thread, which is the usual case with one drainer per partition, pays no more than with
+ * the synchronized write path.
+ *
+ * Otherwise, the writer enqueues its put and then competes for {@link #commitLock}. The writer which wins
+ * becomes the leader of the current group: it drains the queued writes (its own one and the ones enqueued by the
+ * writers waiting behind it) into a single {@link WriteBatch} and commits them with one RocksDB write. When the waiting
+ * writers get the lock in turn, they usually find their writes committed already and return right away.
+ *
+ * Each call only returns once its own write has been applied, so the read-your-writes behavior of the partition is the
+ * same as with individual writes, and writes issued by the same thread are applied in order.
+ *
+ * Deletes are not grouped, as they go through the synchronized write path of the partition.
+ *
+ * This class doesn't guard against the database being closed concurrently, which is the responsibility of the caller.
+ */
+class RocksDBGroupCommitWriter implements AutoCloseable {
+  interface BatchCommitter {
+    void commit(WriteBatch writeBatch) throws RocksDBException;
+
+    /**
+     * Applies a single put right away, which is used when there is no group to join.
+     */
+    void put(byte[] key, ByteBuffer valueBuffer) throws RocksDBException;
+  }
+
+  private static class PendingWrite {
+    private final byte[] key;
+    /**
+     * The buffer isn't copied, as its owner is blocked until the write is done.
+     */
+    private final ByteBuffer value;
+    /**
+     * The following fields are only accessed while holding {@link #commitLock}, or after having released it.
+     */
+    private boolean done = false;
+    private Exception failure;
+
+    PendingWrite(byte[] key, ByteBuffer value) {
+      this.key = key;
+      this.value = value;
+    }
+  }
+
+  private final BatchCommitter committer;
+  private final int maxBatchSize;
+  private final RocksDBGroupCommitStats stats;
+  private final Queue<PendingWrite> pendingWrites = new ConcurrentLinkedQueue<>();
+  private final ReentrantLock commitLock = new ReentrantLock();
+  /**
+   * The following two objects are reused across groups, and they are guarded by {@link #commitLock}.
+   */
+  private final WriteBatch writeBatch = new WriteBatch();
+  private final List<PendingWrite> currentGroup;
+
+  RocksDBGroupCommitWriter(BatchCommitter committer, int maxBatchSize, RocksDBGroupCommitStats stats) {
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("'maxBatchSize' should be positive, but got: " + maxBatchSize);
+    }
+    this.committer = committer;
+    this.maxBatchSize = maxBatchSize;
+    this.stats = stats;
+    this.currentGroup = new ArrayList<>(maxBatchSize);
+  }
+
+  void put(byte[] key, ByteBuffer valueBuffer) throws RocksDBException {
+    if (tryLockUncontended()) {
+      try {
+        committer.put(key, valueBuffer);
+      } finally {
+        commitLock.unlock();
+      }
+      return;
+    }
+    write(new PendingWrite(key, valueBuffer));
+  }
+
+  /**
+   * @return true if {@link #commitLock} was acquired with no queued write, in which case the caller has nothing to
+   *         group its write with and should apply it directly.
+   */
+  private boolean tryLockUncontended() {
+    if (!pendingWrites.isEmpty() || !commitLock.tryLock()) {
+      return false;
+    }
+    if (pendingWrites.isEmpty()) {
+      return true;
+    }
+    commitLock.unlock();
+    return false;
+  }
+
+  private void write(PendingWrite pendingWrite) throws RocksDBException {
+    pendingWrites.add(pendingWrite);
+    commitLock.lock();
+    try {
+      // The queue is FIFO, so the write gets committed after at most a few groups even when the queue is deep.
+      while (!pendingWrite.done) {
+        commitNextGroup();
+      }
+    } finally {
+      commitLock.unlock();
+    }
+    if (pendingWrite.failure instanceof RocksDBException) {
+      throw (RocksDBException) pendingWrite.failure;
+    } else if (pendingWrite.failure != null) {
+      throw (RuntimeException) pendingWrite.failure;
+    }
+  }
+
+  private void commitNextGroup() {
+    PendingWrite pendingWrite;
+    while (currentGroup.size() < maxBatchSize && (pendingWrite = pendingWrites.poll()) != null) {
+      currentGroup.add(pendingWrite);
+    }
+    long startTimeInNS = System.nanoTime();
+    Exception failure = null;
+    try {
+      for (PendingWrite write: currentGroup) {
+        writeBatch.put(write.key, toByteArray(write.value));
+      }
+      committer.commit(writeBatch);
+    } catch (RocksDBException | RuntimeException e) {
+      failure = e;
+    } finally {
+      for (PendingWrite write: currentGroup) {
+        write.failure = failure;
+        write.done = true;
+      }
+      if (stats != null) {
+        if (failure != null) {
+          stats.recordCommitError();
+        }
+        stats.recordBatchSize(currentGroup.size());
+        stats.recordCommitLatency(LatencyUtils.getElapsedTimeFromNSToMS(startTimeInNS));
+      }
+      currentGroup.clear();
+      writeBatch.clear();
+    }
+  }
+
+  /**
+   * {@link WriteBatch} only takes whole heap arrays, so the value only gets copied when it is a slice of its array.
+   */
+  private static byte[] toByteArray(ByteBuffer valueBuffer) {
+    if (valueBuffer.position() == 0 && valueBuffer.remaining() == valueBuffer.array().length) {
+      return valueBuffer.array();
+    }
+    byte[] value = new byte[valueBuffer.remaining()];
+    System.arraycopy(valueBuffer.array(), valueBuffer.position(), value, 0, valueBuffer.remaining());
+    return value;
+  }
+
+  @Override
+  public void close() {
+    commitLock.lock();
+    try {
+      writeBatch.close();
+    } finally {
+      commitLock.unlock();
+    }
+  }
+}
@@ -240,6 +240,19 @@ public class RocksDBServerConfig {
 
   public static final String ROCKSDB_BLOCK_CACHE_MEMORY_LIMIT = "rocksdb.block.cache.memory.limit";
 
+  /**
+   * When enabled, the puts issued concurrently against the same non-deferred-write partition are grouped into a
+   * single {@link org.rocksdb.WriteBatch} by whichever writer thread gets to commit first, instead of being serialized
+   * one by one on the partition monitor. Deletes are not grouped: they keep going through the synchronized path with
+   * the default write options.
+   *
+   * This only pays off when several threads write to the same partition. A put which finds no other one in flight is
+   * applied directly, so a partition with a single writer performs about the same either way, which
+   * {@code RocksDBGroupCommitBenchmark} measures.
+   */
+  public static final String ROCKSDB_GROUP_COMMIT_ENABLED = "rocksdb.group.commit.enabled";
+  public static final String ROCKSDB_GROUP_COMMIT_MAX_BATCH_SIZE = "rocksdb.group.commit.max.batch.size";
+
   private final boolean rocksDBUseDirectReads;
 
   private final int rocksDBEnvFlushPoolSize;
@@ -318,6 +331,8 @@ public class RocksDBServerConfig {
   private final double blobGarbageCollectionForceThreshold;
   private final int blobFileStartingLevel;
   private final double rocksdbBlockCacheMemoryLimit;
+  private final boolean groupCommitEnabled;
+  private final int groupCommitMaxBatchSize;
 
   public RocksDBServerConfig(VeniceProperties props) {
     // Do not use Direct IO for reads by default
@@ -458,6 +473,8 @@ public class RocksDBServerConfig {
     this.blobGarbageCollectionForceThreshold = props.getDouble(ROCKSDB_BLOB_GARBAGE_COLLECTION_FORCE_THRESHOLD, 0.8);
     this.blobFileStartingLevel = props.getInt(ROCKSDB_BLOB_FILE_STARTING_LEVEL, 0);
     this.rocksdbBlockCacheMemoryLimit = props.getDouble(ROCKSDB_BLOCK_CACHE_MEMORY_LIMIT, 0.8);
+    this.groupCommitEnabled = props.getBoolean(ROCKSDB_GROUP_COMMIT_ENABLED, false);
+    this.groupCommitMaxBatchSize = props.getInt(ROCKSDB_GROUP_COMMIT_MAX_BATCH_SIZE, 100);
   }
 
   public int getLevel0FileNumCompactionTriggerWriteOnlyVersion() {
@@ -702,4 +719,12 @@ public class RocksDBServerConfig {
   public double getRocksdbBlockCacheMemoryLimit() {
     return rocksdbBlockCacheMemoryLimit;
   }
+
+  public boolean isGroupCommitEnabled() {
+    return groupCommitEnabled;
+  }
+
+  public int getGroupCommitMaxBatchSize() {
+    return groupCommitMaxBatchSize;
+  }
 }
@@ -12,7 +12,11 @@ import com.linkedin.venice.store.rocksdb.RocksDBUtils;
 import com.linkedin.venice.utils.ByteUtils;
 import com.linkedin.venice.utils.LatencyUtils;
 import java.io.File;
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -70,6 +74,7 @@ public class RocksDBSstFileWriter {
   protected static final int DEFAULT_COLUMN_FAMILY_INDEX = 0;
   protected static final int REPLICATION_METADATA_COLUMN_FAMILY_INDEX = 1;
   private static final int REMOVE_ALL_SST_FILES = -1;
+  private static final String PREPARED_SST_FILE_NAME = "prepared_sst_file";
   private int lastFinishedSSTFileNo = -1;
   /**
    * Whether the input is sorted or not.
@@ -288,6 +293,97 @@ public class RocksDBSstFileWriter {
     return checkpointingInfo;
   }
 
+  /**
+   * Copies an SST file which was built out of band, e.g. by the push job, next to the SST files built by this writer
+   * and verifies it, so that {@link #importSSTFile} only has to move it into place. The copy may take a while, since
+   * the file may be large and live on a shared file system, which is why it doesn't touch the state of this writer
+   * and can be done concurrently with the writes. Its name doesn't match {@link RocksDBUtils#isTempSSTFile}, so a
+   * prepared file is left out of the recovery and simply overwritten by the next preparation.
+   *
+   * @param expectedChecksum the checksum of the key/value pairs of the file, or null to skip verifying it
+   */
+  public void prepareSSTFileImport(String sourcePath, long expectedRecordCount, byte[] expectedChecksum) {
+    File tempSSTFileDir = new File(fullPathForTempSSTFileDir);
+    if (!tempSSTFileDir.exists()) {
+      tempSSTFileDir.mkdirs();
+    }
+    String fullPathForPreparedSSTFile = composeFullPathForPreparedSSTFile();
+    long startMs = System.currentTimeMillis();
+    try {
+      Files.copy(Paths.get(sourcePath), Paths.get(fullPathForPreparedSSTFile), StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      throw new VeniceException("Failed to copy SST file: " + sourcePath + " to: " + fullPathForPreparedSSTFile, e);
+    }
+    if (expectedChecksum != null
+        && !verifyChecksum(fullPathForPreparedSSTFile, expectedRecordCount, expectedChecksum)) {
+      throw new VeniceChecksumException(
+          "verifyChecksum: failure. imported sstFile checksum didn't match for store: " + storeName + ", partition: "
+              + partitionId + ", sstFile: " + sourcePath + ", records: " + expectedRecordCount + ", latency(ms): "
+              + LatencyUtils.getElapsedTimeFromMsToMs(startMs));
+    }
+    LOGGER.info(
+        "Prepared sst file: {} as: {} for store: {}, partition id: {} with {} records, latency(ms): {}",
+        sourcePath,
+        fullPathForPreparedSSTFile,
+        storeName,
+        partitionId,
+        expectedRecordCount,
+        LatencyUtils.getElapsedTimeFromMsToMs(startMs));
+  }
+
+  /**
+   * Adds the SST file copied by {@link #prepareSSTFileImport} as the next finished SST file, so that it gets ingested
+   * along with the other ones by {@link #ingestSSTFiles}. It's subject to the same checkpointing as the files built
+   * by this writer, i.e. it's removed on restart unless {@link #sync} was invoked after importing it.
+   */
+  public void importSSTFile(long expectedRecordCount) {
+    if (currentSSTFileWriter == null) {
+      throw new VeniceException(
+          "currentSSTFileWriter is null for store: " + storeName + ", partition id: " + partitionId
+              + ", 'beginBatchWrite' should be invoked before importing any SST file");
+    }
+    if (recordNumInCurrentSSTFile > 0) {
+      throw new VeniceException(
+          "Can't import SST file for store: " + storeName + ", partition id: " + partitionId + " while "
+              + recordNumInCurrentSSTFile + " records are being written into the current SST file");
+    }
+    String fullPathForPreparedSSTFile = composeFullPathForPreparedSSTFile();
+    if (!new File(fullPathForPreparedSSTFile).exists()) {
+      throw new VeniceException(
+          "No prepared SST file: " + fullPathForPreparedSSTFile + " to import for store: " + storeName
+              + ", partition id: " + partitionId);
+    }
+    // The current SST file is empty, so the imported one takes its place
+    currentSSTFileWriter.close();
+    String fullPathForImportedSSTFile = composeFullPathForSSTFile(currentSSTFileNo);
+    try {
+      Files.move(
+          Paths.get(fullPathForPreparedSSTFile),
+          Paths.get(fullPathForImportedSSTFile),
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      throw new VeniceException(
+          "Failed to move SST file: " + fullPathForPreparedSSTFile + " to: " + fullPathForImportedSSTFile,
+          e);
+    }
+    lastFinishedSSTFileNo = currentSSTFileNo;
+    ++currentSSTFileNo;
+    recordNumInAllSSTFiles += expectedRecordCount;
+    String fullPathForCurrentSSTFile = composeFullPathForSSTFile(currentSSTFileNo);
+    currentSSTFileWriter = new SstFileWriter(envOptions, options);
+    try {
+      currentSSTFileWriter.open(fullPathForCurrentSSTFile);
+    } catch (RocksDBException e) {
+      throw new VeniceException("Failed to open file: " + fullPathForCurrentSSTFile + " with SstFileWriter");
+    }
+    LOGGER.info(
+        "Imported sst file: {} for store: {}, partition id: {} with {} records",
+        fullPathForImportedSSTFile,
+        storeName,
+        partitionId,
+        expectedRecordCount);
+  }
+
   private void removeSSTFilesAfterCheckpointing(int lastFinishedSSTFileNo) {
     File tempSSTFileDir = new File(fullPathForTempSSTFileDir);
     String[] sstFiles = tempSSTFileDir.list((File dir, String name) -> RocksDBUtils.isTempSSTFile(name));
@@ -359,6 +455,10 @@ public class RocksDBSstFileWriter {
     return fullPathForTempSSTFileDir + File.separator + RocksDBUtils.composeTempSSTFileName(sstFileNo);
   }
 
+  private String composeFullPathForPreparedSSTFile() {
+    return fullPathForTempSSTFileDir + File.separator + PREPARED_SST_FILE_NAME;
+  }
+
   /**
    * This function calculates checksum of all the key/value pair stored in the input sstFilePath. It then
    * verifies if the checksum matches with the input checksumToMatch and return the result.
@@ -8,6 +8,7 @@ import static org.rocksdb.RateLimiter.DEFAULT_REFILL_PERIOD_MICROS;
 
 import com.linkedin.davinci.config.VeniceServerConfig;
 import com.linkedin.davinci.config.VeniceStoreVersionConfig;
+import com.linkedin.davinci.stats.RocksDBGroupCommitStats;
 import com.linkedin.davinci.stats.RocksDBMemoryStats;
 import com.linkedin.davinci.store.StorageEngine;
 import com.linkedin.davinci.store.StorageEngineFactory;
@@ -91,6 +92,12 @@ public class RocksDBStorageEngineFactory extends StorageEngineFactory {
 
   private final RocksDBMemoryStats rocksDBMemoryStats;
 
+  /**
+   * Shared by all the partitions using the group commit write path, null when it is disabled or no metrics repository
+   * is available.
+   */
+  private final RocksDBGroupCommitStats rocksDBGroupCommitStats;
+
   /**
    * Throttler for RocksDB open operations.
    */
@@ -127,6 +134,9 @@ public class RocksDBStorageEngineFactory extends StorageEngineFactory {
     this.rocksDBServerConfig = serverConfig.getRocksDBServerConfig();
     this.rocksDBPath = serverConfig.getRocksDBPath();
     this.rocksDBMemoryStats = rocksDBMemoryStats;
+    this.rocksDBGroupCommitStats = rocksDBServerConfig.isGroupCommitEnabled() && rocksDBMemoryStats != null
+        ? new RocksDBGroupCommitStats(rocksDBMemoryStats.getMetricsRepository())
+        : null;
     this.storeVersionStateSerializer = storeVersionStateSerializer;
     this.partitionStateSerializer = partitionStateSerializer;
 
@@ -247,6 +257,10 @@ public class RocksDBStorageEngineFactory extends StorageEngineFactory {
     return sstFileManagerForMemoryLimiter;
   }
 
+  public RocksDBGroupCommitStats getRocksDBGroupCommitStats() {
+    return rocksDBGroupCommitStats;
+  }
+
   /**
    * Whether memory limiter applies or not.
    */
@@ -14,6 +14,7 @@ import com.linkedin.venice.exceptions.MemoryLimitExhaustedException;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.meta.Version;
 import com.linkedin.venice.store.rocksdb.RocksDBUtils;
+import com.linkedin.venice.utils.ByteUtils;
 import com.linkedin.venice.utils.LatencyUtils;
 import com.linkedin.venice.utils.Utils;
 import java.io.File;
@@ -56,6 +57,7 @@ import org.rocksdb.SstFileManager;
 import org.rocksdb.SstFileWriter;
 import org.rocksdb.Statistics;
 import org.rocksdb.Status;
+import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 
 
@@ -105,9 +107,29 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
    * Since all the modification functions are synchronized, we don't need any other synchronization for the update path
    * to guard RocksDB closing behavior.
    * The following {@link #readCloseRWLock} is only used to guard {@link #get} since we don't want to synchronize get requests.
+   * The only exception is the group commit write path, see {@link #groupCommitWriter}, which isn't synchronized and
+   * relies on {@link #readCloseRWLock} instead.
    */
   protected final ReentrantReadWriteLock readCloseRWLock = new ReentrantReadWriteLock();
 
+  /**
+   * Only set up when {@link RocksDBServerConfig#ROCKSDB_GROUP_COMMIT_ENABLED} is enabled and the partition is ingesting
+   * in non-deferred-write mode. In this case, concurrent {@link #put} calls are combined into shared
+   * {@link org.rocksdb.WriteBatch}es instead of being serialized by the monitor of this partition. Deletes keep going
+   * through the synchronized path, which writes them with the default write options of RocksDB.
+   */
+  private final RocksDBGroupCommitWriter groupCommitWriter;
+
+  /**
+   * The batch the writes get appended to between {@link #beginWriteBatch()} and {@link #commitWriteBatch()}, and null
+   * otherwise. It is only modified while holding the monitor of this partition.
+   */
+  private volatile WriteBatch openWriteBatch;
+  /**
+   * Reused across the write batches of this partition, and allocated by the first one.
+   */
+  private WriteBatch reusableWriteBatch;
+
   /**
    * The passed in {@link Options} instance.
    * For now, the RocksDB version being used right now doesn't support shared block cache unless
@@ -198,6 +220,29 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
       this.deferredWrite = storagePartitionConfig.isDeferredWrite();
     }
     this.readOnly = storagePartitionConfig.isReadOnly();
+    if (rocksDBServerConfig.isGroupCommitEnabled() && !this.deferredWrite && !this.readOnly
+        && this.partitionId != METADATA_PARTITION_ID) {
+      this.groupCommitWriter = new RocksDBGroupCommitWriter(new RocksDBGroupCommitWriter.BatchCommitter() {
+        @Override
+        public void commit(WriteBatch writeBatch) throws RocksDBException {
+          rocksDB.write(writeOptions, writeBatch);
+        }
+
+        @Override
+        public void put(byte[] key, ByteBuffer valueBuffer) throws RocksDBException {
+          rocksDB.put(
+              writeOptions,
+              key,
+              0,
+              key.length,
+              valueBuffer.array(),
+              valueBuffer.position(),
+              valueBuffer.remaining());
+        }
+      }, rocksDBServerConfig.getGroupCommitMaxBatchSize(), factory.getRocksDBGroupCommitStats());
+    } else {
+      this.groupCommitWriter = null;
+    }
     this.writeOnly = storagePartitionConfig.isWriteOnlyConfig();
     this.readWriteLeaderForDefaultCF = storagePartitionConfig.isReadWriteLeaderForDefaultCF();
     this.readWriteLeaderForRMDCF = storagePartitionConfig.isReadWriteLeaderForRMDCF();
@@ -505,6 +550,78 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     rocksDBSstFileWriter.ingestSSTFiles(rocksDB, columnFamilyHandleList);
   }
 
+  /**
+   * Only the partitions in non-deferred-write mode buffer their writes, since the deferred-write ones already append
+   * them to an SST file.
+   */
+  @Override
+  public synchronized void beginWriteBatch() {
+    makeSureRocksDBIsStillOpen();
+    if (deferredWrite || readOnly || openWriteBatch != null) {
+      return;
+    }
+    if (reusableWriteBatch == null) {
+      reusableWriteBatch = new WriteBatch();
+    }
+    openWriteBatch = reusableWriteBatch;
+  }
+
+  @Override
+  public synchronized void commitWriteBatch() {
+    WriteBatch writeBatch = openWriteBatch;
+    if (writeBatch == null) {
+      return;
+    }
+    openWriteBatch = null;
+    try {
+      makeSureRocksDBIsStillOpen();
+      if (writeBatch.count() > 0) {
+        rocksDB.write(writeOptions, writeBatch);
+      }
+    } catch (RocksDBException e) {
+      checkAndThrowSpecificException(e);
+      throw new VeniceException("Failed to commit the write batch to RocksDB: " + replicaId, e);
+    } finally {
+      writeBatch.clear();
+    }
+  }
+
+  /**
+   * @return the batch the writes should be appended to instead of being applied, or null, see
+   *         {@link #beginWriteBatch()}. Only to be called while holding the monitor of this partition.
+   */
+  protected WriteBatch getOpenWriteBatch() {
+    return openWriteBatch;
+  }
+
+  /**
+   * Not synchronized, since the copy may take a while and doesn't touch the writes in progress, see
+   * {@link RocksDBSstFileWriter#prepareSSTFileImport}. The batch write may not have begun yet, nor this partition be
+   * reopened in deferred write mode, so it goes through a writer of its own, which only shares the temp SST file dir.
+   */
+  @Override
+  public void prepareSSTFileImport(String sourcePath, long expectedRecordCount, byte[] expectedChecksum) {
+    new RocksDBSstFileWriter(
+        storeNameAndVersion,
+        partitionId,
+        fullPathForPartitionDB,
+        envOptions,
+        options,
+        fullPathForTempSSTFileDir,
+        false,
+        rocksDBServerConfig).prepareSSTFileImport(sourcePath, expectedRecordCount, expectedChecksum);
+  }
+
+  @Override
+  public synchronized void importSSTFile(long expectedRecordCount) {
+    makeSureRocksDBIsStillOpen();
+    if (!deferredWrite) {
+      throw new VeniceException(
+          "SST file can't be imported into replica: " + replicaId + " since 'deferredWrite' is disabled");
+    }
+    rocksDBSstFileWriter.importSSTFile(expectedRecordCount);
+  }
+
   @Override
   public synchronized void createSnapshot() {
     createSnapshot(rocksDB, fullPathForPartitionDBSnapshot);
@@ -536,20 +653,46 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
   }
 
   @Override
-  public synchronized void put(byte[] key, byte[] value) {
+  public void put(byte[] key, byte[] value) {
     put(key, ByteBuffer.wrap(value));
   }
 
   @Override
-  public synchronized void put(byte[] key, ByteBuffer valueBuffer) {
+  public void put(byte[] key, ByteBuffer valueBuffer) {
+    /**
+     * The write batch is read without the monitor only to pick a path, and {@link #putInternal} reads it again under
+     * the monitor before using it. A batch is only opened and committed by the drainer thread which issues its writes,
+     * so that thread always sees its own batch here. Another thread may see a stale null and take the group commit
+     * path, but its write has no ordering relative to the writes of the batch anyway.
+     */
+    if (groupCommitWriter == null || openWriteBatch != null) {
+      putInternal(key, valueBuffer);
+      return;
+    }
+    readCloseRWLock.readLock().lock();
+    try {
+      makeSureRocksDBIsStillOpen();
+      groupCommitWriter.put(key, valueBuffer);
+    } catch (RocksDBException e) {
+      checkAndThrowSpecificException(e);
+      throw new VeniceException("Failed to store the key/value pair in the RocksDB: " + replicaId, e);
+    } finally {
+      readCloseRWLock.readLock().unlock();
+    }
+  }
+
+  private synchronized void putInternal(byte[] key, ByteBuffer valueBuffer) {
     makeSureRocksDBIsStillOpen();
     if (readOnly) {
       throw new VeniceException(
           "Cannot make writes while database is opened in read-only mode for replica: " + replicaId);
     }
+    WriteBatch writeBatch = openWriteBatch;
     try {
       if (deferredWrite) {
         rocksDBSstFileWriter.put(key, valueBuffer);
+      } else if (writeBatch != null) {
+        writeBatch.put(key, ByteUtils.extractByteArray(valueBuffer));
       } else {
         rocksDB.put(
             writeOptions,
@@ -628,6 +771,7 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     }
   }
 
+  @Override
   public List<byte[]> multiGet(List<byte[]> keys) {
     readCloseRWLock.readLock().lock();
     try {
@@ -775,9 +919,12 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
       throw new VeniceException(
           "Cannot make deletion while database is opened in read-only mode for replica: " + replicaId);
     }
+    WriteBatch writeBatch = openWriteBatch;
     try {
       if (deferredWrite) {
         throw new VeniceException("Deletion is unexpected in 'deferredWrite' mode");
+      } else if (writeBatch != null) {
+        writeBatch.delete(key);
       } else {
         rocksDB.delete(key);
       }
@@ -788,7 +935,25 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
   }
 
   @Override
-  public synchronized Map<String, String> sync() {
+  public Map<String, String> sync() {
+    if (groupCommitWriter == null) {
+      synchronized (this) {
+        return syncInternal();
+      }
+    }
+    /**
+     * The group commit write path doesn't hold the monitor of this partition, so there is nothing to gain from
+     * serializing the flush against it, and only the concurrent closing needs to be guarded against.
+     */
+    readCloseRWLock.readLock().lock();
+    try {
+      return syncInternal();
+    } finally {
+      readCloseRWLock.readLock().unlock();
+    }
+  }
+
+  private Map<String, String> syncInternal() {
     makeSureRocksDBIsStillOpen();
     if (!deferredWrite) {
       LOGGER.debug("Flush memtable to disk for RocksDB: {}", replicaId);
@@ -909,6 +1074,14 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     if (deferredWrite) {
       rocksDBSstFileWriter.close();
     }
+    if (groupCommitWriter != null) {
+      groupCommitWriter.close();
+    }
+    openWriteBatch = null;
+    if (reusableWriteBatch != null) {
+      reusableWriteBatch.close();
+      reusableWriteBatch = null;
+    }
     if (keyStatistics != null) {
       keyStatistics.close();
     }
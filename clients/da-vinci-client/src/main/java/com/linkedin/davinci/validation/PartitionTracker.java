@@ -39,7 +39,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -49,8 +48,9 @@ import org.apache.logging.log4j.Logger;
  * It keeps track of the last segment, last sequence number and incrementally computed
  * checksum for each producer (identified by a producer GUID).
  * <p>
- * This class is thread safe. Locking is at the granularity of producers. Multiple
- * threads can process records from the same partition concurrently.
+ * This class is thread safe. The state of the producers is kept in {@link ProducerSegmentMap}, whose locking is at
+ * the granularity of stripes of producers, and whose lookups are lock-free. Multiple threads can process records from
+ * the same partition concurrently.
  * <p>
  * This class also encapsulates the capability to clear expired state, in the functions
  * which take in the maxAgeInMs parameter:
@@ -77,7 +77,7 @@ public class PartitionTracker {
   /**
    * There should only be one {@link ConsumptionTask} for VT, so there shouldn't need to be any locking.
    */
-  private final VeniceConcurrentHashMap<GUID, Segment> vtSegments = new VeniceConcurrentHashMap<>();
+  private final ProducerSegmentMap vtSegments = new ProducerSegmentMap();
   /**
    * The equivalent for RT is not stored. It's the instantaneous offset when a DIV sync is triggered.
    */
@@ -91,8 +91,7 @@ public class PartitionTracker {
    *       change over time but the ID should remain fixed. It is also more compact (and the outer collection could even
    *       become just an array).
    */
-  private final VeniceConcurrentHashMap<String, VeniceConcurrentHashMap<GUID, Segment>> rtSegments =
-      new VeniceConcurrentHashMap<>();
+  private final VeniceConcurrentHashMap<String, ProducerSegmentMap> rtSegments = new VeniceConcurrentHashMap<>();
 
   public PartitionTracker(String topicName, int partition) {
     this.topicName = topicName;
@@ -121,11 +120,11 @@ public class PartitionTracker {
     return Collections.unmodifiableSet(getSegments(type).keySet());
   }
 
-  private VeniceConcurrentHashMap<GUID, Segment> getSegments(TopicType type) {
+  private ProducerSegmentMap getSegments(TopicType type) {
     if (TopicType.isVersionTopic(type)) {
       return vtSegments;
     }
-    return rtSegments.computeIfAbsent(type.getKafkaUrl(), k -> new VeniceConcurrentHashMap<>());
+    return rtSegments.computeIfAbsent(type.getKafkaUrl(), k -> new ProducerSegmentMap());
   }
 
   /**
@@ -170,12 +169,11 @@ public class PartitionTracker {
   }
 
   public Map<CharSequence, ProducerPartitionState> getPartitionStates(TopicType type) {
-    return getSegments(type).entrySet()
-        .stream()
-        .collect(
-            Collectors.toMap(
-                entry -> GuidUtils.getCharSequenceFromGuid(entry.getKey()),
-                entry -> entry.getValue().toProducerPartitionState()));
+    Map<CharSequence, ProducerPartitionState> partitionStates = new HashMap<>();
+    getSegments(type).forEach(
+        (guid, segment) -> partitionStates
+            .put(GuidUtils.getCharSequenceFromGuid(guid), segment.toProducerPartitionState()));
+    return partitionStates;
   }
 
   private void setSegment(TopicType type, GUID guid, Segment segment) {
@@ -195,9 +193,8 @@ public class PartitionTracker {
    * Clone the vtSegments and LCVO to the destination PartitionTracker. May be called concurrently.
    */
   public void cloneVtProducerStates(PartitionTracker destProducerTracker) {
-    for (Map.Entry<GUID, Segment> entry: vtSegments.entrySet()) {
-      destProducerTracker.setSegment(PartitionTracker.VERSION_TOPIC, entry.getKey(), new Segment(entry.getValue()));
-    }
+    vtSegments.forEach(
+        (guid, segment) -> destProducerTracker.setSegment(PartitionTracker.VERSION_TOPIC, guid, new Segment(segment)));
     destProducerTracker.updateLatestConsumedVtOffset(latestConsumedVtOffset.get());
   }
 
@@ -205,16 +202,12 @@ public class PartitionTracker {
    * Clone the rtSegments to the destination PartitionTracker. Filter by brokerUrl. May be called concurrently.
    */
   public void cloneRtProducerStates(PartitionTracker destProducerTracker, String brokerUrl) {
-    for (Map.Entry<String, VeniceConcurrentHashMap<GUID, Segment>> entry: rtSegments.entrySet()) {
+    for (Map.Entry<String, ProducerSegmentMap> entry: rtSegments.entrySet()) {
       if (!brokerUrl.isEmpty() && !brokerUrl.equals(entry.getKey())) {
         continue; // filter by brokerUrl if specified
       }
-      for (Map.Entry<GUID, Segment> rtEntry: entry.getValue().entrySet()) {
-        destProducerTracker.setSegment(
-            TopicType.of(TopicType.REALTIME_TOPIC_TYPE, entry.getKey()),
-            rtEntry.getKey(),
-            new Segment(rtEntry.getValue()));
-      }
+      TopicType type = TopicType.of(TopicType.REALTIME_TOPIC_TYPE, entry.getKey());
+      entry.getValue().forEach((guid, segment) -> destProducerTracker.setSegment(type, guid, new Segment(segment)));
     }
   }
 
@@ -278,9 +271,7 @@ public class PartitionTracker {
   }
 
   public void updateOffsetRecord(TopicType type, OffsetRecord offsetRecord) {
-    for (Map.Entry<GUID, Segment> entry: getSegments(type).entrySet()) {
-      updateOffsetRecord(type, entry.getKey(), entry.getValue(), offsetRecord);
-    }
+    getSegments(type).forEach((guid, segment) -> updateOffsetRecord(type, guid, segment, offsetRecord));
   }
 
   /**
@@ -736,21 +727,14 @@ public class PartitionTracker {
 
   void clearExpiredStateAndUpdateOffsetRecord(TopicType type, OffsetRecord offsetRecord, long maxAgeInMs) {
     long minimumRequiredRecordProducerTimestamp = offsetRecord.getMaxMessageTimeInMs() - maxAgeInMs;
-    int numberOfClearedGUIDs = 0;
-    Iterator<Map.Entry<GUID, Segment>> iterator = getSegments(type).entrySet().iterator();
-    Map.Entry<GUID, Segment> entry;
-    Segment segment;
-    while (iterator.hasNext()) {
-      entry = iterator.next();
-      segment = entry.getValue();
+    int numberOfClearedGUIDs = getSegments(type).removeIf((guid, segment) -> {
       if (segment.getLastRecordProducerTimestamp() < minimumRequiredRecordProducerTimestamp) {
-        iterator.remove();
-        removeProducerState(type, entry.getKey(), offsetRecord);
-        numberOfClearedGUIDs++;
-      } else {
-        updateOffsetRecord(type, entry.getKey(), segment, offsetRecord);
+        removeProducerState(type, guid, offsetRecord);
+        return true;
       }
-    }
+      updateOffsetRecord(type, guid, segment, offsetRecord);
+      return false;
+    });
     if (numberOfClearedGUIDs > 0) {
       logger.info("Cleared {} expired producer GUID(s).", numberOfClearedGUIDs);
     }
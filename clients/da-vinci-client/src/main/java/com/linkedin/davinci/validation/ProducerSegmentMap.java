@@ -0,0 +1,308 @@
+package com.linkedin.davinci.validation;
+
+import com.linkedin.venice.annotation.Threadsafe;
+import com.linkedin.venice.kafka.protocol.GUID;
+import com.linkedin.venice.kafka.validation.Segment;
+import com.linkedin.venice.utils.ByteUtils;
+import it.unimi.dsi.fastutil.HashCommon;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+
+
+/**
+ * A map of producer {@link GUID} to the {@link Segment} it is writing, which {@link PartitionTracker} looks up for
+ * every consumed record.
+ * <p>
+ * Each GUID is packed into two longs, so that looking a segment up neither hashes nor compares the GUID objects, nor
+ * keeps a reference to the GUID of the consumed record. The entries are spread across lock stripes, each of them an
+ * open addressing table with linear probing. Lookups are lock-free as long as the stripe is not concurrently written
+ * to, thanks to the optimistic reads of {@link StampedLock}, which is the common case since a single consumption task
+ * writes to a given map. Writes only lock their own stripe.
+ * <p>
+ * The GUID objects are only materialized again when iterating over the entries, which happens when the state of the
+ * producers gets checkpointed, cloned or expired.
+ */
+@Threadsafe
+final class ProducerSegmentMap {
+  private static final int STRIPE_COUNT = 16; // Must be a power of 2
+  private static final int STRIPE_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(STRIPE_COUNT);
+  private static final int INITIAL_STRIPE_CAPACITY = 4; // Must be a power of 2
+  private static final float MAX_LOAD_FACTOR = 0.5f;
+
+  private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+
+  ProducerSegmentMap() {
+    for (int i = 0; i < STRIPE_COUNT; i++) {
+      stripes[i] = new Stripe();
+    }
+  }
+
+  /**
+   * @return the segment of the producer, or null if it's absent
+   */
+  Segment get(GUID guid) {
+    byte[] bytes = guid.bytes();
+    long mostSignificantBits = ByteUtils.readLong(bytes, 0);
+    long leastSignificantBits = ByteUtils.readLong(bytes, Long.BYTES);
+    long hash = hash(mostSignificantBits, leastSignificantBits);
+    Stripe stripe = stripes[(int) (hash >>> STRIPE_SHIFT)];
+    long stamp = stripe.lock.tryOptimisticRead();
+    Segment segment = stripe.table.get(mostSignificantBits, leastSignificantBits, hash);
+    if (!stripe.lock.validate(stamp)) {
+      stamp = stripe.lock.readLock();
+      try {
+        segment = stripe.table.get(mostSignificantBits, leastSignificantBits, hash);
+      } finally {
+        stripe.lock.unlockRead(stamp);
+      }
+    }
+    return segment;
+  }
+
+  /**
+   * @return the previous segment of the producer, or null if it was absent
+   */
+  Segment put(GUID guid, Segment segment) {
+    byte[] bytes = guid.bytes();
+    long mostSignificantBits = ByteUtils.readLong(bytes, 0);
+    long leastSignificantBits = ByteUtils.readLong(bytes, Long.BYTES);
+    long hash = hash(mostSignificantBits, leastSignificantBits);
+    Stripe stripe = stripes[(int) (hash >>> STRIPE_SHIFT)];
+    long stamp = stripe.lock.writeLock();
+    try {
+      Segment previousSegment = stripe.table.put(mostSignificantBits, leastSignificantBits, hash, segment);
+      if (previousSegment == null && stripe.table.size > stripe.table.segments.length * MAX_LOAD_FACTOR) {
+        stripe.table = stripe.table.resize(stripe.table.segments.length * 2);
+      }
+      return previousSegment;
+    } finally {
+      stripe.lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * @return the removed segment of the producer, or null if it was absent
+   */
+  Segment remove(GUID guid) {
+    byte[] bytes = guid.bytes();
+    long mostSignificantBits = ByteUtils.readLong(bytes, 0);
+    long leastSignificantBits = ByteUtils.readLong(bytes, Long.BYTES);
+    long hash = hash(mostSignificantBits, leastSignificantBits);
+    Stripe stripe = stripes[(int) (hash >>> STRIPE_SHIFT)];
+    long stamp = stripe.lock.writeLock();
+    try {
+      return stripe.table.remove(mostSignificantBits, leastSignificantBits, hash);
+    } finally {
+      stripe.lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Calls the consumer with each producer and its segment. The consumer must not write to this map.
+   */
+  void forEach(BiConsumer<GUID, Segment> consumer) {
+    for (Stripe stripe: stripes) {
+      long stamp = stripe.lock.readLock();
+      try {
+        Table table = stripe.table;
+        for (int slot = 0; slot < table.segments.length; slot++) {
+          if (table.segments[slot] != null) {
+            consumer.accept(table.getGuid(slot), table.segments[slot]);
+          }
+        }
+      } finally {
+        stripe.lock.unlockRead(stamp);
+      }
+    }
+  }
+
+  /**
+   * Removes the producers for which the predicate returns true, in a single pass over each stripe which only rebuilds
+   * its table if some of its producers were removed. The predicate must not write to this map.
+   *
+   * @return the number of removed producers
+   */
+  int removeIf(BiPredicate<GUID, Segment> predicate) {
+    int removedCount = 0;
+    for (Stripe stripe: stripes) {
+      long stamp = stripe.lock.writeLock();
+      try {
+        Table table = stripe.table;
+        boolean[] removedSlots = null;
+        for (int slot = 0; slot < table.segments.length; slot++) {
+          if (table.segments[slot] != null && predicate.test(table.getGuid(slot), table.segments[slot])) {
+            if (removedSlots == null) {
+              removedSlots = new boolean[table.segments.length];
+            }
+            removedSlots[slot] = true;
+            removedCount++;
+          }
+        }
+        if (removedSlots != null) {
+          Table newTable = new Table(table.segments.length);
+          for (int slot = 0; slot < table.segments.length; slot++) {
+            if (table.segments[slot] != null && !removedSlots[slot]) {
+              newTable.put(table.keys[2 * slot], table.keys[2 * slot + 1], table.hash(slot), table.segments[slot]);
+            }
+          }
+          stripe.table = newTable;
+        }
+      } finally {
+        stripe.lock.unlockWrite(stamp);
+      }
+    }
+    return removedCount;
+  }
+
+  /**
+   * @return a snapshot of the producers which currently have a segment
+   */
+  Set<GUID> keySet() {
+    Set<GUID> guids = new HashSet<>();
+    forEach((guid, segment) -> guids.add(guid));
+    return guids;
+  }
+
+  int size() {
+    int size = 0;
+    for (Stripe stripe: stripes) {
+      long stamp = stripe.lock.readLock();
+      try {
+        size += stripe.table.size;
+      } finally {
+        stripe.lock.unlockRead(stamp);
+      }
+    }
+    return size;
+  }
+
+  private static long hash(long mostSignificantBits, long leastSignificantBits) {
+    return HashCommon.mix(mostSignificantBits ^ HashCommon.mix(leastSignificantBits));
+  }
+
+  private static final class Stripe {
+    final StampedLock lock = new StampedLock();
+    /**
+     * Replaced as a whole when resized, so that the optimistic readers always see arrays of consistent lengths.
+     */
+    Table table = new Table(INITIAL_STRIPE_CAPACITY);
+  }
+
+  private static final class Table {
+    /** The two longs of the GUID in each slot, next to each other. */
+    final long[] keys;
+    /** Null for the empty slots. */
+    final Segment[] segments;
+    final int mask;
+    int size;
+
+    Table(int capacity) {
+      this.keys = new long[2 * capacity];
+      this.segments = new Segment[capacity];
+      this.mask = capacity - 1;
+    }
+
+    /**
+     * N.B. May be called without holding the lock, in which case the result is discarded if the lock does not validate.
+     * The probing is bounded by the capacity, so that it terminates even if the table is being concurrently written.
+     */
+    Segment get(long mostSignificantBits, long leastSignificantBits, long hash) {
+      int slot = (int) hash & mask;
+      for (int probes = 0; probes < segments.length; probes++) {
+        Segment segment = segments[slot];
+        if (segment == null) {
+          return null;
+        }
+        if (keys[2 * slot] == mostSignificantBits && keys[2 * slot + 1] == leastSignificantBits) {
+          return segment;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return null;
+    }
+
+    Segment put(long mostSignificantBits, long leastSignificantBits, long hash, Segment segment) {
+      int slot = (int) hash & mask;
+      while (segments[slot] != null) {
+        if (keys[2 * slot] == mostSignificantBits && keys[2 * slot + 1] == leastSignificantBits) {
+          Segment previousSegment = segments[slot];
+          segments[slot] = segment;
+          return previousSegment;
+        }
+        slot = (slot + 1) & mask;
+      }
+      keys[2 * slot] = mostSignificantBits;
+      keys[2 * slot + 1] = leastSignificantBits;
+      segments[slot] = segment;
+      size++;
+      return null;
+    }
+
+    /**
+     * Removes the entry with backward shift deletion, which moves the following entries of the probe sequence back
+     * into the freed slot rather than leaving a tombstone behind.
+     */
+    Segment remove(long mostSignificantBits, long leastSignificantBits, long hash) {
+      int slot = (int) hash & mask;
+      while (segments[slot] != null) {
+        if (keys[2 * slot] == mostSignificantBits && keys[2 * slot + 1] == leastSignificantBits) {
+          Segment removedSegment = segments[slot];
+          shiftBack(slot);
+          size--;
+          return removedSegment;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return null;
+    }
+
+    private void shiftBack(int freeSlot) {
+      int slot = freeSlot;
+      while (true) {
+        slot = (slot + 1) & mask;
+        if (segments[slot] == null) {
+          break;
+        }
+        int homeSlot = (int) hash(slot) & mask;
+        // The entry stays where it is if its home slot lies cyclically within (freeSlot, slot]
+        boolean stays = freeSlot <= slot
+            ? (freeSlot < homeSlot && homeSlot <= slot)
+            : (freeSlot < homeSlot || homeSlot <= slot);
+        if (stays) {
+          continue;
+        }
+        keys[2 * freeSlot] = keys[2 * slot];
+        keys[2 * freeSlot + 1] = keys[2 * slot + 1];
+        segments[freeSlot] = segments[slot];
+        freeSlot = slot;
+      }
+      segments[freeSlot] = null;
+    }
+
+    Table resize(int capacity) {
+      Table newTable = new Table(capacity);
+      for (int slot = 0; slot < segments.length; slot++) {
+        if (segments[slot] != null) {
+          newTable.put(keys[2 * slot], keys[2 * slot + 1], hash(slot), segments[slot]);
+        }
+      }
+      return newTable;
+    }
+
+    long hash(int slot) {
+      return ProducerSegmentMap.hash(keys[2 * slot], keys[2 * slot + 1]);
+    }
+
+    GUID getGuid(int slot) {
+      byte[] bytes = new byte[2 * Long.BYTES];
+      ByteUtils.writeLong(bytes, keys[2 * slot], 0);
+      ByteUtils.writeLong(bytes, keys[2 * slot + 1], Long.BYTES);
+      GUID guid = new GUID();
+      guid.bytes(bytes);
+      return guid;
+    }
+  }
+}
@@ -118,6 +118,55 @@ public class BlobSnapshotManagerTest {
         blobTransferPartitionMetadata);
   }
 
+  @Test(timeOut = TIMEOUT)
+  public void testFileRequestDoesNotRecreateSnapshot() {
+    AbstractStoragePartition storagePartition = Mockito.mock(AbstractStoragePartition.class);
+    StorageEngine storageEngine = Mockito.mock(StorageEngine.class);
+    Mockito.doReturn(storageEngine).when(storageEngineRepository).getLocalStorageEngine(TOPIC_NAME);
+    Mockito.doReturn(true).when(storageEngine).containsPartition(PARTITION_ID);
+    Mockito.doReturn(storagePartition).when(storageEngine).getPartitionOrThrow(PARTITION_ID);
+    Mockito.doNothing().when(storagePartition).createSnapshot();
+
+    // The snapshots are stale as soon as they are created
+    BlobSnapshotManager blobSnapshotManager = spy(
+        new BlobSnapshotManager(
+            storageEngineRepository,
+            storageMetadataService,
+            0,
+            BlobTransferTableFormat.BLOCK_BASED_TABLE,
+            BlobSnapshotManager.DEFAULT_SNAPSHOT_CLEANUP_INTERVAL_IN_MINS));
+    doReturn(blobTransferPartitionMetadata).when(blobSnapshotManager).prepareMetadata(blobTransferPayload);
+    BlobTransferPayload fileRequestPayload = new BlobTransferPayload(
+        BASE_PATH,
+        STORE_NAME,
+        VERSION_ID,
+        PARTITION_ID,
+        BlobTransferTableFormat.BLOCK_BASED_TABLE,
+        BlobTransferUtils.BlobTransferRequestType.FILE,
+        "file1",
+        1L);
+
+    // There is no snapshot to fetch the file from before a manifest is requested
+    AtomicBoolean successCountedAsActiveCurrentUser = new AtomicBoolean(false);
+    Assert.assertThrows(
+        VeniceException.class,
+        () -> blobSnapshotManager.getTransferMetadata(fileRequestPayload, successCountedAsActiveCurrentUser));
+    Assert.assertFalse(successCountedAsActiveCurrentUser.get());
+    Assert.assertEquals(blobSnapshotManager.getSnapshotId(TOPIC_NAME, PARTITION_ID), -1);
+
+    blobSnapshotManager.getTransferMetadata(blobTransferPayload, new AtomicBoolean(false));
+    long snapshotId = blobSnapshotManager.getSnapshotId(TOPIC_NAME, PARTITION_ID);
+    verify(storagePartition, times(1)).createSnapshot();
+
+    // The stale snapshot is kept for the file requests following its manifest
+    Utils.sleep(10);
+    Assert.assertEquals(
+        blobSnapshotManager.getTransferMetadata(fileRequestPayload, new AtomicBoolean(false)),
+        blobTransferPartitionMetadata);
+    verify(storagePartition, times(1)).createSnapshot();
+    Assert.assertEquals(blobSnapshotManager.getSnapshotId(TOPIC_NAME, PARTITION_ID), snapshotId);
+  }
+
   @Test(timeOut = TIMEOUT)
   public void testMultipleThreads() throws InterruptedException {
     final int numberOfThreads = 2;
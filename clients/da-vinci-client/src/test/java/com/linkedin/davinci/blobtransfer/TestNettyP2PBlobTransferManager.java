@@ -9,6 +9,7 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 
 import com.linkedin.davinci.blobtransfer.client.NettyFileTransferClient;
+import com.linkedin.davinci.blobtransfer.client.ParallelFileTransferFetcher;
 import com.linkedin.davinci.blobtransfer.server.P2PBlobTransferService;
 import com.linkedin.davinci.config.VeniceConfigLoader;
 import com.linkedin.davinci.stats.AggVersionedBlobTransferStats;
@@ -19,6 +20,7 @@ import com.linkedin.venice.ConfigKeys;
 import com.linkedin.venice.blobtransfer.BlobFinder;
 import com.linkedin.venice.blobtransfer.BlobPeersDiscoveryResponse;
 import com.linkedin.venice.exceptions.VeniceBlobTransferFileNotFoundException;
+import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.exceptions.VenicePeersConnectionException;
 import com.linkedin.venice.exceptions.VenicePeersNotFoundException;
 import com.linkedin.venice.kafka.protocol.state.PartitionState;
@@ -45,6 +47,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -121,7 +124,8 @@ public class TestNettyP2PBlobTransferManager {
         globalChannelTrafficShapingHandler,
         sslFactory,
         aclHandler,
-        20);
+        20,
+        blobTransferStats);
     client = Mockito.spy(
         new NettyFileTransferClient(
             port,
@@ -392,6 +396,108 @@ public class TestNettyP2PBlobTransferManager {
     verifyFileTransferSuccess(expectOffsetRecord);
   }
 
+  @Test
+  public void testLocalFileTransferOverMultipleConnections()
+      throws IOException, ExecutionException, InterruptedException, TimeoutException {
+    // Preparation:
+    BlobPeersDiscoveryResponse response = new BlobPeersDiscoveryResponse();
+    response.setDiscoveryResult(Arrays.asList("localhost", "badhost1"));
+    doReturn(response).when(finder).discoverBlobPeers(anyString(), anyInt(), anyInt());
+    OffsetRecord expectOffsetRecord = prepareMetadataForTransfer();
+    snapshotPreparation();
+    Mockito.doNothing().when(blobSnapshotManager).createSnapshot(anyString(), anyInt());
+
+    ParallelFileTransferFetcher fetcher = new ParallelFileTransferFetcher(client, tmpPartitionDir.toString(), 3, 2);
+    NettyP2PBlobTransferManager parallelManager = new NettyP2PBlobTransferManager(
+        server,
+        client,
+        finder,
+        tmpPartitionDir.toString(),
+        blobTransferStats,
+        fetcher);
+
+    // Execution:
+    CompletionStage<InputStream> future =
+        parallelManager.get(TEST_STORE, TEST_VERSION, TEST_PARTITION, BlobTransferTableFormat.BLOCK_BASED_TABLE);
+    future.toCompletableFuture().get(1, TimeUnit.MINUTES);
+
+    // Verification:
+    // Each file is fetched with its own request, instead of fetching the whole partition over a single connection
+    Mockito.verify(client, Mockito.times(1))
+        .getManifest("localhost", TEST_STORE, TEST_VERSION, TEST_PARTITION, BlobTransferTableFormat.BLOCK_BASED_TABLE);
+    Mockito.verify(client, Mockito.times(3))
+        .getFile(
+            Mockito.eq("localhost"),
+            Mockito.eq(TEST_STORE),
+            Mockito.eq(TEST_VERSION),
+            Mockito.eq(TEST_PARTITION),
+            Mockito.eq(BlobTransferTableFormat.BLOCK_BASED_TABLE),
+            Mockito.any(),
+            Mockito.anyLong());
+    Mockito.verify(client, Mockito.never()).get(anyString(), anyString(), anyInt(), anyInt(), Mockito.any());
+    verifyFileTransferSuccess(expectOffsetRecord);
+    fetcher.close();
+  }
+
+  /**
+   * A failed file should be fetched again, without fetching the files which are already received.
+   */
+  @Test
+  public void testRetryFailedFileOverMultipleConnections()
+      throws IOException, ExecutionException, InterruptedException, TimeoutException {
+    // Preparation:
+    BlobPeersDiscoveryResponse response = new BlobPeersDiscoveryResponse();
+    response.setDiscoveryResult(Collections.singletonList("localhost"));
+    doReturn(response).when(finder).discoverBlobPeers(anyString(), anyInt(), anyInt());
+    OffsetRecord expectOffsetRecord = prepareMetadataForTransfer();
+    snapshotPreparation();
+    Mockito.doNothing().when(blobSnapshotManager).createSnapshot(anyString(), anyInt());
+
+    CompletableFuture<InputStream> failedFuture = new CompletableFuture<>();
+    failedFuture.completeExceptionally(new VeniceException("Connection reset"));
+    Mockito.doReturn(failedFuture)
+        .doCallRealMethod()
+        .when(client)
+        .getFile(
+            anyString(),
+            anyString(),
+            anyInt(),
+            anyInt(),
+            Mockito.any(),
+            Mockito.argThat(fileInfo -> fileInfo.getFileName().equals("file2.txt")),
+            Mockito.anyLong());
+
+    ParallelFileTransferFetcher fetcher = new ParallelFileTransferFetcher(client, tmpPartitionDir.toString(), 2, 2);
+    NettyP2PBlobTransferManager parallelManager = new NettyP2PBlobTransferManager(
+        server,
+        client,
+        finder,
+        tmpPartitionDir.toString(),
+        blobTransferStats,
+        fetcher);
+
+    // Execution:
+    CompletionStage<InputStream> future =
+        parallelManager.get(TEST_STORE, TEST_VERSION, TEST_PARTITION, BlobTransferTableFormat.BLOCK_BASED_TABLE);
+    future.toCompletableFuture().get(1, TimeUnit.MINUTES);
+
+    // Verification:
+    Mockito.verify(client, Mockito.times(2))
+        .getFile(
+            anyString(),
+            anyString(),
+            anyInt(),
+            anyInt(),
+            Mockito.any(),
+            Mockito.argThat(fileInfo -> fileInfo.getFileName().equals("file2.txt")),
+            Mockito.anyLong());
+    Mockito.verify(client, Mockito.times(4))
+        .getFile(anyString(), anyString(), anyInt(), anyInt(), Mockito.any(), Mockito.any(), Mockito.anyLong());
+    Mockito.verify(client, Mockito.never()).get(anyString(), anyString(), anyInt(), anyInt(), Mockito.any());
+    verifyFileTransferSuccess(expectOffsetRecord);
+    fetcher.close();
+  }
+
   @Test
   public void testLocalFileTransferInHybridStore()
       throws IOException, ExecutionException, InterruptedException, TimeoutException {
@@ -471,7 +577,8 @@ public class TestNettyP2PBlobTransferManager {
         newGlobalChannelTrafficShapingHandler,
         sslFactory,
         aclHandler,
-        20);
+        20,
+        blobTransferStats);
 
     NettyP2PBlobTransferManager newManager =
         new NettyP2PBlobTransferManager(newServer, newClient, finder, tmpPartitionDir.toString(), blobTransferStats);
@@ -489,6 +596,18 @@ public class TestNettyP2PBlobTransferManager {
     });
   }
 
+  private OffsetRecord prepareMetadataForTransfer() {
+    StoreVersionState storeVersionState = new StoreVersionState();
+    Mockito.doReturn(storeVersionState).when(storageMetadataService).getStoreVersionState(Mockito.any());
+
+    InternalAvroSpecificSerializer<PartitionState> partitionStateSerializer =
+        AvroProtocolDefinition.PARTITION_STATE.getSerializer();
+    OffsetRecord expectOffsetRecord = new OffsetRecord(partitionStateSerializer);
+    expectOffsetRecord.setOffsetLag(1000L);
+    Mockito.doReturn(expectOffsetRecord).when(storageMetadataService).getLastOffset(Mockito.any(), Mockito.anyInt());
+    return expectOffsetRecord;
+  }
+
   /**
    * Prepare files in the snapshot directory
    * @throws IOException
@@ -7,7 +7,9 @@ import static com.linkedin.davinci.blobtransfer.BlobTransferUtils.BlobTransferTy
 import static com.linkedin.venice.response.VeniceReadResponseStatus.TOO_MANY_REQUESTS;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.linkedin.davinci.blobtransfer.server.P2PFileTransferServerHandler;
+import com.linkedin.davinci.stats.AggVersionedBlobTransferStats;
 import com.linkedin.davinci.storage.StorageEngineRepository;
 import com.linkedin.davinci.storage.StorageMetadataService;
 import com.linkedin.davinci.store.StorageEngine;
@@ -18,6 +20,7 @@ import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
 import com.linkedin.venice.serialization.avro.InternalAvroSpecificSerializer;
 import com.linkedin.venice.store.rocksdb.RocksDBUtils;
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.DefaultFileRegion;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.DefaultHttpResponse;
@@ -28,12 +31,14 @@ import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.timeout.IdleStateEvent;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -62,7 +67,15 @@ public class TestP2PFileTransferServerHandler {
     storageMetadataService = Mockito.mock(StorageMetadataService.class);
     storageEngineRepository = Mockito.mock(StorageEngineRepository.class);
 
-    blobSnapshotManager = Mockito.spy(new BlobSnapshotManager(storageEngineRepository, storageMetadataService));
+    // Checksum the snapshots on the calling thread so that the responses are written by the time a request returns
+    blobSnapshotManager = Mockito.spy(
+        new BlobSnapshotManager(
+            storageEngineRepository,
+            storageMetadataService,
+            BlobSnapshotManager.DEFAULT_SNAPSHOT_RETENTION_TIME_IN_MIN,
+            BlobTransferUtils.BlobTransferTableFormat.BLOCK_BASED_TABLE,
+            BlobSnapshotManager.DEFAULT_SNAPSHOT_CLEANUP_INTERVAL_IN_MINS,
+            MoreExecutors.newDirectExecutorService()));
     serverHandler = new P2PFileTransferServerHandler(
         baseDir.toString(),
         blobTransferMaxTimeoutInMin,
@@ -298,6 +311,220 @@ public class TestP2PFileTransferServerHandler {
     Assert.assertEquals(blobSnapshotManager.getConcurrentSnapshotUsers("myStore_v1", 10), 0);
   }
 
+  @Test
+  public void testTransferFileWithZeroCopy() throws IOException {
+    AggVersionedBlobTransferStats blobTransferStats = Mockito.mock(AggVersionedBlobTransferStats.class);
+    P2PFileTransferServerHandler zeroCopyServerHandler = new P2PFileTransferServerHandler(
+        baseDir.toString(),
+        blobTransferMaxTimeoutInMin,
+        blobSnapshotManager,
+        maxAllowedConcurrentSnapshotUsers,
+        true,
+        blobTransferStats);
+    EmbeddedChannel zeroCopyChannel = new EmbeddedChannel(zeroCopyServerHandler);
+
+    StorageEngine localStorageEngine = Mockito.mock(StorageEngine.class);
+    Mockito.doReturn(localStorageEngine).when(storageEngineRepository).getLocalStorageEngine(Mockito.any());
+    Mockito.doReturn(true).when(localStorageEngine).containsPartition(Mockito.anyInt());
+    StoreVersionState storeVersionState = new StoreVersionState();
+    Mockito.doReturn(storeVersionState).when(storageMetadataService).getStoreVersionState(Mockito.any());
+    InternalAvroSpecificSerializer<PartitionState> partitionStateSerializer =
+        AvroProtocolDefinition.PARTITION_STATE.getSerializer();
+    OffsetRecord offsetRecord = new OffsetRecord(partitionStateSerializer);
+    offsetRecord.setOffsetLag(1000L);
+    Mockito.doReturn(offsetRecord).when(storageMetadataService).getLastOffset(Mockito.any(), Mockito.anyInt());
+
+    Path snapshotDir = Paths.get(RocksDBUtils.composeSnapshotDir(baseDir.toString(), "myStore_v1", 10));
+    Files.createDirectories(snapshotDir);
+    Path file1 = snapshotDir.resolve("file1");
+    Files.write(file1.toAbsolutePath(), "hello".getBytes());
+    FullHttpRequest request =
+        new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/myStore/1/10/BLOCK_BASED_TABLE");
+    Mockito.doNothing().when(blobSnapshotManager).createSnapshot(Mockito.anyString(), Mockito.anyInt());
+
+    zeroCopyChannel.writeInbound(request);
+
+    // start of file1
+    Object response = zeroCopyChannel.readOutbound();
+    Assert.assertTrue(response instanceof DefaultHttpResponse);
+    Assert.assertEquals(
+        ((DefaultHttpResponse) response).headers().get(HttpHeaderNames.CONTENT_DISPOSITION),
+        "attachment; filename=\"file1\"");
+    // the content is sent as a file region instead of being read in chunks
+    response = zeroCopyChannel.readOutbound();
+    Assert.assertTrue(response instanceof DefaultFileRegion);
+    DefaultFileRegion fileRegion = (DefaultFileRegion) response;
+    Assert.assertEquals(fileRegion.count(), "hello".length());
+    fileRegion.release();
+    response = zeroCopyChannel.readOutbound();
+    Assert.assertEquals(response, LastHttpContent.EMPTY_LAST_CONTENT);
+    // end of file1
+
+    // metadata and STATUS response
+    response = zeroCopyChannel.readOutbound();
+    Assert.assertEquals(
+        ((DefaultHttpResponse) response).headers().get(BLOB_TRANSFER_TYPE),
+        BlobTransferType.METADATA.toString());
+    response = zeroCopyChannel.readOutbound();
+    Assert.assertEquals(((DefaultHttpResponse) response).headers().get(BLOB_TRANSFER_STATUS), BLOB_TRANSFER_COMPLETED);
+
+    Mockito.verify(blobTransferStats)
+        .recordBlobTransferFileSendThroughput(
+            Mockito.eq("myStore"),
+            Mockito.eq(1),
+            Mockito.anyDouble(),
+            Mockito.eq(true));
+
+    zeroCopyChannel.pipeline().fireUserEventTriggered(IdleStateEvent.ALL_IDLE_STATE_EVENT);
+    Assert.assertEquals(blobSnapshotManager.getConcurrentSnapshotUsers("myStore_v1", 10), 0);
+  }
+
+  @Test
+  public void testTransferManifest() throws IOException {
+    prepareStorageForSnapshot();
+    Path snapshotDir = Paths.get(RocksDBUtils.composeSnapshotDir(baseDir.toString(), "myStore_v1", 10));
+    Files.createDirectories(snapshotDir);
+    Path file1 = snapshotDir.resolve("file1");
+    Files.write(file1.toAbsolutePath(), "hello".getBytes());
+    Path file2 = snapshotDir.resolve("file2");
+    Files.write(file2.toAbsolutePath(), "helloworld".getBytes());
+    FullHttpRequest request =
+        new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/myStore/1/10/BLOCK_BASED_TABLE/manifest");
+    Mockito.doNothing().when(blobSnapshotManager).createSnapshot(Mockito.anyString(), Mockito.anyInt());
+
+    ch.writeInbound(request);
+
+    // only the manifest is sent, without any file content
+    Object response = ch.readOutbound();
+    Assert.assertTrue(response instanceof FullHttpResponse);
+    FullHttpResponse manifestResponse = (FullHttpResponse) response;
+    Assert.assertEquals(manifestResponse.headers().get(BLOB_TRANSFER_TYPE), BlobTransferType.MANIFEST.toString());
+    ByteBuf content = manifestResponse.content();
+    byte[] manifestBytes = new byte[content.readableBytes()];
+    content.readBytes(manifestBytes);
+    BlobTransferManifest manifest = new ObjectMapper().readValue(manifestBytes, BlobTransferManifest.class);
+    Assert.assertEquals(manifest.getMetadata().getTopicName(), "myStore_v1");
+    Assert.assertEquals(manifest.getMetadata().getPartitionId(), 10);
+    Assert.assertEquals(manifest.getSnapshotId(), blobSnapshotManager.getSnapshotId("myStore_v1", 10));
+    Assert.assertEquals(
+        new HashSet<>(manifest.getFiles()),
+        new HashSet<>(
+            Arrays.asList(
+                new BlobTransferFileInfo("file1", 5, BlobTransferUtils.generateFileChecksum(file1)),
+                new BlobTransferFileInfo("file2", 10, BlobTransferUtils.generateFileChecksum(file2)))));
+    Assert.assertNull(ch.readOutbound());
+
+    ch.pipeline().fireUserEventTriggered(IdleStateEvent.ALL_IDLE_STATE_EVENT);
+    Assert.assertEquals(blobSnapshotManager.getConcurrentSnapshotUsers("myStore_v1", 10), 0);
+  }
+
+  @Test
+  public void testTransferSingleFileOfSnapshot() throws IOException {
+    prepareStorageForSnapshot();
+    Path snapshotDir = Paths.get(RocksDBUtils.composeSnapshotDir(baseDir.toString(), "myStore_v1", 10));
+    Files.createDirectories(snapshotDir);
+    Files.write(snapshotDir.resolve("file1").toAbsolutePath(), "hello".getBytes());
+    Path file2 = snapshotDir.resolve("file2");
+    Files.write(file2.toAbsolutePath(), "helloworld".getBytes());
+    Mockito.doNothing().when(blobSnapshotManager).createSnapshot(Mockito.anyString(), Mockito.anyInt());
+    long snapshotId = fetchManifest().getSnapshotId();
+    FullHttpRequest request = new DefaultFullHttpRequest(
+        HttpVersion.HTTP_1_1,
+        HttpMethod.GET,
+        "/myStore/1/10/BLOCK_BASED_TABLE/file/" + snapshotId + "/file2");
+
+    ch.writeInbound(request);
+
+    // only file2 is sent
+    Object response = ch.readOutbound();
+    Assert.assertTrue(response instanceof DefaultHttpResponse);
+    DefaultHttpResponse httpResponse = (DefaultHttpResponse) response;
+    Assert.assertEquals(
+        httpResponse.headers().get(HttpHeaderNames.CONTENT_DISPOSITION),
+        "attachment; filename=\"file2\"");
+    Assert.assertEquals(
+        httpResponse.headers().get(HttpHeaderNames.CONTENT_MD5),
+        BlobTransferUtils.generateFileChecksum(file2));
+    response = ch.readOutbound();
+    Assert.assertTrue(response instanceof HttpChunkedInput);
+
+    // the metadata is part of the manifest, so the STATUS response follows the file directly
+    response = ch.readOutbound();
+    Assert.assertTrue(response instanceof DefaultHttpResponse);
+    Assert.assertEquals(((DefaultHttpResponse) response).headers().get(BLOB_TRANSFER_STATUS), BLOB_TRANSFER_COMPLETED);
+    Assert.assertNull(ch.readOutbound());
+
+    // the file request neither recreates the snapshot nor checksums it again
+    Mockito.verify(blobSnapshotManager, Mockito.times(1)).createSnapshot(Mockito.anyString(), Mockito.anyInt());
+    Assert.assertSame(
+        blobSnapshotManager.getSnapshotFileInfos(
+            new BlobTransferPayload(
+                baseDir.toString(),
+                "myStore",
+                1,
+                10,
+                BlobTransferUtils.BlobTransferTableFormat.BLOCK_BASED_TABLE)),
+        blobSnapshotManager.getSnapshotFileInfos(
+            new BlobTransferPayload(
+                baseDir.toString(),
+                "myStore",
+                1,
+                10,
+                BlobTransferUtils.BlobTransferTableFormat.BLOCK_BASED_TABLE)));
+
+    ch.pipeline().fireUserEventTriggered(IdleStateEvent.ALL_IDLE_STATE_EVENT);
+    Assert.assertEquals(blobSnapshotManager.getConcurrentSnapshotUsers("myStore_v1", 10), 0);
+  }
+
+  @Test
+  public void testRejectFileNotInSnapshot() throws IOException {
+    prepareStorageForSnapshot();
+    Path snapshotDir = Paths.get(RocksDBUtils.composeSnapshotDir(baseDir.toString(), "myStore_v1", 10));
+    Files.createDirectories(snapshotDir);
+    Files.write(snapshotDir.resolve("file1").toAbsolutePath(), "hello".getBytes());
+    Mockito.doNothing().when(blobSnapshotManager).createSnapshot(Mockito.anyString(), Mockito.anyInt());
+    long snapshotId = fetchManifest().getSnapshotId();
+
+    for (String fileName: Arrays.asList("file2", "..", ".")) {
+      FullHttpRequest request = new DefaultFullHttpRequest(
+          HttpVersion.HTTP_1_1,
+          HttpMethod.GET,
+          "/myStore/1/10/BLOCK_BASED_TABLE/file/" + snapshotId + "/" + fileName);
+      ch.writeInbound(request);
+      FullHttpResponse response = ch.readOutbound();
+      Assert.assertEquals(response.status(), HttpResponseStatus.NOT_FOUND);
+    }
+  }
+
+  @Test
+  public void testRejectFileOfOtherSnapshot() throws IOException {
+    prepareStorageForSnapshot();
+    Path snapshotDir = Paths.get(RocksDBUtils.composeSnapshotDir(baseDir.toString(), "myStore_v1", 10));
+    Files.createDirectories(snapshotDir);
+    Files.write(snapshotDir.resolve("file1").toAbsolutePath(), "hello".getBytes());
+    Mockito.doNothing().when(blobSnapshotManager).createSnapshot(Mockito.anyString(), Mockito.anyInt());
+
+    // no snapshot has been taken for a manifest yet
+    FullHttpRequest request = new DefaultFullHttpRequest(
+        HttpVersion.HTTP_1_1,
+        HttpMethod.GET,
+        "/myStore/1/10/BLOCK_BASED_TABLE/file/1/file1");
+    ch.writeInbound(request);
+    FullHttpResponse response = ch.readOutbound();
+    Assert.assertEquals(response.status(), HttpResponseStatus.NOT_FOUND);
+    Mockito.verify(blobSnapshotManager, Mockito.never()).createSnapshot(Mockito.anyString(), Mockito.anyInt());
+
+    // the file is requested from a snapshot other than the one the manifest lists
+    long snapshotId = fetchManifest().getSnapshotId();
+    request = new DefaultFullHttpRequest(
+        HttpVersion.HTTP_1_1,
+        HttpMethod.GET,
+        "/myStore/1/10/BLOCK_BASED_TABLE/file/" + (snapshotId - 1) + "/file1");
+    ch.writeInbound(request);
+    response = ch.readOutbound();
+    Assert.assertEquals(response.status(), HttpResponseStatus.NOT_FOUND);
+  }
+
   @Test
   public void testTransferMultipleFiles() throws IOException {
     StorageEngine localStorageEngine = Mockito.mock(StorageEngine.class);
@@ -416,4 +643,36 @@ public class TestP2PFileTransferServerHandler {
 
     Assert.assertEquals(blobSnapshotManager.getConcurrentSnapshotUsers("myStore_v1", 10), 0);
   }
+
+  /**
+   * Fetch the manifest of partition 10 of myStore_v1 on a channel of its own, which takes the snapshot the file
+   * requests fetch from.
+   */
+  private BlobTransferManifest fetchManifest() throws IOException {
+    EmbeddedChannel manifestChannel = new EmbeddedChannel(serverHandler);
+    try {
+      manifestChannel.writeInbound(
+          new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/myStore/1/10/BLOCK_BASED_TABLE/manifest"));
+      FullHttpResponse response = manifestChannel.readOutbound();
+      ByteBuf content = response.content();
+      byte[] manifestBytes = new byte[content.readableBytes()];
+      content.readBytes(manifestBytes);
+      return new ObjectMapper().readValue(manifestBytes, BlobTransferManifest.class);
+    } finally {
+      manifestChannel.close();
+    }
+  }
+
+  private void prepareStorageForSnapshot() {
+    StorageEngine localStorageEngine = Mockito.mock(StorageEngine.class);
+    Mockito.doReturn(localStorageEngine).when(storageEngineRepository).getLocalStorageEngine(Mockito.any());
+    Mockito.doReturn(true).when(localStorageEngine).containsPartition(Mockito.anyInt());
+    StoreVersionState storeVersionState = new StoreVersionState();
+    Mockito.doReturn(storeVersionState).when(storageMetadataService).getStoreVersionState(Mockito.any());
+    InternalAvroSpecificSerializer<PartitionState> partitionStateSerializer =
+        AvroProtocolDefinition.PARTITION_STATE.getSerializer();
+    OffsetRecord offsetRecord = new OffsetRecord(partitionStateSerializer);
+    offsetRecord.setOffsetLag(1000L);
+    Mockito.doReturn(offsetRecord).when(storageMetadataService).getLastOffset(Mockito.any(), Mockito.anyInt());
+  }
 }
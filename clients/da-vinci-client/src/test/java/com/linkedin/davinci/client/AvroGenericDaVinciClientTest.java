@@ -36,6 +36,7 @@ import com.linkedin.venice.utils.VeniceProperties;
 import java.lang.reflect.Field;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -214,6 +215,56 @@ public class AvroGenericDaVinciClientTest {
     }
   }
 
+  @Test
+  public void testBatchGetWithMultiGet() throws ExecutionException, InterruptedException {
+    AvroGenericDaVinciClient<String, String> dvcClient = mock(AvroGenericDaVinciClient.class);
+    when(dvcClient.getStoreName()).thenReturn("test_store");
+    DaVinciConfig daVinciConfig = new DaVinciConfig().setBatchGetWithMultiGetEnabled(true);
+    when(dvcClient.getDaVinciConfig()).thenReturn(daVinciConfig);
+
+    AvroSerializer<String> keySerializer = new AvroSerializer<>(Schema.create(Schema.Type.STRING));
+    String missingKey = "key_missing";
+    String testValue = "test_value";
+    StoreBackend storeBackend = mock(StoreBackend.class);
+    VersionBackend versionBackend = mock(VersionBackend.class);
+    when(versionBackend.getSupersetOrLatestValueSchemaId()).thenReturn(1);
+    // Spread the keys across two partitions
+    when(versionBackend.getPartition(any())).thenAnswer(invocation -> {
+      byte[] keyBytes = invocation.getArgument(0);
+      return keyBytes.length % 2;
+    });
+    byte[] missingKeyBytes = keySerializer.serialize(missingKey);
+    when(versionBackend.multiRead(anyInt(), any(), any(), any(), anyInt(), any())).thenAnswer(invocation -> {
+      List<byte[]> keys = invocation.getArgument(1);
+      List<String> values = new ArrayList<>(keys.size());
+      for (byte[] key: keys) {
+        values.add(Arrays.equals(key, missingKeyBytes) ? null : testValue);
+      }
+      return values;
+    });
+    ReferenceCounted<VersionBackend> versionBackendReferenceCounted =
+        new ReferenceCounted<>(versionBackend, ignored -> {});
+    when(storeBackend.getDaVinciCurrentVersion()).thenReturn(versionBackendReferenceCounted);
+    when(dvcClient.getStoreBackend()).thenReturn(storeBackend);
+
+    when(dvcClient.getKeySerializer()).thenReturn(keySerializer);
+    when(dvcClient.getStoreDeserializerCache()).thenReturn(null);
+    when(dvcClient.isPartitionReadyToServe(any(), anyInt())).thenReturn(true);
+    when(dvcClient.isPartitionSubscribed(any(), anyInt())).thenReturn(true);
+    when(dvcClient.batchGetFromLocalStorage(any())).thenCallRealMethod();
+
+    Set<String> keySet = new HashSet<>(Arrays.asList("key_1", "key_22", "key_333", missingKey));
+    Map<String, String> resultMap = dvcClient.batchGetFromLocalStorage(keySet).get();
+    assertEquals(resultMap.size(), 3);
+    assertEquals(resultMap.get("key_1"), testValue);
+    assertEquals(resultMap.get("key_22"), testValue);
+    assertEquals(resultMap.get("key_333"), testValue);
+    Assert.assertFalse(resultMap.containsKey(missingKey));
+    // One batched lookup per partition, and no single key lookup
+    verify(versionBackend, times(2)).multiRead(anyInt(), any(), any(), any(), anyInt(), any());
+    verify(versionBackend, never()).read(anyInt(), any(), any(), any(), anyInt(), any(), any(), any());
+  }
+
   @Test
   public void constructorTest() {
     DaVinciConfig daVinciConfig = new DaVinciConfig();
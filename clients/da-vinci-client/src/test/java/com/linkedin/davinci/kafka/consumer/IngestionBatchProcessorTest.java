@@ -33,7 +33,6 @@ import com.linkedin.venice.utils.DaemonThreadFactory;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.List;
-import java.util.NavigableMap;
 import java.util.concurrent.locks.ReentrantLock;
 import org.testng.annotations.Test;
 
@@ -122,19 +121,18 @@ public class IngestionBatchProcessorTest {
     /**
      * Switch the input order to make sure the `lockKeys` function would sort them when locking.
      */
-    NavigableMap<ByteArrayKey, ReentrantLock> keyLockMap =
-        batchProcessor.lockKeys(Arrays.asList(rtMessage2, rtMessage1));
+    IngestionBatchProcessor.LockedKeys lockedKeys = batchProcessor.lockKeys(Arrays.asList(rtMessage2, rtMessage1));
     verify(mockKeyLevelLocksManager).acquireLockByKey(ByteArrayKey.wrap(key1));
     verify(mockKeyLevelLocksManager).acquireLockByKey(ByteArrayKey.wrap(key2));
     verify(lockForKey1).lock();
     verify(lockForKey2).lock();
     // Verify the order
-    ReentrantLock[] locks = keyLockMap.values().toArray(new ReentrantLock[0]);
+    ReentrantLock[] locks = lockedKeys.getKeyLockMap().values().toArray(new ReentrantLock[0]);
     assertEquals(locks[0], lockForKey1);
     assertEquals(locks[1], lockForKey2);
 
     // unlock test
-    batchProcessor.unlockKeys(keyLockMap);
+    batchProcessor.unlockKeys(lockedKeys);
 
     verify(lockForKey1).unlock();
     verify(lockForKey2).unlock();
@@ -142,17 +140,66 @@ public class IngestionBatchProcessorTest {
     verify(mockKeyLevelLocksManager).releaseLock(ByteArrayKey.wrap(key2));
 
     // Duplicate messages in the batch
-    keyLockMap = batchProcessor.lockKeys(Arrays.asList(rtMessage1, rtMessage2, rtMessage1));
+    lockedKeys = batchProcessor.lockKeys(Arrays.asList(rtMessage1, rtMessage2, rtMessage1));
     verify(mockKeyLevelLocksManager, times(2)).acquireLockByKey(ByteArrayKey.wrap(key1));
     verify(mockKeyLevelLocksManager, times(2)).acquireLockByKey(ByteArrayKey.wrap(key2));
     verify(lockForKey1, times(2)).lock();
     verify(lockForKey2, times(2)).lock();
     // Verify the order
-    locks = keyLockMap.values().toArray(new ReentrantLock[0]);
+    locks = lockedKeys.getKeyLockMap().values().toArray(new ReentrantLock[0]);
     assertEquals(locks[0], lockForKey1);
     assertEquals(locks[1], lockForKey2);
   }
 
+  @Test
+  public void lockKeysWithStripedLockManagerTest() {
+    StripedKeyLevelLocksManager stripedLockManager = new StripedKeyLevelLocksManager(1024);
+    byte[] key1 = "key1".getBytes();
+    byte[] key2 = "key2".getBytes();
+    PubSubTopic rtTopic = TOPIC_REPOSITORY.getTopic("store_rt");
+    PubSubTopicPartition rtTopicPartition = new PubSubTopicPartitionImpl(rtTopic, 1);
+    DefaultPubSubMessage rtMessage1 = new ImmutablePubSubMessage(
+        new KafkaKey(MessageType.PUT, key1),
+        mock(KafkaMessageEnvelope.class),
+        rtTopicPartition,
+        mock(PubSubPosition.class),
+        100,
+        100);
+    DefaultPubSubMessage rtMessage2 = new ImmutablePubSubMessage(
+        new KafkaKey(MessageType.PUT, key2),
+        mock(KafkaMessageEnvelope.class),
+        rtTopicPartition,
+        mock(PubSubPosition.class),
+        101,
+        100);
+
+    IngestionBatchProcessor batchProcessor = new IngestionBatchProcessor(
+        "store_v1",
+        mock(ExecutorService.class),
+        null,
+        stripedLockManager,
+        (ignored1, ignored2, ignored3, ignored4, ignored5, ignored6, ignored7) -> null,
+        true,
+        true,
+        mock(AggVersionedIngestionStats.class),
+        mock(HostLevelIngestionStats.class));
+    ReentrantLock lockForKey1 = stripedLockManager.getLockForKey(key1);
+    ReentrantLock lockForKey2 = stripedLockManager.getLockForKey(key2);
+    int expectedStripeCount = lockForKey1 == lockForKey2 ? 1 : 2;
+
+    // Duplicate messages in the batch should only lock their stripe once
+    IngestionBatchProcessor.LockedKeys lockedKeys =
+        batchProcessor.lockKeys(Arrays.asList(rtMessage2, rtMessage1, rtMessage2));
+    assertEquals(lockedKeys.getLockedStripeCount(), expectedStripeCount);
+    assertTrue(lockForKey1.isHeldByCurrentThread());
+    assertTrue(lockForKey2.isHeldByCurrentThread());
+    assertEquals(lockForKey1.getHoldCount(), 1);
+
+    batchProcessor.unlockKeys(lockedKeys);
+    assertFalse(lockForKey1.isLocked());
+    assertFalse(lockForKey2.isLocked());
+  }
+
   @Test
   public void processTest() {
     KeyLevelLocksManager mockKeyLevelLocksManager = mock(KeyLevelLocksManager.class);
@@ -3,6 +3,7 @@ package com.linkedin.davinci.kafka.consumer;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doCallRealMethod;
@@ -25,6 +26,7 @@ import com.linkedin.venice.kafka.protocol.Put;
 import com.linkedin.venice.kafka.protocol.enums.MessageType;
 import com.linkedin.venice.message.KafkaKey;
 import com.linkedin.venice.pubsub.ImmutablePubSubMessage;
+import com.linkedin.venice.pubsub.PooledPubSubMessage;
 import com.linkedin.venice.pubsub.PubSubTopicPartitionImpl;
 import com.linkedin.venice.pubsub.PubSubTopicRepository;
 import com.linkedin.venice.pubsub.api.DefaultPubSubMessage;
@@ -33,6 +35,7 @@ import com.linkedin.venice.pubsub.api.PubSubTopic;
 import com.linkedin.venice.pubsub.api.PubSubTopicPartition;
 import com.linkedin.venice.utils.DataProviderUtils;
 import com.linkedin.venice.utils.Utils;
+import com.linkedin.venice.utils.pools.ObjectPool;
 import io.tehuti.metrics.MetricsRepository;
 import io.tehuti.metrics.Sensor;
 import java.nio.ByteBuffer;
@@ -40,6 +43,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -66,9 +70,18 @@ public class StoreBufferServiceTest {
     mockedStats = mock(StoreBufferServiceStats.class);
   }
 
-  @Test(dataProviderClass = DataProviderUtils.class, dataProvider = "True-and-False")
-  public void testRun(boolean queueLeaderWrites) throws Exception {
-    StoreBufferService bufferService = new StoreBufferService(1, 10000, 1000, queueLeaderWrites, mockedStats, null);
+  @Test(dataProviderClass = DataProviderUtils.class, dataProvider = "Three-True-and-False")
+  public void testRun(boolean queueLeaderWrites, boolean useRingBuffer, boolean batchedDrain) throws Exception {
+    StoreBufferService bufferService = new StoreBufferService(
+        1,
+        10000,
+        1000,
+        queueLeaderWrites,
+        mockedStats,
+        null,
+        useRingBuffer ? 64 : 0,
+        batchedDrain ? 16 : 1,
+        Long.MAX_VALUE);
     StoreIngestionTask mockTask = mock(StoreIngestionTask.class);
     String topic = Utils.getUniqueString("test_topic") + "_v1";
     PubSubPosition mockPosition = mock(PubSubPosition.class);
@@ -103,11 +116,73 @@ public class StoreBufferServiceTest {
     // processing
     // otherwise SIT will handle the processing directly.
     verify(mockedStats, times(queueLeaderWrites ? 4 : 2)).recordInternalProcessingLatency(anyLong());
+    if (batchedDrain) {
+      // All the records are buffered before the drainer starts, so they should be drained in a single batch
+      verify(mockedStats).recordDrainBatchSize(queueLeaderWrites ? 4 : 2);
+    } else {
+      verify(mockedStats, never()).recordDrainBatchSize(anyInt());
+    }
     Assert.assertThrows(
         VeniceException.class,
         () -> bufferService.drainBufferedRecordsFromTopicPartition(pubSubTopicPartition1));
   }
 
+  @Test
+  public void testPooledRecordsReleasedOnceProcessed() throws Exception {
+    StoreBufferService bufferService = new StoreBufferService(1, 10000, 1000, true, mockedStats, null);
+    StoreIngestionTask mockTask = mock(StoreIngestionTask.class);
+    String topic = Utils.getUniqueString("test_topic") + "_v1";
+    int partition1 = 1;
+    int partition2 = 2;
+    int partition3 = 3;
+    PubSubTopic pubSubTopic = pubSubTopicRepository.getTopic(topic);
+    String kafkaUrl = "blah";
+    ObjectPool<PooledPubSubMessage> pool = mock(ObjectPool.class);
+    PooledPubSubMessage cr1 = new PooledPubSubMessage(pool).init(
+        key.getKeyHeaderByte(),
+        key.getKey(),
+        value,
+        new PubSubTopicPartitionImpl(pubSubTopic, partition1),
+        mockPosition,
+        0,
+        0,
+        null);
+    PooledPubSubMessage cr2 = new PooledPubSubMessage(pool).init(
+        key.getKeyHeaderByte(),
+        key.getKey(),
+        value,
+        new PubSubTopicPartitionImpl(pubSubTopic, partition2),
+        mockPosition,
+        0,
+        0,
+        null);
+    PooledPubSubMessage cr3 = new PooledPubSubMessage(pool).init(
+        key.getKeyHeaderByte(),
+        key.getKey(),
+        value,
+        new PubSubTopicPartitionImpl(pubSubTopic, partition3),
+        mockPosition,
+        0,
+        0,
+        null);
+    doThrow(new VeniceException("test_exception")).when(mockTask)
+        .processConsumerRecord(cr3, null, partition3, kafkaUrl, 0L);
+
+    bufferService.putConsumerRecord(cr1, mockTask, null, partition1, kafkaUrl, 0L);
+    bufferService.putConsumerRecord(cr2, mockTask, leaderContext, partition2, kafkaUrl, 0L);
+    bufferService.putConsumerRecord(cr3, mockTask, null, partition3, kafkaUrl, 0L);
+
+    bufferService.start();
+    verify(mockTask, timeout(TIMEOUT_IN_MS)).processConsumerRecord(cr3, null, partition3, kafkaUrl, 0L);
+    bufferService.stop();
+    // Only the successfully processed record which was not produced by the leader goes back to the pool
+    verify(pool).dispose(cr1);
+    verify(pool, never()).dispose(cr2);
+    verify(pool, never()).dispose(cr3);
+    Assert.assertNull(cr1.getValue());
+    Assert.assertSame(cr2.getValue(), value);
+  }
+
   @Test(dataProviderClass = DataProviderUtils.class, dataProvider = "True-and-False")
   public void testRunWhenThrowException(boolean queueLeaderWrites) throws Exception {
     StoreBufferService bufferService = new StoreBufferService(1, 10000, 1000, queueLeaderWrites, mockedStats, null);
@@ -137,6 +212,92 @@ public class StoreBufferServiceTest {
     verify(mockedStats).recordInternalProcessingError();
   }
 
+  @Test
+  public void testRecordsOfSamePartitionAppliedAsOneWriteBatch() throws Exception {
+    StoreBufferService bufferService =
+        new StoreBufferService(1, 10000, 1000, false, mockedStats, null, 64, 16, Long.MAX_VALUE);
+    StoreIngestionTask mockTask = mock(StoreIngestionTask.class);
+    String topic = Utils.getUniqueString("test_topic") + "_v1";
+    int partition1 = 1;
+    int partition2 = 2;
+    PubSubTopic pubSubTopic = pubSubTopicRepository.getTopic(topic);
+    PubSubTopicPartition pubSubTopicPartition1 = new PubSubTopicPartitionImpl(pubSubTopic, partition1);
+    PubSubTopicPartition pubSubTopicPartition2 = new PubSubTopicPartitionImpl(pubSubTopic, partition2);
+    String kafkaUrl = "blah";
+    DefaultPubSubMessage cr1 = new ImmutablePubSubMessage(key, value, pubSubTopicPartition1, mockPosition, 0, 0);
+    DefaultPubSubMessage cr2 = new ImmutablePubSubMessage(key, value, pubSubTopicPartition1, mockPosition, 1, 0);
+    DefaultPubSubMessage cr3 = new ImmutablePubSubMessage(key, value, pubSubTopicPartition1, mockPosition, 2, 0);
+    DefaultPubSubMessage cr4 = new ImmutablePubSubMessage(key, value, pubSubTopicPartition2, mockPosition, 0, 0);
+
+    bufferService.putConsumerRecord(cr1, mockTask, null, partition1, kafkaUrl, 0L);
+    bufferService.putConsumerRecord(cr2, mockTask, null, partition1, kafkaUrl, 0L);
+    bufferService.putConsumerRecord(cr3, mockTask, null, partition1, kafkaUrl, 0L);
+    bufferService.putConsumerRecord(cr4, mockTask, null, partition2, kafkaUrl, 0L);
+
+    bufferService.start();
+    verify(mockTask, timeout(TIMEOUT_IN_MS)).processConsumerRecord(cr4, null, partition2, kafkaUrl, 0L);
+    bufferService.stop();
+    // The consecutive records of the first partition share a single write batch and offset sync check
+    verify(mockTask).beginConsumerRecordBatch(partition1);
+    verify(mockTask).processConsumerRecordInBatch(cr1, partition1, kafkaUrl, 0L);
+    verify(mockTask).processConsumerRecordInBatch(cr2, partition1, kafkaUrl, 0L);
+    verify(mockTask).processConsumerRecordInBatch(cr3, partition1, kafkaUrl, 0L);
+    verify(mockTask).commitConsumerRecordBatch(partition1, cr3);
+    verify(mockTask, never()).processConsumerRecord(cr1, null, partition1, kafkaUrl, 0L);
+    verify(mockTask, never()).beginConsumerRecordBatch(partition2);
+    verify(mockedStats, times(2)).recordInternalProcessingLatency(anyLong());
+  }
+
+  @Test
+  public void testWriteBatchCommitFailureReportedOnce() throws Exception {
+    StoreBufferService bufferService =
+        new StoreBufferService(1, 10000, 1000, false, mockedStats, null, 64, 16, Long.MAX_VALUE);
+    StoreIngestionTask mockTask = mock(StoreIngestionTask.class);
+    String topic = Utils.getUniqueString("test_topic") + "_v1";
+    int partition = 1;
+    PubSubTopicPartition pubSubTopicPartition =
+        new PubSubTopicPartitionImpl(pubSubTopicRepository.getTopic(topic), partition);
+    String kafkaUrl = "blah";
+    DefaultPubSubMessage cr1 = new ImmutablePubSubMessage(key, value, pubSubTopicPartition, mockPosition, 0, 0);
+    DefaultPubSubMessage cr2 = new ImmutablePubSubMessage(key, value, pubSubTopicPartition, mockPosition, 1, 0);
+    Exception e = new VeniceException("test_exception");
+    doThrow(e).when(mockTask).commitConsumerRecordBatch(partition, cr2);
+
+    bufferService.putConsumerRecord(cr1, mockTask, null, partition, kafkaUrl, 0L);
+    bufferService.putConsumerRecord(cr2, mockTask, null, partition, kafkaUrl, 0L);
+
+    bufferService.start();
+    verify(mockTask, timeout(TIMEOUT_IN_MS)).setIngestionException(partition, e);
+    // The drainer keeps going after a failed commit
+    CompletableFuture<Void> syncFuture = bufferService.execSyncOffsetCommandAsync(pubSubTopicPartition, mockTask);
+    syncFuture.get(TIMEOUT_IN_MS, MILLISECONDS);
+    bufferService.stop();
+    verify(mockedStats).recordInternalProcessingError();
+    verify(mockedStats, never()).recordInternalProcessingLatency(anyLong());
+  }
+
+  @Test
+  public void testNodesAfterFatalErrorAreFailed() throws Exception {
+    StoreBufferService bufferService =
+        new StoreBufferService(1, 10000, 1000, false, mockedStats, null, 64, 16, Long.MAX_VALUE);
+    StoreIngestionTask mockTask = mock(StoreIngestionTask.class);
+    String topic = Utils.getUniqueString("test_topic") + "_v1";
+    int partition = 1;
+    PubSubTopicPartition pubSubTopicPartition =
+        new PubSubTopicPartitionImpl(pubSubTopicRepository.getTopic(topic), partition);
+    String kafkaUrl = "blah";
+    DefaultPubSubMessage cr = new ImmutablePubSubMessage(key, value, pubSubTopicPartition, mockPosition, 0, 0);
+    doThrow(new OutOfMemoryError("test_error")).when(mockTask).processConsumerRecord(cr, null, partition, kafkaUrl, 0L);
+
+    bufferService.putConsumerRecord(cr, mockTask, null, partition, kafkaUrl, 0L);
+    CompletableFuture<Void> syncFuture = bufferService.execSyncOffsetCommandAsync(pubSubTopicPartition, mockTask);
+
+    bufferService.start();
+    // The drainer stops, but the command queued behind the failed record must not be waited for forever
+    Assert.assertThrows(ExecutionException.class, () -> syncFuture.get(TIMEOUT_IN_MS, MILLISECONDS));
+    bufferService.stop();
+  }
+
   @Test(dataProviderClass = DataProviderUtils.class, dataProvider = "True-and-False")
   public void testDrainBufferedRecordsWhenNotExists(boolean queueLeaderWrites) throws Exception {
     StoreBufferService bufferService = new StoreBufferService(1, 10000, 1000, queueLeaderWrites, mockedStats, null);
@@ -158,9 +319,10 @@ public class StoreBufferServiceTest {
     bufferService.stop();
   }
 
-  @Test(dataProviderClass = DataProviderUtils.class, dataProvider = "True-and-False")
-  public void testDrainBufferedRecordsWhenExists(boolean queueLeaderWrites) throws Exception {
-    StoreBufferService bufferService = new StoreBufferService(1, 10000, 1000, queueLeaderWrites, mockedStats, null);
+  @Test(dataProviderClass = DataProviderUtils.class, dataProvider = "Two-True-and-False")
+  public void testDrainBufferedRecordsWhenExists(boolean queueLeaderWrites, boolean batchedDrain) throws Exception {
+    StoreBufferService bufferService =
+        new StoreBufferService(1, 10000, 1000, queueLeaderWrites, mockedStats, null, 64, batchedDrain ? 16 : 1, 1024);
     StoreIngestionTask mockTask = mock(StoreIngestionTask.class);
     String topic = Utils.getUniqueString("test_topic") + "_v1";
     int partition = 1;
@@ -0,0 +1,117 @@
+package com.linkedin.davinci.kafka.consumer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class StripedKeyLevelLocksManagerTest {
+  @Test
+  public void testStripeCountIsRoundedUpToPowerOfTwo() {
+    Assert.assertEquals(new StripedKeyLevelLocksManager(1).getStripeCount(), 1);
+    Assert.assertEquals(new StripedKeyLevelLocksManager(100).getStripeCount(), 128);
+    Assert.assertEquals(new StripedKeyLevelLocksManager(128).getStripeCount(), 128);
+    Assert.assertThrows(IllegalArgumentException.class, () -> new StripedKeyLevelLocksManager(0));
+  }
+
+  @Test
+  public void testSameLockReturnedForSameKeyBytes() {
+    StripedKeyLevelLocksManager locksManager = new StripedKeyLevelLocksManager(64);
+    byte[] rawKeyBytes = { 'a', 'b', 'c' };
+    byte[] sameRawKeyBytes = "abc".getBytes(StandardCharsets.UTF_8);
+    ReentrantLock lock = locksManager.getLockForKey(rawKeyBytes);
+    Assert.assertSame(locksManager.getLockForKey(sameRawKeyBytes), lock);
+    Assert.assertSame(locksManager.getLockForStripe(locksManager.getStripeIndex(rawKeyBytes)), lock);
+  }
+
+  @Test
+  public void testKeysAreSpreadAcrossStripes() {
+    int stripeCount = 64;
+    StripedKeyLevelLocksManager locksManager = new StripedKeyLevelLocksManager(stripeCount);
+    boolean[] usedStripes = new boolean[stripeCount];
+    for (int i = 0; i < 10000; i++) {
+      int stripeIndex = locksManager.getStripeIndex(("key_" + i).getBytes(StandardCharsets.UTF_8));
+      Assert.assertTrue(stripeIndex >= 0 && stripeIndex < stripeCount);
+      usedStripes[stripeIndex] = true;
+    }
+    for (int i = 0; i < stripeCount; i++) {
+      Assert.assertTrue(usedStripes[i], "Stripe " + i + " is never used");
+    }
+  }
+
+  @Test
+  public void testLockStripesSortsAndDeduplicates() {
+    StripedKeyLevelLocksManager locksManager = new StripedKeyLevelLocksManager(16);
+    int[] stripeIndices = { 7, 3, 7, 1, 3, 0 };
+    int lockedCount = locksManager.lockStripes(stripeIndices, 5);
+    Assert.assertEquals(lockedCount, 3);
+    Assert.assertEquals(stripeIndices[0], 1);
+    Assert.assertEquals(stripeIndices[1], 3);
+    Assert.assertEquals(stripeIndices[2], 7);
+    for (int i = 0; i < lockedCount; i++) {
+      ReentrantLock lock = locksManager.getLockForStripe(stripeIndices[i]);
+      Assert.assertTrue(lock.isHeldByCurrentThread());
+      Assert.assertEquals(lock.getHoldCount(), 1);
+    }
+    // Stripe 0 is beyond the given length, so it shouldn't be locked
+    Assert.assertFalse(locksManager.getLockForStripe(0).isLocked());
+
+    locksManager.unlockStripes(stripeIndices, lockedCount);
+    for (int i = 0; i < 16; i++) {
+      Assert.assertFalse(locksManager.getLockForStripe(i).isLocked());
+    }
+  }
+
+  @Test(timeOut = 60 * 1000)
+  public void testConcurrentBatchesDoNotDeadlock() throws Exception {
+    StripedKeyLevelLocksManager locksManager = new StripedKeyLevelLocksManager(8);
+    int threadCount = 8;
+    int batchCountPerThread = 2000;
+    int batchSize = 6;
+    int[] counters = new int[locksManager.getStripeCount()];
+    AtomicLong expectedCounterSum = new AtomicLong();
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      List<Future<?>> futures = new ArrayList<>(threadCount);
+      for (int t = 0; t < threadCount; t++) {
+        futures.add(executor.submit(() -> {
+          int[] stripeIndices = new int[batchSize];
+          for (int b = 0; b < batchCountPerThread; b++) {
+            for (int i = 0; i < batchSize; i++) {
+              stripeIndices[i] = ThreadLocalRandom.current().nextInt(locksManager.getStripeCount());
+            }
+            int lockedCount = locksManager.lockStripes(stripeIndices, batchSize);
+            expectedCounterSum.addAndGet(lockedCount);
+            try {
+              for (int i = 0; i < lockedCount; i++) {
+                counters[stripeIndices[i]]++;
+              }
+            } finally {
+              locksManager.unlockStripes(stripeIndices, lockedCount);
+            }
+          }
+        }));
+      }
+      for (Future<?> future: futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    // Every counter is only updated while holding its stripe, so no increment should be lost
+    long counterSum = 0;
+    for (int counter: counters) {
+      counterSum += counter;
+    }
+    Assert.assertEquals(counterSum, expectedCounterSum.get());
+  }
+}
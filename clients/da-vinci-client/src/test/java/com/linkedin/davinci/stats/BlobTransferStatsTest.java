@@ -33,6 +33,15 @@ public class BlobTransferStatsTest {
     Assert.assertEquals(throughput, stats.getBlobTransferFileReceiveThroughput());
   }
 
+  @Test
+  public void testRecordBlobTransferFileSendThroughput() {
+    BlobTransferStats stats = new BlobTransferStats();
+    stats.recordBlobTransferFileSendThroughput(50.0, true);
+    stats.recordBlobTransferFileSendThroughput(20.0, false);
+    Assert.assertEquals(50.0, stats.getBlobTransferZeroCopyFileSendThroughput());
+    Assert.assertEquals(20.0, stats.getBlobTransferChunkedFileSendThroughput());
+  }
+
   @Test
   public void testRecordBlobTransferTimeInSec() {
     double timeInSec = 10.0;
@@ -9,7 +9,6 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doCallRealMethod;
@@ -32,11 +31,11 @@ import com.linkedin.venice.meta.StoreVersionInfo;
 import com.linkedin.venice.meta.Version;
 import com.linkedin.venice.meta.VersionImpl;
 import com.linkedin.venice.utils.DataProviderUtils;
-import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import io.tehuti.metrics.MetricsRepository;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import org.mockito.Mockito;
@@ -56,7 +55,7 @@ public class HeartbeatMonitoringServiceTest {
     doCallRealMethod().when(heartbeatMonitoringService).getHeartbeatInfo(anyString(), anyInt(), anyBoolean());
     heartbeatMonitoringService.getHeartbeatInfo("", -1, false);
     Mockito.verify(heartbeatMonitoringService, times(2))
-        .getHeartbeatInfoFromMap(any(), anyString(), anyLong(), anyString(), anyInt(), anyBoolean());
+        .getHeartbeatInfoFromTable(any(), anyString(), anyLong(), anyString(), anyInt(), anyBoolean());
   }
 
   @Test
@@ -67,12 +66,10 @@ public class HeartbeatMonitoringServiceTest {
     doCallRealMethod().when(heartbeatMonitoringService)
         .getReplicaFollowerHeartbeatLag(any(), anyString(), anyInt(), anyBoolean());
 
-    Map<String, Map<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>>> leaderMap =
-        new VeniceConcurrentHashMap<>();
-    Map<String, Map<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>>> followerMap =
-        new VeniceConcurrentHashMap<>();
-    doReturn(leaderMap).when(heartbeatMonitoringService).getLeaderHeartbeatTimeStamps();
-    doReturn(followerMap).when(heartbeatMonitoringService).getFollowerHeartbeatTimeStamps();
+    HeartbeatTimestampTable leaderTable = new HeartbeatTimestampTable();
+    HeartbeatTimestampTable followerTable = new HeartbeatTimestampTable();
+    doReturn(leaderTable).when(heartbeatMonitoringService).getLeaderHeartbeatTable();
+    doReturn(followerTable).when(heartbeatMonitoringService).getFollowerHeartbeatTable();
     doReturn("dc-1").when(heartbeatMonitoringService).getLocalRegionName();
     PartitionConsumptionState pcs = mock(PartitionConsumptionState.class);
 
@@ -82,105 +79,111 @@ public class HeartbeatMonitoringServiceTest {
     int partition = 1;
     doReturn("store_v1-1").when(pcs).getReplicaId();
     doReturn(partition).when(pcs).getPartition();
-    leaderMap.put(store, new VeniceConcurrentHashMap<>());
-    leaderMap.get(store).put(version, new VeniceConcurrentHashMap<>());
-    leaderMap.get(store).get(version).put(partition, new VeniceConcurrentHashMap<>());
-    leaderMap.get(store)
-        .get(version)
-        .get(partition)
-        .put(
-            "dc-0",
-            new HeartbeatTimeStampEntry(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(5), true, true));
-    leaderMap.get(store)
-        .get(version)
-        .get(partition)
-        .put(
-            "dc-1",
-            new HeartbeatTimeStampEntry(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(10), true, true));
-    leaderMap.get(store)
-        .get(version)
-        .get(partition)
-        .put(
-            "dc-1_sep",
-            new HeartbeatTimeStampEntry(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(100), true, true));
-
-    // Check valid leader lag
+    leaderTable.addReplica(
+        store,
+        version,
+        partition,
+        Arrays.asList("dc-0", "dc-1", "dc-1_sep", "dc-2"),
+        System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(20));
+    leaderTable.recordHeartbeat(
+        store,
+        version,
+        partition,
+        "dc-0",
+        System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(5),
+        true,
+        false);
+    leaderTable.recordHeartbeat(
+        store,
+        version,
+        partition,
+        "dc-1",
+        System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(10),
+        true,
+        false);
+    leaderTable.recordHeartbeat(
+        store,
+        version,
+        partition,
+        "dc-1_sep",
+        System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(100),
+        true,
+        false);
+
+    // dc-2 is unavailable
     long lag = heartbeatMonitoringService.getReplicaLeaderMaxHeartbeatLag(pcs, store, version, true);
+    Assert.assertEquals(lag, Long.MAX_VALUE);
+    // Check valid leader lag
+    leaderTable.recordHeartbeat(
+        store,
+        version,
+        partition,
+        "dc-2",
+        System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(5),
+        true,
+        false);
+    lag = heartbeatMonitoringService.getReplicaLeaderMaxHeartbeatLag(pcs, store, version, true);
     Assert.assertTrue(lag >= TimeUnit.MINUTES.toMillis(10));
     Assert.assertTrue(lag < TimeUnit.MINUTES.toMillis(11));
-    // Add unavailable region
-    leaderMap.get(store)
-        .get(version)
-        .get(partition)
-        .put(
-            "dc-2",
-            new HeartbeatTimeStampEntry(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(20), false, false));
-    lag = heartbeatMonitoringService.getReplicaLeaderMaxHeartbeatLag(pcs, store, version, true);
-    Assert.assertEquals(lag, Long.MAX_VALUE);
-    // Replica not found in leader map.
+    // Replica not found in leader table.
     lag = heartbeatMonitoringService.getReplicaLeaderMaxHeartbeatLag(pcs, store, 2, true);
     Assert.assertEquals(lag, Long.MAX_VALUE);
 
     /**
      * Validating Follower Lag
      */
-    followerMap.put(store, new VeniceConcurrentHashMap<>());
-    followerMap.get(store).put(version, new VeniceConcurrentHashMap<>());
-    followerMap.get(store).get(version).put(partition, new VeniceConcurrentHashMap<>());
-    followerMap.get(store)
-        .get(version)
-        .get(partition)
-        .put(
-            "dc-1",
-            new HeartbeatTimeStampEntry(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(10), true, true));
+    followerTable.addReplica(store, version, partition, Collections.singletonList("dc-1"), System.currentTimeMillis());
+    followerTable.recordHeartbeat(
+        store,
+        version,
+        partition,
+        "dc-1",
+        System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(10),
+        true,
+        true);
 
     // Check valid follower lag
     lag = heartbeatMonitoringService.getReplicaFollowerHeartbeatLag(pcs, store, version, true);
     Assert.assertTrue(lag >= TimeUnit.MINUTES.toMillis(10));
     // Add unrelated region
-    followerMap.get(store)
-        .get(version)
-        .get(partition)
-        .put(
-            "dc-0",
-            new HeartbeatTimeStampEntry(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(20), true, true));
+    followerTable.recordHeartbeat(
+        store,
+        version,
+        partition,
+        "dc-0",
+        System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(20),
+        true,
+        true);
     lag = heartbeatMonitoringService.getReplicaFollowerHeartbeatLag(pcs, store, version, true);
     Assert.assertTrue(lag >= TimeUnit.MINUTES.toMillis(10));
     Assert.assertTrue(lag < TimeUnit.MINUTES.toMillis(20));
-    // Set local region lag to be invalid
-    followerMap.get(store)
-        .get(version)
-        .get(partition)
-        .put(
-            "dc-1",
-            new HeartbeatTimeStampEntry(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(10), true, false));
+    // Reset the local region lag to be invalid
+    followerTable.removeReplica(store, version, partition);
+    followerTable.addReplica(store, version, partition, Collections.singletonList("dc-1"), System.currentTimeMillis());
     lag = heartbeatMonitoringService.getReplicaFollowerHeartbeatLag(pcs, store, version, true);
     Assert.assertEquals(lag, Long.MAX_VALUE);
-    // Replica not found in follower map.
+    // Replica not found in follower table.
     lag = heartbeatMonitoringService.getReplicaFollowerHeartbeatLag(pcs, store, 2, true);
     Assert.assertEquals(lag, Long.MAX_VALUE);
   }
 
   @Test
-  public void testGetHeartbeatInfoFromMap() {
+  public void testGetHeartbeatInfoFromTable() {
     HeartbeatMonitoringService heartbeatMonitoringService = mock(HeartbeatMonitoringService.class);
     doCallRealMethod().when(heartbeatMonitoringService)
-        .getHeartbeatInfoFromMap(anyMap(), anyString(), anyLong(), anyString(), anyInt(), anyBoolean());
-    Map<String, Map<Integer, Map<Integer, Map<String, HeartbeatTimeStampEntry>>>> leaderMap =
-        new VeniceConcurrentHashMap<>();
+        .getHeartbeatInfoFromTable(any(), anyString(), anyLong(), anyString(), anyInt(), anyBoolean());
+    HeartbeatTimestampTable leaderTable = new HeartbeatTimestampTable();
     String store = "testStore";
     int version = 1;
     int partition = 1;
     String region = "dc-0";
     long timestamp = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(5);
-    leaderMap.put(store, new VeniceConcurrentHashMap<>());
-    leaderMap.get(store).put(version, new VeniceConcurrentHashMap<>());
-    leaderMap.get(store).get(version).put(partition, new VeniceConcurrentHashMap<>());
-    leaderMap.get(store).get(version).get(partition).put(region, new HeartbeatTimeStampEntry(timestamp, true, true));
+    leaderTable.addReplica(store, version, partition, Collections.singletonList(region), timestamp);
+    leaderTable.recordHeartbeat(store, version, partition, region, timestamp, true, false);
     Assert.assertEquals(
         heartbeatMonitoringService
-            .getHeartbeatInfoFromMap(
-                leaderMap,
+            .getHeartbeatInfoFromTable(
+                leaderTable,
                 LeaderFollowerStateType.LEADER.name(),
                 System.currentTimeMillis(),
                 Version.composeKafkaTopic(store, version),
@@ -190,8 +193,8 @@ public class HeartbeatMonitoringServiceTest {
         1);
     Assert.assertEquals(
         heartbeatMonitoringService
-            .getHeartbeatInfoFromMap(
-                leaderMap,
+            .getHeartbeatInfoFromTable(
+                leaderTable,
                 LeaderFollowerStateType.LEADER.name(),
                 System.currentTimeMillis(),
                 Version.composeKafkaTopic(store, version),
@@ -201,8 +204,8 @@ public class HeartbeatMonitoringServiceTest {
         0);
     Assert.assertEquals(
         heartbeatMonitoringService
-            .getHeartbeatInfoFromMap(
-                leaderMap,
+            .getHeartbeatInfoFromTable(
+                leaderTable,
                 LeaderFollowerStateType.LEADER.name(),
                 System.currentTimeMillis(),
                 Version.composeKafkaTopic(store, version),
@@ -212,8 +215,8 @@ public class HeartbeatMonitoringServiceTest {
         1);
     Assert.assertEquals(
         heartbeatMonitoringService
-            .getHeartbeatInfoFromMap(
-                leaderMap,
+            .getHeartbeatInfoFromTable(
+                leaderTable,
                 LeaderFollowerStateType.LEADER.name(),
                 System.currentTimeMillis(),
                 Version.composeKafkaTopic(store, version),
@@ -223,8 +226,8 @@ public class HeartbeatMonitoringServiceTest {
         1);
     Assert.assertEquals(
         heartbeatMonitoringService
-            .getHeartbeatInfoFromMap(
-                leaderMap,
+            .getHeartbeatInfoFromTable(
+                leaderTable,
                 LeaderFollowerStateType.LEADER.name(),
                 System.currentTimeMillis(),
                 Version.composeKafkaTopic(store, version),
@@ -234,8 +237,8 @@ public class HeartbeatMonitoringServiceTest {
         0);
     Assert.assertEquals(
         heartbeatMonitoringService
-            .getHeartbeatInfoFromMap(
-                leaderMap,
+            .getHeartbeatInfoFromTable(
+                leaderTable,
                 LeaderFollowerStateType.LEADER.name(),
                 System.currentTimeMillis(),
                 Version.composeKafkaTopic(store, 2),
@@ -245,8 +248,8 @@ public class HeartbeatMonitoringServiceTest {
         0);
     Assert.assertEquals(
         heartbeatMonitoringService
-            .getHeartbeatInfoFromMap(
-                leaderMap,
+            .getHeartbeatInfoFromTable(
+                leaderTable,
                 LeaderFollowerStateType.LEADER.name(),
                 System.currentTimeMillis(),
                 Version.composeKafkaTopic(store, version),
@@ -0,0 +1,146 @@
+package com.linkedin.davinci.stats.ingestion.heartbeat;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.testng.annotations.Test;
+
+
+public class HeartbeatTimestampTableTest {
+  private static final String STORE = "store";
+  private static final List<String> REGIONS = Arrays.asList("dc-0", "dc-1");
+
+  @Test
+  public void testAddRecordRemove() {
+    HeartbeatTimestampTable table = new HeartbeatTimestampTable();
+    // Enough replicas to span several chunks
+    int partitionCount = 2000;
+    for (int partition = 0; partition < partitionCount; partition++) {
+      table.addReplica(STORE, 1, partition, REGIONS, 10L);
+    }
+    // Adding a replica twice keeps its slots
+    HeartbeatTimestampTable.Replica replica = table.getReplica(STORE, 1, 0);
+    table.addReplica(STORE, 1, 0, REGIONS, 20L);
+    assertEquals(table.getReplica(STORE, 1, 0), replica);
+    long state = table.getState(replica, 0);
+    assertEquals(HeartbeatTimestampTable.getTimestamp(state), 10L);
+    assertFalse(HeartbeatTimestampTable.isConsumedFromUpstream(state));
+    assertFalse(HeartbeatTimestampTable.isReadyToServe(state));
+
+    for (int partition = 0; partition < partitionCount; partition++) {
+      table.recordHeartbeat(STORE, 1, partition, "dc-1", 100L + partition, partition % 2 == 0, false);
+    }
+    int[] visitedSlots = { 0 };
+    table.forEach((r, region, timestamp, readyToServe, consumedFromUpstream) -> {
+      visitedSlots[0]++;
+      if (region.equals("dc-1")) {
+        assertEquals(timestamp, 100L + r.partition);
+        assertEquals(readyToServe, r.partition % 2 == 0);
+        assertTrue(consumedFromUpstream);
+      } else {
+        assertEquals(timestamp, 10L);
+        assertFalse(consumedFromUpstream);
+      }
+    });
+    assertEquals(visitedSlots[0], partitionCount * REGIONS.size());
+
+    // The heartbeats of unknown replicas are ignored
+    table.recordHeartbeat(STORE, 2, 0, "dc-0", 100L, true, false);
+    table.recordHeartbeat("other", 1, 0, "dc-0", 100L, true, false);
+    assertNull(table.getReplica(STORE, 2, 0));
+    assertFalse(table.containsStore("other"));
+
+    for (int partition = 0; partition < partitionCount; partition++) {
+      table.removeReplica(STORE, 1, partition);
+    }
+    assertFalse(table.containsStore(STORE));
+    assertTrue(table.toMap().isEmpty());
+
+    // The freed slots are reused
+    table.addReplica(STORE, 2, 0, REGIONS, 30L);
+    Set<Integer> slots = new HashSet<>();
+    for (int slot: table.getReplica(STORE, 2, 0).slots) {
+      assertTrue(slot < partitionCount * REGIONS.size());
+      slots.add(slot);
+    }
+    assertEquals(slots.size(), REGIONS.size());
+  }
+
+  @Test
+  public void testReassignedSlotsIgnoreStaleReplica() {
+    HeartbeatTimestampTable table = new HeartbeatTimestampTable();
+    table.addReplica(STORE, 1, 0, REGIONS, 10L);
+    HeartbeatTimestampTable.Replica staleReplica = table.getReplica(STORE, 1, 0);
+    table.recordHeartbeat(STORE, 1, 0, "dc-0", 100L, true, false);
+    table.removeReplica(STORE, 1, 0);
+
+    // The slots of the removed replica are reassigned to another one
+    table.addReplica(STORE, 2, 0, REGIONS, 20L);
+    HeartbeatTimestampTable.Replica replica = table.getReplica(STORE, 2, 0);
+    assertEquals(
+        new HashSet<>(Arrays.asList(replica.slots[0], replica.slots[1])),
+        new HashSet<>(Arrays.asList(staleReplica.slots[0], staleReplica.slots[1])));
+    // What the previous owner recorded does not leak into the new one
+    for (int i = 0; i < REGIONS.size(); i++) {
+      long state = table.getState(replica, i);
+      assertEquals(HeartbeatTimestampTable.getTimestamp(state), 20L);
+      assertFalse(HeartbeatTimestampTable.isConsumedFromUpstream(state));
+    }
+
+    table.recordHeartbeat(STORE, 2, 0, "dc-0", 200L, true, false);
+    // The previous owner no longer sees the state of the slots
+    for (int i = 0; i < REGIONS.size(); i++) {
+      assertFalse(HeartbeatTimestampTable.isConsumedFromUpstream(table.getState(staleReplica, i)));
+    }
+    int[] visitedSlots = { 0 };
+    table.forEach((r, region, timestamp, readyToServe, consumedFromUpstream) -> {
+      visitedSlots[0]++;
+      assertEquals(r, replica);
+      assertEquals(consumedFromUpstream, region.equals("dc-0"));
+      assertEquals(timestamp, region.equals("dc-0") ? 200L : 20L);
+    });
+    assertEquals(visitedSlots[0], REGIONS.size());
+  }
+
+  @Test
+  public void testRetainHighestTimestamp() {
+    HeartbeatTimestampTable table = new HeartbeatTimestampTable();
+    table.addReplica(STORE, 1, 0, Collections.singletonList("dc-0"), 1000L);
+    // The initial timestamp is not a consumed one, so an older heartbeat replaces it
+    table.recordHeartbeat(STORE, 1, 0, "dc-0", 500L, true, true);
+    assertEquals(table.toMap().get(STORE).get(1).get(0).get("dc-0").timestamp, 500L);
+    table.recordHeartbeat(STORE, 1, 0, "dc-0", 400L, true, true);
+    assertEquals(table.toMap().get(STORE).get(1).get(0).get("dc-0").timestamp, 500L);
+    table.recordHeartbeat(STORE, 1, 0, "dc-0", 600L, false, true);
+    HeartbeatTimeStampEntry entry = table.toMap().get(STORE).get(1).get(0).get("dc-0");
+    assertEquals(entry.timestamp, 600L);
+    assertFalse(entry.readyToServe);
+    // Unless asked to retain the highest one, any heartbeat replaces the previous one
+    table.recordHeartbeat(STORE, 1, 0, "dc-0", 400L, true, false);
+    assertEquals(table.toMap().get(STORE).get(1).get(0).get("dc-0").timestamp, 400L);
+  }
+
+  @Test
+  public void testHeartbeatFromNewRegion() {
+    HeartbeatTimestampTable table = new HeartbeatTimestampTable();
+    table.addReplica(STORE, 1, 3, Collections.singletonList("dc-0"), 1000L);
+    table.recordHeartbeat(STORE, 1, 3, "dc-1", 2000L, true, true);
+    Map<String, HeartbeatTimeStampEntry> regions = table.toMap().get(STORE).get(1).get(3);
+    assertEquals(regions.size(), 2);
+    assertNotNull(regions.get("dc-1"));
+    assertEquals(regions.get("dc-1").timestamp, 2000L);
+    assertEquals(table.getReplica(STORE, 1, 3).getRegionIndex("dc-1"), 1);
+    // Partitions below the highest one which are not hosted are absent
+    assertNull(table.getReplica(STORE, 1, 0));
+    assertNull(table.getReplica(STORE, 1, 4));
+  }
+}
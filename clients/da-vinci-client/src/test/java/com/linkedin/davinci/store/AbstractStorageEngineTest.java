@@ -286,6 +286,32 @@ public abstract class AbstractStorageEngineTest<ASE extends AbstractStorageEngin
     testStoreEngine.dropPartition(newPartitionId);
   }
 
+  @Test
+  public void testPartitionWriteGenerationAdvancesOnWrites() {
+    int newPartitionId = partitionId + 2;
+    testStoreEngine.addStoragePartition(newPartitionId);
+    byte[] key = "key".getBytes();
+    testStoreEngine.enableWriteGenerationTracking();
+    long generation = testStoreEngine.getPartitionWriteGeneration(newPartitionId);
+    Assert.assertTrue(generation >= 0);
+    // Reads do not advance the write generation
+    testStoreEngine.get(newPartitionId, key);
+    Assert.assertEquals(testStoreEngine.getPartitionWriteGeneration(newPartitionId), generation);
+
+    testStoreEngine.put(newPartitionId, key, "value".getBytes());
+    long generationAfterPut = testStoreEngine.getPartitionWriteGeneration(newPartitionId);
+    Assert.assertTrue(generationAfterPut > generation);
+    testStoreEngine.delete(newPartitionId, key);
+    long generationAfterDelete = testStoreEngine.getPartitionWriteGeneration(newPartitionId);
+    Assert.assertTrue(generationAfterDelete > generationAfterPut);
+
+    // The generation keeps increasing when the partition gets dropped and added back
+    testStoreEngine.dropPartition(newPartitionId);
+    testStoreEngine.addStoragePartition(newPartitionId);
+    Assert.assertTrue(testStoreEngine.getPartitionWriteGeneration(newPartitionId) > generationAfterDelete);
+    testStoreEngine.dropPartition(newPartitionId);
+  }
+
   @Test
   public void testIsMetadataPartition() {
     Assert.assertTrue(StorageService.isMetadataPartition(AbstractStorageEngine.METADATA_PARTITION_ID));
@@ -301,6 +301,31 @@ public abstract class AbstractStoreTest {
     }
   }
 
+  public void testMultiGet() {
+    int partitionId = RandomGenUtils.getRandomIntWithin(numOfPartitions);
+    int numKeys = 10;
+    List<byte[]> keys = new ArrayList<>(numKeys);
+    List<byte[]> values = new ArrayList<>(numKeys);
+    for (int i = 0; i < numKeys; i++) {
+      byte[] key = RandomGenUtils.getRandomBytes(keySize);
+      keys.add(key);
+      // Leave every other key absent to verify that misses are reported in place
+      if (i % 2 == 0) {
+        byte[] value = RandomGenUtils.getRandomBytes(valueSize);
+        doPut(partitionId, key, value);
+        values.add(value);
+      } else {
+        values.add(null);
+      }
+    }
+
+    List<byte[]> foundValues = testStore.multiGet(partitionId, keys);
+    Assert.assertEquals(foundValues.size(), numKeys);
+    for (int i = 0; i < numKeys; i++) {
+      Assert.assertEquals(foundValues.get(i), values.get(i), "Unexpected value for key index: " + i);
+    }
+  }
+
   public void testUpdate() {
     byte[] key = RandomGenUtils.getRandomBytes(keySize);
     byte[] value = RandomGenUtils.getRandomBytes(valueSize);
@@ -0,0 +1,257 @@
+package com.linkedin.davinci.store.memory;
+
+import com.linkedin.davinci.callback.BytesStreamingCallback;
+import com.linkedin.davinci.store.StoragePartitionConfig;
+import com.linkedin.venice.utils.Utils;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+
+public class HashIndexStoragePartitionTest {
+  private static final String STORE_VERSION_NAME = "test_store_v1";
+  private static final int PARTITION_ID = 3;
+  private static final int PAGE_SIZE = 4096;
+
+  private final ExecutorService snapshotExecutor = Executors.newSingleThreadExecutor();
+
+  private static byte[] bytes(String s) {
+    return s.getBytes(StandardCharsets.UTF_8);
+  }
+
+  @AfterClass
+  public void cleanUp() {
+    snapshotExecutor.shutdownNow();
+  }
+
+  private HashIndexStoragePartition openPartition(File storeDir, long minLogBytesForSnapshot) {
+    return new HashIndexStoragePartition(
+        new StoragePartitionConfig(STORE_VERSION_NAME, PARTITION_ID),
+        storeDir,
+        snapshotExecutor,
+        PAGE_SIZE,
+        minLogBytesForSnapshot);
+  }
+
+  @Test
+  public void testPutGetDelete() {
+    File storeDir = Utils.getTempDataDirectory();
+    HashIndexStoragePartition partition = openPartition(storeDir, Long.MAX_VALUE);
+    try {
+      Assert.assertNull(partition.get(bytes("key")));
+      partition.put(bytes("key"), bytes("value"));
+      Assert.assertEquals(partition.get(bytes("key")), bytes("value"));
+      Assert.assertEquals(partition.get(ByteBuffer.wrap(bytes("key"))), bytes("value"));
+
+      partition.put(bytes("key"), ByteBuffer.wrap(bytes("__new_value__"), 2, 9));
+      Assert.assertEquals(partition.get(bytes("key")), bytes("new_value"));
+
+      partition.delete(bytes("key"));
+      Assert.assertNull(partition.get(bytes("key")));
+      // Deleting a missing key is a no-op
+      partition.delete(bytes("missing"));
+    } finally {
+      partition.drop();
+    }
+  }
+
+  @Test
+  public void testManyRecordsAcrossResizesAndCompactions() {
+    File storeDir = Utils.getTempDataDirectory();
+    HashIndexStoragePartition partition = openPartition(storeDir, Long.MAX_VALUE);
+    try {
+      int recordCount = 20000;
+      for (int round = 0; round < 3; round++) {
+        for (int i = 0; i < recordCount; i++) {
+          partition.put(bytes("key_" + i), bytes("value_" + i + "_" + round));
+        }
+      }
+      for (int i = 0; i < recordCount; i += 2) {
+        partition.delete(bytes("key_" + i));
+      }
+      for (int i = 0; i < recordCount; i++) {
+        byte[] value = partition.get(bytes("key_" + i));
+        if (i % 2 == 0) {
+          Assert.assertNull(value);
+        } else {
+          Assert.assertEquals(value, bytes("value_" + i + "_2"));
+        }
+      }
+
+      Map<String, String> prefixedRecords = new HashMap<>();
+      partition.getByKeyPrefix(bytes("key_1"), new BytesStreamingCallback() {
+        @Override
+        public void onRecordReceived(byte[] key, byte[] value) {
+          prefixedRecords
+              .put(new String(key, StandardCharsets.UTF_8), new String(value, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void onCompletion() {
+        }
+      });
+      // key_1, key_11 ... key_19999, but only the odd ones
+      Assert.assertEquals(prefixedRecords.size(), 1 + 5 + 50 + 500 + 5000);
+      Assert.assertEquals(prefixedRecords.get("key_1357"), "value_1357_2");
+    } finally {
+      partition.drop();
+    }
+  }
+
+  @Test
+  public void testRestoreFromLogAndSnapshot() {
+    File storeDir = Utils.getTempDataDirectory();
+    // Take a snapshot on every sync with a non empty log
+    HashIndexStoragePartition partition = openPartition(storeDir, 0);
+    partition.put(bytes("a"), bytes("1"));
+    partition.put(bytes("b"), bytes("2"));
+    partition.sync();
+    Assert.assertEquals(partition.getGeneration(), 1);
+    partition.put(bytes("a"), bytes("3"));
+    partition.delete(bytes("b"));
+    partition.put(bytes("c"), bytes("4"));
+    partition.close();
+
+    // The snapshot has a and b, and the log has the later updates
+    HashIndexStoragePartition restoredPartition = openPartition(storeDir, Long.MAX_VALUE);
+    try {
+      Assert.assertEquals(restoredPartition.getGeneration(), 1);
+      Assert.assertEquals(restoredPartition.get(bytes("a")), bytes("3"));
+      Assert.assertNull(restoredPartition.get(bytes("b")));
+      Assert.assertEquals(restoredPartition.get(bytes("c")), bytes("4"));
+    } finally {
+      restoredPartition.drop();
+    }
+    Assert.assertEquals(storeDir.list().length, 0);
+  }
+
+  @Test
+  public void testTornLogRecordIsDropped() throws Exception {
+    File storeDir = Utils.getTempDataDirectory();
+    HashIndexStoragePartition partition = openPartition(storeDir, Long.MAX_VALUE);
+    partition.put(bytes("a"), bytes("1"));
+    partition.put(bytes("b"), bytes("2"));
+    partition.close();
+
+    // Cut the last record in the middle of its value
+    File logFile = new File(storeDir, PARTITION_ID + HashIndexStoragePartition.LOG_FILE_SUFFIX);
+    try (RandomAccessFile file = new RandomAccessFile(logFile, "rw")) {
+      file.setLength(file.length() - 1);
+    }
+
+    partition = openPartition(storeDir, Long.MAX_VALUE);
+    try {
+      Assert.assertEquals(partition.get(bytes("a")), bytes("1"));
+      Assert.assertNull(partition.get(bytes("b")));
+      // New writes go after the last complete record
+      partition.put(bytes("c"), bytes("3"));
+      partition.close();
+      partition = openPartition(storeDir, Long.MAX_VALUE);
+      Assert.assertEquals(partition.get(bytes("a")), bytes("1"));
+      Assert.assertEquals(partition.get(bytes("c")), bytes("3"));
+    } finally {
+      partition.drop();
+    }
+  }
+
+  @Test
+  public void testLogOfPreviousGenerationIsNotReplayed() throws Exception {
+    File storeDir = Utils.getTempDataDirectory();
+    HashIndexStoragePartition partition = openPartition(storeDir, Long.MAX_VALUE);
+    partition.put(bytes("a"), bytes("1"));
+    partition.put(bytes("a"), bytes("2"));
+    partition.sync();
+    File logFile = new File(storeDir, PARTITION_ID + HashIndexStoragePartition.LOG_FILE_SUFFIX);
+    byte[] staleLog = Files.readAllBytes(logFile.toPath());
+    partition.close();
+
+    // Take a snapshot, then put back the log of the previous generation, as if the process died in between
+    partition = openPartition(storeDir, 0);
+    partition.put(bytes("a"), bytes("3"));
+    partition.sync();
+    partition.close();
+    Files.write(logFile.toPath(), staleLog);
+
+    partition = openPartition(storeDir, Long.MAX_VALUE);
+    try {
+      Assert.assertEquals(partition.getGeneration(), 1);
+      Assert.assertEquals(partition.get(bytes("a")), bytes("3"));
+    } finally {
+      partition.drop();
+    }
+  }
+
+  @Test
+  public void testPreviousLogIsReplayedWhenSnapshotIsMissing() throws Exception {
+    File storeDir = Utils.getTempDataDirectory();
+    HashIndexStoragePartition partition = openPartition(storeDir, Long.MAX_VALUE);
+    partition.put(bytes("a"), bytes("1"));
+    partition.put(bytes("b"), bytes("2"));
+    partition.sync();
+    partition.close();
+
+    // Set the log aside, as if the process died after starting a new log but before the snapshot was complete
+    File logFile = new File(storeDir, PARTITION_ID + HashIndexStoragePartition.LOG_FILE_SUFFIX);
+    File previousLogFile = new File(storeDir, PARTITION_ID + HashIndexStoragePartition.PREVIOUS_LOG_FILE_SUFFIX);
+    Files.move(logFile.toPath(), previousLogFile.toPath());
+
+    partition = openPartition(storeDir, Long.MAX_VALUE);
+    try {
+      Assert.assertEquals(partition.get(bytes("a")), bytes("1"));
+      Assert.assertEquals(partition.get(bytes("b")), bytes("2"));
+      // The previous log got folded into a snapshot right away
+      Assert.assertFalse(previousLogFile.exists());
+      Assert.assertTrue(new File(storeDir, PARTITION_ID + HashIndexStoragePartition.SNAPSHOT_FILE_SUFFIX).exists());
+      partition.close();
+      partition = openPartition(storeDir, Long.MAX_VALUE);
+      Assert.assertEquals(partition.get(bytes("a")), bytes("1"));
+      Assert.assertEquals(partition.get(bytes("b")), bytes("2"));
+    } finally {
+      partition.drop();
+    }
+  }
+
+  @Test
+  public void testSnapshotsWhileWriting() {
+    File storeDir = Utils.getTempDataDirectory();
+    // Start a new log and snapshot on every sync, while the writes go on
+    HashIndexStoragePartition partition = openPartition(storeDir, 0);
+    int recordCount = 20000;
+    for (int i = 0; i < recordCount; i++) {
+      partition.put(bytes("key_" + i), bytes("value_" + i));
+      if (i % 2 == 1) {
+        partition.delete(bytes("key_" + (i - 1)));
+      }
+      if (i % 1000 == 0) {
+        partition.sync();
+      }
+    }
+    partition.sync();
+    Assert.assertTrue(partition.getGeneration() >= 1);
+    partition.close();
+
+    partition = openPartition(storeDir, Long.MAX_VALUE);
+    try {
+      for (int i = 0; i < recordCount; i++) {
+        byte[] value = partition.get(bytes("key_" + i));
+        if (i % 2 == 0) {
+          Assert.assertNull(value);
+        } else {
+          Assert.assertEquals(value, bytes("value_" + i));
+        }
+      }
+    } finally {
+      partition.drop();
+    }
+    Assert.assertEquals(storeDir.list().length, 0);
+  }
+}
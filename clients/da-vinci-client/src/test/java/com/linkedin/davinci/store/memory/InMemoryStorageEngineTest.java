@@ -85,6 +85,11 @@ public class InMemoryStorageEngineTest extends AbstractStorageEngineTest {
     super.testDelete();
   }
 
+  @Test
+  public void testMultiGet() {
+    super.testMultiGet();
+  }
+
   @Test
   public void testUpdate() {
     super.testUpdate();
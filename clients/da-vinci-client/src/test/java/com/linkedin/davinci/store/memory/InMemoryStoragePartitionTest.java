@@ -1,6 +1,10 @@
 package com.linkedin.davinci.store.memory;
 
+import com.linkedin.davinci.callback.BytesStreamingCallback;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -8,6 +12,12 @@ import org.testng.annotations.Test;
 public class InMemoryStoragePartitionTest {
   private static final int PARTITION_NUM = 0;
   private static final String KEY = "chiave";
+  private static final int SLAB_SIZE = 1024;
+  private static final int RECORD_HEADER_SIZE = 8;
+
+  private static byte[] bytes(String s) {
+    return s.getBytes(StandardCharsets.UTF_8);
+  }
 
   @Test
   public void testGet() {
@@ -17,4 +27,80 @@ public class InMemoryStoragePartitionTest {
     storagePartition.put(KEY.getBytes(), keyBuffer);
     Assert.assertNotNull(storagePartition.get(keyBuffer));
   }
+
+  @Test
+  public void testPartitionSizeIsExact() {
+    InMemoryStoragePartition storagePartition = new InMemoryStoragePartition(PARTITION_NUM, SLAB_SIZE);
+    Assert.assertEquals(storagePartition.getPartitionSizeInBytes(), 0);
+    storagePartition.put(bytes("a"), bytes("123"));
+    storagePartition.put(bytes("b"), ByteBuffer.wrap(bytes("__45__"), 2, 2));
+    Assert.assertEquals(storagePartition.getPartitionSizeInBytes(), 2 * RECORD_HEADER_SIZE + 1 + 3 + 1 + 2);
+    Assert.assertEquals(storagePartition.get(bytes("b")), bytes("45"));
+
+    // Overwriting or deleting a record only counts what is left
+    storagePartition.put(bytes("a"), bytes("1"));
+    storagePartition.delete(bytes("b"));
+    storagePartition.delete(bytes("missing"));
+    Assert.assertEquals(storagePartition.getPartitionSizeInBytes(), RECORD_HEADER_SIZE + 1 + 1);
+
+    storagePartition.drop();
+    Assert.assertEquals(storagePartition.getPartitionSizeInBytes(), 0);
+    Assert.assertNull(storagePartition.get(bytes("a")));
+  }
+
+  @Test
+  public void testRecordsAcrossSlabs() {
+    InMemoryStoragePartition storagePartition = new InMemoryStoragePartition(PARTITION_NUM, SLAB_SIZE);
+    int recordCount = 5000;
+    for (int round = 0; round < 10; round++) {
+      for (int i = 0; i < recordCount; i++) {
+        storagePartition.put(bytes("key_" + i), bytes("value_" + i + "_" + round));
+      }
+    }
+    // Bigger than a slab
+    byte[] bigValue = new byte[3 * SLAB_SIZE];
+    bigValue[bigValue.length - 1] = 1;
+    storagePartition.put(bytes("big"), bigValue);
+
+    for (int i = 0; i < recordCount; i++) {
+      Assert.assertEquals(storagePartition.get(bytes("key_" + i)), bytes("value_" + i + "_9"));
+    }
+    Assert.assertEquals(storagePartition.get(bytes("big")), bigValue);
+    // The garbage of the earlier rounds has been compacted away, instead of taking 9 times the live records
+    Assert.assertTrue(storagePartition.getAllocatedSizeInBytes() < 4 * storagePartition.getPartitionSizeInBytes());
+  }
+
+  @Test
+  public void testGetByKeyPrefixIsSorted() {
+    InMemoryStoragePartition storagePartition = new InMemoryStoragePartition(PARTITION_NUM, SLAB_SIZE);
+    byte[][] keys = { { 1, 2 }, { 1 }, { 1, (byte) 0xFF }, { 1, 0 }, { 2 }, { 1, 2, 3 }, { 0, 1 } };
+    for (byte[] key: keys) {
+      storagePartition.put(key, key);
+    }
+
+    List<byte[]> prefixedKeys = new ArrayList<>();
+    BytesStreamingCallback callback = new BytesStreamingCallback() {
+      @Override
+      public void onRecordReceived(byte[] key, byte[] value) {
+        Assert.assertEquals(value, key);
+        prefixedKeys.add(key);
+      }
+
+      @Override
+      public void onCompletion() {
+      }
+    };
+    storagePartition.getByKeyPrefix(new byte[] { 1 }, callback);
+    // Unsigned byte order, with shorter keys first
+    Assert.assertEquals(
+        prefixedKeys.toArray(),
+        new Object[] { new byte[] { 1 }, new byte[] { 1, 0 }, new byte[] { 1, 2 }, new byte[] { 1, 2, 3 },
+            new byte[] { 1, (byte) 0xFF } });
+
+    prefixedKeys.clear();
+    storagePartition.getByKeyPrefix(null, callback);
+    Assert.assertEquals(prefixedKeys.size(), keys.length);
+    Assert.assertEquals(prefixedKeys.get(0), new byte[] { 0, 1 });
+    Assert.assertEquals(prefixedKeys.get(keys.length - 1), new byte[] { 2 });
+  }
 }
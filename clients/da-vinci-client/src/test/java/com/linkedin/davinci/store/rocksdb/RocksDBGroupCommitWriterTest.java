@@ -0,0 +1,223 @@
+package com.linkedin.davinci.store.rocksdb;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.linkedin.davinci.stats.RocksDBGroupCommitStats;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteBatch;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class RocksDBGroupCommitWriterTest {
+  private interface WriteBatchConsumer {
+    void accept(WriteBatch writeBatch) throws RocksDBException;
+  }
+
+  /**
+   * Applies the direct writes as batches of one, so that the tests see every write through {@link WriteBatchConsumer}.
+   */
+  private static RocksDBGroupCommitWriter.BatchCommitter committer(WriteBatchConsumer consumer) {
+    return new RocksDBGroupCommitWriter.BatchCommitter() {
+      @Override
+      public void commit(WriteBatch writeBatch) throws RocksDBException {
+        consumer.accept(writeBatch);
+      }
+
+      @Override
+      public void put(byte[] key, ByteBuffer valueBuffer) throws RocksDBException {
+        try (WriteBatch writeBatch = new WriteBatch()) {
+          writeBatch.put(key, Arrays.copyOfRange(valueBuffer.array(), valueBuffer.position(), valueBuffer.limit()));
+          consumer.accept(writeBatch);
+        }
+      }
+    };
+  }
+
+  @Test
+  public void testConcurrentWritesAreAllCommitted() throws Exception {
+    AtomicInteger committedWriteCount = new AtomicInteger();
+    AtomicInteger maxObservedBatchSize = new AtomicInteger();
+    int maxBatchSize = 4;
+    RocksDBGroupCommitStats stats = mock(RocksDBGroupCommitStats.class);
+    RocksDBGroupCommitWriter writer = new RocksDBGroupCommitWriter(committer(writeBatch -> {
+      committedWriteCount.addAndGet(writeBatch.count());
+      maxObservedBatchSize.accumulateAndGet(writeBatch.count(), Math::max);
+    }), maxBatchSize, stats);
+
+    int threadCount = 8;
+    int writeCountPerThread = 1000;
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      List<Future<?>> futures = new ArrayList<>(threadCount);
+      for (int t = 0; t < threadCount; ++t) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < writeCountPerThread; ++i) {
+            writer.put(("key_" + i).getBytes(), ByteBuffer.wrap(("value_" + i).getBytes()));
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future: futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+      writer.close();
+    }
+
+    Assert.assertEquals(committedWriteCount.get(), threadCount * writeCountPerThread);
+    Assert.assertTrue(maxObservedBatchSize.get() <= maxBatchSize);
+    verify(stats, atLeastOnce()).recordBatchSize(anyInt());
+    verify(stats, atLeastOnce()).recordCommitLatency(anyDouble());
+  }
+
+  @Test
+  public void testUncontendedWritesAreAppliedDirectly() throws RocksDBException {
+    RocksDBGroupCommitWriter.BatchCommitter committer = mock(RocksDBGroupCommitWriter.BatchCommitter.class);
+    RocksDBGroupCommitStats stats = mock(RocksDBGroupCommitStats.class);
+    RocksDBGroupCommitWriter writer = new RocksDBGroupCommitWriter(committer, 10, stats);
+    byte[] key = "key".getBytes();
+    ByteBuffer valueBuffer = ByteBuffer.wrap("__value__".getBytes(), 2, 5);
+    writer.put(key, valueBuffer);
+    writer.close();
+
+    // The value slice is handed over as is, with no copy, and nothing goes through a group.
+    verify(committer).put(key, valueBuffer);
+    verify(committer, never()).commit(any());
+    verify(stats, never()).recordBatchSize(anyInt());
+  }
+
+  @Test
+  public void testGroupedPutWithPartialBuffer() throws Exception {
+    CountDownLatch directPutStarted = new CountDownLatch(1);
+    CountDownLatch releaseDirectPut = new CountDownLatch(1);
+    List<Integer> dataSizes = new ArrayList<>();
+    RocksDBGroupCommitWriter writer = new RocksDBGroupCommitWriter(new RocksDBGroupCommitWriter.BatchCommitter() {
+      @Override
+      public void commit(WriteBatch writeBatch) throws RocksDBException {
+        dataSizes.add(writeBatch.getDataSize());
+      }
+
+      @Override
+      public void put(byte[] key, ByteBuffer valueBuffer) {
+        directPutStarted.countDown();
+        try {
+          releaseDirectPut.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }, 1, null);
+    byte[] key = "key".getBytes();
+    byte[] value = "value".getBytes();
+    byte[] paddedValue = "__value__".getBytes();
+
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      // The first write holds the commit lock, so that the next ones have to go through groups, of one write each.
+      Future<?> blockingWrite = executor.submit(() -> {
+        writer.put(key, ByteBuffer.wrap(value));
+        return null;
+      });
+      Assert.assertTrue(directPutStarted.await(10, TimeUnit.SECONDS));
+      Future<?> wholeWrite = executor.submit(() -> {
+        writer.put(key, ByteBuffer.wrap(value));
+        return null;
+      });
+      Future<?> partialWrite = executor.submit(() -> {
+        writer.put(key, ByteBuffer.wrap(paddedValue, 2, value.length));
+        return null;
+      });
+      Thread.sleep(500);
+      releaseDirectPut.countDown();
+      blockingWrite.get(10, TimeUnit.SECONDS);
+      wholeWrite.get(10, TimeUnit.SECONDS);
+      partialWrite.get(10, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+      writer.close();
+    }
+
+    // Both batches should only contain the actual value bytes.
+    Assert.assertEquals(dataSizes.size(), 2);
+    Assert.assertEquals(dataSizes.get(0), dataSizes.get(1));
+  }
+
+  @Test
+  public void testCommitFailureIsPropagatedToTheWholeGroup() throws Exception {
+    CountDownLatch firstCommitStarted = new CountDownLatch(1);
+    CountDownLatch releaseFirstCommit = new CountDownLatch(1);
+    AtomicInteger commitCount = new AtomicInteger();
+    RocksDBGroupCommitStats stats = mock(RocksDBGroupCommitStats.class);
+    RocksDBGroupCommitWriter writer = new RocksDBGroupCommitWriter(committer(writeBatch -> {
+      if (commitCount.incrementAndGet() == 1) {
+        firstCommitStarted.countDown();
+        try {
+          releaseFirstCommit.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return;
+      }
+      throw new RocksDBException("Injected failure");
+    }), 10, stats);
+
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      // The first write is applied directly and gets blocked inside it, holding the commit lock.
+      Future<?> firstWrite = executor.submit(() -> {
+        writer.put("key_0".getBytes(), ByteBuffer.wrap("value".getBytes()));
+        return null;
+      });
+      Assert.assertTrue(firstCommitStarted.await(10, TimeUnit.SECONDS));
+      // The following two writes queue up behind it, and they will be committed together in the failing group.
+      Future<?> secondWrite = executor.submit(() -> {
+        writer.put("key_1".getBytes(), ByteBuffer.wrap("value".getBytes()));
+        return null;
+      });
+      Future<?> thirdWrite = executor.submit(() -> {
+        writer.put("key_2".getBytes(), ByteBuffer.wrap("value".getBytes()));
+        return null;
+      });
+      Thread.sleep(500);
+      releaseFirstCommit.countDown();
+
+      firstWrite.get(10, TimeUnit.SECONDS);
+      for (Future<?> future: new Future<?>[] { secondWrite, thirdWrite }) {
+        try {
+          future.get(10, TimeUnit.SECONDS);
+          Assert.fail("The commit failure should be propagated to every write of the group");
+        } catch (ExecutionException e) {
+          Assert.assertTrue(e.getCause() instanceof RocksDBException);
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+      writer.close();
+    }
+    verify(stats, atLeastOnce()).recordCommitError();
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testInvalidMaxBatchSize() {
+    new RocksDBGroupCommitWriter(committer(writeBatch -> {}), 0, null);
+  }
+}
@@ -1,5 +1,6 @@
 package com.linkedin.davinci.store.rocksdb;
 
+import com.linkedin.venice.exceptions.VeniceChecksumException;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.kafka.validation.checksum.CheckSum;
 import com.linkedin.venice.kafka.validation.checksum.CheckSumType;
@@ -15,6 +16,8 @@ import org.apache.commons.io.FileUtils;
 import org.rocksdb.EnvOptions;
 import org.rocksdb.Options;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileReader;
+import org.rocksdb.SstFileWriter;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -385,6 +388,144 @@ public class RocksDBSstFileWriterTest {
     }
   }
 
+  @Test
+  public void testImportSSTFileAndRestartFromCheckpoint() throws IOException, RocksDBException {
+    String stagedSSTFilePath = createStagedSstFile(3);
+    RocksDBSstFileWriter rocksDBSstFileWriter = null;
+    try {
+      rocksDBSstFileWriter = new RocksDBSstFileWriter(
+          STORE_NAME,
+          PARTITION_ID,
+          "",
+          new EnvOptions(),
+          new Options(),
+          DB_DIR,
+          IS_RMD,
+          ROCKS_DB_SERVER_CONFIG);
+      rocksDBSstFileWriter.open(new HashMap<>(), Optional.empty());
+      rocksDBSstFileWriter.prepareSSTFileImport(stagedSSTFilePath, 3, getStagedChecksum(3));
+      // The prepared file sits next to the current SST file "0" without taking its place yet
+      Assert.assertEquals(getNumberOfFilesInTempDirectory(), 2);
+      Assert.assertFalse(new File(DB_DIR + "/sst_file_1").exists());
+
+      rocksDBSstFileWriter.importSSTFile(3);
+      // The imported file takes the place of "0", and "1" is opened as the new current file
+      Assert.assertEquals(getNumberOfFilesInTempDirectory(), 2);
+      Assert.assertEquals(getNumEntries(DB_DIR + "/sst_file_0"), 3);
+      Map<String, String> checkpointedInfo = rocksDBSstFileWriter.sync();
+      Assert.assertEquals(checkpointedInfo.get(rocksDBSstFileWriter.getLastCheckPointedSSTFileNum()), "0");
+      rocksDBSstFileWriter.close();
+
+      // Restart from the checkpoint, which keeps the imported file
+      rocksDBSstFileWriter = new RocksDBSstFileWriter(
+          STORE_NAME,
+          PARTITION_ID,
+          "",
+          new EnvOptions(),
+          new Options(),
+          DB_DIR,
+          IS_RMD,
+          ROCKS_DB_SERVER_CONFIG);
+      rocksDBSstFileWriter.open(checkpointedInfo, Optional.empty());
+      Assert.assertEquals(getNumEntries(DB_DIR + "/sst_file_0"), 3);
+
+      // An import which isn't checkpointed is dropped on restart, to be imported again
+      rocksDBSstFileWriter.prepareSSTFileImport(stagedSSTFilePath, 3, null);
+      rocksDBSstFileWriter.importSSTFile(3);
+      Assert.assertTrue(new File(DB_DIR + "/sst_file_1").exists());
+      rocksDBSstFileWriter.close();
+      rocksDBSstFileWriter = new RocksDBSstFileWriter(
+          STORE_NAME,
+          PARTITION_ID,
+          "",
+          new EnvOptions(),
+          new Options(),
+          DB_DIR,
+          IS_RMD,
+          ROCKS_DB_SERVER_CONFIG);
+      Assert.assertTrue(rocksDBSstFileWriter.checkDatabaseIntegrity(checkpointedInfo));
+      Assert.assertEquals(getNumberOfFilesInTempDirectory(), 1);
+      Assert.assertEquals(getNumEntries(DB_DIR + "/sst_file_0"), 3);
+    } finally {
+      if (rocksDBSstFileWriter != null) {
+        rocksDBSstFileWriter.close();
+      }
+      deleteTempDatabaseDir();
+      FileUtils.deleteDirectory(new File(stagedSSTFilePath).getParentFile());
+    }
+  }
+
+  @Test
+  public void testImportSSTFileFailures() throws IOException, RocksDBException {
+    String stagedSSTFilePath = createStagedSstFile(3);
+    RocksDBSstFileWriter rocksDBSstFileWriter = null;
+    try {
+      rocksDBSstFileWriter = new RocksDBSstFileWriter(
+          STORE_NAME,
+          PARTITION_ID,
+          "",
+          new EnvOptions(),
+          new Options(),
+          DB_DIR,
+          IS_RMD,
+          ROCKS_DB_SERVER_CONFIG);
+      rocksDBSstFileWriter.open(new HashMap<>(), Optional.empty());
+      RocksDBSstFileWriter writer = rocksDBSstFileWriter;
+
+      // Nothing was prepared
+      Assert.assertThrows(VeniceException.class, () -> writer.importSSTFile(3));
+      // The record count or the checksum don't match
+      Assert.assertThrows(
+          VeniceChecksumException.class,
+          () -> writer.prepareSSTFileImport(stagedSSTFilePath, 2, getStagedChecksum(3)));
+      Assert.assertThrows(
+          VeniceChecksumException.class,
+          () -> writer.prepareSSTFileImport(stagedSSTFilePath, 3, getStagedChecksum(2)));
+      // The file can't be imported while records are being written into the current SST file
+      writer.prepareSSTFileImport(stagedSSTFilePath, 3, getStagedChecksum(3));
+      writer.put("key".getBytes(), ByteBuffer.wrap("value".getBytes()));
+      Assert.assertThrows(VeniceException.class, () -> writer.importSSTFile(3));
+    } finally {
+      if (rocksDBSstFileWriter != null) {
+        rocksDBSstFileWriter.close();
+      }
+      deleteTempDatabaseDir();
+      FileUtils.deleteDirectory(new File(stagedSSTFilePath).getParentFile());
+    }
+  }
+
+  private String createStagedSstFile(int numberOfRecords) throws RocksDBException {
+    File stagingDir = new File(Utils.getUniqueTempPath("sstStagingTest"));
+    if (!stagingDir.mkdirs()) {
+      throw new VeniceException("Failed to mkdirs for path: " + stagingDir.getPath());
+    }
+    String stagedSSTFilePath = stagingDir.getPath() + "/data.sst";
+    try (SstFileWriter sstFileWriter = new SstFileWriter(new EnvOptions(), new Options())) {
+      sstFileWriter.open(stagedSSTFilePath);
+      for (int i = 0; i < numberOfRecords; i++) {
+        sstFileWriter.put(("key_" + i).getBytes(), ("value_" + i).getBytes());
+      }
+      sstFileWriter.finish();
+    }
+    return stagedSSTFilePath;
+  }
+
+  private byte[] getStagedChecksum(int numberOfRecords) {
+    CheckSum checkSum = CheckSum.getInstance(CheckSumType.MD5);
+    for (int i = 0; i < numberOfRecords; i++) {
+      checkSum.update(("key_" + i).getBytes());
+      checkSum.update(("value_" + i).getBytes());
+    }
+    return checkSum.getCheckSum();
+  }
+
+  private long getNumEntries(String sstFilePath) throws RocksDBException {
+    try (SstFileReader sstFileReader = new SstFileReader(new Options())) {
+      sstFileReader.open(sstFilePath);
+      return sstFileReader.getTableProperties().getNumEntries();
+    }
+  }
+
   private String getTempDatabaseDir() {
     File storeDir = new File(DB_DIR).getAbsoluteFile();
     if (!storeDir.mkdirs()) {
@@ -195,6 +195,11 @@ public class RocksDBStorageEngineTest extends AbstractStorageEngineTest<RocksDBS
     super.testDelete();
   }
 
+  @Test
+  public void testMultiGet() {
+    super.testMultiGet();
+  }
+
   @Test
   public void testUpdate() {
     super.testUpdate();
@@ -4,6 +4,8 @@ import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_BLO
 import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_BLOB_FILE_SIZE_IN_BYTES;
 import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_BLOB_FILE_STARTING_LEVEL;
 import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_BLOCK_CACHE_IMPLEMENTATION;
+import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_GROUP_COMMIT_ENABLED;
+import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_GROUP_COMMIT_MAX_BATCH_SIZE;
 import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_LEVEL0_COMPACTION_TUNING_FOR_READ_WRITE_LEADER_ENABLED;
 import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_LEVEL0_FILE_NUM_COMPACTION_TRIGGER;
 import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_LEVEL0_FILE_NUM_COMPACTION_TRIGGER_FOR_READ_WRITE_LEADER;
@@ -58,6 +60,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang.RandomStringUtils;
@@ -1233,4 +1238,126 @@ public class RocksDBStoragePartitionTest {
       removeDir(storeDir);
     }
   }
+
+  @Test
+  public void testConcurrentWritesWithGroupCommit() throws Exception {
+    String storeName = Version.composeKafkaTopic(Utils.getUniqueString("test_store"), 1);
+    String storeDir = getTempDatabaseDir(storeName);
+    Properties properties = new Properties();
+    properties.put(ROCKSDB_GROUP_COMMIT_ENABLED, "true");
+    properties.put(ROCKSDB_GROUP_COMMIT_MAX_BATCH_SIZE, "8");
+    VeniceProperties veniceServerProperties =
+        AbstractStorageEngineTest.getServerProperties(PersistenceType.ROCKS_DB, properties);
+    RocksDBServerConfig rocksDBServerConfig = new RocksDBServerConfig(veniceServerProperties);
+    int partitionId = 0;
+    StoragePartitionConfig partitionConfig = new StoragePartitionConfig(storeName, partitionId);
+    partitionConfig.setDeferredWrite(false);
+    VeniceServerConfig serverConfig = new VeniceServerConfig(veniceServerProperties);
+    RocksDBStorageEngineFactory factory = new RocksDBStorageEngineFactory(serverConfig);
+    RocksDBStoragePartition storagePartition = new RocksDBStoragePartition(
+        partitionConfig,
+        factory,
+        DATA_BASE_DIR,
+        null,
+        ROCKSDB_THROTTLER,
+        rocksDBServerConfig);
+
+    int threadCount = 8;
+    int recordCountPerThread = 500;
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      List<Future<?>> futures = new ArrayList<>(threadCount);
+      for (int t = 0; t < threadCount; ++t) {
+        int threadId = t;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < recordCountPerThread; ++i) {
+            String key = KEY_PREFIX + threadId + "_" + i;
+            storagePartition.put(key.getBytes(), (VALUE_PREFIX + i).getBytes());
+            if (i % 10 == 0) {
+              storagePartition.delete(key.getBytes());
+            }
+          }
+        }));
+      }
+      for (Future<?> future: futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    storagePartition.sync();
+
+    for (int t = 0; t < threadCount; ++t) {
+      for (int i = 0; i < recordCountPerThread; ++i) {
+        byte[] value = storagePartition.get((KEY_PREFIX + t + "_" + i).getBytes());
+        if (i % 10 == 0) {
+          Assert.assertNull(value);
+        } else {
+          Assert.assertEquals(new String(value), VALUE_PREFIX + i);
+        }
+      }
+    }
+
+    storagePartition.close();
+    Assert.assertThrows(VeniceException.class, () -> storagePartition.put("key".getBytes(), "value".getBytes()));
+    storagePartition.drop();
+    removeDir(storeDir);
+  }
+
+  @Test(dataProvider = "True-and-False", dataProviderClass = DataProviderUtils.class)
+  public void testWriteBatchAppliedOnCommit(boolean groupCommitEnabled) {
+    String storeName = Version.composeKafkaTopic(Utils.getUniqueString("test_store"), 1);
+    String storeDir = getTempDatabaseDir(storeName);
+    Properties properties = new Properties();
+    properties.put(ROCKSDB_GROUP_COMMIT_ENABLED, Boolean.toString(groupCommitEnabled));
+    VeniceProperties veniceServerProperties =
+        AbstractStorageEngineTest.getServerProperties(PersistenceType.ROCKS_DB, properties);
+    RocksDBServerConfig rocksDBServerConfig = new RocksDBServerConfig(veniceServerProperties);
+    StoragePartitionConfig partitionConfig = new StoragePartitionConfig(storeName, 0);
+    partitionConfig.setDeferredWrite(false);
+    RocksDBStorageEngineFactory factory =
+        new RocksDBStorageEngineFactory(new VeniceServerConfig(veniceServerProperties));
+    RocksDBStoragePartition storagePartition = new RocksDBStoragePartition(
+        partitionConfig,
+        factory,
+        DATA_BASE_DIR,
+        null,
+        ROCKSDB_THROTTLER,
+        rocksDBServerConfig);
+    byte[] deletedKey = (KEY_PREFIX + "deleted").getBytes();
+    storagePartition.put(deletedKey, (VALUE_PREFIX + "deleted").getBytes());
+
+    for (int round = 0; round < 2; ++round) {
+      storagePartition.beginWriteBatch();
+      for (int i = 0; i < 10; ++i) {
+        storagePartition.put((KEY_PREFIX + i).getBytes(), (VALUE_PREFIX + round + "_" + i).getBytes());
+      }
+      storagePartition.delete(deletedKey);
+      // Nothing is visible before the batch is committed
+      Assert.assertNotNull(storagePartition.get(deletedKey));
+      if (round == 0) {
+        Assert.assertNull(storagePartition.get((KEY_PREFIX + 0).getBytes()));
+      } else {
+        Assert.assertEquals(new String(storagePartition.get((KEY_PREFIX + 0).getBytes())), VALUE_PREFIX + "0_0");
+      }
+      storagePartition.commitWriteBatch();
+
+      Assert.assertNull(storagePartition.get(deletedKey));
+      for (int i = 0; i < 10; ++i) {
+        Assert.assertEquals(
+            new String(storagePartition.get((KEY_PREFIX + i).getBytes())),
+            VALUE_PREFIX + round + "_" + i);
+      }
+      storagePartition.put(deletedKey, (VALUE_PREFIX + "deleted").getBytes());
+    }
+
+    // Without an open batch, the writes are applied right away
+    storagePartition.commitWriteBatch();
+    storagePartition.put((KEY_PREFIX + 0).getBytes(), (VALUE_PREFIX + "direct").getBytes());
+    Assert.assertEquals(new String(storagePartition.get((KEY_PREFIX + 0).getBytes())), VALUE_PREFIX + "direct");
+
+    storagePartition.close();
+    storagePartition.drop();
+    removeDir(storeDir);
+  }
 }
@@ -0,0 +1,86 @@
+package com.linkedin.davinci.validation;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import com.linkedin.venice.guid.GuidUtils;
+import com.linkedin.venice.kafka.protocol.GUID;
+import com.linkedin.venice.kafka.validation.Segment;
+import com.linkedin.venice.kafka.validation.checksum.CheckSumType;
+import com.linkedin.venice.utils.VeniceProperties;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.testng.annotations.Test;
+
+
+public class ProducerSegmentMapTest {
+  @Test
+  public void testPutGetRemove() {
+    ProducerSegmentMap producerSegmentMap = new ProducerSegmentMap();
+    Map<GUID, Segment> expectedSegments = new HashMap<>();
+    // Enough producers for the stripes to resize several times, and for their probe sequences to collide
+    for (int i = 0; i < 1000; i++) {
+      GUID guid = GuidUtils.getGUID(VeniceProperties.empty());
+      Segment segment = new Segment(0, i, CheckSumType.NONE);
+      assertNull(producerSegmentMap.put(guid, segment));
+      expectedSegments.put(guid, segment);
+    }
+    assertEquals(producerSegmentMap.size(), expectedSegments.size());
+    assertEquals(producerSegmentMap.keySet(), expectedSegments.keySet());
+
+    List<GUID> guids = new ArrayList<>(expectedSegments.keySet());
+    for (GUID guid: guids) {
+      // A copy of the GUID is looked up the same way as the original one
+      GUID guidCopy = GuidUtils.getGuidFromCharSequence(GuidUtils.getCharSequenceFromGuid(guid));
+      assertSame(producerSegmentMap.get(guidCopy), expectedSegments.get(guid));
+    }
+
+    GUID replacedGuid = guids.get(0);
+    Segment newSegment = new Segment(0, 1000, CheckSumType.NONE);
+    assertSame(producerSegmentMap.put(replacedGuid, newSegment), expectedSegments.get(replacedGuid));
+    assertSame(producerSegmentMap.get(replacedGuid), newSegment);
+    expectedSegments.put(replacedGuid, newSegment);
+
+    // Remove every other producer, which shifts the entries which follow them in their probe sequence
+    for (int i = 0; i < guids.size(); i += 2) {
+      assertSame(producerSegmentMap.remove(guids.get(i)), expectedSegments.remove(guids.get(i)));
+      assertNull(producerSegmentMap.remove(guids.get(i)));
+    }
+    assertEquals(producerSegmentMap.size(), expectedSegments.size());
+    for (GUID guid: guids) {
+      assertSame(producerSegmentMap.get(guid), expectedSegments.get(guid));
+    }
+  }
+
+  @Test
+  public void testForEachAndRemoveIf() {
+    ProducerSegmentMap producerSegmentMap = new ProducerSegmentMap();
+    Map<GUID, Segment> expectedSegments = new HashMap<>();
+    for (int i = 0; i < 100; i++) {
+      GUID guid = GuidUtils.getGUID(VeniceProperties.empty());
+      Segment segment = new Segment(0, i, CheckSumType.NONE);
+      producerSegmentMap.put(guid, segment);
+      expectedSegments.put(guid, segment);
+    }
+
+    Map<GUID, Segment> visitedSegments = new HashMap<>();
+    producerSegmentMap.forEach(visitedSegments::put);
+    assertEquals(visitedSegments, expectedSegments);
+
+    int removedCount = producerSegmentMap.removeIf((guid, segment) -> segment.getSegmentNumber() % 3 == 0);
+    assertEquals(removedCount, 34);
+    assertEquals(producerSegmentMap.size(), 66);
+    for (Map.Entry<GUID, Segment> entry: expectedSegments.entrySet()) {
+      if (entry.getValue().getSegmentNumber() % 3 == 0) {
+        assertNull(producerSegmentMap.get(entry.getKey()));
+      } else {
+        assertSame(producerSegmentMap.get(entry.getKey()), entry.getValue());
+      }
+    }
+    assertEquals(producerSegmentMap.removeIf((guid, segment) -> false), 0);
+    assertEquals(producerSegmentMap.keySet().size(), 66);
+  }
+}
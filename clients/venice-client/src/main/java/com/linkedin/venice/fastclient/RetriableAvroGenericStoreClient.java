@@ -248,8 +248,12 @@ public class RetriableAvroGenericStoreClient<K, V> extends DelegatingAvroStoreCl
       Schema resultSchema,
       StreamingCallback<K, ComputeGenericRecord> callback,
       long preRequestTimeInNS) throws VeniceClientException {
-    if (!longTailRetryEnabledForCompute) {
-      // if longTailRetry is not enabled for compute, simply return
+    if (!longTailRetryEnabledForCompute || computeRequestWrapper.isAggregation()) {
+      /**
+       * If longTailRetry is not enabled for compute, simply return. Aggregation requests are not retried either, since
+       * the storage nodes return the counts of a whole chunk of keys as the result of one of them: retrying the keys
+       * which have not been received yet would count again the records already counted in that result.
+       */
       super.compute(requestContext, computeRequestWrapper, keys, resultSchema, callback, preRequestTimeInNS);
       return;
     }
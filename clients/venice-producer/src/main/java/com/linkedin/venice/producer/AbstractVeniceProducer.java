@@ -1,5 +1,7 @@
 package com.linkedin.venice.producer;
 
+import static com.linkedin.venice.ConfigKeys.CLIENT_PRODUCER_LINGER_MS;
+import static com.linkedin.venice.ConfigKeys.CLIENT_PRODUCER_MAX_IN_FLIGHT_BYTES;
 import static com.linkedin.venice.ConfigKeys.CLIENT_PRODUCER_THREAD_NUM;
 import static com.linkedin.venice.ConfigKeys.KAFKA_BOOTSTRAP_SERVERS;
 import static com.linkedin.venice.ConfigKeys.KAFKA_OVER_SSL;
@@ -35,9 +37,12 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -53,11 +58,21 @@ import org.apache.logging.log4j.Logger;
 /**
  * A generic implementation of the {@link VeniceProducer} interface
  *
+ * Every write goes through a non-blocking pipeline: a producer thread resolves the schema, serializes the record and
+ * hands it to the {@link VeniceWriter}, and the returned future is completed by the callback of the PubSub system once
+ * the write is durable. This means that dependent stages which aren't async run on the thread of the PubSub system,
+ * and shouldn't block. The bytes of the writes which aren't acknowledged yet are bounded by
+ * {@link com.linkedin.venice.ConfigKeys#CLIENT_PRODUCER_MAX_IN_FLIGHT_BYTES}, past which the producer threads wait.
+ *
+ * With {@link com.linkedin.venice.ConfigKeys#CLIENT_PRODUCER_LINGER_MS}, writes first linger in a
+ * {@link CoalescingWriteBuffer}, which coalesces the writes to the same key before they go through the pipeline.
+ *
  * @see VeniceProducer
  */
 public abstract class AbstractVeniceProducer<K, V> implements VeniceProducer<K, V> {
   private static final Logger LOGGER = LogManager.getLogger(AbstractVeniceProducer.class);
   private static final DurableWrite DURABLE_WRITE = new DurableWrite();
+  private static final long DEFAULT_MAX_IN_FLIGHT_BYTES = 64 * 1024 * 1024;
 
   private VeniceProperties producerConfigs;
   private boolean configured = false;
@@ -66,6 +81,11 @@ public abstract class AbstractVeniceProducer<K, V> implements VeniceProducer<K,
 
   private SchemaReader schemaReader;
   private ThreadPoolExecutor producerExecutor;
+  private InFlightBytesLimiter inFlightBytesLimiter;
+  /**
+   * Only set if writes should linger to be coalesced.
+   */
+  private CoalescingWriteBuffer<V> writeBuffer;
   private VeniceWriter<byte[], byte[], byte[]> veniceWriter;
 
   private RecordSerializer<Object> keySerializer;
@@ -103,6 +123,47 @@ public abstract class AbstractVeniceProducer<K, V> implements VeniceProducer<K,
     if (metricsRepository != null) {
       new ThreadPoolStats(metricsRepository, producerExecutor, "client_producer_thread_pool");
     }
+    this.inFlightBytesLimiter = new InFlightBytesLimiter(
+        producerConfigs.getLong(CLIENT_PRODUCER_MAX_IN_FLIGHT_BYTES, DEFAULT_MAX_IN_FLIGHT_BYTES));
+    long lingerMs = producerConfigs.getLong(CLIENT_PRODUCER_LINGER_MS, 0);
+    if (lingerMs > 0) {
+      this.writeBuffer = new CoalescingWriteBuffer<>(
+          lingerMs,
+          producerExecutor,
+          producerExecutor.getCorePoolSize(),
+          new CoalescingWriteBuffer.WriteSender<V>() {
+            @Override
+            public void sendPut(
+                List<CompletableFuture<DurableWrite>> writeFutures,
+                long logicalTime,
+                byte[] keyBytes,
+                V value) {
+              AbstractVeniceProducer.this.sendPut(writeFutures, logicalTime, keyBytes, value);
+            }
+
+            @Override
+            public void sendDelete(
+                List<CompletableFuture<DurableWrite>> writeFutures,
+                long logicalTime,
+                byte[] keyBytes) {
+              AbstractVeniceProducer.this.sendDelete(writeFutures, logicalTime, keyBytes);
+            }
+
+            @Override
+            public void sendUpdates(
+                List<CompletableFuture<DurableWrite>> writeFutures,
+                long logicalTime,
+                byte[] keyBytes,
+                List<Consumer<UpdateBuilder>> updateFunctions) {
+              AbstractVeniceProducer.this.sendUpdates(writeFutures, logicalTime, keyBytes, updateFunctions);
+            }
+
+            @Override
+            public void failWrites(List<CompletableFuture<DurableWrite>> writeFutures, Throwable t) {
+              AbstractVeniceProducer.this.failWrites(writeFutures, t);
+            }
+          });
+    }
     this.keySerializer = getSerializer(schemaReader.getKeySchema());
 
     VersionCreationResponse versionCreationResponse = requestTopic();
@@ -198,60 +259,110 @@ public abstract class AbstractVeniceProducer<K, V> implements VeniceProducer<K,
     }
 
     producerMetrics.recordPutRequest();
-    return CompletableFuture.supplyAsync(() -> {
-      Schema valueSchema;
-      try {
-        valueSchema = getSchemaFromObject(value);
-      } catch (Exception e) {
-        producerMetrics.recordFailedRequest();
-        throw e;
-      }
-      // Might block
-      int valueSchemaId;
-      Exception schemaReadException = null;
-      try {
-        valueSchemaId = schemaReader.getValueSchemaId(valueSchema);
-      } catch (Exception e) {
-        valueSchemaId = SchemaData.INVALID_VALUE_SCHEMA_ID;
-        schemaReadException = e;
-      }
-      if (valueSchemaId == SchemaData.INVALID_VALUE_SCHEMA_ID) {
-        producerMetrics.recordFailedRequest();
-        throw new VeniceException(
-            "Could not find a registered schema id for schema: " + valueSchema
-                + ". This might be transient if the schema has been registered recently.",
-            schemaReadException);
-      }
-      final CompletableFuture<Void> completableFuture = new CompletableFuture<>();
-      final Instant sendStartTime = Instant.now();
-      final PubSubProducerCallback callback = getPubSubProducerCallback(
-          sendStartTime,
-          completableFuture,
-          "Failed to write the requested data to the PubSub system");
+    CompletableFuture<DurableWrite> writeFuture = new CompletableFuture<>();
+    List<CompletableFuture<DurableWrite>> writeFutures = Collections.singletonList(writeFuture);
+    if (writeBuffer != null) {
+      bufferWrite(writeFutures, () -> writeBuffer.put(keySerializer.serialize(key), logicalTime, value, writeFuture));
+    } else {
+      submit(writeFutures, () -> sendPut(writeFutures, logicalTime, keySerializer.serialize(key), value));
+    }
+    return writeFuture;
+  }
 
-      byte[] keyBytes = keySerializer.serialize(key);
-      byte[] valueBytes = getSerializer(valueSchema).serialize(value);
+  private void sendPut(List<CompletableFuture<DurableWrite>> writeFutures, long logicalTime, byte[] keyBytes, V value) {
+    Schema valueSchema = getSchemaFromObject(value);
+    // Might block
+    int valueSchemaId;
+    Exception schemaReadException = null;
+    try {
+      valueSchemaId = schemaReader.getValueSchemaId(valueSchema);
+    } catch (Exception e) {
+      valueSchemaId = SchemaData.INVALID_VALUE_SCHEMA_ID;
+      schemaReadException = e;
+    }
+    if (valueSchemaId == SchemaData.INVALID_VALUE_SCHEMA_ID) {
+      throw new VeniceException(
+          "Could not find a registered schema id for schema: " + valueSchema
+              + ". This might be transient if the schema has been registered recently.",
+          schemaReadException);
+    }
 
-      try {
-        veniceWriter.put(keyBytes, valueBytes, valueSchemaId, logicalTime, callback);
-      } catch (Exception e) {
-        callback.onCompletion(null, e);
-        throw e;
-      }
+    byte[] valueBytes = getSerializer(valueSchema).serialize(value);
+    int schemaId = valueSchemaId;
+    send(
+        writeFutures,
+        keyBytes.length + valueBytes.length,
+        "Failed to write the requested data to the PubSub system",
+        callback -> veniceWriter.put(keyBytes, valueBytes, schemaId, logicalTime, callback));
+  }
 
-      try {
-        completableFuture.get();
-      } catch (InterruptedException | ExecutionException e) {
-        throw new VeniceException(e);
+  /**
+   * Runs the first stages of the pipeline of a write on a producer thread, and fails the futures of the write if any of
+   * them throws.
+   */
+  private void submit(List<CompletableFuture<DurableWrite>> writeFutures, Runnable pipeline) {
+    try {
+      producerExecutor.execute(() -> {
+        try {
+          pipeline.run();
+        } catch (Throwable t) {
+          failWrites(writeFutures, t);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      failWrites(writeFutures, new VeniceException("Producer is already closed", e));
+    }
+  }
+
+  /**
+   * Hands a write over to the {@link CoalescingWriteBuffer}, which sends it along with the other writes to the same key
+   * once the linger time has passed.
+   */
+  private void bufferWrite(List<CompletableFuture<DurableWrite>> writeFutures, Runnable bufferFunction) {
+    try {
+      bufferFunction.run();
+    } catch (Throwable t) {
+      failWrites(writeFutures, t);
+    }
+  }
+
+  private void failWrites(List<CompletableFuture<DurableWrite>> writeFutures, Throwable t) {
+    for (CompletableFuture<DurableWrite> writeFuture: writeFutures) {
+      if (writeFuture.completeExceptionally(t)) {
+        producerMetrics.recordFailedRequest();
       }
+    }
+  }
 
-      return DURABLE_WRITE;
-    }, producerExecutor);
+  /**
+   * Hands a serialized write to the {@link VeniceWriter} once there is room for its bytes in flight. The futures of the
+   * write, of which there are several if it is the result of coalescing writes to the same key, are completed by the
+   * callback, without holding the producer thread until then.
+   */
+  private void send(
+      List<CompletableFuture<DurableWrite>> writeFutures,
+      int sizeInBytes,
+      String errorMessage,
+      Consumer<PubSubProducerCallback> sendFunction) {
+    try {
+      inFlightBytesLimiter.acquire(sizeInBytes);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new VeniceException("Interrupted while waiting for in-flight writes to be acknowledged", e);
+    }
+    final PubSubProducerCallback callback =
+        getPubSubProducerCallback(Instant.now(), writeFutures, sizeInBytes, errorMessage);
+    try {
+      sendFunction.accept(callback);
+    } catch (Exception e) {
+      callback.onCompletion(null, e);
+    }
   }
 
   private PubSubProducerCallback getPubSubProducerCallback(
       Instant sendStartTime,
-      CompletableFuture<Void> completableFuture,
+      List<CompletableFuture<DurableWrite>> writeFutures,
+      int sizeInBytes,
       String errorMessage) {
     final AtomicBoolean callbackTriggered = new AtomicBoolean();
     final PubSubProducerCallback callback = (PubSubProduceResult produceResult, Exception exception) -> {
@@ -261,14 +372,17 @@ public abstract class AbstractVeniceProducer<K, V> implements VeniceProducer<K,
         return;
       }
 
+      inFlightBytesLimiter.release(sizeInBytes);
       Duration sendDuration = Duration.between(sendStartTime, Instant.now());
       if (exception == null) {
-        producerMetrics.recordSuccessfulRequestWithLatency(sendDuration.toMillis());
-        completableFuture.complete(null);
+        for (CompletableFuture<DurableWrite> writeFuture: writeFutures) {
+          if (writeFuture.complete(DURABLE_WRITE)) {
+            producerMetrics.recordSuccessfulRequestWithLatency(sendDuration.toMillis());
+          }
+        }
       } else {
-        producerMetrics.recordFailedRequest();
         LOGGER.error(errorMessage, exception);
-        completableFuture.completeExceptionally(exception);
+        failWrites(writeFutures, new VeniceException(errorMessage, exception));
       }
     };
     return callback;
@@ -295,31 +409,22 @@ public abstract class AbstractVeniceProducer<K, V> implements VeniceProducer<K,
     }
 
     producerMetrics.recordDeleteRequest();
-    return CompletableFuture.supplyAsync(() -> {
-      final CompletableFuture<Void> completableFuture = new CompletableFuture<>();
-      final Instant sendStartTime = Instant.now();
-      final PubSubProducerCallback callback = getPubSubProducerCallback(
-          sendStartTime,
-          completableFuture,
-          "Failed to write the delete operation to the PubSub system");
-
-      byte[] keyBytes = keySerializer.serialize(key);
-
-      try {
-        veniceWriter.delete(keyBytes, logicalTime, callback);
-      } catch (Exception e) {
-        callback.onCompletion(null, e);
-        throw e;
-      }
-
-      try {
-        completableFuture.get();
-      } catch (InterruptedException | ExecutionException e) {
-        throw new VeniceException(e);
-      }
+    CompletableFuture<DurableWrite> writeFuture = new CompletableFuture<>();
+    List<CompletableFuture<DurableWrite>> writeFutures = Collections.singletonList(writeFuture);
+    if (writeBuffer != null) {
+      bufferWrite(writeFutures, () -> writeBuffer.delete(keySerializer.serialize(key), logicalTime, writeFuture));
+    } else {
+      submit(writeFutures, () -> sendDelete(writeFutures, logicalTime, keySerializer.serialize(key)));
+    }
+    return writeFuture;
+  }
 
-      return DURABLE_WRITE;
-    }, producerExecutor);
+  private void sendDelete(List<CompletableFuture<DurableWrite>> writeFutures, long logicalTime, byte[] keyBytes) {
+    send(
+        writeFutures,
+        keyBytes.length,
+        "Failed to write the delete operation to the PubSub system",
+        callback -> veniceWriter.delete(keyBytes, logicalTime, callback));
   }
 
   @Override
@@ -346,65 +451,99 @@ public abstract class AbstractVeniceProducer<K, V> implements VeniceProducer<K,
     }
 
     producerMetrics.recordUpdateRequest();
-    return CompletableFuture.supplyAsync(() -> {
-      // Caching to avoid race conditions during processing of the function
-      DerivedSchemaEntry updateSchemaEntry = schemaReader.getLatestUpdateSchema();
-
-      if (updateSchemaEntry == null) {
-        producerMetrics.recordFailedRequest();
-        throw new VeniceException(
-            "Update schema not found. Check if partial update is enabled for the store. This error"
-                + " might also be transient if partial update has been enabled recently.");
-      }
-
-      Schema updateSchema = updateSchemaEntry.getSchema();
+    CompletableFuture<DurableWrite> writeFuture = new CompletableFuture<>();
+    List<CompletableFuture<DurableWrite>> writeFutures = Collections.singletonList(writeFuture);
+    if (writeBuffer != null) {
+      bufferWrite(
+          writeFutures,
+          () -> writeBuffer.update(keySerializer.serialize(key), logicalTime, updateFunction, writeFuture));
+    } else {
+      submit(
+          writeFutures,
+          () -> sendUpdates(
+              writeFutures,
+              logicalTime,
+              keySerializer.serialize(key),
+              Collections.singletonList(updateFunction)));
+    }
+    return writeFuture;
+  }
 
-      if (updateSchemaEntry.getValueSchemaID() == SchemaData.INVALID_VALUE_SCHEMA_ID
-          || updateSchemaEntry.getId() == SchemaData.INVALID_VALUE_SCHEMA_ID) {
-        producerMetrics.recordFailedRequest();
-        throw new VeniceException(
-            "Could not find a registered schema id for schema: " + updateSchema
-                + ". This might be transient if the schema has been registered recently.");
-      }
+  /**
+   * Sends consecutive partial updates of a key, as few records as possible. The update record of each function is
+   * composed into the one of the functions before it, unless they touch the same field in a way which can't be
+   * expressed by a single update record, see {@link UpdateRecordComposer}.
+   *
+   * @param writeFutures the future of each of the update functions, in the same order.
+   */
+  private void sendUpdates(
+      List<CompletableFuture<DurableWrite>> writeFutures,
+      long logicalTime,
+      byte[] keyBytes,
+      List<Consumer<UpdateBuilder>> updateFunctions) {
+    // Caching to avoid race conditions during processing of the function
+    DerivedSchemaEntry updateSchemaEntry = schemaReader.getLatestUpdateSchema();
 
-      UpdateBuilder updateBuilder = new UpdateBuilderImpl(updateSchema);
-      updateFunction.accept(updateBuilder);
-      GenericRecord updateRecord = updateBuilder.build();
+    if (updateSchemaEntry == null) {
+      throw new VeniceException(
+          "Update schema not found. Check if partial update is enabled for the store. This error"
+              + " might also be transient if partial update has been enabled recently.");
+    }
 
-      final CompletableFuture<Void> completableFuture = new CompletableFuture<>();
-      final Instant sendStartTime = Instant.now();
-      final AtomicBoolean callbackTriggered = new AtomicBoolean();
-      final PubSubProducerCallback callback = getPubSubProducerCallback(
-          sendStartTime,
-          completableFuture,
-          "Failed to write the partial update record to the PubSub system");
+    Schema updateSchema = updateSchemaEntry.getSchema();
 
-      byte[] keyBytes = keySerializer.serialize(key);
-      byte[] updateBytes = getSerializer(updateSchema).serialize(updateRecord);
+    if (updateSchemaEntry.getValueSchemaID() == SchemaData.INVALID_VALUE_SCHEMA_ID
+        || updateSchemaEntry.getId() == SchemaData.INVALID_VALUE_SCHEMA_ID) {
+      throw new VeniceException(
+          "Could not find a registered schema id for schema: " + updateSchema
+              + ". This might be transient if the schema has been registered recently.");
+    }
 
+    GenericRecord composedRecord = null;
+    List<CompletableFuture<DurableWrite>> composedFutures = new ArrayList<>(writeFutures.size());
+    for (int i = 0; i < updateFunctions.size(); i++) {
+      GenericRecord updateRecord;
       try {
-        veniceWriter.update(
+        UpdateBuilder updateBuilder = new UpdateBuilderImpl(updateSchema);
+        updateFunctions.get(i).accept(updateBuilder);
+        updateRecord = updateBuilder.build();
+      } catch (Exception e) {
+        // Only fails the write whose update function is faulty
+        failWrites(Collections.singletonList(writeFutures.get(i)), e);
+        continue;
+      }
+      if (composedRecord == null || !UpdateRecordComposer.compose(composedRecord, updateRecord)) {
+        if (composedRecord != null) {
+          sendUpdate(composedFutures, logicalTime, keyBytes, updateSchemaEntry, composedRecord);
+          composedFutures = new ArrayList<>(writeFutures.size() - i);
+        }
+        composedRecord = updateRecord;
+      }
+      composedFutures.add(writeFutures.get(i));
+    }
+    if (composedRecord != null) {
+      sendUpdate(composedFutures, logicalTime, keyBytes, updateSchemaEntry, composedRecord);
+    }
+  }
+
+  private void sendUpdate(
+      List<CompletableFuture<DurableWrite>> writeFutures,
+      long logicalTime,
+      byte[] keyBytes,
+      DerivedSchemaEntry updateSchemaEntry,
+      GenericRecord updateRecord) {
+    byte[] updateBytes = getSerializer(updateSchemaEntry.getSchema()).serialize(updateRecord);
+    send(
+        writeFutures,
+        keyBytes.length + updateBytes.length,
+        "Failed to write the partial update record to the PubSub system",
+        callback -> veniceWriter.update(
             keyBytes,
             updateBytes,
             updateSchemaEntry.getValueSchemaID(),
             updateSchemaEntry.getId(),
             callback,
-            logicalTime);
-      } catch (Exception e) {
-        if (!callbackTriggered.get()) {
-          callback.onCompletion(null, e);
-        }
-        throw e;
-      }
-
-      try {
-        completableFuture.get();
-      } catch (InterruptedException | ExecutionException e) {
-        throw new VeniceException(e);
-      }
-
-      return DURABLE_WRITE;
-    }, producerExecutor);
+            logicalTime));
   }
 
   /**
@@ -434,6 +573,8 @@ public abstract class AbstractVeniceProducer<K, V> implements VeniceProducer<K,
   @Override
   public void close() throws IOException {
     closed = true;
+    // Sends out the writes which are still lingering, before the producer threads go away
+    Utils.closeQuietlyWithErrorLogged(writeBuffer);
     if (producerExecutor != null) {
       producerExecutor.shutdownNow();
       try {
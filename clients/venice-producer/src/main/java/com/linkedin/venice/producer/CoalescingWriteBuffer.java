@@ -0,0 +1,235 @@
+package com.linkedin.venice.producer;
+
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.utils.ByteArray;
+import com.linkedin.venice.utils.DaemonThreadFactory;
+import com.linkedin.venice.writer.update.UpdateBuilder;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * Holds the writes of a producer for a linger time, and coalesces the writes to the same key in the meantime:
+ * <ul>
+ *   <li>A put or a delete overrides all the earlier writes to the key with the same logical time.</li>
+ *   <li>Consecutive partial updates are kept in order, and composed into as few update records as possible when they
+ *   are sent, see {@link UpdateRecordComposer}.</li>
+ * </ul>
+ * The futures of the overridden and composed writes complete along with the message they ended up in.
+ *
+ * Every flush sends out all the lingering writes, spread over the producer threads by key, and the next flush only
+ * starts once they have all been handed to the PubSub system, so the writes to a key are never reordered.
+ */
+class CoalescingWriteBuffer<V> implements Closeable {
+  private static final Logger LOGGER = LogManager.getLogger(CoalescingWriteBuffer.class);
+
+  /**
+   * Sends the coalesced writes through the pipeline of the producer, on the calling thread.
+   */
+  interface WriteSender<V> {
+    void sendPut(List<CompletableFuture<DurableWrite>> writeFutures, long logicalTime, byte[] keyBytes, V value);
+
+    void sendDelete(List<CompletableFuture<DurableWrite>> writeFutures, long logicalTime, byte[] keyBytes);
+
+    void sendUpdates(
+        List<CompletableFuture<DurableWrite>> writeFutures,
+        long logicalTime,
+        byte[] keyBytes,
+        List<Consumer<UpdateBuilder>> updateFunctions);
+
+    void failWrites(List<CompletableFuture<DurableWrite>> writeFutures, Throwable t);
+  }
+
+  private enum WriteType {
+    PUT, DELETE, UPDATE
+  }
+
+  private static class PendingWrite<V> {
+    private final WriteType type;
+    private final long logicalTime;
+    private final V value;
+    private final Consumer<UpdateBuilder> updateFunction;
+    private final List<CompletableFuture<DurableWrite>> writeFutures = new ArrayList<>(1);
+
+    private PendingWrite(
+        WriteType type,
+        long logicalTime,
+        V value,
+        Consumer<UpdateBuilder> updateFunction,
+        CompletableFuture<DurableWrite> writeFuture) {
+      this.type = type;
+      this.logicalTime = logicalTime;
+      this.value = value;
+      this.updateFunction = updateFunction;
+      this.writeFutures.add(writeFuture);
+    }
+  }
+
+  private final Executor sendExecutor;
+  private final int sendParallelism;
+  private final WriteSender<V> writeSender;
+  private final ScheduledExecutorService flushScheduler;
+
+  // Guarded by this
+  private Map<ByteArray, List<PendingWrite<V>>> pendingWrites = new LinkedHashMap<>();
+  private boolean closed = false;
+
+  CoalescingWriteBuffer(long lingerMs, Executor sendExecutor, int sendParallelism, WriteSender<V> writeSender) {
+    this.sendExecutor = sendExecutor;
+    this.sendParallelism = Math.max(1, sendParallelism);
+    this.writeSender = writeSender;
+    this.flushScheduler = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("ClientProducerLinger"));
+    this.flushScheduler.scheduleWithFixedDelay(this::flush, lingerMs, lingerMs, TimeUnit.MILLISECONDS);
+  }
+
+  void put(byte[] keyBytes, long logicalTime, V value, CompletableFuture<DurableWrite> writeFuture) {
+    add(keyBytes, new PendingWrite<>(WriteType.PUT, logicalTime, value, null, writeFuture));
+  }
+
+  void delete(byte[] keyBytes, long logicalTime, CompletableFuture<DurableWrite> writeFuture) {
+    add(keyBytes, new PendingWrite<>(WriteType.DELETE, logicalTime, null, null, writeFuture));
+  }
+
+  void update(
+      byte[] keyBytes,
+      long logicalTime,
+      Consumer<UpdateBuilder> updateFunction,
+      CompletableFuture<DurableWrite> writeFuture) {
+    add(keyBytes, new PendingWrite<>(WriteType.UPDATE, logicalTime, null, updateFunction, writeFuture));
+  }
+
+  private synchronized void add(byte[] keyBytes, PendingWrite<V> write) {
+    if (closed) {
+      throw new VeniceException("Producer is already closed. New requests are not accepted.");
+    }
+    List<PendingWrite<V>> writes = pendingWrites.computeIfAbsent(new ByteArray(keyBytes), k -> new ArrayList<>(1));
+    if (write.type != WriteType.UPDATE && haveLogicalTime(writes, write.logicalTime)) {
+      // Last writer wins, so the earlier writes complete along with this one
+      for (PendingWrite<V> overriddenWrite: writes) {
+        write.writeFutures.addAll(overriddenWrite.writeFutures);
+      }
+      writes.clear();
+    }
+    writes.add(write);
+  }
+
+  private static <V> boolean haveLogicalTime(List<PendingWrite<V>> writes, long logicalTime) {
+    for (PendingWrite<V> write: writes) {
+      if (write.logicalTime != logicalTime) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Sends out all the lingering writes, and waits for them to be handed to the PubSub system.
+   */
+  void flush() {
+    Map<ByteArray, List<PendingWrite<V>>> writesToSend;
+    synchronized (this) {
+      if (pendingWrites.isEmpty()) {
+        return;
+      }
+      writesToSend = pendingWrites;
+      pendingWrites = new LinkedHashMap<>();
+    }
+
+    List<List<Map.Entry<ByteArray, List<PendingWrite<V>>>>> batches = new ArrayList<>(sendParallelism);
+    for (int i = 0; i < sendParallelism; i++) {
+      batches.add(new ArrayList<>(writesToSend.size() / sendParallelism + 1));
+    }
+    int keyIndex = 0;
+    for (Map.Entry<ByteArray, List<PendingWrite<V>>> entry: writesToSend.entrySet()) {
+      batches.get(keyIndex++ % sendParallelism).add(entry);
+    }
+
+    List<CompletableFuture<Void>> batchFutures = new ArrayList<>(sendParallelism);
+    for (List<Map.Entry<ByteArray, List<PendingWrite<V>>>> batch: batches) {
+      if (batch.isEmpty()) {
+        continue;
+      }
+      Runnable sendBatch = () -> batch.forEach(entry -> sendWrites(entry.getKey().get(), entry.getValue()));
+      try {
+        batchFutures.add(CompletableFuture.runAsync(sendBatch, sendExecutor));
+      } catch (RejectedExecutionException e) {
+        // The producer threads are gone, which only happens on close
+        for (Map.Entry<ByteArray, List<PendingWrite<V>>> entry: batch) {
+          entry.getValue().forEach(write -> writeSender.failWrites(write.writeFutures, e));
+        }
+      }
+    }
+    try {
+      CompletableFuture.allOf(batchFutures.toArray(new CompletableFuture[0])).join();
+    } catch (Exception e) {
+      LOGGER.error("Failed to send the coalesced writes", e);
+    }
+  }
+
+  private void sendWrites(byte[] keyBytes, List<PendingWrite<V>> writes) {
+    int i = 0;
+    while (i < writes.size()) {
+      PendingWrite<V> write = writes.get(i);
+      List<CompletableFuture<DurableWrite>> writeFutures = write.writeFutures;
+      try {
+        switch (write.type) {
+          case PUT:
+            i++;
+            writeSender.sendPut(writeFutures, write.logicalTime, keyBytes, write.value);
+            break;
+          case DELETE:
+            i++;
+            writeSender.sendDelete(writeFutures, write.logicalTime, keyBytes);
+            break;
+          case UPDATE:
+            // Gather the consecutive updates with the same logical time, to compose them
+            writeFutures = new ArrayList<>();
+            List<Consumer<UpdateBuilder>> updateFunctions = new ArrayList<>();
+            while (i < writes.size() && writes.get(i).type == WriteType.UPDATE
+                && writes.get(i).logicalTime == write.logicalTime) {
+              writeFutures.addAll(writes.get(i).writeFutures);
+              updateFunctions.add(writes.get(i).updateFunction);
+              i++;
+            }
+            writeSender.sendUpdates(writeFutures, write.logicalTime, keyBytes, updateFunctions);
+            break;
+          default:
+            throw new IllegalStateException("Unknown write type: " + write.type);
+        }
+      } catch (Throwable t) {
+        writeSender.failWrites(writeFutures, t);
+      }
+    }
+  }
+
+  /**
+   * Stops accepting writes, and sends out the lingering ones.
+   */
+  @Override
+  public void close() {
+    synchronized (this) {
+      closed = true;
+    }
+    flushScheduler.shutdown();
+    try {
+      if (!flushScheduler.awaitTermination(60, TimeUnit.SECONDS)) {
+        LOGGER.warn("Timed out waiting for the scheduled flush of the coalesced writes to finish");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    flush();
+  }
+}
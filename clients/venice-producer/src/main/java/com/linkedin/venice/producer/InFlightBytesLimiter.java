@@ -0,0 +1,35 @@
+package com.linkedin.venice.producer;
+
+/**
+ * Bounds the bytes of the writes which have been handed to the PubSub system, but not acknowledged yet, so that a
+ * producer writing faster than the brokers can absorb blocks instead of buffering without limit.
+ *
+ * A single write bigger than the limit is let through once nothing else is in flight, rather than blocked forever.
+ */
+class InFlightBytesLimiter {
+  private final long maxInFlightBytes;
+  private long inFlightBytes = 0;
+
+  InFlightBytesLimiter(long maxInFlightBytes) {
+    if (maxInFlightBytes <= 0) {
+      throw new IllegalArgumentException("Max in-flight bytes must be positive, but got: " + maxInFlightBytes);
+    }
+    this.maxInFlightBytes = maxInFlightBytes;
+  }
+
+  synchronized void acquire(int bytes) throws InterruptedException {
+    while (inFlightBytes > 0 && inFlightBytes + bytes > maxInFlightBytes) {
+      wait();
+    }
+    inFlightBytes += bytes;
+  }
+
+  synchronized void release(int bytes) {
+    inFlightBytes -= bytes;
+    notifyAll();
+  }
+
+  synchronized long getInFlightBytes() {
+    return inFlightBytes;
+  }
+}
@@ -0,0 +1,47 @@
+package com.linkedin.venice.producer;
+
+import static com.linkedin.venice.schema.writecompute.WriteComputeOperation.NO_OP_ON_FIELD;
+import static com.linkedin.venice.schema.writecompute.WriteComputeOperation.PUT_NEW_FIELD;
+
+import com.linkedin.venice.schema.writecompute.WriteComputeOperation;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+
+
+/**
+ * Composes two partial update records of a key into one, which has the same effect as applying them in order.
+ *
+ * A field can be composed as long as one of the two records leaves it alone, or the later one sets a whole new value,
+ * which overrides whatever the earlier one did. Any other combination, like two collection merges on the same field, or
+ * a collection merge after a new value, would need the current value to compose, so the records are left apart.
+ */
+final class UpdateRecordComposer {
+  private UpdateRecordComposer() {
+  }
+
+  /**
+   * @return whether {@code laterRecord} was composed into {@code earlierRecord}, which is left untouched otherwise.
+   */
+  static boolean compose(GenericRecord earlierRecord, GenericRecord laterRecord) {
+    Schema schema = earlierRecord.getSchema();
+    if (!schema.equals(laterRecord.getSchema())) {
+      return false;
+    }
+    for (Schema.Field field: schema.getFields()) {
+      WriteComputeOperation laterOperation = WriteComputeOperation.getFieldOperationType(laterRecord.get(field.pos()));
+      if (laterOperation == NO_OP_ON_FIELD || laterOperation == PUT_NEW_FIELD) {
+        continue;
+      }
+      if (WriteComputeOperation.getFieldOperationType(earlierRecord.get(field.pos())) != NO_OP_ON_FIELD) {
+        return false;
+      }
+    }
+    for (Schema.Field field: schema.getFields()) {
+      Object laterFieldValue = laterRecord.get(field.pos());
+      if (WriteComputeOperation.getFieldOperationType(laterFieldValue) != NO_OP_ON_FIELD) {
+        earlierRecord.put(field.pos(), laterFieldValue);
+      }
+    }
+    return true;
+  }
+}
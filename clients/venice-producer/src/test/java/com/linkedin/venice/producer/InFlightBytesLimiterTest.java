@@ -0,0 +1,62 @@
+package com.linkedin.venice.producer;
+
+import com.linkedin.venice.utils.TestUtils;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class InFlightBytesLimiterTest {
+  @Test
+  public void testAcquireWaitsForRelease() throws Exception {
+    InFlightBytesLimiter limiter = new InFlightBytesLimiter(100);
+    limiter.acquire(60);
+    limiter.acquire(40);
+    Assert.assertEquals(limiter.getInFlightBytes(), 100);
+
+    CompletableFuture<Void> blockedAcquire = CompletableFuture.runAsync(() -> {
+      try {
+        limiter.acquire(50);
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    Thread.sleep(100);
+    Assert.assertFalse(blockedAcquire.isDone());
+
+    // Not enough room yet
+    limiter.release(40);
+    Thread.sleep(100);
+    Assert.assertFalse(blockedAcquire.isDone());
+
+    limiter.release(60);
+    blockedAcquire.get(10, TimeUnit.SECONDS);
+    Assert.assertEquals(limiter.getInFlightBytes(), 50);
+  }
+
+  @Test
+  public void testWriteBiggerThanLimitGoesThroughAlone() throws Exception {
+    InFlightBytesLimiter limiter = new InFlightBytesLimiter(100);
+    limiter.acquire(1000);
+    Assert.assertEquals(limiter.getInFlightBytes(), 1000);
+
+    CompletableFuture<Void> blockedAcquire = CompletableFuture.runAsync(() -> {
+      try {
+        limiter.acquire(1);
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    Thread.sleep(100);
+    Assert.assertFalse(blockedAcquire.isDone());
+    limiter.release(1000);
+    TestUtils.waitForNonDeterministicAssertion(10, TimeUnit.SECONDS, () -> Assert.assertTrue(blockedAcquire.isDone()));
+    Assert.assertEquals(limiter.getInFlightBytes(), 1);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNonPositiveLimitIsRejected() {
+    new InFlightBytesLimiter(0);
+  }
+}
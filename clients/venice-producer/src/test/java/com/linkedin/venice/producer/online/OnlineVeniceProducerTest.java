@@ -1,6 +1,9 @@
 package com.linkedin.venice.producer.online;
 
+import static com.linkedin.venice.ConfigKeys.CLIENT_PRODUCER_LINGER_MS;
+import static com.linkedin.venice.ConfigKeys.CLIENT_PRODUCER_MAX_IN_FLIGHT_BYTES;
 import static com.linkedin.venice.ConfigKeys.CLIENT_PRODUCER_SCHEMA_REFRESH_INTERVAL_SECONDS;
+import static com.linkedin.venice.ConfigKeys.CLIENT_PRODUCER_THREAD_NUM;
 import static com.linkedin.venice.serialization.avro.AvroProtocolDefinition.KAFKA_MESSAGE_ENVELOPE;
 import static com.linkedin.venice.utils.TestWriteUtils.loadFileAsStringQuietlyWithErrorLogged;
 import static com.linkedin.venice.writer.VeniceWriter.APP_DEFAULT_LOGICAL_TS;
@@ -65,6 +68,7 @@ import com.linkedin.venice.writer.update.UpdateBuilder;
 import io.tehuti.metrics.MetricsRepository;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -782,6 +786,117 @@ public class OnlineVeniceProducerTest {
     }
   }
 
+  @Test
+  public void testWritesArePipelinedWithBoundedInFlightBytes() throws Exception {
+    ClientConfig storeClientConfig = configureMocksAndGetStoreConfig(storeName);
+
+    int recordSize = keySerializer.serialize("KEY0").length + value1Serializer.serialize(mockValue1).length;
+    int maxInFlightRecords = 5;
+    Properties backendConfigs = new Properties();
+    // A single producer thread must not wait for the acks of the writes it sent
+    backendConfigs.put(CLIENT_PRODUCER_THREAD_NUM, 1);
+    backendConfigs.put(CLIENT_PRODUCER_MAX_IN_FLIGHT_BYTES, maxInFlightRecords * recordSize);
+    try (TestOnlineVeniceProducer producer = new TestOnlineVeniceProducer(
+        storeClientConfig,
+        new VeniceProperties(backendConfigs),
+        new MetricsRepository())) {
+      List<PubSubProducerCallback> pendingCallbacks = Collections.synchronizedList(new ArrayList<>());
+      doAnswer(invocation -> {
+        pendingCallbacks.add(invocation.getArgument(4));
+        return null;
+      }).when(producer.mockVeniceWriter).put(any(), any(), anyInt(), anyLong(), any());
+
+      List<CompletableFuture<DurableWrite>> futures = new ArrayList<>();
+      for (int i = 0; i < maxInFlightRecords + 1; i++) {
+        futures.add(producer.asyncPut("KEY" + i, mockValue1));
+      }
+      TestUtils.waitForNonDeterministicAssertion(
+          10,
+          TimeUnit.SECONDS,
+          () -> Assert.assertEquals(pendingCallbacks.size(), maxInFlightRecords));
+      // The last write waits for room in flight, and none of them is durable yet
+      Utils.sleep(100);
+      Assert.assertEquals(pendingCallbacks.size(), maxInFlightRecords);
+      futures.forEach(future -> Assert.assertFalse(future.isDone()));
+
+      pendingCallbacks.get(0).onCompletion(null, null);
+      Assert.assertTrue(futures.get(0).isDone());
+      futures.get(0).get();
+      TestUtils.waitForNonDeterministicAssertion(
+          10,
+          TimeUnit.SECONDS,
+          () -> Assert.assertEquals(pendingCallbacks.size(), maxInFlightRecords + 1));
+
+      pendingCallbacks.get(1).onCompletion(null, new VeniceException("Broker failure"));
+      assertThrowsExceptionFromFuture(VeniceException.class, () -> futures.get(1).get());
+      for (int i = 2; i < pendingCallbacks.size(); i++) {
+        pendingCallbacks.get(i).onCompletion(null, null);
+        futures.get(i).get();
+      }
+    }
+  }
+
+  @Test
+  public void testWritesToTheSameKeyAreCoalesced() throws Exception {
+    ClientConfig storeClientConfig = configureMocksAndGetStoreConfig(storeName, true);
+
+    MetricsRepository metricsRepository = new MetricsRepository();
+    Properties backendConfigs = new Properties();
+    // Long enough for all the writes to linger until the producer is closed
+    backendConfigs.put(CLIENT_PRODUCER_LINGER_MS, Time.MS_PER_HOUR);
+    try (TestOnlineVeniceProducer producer =
+        new TestOnlineVeniceProducer(storeClientConfig, new VeniceProperties(backendConfigs), metricsRepository)) {
+      List<CompletableFuture<DurableWrite>> futures = new ArrayList<>();
+      futures.add(producer.asyncPut("KEY1", mockValue1));
+      futures.add(producer.asyncPut("KEY1", mockValue2));
+      futures.add(producer.asyncUpdate("KEY2", updateBuilderObj -> {
+        UpdateBuilder updateBuilder = ((UpdateBuilder) updateBuilderObj);
+        updateBuilder.setNewFieldValue(FIELD_NUMBER, 10L);
+        updateBuilder.setNewFieldValue(FIELD_COLOR, "red");
+      }));
+      futures.add(producer.asyncUpdate("KEY2", updateBuilderObj -> {
+        UpdateBuilder updateBuilder = ((UpdateBuilder) updateBuilderObj);
+        updateBuilder.setNewFieldValue(FIELD_COLOR, "green");
+      }));
+      futures.add(producer.asyncUpdate("KEY3", updateBuilderObj -> {
+        UpdateBuilder updateBuilder = ((UpdateBuilder) updateBuilderObj);
+        updateBuilder.setNewFieldValue(FIELD_COLOR, "blue");
+      }));
+      futures.add(producer.asyncDelete("KEY3"));
+      futures.forEach(future -> Assert.assertFalse(future.isDone()));
+
+      // Closing sends out the lingering writes
+      producer.close();
+      for (CompletableFuture<DurableWrite> future: futures) {
+        future.get();
+      }
+
+      ArgumentCaptor<byte[]> keyArg = ArgumentCaptor.forClass(byte[].class);
+      ArgumentCaptor<byte[]> valueArg = ArgumentCaptor.forClass(byte[].class);
+      verify(producer.mockVeniceWriter, times(1))
+          .put(keyArg.capture(), valueArg.capture(), eq(2), eq(APP_DEFAULT_LOGICAL_TS), any());
+      assertEquals(keySerializer.serialize("KEY1"), keyArg.getValue());
+      assertEquals(value2Serializer.serialize(mockValue2), valueArg.getValue());
+
+      ArgumentCaptor<byte[]> updateArg = ArgumentCaptor.forClass(byte[].class);
+      verify(producer.mockVeniceWriter, times(1))
+          .update(keyArg.capture(), updateArg.capture(), eq(2), eq(1), any(), eq(APP_DEFAULT_LOGICAL_TS));
+      GenericRecord expectedUpdateValue = new GenericData.Record(UPDATE_SCHEMA_2);
+      expectedUpdateValue.put(FIELD_NUMBER, 10L);
+      expectedUpdateValue.put(FIELD_COMPANY, createFieldNoOpRecord(UPDATE_SCHEMA_2, FIELD_COMPANY));
+      expectedUpdateValue.put(FIELD_COLOR, "green");
+      assertEquals(keySerializer.serialize("KEY2"), keyArg.getValue());
+      assertEquals(update2Serializer.serialize(expectedUpdateValue), updateArg.getValue());
+
+      // The delete overrides the earlier update
+      verify(producer.mockVeniceWriter, times(1)).delete(keyArg.capture(), eq(APP_DEFAULT_LOGICAL_TS), any());
+      assertEquals(keySerializer.serialize("KEY3"), keyArg.getValue());
+
+      Assert.assertEquals(metricsRepository.getMetric(FAILED_OPERATION_METRIC_NAME).value(), 0.0);
+      Assert.assertEquals(metricsRepository.getMetric(MIN_PENDING_OPERATION_METRIC_NAME).value(), 0.0);
+    }
+  }
+
   private void configureMockKmeTransportClient(TransportClient transportClient) throws JsonProcessingException {
     doCallRealMethod().when(transportClient).getCopyIfNotUsableInCallback();
     doCallRealMethod().when(transportClient).get(anyString());
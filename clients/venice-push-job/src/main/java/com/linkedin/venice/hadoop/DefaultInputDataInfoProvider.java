@@ -15,6 +15,7 @@ import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.hadoop.exceptions.VeniceInconsistentSchemaException;
 import com.linkedin.venice.hadoop.exceptions.VeniceInvalidInputException;
 import com.linkedin.venice.hadoop.exceptions.VeniceSchemaFieldNotFoundException;
+import com.linkedin.venice.hadoop.input.parquet.HdfsParquetUtils;
 import com.linkedin.venice.hadoop.input.recordreader.VeniceRecordIterator;
 import com.linkedin.venice.hadoop.input.recordreader.avro.HdfsAvroUtils;
 import com.linkedin.venice.hadoop.input.recordreader.avro.VeniceAvroFileIterator;
@@ -105,15 +106,20 @@ public class DefaultInputDataInfoProvider implements InputDataInfoProvider {
               + fileStatuses[0].getPath().getName());
     }
 
-    pushJobSetting.isAvro = !HadoopUtils.isSequenceFile(fs, fileStatuses[0].getPath());
+    pushJobSetting.isParquet = HdfsParquetUtils.isParquetFile(fs, fileStatuses[0].getPath());
+    pushJobSetting.isParquetSchemaInferred =
+        pushJobSetting.isParquet && HdfsParquetUtils.isSchemaInferred(fs, fileStatuses[0].getPath());
+    pushJobSetting.isAvro = pushJobSetting.isParquet || !HadoopUtils.isSequenceFile(fs, fileStatuses[0].getPath());
 
     final AtomicLong inputFileDataSize = new AtomicLong(0);
     if (pushJobSetting.isAvro) {
-      LOGGER.info("Detected Avro input format.");
+      LOGGER.info("Detected {} input format.", pushJobSetting.isParquet ? "Parquet" : "Avro");
       pushJobSetting.keyField = props.getString(KEY_FIELD_PROP, DEFAULT_KEY_FIELD_PROP);
       pushJobSetting.valueField = props.getString(VALUE_FIELD_PROP, DEFAULT_VALUE_FIELD_PROP);
 
-      Pair<Schema, Schema> fileAndOutputValueSchema = checkAvroSchemaConsistency(fs, fileStatuses, inputFileDataSize);
+      Pair<Schema, Schema> fileAndOutputValueSchema = pushJobSetting.isParquet
+          ? checkParquetSchemaConsistency(fs, fileStatuses, inputFileDataSize)
+          : checkAvroSchemaConsistency(fs, fileStatuses, inputFileDataSize);
 
       pushJobSetting.inputDataSchema = fileAndOutputValueSchema.getFirst();
       pushJobSetting.valueSchema = fileAndOutputValueSchema.getSecond();
@@ -157,10 +163,13 @@ public class DefaultInputDataInfoProvider implements InputDataInfoProvider {
     pushJobSetting.keySchemaString = pushJobSetting.keySchema.toString();
     pushJobSetting.valueSchemaString = pushJobSetting.valueSchema.toString();
 
+    boolean hasRecords = pushJobSetting.isParquet
+        ? hasParquetRecords(fs, fileStatuses)
+        : hasRecords(pushJobSetting.isAvro, fs, fileStatuses);
     return new InputDataInfo(
         inputFileDataSize.get(),
         fileStatuses.length,
-        hasRecords(pushJobSetting.isAvro, fs, fileStatuses),
+        hasRecords,
         inputModificationTime);
   }
 
@@ -176,6 +185,15 @@ public class DefaultInputDataInfoProvider implements InputDataInfoProvider {
     return false;
   }
 
+  private boolean hasParquetRecords(FileSystem fs, FileStatus[] fileStatusList) {
+    for (FileStatus fileStatus: fileStatusList) {
+      if (HdfsParquetUtils.getRecordCount(fs, fileStatus.getPath()) > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   @Override
   public PushJobZstdConfig initZstdConfig(int numFiles) {
     if (pushJobZstdConfig != null) {
@@ -294,7 +312,10 @@ public class DefaultInputDataInfoProvider implements InputDataInfoProvider {
           minNumberOfSamples);
       return ZstdWithDictCompressor.buildDictionaryOnSyntheticAvroData();
     }
-    return pushJobZstdConfig.getZstdDictTrainer().trainSamples();
+    ZstdDictSelection selection = pushJobZstdConfig.selectDictionary();
+    LOGGER.info("Trained ZSTD compression dictionary from {} samples: {}", collectedNumberOfSamples, selection);
+    pushJobSetting.zstdDictSelectionDetails = selection.toPushJobDetails();
+    return selection.getDictionary();
   }
 
   @Override
@@ -349,6 +370,49 @@ public class DefaultInputDataInfoProvider implements InputDataInfoProvider {
     return avroSchema;
   }
 
+  /**
+   * Parquet files keep their schema in their footer, which is all that gets read here. No ZSTD training samples are
+   * therefore collected from them, and the dictionary gets built on synthetic data instead, if it is required.
+   */
+  private Pair<Schema, Schema> checkParquetSchemaConsistency(
+      FileSystem fs,
+      FileStatus[] fileStatusList,
+      AtomicLong inputFileDataSize) {
+    Pair<Schema, Schema> avroSchema = getParquetFileHeader(fs, fileStatusList[0].getPath());
+    parallelExecuteHDFSOperation(fileStatusList, "checkParquetSchemaConsistency", fileStatus -> {
+      if (fileStatus.isDirectory()) {
+        throw new VeniceException(
+            "Input directory: " + fileStatus.getPath().getParent().getName() + " should not have sub directory: "
+                + fileStatus.getPath().getName());
+      }
+      inputFileDataSize.addAndGet(fileStatus.getLen());
+      Pair<Schema, Schema> newSchema = getParquetFileHeader(fs, fileStatus.getPath());
+      if (!avroSchema.equals(newSchema)) {
+        throw new VeniceInconsistentSchemaException(
+            String.format(
+                "Inconsistent file Parquet schema found. File: %s.\n Expected file schema: %s.\n Real File schema: %s.",
+                fileStatus.getPath().getName(),
+                avroSchema,
+                newSchema));
+      }
+    });
+    return avroSchema;
+  }
+
+  private Pair<Schema, Schema> getParquetFileHeader(FileSystem fs, Path path) {
+    String keyField = props.getString(KEY_FIELD_PROP, DEFAULT_KEY_FIELD_PROP);
+    String valueField = props.getString(VALUE_FIELD_PROP, DEFAULT_VALUE_FIELD_PROP);
+    String timestampField = props.getOrDefault(TIMESTAMP_FIELD_PROP, "");
+    VeniceAvroRecordReader recordReader = new VeniceAvroRecordReader(
+        HdfsParquetUtils.getFileSchema(fs, path, keyField, valueField),
+        keyField,
+        valueField,
+        timestampField,
+        pushJobSetting.etlValueSchemaTransformation,
+        null);
+    return new Pair<>(recordReader.getDataSchema(), recordReader.getValueSchema());
+  }
+
   // Visible for testing
   Pair<Schema, Schema> getAvroFileHeader(FileSystem fs, Path path, boolean isZstdDictCreationRequired) {
     VeniceAvroRecordReader recordReader = getVeniceAvroRecordReader(fs, path);
@@ -64,14 +64,15 @@ public interface InputDataInfoProvider extends Closeable {
   PushJobZstdConfig initZstdConfig(int numFiles);
 
   /**
-   * This function loads training samples from recordReader abstraction for building the Zstd dictionary.
+   * This function offers the values of a file to the reservoir of samples for building the Zstd dictionary, until
+   * {@link PushJobZstdConfig#getMaxBytesScannedPerFile()} bytes of them have been scanned.
    * @param recordIterator The data accessor of input records.
    */
   static void loadZstdTrainingSamples(VeniceRecordIterator recordIterator, PushJobZstdConfig pushJobZstdConfig) {
     // It's preferable to make this as "private static final" in the class-level, but it's not possible due to
     // "InputDataInfoProvider" being an interface.
     final Logger logger = LogManager.getLogger(InputDataInfo.class);
-    int fileSampleSize = 0;
+    long fileScannedSize = 0;
     while (recordIterator.next()) {
       if (recordIterator.getCurrentKey() == null) {
         continue;
@@ -83,33 +84,22 @@ public interface InputDataInfoProvider extends Closeable {
         continue;
       }
 
-      // At least 1 sample per file should be added until the max sample size is reached
-      if (fileSampleSize > 0) {
-        if (fileSampleSize + value.length > pushJobZstdConfig.getMaxBytesPerFile()) {
-          logger.debug(
-              "Read {} to build dictionary. Reached limit per file of {}.",
-              ByteUtils.generateHumanReadableByteCountString(fileSampleSize),
-              ByteUtils.generateHumanReadableByteCountString(pushJobZstdConfig.getMaxBytesPerFile()));
-          return;
-        }
-      }
-
-      // addSample returns false when the data read no longer fits in the 'sample' buffer limit
-      if (!pushJobZstdConfig.getZstdDictTrainer().addSample(value)) {
+      // At least 1 sample per file should be offered
+      if (fileScannedSize > 0 && fileScannedSize + value.length > pushJobZstdConfig.getMaxBytesScannedPerFile()) {
         logger.debug(
-            "Read {} to build dictionary. Reached sample limit of {}.",
-            ByteUtils.generateHumanReadableByteCountString(fileSampleSize),
-            ByteUtils.generateHumanReadableByteCountString(pushJobZstdConfig.getMaxSampleSize()));
+            "Scanned {} to build dictionary. Reached limit per file of {}.",
+            ByteUtils.generateHumanReadableByteCountString(fileScannedSize),
+            ByteUtils.generateHumanReadableByteCountString(pushJobZstdConfig.getMaxBytesScannedPerFile()));
         return;
       }
-      fileSampleSize += value.length;
-      pushJobZstdConfig.addFilledSize(value.length);
-      pushJobZstdConfig.incrCollectedNumberOfSamples();
+
+      pushJobZstdConfig.addSample(value);
+      fileScannedSize += value.length;
     }
 
     logger.debug(
-        "Read {} to build dictionary. Reached EOF.",
-        ByteUtils.generateHumanReadableByteCountString(fileSampleSize));
+        "Scanned {} to build dictionary. Reached EOF.",
+        ByteUtils.generateHumanReadableByteCountString(fileScannedSize));
   }
 
   byte[] trainZstdDictionary();
@@ -46,6 +46,7 @@ public class PushJobSetting implements Serializable {
   public long jobStatusInUnknownStateTimeoutMs;
   public long pushJobTimeoutOverrideMs;
   public boolean sendControlMessagesDirectly;
+  public String sstFilePushStagingDir;
   public boolean isSourceETL;
   public boolean enableWriteCompute;
   public boolean isSourceKafka;
@@ -83,6 +84,8 @@ public class PushJobSetting implements Serializable {
   public String systemSchemaClusterD2ZKHost;
   public boolean isZstdDictCreationRequired;
   public boolean isZstdDictCreationSuccess;
+  /** Refer {@link ZstdDictSelection#toPushJobDetails()}, null unless a dictionary got trained from the input */
+  public Map<String, String> zstdDictSelectionDetails;
 
   // Multiple compute engine support
   public Class<? extends DataWriterComputeJob> dataWriterComputeJobClass;
@@ -122,6 +125,17 @@ public class PushJobSetting implements Serializable {
 
   // Schema-properties
   public boolean isAvro = true;
+  /**
+   * Whether the input files are in Parquet format. Their rows are converted into Avro records of
+   * {@link #inputDataSchema}, hence {@link #isAvro} is also set.
+   */
+  public boolean isParquet;
+  /**
+   * Whether the Avro schema of the Parquet input files is converted from their Parquet schema, rather than kept in
+   * their footer, in which case {@link #inputDataSchema} is mapped onto the key and value schemas registered for the
+   * store before the schemas are validated.
+   */
+  public boolean isParquetSchemaInferred;
   public int valueSchemaId; // Value schema id retrieved from backend for valueSchemaString
   public int derivedSchemaId = -1;
   public String keyField;
@@ -1,32 +1,97 @@
 package com.linkedin.venice.hadoop;
 
+import static com.linkedin.venice.vpj.VenicePushJobConstants.COMPRESSION_DICTIONARY_CANDIDATES;
+import static com.linkedin.venice.vpj.VenicePushJobConstants.COMPRESSION_DICTIONARY_SAMPLE_SCAN_FACTOR;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.COMPRESSION_DICTIONARY_SAMPLE_SIZE;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.COMPRESSION_DICTIONARY_SIZE_LIMIT;
+import static com.linkedin.venice.vpj.VenicePushJobConstants.DEFAULT_COMPRESSION_DICTIONARY_CANDIDATES;
+import static com.linkedin.venice.vpj.VenicePushJobConstants.DEFAULT_COMPRESSION_DICTIONARY_SAMPLE_SCAN_FACTOR;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.DEFAULT_COMPRESSION_DICTIONARY_SAMPLE_SIZE;
+import static com.linkedin.venice.vpj.VenicePushJobConstants.MINIMUM_NUMBER_OF_SAMPLES_REQUIRED_TO_BUILD_ZSTD_DICTIONARY;
+import static com.linkedin.venice.vpj.VenicePushJobConstants.ZSTD_COMPRESSION_LEVEL;
 
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdCompressCtx;
 import com.github.luben.zstd.ZstdDictTrainer;
+import com.github.luben.zstd.ZstdException;
+import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.utils.DaemonThreadFactory;
 import com.linkedin.venice.utils.VeniceProperties;
 import com.linkedin.venice.writer.VeniceWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 
+/**
+ * Collects the samples of the input values from which the ZSTD dictionary of a push gets trained, and trains it.
+ *
+ * The samples are kept in a reservoir, so that every scanned value has the same chance of being sampled, no matter
+ * which file it comes from nor in which order the files get scanned. Once the reservoir holds
+ * {@link #getMaxSampleSize()} bytes, the number of samples it keeps is fixed, and a new sample only replaces one whose
+ * size leaves the reservoir within that limit.
+ *
+ * N.B.: The sampling is uniform over the values, not over their bytes. Moreover, once the reservoir is full, a value
+ * larger than the sample it would replace is dropped whenever the reservoir has no room left for the difference, so
+ * the samples are biased towards the smaller values when their sizes vary a lot. Scanning each file only for its
+ * share of the sample size, which is the default, keeps the reservoir from filling up early and limits that bias.
+ *
+ * {@link #selectDictionary()} trains several candidate dictionaries of decreasing sizes in parallel, and keeps the one
+ * which compresses a held out part of the samples best.
+ */
 public class PushJobZstdConfig {
-  private final ZstdDictTrainer zstdDictTrainer;
+  /**
+   * One sample out of this many is held out of the training, to evaluate the candidate dictionaries.
+   */
+  static final int HOLDOUT_SAMPLE_INTERVAL = 10;
+  static final int MIN_CANDIDATE_DICTIONARY_SIZE = 1024;
+  private static final int MIN_NUMBER_OF_TRAINING_SAMPLES = 10;
+  /**
+   * The highest level at which the candidates get evaluated. The level mostly shifts the compressed sizes of all the
+   * candidates alike, and the maximum level, which is the default compression level of the push job, is orders of
+   * magnitude slower.
+   */
+  static final int MAX_EVALUATION_COMPRESSION_LEVEL = Zstd.defaultCompressionLevel();
+
+  private final int maxDictSize;
   private final int maxBytesPerFile;
+  private final long maxBytesScannedPerFile;
   private final int maxSampleSize;
-  private int filledSize; // Duplicate of filledSize in ZstdDictTrainer as there is no getter for this
-  private int collectedNumberOfSamples;
+  private final int numberOfCandidates;
+  private final int evaluationCompressionLevel;
+  private final List<byte[]> samples = new ArrayList<>();
+  private final Random random = new Random(0);
+  private ZstdDictTrainer zstdDictTrainer;
+  private int filledSize;
+  private long scannedNumberOfSamples;
+  /** The number of samples the reservoir keeps once full, or -1 until then */
+  private int reservoirCapacity = -1;
 
   public PushJobZstdConfig(VeniceProperties props, int numFiles) {
-    int maxDictSize = props
+    maxDictSize = props
         .getInt(COMPRESSION_DICTIONARY_SIZE_LIMIT, VeniceWriter.DEFAULT_MAX_SIZE_FOR_USER_PAYLOAD_PER_MESSAGE_IN_BYTES);
     maxSampleSize = props.getInt(COMPRESSION_DICTIONARY_SAMPLE_SIZE, DEFAULT_COMPRESSION_DICTIONARY_SAMPLE_SIZE);
     maxBytesPerFile = maxSampleSize / numFiles;
-    zstdDictTrainer = new ZstdDictTrainer(maxSampleSize, maxDictSize);
-    filledSize = 0;
-    collectedNumberOfSamples = 0;
+    maxBytesScannedPerFile = (long) maxBytesPerFile
+        * props.getInt(COMPRESSION_DICTIONARY_SAMPLE_SCAN_FACTOR, DEFAULT_COMPRESSION_DICTIONARY_SAMPLE_SCAN_FACTOR);
+    numberOfCandidates =
+        Math.max(1, props.getInt(COMPRESSION_DICTIONARY_CANDIDATES, DEFAULT_COMPRESSION_DICTIONARY_CANDIDATES));
+    evaluationCompressionLevel = Math
+        .min(props.getInt(ZSTD_COMPRESSION_LEVEL, Zstd.maxCompressionLevel()), MAX_EVALUATION_COMPRESSION_LEVEL);
   }
 
-  public ZstdDictTrainer getZstdDictTrainer() {
+  /**
+   * @return a trainer to add samples to directly, bypassing the reservoir
+   */
+  public synchronized ZstdDictTrainer getZstdDictTrainer() {
+    if (zstdDictTrainer == null) {
+      zstdDictTrainer = new ZstdDictTrainer(maxSampleSize, maxDictSize);
+    }
     return zstdDictTrainer;
   }
 
@@ -34,23 +99,164 @@ public class PushJobZstdConfig {
     return maxBytesPerFile;
   }
 
+  public long getMaxBytesScannedPerFile() {
+    return maxBytesScannedPerFile;
+  }
+
   public int getMaxSampleSize() {
     return maxSampleSize;
   }
 
-  public int getFilledSize() {
+  public synchronized int getFilledSize() {
     return filledSize;
   }
 
-  public void addFilledSize(int filledSize) {
-    this.filledSize += filledSize;
+  public synchronized int getCollectedNumberOfSamples() {
+    return samples.size();
+  }
+
+  /**
+   * Offers a scanned value to the reservoir of samples. This can be called from several threads.
+   *
+   * Once the reservoir is full, the value is dropped if it would not fit in place of the sample it's drawn to replace,
+   * which favors the smaller values; see the class documentation.
+   */
+  public synchronized void addSample(byte[] value) {
+    scannedNumberOfSamples++;
+    if (reservoirCapacity < 0) {
+      if (filledSize + value.length <= maxSampleSize) {
+        samples.add(value);
+        filledSize += value.length;
+        return;
+      }
+      reservoirCapacity = samples.size();
+    }
+    long index = (long) (random.nextDouble() * scannedNumberOfSamples);
+    if (index >= reservoirCapacity) {
+      return;
+    }
+    byte[] replacedSample = samples.get((int) index);
+    if (filledSize - replacedSample.length + value.length <= maxSampleSize) {
+      samples.set((int) index, value);
+      filledSize += value.length - replacedSample.length;
+    }
+  }
+
+  /**
+   * Trains the candidate dictionaries in parallel, and compares how well each of them, ZSTD without dictionary and no
+   * compression at all do on the held out samples, compressed at no more than
+   * {@link #MAX_EVALUATION_COMPRESSION_LEVEL}. If there are too few samples to hold some out, all of them are used for
+   * both training and evaluation.
+   *
+   * @throws ZstdException if the dictionaries can't be trained from the collected samples
+   */
+  public ZstdDictSelection selectDictionary() {
+    byte[][] allSamples;
+    synchronized (this) {
+      allSamples = samples.toArray(new byte[0][]);
+    }
+    int holdoutCount = allSamples.length / HOLDOUT_SAMPLE_INTERVAL;
+    if (allSamples.length - holdoutCount < MINIMUM_NUMBER_OF_SAMPLES_REQUIRED_TO_BUILD_ZSTD_DICTIONARY) {
+      holdoutCount = 0;
+    }
+    byte[][] trainingSamples = new byte[allSamples.length - holdoutCount][];
+    byte[][] holdoutSamples = new byte[holdoutCount][];
+    for (int i = 0, t = 0, h = 0; i < allSamples.length; i++) {
+      if (h < holdoutCount && i % HOLDOUT_SAMPLE_INTERVAL == 0) {
+        holdoutSamples[h++] = allSamples[i];
+      } else {
+        trainingSamples[t++] = allSamples[i];
+      }
+    }
+    byte[][] evaluationSamples = holdoutCount > 0 ? holdoutSamples : trainingSamples;
+
+    List<Integer> dictSizes = new ArrayList<>(numberOfCandidates);
+    for (int i = 0; i < numberOfCandidates; i++) {
+      int dictSize = Math.max(maxDictSize >> i, Math.min(maxDictSize, MIN_CANDIDATE_DICTIONARY_SIZE));
+      if (dictSizes.contains(dictSize)) {
+        break;
+      }
+      dictSizes.add(dictSize);
+    }
+
+    ExecutorService executor =
+        Executors.newFixedThreadPool(dictSizes.size() + 1, new DaemonThreadFactory("push-job-zstd-dict-trainer"));
+    try {
+      List<CompletableFuture<byte[]>> dictionaryFutures = new ArrayList<>(dictSizes.size());
+      List<CompletableFuture<Long>> compressedSizeFutures = new ArrayList<>(dictSizes.size());
+      for (int dictSize: dictSizes) {
+        CompletableFuture<byte[]> dictionaryFuture =
+            CompletableFuture.supplyAsync(() -> trainDictionary(trainingSamples, dictSize), executor);
+        dictionaryFutures.add(dictionaryFuture);
+        compressedSizeFutures.add(dictionaryFuture.thenApply(dict -> getCompressedSize(evaluationSamples, dict)));
+      }
+      CompletableFuture<Long> zstdCompressedSizeFuture =
+          CompletableFuture.supplyAsync(() -> getCompressedSize(evaluationSamples, null), executor);
+
+      // Ties go to the smallest dictionary, which is cheaper to load on the servers
+      int best = 0;
+      for (int i = 1; i < dictSizes.size(); i++) {
+        if (compressedSizeFutures.get(i).join() <= compressedSizeFutures.get(best).join()) {
+          best = i;
+        }
+      }
+      long rawSize = 0;
+      for (byte[] sample: evaluationSamples) {
+        rawSize += sample.length;
+      }
+      long zstdCompressedSize = zstdCompressedSizeFuture.join();
+      long dictCompressedSize = compressedSizeFutures.get(best).join();
+      CompressionStrategy recommendedStrategy;
+      if (dictCompressedSize < Math.min(zstdCompressedSize, rawSize)) {
+        recommendedStrategy = CompressionStrategy.ZSTD_WITH_DICT;
+      } else if (zstdCompressedSize < rawSize) {
+        recommendedStrategy = CompressionStrategy.ZSTD;
+      } else {
+        recommendedStrategy = CompressionStrategy.NO_OP;
+      }
+      return new ZstdDictSelection(
+          dictionaryFutures.get(best).join(),
+          recommendedStrategy,
+          dictSizes.size(),
+          trainingSamples.length,
+          evaluationSamples.length,
+          rawSize,
+          zstdCompressedSize,
+          dictCompressedSize);
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    } finally {
+      executor.shutdownNow();
+    }
   }
 
-  public int getCollectedNumberOfSamples() {
-    return collectedNumberOfSamples;
+  private static byte[] trainDictionary(byte[][] trainingSamples, int dictSize) {
+    // Same guard as ZstdDictTrainer, as the native training crashes with too few samples
+    if (trainingSamples.length < MIN_NUMBER_OF_TRAINING_SAMPLES) {
+      throw new ZstdException(Zstd.errGeneric(), "nb of samples too low");
+    }
+    byte[] dictBuffer = new byte[dictSize];
+    long size = Zstd.trainFromBuffer(trainingSamples, dictBuffer);
+    if (Zstd.isError(size)) {
+      throw new ZstdException(size);
+    }
+    return Arrays.copyOf(dictBuffer, (int) size);
   }
 
-  public void incrCollectedNumberOfSamples() {
-    this.collectedNumberOfSamples++;
+  private long getCompressedSize(byte[][] evaluationSamples, byte[] dictionary) {
+    try (ZstdCompressCtx compressCtx = new ZstdCompressCtx()) {
+      compressCtx.setLevel(evaluationCompressionLevel);
+      if (dictionary != null) {
+        compressCtx.loadDict(dictionary);
+      }
+      long compressedSize = 0;
+      for (byte[] sample: evaluationSamples) {
+        compressedSize += compressCtx.compress(sample).length;
+      }
+      return compressedSize;
+    }
   }
 }
@@ -67,6 +67,7 @@ import static com.linkedin.venice.vpj.VenicePushJobConstants.SORTED;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.SOURCE_ETL;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.SOURCE_GRID_FABRIC;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.SOURCE_KAFKA;
+import static com.linkedin.venice.vpj.VenicePushJobConstants.SST_FILE_PUSH_STAGING_DIR;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.SUPPRESS_END_OF_PUSH_MESSAGE;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.SYSTEM_SCHEMA_READER_ENABLED;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.TARGETED_REGION_PUSH_ENABLED;
@@ -102,6 +103,7 @@ import com.linkedin.venice.exceptions.VeniceResourceAccessException;
 import com.linkedin.venice.exceptions.VeniceTimeoutException;
 import com.linkedin.venice.hadoop.exceptions.VeniceInvalidInputException;
 import com.linkedin.venice.hadoop.input.kafka.KafkaInputDictTrainer;
+import com.linkedin.venice.hadoop.input.parquet.HdfsParquetUtils;
 import com.linkedin.venice.hadoop.mapreduce.datawriter.jobs.DataWriterMRJob;
 import com.linkedin.venice.hadoop.mapreduce.engine.DefaultJobClientWrapper;
 import com.linkedin.venice.hadoop.schema.HDFSSchemaSource;
@@ -134,6 +136,7 @@ import com.linkedin.venice.serialization.avro.InternalAvroSpecificSerializer;
 import com.linkedin.venice.status.PushJobDetailsStatus;
 import com.linkedin.venice.status.protocol.PushJobDetails;
 import com.linkedin.venice.status.protocol.PushJobDetailsStatusTuple;
+import com.linkedin.venice.store.rocksdb.RocksDBUtils;
 import com.linkedin.venice.utils.AvroSupersetSchemaUtils;
 import com.linkedin.venice.utils.ByteUtils;
 import com.linkedin.venice.utils.DictionaryUtils;
@@ -357,6 +360,7 @@ public class VenicePushJob implements AutoCloseable {
         props.getLong(JOB_STATUS_IN_UNKNOWN_STATE_TIMEOUT_MS, DEFAULT_JOB_STATUS_IN_UNKNOWN_STATE_TIMEOUT_MS);
     pushJobSettingToReturn.pushJobTimeoutOverrideMs = props.getLong(PUSH_JOB_TIMEOUT_OVERRIDE_MS, -1L);
     pushJobSettingToReturn.sendControlMessagesDirectly = props.getBoolean(SEND_CONTROL_MESSAGES_DIRECTLY, false);
+    pushJobSettingToReturn.sstFilePushStagingDir = props.getString(SST_FILE_PUSH_STAGING_DIR, null);
     pushJobSettingToReturn.enableWriteCompute = props.getBoolean(ENABLE_WRITE_COMPUTE, false);
     pushJobSettingToReturn.pushToSeparateRealtimeTopicEnabled =
         props.getBoolean(PUSH_TO_SEPARATE_REALTIME_TOPIC, false);
@@ -714,6 +718,15 @@ public class VenicePushJob implements AutoCloseable {
        * If the data source is from some existing Kafka topic, no need to validate the input.
        */
       if (!pushJobSetting.isSourceKafka) {
+        if (pushJobSetting.isParquet
+            && DataWriterMRJob.class.isAssignableFrom(pushJobSetting.dataWriterComputeJobClass)) {
+          throw new VeniceException(
+              "Parquet input is only supported by the Spark data writer job, set " + DATA_WRITER_COMPUTE_JOB_CLASS
+                  + " accordingly");
+        }
+        if (pushJobSetting.isParquetSchemaInferred) {
+          mapInferredParquetSchemaOntoStoreSchemas(controllerClient, pushJobSetting);
+        }
         if (pushJobSetting.isAvro) {
           validateInputDataSchema(pushJobSetting.inputDataSchemaString);
         } else {
@@ -795,7 +808,8 @@ public class VenicePushJob implements AutoCloseable {
 
         if (!pushJobSetting.suppressEndOfPushMessage) {
           if (pushJobSetting.sendControlMessagesDirectly) {
-            getVeniceWriter(pushJobSetting).broadcastEndOfPush(Collections.emptyMap());
+            getVeniceWriter(pushJobSetting)
+                .broadcastEndOfPush(pushJobSetting.sstFilePushStagingDir != null, Collections.emptyMap());
           } else {
             controllerClient.writeEndOfPush(pushJobSetting.storeName, pushJobSetting.version);
           }
@@ -887,6 +901,12 @@ public class VenicePushJob implements AutoCloseable {
       if (pushJobSetting.rmdSchemaDir != null) {
         HadoopUtils.cleanUpHDFSPath(pushJobSetting.rmdSchemaDir, true);
       }
+      if (pushJobSetting.sstFilePushStagingDir != null && pushJobSetting.topic != null) {
+        // The servers are done importing the staged SST files, or the push was killed
+        HadoopUtils.cleanUpHDFSPath(
+            RocksDBUtils.composeStagedSSTTopicDir(pushJobSetting.sstFilePushStagingDir, pushJobSetting.topic),
+            true);
+      }
     }
   }
 
@@ -1574,6 +1594,9 @@ public class VenicePushJob implements AutoCloseable {
           pushJobConfigs
               .put(HEARTBEAT_ENABLED_CONFIG.getConfigName(), String.valueOf(pushJobSetting.livenessHeartbeatEnabled));
         }
+        if (pushJobSetting.zstdDictSelectionDetails != null) {
+          pushJobConfigs.putAll(pushJobSetting.zstdDictSelectionDetails);
+        }
         pushJobDetails.pushJobConfigs = pushJobConfigs;
         // TODO find a way to get meaningful producer configs to populate the producerConfigs map here.
         // Currently most of the easily accessible VeniceWriter configs are not interesting and contains sensitive
@@ -1860,6 +1883,54 @@ public class VenicePushJob implements AutoCloseable {
             + "                         |___/          " + Utils.NEW_LINE_CHAR);
   }
 
+  /**
+   * The Avro schema of Parquet files which were not written from Avro records is converted from their Parquet schema,
+   * so its records are named after Spark's conventions and all of its nested fields are nullable, which doesn't match
+   * the key and value schemas registered for the store. This method replaces the key and value schemas of the input
+   * data with the registered ones they can be read into, the latest registered value schema being picked if several
+   * match, and leaves them unchanged otherwise so that the validation below reports the mismatch.
+   */
+  void mapInferredParquetSchemaOntoStoreSchemas(ControllerClient controllerClient, PushJobSetting setting) {
+    if (setting.etlValueSchemaTransformation != ETLValueSchemaTransformation.NONE) {
+      throw new VeniceException("ETL value schema transformations are not supported for Parquet input");
+    }
+    Schema keySchema = setting.keySchema;
+    if (HdfsParquetUtils.isInferredFrom(setting.storeKeySchema, keySchema)) {
+      keySchema = setting.storeKeySchema;
+    }
+    Schema valueSchema = setting.valueSchema;
+    MultiSchemaResponse response = ControllerClient
+        .retryableRequest(controllerClient, setting.controllerRetries, c -> c.getAllValueSchema(setting.storeName));
+    if (response.isError()) {
+      throw new VeniceException(
+          "Failed to fetch the value schemas of store: " + setting.storeName + "\nError from the server: "
+              + response.getError());
+    }
+    int valueSchemaId = -1;
+    for (MultiSchemaResponse.Schema schema: response.getSchemas()) {
+      Schema registeredSchema = AvroSchemaParseUtils.parseSchemaFromJSONLooseValidation(schema.getSchemaStr());
+      if (schema.getId() > valueSchemaId && HdfsParquetUtils.isInferredFrom(registeredSchema, setting.valueSchema)) {
+        valueSchema = registeredSchema;
+        valueSchemaId = schema.getId();
+      }
+    }
+    if (valueSchemaId == -1) {
+      LOGGER.warn(
+          "None of the value schemas of store: {} matches the schema inferred from the Parquet input: {}",
+          setting.storeName,
+          setting.valueSchemaString);
+    } else {
+      LOGGER.info("Reading the Parquet input with value schema {} of store: {}", valueSchemaId, setting.storeName);
+    }
+    setting.inputDataSchema = HdfsParquetUtils
+        .withRegisteredSchemas(setting.inputDataSchema, setting.keyField, keySchema, setting.valueField, valueSchema);
+    setting.inputDataSchemaString = setting.inputDataSchema.toString();
+    setting.keySchema = keySchema;
+    setting.keySchemaString = keySchema.toString();
+    setting.valueSchema = valueSchema;
+    setting.valueSchemaString = valueSchema.toString();
+  }
+
   /**
    * This method will validate the key schema in the input file against the one registered in Venice.
    */
@@ -2152,6 +2223,24 @@ public class VenicePushJob implements AutoCloseable {
       jobSetting.sendControlMessagesDirectly = false;
     }
 
+    if (jobSetting.sstFilePushStagingDir != null) {
+      if (jobSetting.isIncrementalPush || hybridStoreConfig != null) {
+        throw new VeniceException("SST file push is only supported for batch pushes into batch-only stores.");
+      }
+      /*
+        The replicas bootstrapping once the staging dir is cleaned up, e.g. after a host replacement, can only fetch
+        the staged data from their peers.
+       */
+      if (!storeResponse.getStore().isBlobTransferEnabled()) {
+        throw new VeniceException("SST file push requires blob transfer to be enabled for the store.");
+      }
+      /*
+        The staged data is never produced to the version topic, so the VenicePushJob marks the end of push it sends
+        for the servers to import it.
+       */
+      jobSetting.sendControlMessagesDirectly = true;
+    }
+
     jobSetting.storeKeySchema =
         getKeySchemaFromController(controllerClient, jobSetting.controllerRetries, jobSetting.storeName);
 
@@ -2271,6 +2360,18 @@ public class VenicePushJob implements AutoCloseable {
     setting.rmdChunkingEnabled = setting.chunkingEnabled && setting.isRmdChunkingEnabled;
     setting.kafkaSourceRegion = versionCreationResponse.getKafkaSourceRegion();
 
+    if (setting.sstFilePushStagingDir != null && !versionCreationResponse.isSstFilePushEnabled()) {
+      /*
+        The servers may not all be able to import the staged data yet, so the batch data is produced to the version
+        topic instead. The control messages are still sent directly, as the controller did not send the start of push.
+       */
+      LOGGER.warn(
+          "SST file push is not enabled in cluster: {}, producing the batch data to version topic: {} instead",
+          setting.clusterName,
+          setting.topic);
+      setting.sstFilePushStagingDir = null;
+    }
+
     if (setting.isSourceKafka) {
       /**
        * Check whether the new version setup is compatible with the source version, and we will check the following configs:
@@ -0,0 +1,88 @@
+package com.linkedin.venice.hadoop;
+
+import com.linkedin.venice.compression.CompressionStrategy;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * The outcome of {@link PushJobZstdConfig#selectDictionary()}: the best of the candidate dictionaries, and the
+ * compression strategy which did best on the held out samples.
+ *
+ * The recommended strategy is informational only, as the strategy of a push is dictated by its store, whose
+ * dictionary, if any, is always the best candidate.
+ */
+public class ZstdDictSelection {
+  static final String DETAILS_PREFIX = "compression.dictionary.selection.";
+
+  private final byte[] dictionary;
+  private final CompressionStrategy recommendedStrategy;
+  private final int numberOfCandidates;
+  private final int numberOfTrainingSamples;
+  private final int numberOfEvaluationSamples;
+  private final long rawSize;
+  private final long zstdCompressedSize;
+  private final long dictCompressedSize;
+
+  public ZstdDictSelection(
+      byte[] dictionary,
+      CompressionStrategy recommendedStrategy,
+      int numberOfCandidates,
+      int numberOfTrainingSamples,
+      int numberOfEvaluationSamples,
+      long rawSize,
+      long zstdCompressedSize,
+      long dictCompressedSize) {
+    this.dictionary = dictionary;
+    this.recommendedStrategy = recommendedStrategy;
+    this.numberOfCandidates = numberOfCandidates;
+    this.numberOfTrainingSamples = numberOfTrainingSamples;
+    this.numberOfEvaluationSamples = numberOfEvaluationSamples;
+    this.rawSize = rawSize;
+    this.zstdCompressedSize = zstdCompressedSize;
+    this.dictCompressedSize = dictCompressedSize;
+  }
+
+  public byte[] getDictionary() {
+    return dictionary;
+  }
+
+  public CompressionStrategy getRecommendedStrategy() {
+    return recommendedStrategy;
+  }
+
+  public double getZstdCompressionRatio() {
+    return getRatio(zstdCompressedSize);
+  }
+
+  public double getDictCompressionRatio() {
+    return getRatio(dictCompressedSize);
+  }
+
+  /**
+   * @return the outcome of the selection, to be reported along with the configs of the push job
+   */
+  public Map<String, String> toPushJobDetails() {
+    Map<String, String> details = new HashMap<>();
+    details.put(DETAILS_PREFIX + "recommended.strategy", recommendedStrategy.name());
+    details.put(DETAILS_PREFIX + "dictionary.size", Integer.toString(dictionary.length));
+    details.put(DETAILS_PREFIX + "candidates", Integer.toString(numberOfCandidates));
+    details.put(DETAILS_PREFIX + "training.samples", Integer.toString(numberOfTrainingSamples));
+    details.put(DETAILS_PREFIX + "evaluation.samples", Integer.toString(numberOfEvaluationSamples));
+    details.put(DETAILS_PREFIX + "zstd.ratio", String.format("%.3f", getZstdCompressionRatio()));
+    details.put(DETAILS_PREFIX + "zstd.with.dict.ratio", String.format("%.3f", getDictCompressionRatio()));
+    return details;
+  }
+
+  private double getRatio(long compressedSize) {
+    return compressedSize == 0 ? 1.0 : (double) rawSize / compressedSize;
+  }
+
+  @Override
+  public String toString() {
+    return "ZstdDictSelection{recommendedStrategy=" + recommendedStrategy + ", dictionarySize=" + dictionary.length
+        + ", candidates=" + numberOfCandidates + ", trainingSamples=" + numberOfTrainingSamples
+        + ", evaluationSamples=" + numberOfEvaluationSamples + ", zstdRatio=" + getZstdCompressionRatio()
+        + ", zstdWithDictRatio=" + getDictCompressionRatio() + '}';
+  }
+}
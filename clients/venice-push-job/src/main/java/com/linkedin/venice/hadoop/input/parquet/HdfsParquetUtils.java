@@ -0,0 +1,190 @@
+package com.linkedin.venice.hadoop.input.parquet;
+
+import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
+import com.linkedin.venice.exceptions.VeniceException;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.spark.sql.avro.SchemaConverters;
+import org.apache.spark.sql.execution.datasources.parquet.ParquetToSparkSchemaConverter;
+import org.apache.spark.sql.internal.SQLConf;
+import org.apache.spark.sql.types.StructType;
+
+
+public final class HdfsParquetUtils {
+  /**
+   * The footer metadata under which the parquet-avro writers keep the Avro schema of the records.
+   */
+  static final String AVRO_SCHEMA_METADATA_KEY = "parquet.avro.schema";
+  /**
+   * The record name given by Spark to the top level record of the Avro schemas it converts.
+   */
+  static final String TOP_LEVEL_RECORD_NAME = "topLevelRecord";
+
+  private HdfsParquetUtils() {
+  }
+
+  public static boolean isParquetFile(FileSystem fs, Path path) throws IOException {
+    if (fs.isDirectory(path)) {
+      throw new IOException("Input path " + path + " is not a file.");
+    }
+    byte[] magic = new byte[ParquetFileWriter.MAGIC.length];
+    try (DataInputStream in = fs.open(path)) {
+      in.readFully(magic);
+    } catch (EOFException e) {
+      return false;
+    }
+    return Arrays.equals(magic, ParquetFileWriter.MAGIC);
+  }
+
+  /**
+   * Returns the Avro schema of the records of a Parquet file, which is the one kept in its footer if the file was
+   * written from Avro records, and is otherwise converted from its Parquet schema the same way Spark does it.
+   *
+   * Since most writers, Spark included, mark every column as optional, the converted schemas of the key and value
+   * fields are stripped of their null branch, as neither the keys nor the values pushed to Venice can be null.
+   */
+  public static Schema getFileSchema(FileSystem fs, Path path, String keyField, String valueField) {
+    FileMetaData fileMetaData = getFileMetaData(fs, path);
+    String avroSchema = fileMetaData.getKeyValueMetaData().get(AVRO_SCHEMA_METADATA_KEY);
+    if (avroSchema != null) {
+      return AvroCompatibilityHelper.parse(avroSchema);
+    }
+    StructType sparkSchema = new ParquetToSparkSchemaConverter(new SQLConf()).convert(fileMetaData.getSchema());
+    Schema schema = SchemaConverters.toAvroType(sparkSchema, false, TOP_LEVEL_RECORD_NAME, "");
+    return stripNullBranches(schema, keyField, valueField);
+  }
+
+  /**
+   * @return whether the schema returned by {@link #getFileSchema} is converted from the Parquet schema of the file
+   *         rather than kept in its footer, in which case it doesn't match the schemas registered for the store
+   */
+  public static boolean isSchemaInferred(FileSystem fs, Path path) {
+    return !getFileMetaData(fs, path).getKeyValueMetaData().containsKey(AVRO_SCHEMA_METADATA_KEY);
+  }
+
+  /**
+   * Returns whether a schema registered for the store is the one which a schema converted from a Parquet schema by
+   * {@link #getFileSchema} was originally written from, regardless of the record names made up by Spark and of the
+   * null branch it adds to every nested field. The fields of records are matched by name, the same way Spark reads the
+   * nested columns of Parquet files.
+   */
+  public static boolean isInferredFrom(Schema registeredSchema, Schema inferredSchema) {
+    Schema schema = stripNullBranch(inferredSchema);
+    switch (registeredSchema.getType()) {
+      case UNION:
+        // Only the optional fields can be told from the Parquet schema
+        Schema registeredBranch = stripNullBranch(registeredSchema);
+        return registeredBranch != registeredSchema && isInferredFrom(registeredBranch, schema);
+      case RECORD:
+        if (schema.getType() != Schema.Type.RECORD
+            || schema.getFields().size() != registeredSchema.getFields().size()) {
+          return false;
+        }
+        for (Schema.Field registeredField: registeredSchema.getFields()) {
+          Schema.Field field = schema.getField(registeredField.name());
+          if (field == null || !isInferredFrom(registeredField.schema(), field.schema())) {
+            return false;
+          }
+        }
+        return true;
+      case ARRAY:
+        return schema.getType() == Schema.Type.ARRAY
+            && isInferredFrom(registeredSchema.getElementType(), schema.getElementType());
+      case MAP:
+        return schema.getType() == Schema.Type.MAP
+            && isInferredFrom(registeredSchema.getValueType(), schema.getValueType());
+      case ENUM:
+        return schema.getType() == Schema.Type.STRING;
+      case FIXED:
+        return schema.getType() == Schema.Type.FIXED || schema.getType() == Schema.Type.BYTES;
+      default:
+        return schema.getType() == registeredSchema.getType();
+    }
+  }
+
+  /**
+   * Returns the schema of the records of Parquet files, as converted by {@link #getFileSchema}, with the schemas of
+   * its key and value fields replaced by the registered ones they were inferred from, see {@link #isInferredFrom}.
+   */
+  public static Schema withRegisteredSchemas(
+      Schema fileSchema,
+      String keyField,
+      Schema keySchema,
+      String valueField,
+      Schema valueSchema) {
+    Map<String, Schema> fieldSchemas = new HashMap<>();
+    fieldSchemas.put(keyField, keySchema);
+    fieldSchemas.put(valueField, valueSchema);
+    return replaceFieldSchemas(fileSchema, fieldSchemas);
+  }
+
+  public static long getRecordCount(FileSystem fs, Path path) {
+    try (ParquetFileReader reader = ParquetFileReader.open(HadoopInputFile.fromPath(path, fs.getConf()))) {
+      return reader.getRecordCount();
+    } catch (IOException e) {
+      throw new VeniceException(
+          "Encountered exception reading Parquet footer from " + path
+              + ". Check if the file exists and the data is in Parquet format.",
+          e);
+    }
+  }
+
+  private static FileMetaData getFileMetaData(FileSystem fs, Path path) {
+    try (ParquetFileReader reader = ParquetFileReader.open(HadoopInputFile.fromPath(path, fs.getConf()))) {
+      return reader.getFooter().getFileMetaData();
+    } catch (IOException e) {
+      throw new VeniceException(
+          "Encountered exception reading Parquet footer from " + path
+              + ". Check if the file exists and the data is in Parquet format.",
+          e);
+    }
+  }
+
+  private static Schema stripNullBranches(Schema recordSchema, String... fieldNames) {
+    Map<String, Schema> fieldSchemas = new HashMap<>();
+    for (String fieldName: fieldNames) {
+      Schema.Field field = recordSchema.getField(fieldName);
+      if (field != null) {
+        fieldSchemas.put(fieldName, stripNullBranch(field.schema()));
+      }
+    }
+    return replaceFieldSchemas(recordSchema, fieldSchemas);
+  }
+
+  private static Schema replaceFieldSchemas(Schema recordSchema, Map<String, Schema> fieldSchemas) {
+    List<Schema.Field> fields = new ArrayList<>(recordSchema.getFields().size());
+    for (Schema.Field field: recordSchema.getFields()) {
+      Schema fieldSchema = fieldSchemas.getOrDefault(field.name(), field.schema());
+      fields.add(AvroCompatibilityHelper.createSchemaField(field.name(), fieldSchema, field.doc(), null));
+    }
+    Schema schema =
+        Schema.createRecord(recordSchema.getName(), recordSchema.getDoc(), recordSchema.getNamespace(), false);
+    schema.setFields(fields);
+    return schema;
+  }
+
+  private static Schema stripNullBranch(Schema schema) {
+    if (schema.getType() != Schema.Type.UNION || schema.getTypes().size() != 2) {
+      return schema;
+    }
+    Schema first = schema.getTypes().get(0);
+    Schema second = schema.getTypes().get(1);
+    if (first.getType() == Schema.Type.NULL) {
+      return second;
+    }
+    return second.getType() == Schema.Type.NULL ? first : schema;
+  }
+}
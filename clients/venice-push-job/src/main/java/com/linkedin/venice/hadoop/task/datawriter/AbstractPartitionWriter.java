@@ -13,6 +13,7 @@ import static com.linkedin.venice.vpj.VenicePushJobConstants.KAFKA_INPUT_SOURCE_
 import static com.linkedin.venice.vpj.VenicePushJobConstants.KAFKA_INPUT_TOPIC;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.RMD_SCHEMA_DIR;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.RMD_SCHEMA_PROP;
+import static com.linkedin.venice.vpj.VenicePushJobConstants.SST_FILE_PUSH_STAGING_DIR;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.STORAGE_QUOTA_PROP;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.TELEMETRY_MESSAGE_INTERVAL;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.TOPIC_PROP;
@@ -424,6 +425,16 @@ public abstract class AbstractPartitionWriter extends AbstractDataWriterTask imp
     VenicePartitioner partitioner = PartitionUtils.getVenicePartitioner(props);
 
     String topicName = props.getString(TOPIC_PROP);
+    String sstFilePushStagingDir = props.getString(SST_FILE_PUSH_STAGING_DIR, "");
+    if (!sstFilePushStagingDir.isEmpty()) {
+      if (chunkingEnabled || rmdChunkingEnabled || rmdSchema != null || isEnableWriteCompute()
+          || !props.getString(PUSH_JOB_VIEW_CONFIGS, "").isEmpty()) {
+        throw new VeniceException(
+            "SST file push is only supported for batch-only stores without chunking, replication metadata, "
+                + "write compute nor views, topic: " + topicName);
+      }
+      return new SstFileVeniceWriter(topicName, sstFilePushStagingDir, getTaskId(), partitioner, getPartitionCount());
+    }
     VeniceWriterOptions options =
         new VeniceWriterOptions.Builder(topicName).setKeyPayloadSerializer(new DefaultSerializer())
             .setValuePayloadSerializer(new DefaultSerializer())
@@ -576,6 +587,10 @@ public abstract class AbstractPartitionWriter extends AbstractDataWriterTask imp
     try {
       LOGGER.info("Kafka message progress before flushing and closing producer:");
       logMessageProgress();
+      if (veniceWriter == null && props != null && !props.getString(SST_FILE_PUSH_STAGING_DIR, "").isEmpty()) {
+        // A partition without any record still stages its manifest, for the servers to know that it is empty
+        veniceWriter = createBasicVeniceWriter();
+      }
       if (veniceWriter != null) {
         boolean shouldEndAllSegments = false;
         try {
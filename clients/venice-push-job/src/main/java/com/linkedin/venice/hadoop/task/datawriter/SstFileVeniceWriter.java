@@ -0,0 +1,258 @@
+package com.linkedin.venice.hadoop.task.datawriter;
+
+import com.linkedin.venice.annotation.NotThreadsafe;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.kafka.validation.checksum.CheckSum;
+import com.linkedin.venice.kafka.validation.checksum.CheckSumType;
+import com.linkedin.venice.partitioner.VenicePartitioner;
+import com.linkedin.venice.pubsub.adapter.SimplePubSubProduceResultImpl;
+import com.linkedin.venice.pubsub.api.PubSubProduceResult;
+import com.linkedin.venice.pubsub.api.PubSubProducerCallback;
+import com.linkedin.venice.pubsub.api.PubSubSymbolicPosition;
+import com.linkedin.venice.store.rocksdb.RocksDBUtils;
+import com.linkedin.venice.utils.ByteUtils;
+import com.linkedin.venice.writer.AbstractVeniceWriter;
+import com.linkedin.venice.writer.DeleteMetadata;
+import com.linkedin.venice.writer.PutMetadata;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileAlreadyExistsException;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileWriter;
+
+
+/**
+ * An {@link AbstractVeniceWriter} which writes the records of a partition into a RocksDB SST file, laid out as the
+ * servers store them, rather than producing them to the version topic. Once closed gracefully, the file is staged
+ * along with a manifest holding its record count and checksum, from where the servers import it when consuming the
+ * end of push, see {@link RocksDBUtils#composeStagedSSTManifestPath}. A partition without any record only gets a
+ * manifest with a record count of 0, so that the servers can tell it apart from a partition which was never staged.
+ *
+ * The records must be put in ascending order of their keys, which the data writer jobs already sort, and all belong to
+ * the partition given to the writer. Only plain puts are supported, i.e. no chunking, replication metadata nor write
+ * compute, which makes this writer only suitable for batch-only stores.
+ */
+@NotThreadsafe
+public class SstFileVeniceWriter extends AbstractVeniceWriter<byte[], byte[], byte[]> {
+  private static final Logger LOGGER = LogManager.getLogger(SstFileVeniceWriter.class);
+
+  private final String stagingDir;
+  private final VenicePartitioner partitioner;
+  private final int partitionCount;
+  private final CheckSum checkSum = CheckSum.getInstance(CheckSumType.MD5);
+  private final EnvOptions envOptions = new EnvOptions();
+  private final Options options = new Options();
+  private final SstFileWriter sstFileWriter = new SstFileWriter(envOptions, options);
+  private final int partition;
+  private File localSSTFile;
+  private long recordCount = 0;
+
+  public SstFileVeniceWriter(
+      String topicName,
+      String stagingDir,
+      int partition,
+      VenicePartitioner partitioner,
+      int partitionCount) {
+    super(topicName);
+    this.stagingDir = stagingDir;
+    this.partition = partition;
+    this.partitioner = partitioner;
+    this.partitionCount = partitionCount;
+  }
+
+  @Override
+  public CompletableFuture<PubSubProduceResult> put(
+      byte[] key,
+      byte[] value,
+      int valueSchemaId,
+      PubSubProducerCallback callback) {
+    return put(key, value, valueSchemaId, callback, null);
+  }
+
+  @Override
+  public CompletableFuture<PubSubProduceResult> put(
+      byte[] key,
+      byte[] value,
+      int valueSchemaId,
+      PubSubProducerCallback callback,
+      PutMetadata putMetadata) {
+    if (putMetadata != null) {
+      throw new VeniceException("Replication metadata is not supported when pushing SST files to: " + topicName);
+    }
+    int keyPartition = partitioner.getPartitionId(key, partitionCount);
+    if (keyPartition != partition) {
+      throw new VeniceException(
+          "Records of partition: " + keyPartition + " can't be written into the SST file of partition: " + partition);
+    }
+    if (localSSTFile == null) {
+      open();
+    }
+    // The value is stored behind its schema id, see the deferred write path of the servers
+    byte[] storedValue = new byte[ByteUtils.SIZE_OF_INT + value.length];
+    ByteUtils.writeInt(storedValue, valueSchemaId, 0);
+    System.arraycopy(value, 0, storedValue, ByteUtils.SIZE_OF_INT, value.length);
+    try {
+      sstFileWriter.put(key, storedValue);
+    } catch (RocksDBException e) {
+      throw new VeniceException("Failed to write into SST file: " + localSSTFile, e);
+    }
+    checkSum.update(key);
+    checkSum.update(storedValue);
+    recordCount++;
+
+    PubSubProduceResult produceResult =
+        new SimplePubSubProduceResultImpl(topicName, partition, PubSubSymbolicPosition.EARLIEST, storedValue.length);
+    if (callback != null) {
+      callback.onCompletion(produceResult, null);
+    }
+    return CompletableFuture.completedFuture(produceResult);
+  }
+
+  @Override
+  public CompletableFuture<PubSubProduceResult> put(
+      byte[] key,
+      byte[] value,
+      int valueSchemaId,
+      long logicalTimestamp,
+      PubSubProducerCallback callback,
+      PutMetadata putMetadata) {
+    throw new VeniceException("Logical timestamps are not supported when pushing SST files to: " + topicName);
+  }
+
+  @Override
+  public CompletableFuture<PubSubProduceResult> delete(
+      byte[] key,
+      PubSubProducerCallback callback,
+      DeleteMetadata deleteMetadata) {
+    throw new VeniceException("Deletes are not supported when pushing SST files to: " + topicName);
+  }
+
+  @Override
+  public Future<PubSubProduceResult> update(
+      byte[] key,
+      byte[] update,
+      int valueSchemaId,
+      int derivedSchemaId,
+      PubSubProducerCallback callback) {
+    throw new VeniceException("Write compute is not supported when pushing SST files to: " + topicName);
+  }
+
+  @Override
+  public void flush() {
+    // Nothing is buffered on this side of the SST file writer
+  }
+
+  @Override
+  public void close() throws IOException {
+    close(true);
+  }
+
+  /**
+   * Finishes and stages the SST file if closed gracefully, and discards it otherwise. The manifest is staged even when
+   * no record was written, in which case there is no SST file.
+   */
+  @Override
+  public void close(boolean gracefulClose) throws IOException {
+    try {
+      if (gracefulClose) {
+        if (recordCount > 0) {
+          sstFileWriter.finish();
+        }
+        stage();
+      }
+    } catch (RocksDBException e) {
+      throw new VeniceException("Failed to finish SST file: " + localSSTFile, e);
+    } finally {
+      sstFileWriter.close();
+      options.close();
+      envOptions.close();
+      if (localSSTFile != null) {
+        Files.deleteIfExists(localSSTFile.toPath());
+      }
+    }
+  }
+
+  long getRecordCount() {
+    return recordCount;
+  }
+
+  private void open() {
+    try {
+      localSSTFile = File.createTempFile(topicName + "_" + partition + "_", ".sst");
+      sstFileWriter.open(localSSTFile.getAbsolutePath());
+    } catch (IOException | RocksDBException e) {
+      throw new VeniceException("Failed to open SST file for partition: " + partition + " of: " + topicName, e);
+    }
+  }
+
+  /**
+   * Uploads the SST file under a name unique to this attempt, then commits it by creating the manifest, which fails if
+   * it already exists. The staging dir must follow the HDFS contract, under which this creation is atomic, so only one
+   * attempt ever commits, and the servers never see the manifest of one attempt along with the file of another. The
+   * attempts of the same task write the same records, so an attempt which finds the manifest already created discards
+   * its own file, after checking that the committed manifest matches what it wrote.
+   */
+  private void stage() throws IOException {
+    String attemptId = UUID.randomUUID().toString();
+    Path manifestPath = new Path(RocksDBUtils.composeStagedSSTManifestPath(stagingDir, topicName, partition));
+    FileSystem fileSystem = manifestPath.getFileSystem(new Configuration());
+    Properties manifest = new Properties();
+    manifest.setProperty(RocksDBUtils.STAGED_SST_RECORD_COUNT, Long.toString(recordCount));
+    Path sstFilePath = null;
+    if (recordCount > 0) {
+      String fileName = RocksDBUtils.composeStagedSSTFileName(attemptId);
+      sstFilePath = new Path(RocksDBUtils.composeStagedSSTFilePath(stagingDir, topicName, partition, fileName));
+      fileSystem.copyFromLocalFile(false, false, new Path(localSSTFile.getAbsolutePath()), sstFilePath);
+      manifest.setProperty(RocksDBUtils.STAGED_SST_FILE_NAME, fileName);
+      manifest.setProperty(RocksDBUtils.STAGED_SST_CHECKSUM, ByteUtils.toHexString(checkSum.getCheckSum()));
+    }
+
+    // The manifest is small enough to be written at once, which keeps it from being seen partially written
+    ByteArrayOutputStream manifestBytes = new ByteArrayOutputStream();
+    manifest.store(manifestBytes, attemptId);
+    try (OutputStream outputStream = fileSystem.create(manifestPath, false)) {
+      manifestBytes.writeTo(outputStream);
+    } catch (FileAlreadyExistsException e) {
+      if (sstFilePath != null) {
+        fileSystem.delete(sstFilePath, false);
+      }
+      Properties committedManifest = new Properties();
+      try (InputStream inputStream = fileSystem.open(manifestPath)) {
+        committedManifest.load(inputStream);
+      }
+      if (!Objects.equals(
+          manifest.getProperty(RocksDBUtils.STAGED_SST_RECORD_COUNT),
+          committedManifest.getProperty(RocksDBUtils.STAGED_SST_RECORD_COUNT))
+          || !Objects.equals(
+              manifest.getProperty(RocksDBUtils.STAGED_SST_CHECKSUM),
+              committedManifest.getProperty(RocksDBUtils.STAGED_SST_CHECKSUM))) {
+        throw new VeniceException(
+            "Partition: " + partition + " was already staged by another attempt with different records: "
+                + manifestPath);
+      }
+      LOGGER.info("SST file of partition: {} was already staged by another attempt: {}", partition, manifestPath);
+      return;
+    }
+    if (sstFilePath == null) {
+      LOGGER.info("Staged an empty manifest for partition: {}", partition);
+    } else {
+      LOGGER.info("Staged SST file: {} with {} records for partition: {}", sstFilePath, recordCount, partition);
+    }
+  }
+}
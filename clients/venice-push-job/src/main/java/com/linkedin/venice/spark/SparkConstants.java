@@ -37,6 +37,8 @@ public class SparkConstants {
 
   public static final String SPARK_APP_NAME_CONFIG = "spark.app.name";
   public static final String SPARK_CASE_SENSITIVE_CONFIG = "spark.sql.caseSensitive";
+  public static final String SPARK_PARQUET_NESTED_COLUMN_VECTORIZED_READER_CONFIG =
+      "spark.sql.parquet.enableNestedColumnVectorizedReader";
 
   public static final String SPARK_CLUSTER_CONFIG = "venice.spark.cluster";
   public static final String SPARK_LEADER_CONFIG = "spark.master";
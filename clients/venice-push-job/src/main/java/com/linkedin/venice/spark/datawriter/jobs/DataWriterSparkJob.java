@@ -1,6 +1,7 @@
 package com.linkedin.venice.spark.datawriter.jobs;
 
 import static com.linkedin.venice.spark.SparkConstants.DEFAULT_SCHEMA;
+import static com.linkedin.venice.spark.SparkConstants.SPARK_PARQUET_NESTED_COLUMN_VECTORIZED_READER_CONFIG;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.ETL_VALUE_SCHEMA_TRANSFORMATION;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.FILE_KEY_SCHEMA;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.FILE_VALUE_SCHEMA;
@@ -23,24 +24,31 @@ import com.linkedin.venice.hadoop.input.recordreader.vson.VeniceVsonRecordReader
 import com.linkedin.venice.spark.input.hdfs.VeniceHdfsSource;
 import com.linkedin.venice.spark.utils.RowToAvroConverter;
 import com.linkedin.venice.utils.VeniceProperties;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.generic.IndexedRecord;
 import org.apache.avro.mapred.AvroWrapper;
+import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.BytesWritable;
 import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.api.java.function.MapFunction;
+import org.apache.spark.api.java.function.MapPartitionsFunction;
 import org.apache.spark.sql.DataFrameReader;
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
 import org.apache.spark.sql.SparkSession;
+import org.apache.spark.sql.avro.SchemaConverters;
 import org.apache.spark.sql.catalyst.encoders.RowEncoder;
 import org.apache.spark.sql.catalyst.expressions.GenericRowWithSchema;
+import org.apache.spark.sql.types.StructType;
 
 
 /**
- * The default implementation of {@link AbstractDataWriterSparkJob} for Avro and Vson file input formats.
+ * The default implementation of {@link AbstractDataWriterSparkJob} for Avro, Vson and Parquet file input formats.
  */
 public class DataWriterSparkJob extends AbstractDataWriterSparkJob {
   @Override
@@ -51,7 +59,9 @@ public class DataWriterSparkJob extends AbstractDataWriterSparkJob {
     VeniceProperties jobProps = getJobProperties();
     boolean useNativeInputFormat = jobProps.getBoolean(SPARK_NATIVE_INPUT_FORMAT_ENABLED, false);
 
-    if (!useNativeInputFormat) {
+    if (pushJobSetting.isParquet) {
+      return getParquetDataFrame(sparkSession, pushJobSetting);
+    } else if (!useNativeInputFormat) {
       return getDataFrameFromCustomInputFormat(sparkSession, pushJobSetting);
     } else if (pushJobSetting.isAvro) {
       return getAvroDataFrame(sparkSession, pushJobSetting);
@@ -123,6 +133,80 @@ public class DataWriterSparkJob extends AbstractDataWriterSparkJob {
     return df;
   }
 
+  /**
+   * Reads the Parquet input with Spark's vectorized Parquet reader, which only decodes the key, value and timestamp
+   * columns. Each row is converted into an Avro record by {@link RowToAvroConverter} just to serialize its key and
+   * value, the same way as for Avro input.
+   */
+  // Visible for testing
+  Dataset<Row> getParquetDataFrame(SparkSession sparkSession, PushJobSetting pushJobSetting) {
+    if (!sparkSession.conf().contains(SPARK_PARQUET_NESTED_COLUMN_VECTORIZED_READER_CONFIG)) {
+      // Value records are nested columns, which would otherwise be read row by row
+      sparkSession.conf().set(SPARK_PARQUET_NESTED_COLUMN_VECTORIZED_READER_CONFIG, true);
+    }
+    List<String> columns = new ArrayList<>(3);
+    columns.add(pushJobSetting.keyField);
+    if (!columns.contains(pushJobSetting.valueField)) {
+      columns.add(pushJobSetting.valueField);
+    }
+    if (!StringUtils.isEmpty(pushJobSetting.timestampField) && !columns.contains(pushJobSetting.timestampField)) {
+      columns.add(pushJobSetting.timestampField);
+    }
+    Schema inputSchema = projectSchema(pushJobSetting.inputDataSchema, columns);
+    DataFrameReader dataFrameReader = sparkSession.read().option("pathGlobFilter", GLOB_FILTER_PATTERN);
+    if (pushJobSetting.isParquetSchemaInferred) {
+      // The input schema is mapped onto the registered schemas, whose nested fields are read by name in their order
+      dataFrameReader.schema((StructType) SchemaConverters.toSqlType(inputSchema).dataType());
+    }
+    Dataset<Row> df = dataFrameReader.parquet(pushJobSetting.inputURI)
+        .select(columns.get(0), columns.subList(1, columns.size()).toArray(new String[0]));
+
+    // The schemas get parsed once per partition rather than once per row
+    String projectedSchemaString = inputSchema.toString();
+    String updateSchemaString =
+        pushJobSetting.generatePartialUpdateRecordFromInput ? pushJobSetting.valueSchemaString : null;
+    return df.mapPartitions((MapPartitionsFunction<Row, Row>) rows -> {
+      Schema projectedSchema = AvroCompatibilityHelper.parse(projectedSchemaString);
+      Schema updateSchema = updateSchemaString == null ? null : AvroCompatibilityHelper.parse(updateSchemaString);
+      VeniceAvroRecordReader recordReader = new VeniceAvroRecordReader(
+          projectedSchema,
+          pushJobSetting.keyField,
+          pushJobSetting.valueField,
+          pushJobSetting.timestampField,
+          pushJobSetting.etlValueSchemaTransformation,
+          updateSchema);
+      return new Iterator<Row>() {
+        @Override
+        public boolean hasNext() {
+          return rows.hasNext();
+        }
+
+        @Override
+        public Row next() {
+          GenericRecord rowRecord = RowToAvroConverter.convert(rows.next(), projectedSchema);
+          AvroWrapper<IndexedRecord> recordAvroWrapper = new AvroWrapper<>(rowRecord);
+          final byte[] inputKeyBytes = recordReader.getKeyBytes(recordAvroWrapper, null);
+          final byte[] inputValueBytes = recordReader.getValueBytes(recordAvroWrapper, null);
+          final Long timestamp = recordReader.getRecordTimestamp(recordAvroWrapper, null);
+          return new GenericRowWithSchema(new Object[] { inputKeyBytes, inputValueBytes, timestamp }, DEFAULT_SCHEMA);
+        }
+      };
+    }, RowEncoder.apply(DEFAULT_SCHEMA));
+  }
+
+  /**
+   * @return a record schema made of the given fields of {@code schema}, in the given order
+   */
+  private static Schema projectSchema(Schema schema, List<String> fieldNames) {
+    List<Schema.Field> fields = new ArrayList<>(fieldNames.size());
+    for (String fieldName: fieldNames) {
+      fields.add(AvroCompatibilityHelper.newField(schema.getField(fieldName)).build());
+    }
+    Schema projectedSchema = Schema.createRecord(schema.getName(), schema.getDoc(), schema.getNamespace(), false);
+    projectedSchema.setFields(fields);
+    return projectedSchema;
+  }
+
   @Deprecated
   private Dataset<Row> getVsonDataFrame(SparkSession sparkSession, PushJobSetting pushJobSetting) {
     JavaRDD<Row> rdd = sparkSession.sparkContext()
@@ -327,6 +327,19 @@ public final class VenicePushJobConstants {
   public static final int DEFAULT_COMPRESSION_DICTIONARY_SAMPLE_SIZE = 200 * BYTES_PER_MB; // 200MB
   /** Maximum final dictionary size TODO add more details about the current limits */
   public static final String COMPRESSION_DICTIONARY_SIZE_LIMIT = "compression.dictionary.size.limit";
+  /**
+   * How many times the share of {@link #COMPRESSION_DICTIONARY_SAMPLE_SIZE} of each input file gets scanned from it, to
+   * fill the reservoir from which the dictionary samples are drawn. The scan happens on the push job driver before the
+   * data gets written, so each extra factor adds a full sample size of reads per file to the push.
+   */
+  public static final String COMPRESSION_DICTIONARY_SAMPLE_SCAN_FACTOR = "compression.dictionary.sample.scan.factor";
+  public static final int DEFAULT_COMPRESSION_DICTIONARY_SAMPLE_SCAN_FACTOR = 1;
+  /**
+   * Number of candidate dictionaries, each half the size of the previous one, trained in parallel to keep the one
+   * which compresses best a held out part of the samples.
+   */
+  public static final String COMPRESSION_DICTIONARY_CANDIDATES = "compression.dictionary.candidates";
+  public static final int DEFAULT_COMPRESSION_DICTIONARY_CANDIDATES = 3;
 
   // Compute engine abstraction
   /**
@@ -336,4 +349,13 @@ public final class VenicePushJobConstants {
   public static final String DATA_WRITER_COMPUTE_JOB_CLASS = "data.writer.compute.job.class";
 
   public static final String PUSH_TO_SEPARATE_REALTIME_TOPIC = "push.to.separate.realtime.topic";
+
+  /**
+   * The directory, as a Hadoop file system URI, into which the data writer job writes one finalized RocksDB SST file
+   * per partition instead of producing the records to the version topic. Only suitable for batch-only stores, and the
+   * servers must have the same location mounted as {@code server.sst.file.push.staging.dir}. The file system must
+   * follow the HDFS contract, under which creating a file without overwriting it is atomic. Disabled when empty, which
+   * is the default.
+   */
+  public static final String SST_FILE_PUSH_STAGING_DIR = "sst.file.push.staging.dir";
 }
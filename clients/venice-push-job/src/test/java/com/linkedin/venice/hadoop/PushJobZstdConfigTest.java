@@ -0,0 +1,90 @@
+package com.linkedin.venice.hadoop;
+
+import static com.linkedin.venice.vpj.VenicePushJobConstants.COMPRESSION_DICTIONARY_CANDIDATES;
+import static com.linkedin.venice.vpj.VenicePushJobConstants.COMPRESSION_DICTIONARY_SAMPLE_SCAN_FACTOR;
+import static com.linkedin.venice.vpj.VenicePushJobConstants.COMPRESSION_DICTIONARY_SAMPLE_SIZE;
+import static com.linkedin.venice.vpj.VenicePushJobConstants.COMPRESSION_DICTIONARY_SIZE_LIMIT;
+import static com.linkedin.venice.vpj.VenicePushJobConstants.ZSTD_COMPRESSION_LEVEL;
+
+import com.github.luben.zstd.ZstdException;
+import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.utils.VeniceProperties;
+import java.util.Map;
+import java.util.Properties;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class PushJobZstdConfigTest {
+  private static PushJobZstdConfig getConfig(int sampleSize, int dictSize) {
+    Properties props = new Properties();
+    props.setProperty(COMPRESSION_DICTIONARY_SAMPLE_SIZE, Integer.toString(sampleSize));
+    props.setProperty(COMPRESSION_DICTIONARY_SIZE_LIMIT, Integer.toString(dictSize));
+    props.setProperty(COMPRESSION_DICTIONARY_CANDIDATES, "3");
+    props.setProperty(ZSTD_COMPRESSION_LEVEL, "3");
+    return new PushJobZstdConfig(new VeniceProperties(props), 1);
+  }
+
+  private static byte[] getValue(int i) {
+    return ("{\"memberId\": " + i + ", \"firstName\": \"first_name_" + i % 100 + "\", \"lastName\": \"last_name_"
+        + i % 37 + "\", \"country\": \"country_" + i % 7 + "\"}").getBytes();
+  }
+
+  @Test
+  public void testReservoirStaysWithinSampleSize() {
+    int sampleSize = 100 * 1024;
+    PushJobZstdConfig config = getConfig(sampleSize, 16 * 1024);
+    int collectedNumberOfSamples = 0;
+    for (int i = 0; i < 100_000; i++) {
+      config.addSample(getValue(i));
+      if (i == 10_000) {
+        collectedNumberOfSamples = config.getCollectedNumberOfSamples();
+      }
+      Assert.assertTrue(config.getFilledSize() <= sampleSize);
+    }
+    // Once full, the reservoir keeps the same number of samples
+    Assert.assertTrue(collectedNumberOfSamples > 0);
+    Assert.assertEquals(config.getCollectedNumberOfSamples(), collectedNumberOfSamples);
+  }
+
+  @Test
+  public void testFilesAreScannedForTheirShareByDefault() {
+    Properties props = new Properties();
+    props.setProperty(COMPRESSION_DICTIONARY_SAMPLE_SIZE, Integer.toString(1024 * 1024));
+    PushJobZstdConfig config = new PushJobZstdConfig(new VeniceProperties(props), 4);
+    Assert.assertEquals(config.getMaxBytesPerFile(), 256 * 1024);
+    Assert.assertEquals(config.getMaxBytesScannedPerFile(), 256 * 1024);
+
+    props.setProperty(COMPRESSION_DICTIONARY_SAMPLE_SCAN_FACTOR, "3");
+    config = new PushJobZstdConfig(new VeniceProperties(props), 4);
+    Assert.assertEquals(config.getMaxBytesScannedPerFile(), 3 * 256 * 1024);
+  }
+
+  @Test
+  public void testSelectDictionary() {
+    PushJobZstdConfig config = getConfig(1024 * 1024, 16 * 1024);
+    for (int i = 0; i < 20_000; i++) {
+      config.addSample(getValue(i));
+    }
+    ZstdDictSelection selection = config.selectDictionary();
+    Assert.assertTrue(selection.getDictionary().length > 0);
+    Assert.assertTrue(selection.getDictionary().length <= 16 * 1024);
+    Assert.assertEquals(selection.getRecommendedStrategy(), CompressionStrategy.ZSTD_WITH_DICT);
+    Assert.assertTrue(selection.getDictCompressionRatio() > selection.getZstdCompressionRatio());
+
+    Map<String, String> details = selection.toPushJobDetails();
+    Assert.assertEquals(
+        details.get(ZstdDictSelection.DETAILS_PREFIX + "recommended.strategy"),
+        CompressionStrategy.ZSTD_WITH_DICT.name());
+    Assert.assertEquals(details.get(ZstdDictSelection.DETAILS_PREFIX + "candidates"), "3");
+  }
+
+  @Test
+  public void testSelectDictionaryWithTooFewSamples() {
+    PushJobZstdConfig config = getConfig(1024 * 1024, 16 * 1024);
+    for (int i = 0; i < 5; i++) {
+      config.addSample(getValue(i));
+    }
+    Assert.assertThrows(ZstdException.class, config::selectDictionary);
+  }
+}
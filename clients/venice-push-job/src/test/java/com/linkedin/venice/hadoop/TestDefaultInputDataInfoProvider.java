@@ -15,6 +15,13 @@ import com.linkedin.venice.utils.TestWriteUtils;
 import com.linkedin.venice.utils.VeniceProperties;
 import java.io.File;
 import org.apache.avro.Schema;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
 import org.testng.annotations.Test;
 
 
@@ -78,6 +85,44 @@ public class TestDefaultInputDataInfoProvider {
     }
   }
 
+  @Test
+  public void testValidateParquetInput() throws Exception {
+    PushJobSetting pushJobSetting = new PushJobSetting();
+    pushJobSetting.isZstdDictCreationRequired = false;
+    pushJobSetting.etlValueSchemaTransformation = ETLValueSchemaTransformation.NONE;
+
+    VeniceProperties props = VeniceProperties.empty();
+
+    try (DefaultInputDataInfoProvider provider = new DefaultInputDataInfoProvider(pushJobSetting, props)) {
+      File inputDir = getTempDataDirectory();
+      // Like Spark, leave the value column optional, which must not make the value schema nullable
+      MessageType parquetSchema = MessageTypeParser
+          .parseMessageType("message test { required binary key (UTF8); optional binary value (UTF8); }");
+      SimpleGroupFactory groupFactory = new SimpleGroupFactory(parquetSchema);
+      try (ParquetWriter<Group> writer =
+          ExampleParquetWriter.builder(new Path(new File(inputDir, "part-0.parquet").getAbsolutePath()))
+              .withType(parquetSchema)
+              .build()) {
+        for (int i = 0; i < 10; i++) {
+          writer.write(groupFactory.newGroup().append("key", "key_" + i).append("value", "value_" + i));
+        }
+      }
+
+      InputDataInfoProvider.InputDataInfo inputDataInfo =
+          provider.validateInputAndGetInfo("file://" + inputDir.getAbsolutePath());
+      assertTrue(inputDataInfo.hasRecords());
+      assertEquals(inputDataInfo.getNumInputFiles(), 1);
+      assertTrue(pushJobSetting.isParquet);
+      assertTrue(pushJobSetting.isParquetSchemaInferred);
+      assertTrue(pushJobSetting.isAvro);
+
+      Schema stringSchema = Schema.create(Schema.Type.STRING);
+      assertEquals(pushJobSetting.keySchema, stringSchema);
+      assertEquals(pushJobSetting.valueSchema, stringSchema);
+      assertEquals(pushJobSetting.inputDataSchema.getFields().size(), 2);
+    }
+  }
+
   @Test
   public void testTrainZstdDictionary() throws Exception {
     PushJobSetting pushJobSetting = new PushJobSetting();
@@ -27,6 +27,7 @@ import static com.linkedin.venice.vpj.VenicePushJobConstants.REPUSH_TTL_SECONDS;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.REPUSH_TTL_START_TIMESTAMP;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.SOURCE_ETL;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.SOURCE_KAFKA;
+import static com.linkedin.venice.vpj.VenicePushJobConstants.SST_FILE_PUSH_STAGING_DIR;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.SYSTEM_SCHEMA_READER_ENABLED;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.TARGETED_REGION_PUSH_ENABLED;
 import static com.linkedin.venice.vpj.VenicePushJobConstants.TARGETED_REGION_PUSH_LIST;
@@ -70,6 +71,7 @@ import com.linkedin.venice.controllerapi.RepushInfoResponse;
 import com.linkedin.venice.controllerapi.SchemaResponse;
 import com.linkedin.venice.controllerapi.StoreResponse;
 import com.linkedin.venice.controllerapi.VersionCreationResponse;
+import com.linkedin.venice.etl.ETLValueSchemaTransformation;
 import com.linkedin.venice.exceptions.UndefinedPropertyException;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.hadoop.exceptions.VeniceValidationException;
@@ -929,6 +931,26 @@ public class VenicePushJobTest {
     }
   }
 
+  @Test
+  public void testSstFilePushFallsBackWhenNotEnabledInCluster() throws Exception {
+    Properties props = getVpjRequiredProperties();
+    props.put(KEY_FIELD_PROP, "id");
+    props.put(VALUE_FIELD_PROP, "name");
+    props.put(SST_FILE_PUSH_STAGING_DIR, "/tmp/sst_staging");
+    ControllerClient client = getClient(storeInfo -> storeInfo.setBlobTransferEnabled(true));
+    try (VenicePushJob pushJob = getSpyVenicePushJob(props, client)) {
+      skipVPJValidation(pushJob);
+      doReturn(mockJobStatusQuery()).when(client).queryOverallJobStatus(anyString(), any(), anyString(), anyBoolean());
+      VeniceWriter<KafkaKey, byte[], byte[]> veniceWriter = mock(VeniceWriter.class);
+      doReturn(veniceWriter).when(pushJob).getVeniceWriter(any());
+
+      // The version creation response does not enable SST file push, so the batch data goes to the version topic
+      pushJob.run();
+      Assert.assertNull(pushJob.getPushJobSetting().sstFilePushStagingDir);
+      verify(veniceWriter).broadcastEndOfPush(eq(false), any());
+    }
+  }
+
   @Test(enabled = false) // Disable till hybrid stores are supported for target region push
   public void testTargetedRegionPushPostValidationConsumptionForHybridStore() throws Exception {
     Properties props = getVpjRequiredProperties();
@@ -1290,6 +1312,59 @@ public class VenicePushJobTest {
     return response;
   }
 
+  @Test
+  public void testMapInferredParquetSchemaOntoStoreSchemas() {
+    // As converted by Spark from the Parquet schema of the input files
+    Schema inferredSchema = AvroSchemaParseUtils.parseSchemaFromJSONLooseValidation(
+        "{\"type\": \"record\", \"name\": \"topLevelRecord\", \"fields\": ["
+            + "{\"name\": \"key\", \"type\": \"string\"}, {\"name\": \"value\", \"type\": {\"type\": \"record\", "
+            + "\"name\": \"value\", \"namespace\": \"topLevelRecord\", \"fields\": ["
+            + "{\"name\": \"name\", \"type\": [\"string\", \"null\"]}, "
+            + "{\"name\": \"age\", \"type\": [\"int\", \"null\"]}]}}]}");
+    String valueSchemaStr = "{\"type\": \"record\", \"name\": \"Person\", \"fields\": ["
+        + "{\"name\": \"age\", \"type\": \"int\"}, {\"name\": \"name\", \"type\": \"string\"}]}";
+    String newerValueSchemaStr = "{\"type\": \"record\", \"name\": \"Person\", \"fields\": ["
+        + "{\"name\": \"age\", \"type\": \"int\"}, {\"name\": \"name\", \"type\": \"string\"}, "
+        + "{\"name\": \"email\", \"type\": \"string\", \"default\": \"\"}]}";
+    MultiSchemaResponse valueSchemaResponse = getMultiSchemaResponse();
+    MultiSchemaResponse.Schema[] schemas = new MultiSchemaResponse.Schema[3];
+    schemas[0] = getBasicSchema();
+    schemas[1] = new MultiSchemaResponse.Schema();
+    schemas[1].setId(2);
+    schemas[1].setSchemaStr(valueSchemaStr);
+    schemas[2] = new MultiSchemaResponse.Schema();
+    schemas[2].setId(3);
+    schemas[2].setSchemaStr(newerValueSchemaStr);
+    valueSchemaResponse.setSchemas(schemas);
+    ControllerClient client = getClient();
+    doReturn(valueSchemaResponse).when(client).getAllValueSchema(TEST_STORE);
+
+    try (VenicePushJob pushJob = getSpyVenicePushJob(getVpjRequiredProperties(), client)) {
+      PushJobSetting setting = pushJob.getPushJobSetting();
+      setting.keyField = DEFAULT_KEY_FIELD_PROP;
+      setting.valueField = DEFAULT_VALUE_FIELD_PROP;
+      setting.storeKeySchema = AvroSchemaParseUtils.parseSchemaFromJSONLooseValidation(KEY_SCHEMA_STR);
+      setting.inputDataSchema = inferredSchema;
+      setting.inputDataSchemaString = inferredSchema.toString();
+      setting.keySchema = inferredSchema.getField(DEFAULT_KEY_FIELD_PROP).schema();
+      setting.keySchemaString = setting.keySchema.toString();
+      setting.valueSchema = inferredSchema.getField(DEFAULT_VALUE_FIELD_PROP).schema();
+      setting.valueSchemaString = setting.valueSchema.toString();
+
+      setting.etlValueSchemaTransformation = ETLValueSchemaTransformation.UNIONIZE_WITH_NULL;
+      assertThrows(VeniceException.class, () -> pushJob.mapInferredParquetSchemaOntoStoreSchemas(client, setting));
+
+      setting.etlValueSchemaTransformation = ETLValueSchemaTransformation.NONE;
+      pushJob.mapInferredParquetSchemaOntoStoreSchemas(client, setting);
+      Schema valueSchema = AvroSchemaParseUtils.parseSchemaFromJSONLooseValidation(valueSchemaStr);
+      assertEquals(setting.keySchema, setting.storeKeySchema);
+      assertEquals(setting.valueSchema, valueSchema);
+      assertEquals(setting.valueSchemaString, valueSchema.toString());
+      assertEquals(setting.inputDataSchema.getField(DEFAULT_VALUE_FIELD_PROP).schema(), valueSchema);
+      assertEquals(setting.inputDataSchemaString, setting.inputDataSchema.toString());
+    }
+  }
+
   private MultiSchemaResponse.Schema getBasicSchema() {
     MultiSchemaResponse.Schema schema = new MultiSchemaResponse.Schema();
     schema.setSchemaStr(VALUE_SCHEMA_STR);
@@ -0,0 +1,145 @@
+package com.linkedin.venice.hadoop.task.datawriter;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.kafka.validation.checksum.CheckSum;
+import com.linkedin.venice.kafka.validation.checksum.CheckSumType;
+import com.linkedin.venice.partitioner.VenicePartitioner;
+import com.linkedin.venice.store.rocksdb.RocksDBUtils;
+import com.linkedin.venice.utils.ByteUtils;
+import com.linkedin.venice.utils.Utils;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.Properties;
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+
+public class SstFileVeniceWriterTest {
+  private static final String TOPIC_NAME = "test_store_v1";
+  private static final int PARTITION = 1;
+
+  private File stagingDir;
+  private VenicePartitioner partitioner;
+
+  @BeforeMethod
+  public void setUp() {
+    stagingDir = Utils.getTempDataDirectory();
+    partitioner = mock(VenicePartitioner.class);
+    doReturn(PARTITION).when(partitioner).getPartitionId(any(byte[].class), anyInt());
+  }
+
+  @AfterMethod
+  public void cleanUp() throws Exception {
+    FileUtils.deleteDirectory(stagingDir);
+  }
+
+  @Test
+  public void testStagedFileAndManifest() throws Exception {
+    CheckSum expectedCheckSum = CheckSum.getInstance(CheckSumType.MD5);
+    try (SstFileVeniceWriter writer =
+        new SstFileVeniceWriter(TOPIC_NAME, stagingDir.getAbsolutePath(), PARTITION, partitioner, 4)) {
+      for (int i = 0; i < 10; i++) {
+        byte[] key = ("key_" + i).getBytes();
+        byte[] value = ("value_" + i).getBytes();
+        writer.put(key, value, 1, null);
+        byte[] storedValue = new byte[ByteUtils.SIZE_OF_INT + value.length];
+        ByteUtils.writeInt(storedValue, 1, 0);
+        System.arraycopy(value, 0, storedValue, ByteUtils.SIZE_OF_INT, value.length);
+        expectedCheckSum.update(key);
+        expectedCheckSum.update(storedValue);
+      }
+      Assert.assertEquals(writer.getRecordCount(), 10);
+    }
+
+    Properties manifest = loadManifest();
+    String fileName = manifest.getProperty(RocksDBUtils.STAGED_SST_FILE_NAME);
+    Assert.assertTrue(
+        new File(
+            RocksDBUtils.composeStagedSSTFilePath(stagingDir.getAbsolutePath(), TOPIC_NAME, PARTITION, fileName))
+                .exists());
+    Assert.assertEquals(manifest.getProperty(RocksDBUtils.STAGED_SST_RECORD_COUNT), "10");
+    Assert.assertEquals(
+        manifest.getProperty(RocksDBUtils.STAGED_SST_CHECKSUM),
+        ByteUtils.toHexString(expectedCheckSum.getCheckSum()));
+  }
+
+  @Test
+  public void testOnlyTheFirstAttemptCommits() throws Exception {
+    String stagingPath = stagingDir.getAbsolutePath();
+    for (int attempt = 0; attempt < 2; attempt++) {
+      try (SstFileVeniceWriter writer = new SstFileVeniceWriter(TOPIC_NAME, stagingPath, PARTITION, partitioner, 4)) {
+        writer.put("key".getBytes(), "value".getBytes(), 1, null);
+      }
+    }
+
+    // The second attempt found the manifest already created, and discarded its own file
+    File partitionDir = new File(RocksDBUtils.composeStagedSSTFileDir(stagingPath, TOPIC_NAME, PARTITION));
+    Assert.assertEquals(partitionDir.list((dir, name) -> name.startsWith("MANIFEST")).length, 1);
+    String fileName = loadManifest().getProperty(RocksDBUtils.STAGED_SST_FILE_NAME);
+    Assert.assertEquals(partitionDir.list((dir, name) -> name.endsWith(".sst")), new String[] { fileName });
+    File sstFile = new File(RocksDBUtils.composeStagedSSTFilePath(stagingPath, TOPIC_NAME, PARTITION, fileName));
+    Assert.assertTrue(sstFile.length() > 0);
+  }
+
+  @Test
+  public void testAttemptWithDifferentRecordsFails() throws Exception {
+    String stagingPath = stagingDir.getAbsolutePath();
+    try (SstFileVeniceWriter writer = new SstFileVeniceWriter(TOPIC_NAME, stagingPath, PARTITION, partitioner, 4)) {
+      writer.put("key".getBytes(), "value".getBytes(), 1, null);
+    }
+    SstFileVeniceWriter writer = new SstFileVeniceWriter(TOPIC_NAME, stagingPath, PARTITION, partitioner, 4);
+    writer.put("key".getBytes(), "another_value".getBytes(), 1, null);
+    Assert.assertThrows(VeniceException.class, writer::close);
+  }
+
+  @Test
+  public void testEmptyManifestWithoutRecords() throws Exception {
+    String stagingPath = stagingDir.getAbsolutePath();
+    new SstFileVeniceWriter(TOPIC_NAME, stagingPath, PARTITION, partitioner, 4).close();
+
+    Properties manifest = loadManifest();
+    Assert.assertEquals(manifest.getProperty(RocksDBUtils.STAGED_SST_RECORD_COUNT), "0");
+    Assert.assertNull(manifest.getProperty(RocksDBUtils.STAGED_SST_FILE_NAME));
+    File partitionDir = new File(RocksDBUtils.composeStagedSSTFileDir(stagingPath, TOPIC_NAME, PARTITION));
+    Assert.assertEquals(partitionDir.list((dir, name) -> name.endsWith(".sst")).length, 0);
+  }
+
+  @Test
+  public void testNothingStagedWhenAborted() throws Exception {
+    String stagingPath = stagingDir.getAbsolutePath();
+    File manifest = new File(RocksDBUtils.composeStagedSSTManifestPath(stagingPath, TOPIC_NAME, PARTITION));
+    SstFileVeniceWriter writer = new SstFileVeniceWriter(TOPIC_NAME, stagingPath, PARTITION, partitioner, 4);
+    writer.put("key".getBytes(), "value".getBytes(), 1, null);
+    writer.close(false);
+    Assert.assertFalse(manifest.exists());
+  }
+
+  @Test
+  public void testRecordsOfAnotherPartitionAreRejected() throws Exception {
+    try (SstFileVeniceWriter writer =
+        new SstFileVeniceWriter(TOPIC_NAME, stagingDir.getAbsolutePath(), PARTITION, partitioner, 4)) {
+      writer.put("key_0".getBytes(), "value".getBytes(), 1, null);
+      doReturn(PARTITION + 1).when(partitioner).getPartitionId(any(byte[].class), anyInt());
+      Assert.assertThrows(VeniceException.class, () -> writer.put("key_1".getBytes(), "value".getBytes(), 1, null));
+      Assert.assertThrows(VeniceException.class, () -> writer.delete("key_0".getBytes(), null, null));
+    }
+  }
+
+  private Properties loadManifest() throws Exception {
+    Properties manifest = new Properties();
+    try (InputStream inputStream = new FileInputStream(
+        RocksDBUtils.composeStagedSSTManifestPath(stagingDir.getAbsolutePath(), TOPIC_NAME, PARTITION))) {
+      manifest.load(inputStream);
+    }
+    return manifest;
+  }
+}
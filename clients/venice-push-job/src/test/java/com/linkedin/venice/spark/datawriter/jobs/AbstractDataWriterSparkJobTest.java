@@ -12,15 +12,18 @@ import static com.linkedin.venice.vpj.VenicePushJobConstants.DEFAULT_VALUE_FIELD
 import static org.apache.spark.sql.types.DataTypes.BinaryType;
 import static org.apache.spark.sql.types.DataTypes.StringType;
 
+import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.etl.ETLValueSchemaTransformation;
 import com.linkedin.venice.hadoop.PushJobSetting;
 import com.linkedin.venice.hadoop.exceptions.VeniceInvalidInputException;
+import com.linkedin.venice.hadoop.input.parquet.HdfsParquetUtils;
 import com.linkedin.venice.jobs.ComputeJob;
 import com.linkedin.venice.jobs.DataWriterComputeJob;
 import com.linkedin.venice.meta.Version;
 import com.linkedin.venice.partitioner.DefaultVenicePartitioner;
 import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
+import com.linkedin.venice.serializer.RecordDeserializer;
 import com.linkedin.venice.serializer.RecordSerializer;
 import com.linkedin.venice.utils.TestWriteUtils;
 import com.linkedin.venice.utils.Utils;
@@ -28,9 +31,19 @@ import com.linkedin.venice.utils.VeniceProperties;
 import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
 import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
 import org.apache.spark.api.java.JavaSparkContext;
 import org.apache.spark.rdd.RDD;
 import org.apache.spark.sql.Dataset;
@@ -134,6 +147,62 @@ public class AbstractDataWriterSparkJobTest {
     }
   }
 
+  @Test
+  public void testGetParquetDataFrameWithRecordValue() throws IOException {
+    File inputDir = TestWriteUtils.getTempDataDirectory();
+    // Like Spark, leave every column optional and the Avro schema out of the footer
+    MessageType parquetSchema = MessageTypeParser.parseMessageType(
+        "message spark_schema { optional binary key (UTF8); "
+            + "optional group value { optional binary name (UTF8); optional int32 age; } }");
+    Path filePath = new Path(new File(inputDir, "part-0.parquet").getAbsolutePath());
+    SimpleGroupFactory groupFactory = new SimpleGroupFactory(parquetSchema);
+    try (ParquetWriter<Group> writer = ExampleParquetWriter.builder(filePath).withType(parquetSchema).build()) {
+      for (int i = 0; i < 10; i++) {
+        Group group = groupFactory.newGroup().append(DEFAULT_KEY_FIELD_PROP, "key_" + i);
+        group.addGroup(DEFAULT_VALUE_FIELD_PROP).append("name", "name_" + i).append("age", i);
+        writer.write(group);
+      }
+    }
+    FileSystem fs = filePath.getFileSystem(new Configuration());
+    Assert.assertTrue(HdfsParquetUtils.isSchemaInferred(fs, filePath));
+    Schema fileSchema = HdfsParquetUtils.getFileSchema(fs, filePath, DEFAULT_KEY_FIELD_PROP, DEFAULT_VALUE_FIELD_PROP);
+
+    // The registered value schema has another record name, another field order and no nullable fields
+    Schema keySchema = Schema.create(Schema.Type.STRING);
+    Schema valueSchema = AvroCompatibilityHelper.parse(
+        "{\"type\": \"record\", \"name\": \"Person\", \"namespace\": \"example\", \"fields\": ["
+            + "{\"name\": \"age\", \"type\": \"int\"}, {\"name\": \"name\", \"type\": \"string\"}]}");
+    Schema inferredValueSchema = fileSchema.getField(DEFAULT_VALUE_FIELD_PROP).schema();
+    Assert.assertNotEquals(inferredValueSchema, valueSchema);
+    Assert.assertTrue(HdfsParquetUtils.isInferredFrom(keySchema, fileSchema.getField(DEFAULT_KEY_FIELD_PROP).schema()));
+    Assert.assertTrue(HdfsParquetUtils.isInferredFrom(valueSchema, inferredValueSchema));
+    Assert.assertFalse(HdfsParquetUtils.isInferredFrom(keySchema, inferredValueSchema));
+    Schema inputDataSchema = HdfsParquetUtils
+        .withRegisteredSchemas(fileSchema, DEFAULT_KEY_FIELD_PROP, keySchema, DEFAULT_VALUE_FIELD_PROP, valueSchema);
+
+    PushJobSetting setting = getDefaultPushJobSetting(inputDir, inputDataSchema);
+    setting.isParquet = true;
+    setting.isParquetSchemaInferred = true;
+    try (DataWriterSparkJob dataWriterSparkJob = new DataWriterSparkJob()) {
+      dataWriterSparkJob.configure(new VeniceProperties(new Properties()), setting);
+      List<Row> rows =
+          dataWriterSparkJob.getParquetDataFrame(dataWriterSparkJob.getSparkSession(), setting).collectAsList();
+      Assert.assertEquals(rows.size(), 10);
+
+      RecordDeserializer<Object> keyDeserializer =
+          FastSerializerDeserializerFactory.getFastAvroGenericDeserializer(keySchema, keySchema);
+      RecordDeserializer<GenericRecord> valueDeserializer =
+          FastSerializerDeserializerFactory.getFastAvroGenericDeserializer(valueSchema, valueSchema);
+      for (Row row: rows) {
+        String key = keyDeserializer.deserialize((byte[]) row.getAs(KEY_COLUMN_NAME)).toString();
+        int i = Integer.parseInt(key.substring("key_".length()));
+        GenericRecord value = valueDeserializer.deserialize((byte[]) row.getAs(VALUE_COLUMN_NAME));
+        Assert.assertEquals(value.get("name").toString(), "name_" + i);
+        Assert.assertEquals(value.get("age"), i);
+      }
+    }
+  }
+
   private PushJobSetting getDefaultPushJobSetting(File inputDir, Schema dataSchema) {
     PushJobSetting setting = new PushJobSetting();
     setting.storeName = Utils.getUniqueString("TEST_STORE");
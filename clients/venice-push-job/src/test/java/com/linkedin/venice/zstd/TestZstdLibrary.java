@@ -72,7 +72,7 @@ public class TestZstdLibrary {
           numOfFiles);
       // build dict
       Assert
-          .assertTrue(pushJobZstdConfig.getZstdDictTrainer().trainSamples().length <= dictSizeLimitInKB * BYTES_PER_KB);
+          .assertTrue(pushJobZstdConfig.selectDictionary().getDictionary().length <= dictSizeLimitInKB * BYTES_PER_KB);
     } finally {
       fs.delete(new Path(inputDir.getAbsolutePath()), true);
     }
@@ -5,11 +5,14 @@ import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperatio
 import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType.COUNT;
 import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType.DOT_PRODUCT;
 import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType.HADAMARD_PRODUCT;
+import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType.TOP_K;
 
 import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
 import com.linkedin.venice.client.exceptions.VeniceClientException;
 import com.linkedin.venice.client.schema.SchemaAndToString;
 import com.linkedin.venice.client.stats.ClientStats;
+import com.linkedin.venice.client.store.predicate.FilterPredicateConverter;
+import com.linkedin.venice.client.store.predicate.Predicate;
 import com.linkedin.venice.client.store.streaming.StreamingCallback;
 import com.linkedin.venice.client.store.streaming.VeniceResponseCompletableFuture;
 import com.linkedin.venice.client.store.streaming.VeniceResponseMap;
@@ -19,7 +22,9 @@ import com.linkedin.venice.compute.ComputeUtils;
 import com.linkedin.venice.compute.protocol.request.ComputeOperation;
 import com.linkedin.venice.compute.protocol.request.CosineSimilarity;
 import com.linkedin.venice.compute.protocol.request.DotProduct;
+import com.linkedin.venice.compute.protocol.request.FilterPredicate;
 import com.linkedin.venice.compute.protocol.request.HadamardProduct;
+import com.linkedin.venice.compute.protocol.request.TopK;
 import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
 import com.linkedin.venice.schema.SchemaData;
 import com.linkedin.venice.schema.SchemaReader;
@@ -41,6 +46,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
 
 
 /**
@@ -56,6 +62,7 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
   protected static final String DOT_PRODUCT_SPEC = "dotProduct_spec";
   protected static final String COSINE_SIMILARITY_SPEC = "cosineSimilarity_spec";
   protected static final String HADAMARD_PRODUCT_SPEC = "hadamardProduct_spec";
+  protected static final String TOP_K_SPEC = "topK_spec";
 
   protected static final Schema HADAMARD_PRODUCT_RESULT_SCHEMA = Schema.createUnion(
       Arrays.asList(Schema.create(Schema.Type.NULL), Schema.createArray(Schema.create(Schema.Type.FLOAT))));
@@ -63,6 +70,8 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
       Schema.createUnion(Arrays.asList(Schema.create(Schema.Type.NULL), Schema.create(Schema.Type.FLOAT)));
   protected static final Schema COSINE_SIMILARITY_RESULT_SCHEMA =
       Schema.createUnion(Arrays.asList(Schema.create(Schema.Type.NULL), Schema.create(Schema.Type.FLOAT)));
+  protected static final Schema TOP_K_RESULT_SCHEMA =
+      Schema.createUnion(Arrays.asList(Schema.create(Schema.Type.NULL), Schema.create(Schema.Type.FLOAT)));
 
   protected final AvroGenericReadComputeStoreClient storeClient;
   protected final int latestValueSchemaId;
@@ -78,6 +87,8 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
   private List<DotProduct> dotProducts = new LinkedList<>();
   private List<CosineSimilarity> cosineSimilarities = new LinkedList<>();
   private List<HadamardProduct> hadamardProducts = new LinkedList<>();
+  private TopK topK;
+  private List<FilterPredicate> filter = Collections.emptyList();
 
   public AbstractAvroComputeRequestBuilder(AvroGenericReadComputeStoreClient storeClient, SchemaReader schemaReader) {
     this.latestValueSchemaId = schemaReader.getLatestValueSchemaId();
@@ -153,6 +164,35 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
     return this;
   }
 
+  @Override
+  public ComputeRequestBuilder<K> topK(String inputFieldName, List<Float> topKParam, int k, String resultFieldName)
+      throws VeniceClientException {
+    if (topK != null) {
+      throw new VeniceClientException("Only one " + TOP_K + " operation can be specified per request");
+    }
+    if (k <= 0) {
+      throw new VeniceClientException(TOP_K + " k must be positive, got: " + k);
+    }
+    TopK newTopK = (TopK) TOP_K.getNewInstance();
+    newTopK.field = inputFieldName;
+    newTopK.topKParam = (topKParam == null ? Collections.emptyList() : topKParam);
+    newTopK.k = k;
+    newTopK.resultFieldName = resultFieldName;
+    topK = newTopK;
+
+    return this;
+  }
+
+  @Override
+  public ComputeRequestBuilder<K> filter(Predicate<GenericRecord> predicate) throws VeniceClientException {
+    if (!filter.isEmpty()) {
+      throw new VeniceClientException("Only one filter can be specified per request");
+    }
+    filter = FilterPredicateConverter.toFilterPredicates(predicate);
+
+    return this;
+  }
+
   /**
    * Generate compute spec for projections, dot-product and cosine-similarity.
    * @return common compute spec
@@ -175,6 +215,9 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
       hadamardProductPairs.add(Pair.create(hadamardProduct.field, hadamardProduct.resultFieldName));
     });
     computeSpec.put(HADAMARD_PRODUCT_SPEC, hadamardProductPairs);
+    if (topK != null) {
+      computeSpec.put(TOP_K_SPEC, Pair.create(topK.field, topK.resultFieldName));
+    }
     return computeSpec;
   }
 
@@ -217,6 +260,10 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
             hadamardProduct.resultFieldName.toString(),
             computeResultFields,
             HADAMARD_PRODUCT));
+    // TopK
+    if (topK != null) {
+      checkComputeFieldValidity(topK.field.toString(), topK.resultFieldName.toString(), computeResultFields, TOP_K);
+    }
 
     return computeResultFields;
   }
@@ -256,6 +303,11 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
           .createSchemaField(hadamardProduct.resultFieldName.toString(), HADAMARD_PRODUCT_RESULT_SCHEMA, "", null);
       resultSchemaFields.add(hadamardProductField);
     });
+    if (topK != null) {
+      Schema.Field topKField = AvroCompatibilityHelper
+          .createSchemaField(topK.resultFieldName.toString(), TOP_K_RESULT_SCHEMA, "", null);
+      resultSchemaFields.add(topKField);
+    }
     /**
      * Error map field can not be a static variable; after setting the error map field in a schema, the position of the
      * field will be updated, so the next time when we set the field in a new schema, it would fail because
@@ -294,6 +346,12 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
       computeOperation.operation = hadamardProduct;
       operations.add(computeOperation);
     });
+    if (topK != null) {
+      ComputeOperation computeOperation = new ComputeOperation();
+      computeOperation.operationType = TOP_K.getValue();
+      computeOperation.operation = topK;
+      operations.add(computeOperation);
+    }
     return operations;
   }
 
@@ -310,6 +368,12 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
             new VeniceClientException(
                 "Received partial response, returned entry count: " + response.getTotalEntryCount()
                     + ", and key count: " + keys.size()));
+      } else if (topK != null) {
+        /**
+         * The storage nodes send back the keys which are not part of their own top K without a result, so what is left
+         * to do is to keep the K best records out of the partial lists of all the storage nodes.
+         */
+        resultFuture.complete(ComputeUtils.selectTopK(response, topK.resultFieldName.toString(), topK.k));
       } else {
         resultFuture.complete(response);
       }
@@ -500,6 +564,7 @@ public abstract class AbstractAvroComputeRequestBuilder<K> implements ComputeReq
         resultSchema.getSchema(),
         resultSchema.getToString(),
         getComputeRequestOperations(),
+        filter,
         originallyStreaming);
   }
 }
@@ -459,6 +459,11 @@ public abstract class AbstractAvroStoreClient<K, V> extends InternalAvroStoreCli
           @Override
           public void onRawRecordReceived(K key, GenericRecord value) {
             if (value != null) {
+              if (computeRequest.getFilter() != null && !computeRequest.getFilter().test(value)) {
+                // Like the servers do, report the records which do not match the filter without a result
+                onRecordReceived(key, null);
+                return;
+              }
               value = ComputeUtils.computeResult(
                   computeRequest.getOperations(),
                   computeRequest.getOperationResultFields(),
@@ -512,6 +517,7 @@ public abstract class AbstractAvroStoreClient<K, V> extends InternalAvroStoreCli
         RequestHeadersProvider.getStreamingComputeHeaderMap(
             keyList.size(),
             computeRequest.getValueSchemaID(),
+            computeRequest.getComputeRequestVersion(),
             clientConfig.isRemoteComputationOnly()),
         serializedRequest,
         callback,
@@ -0,0 +1,257 @@
+package com.linkedin.venice.client.store;
+
+import static com.linkedin.venice.VeniceConstants.VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME;
+import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType.COUNT_BY_BUCKET;
+import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType.COUNT_BY_VALUE;
+
+import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
+import com.linkedin.venice.client.exceptions.VeniceClientException;
+import com.linkedin.venice.client.store.predicate.FilterPredicateConverter;
+import com.linkedin.venice.client.store.predicate.Predicate;
+import com.linkedin.venice.client.store.streaming.StreamingCallback;
+import com.linkedin.venice.compute.ComputeRequestWrapper;
+import com.linkedin.venice.compute.ComputeUtils;
+import com.linkedin.venice.compute.protocol.request.ComputeOperation;
+import com.linkedin.venice.compute.protocol.request.CountByBucket;
+import com.linkedin.venice.compute.protocol.request.CountByValue;
+import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
+import com.linkedin.venice.schema.SchemaData;
+import com.linkedin.venice.schema.SchemaReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.avro.Schema;
+
+
+/**
+ * This class builds the aggregations into a compute request made of {@link ComputeOperationType#COUNT_BY_VALUE} and
+ * {@link ComputeOperationType#COUNT_BY_BUCKET} operations, which the storage nodes execute. Each storage node returns
+ * the partial histograms of the keys it serves rather than the records themselves, and this class merges them into
+ * the {@link AvroComputeAggregationResponse}. Only the top K values of each field are kept, once all the partial
+ * histograms are merged, and the request fails if the response is missing any key, rather than returning the counts
+ * of the keys which were received.
+ * @param <K>
+ */
+public class AvroComputeAggregationRequestBuilder<K> implements ComputeAggregationRequestBuilder<K> {
+  private static final String COUNT_BY_VALUE_RESULT_FIELD_PREFIX = "countByValue_";
+  private static final String COUNT_BY_BUCKET_RESULT_FIELD_PREFIX = "countByBucket_";
+  private static final Schema COUNTS_RESULT_SCHEMA = Schema.createMap(Schema.create(Schema.Type.INT));
+
+  private final AvroGenericReadComputeStoreClient storeClient;
+  private final int latestValueSchemaId;
+  private final Schema latestValueSchema;
+  private final String resultSchemaName;
+
+  private final List<ComputeOperation> operations = new ArrayList<>();
+  private final Map<String, Integer> fieldToTopK = new LinkedHashMap<>();
+  private final Map<String, List<String>> fieldToBucketNames = new LinkedHashMap<>();
+  private boolean executed = false;
+
+  public AvroComputeAggregationRequestBuilder(
+      AvroGenericReadComputeStoreClient storeClient,
+      SchemaReader schemaReader) {
+    this.latestValueSchemaId = schemaReader.getLatestValueSchemaId();
+    if (latestValueSchemaId == SchemaData.INVALID_VALUE_SCHEMA_ID) {
+      throw new VeniceClientException("Invalid value schema ID: " + latestValueSchemaId);
+    }
+    this.latestValueSchema = schemaReader.getValueSchema(latestValueSchemaId);
+    if (latestValueSchema.getType() != Schema.Type.RECORD) {
+      throw new VeniceClientException("Only value schema with 'RECORD' type is supported");
+    }
+    this.storeClient = storeClient;
+    this.resultSchemaName =
+        ComputeUtils.removeAvroIllegalCharacter(storeClient.getStoreName()) + "_VeniceAggregationResult";
+  }
+
+  @Override
+  public ComputeAggregationRequestBuilder<K> countGroupByValue(int topK, String... fieldNames) {
+    if (topK <= 0) {
+      throw new VeniceClientException(COUNT_BY_VALUE + " top K must be positive, got: " + topK);
+    }
+    for (String fieldName: fieldNames) {
+      Schema.Field field = getValueField(fieldName, COUNT_BY_VALUE);
+      if (AvroComputeAggregationResponse.getCountedValueSchema(field.schema()) == null) {
+        throw new VeniceClientException(
+            COUNT_BY_VALUE + " field: " + fieldName + " isn't a 'STRING', 'ENUM', 'BOOLEAN', 'INT', 'LONG', 'FLOAT' "
+                + "or 'DOUBLE' type, or a nullable one. Got: " + field.schema());
+      }
+      if (fieldToTopK.containsKey(fieldName)) {
+        throw new VeniceClientException(COUNT_BY_VALUE + " field: " + fieldName + " has been specified more than once");
+      }
+      fieldToTopK.put(fieldName, topK);
+
+      CountByValue countByValue = (CountByValue) COUNT_BY_VALUE.getNewInstance();
+      countByValue.field = fieldName;
+      countByValue.resultFieldName = COUNT_BY_VALUE_RESULT_FIELD_PREFIX + fieldName;
+      addOperation(COUNT_BY_VALUE, countByValue);
+    }
+    return this;
+  }
+
+  @Override
+  public <T> ComputeAggregationRequestBuilder<K> countGroupByBucket(
+      Map<String, Predicate<T>> bucketNameToPredicate,
+      String... fieldNames) {
+    if (bucketNameToPredicate == null || bucketNameToPredicate.isEmpty()) {
+      throw new VeniceClientException(COUNT_BY_BUCKET + " requires at least one bucket");
+    }
+    for (String fieldName: fieldNames) {
+      getValueField(fieldName, COUNT_BY_BUCKET);
+      if (fieldToBucketNames.containsKey(fieldName)) {
+        throw new VeniceClientException(
+            COUNT_BY_BUCKET + " field: " + fieldName + " has been specified more than once");
+      }
+
+      CountByBucket countByBucket = (CountByBucket) COUNT_BY_BUCKET.getNewInstance();
+      countByBucket.field = fieldName;
+      List<String> bucketNames = new ArrayList<>(bucketNameToPredicate.size());
+      countByBucket.bucketPredicates = new ArrayList<>(bucketNameToPredicate.size());
+      for (Map.Entry<String, Predicate<T>> entry: bucketNameToPredicate.entrySet()) {
+        bucketNames.add(entry.getKey());
+        countByBucket.bucketPredicates
+            .add(FilterPredicateConverter.toFieldFilterPredicates(fieldName, entry.getValue()));
+      }
+      countByBucket.bucketNames = new ArrayList<>(bucketNames);
+      countByBucket.resultFieldName = COUNT_BY_BUCKET_RESULT_FIELD_PREFIX + fieldName;
+      fieldToBucketNames.put(fieldName, bucketNames);
+      addOperation(COUNT_BY_BUCKET, countByBucket);
+    }
+    return this;
+  }
+
+  private Schema.Field getValueField(String fieldName, ComputeOperationType computeType) {
+    Schema.Field field = latestValueSchema.getField(fieldName);
+    if (field == null) {
+      throw new VeniceClientException("Unknown " + computeType + " field: " + fieldName);
+    }
+    return field;
+  }
+
+  private void addOperation(ComputeOperationType computeType, Object operation) {
+    ComputeOperation computeOperation = new ComputeOperation();
+    computeOperation.operationType = computeType.getValue();
+    computeOperation.operation = operation;
+    operations.add(computeOperation);
+  }
+
+  @Override
+  public CompletableFuture<ComputeAggregationResponse> execute(Set<K> keys) throws VeniceClientException {
+    if (executed) {
+      throw new VeniceClientException(getClass().getName() + " reuse is not supported.");
+    }
+    executed = true;
+    if (operations.isEmpty()) {
+      throw new VeniceClientException("At least one aggregation must be specified");
+    }
+
+    long preRequestTimeInNS = System.nanoTime();
+    Schema resultSchema = getResultSchema();
+    ComputeRequestWrapper computeRequestWrapper = new ComputeRequestWrapper(
+        latestValueSchemaId,
+        latestValueSchema,
+        resultSchema,
+        resultSchema.toString(),
+        operations,
+        false);
+    List<Schema.Field> operationResultFields = computeRequestWrapper.getOperationResultFields();
+    Map<String, Map<String, Integer>> resultFieldToCounts = new HashMap<>(operationResultFields.size());
+    operationResultFields.forEach(field -> resultFieldToCounts.put(field.name(), new HashMap<>()));
+
+    CompletableFuture<ComputeAggregationResponse> resultFuture = new CompletableFuture<>();
+    Set<K> receivedKeys = ConcurrentHashMap.newKeySet(keys.size());
+    storeClient.compute(computeRequestWrapper, keys, resultSchema, new StreamingCallback<K, ComputeGenericRecord>() {
+      @Override
+      public void onRecordReceived(K key, ComputeGenericRecord value) {
+        if (!receivedKeys.add(key) || value == null) {
+          // The counts of a key received twice would be counted twice
+          return;
+        }
+        /**
+         * Each storage node returns the partial counts of a chunk of keys in a single record, while a client which
+         * computes the records itself returns the counts of each record in its own, so merging all of them works
+         * either way. N.B. The counts are looked up by position, since the records which failed to be counted have an
+         * entry in the error map, and an empty map of counts.
+         */
+        synchronized (resultFieldToCounts) {
+          for (Schema.Field field: operationResultFields) {
+            Map<?, Integer> partialCounts = (Map<?, Integer>) value.get(field.pos());
+            if (partialCounts != null) {
+              Map<String, Integer> counts = resultFieldToCounts.get(field.name());
+              partialCounts.forEach((countedKey, count) -> counts.merge(countedKey.toString(), count, Integer::sum));
+            }
+          }
+        }
+      }
+
+      @Override
+      public void onCompletion(Optional<Exception> exception) {
+        if (exception.isPresent()) {
+          resultFuture.completeExceptionally(exception.get());
+          return;
+        }
+        /**
+         * The storage nodes send back all the keys whose counts are part of the record of another key without a result,
+         * so a missing key means that the counts of some storage node are missing, and the merged counts are too low.
+         */
+        if (receivedKeys.size() != keys.size()) {
+          resultFuture.completeExceptionally(
+              new VeniceClientException(
+                  "Received partial response, returned entry count: " + receivedKeys.size() + ", and key count: "
+                      + keys.size()));
+          return;
+        }
+        Map<String, Map<String, Integer>> fieldToValueCounts = new HashMap<>();
+        fieldToTopK.keySet()
+            .forEach(
+                field -> fieldToValueCounts
+                    .put(field, resultFieldToCounts.get(COUNT_BY_VALUE_RESULT_FIELD_PREFIX + field)));
+        Map<String, Map<String, Integer>> fieldToBucketCounts = new HashMap<>();
+        fieldToBucketNames.keySet()
+            .forEach(
+                field -> fieldToBucketCounts
+                    .put(field, resultFieldToCounts.get(COUNT_BY_BUCKET_RESULT_FIELD_PREFIX + field)));
+        resultFuture.complete(
+            new AvroComputeAggregationResponse(
+                latestValueSchema,
+                fieldToTopK,
+                fieldToValueCounts,
+                fieldToBucketNames,
+                fieldToBucketCounts));
+      }
+    }, preRequestTimeInNS);
+    return resultFuture;
+  }
+
+  private Schema getResultSchema() {
+    List<Schema.Field> resultSchemaFields = new ArrayList<>(operations.size() + 1);
+    for (String fieldName: fieldToTopK.keySet()) {
+      resultSchemaFields.add(createCountsResultField(COUNT_BY_VALUE_RESULT_FIELD_PREFIX + fieldName));
+    }
+    for (String fieldName: fieldToBucketNames.keySet()) {
+      resultSchemaFields.add(createCountsResultField(COUNT_BY_BUCKET_RESULT_FIELD_PREFIX + fieldName));
+    }
+    resultSchemaFields.add(
+        AvroCompatibilityHelper.createSchemaField(
+            VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME,
+            Schema.createMap(Schema.create(Schema.Type.STRING)),
+            "",
+            null));
+    Schema resultSchema = Schema.createRecord(resultSchemaName, "", "", false);
+    resultSchema.setFields(resultSchemaFields);
+    return resultSchema;
+  }
+
+  private Schema.Field createCountsResultField(String resultFieldName) {
+    if (latestValueSchema.getField(resultFieldName) != null) {
+      throw new VeniceClientException(
+          "Aggregation result field: " + resultFieldName + " collides with the fields defined in value schema");
+    }
+    return AvroCompatibilityHelper.createSchemaField(resultFieldName, COUNTS_RESULT_SCHEMA, "", null);
+  }
+}
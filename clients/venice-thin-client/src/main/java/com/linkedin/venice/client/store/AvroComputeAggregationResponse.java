@@ -0,0 +1,122 @@
+package com.linkedin.venice.client.store;
+
+import com.linkedin.venice.client.exceptions.VeniceClientException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.avro.Schema;
+
+
+/**
+ * The counts of a {@link AvroComputeAggregationRequestBuilder} request, once the partial histograms returned by all the
+ * storage nodes have been merged. The counted values are sent in their string form, and converted back to the type of
+ * their field here.
+ */
+public class AvroComputeAggregationResponse implements ComputeAggregationResponse {
+  private final Schema valueSchema;
+  private final Map<String, Integer> fieldToTopK;
+  private final Map<String, Map<String, Integer>> fieldToValueCounts;
+  private final Map<String, List<String>> fieldToBucketNames;
+  private final Map<String, Map<String, Integer>> fieldToBucketCounts;
+
+  public AvroComputeAggregationResponse(
+      Schema valueSchema,
+      Map<String, Integer> fieldToTopK,
+      Map<String, Map<String, Integer>> fieldToValueCounts,
+      Map<String, List<String>> fieldToBucketNames,
+      Map<String, Map<String, Integer>> fieldToBucketCounts) {
+    this.valueSchema = valueSchema;
+    this.fieldToTopK = fieldToTopK;
+    this.fieldToValueCounts = fieldToValueCounts;
+    this.fieldToBucketNames = fieldToBucketNames;
+    this.fieldToBucketCounts = fieldToBucketCounts;
+  }
+
+  /**
+   * @return the top K values with the highest counts, in decreasing order of count.
+   */
+  @Override
+  public <T> Map<T, Integer> getValueToCount(String fieldName) {
+    Map<String, Integer> valueCounts = fieldToValueCounts.get(fieldName);
+    if (valueCounts == null) {
+      throw new VeniceClientException("No count-by-value was requested for field: " + fieldName);
+    }
+    List<Map.Entry<String, Integer>> sortedValueCounts = new ArrayList<>(valueCounts.entrySet());
+    sortedValueCounts.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+    int topK = Math.min(fieldToTopK.get(fieldName), sortedValueCounts.size());
+    Schema countedValueSchema = getCountedValueSchema(valueSchema.getField(fieldName).schema());
+    Map<T, Integer> valueToCount = new LinkedHashMap<>(topK);
+    for (Map.Entry<String, Integer> entry: sortedValueCounts.subList(0, topK)) {
+      valueToCount.put((T) toValue(entry.getKey(), countedValueSchema), entry.getValue());
+    }
+    return valueToCount;
+  }
+
+  /**
+   * @return the count of each bucket, including the buckets which no value matched.
+   */
+  @Override
+  public Map<String, Integer> getBucketNameToCount(String fieldName) {
+    List<String> bucketNames = fieldToBucketNames.get(fieldName);
+    if (bucketNames == null) {
+      throw new VeniceClientException("No count-by-bucket was requested for field: " + fieldName);
+    }
+    Map<String, Integer> bucketCounts = fieldToBucketCounts.get(fieldName);
+    Map<String, Integer> bucketNameToCount = new LinkedHashMap<>(bucketNames.size());
+    for (String bucketName: bucketNames) {
+      bucketNameToCount.put(bucketName, bucketCounts.getOrDefault(bucketName, 0));
+    }
+    return bucketNameToCount;
+  }
+
+  /**
+   * @return the schema of the values of a field which can be counted by value, which is the field schema itself or the
+   *         non-null branch of a nullable field, or null if its values cannot be counted.
+   */
+  static Schema getCountedValueSchema(Schema fieldSchema) {
+    Schema schema = fieldSchema;
+    if (schema.getType() == Schema.Type.UNION) {
+      List<Schema> types = schema.getTypes();
+      if (types.size() != 2) {
+        return null;
+      }
+      if (types.get(0).getType() == Schema.Type.NULL) {
+        schema = types.get(1);
+      } else if (types.get(1).getType() == Schema.Type.NULL) {
+        schema = types.get(0);
+      } else {
+        return null;
+      }
+    }
+    switch (schema.getType()) {
+      case STRING:
+      case ENUM:
+      case BOOLEAN:
+      case INT:
+      case LONG:
+      case FLOAT:
+      case DOUBLE:
+        return schema;
+      default:
+        return null;
+    }
+  }
+
+  private static Object toValue(String countedValue, Schema countedValueSchema) {
+    switch (countedValueSchema.getType()) {
+      case BOOLEAN:
+        return Boolean.valueOf(countedValue);
+      case INT:
+        return Integer.valueOf(countedValue);
+      case LONG:
+        return Long.valueOf(countedValue);
+      case FLOAT:
+        return Float.valueOf(countedValue);
+      case DOUBLE:
+        return Double.valueOf(countedValue);
+      default:
+        return countedValue;
+    }
+  }
+}
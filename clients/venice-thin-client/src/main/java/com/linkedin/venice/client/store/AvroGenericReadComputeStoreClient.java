@@ -50,6 +50,14 @@ public interface AvroGenericReadComputeStoreClient<K, V> extends AvroGenericStor
         .setValidateProjectionFields(isProjectionFieldValidationEnabled());
   }
 
+  /**
+   * @return a builder of aggregations, which the storage nodes execute on the values of the given keys, returning only
+   *         their counts rather than the values themselves.
+   */
+  default ComputeAggregationRequestBuilder<K> computeAggregation() throws VeniceClientException {
+    return new AvroComputeAggregationRequestBuilder<>(this, getSchemaReader());
+  }
+
   void compute(
       ComputeRequestWrapper computeRequestWrapper,
       Set<K> keys,
@@ -69,6 +69,40 @@ public interface ComputeRequestBuilder<K> extends ExecutableRequestBuilder<K, Ma
       List<Float> hadamardProductParam,
       String resultFieldName);
 
+  /**
+   * Setup top-K operation, which keeps only the K records whose input field has the highest cosine similarity with
+   * the top-K param. Each storage node scores its own records and only returns its K best ones, and {@link #execute}
+   * then merges these partial lists into the K best records overall, in decreasing order of similarity. Keys which
+   * did not make it into the top K are left out of the result. Like the other requests, {@link #execute} fails if the
+   * response of any storage node is missing.
+   *
+   * The streaming APIs return the partial lists of the storage nodes as they arrive, with a null value for the keys
+   * which did not make it into the top K of their storage node, as for missing keys. It is up to the caller to keep the
+   * K best records out of them, for instance with {@link com.linkedin.venice.compute.ComputeUtils#selectTopK}.
+   *
+   * Only one top-K operation can be specified per request, and it requires routers and servers which support version
+   * 5 of the compute request protocol.
+   * @param inputFieldName : top-level field in the value record as the input of top-K operation
+   * @param topKParam : top-K param
+   * @param k : number of records to return
+   * @param resultFieldName : result field name in the response record, which holds the cosine similarity
+   * @return
+   */
+  ComputeRequestBuilder<K> topK(String inputFieldName, List<Float> topKParam, int k, String resultFieldName);
+
+  /**
+   * Setup a filter on the value records, which the storage nodes evaluate before running the other operations, so
+   * that the records which do not match it are neither computed nor sent back. The storage nodes still report the keys
+   * whose record did not match, so that a partial response can be told apart: they are left out of the result of
+   * {@link #execute}, and the streaming APIs get them with a null value, like missing keys.
+   *
+   * The supported predicates are listed in {@link com.linkedin.venice.client.store.predicate.FilterPredicateConverter},
+   * and it requires routers and servers which support version 6 of the compute request protocol.
+   * @param predicate : predicate on the value record, made of {@link Predicate#equalTo(String, Object)} predicates
+   * @return
+   */
+  ComputeRequestBuilder<K> filter(Predicate<GenericRecord> predicate);
+
   /**
    * Send compute request to Venice, and this should be the last step of the compute specification.
    * The difference between this function and the previous {@link #execute(Set)} is that this function will return
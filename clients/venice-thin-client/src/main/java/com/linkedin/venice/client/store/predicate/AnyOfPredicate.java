@@ -25,4 +25,8 @@ public class AnyOfPredicate<T> implements Predicate<T> {
     }
     return false;
   }
+
+  T[] getExpectedValues() {
+    return expectedValues;
+  }
 }
@@ -33,4 +33,12 @@ public class DoubleAnyOfPredicate implements DoublePredicate {
     }
     return false;
   }
+
+  double[] getExpectedValues() {
+    return expectedValues;
+  }
+
+  double getEpsilon() {
+    return epsilon;
+  }
 }
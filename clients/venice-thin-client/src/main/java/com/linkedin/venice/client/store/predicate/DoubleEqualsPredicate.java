@@ -22,4 +22,12 @@ public class DoubleEqualsPredicate implements DoublePredicate {
     // Only check epsilon for finite numbers
     return Math.abs(value - expectedValue) <= epsilon;
   }
+
+  double getExpectedValue() {
+    return expectedValue;
+  }
+
+  double getEpsilon() {
+    return epsilon;
+  }
 }
@@ -19,4 +19,12 @@ public class DoubleGreaterThanPredicate implements DoublePredicate {
   public boolean evaluate(double value) {
     return (value - threshold) > epsilon;
   }
+
+  double getThreshold() {
+    return threshold;
+  }
+
+  double getEpsilon() {
+    return epsilon;
+  }
 }
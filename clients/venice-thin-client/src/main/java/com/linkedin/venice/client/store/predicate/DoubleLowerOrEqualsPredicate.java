@@ -19,4 +19,12 @@ public class DoubleLowerOrEqualsPredicate implements DoublePredicate {
   public boolean evaluate(double value) {
     return (threshold - value) > -epsilon;
   }
+
+  double getThreshold() {
+    return threshold;
+  }
+
+  double getEpsilon() {
+    return epsilon;
+  }
 }
@@ -19,4 +19,12 @@ public class DoubleLowerThanPredicate implements DoublePredicate {
   public boolean evaluate(double value) {
     return (threshold - value) > epsilon;
   }
+
+  double getThreshold() {
+    return threshold;
+  }
+
+  double getEpsilon() {
+    return epsilon;
+  }
 }
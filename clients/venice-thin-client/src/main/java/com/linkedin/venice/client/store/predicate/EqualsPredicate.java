@@ -14,4 +14,8 @@ public class EqualsPredicate<T> implements Predicate<T> {
   public boolean evaluate(T value) {
     return Objects.equals(this.expectedValue, value);
   }
+
+  T getExpectedValue() {
+    return expectedValue;
+  }
 }
@@ -0,0 +1,309 @@
+package com.linkedin.venice.client.store.predicate;
+
+import com.linkedin.venice.client.exceptions.VeniceClientException;
+import com.linkedin.venice.compute.ComputeFilter;
+import com.linkedin.venice.compute.protocol.request.FilterPredicate;
+import com.linkedin.venice.compute.protocol.request.enums.FilterPredicateType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.avro.generic.GenericRecord;
+
+
+/**
+ * Converts a {@link Predicate} on value records into the {@link FilterPredicate} of a compute request, so that the
+ * servers can evaluate it with a {@link ComputeFilter}, see the latter for the format.
+ *
+ * The supported predicates are {@link AndPredicate} and {@link OrPredicate} of the record predicates made with
+ * {@link Predicate#equalTo(String, Object)}, whose expected value is either an int, long, float, double or string
+ * value, or an {@link IntPredicate}, {@link LongPredicate}, {@link FloatPredicate}, {@link DoublePredicate},
+ * {@link Predicate#equalTo(Object)} or {@link Predicate#anyOf(Object[])} of such values, or an {@link AndPredicate} or
+ * {@link OrPredicate} of those.
+ */
+public final class FilterPredicateConverter {
+  private FilterPredicateConverter() {
+  }
+
+  /**
+   * @throws VeniceClientException if the predicate cannot be evaluated by the servers.
+   */
+  public static List<FilterPredicate> toFilterPredicates(Predicate<GenericRecord> predicate) {
+    List<FilterPredicate> filterPredicates = new ArrayList<>();
+    addRecordPredicate(predicate, filterPredicates);
+    return filterPredicates;
+  }
+
+  /**
+   * Converts a predicate on the values of a field, such as the ones which define the buckets of
+   * {@link com.linkedin.venice.client.store.ComputeAggregationRequestBuilder#countGroupByBucket}, into the filter
+   * predicates matching the records whose field matches it.
+   *
+   * @throws VeniceClientException if the predicate cannot be evaluated by the servers.
+   */
+  public static List<FilterPredicate> toFieldFilterPredicates(String fieldName, Predicate<?> predicate) {
+    List<FilterPredicate> filterPredicates = new ArrayList<>();
+    addFieldPredicate(fieldName, predicate, filterPredicates);
+    return filterPredicates;
+  }
+
+  private static void addRecordPredicate(Predicate<GenericRecord> predicate, List<FilterPredicate> filterPredicates) {
+    if (predicate instanceof CompositePredicate) {
+      int index = addCompositePredicate((CompositePredicate) predicate, "", filterPredicates);
+      int childCount = 0;
+      for (Predicate<GenericRecord> child: (CompositePredicate<GenericRecord>) predicate) {
+        addRecordPredicate(child, filterPredicates);
+        childCount++;
+      }
+      filterPredicates.get(index).childCount = childCount;
+    } else if (predicate instanceof RecordFieldProjectionEqualsPredicate) {
+      RecordFieldProjectionEqualsPredicate fieldPredicate = (RecordFieldProjectionEqualsPredicate) predicate;
+      addFieldPredicate(fieldPredicate.getFieldName(), fieldPredicate.getExpectedValue(), filterPredicates);
+    } else {
+      throw unsupported(predicate);
+    }
+  }
+
+  private static int addCompositePredicate(
+      CompositePredicate predicate,
+      String fieldName,
+      List<FilterPredicate> filterPredicates) {
+    FilterPredicateType type;
+    if (predicate instanceof AndPredicate) {
+      type = FilterPredicateType.AND;
+    } else if (predicate instanceof OrPredicate) {
+      type = FilterPredicateType.OR;
+    } else {
+      throw unsupported(predicate);
+    }
+    filterPredicates.add(newFilterPredicate(type, fieldName));
+    return filterPredicates.size() - 1;
+  }
+
+  private static void addFieldPredicate(String fieldName, Object expected, List<FilterPredicate> filterPredicates) {
+    if (expected instanceof CompositePredicate) {
+      int index = addCompositePredicate((CompositePredicate) expected, "", filterPredicates);
+      int childCount = 0;
+      for (Object child: (CompositePredicate<?>) expected) {
+        addFieldPredicate(fieldName, child, filterPredicates);
+        childCount++;
+      }
+      filterPredicates.get(index).childCount = childCount;
+    } else if (expected instanceof IntPredicate) {
+      filterPredicates.add(toIntPredicate(fieldName, (IntPredicate) expected));
+    } else if (expected instanceof LongPredicate) {
+      filterPredicates.add(toLongPredicate(fieldName, (LongPredicate) expected));
+    } else if (expected instanceof FloatPredicate) {
+      filterPredicates.add(toFloatPredicate(fieldName, (FloatPredicate) expected));
+    } else if (expected instanceof DoublePredicate) {
+      filterPredicates.add(toDoublePredicate(fieldName, (DoublePredicate) expected));
+    } else if (expected instanceof EqualsPredicate) {
+      Object expectedValue = ((EqualsPredicate<?>) expected).getExpectedValue();
+      filterPredicates.add(toValuesPredicate(FilterPredicateType.EQUALS, fieldName, expectedValue));
+    } else if (expected instanceof AnyOfPredicate) {
+      Object[] expectedValues = ((AnyOfPredicate<?>) expected).getExpectedValues();
+      filterPredicates.add(toValuesPredicate(FilterPredicateType.ANY_OF, fieldName, expectedValues));
+    } else if (expected instanceof Predicate) {
+      throw unsupported(expected);
+    } else {
+      filterPredicates.add(toValuesPredicate(FilterPredicateType.EQUALS, fieldName, expected));
+    }
+  }
+
+  private static FilterPredicate toIntPredicate(String fieldName, IntPredicate predicate) {
+    FilterPredicate filterPredicate;
+    if (predicate instanceof IntEqualsPredicate) {
+      filterPredicate = newFilterPredicate(FilterPredicateType.EQUALS, fieldName);
+      filterPredicate.intValues = Collections.singletonList(((IntEqualsPredicate) predicate).getExpectedValue());
+    } else if (predicate instanceof IntGreaterThanPredicate) {
+      filterPredicate = newFilterPredicate(FilterPredicateType.GREATER_THAN, fieldName);
+      filterPredicate.intValues = Collections.singletonList(((IntGreaterThanPredicate) predicate).getThreshold());
+    } else if (predicate instanceof IntGreaterOrEqualsPredicate) {
+      filterPredicate = newFilterPredicate(FilterPredicateType.GREATER_OR_EQUALS, fieldName);
+      filterPredicate.intValues = Collections.singletonList(((IntGreaterOrEqualsPredicate) predicate).getThreshold());
+    } else if (predicate instanceof IntLowerThanPredicate) {
+      filterPredicate = newFilterPredicate(FilterPredicateType.LOWER_THAN, fieldName);
+      filterPredicate.intValues = Collections.singletonList(((IntLowerThanPredicate) predicate).getThreshold());
+    } else if (predicate instanceof IntLowerOrEqualsPredicate) {
+      filterPredicate = newFilterPredicate(FilterPredicateType.LOWER_OR_EQUALS, fieldName);
+      filterPredicate.intValues = Collections.singletonList(((IntLowerOrEqualsPredicate) predicate).getThreshold());
+    } else if (predicate instanceof IntAnyOfPredicate) {
+      filterPredicate = newFilterPredicate(FilterPredicateType.ANY_OF, fieldName);
+      filterPredicate.intValues = new ArrayList<>();
+      for (int expectedValue: ((IntAnyOfPredicate) predicate).getExpectedValues()) {
+        filterPredicate.intValues.add(expectedValue);
+      }
+    } else {
+      throw unsupported(predicate);
+    }
+    return filterPredicate;
+  }
+
+  private static FilterPredicate toLongPredicate(String fieldName, LongPredicate predicate) {
+    FilterPredicate filterPredicate;
+    if (predicate instanceof LongEqualsPredicate) {
+      filterPredicate = newFilterPredicate(FilterPredicateType.EQUALS, fieldName);
+      filterPredicate.longValues = Collections.singletonList(((LongEqualsPredicate) predicate).getExpectedValue());
+    } else if (predicate instanceof LongGreaterThanPredicate) {
+      filterPredicate = newFilterPredicate(FilterPredicateType.GREATER_THAN, fieldName);
+      filterPredicate.longValues = Collections.singletonList(((LongGreaterThanPredicate) predicate).getThreshold());
+    } else if (predicate instanceof LongGreaterOrEqualsPredicate) {
+      filterPredicate = newFilterPredicate(FilterPredicateType.GREATER_OR_EQUALS, fieldName);
+      filterPredicate.longValues =
+          Collections.singletonList(((LongGreaterOrEqualsPredicate) predicate).getThreshold());
+    } else if (predicate instanceof LongLowerThanPredicate) {
+      filterPredicate = newFilterPredicate(FilterPredicateType.LOWER_THAN, fieldName);
+      filterPredicate.longValues = Collections.singletonList(((LongLowerThanPredicate) predicate).getThreshold());
+    } else if (predicate instanceof LongLowerOrEqualsPredicate) {
+      filterPredicate = newFilterPredicate(FilterPredicateType.LOWER_OR_EQUALS, fieldName);
+      filterPredicate.longValues = Collections.singletonList(((LongLowerOrEqualsPredicate) predicate).getThreshold());
+    } else if (predicate instanceof LongAnyOfPredicate) {
+      filterPredicate = newFilterPredicate(FilterPredicateType.ANY_OF, fieldName);
+      filterPredicate.longValues = new ArrayList<>();
+      for (long expectedValue: ((LongAnyOfPredicate) predicate).getExpectedValues()) {
+        filterPredicate.longValues.add(expectedValue);
+      }
+    } else {
+      throw unsupported(predicate);
+    }
+    return filterPredicate;
+  }
+
+  private static FilterPredicate toFloatPredicate(String fieldName, FloatPredicate predicate) {
+    FilterPredicate filterPredicate;
+    if (predicate instanceof FloatEqualsPredicate) {
+      FloatEqualsPredicate equalsPredicate = (FloatEqualsPredicate) predicate;
+      filterPredicate = newFilterPredicate(FilterPredicateType.EQUALS, fieldName);
+      filterPredicate.floatValues = Collections.singletonList(equalsPredicate.getExpectedValue());
+      filterPredicate.epsilon = equalsPredicate.getEpsilon();
+    } else if (predicate instanceof FloatGreaterThanPredicate) {
+      FloatGreaterThanPredicate greaterThanPredicate = (FloatGreaterThanPredicate) predicate;
+      filterPredicate = newFilterPredicate(FilterPredicateType.GREATER_THAN, fieldName);
+      filterPredicate.floatValues = Collections.singletonList(greaterThanPredicate.getThreshold());
+      filterPredicate.epsilon = greaterThanPredicate.getEpsilon();
+    } else if (predicate instanceof FloatGreaterOrEqualsPredicate) {
+      FloatGreaterOrEqualsPredicate greaterOrEqualsPredicate = (FloatGreaterOrEqualsPredicate) predicate;
+      filterPredicate = newFilterPredicate(FilterPredicateType.GREATER_OR_EQUALS, fieldName);
+      filterPredicate.floatValues = Collections.singletonList(greaterOrEqualsPredicate.getThreshold());
+      filterPredicate.epsilon = greaterOrEqualsPredicate.getEpsilon();
+    } else if (predicate instanceof FloatLowerThanPredicate) {
+      FloatLowerThanPredicate lowerThanPredicate = (FloatLowerThanPredicate) predicate;
+      filterPredicate = newFilterPredicate(FilterPredicateType.LOWER_THAN, fieldName);
+      filterPredicate.floatValues = Collections.singletonList(lowerThanPredicate.getThreshold());
+      filterPredicate.epsilon = lowerThanPredicate.getEpsilon();
+    } else if (predicate instanceof FloatLowerOrEqualsPredicate) {
+      FloatLowerOrEqualsPredicate lowerOrEqualsPredicate = (FloatLowerOrEqualsPredicate) predicate;
+      filterPredicate = newFilterPredicate(FilterPredicateType.LOWER_OR_EQUALS, fieldName);
+      filterPredicate.floatValues = Collections.singletonList(lowerOrEqualsPredicate.getThreshold());
+      filterPredicate.epsilon = lowerOrEqualsPredicate.getEpsilon();
+    } else if (predicate instanceof FloatAnyOfPredicate) {
+      FloatAnyOfPredicate anyOfPredicate = (FloatAnyOfPredicate) predicate;
+      filterPredicate = newFilterPredicate(FilterPredicateType.ANY_OF, fieldName);
+      filterPredicate.floatValues = new ArrayList<>();
+      for (float expectedValue: anyOfPredicate.getExpectedValues()) {
+        filterPredicate.floatValues.add(expectedValue);
+      }
+      filterPredicate.epsilon = anyOfPredicate.getEpsilon();
+    } else {
+      throw unsupported(predicate);
+    }
+    return filterPredicate;
+  }
+
+  private static FilterPredicate toDoublePredicate(String fieldName, DoublePredicate predicate) {
+    FilterPredicate filterPredicate;
+    if (predicate instanceof DoubleEqualsPredicate) {
+      DoubleEqualsPredicate equalsPredicate = (DoubleEqualsPredicate) predicate;
+      filterPredicate = newFilterPredicate(FilterPredicateType.EQUALS, fieldName);
+      filterPredicate.doubleValues = Collections.singletonList(equalsPredicate.getExpectedValue());
+      filterPredicate.epsilon = equalsPredicate.getEpsilon();
+    } else if (predicate instanceof DoubleGreaterThanPredicate) {
+      DoubleGreaterThanPredicate greaterThanPredicate = (DoubleGreaterThanPredicate) predicate;
+      filterPredicate = newFilterPredicate(FilterPredicateType.GREATER_THAN, fieldName);
+      filterPredicate.doubleValues = Collections.singletonList(greaterThanPredicate.getThreshold());
+      filterPredicate.epsilon = greaterThanPredicate.getEpsilon();
+    } else if (predicate instanceof DoubleGreaterOrEqualsPredicate) {
+      DoubleGreaterOrEqualsPredicate greaterOrEqualsPredicate = (DoubleGreaterOrEqualsPredicate) predicate;
+      filterPredicate = newFilterPredicate(FilterPredicateType.GREATER_OR_EQUALS, fieldName);
+      filterPredicate.doubleValues = Collections.singletonList(greaterOrEqualsPredicate.getThreshold());
+      filterPredicate.epsilon = greaterOrEqualsPredicate.getEpsilon();
+    } else if (predicate instanceof DoubleLowerThanPredicate) {
+      DoubleLowerThanPredicate lowerThanPredicate = (DoubleLowerThanPredicate) predicate;
+      filterPredicate = newFilterPredicate(FilterPredicateType.LOWER_THAN, fieldName);
+      filterPredicate.doubleValues = Collections.singletonList(lowerThanPredicate.getThreshold());
+      filterPredicate.epsilon = lowerThanPredicate.getEpsilon();
+    } else if (predicate instanceof DoubleLowerOrEqualsPredicate) {
+      DoubleLowerOrEqualsPredicate lowerOrEqualsPredicate = (DoubleLowerOrEqualsPredicate) predicate;
+      filterPredicate = newFilterPredicate(FilterPredicateType.LOWER_OR_EQUALS, fieldName);
+      filterPredicate.doubleValues = Collections.singletonList(lowerOrEqualsPredicate.getThreshold());
+      filterPredicate.epsilon = lowerOrEqualsPredicate.getEpsilon();
+    } else if (predicate instanceof DoubleAnyOfPredicate) {
+      DoubleAnyOfPredicate anyOfPredicate = (DoubleAnyOfPredicate) predicate;
+      filterPredicate = newFilterPredicate(FilterPredicateType.ANY_OF, fieldName);
+      filterPredicate.doubleValues = new ArrayList<>();
+      for (double expectedValue: anyOfPredicate.getExpectedValues()) {
+        filterPredicate.doubleValues.add(expectedValue);
+      }
+      filterPredicate.epsilon = anyOfPredicate.getEpsilon();
+    } else {
+      throw unsupported(predicate);
+    }
+    return filterPredicate;
+  }
+
+  /**
+   * Raw values are compared exactly, like {@link RecordFieldProjectionEqualsPredicate} does, except for strings, which
+   * are compared by content whether they are a {@link String} or a {@link org.apache.avro.util.Utf8}.
+   */
+  private static FilterPredicate toValuesPredicate(FilterPredicateType type, String fieldName, Object... values) {
+    FilterPredicate filterPredicate = newFilterPredicate(type, fieldName);
+    if (values.length == 0) {
+      return filterPredicate;
+    }
+    List<Object> valueList = new ArrayList<>(values.length);
+    for (Object value: values) {
+      if (value instanceof CharSequence && values[0] instanceof CharSequence) {
+        valueList.add(value.toString());
+      } else if (value != null && value.getClass() == values[0].getClass()) {
+        valueList.add(value);
+      } else {
+        throw new VeniceClientException(
+            "The expected values of the filter on field " + fieldName + " must be non-null and of the same type, got: "
+                + value);
+      }
+    }
+    if (values[0] instanceof Integer) {
+      filterPredicate.intValues = (List) valueList;
+    } else if (values[0] instanceof Long) {
+      filterPredicate.longValues = (List) valueList;
+    } else if (values[0] instanceof Float) {
+      filterPredicate.floatValues = (List) valueList;
+    } else if (values[0] instanceof Double) {
+      filterPredicate.doubleValues = (List) valueList;
+    } else if (values[0] instanceof CharSequence) {
+      filterPredicate.stringValues = (List) valueList;
+    } else {
+      throw new VeniceClientException(
+          "The expected values of the filter on field " + fieldName
+              + " must be int, long, float, double or string values, got: " + values[0]);
+    }
+    return filterPredicate;
+  }
+
+  private static FilterPredicate newFilterPredicate(FilterPredicateType type, String fieldName) {
+    FilterPredicate filterPredicate = new FilterPredicate();
+    filterPredicate.predicateType = type.getValue();
+    filterPredicate.field = fieldName;
+    filterPredicate.childCount = 0;
+    filterPredicate.intValues = Collections.emptyList();
+    filterPredicate.longValues = Collections.emptyList();
+    filterPredicate.floatValues = Collections.emptyList();
+    filterPredicate.doubleValues = Collections.emptyList();
+    filterPredicate.stringValues = Collections.emptyList();
+    filterPredicate.epsilon = 0;
+    return filterPredicate;
+  }
+
+  private static VeniceClientException unsupported(Object predicate) {
+    return new VeniceClientException("The predicate cannot be evaluated by the servers: " + predicate);
+  }
+}
@@ -33,4 +33,12 @@ public class FloatAnyOfPredicate implements FloatPredicate {
     }
     return false;
   }
+
+  float[] getExpectedValues() {
+    return expectedValues;
+  }
+
+  float getEpsilon() {
+    return epsilon;
+  }
 }
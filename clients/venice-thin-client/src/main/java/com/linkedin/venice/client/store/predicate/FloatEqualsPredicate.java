@@ -22,4 +22,12 @@ public class FloatEqualsPredicate implements FloatPredicate {
     // Only check epsilon for finite numbers
     return Math.abs(value - expectedValue) <= epsilon;
   }
+
+  float getExpectedValue() {
+    return expectedValue;
+  }
+
+  float getEpsilon() {
+    return epsilon;
+  }
 }
@@ -19,4 +19,12 @@ public class FloatGreaterOrEqualsPredicate implements FloatPredicate {
   public boolean evaluate(float value) {
     return (value - threshold) > -epsilon;
   }
+
+  float getThreshold() {
+    return threshold;
+  }
+
+  float getEpsilon() {
+    return epsilon;
+  }
 }
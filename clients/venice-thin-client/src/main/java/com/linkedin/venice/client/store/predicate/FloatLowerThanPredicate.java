@@ -19,4 +19,12 @@ public class FloatLowerThanPredicate implements FloatPredicate {
   public boolean evaluate(float value) {
     return (threshold - value) > epsilon;
   }
+
+  float getThreshold() {
+    return threshold;
+  }
+
+  float getEpsilon() {
+    return epsilon;
+  }
 }
@@ -22,4 +22,8 @@ public class IntAnyOfPredicate implements IntPredicate {
     }
     return false;
   }
+
+  int[] getExpectedValues() {
+    return expectedValues;
+  }
 }
@@ -11,4 +11,8 @@ public class IntLowerOrEqualsPredicate implements IntPredicate {
   public boolean evaluate(int value) {
     return value <= threshold;
   }
+
+  int getThreshold() {
+    return threshold;
+  }
 }
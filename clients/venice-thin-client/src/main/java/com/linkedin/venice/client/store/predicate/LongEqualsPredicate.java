@@ -11,4 +11,8 @@ public class LongEqualsPredicate implements LongPredicate {
   public boolean evaluate(long value) {
     return value == expectedValue;
   }
+
+  long getExpectedValue() {
+    return expectedValue;
+  }
 }
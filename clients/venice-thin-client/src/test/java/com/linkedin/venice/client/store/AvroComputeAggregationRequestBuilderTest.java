@@ -0,0 +1,196 @@
+package com.linkedin.venice.client.store;
+
+import static com.linkedin.venice.VeniceConstants.VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME;
+import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType.COUNT_BY_BUCKET;
+import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType.COUNT_BY_VALUE;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.linkedin.venice.client.exceptions.VeniceClientException;
+import com.linkedin.venice.client.store.predicate.LongPredicate;
+import com.linkedin.venice.client.store.predicate.Predicate;
+import com.linkedin.venice.client.store.streaming.StreamingCallback;
+import com.linkedin.venice.compute.ComputeRequestWrapper;
+import com.linkedin.venice.compute.protocol.request.CountByBucket;
+import com.linkedin.venice.compute.protocol.request.CountByValue;
+import com.linkedin.venice.schema.SchemaReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class AvroComputeAggregationRequestBuilderTest {
+  private static final Schema VALUE_SCHEMA = new Schema.Parser().parse(
+      "{" + "  \"namespace\": \"example.aggregation\"," //
+          + "  \"type\": \"record\"," //
+          + "  \"name\": \"ValueRecord\"," //
+          + "  \"fields\": [" //
+          + "         { \"name\": \"stringField\", \"type\": \"string\" }," //
+          + "         { \"name\": \"intField\", \"type\": \"int\" }," //
+          + "         { \"name\": \"nullableLongField\", \"type\": [\"null\", \"long\"], \"default\": null }," //
+          + "         { \"name\": \"floatArrayField\", \"type\": { \"type\": \"array\", \"items\": \"float\" } }" //
+          + "  ]" //
+          + " }");
+
+  @Test
+  public void testCountGroupByValueAndBucket() throws Exception {
+    AvroGenericReadComputeStoreClient mockClient = getMockClient();
+    Map<String, Predicate<Long>> buckets = new LinkedHashMap<>();
+    buckets.put("small", LongPredicate.lowerThan(10L));
+    buckets.put("large", LongPredicate.greaterOrEquals(10L));
+    buckets.put("huge", LongPredicate.greaterThan(1000L));
+    CompletableFuture<ComputeAggregationResponse> future =
+        new AvroComputeAggregationRequestBuilder<String>(mockClient, mockClient.getSchemaReader())
+            .countGroupByValue(2, "stringField", "intField")
+            .countGroupByBucket(buckets, "nullableLongField")
+            .execute(new HashSet<>(Arrays.asList("key1", "key2", "key3")));
+
+    ArgumentCaptor<ComputeRequestWrapper> computeRequestCaptor = ArgumentCaptor.forClass(ComputeRequestWrapper.class);
+    ArgumentCaptor<Schema> resultSchemaCaptor = ArgumentCaptor.forClass(Schema.class);
+    ArgumentCaptor<StreamingCallback> callbackCaptor = ArgumentCaptor.forClass(StreamingCallback.class);
+    verify(mockClient).compute(
+        computeRequestCaptor.capture(),
+        Mockito.any(),
+        resultSchemaCaptor.capture(),
+        callbackCaptor.capture(),
+        Mockito.anyLong());
+
+    ComputeRequestWrapper computeRequest = computeRequestCaptor.getValue();
+    Assert.assertEquals(computeRequest.getComputeRequestVersion(), 7);
+    Assert.assertTrue(computeRequest.isAggregation());
+    Assert.assertEquals(computeRequest.getOperations().size(), 3);
+    Assert.assertEquals(computeRequest.getOperations().get(0).operationType, COUNT_BY_VALUE.getValue());
+    Assert.assertEquals(((CountByValue) computeRequest.getOperations().get(1).operation).field.toString(), "intField");
+    Assert.assertEquals(computeRequest.getOperations().get(2).operationType, COUNT_BY_BUCKET.getValue());
+    CountByBucket countByBucket = (CountByBucket) computeRequest.getOperations().get(2).operation;
+    Assert.assertEquals(countByBucket.bucketNames, Arrays.asList("small", "large", "huge"));
+    Assert.assertEquals(countByBucket.bucketPredicates.size(), 3);
+
+    // Each storage node returns the partial counts of the keys it serves, which the client merges
+    Schema resultSchema = resultSchemaCaptor.getValue();
+    StreamingCallback<String, ComputeGenericRecord> callback = callbackCaptor.getValue();
+    GenericRecord firstResult = new GenericData.Record(resultSchema);
+    firstResult.put("countByValue_stringField", counts("a", 3, "b", 1));
+    firstResult.put("countByValue_intField", counts("1", 2));
+    firstResult.put("countByBucket_nullableLongField", counts("small", 2));
+    firstResult.put(VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME, new HashMap<>());
+    callback.onRecordReceived("key1", new ComputeGenericRecord(firstResult, VALUE_SCHEMA));
+    GenericRecord secondResult = new GenericData.Record(resultSchema);
+    secondResult.put("countByValue_stringField", counts("b", 1, "c", 4));
+    secondResult.put("countByValue_intField", counts("1", 1, "-5", 7, "3", 1));
+    secondResult.put("countByBucket_nullableLongField", counts("small", 1, "large", 5));
+    secondResult.put(VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME, new HashMap<>());
+    callback.onRecordReceived("key3", new ComputeGenericRecord(secondResult, VALUE_SCHEMA));
+    callback.onRecordReceived("key2", null);
+    callback.onCompletion(Optional.empty());
+
+    ComputeAggregationResponse response = future.get();
+    Map<String, Integer> stringCounts = response.getValueToCount("stringField");
+    Assert.assertEquals(new ArrayList<>(stringCounts.keySet()), Arrays.asList("c", "a"));
+    Assert.assertEquals(stringCounts.get("c"), Integer.valueOf(4));
+    Map<Integer, Integer> intCounts = response.getValueToCount("intField");
+    Assert.assertEquals(new ArrayList<>(intCounts.keySet()), Arrays.asList(-5, 1));
+    Assert.assertEquals(intCounts.get(1), Integer.valueOf(3));
+    Map<String, Integer> bucketCounts = response.getBucketNameToCount("nullableLongField");
+    Assert.assertEquals(new ArrayList<>(bucketCounts.keySet()), Arrays.asList("small", "large", "huge"));
+    Assert.assertEquals(new ArrayList<>(bucketCounts.values()), Arrays.asList(3, 5, 0));
+
+    Assert.assertThrows(VeniceClientException.class, () -> response.getValueToCount("nullableLongField"));
+    Assert.assertThrows(VeniceClientException.class, () -> response.getBucketNameToCount("stringField"));
+  }
+
+  @Test
+  public void testCountGroupByValueFailsOnPartialResponse() {
+    AvroGenericReadComputeStoreClient mockClient = getMockClient();
+    CompletableFuture<ComputeAggregationResponse> future =
+        new AvroComputeAggregationRequestBuilder<String>(mockClient, mockClient.getSchemaReader())
+            .countGroupByValue(2, "stringField")
+            .execute(new HashSet<>(Arrays.asList("key1", "key2")));
+
+    ArgumentCaptor<Schema> resultSchemaCaptor = ArgumentCaptor.forClass(Schema.class);
+    ArgumentCaptor<StreamingCallback> callbackCaptor = ArgumentCaptor.forClass(StreamingCallback.class);
+    verify(mockClient).compute(
+        Mockito.any(),
+        Mockito.any(),
+        resultSchemaCaptor.capture(),
+        callbackCaptor.capture(),
+        Mockito.anyLong());
+
+    StreamingCallback<String, ComputeGenericRecord> callback = callbackCaptor.getValue();
+    GenericRecord result = new GenericData.Record(resultSchemaCaptor.getValue());
+    result.put("countByValue_stringField", counts("a", 3));
+    result.put(VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME, new HashMap<>());
+    // A duplicated record for the same key must not be merged twice, and key2 is never accounted for
+    callback.onRecordReceived("key1", new ComputeGenericRecord(result, VALUE_SCHEMA));
+    callback.onRecordReceived("key1", new ComputeGenericRecord(result, VALUE_SCHEMA));
+    callback.onCompletion(Optional.empty());
+
+    ExecutionException e = Assert.expectThrows(ExecutionException.class, future::get);
+    Assert.assertTrue(e.getCause() instanceof VeniceClientException);
+    Assert.assertTrue(e.getCause().getMessage().startsWith("Received partial response"));
+  }
+
+  @Test
+  public void testInvalidAggregations() {
+    AvroGenericReadComputeStoreClient mockClient = getMockClient();
+    AvroComputeAggregationRequestBuilder<String> builder =
+        new AvroComputeAggregationRequestBuilder<>(mockClient, mockClient.getSchemaReader());
+    Map<String, Predicate<Long>> buckets = Collections.singletonMap("positive", LongPredicate.greaterThan(0L));
+
+    Assert.assertThrows(VeniceClientException.class, () -> builder.countGroupByValue(0, "stringField"));
+    Assert.assertThrows(VeniceClientException.class, () -> builder.countGroupByValue(1, "unknownField"));
+    Assert.assertThrows(VeniceClientException.class, () -> builder.countGroupByValue(1, "floatArrayField"));
+    Assert.assertThrows(VeniceClientException.class, () -> builder.countGroupByBucket(buckets, "unknownField"));
+    Assert.assertThrows(
+        VeniceClientException.class,
+        () -> builder.countGroupByBucket(Collections.emptyMap(), "nullableLongField"));
+    Assert.assertThrows(
+        VeniceClientException.class,
+        () -> builder.countGroupByBucket(
+            Collections.<String, Predicate<Long>>singletonMap("unsupported", value -> value != null),
+            "nullableLongField"));
+    Assert.assertThrows(VeniceClientException.class, () -> builder.execute(Collections.singleton("key")));
+
+    AvroComputeAggregationRequestBuilder<String> anotherBuilder =
+        new AvroComputeAggregationRequestBuilder<>(mockClient, mockClient.getSchemaReader());
+    anotherBuilder.countGroupByValue(1, "stringField").countGroupByBucket(buckets, "nullableLongField");
+    Assert.assertThrows(VeniceClientException.class, () -> anotherBuilder.countGroupByValue(1, "stringField"));
+    Assert.assertThrows(
+        VeniceClientException.class,
+        () -> anotherBuilder.countGroupByBucket(buckets, "nullableLongField"));
+  }
+
+  private static Map<Utf8, Integer> counts(Object... countedKeysAndCounts) {
+    Map<Utf8, Integer> counts = new HashMap<>();
+    for (int i = 0; i < countedKeysAndCounts.length; i += 2) {
+      counts.put(new Utf8((String) countedKeysAndCounts[i]), (Integer) countedKeysAndCounts[i + 1]);
+    }
+    return counts;
+  }
+
+  private AvroGenericReadComputeStoreClient getMockClient() {
+    AvroGenericReadComputeStoreClient mockClient = mock(AvroGenericReadComputeStoreClient.class);
+    doReturn("test-store").when(mockClient).getStoreName();
+    SchemaReader schemaReader = mock(SchemaReader.class);
+    doReturn(1).when(schemaReader).getLatestValueSchemaId();
+    doReturn(VALUE_SCHEMA).when(schemaReader).getValueSchema(1);
+    doReturn(schemaReader).when(mockClient).getSchemaReader();
+    return mockClient;
+  }
+}
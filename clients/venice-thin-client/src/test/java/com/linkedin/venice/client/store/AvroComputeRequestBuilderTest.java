@@ -6,18 +6,23 @@ import static com.linkedin.venice.client.store.predicate.Predicate.equalTo;
 import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType.COSINE_SIMILARITY;
 import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType.DOT_PRODUCT;
 import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType.HADAMARD_PRODUCT;
+import static com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType.TOP_K;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
 import com.linkedin.venice.client.exceptions.VeniceClientException;
+import com.linkedin.venice.client.store.predicate.FloatPredicate;
+import com.linkedin.venice.client.store.predicate.IntPredicate;
 import com.linkedin.venice.client.store.predicate.Predicate;
 import com.linkedin.venice.client.store.streaming.StreamingCallback;
 import com.linkedin.venice.compute.ComputeRequestWrapper;
 import com.linkedin.venice.compute.protocol.request.ComputeOperation;
+import com.linkedin.venice.compute.protocol.request.ComputeRequestV6;
 import com.linkedin.venice.compute.protocol.request.CosineSimilarity;
 import com.linkedin.venice.compute.protocol.request.DotProduct;
 import com.linkedin.venice.compute.protocol.request.HadamardProduct;
+import com.linkedin.venice.compute.protocol.request.TopK;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.schema.AvroSchemaParseUtils;
 import com.linkedin.venice.schema.SchemaReader;
@@ -27,10 +32,15 @@ import com.linkedin.venice.utils.Utils;
 import io.tehuti.utils.Time;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
@@ -482,6 +492,195 @@ public class AvroComputeRequestBuilderTest {
         });
   }
 
+  @Test
+  public void testTopK() throws Exception {
+    AbstractAvroStoreClient mockClient = getMockClient(VALID_RECORD_SCHEMA);
+    ArgumentCaptor<ComputeRequestWrapper> computeRequestCaptor = ArgumentCaptor.forClass(ComputeRequestWrapper.class);
+    ArgumentCaptor<Schema> resultSchemaCaptor = ArgumentCaptor.forClass(Schema.class);
+    ArgumentCaptor<StreamingCallback> callbackCaptor = ArgumentCaptor.forClass(StreamingCallback.class);
+
+    AvroComputeRequestBuilderV3<String> computeRequestBuilder =
+        new AvroComputeRequestBuilderV3<>(mockClient, mockClient.getSchemaReader());
+    computeRequestBuilder.project("int_field").topK("float_array_field1", cosineSimilarityParam, 2, "score");
+    Assert.assertThrows(
+        VeniceClientException.class,
+        () -> computeRequestBuilder.topK("float_array_field2", cosineSimilarityParam, 2, "another_score"));
+
+    Set<String> topKKeys = new HashSet<>(Arrays.asList("key1", "key2", "key3", "key4", "key5"));
+    CompletableFuture<Map<String, ComputeGenericRecord>> future = computeRequestBuilder.execute(topKKeys);
+    verify(mockClient).compute(
+        computeRequestCaptor.capture(),
+        Mockito.any(),
+        resultSchemaCaptor.capture(),
+        callbackCaptor.capture(),
+        Mockito.anyLong());
+
+    ComputeRequestWrapper capturedComputeRequest = computeRequestCaptor.getValue();
+    Assert.assertEquals(capturedComputeRequest.getComputeRequestVersion(), 5);
+    Assert.assertEquals(capturedComputeRequest.getOperations().size(), 1);
+    ComputeOperation topKOperation = capturedComputeRequest.getOperations().get(0);
+    Assert.assertEquals(topKOperation.operationType, TOP_K.getValue());
+    TopK topK = (TopK) topKOperation.operation;
+    Assert.assertEquals(topK.field.toString(), "float_array_field1");
+    Assert.assertEquals(topK.k, 2);
+    Assert.assertSame(capturedComputeRequest.getTopK(), topK);
+
+    // Each storage node returns its own top K, which the client merges into the final one
+    Schema resultSchema = resultSchemaCaptor.getValue();
+    StreamingCallback<String, ComputeGenericRecord> callback = callbackCaptor.getValue();
+    float[] scores = { 0.1f, 0.9f, 0.5f };
+    for (int i = 0; i < scores.length; i++) {
+      GenericRecord result = new GenericData.Record(resultSchema);
+      result.put("int_field", i);
+      result.put("score", scores[i]);
+      result.put(VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME, new HashMap<>());
+      callback.onRecordReceived("key" + (i + 1), new ComputeGenericRecord(result, VALID_RECORD_SCHEMA));
+    }
+    GenericRecord failedResult = new GenericData.Record(resultSchema);
+    failedResult.put("int_field", 3);
+    failedResult.put(VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME, Collections.singletonMap("score", "error"));
+    callback.onRecordReceived("key4", new ComputeGenericRecord(failedResult, VALID_RECORD_SCHEMA));
+    // The keys which are not part of the top K of their storage node are sent back without a result
+    callback.onRecordReceived("key5", null);
+    callback.onCompletion(Optional.empty());
+
+    Map<String, ComputeGenericRecord> topKResult = future.get();
+    Assert.assertEquals(new ArrayList<>(topKResult.keySet()), Arrays.asList("key2", "key3"));
+    Assert.assertEquals(topKResult.get("key2").get("score"), 0.9f);
+  }
+
+  @Test
+  public void testTopKFailsOnPartialResponse() {
+    AbstractAvroStoreClient mockClient = getMockClient(VALID_RECORD_SCHEMA);
+    ArgumentCaptor<Schema> resultSchemaCaptor = ArgumentCaptor.forClass(Schema.class);
+    ArgumentCaptor<StreamingCallback> callbackCaptor = ArgumentCaptor.forClass(StreamingCallback.class);
+
+    AvroComputeRequestBuilderV3<String> computeRequestBuilder =
+        new AvroComputeRequestBuilderV3<>(mockClient, mockClient.getSchemaReader());
+    computeRequestBuilder.topK("float_array_field1", cosineSimilarityParam, 1, "score");
+    CompletableFuture<Map<String, ComputeGenericRecord>> future =
+        computeRequestBuilder.execute(new HashSet<>(Arrays.asList("key1", "key2")));
+    verify(mockClient).compute(
+        Mockito.any(),
+        Mockito.any(),
+        resultSchemaCaptor.capture(),
+        callbackCaptor.capture(),
+        Mockito.anyLong());
+
+    // The storage node serving key2 did not respond, so the top 1 of key1 alone can't be trusted
+    GenericRecord result = new GenericData.Record(resultSchemaCaptor.getValue());
+    result.put("score", 0.5f);
+    result.put(VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME, new HashMap<>());
+    StreamingCallback<String, ComputeGenericRecord> callback = callbackCaptor.getValue();
+    callback.onRecordReceived("key1", new ComputeGenericRecord(result, VALID_RECORD_SCHEMA));
+    callback.onCompletion(Optional.empty());
+
+    ExecutionException e = Assert.expectThrows(ExecutionException.class, future::get);
+    Assert.assertTrue(e.getCause() instanceof VeniceClientException);
+    Assert.assertTrue(e.getCause().getMessage().startsWith("Received partial response"), e.getCause().getMessage());
+  }
+
+  @Test(expectedExceptions = VeniceClientException.class, expectedExceptionsMessageRegExp = "TOP_K k must be positive.*")
+  public void testTopKWithNonPositiveK() {
+    AbstractAvroStoreClient mockClient = getMockClient(VALID_RECORD_SCHEMA);
+    AvroComputeRequestBuilderV3<String> computeRequestBuilder =
+        new AvroComputeRequestBuilderV3<>(mockClient, mockClient.getSchemaReader());
+    computeRequestBuilder.topK("float_array_field1", cosineSimilarityParam, 0, "score");
+  }
+
+  @Test
+  public void testFilter() throws Exception {
+    AbstractAvroStoreClient mockClient = getMockClient(VALID_RECORD_SCHEMA);
+    ArgumentCaptor<ComputeRequestWrapper> computeRequestCaptor = ArgumentCaptor.forClass(ComputeRequestWrapper.class);
+    ArgumentCaptor<Schema> resultSchemaCaptor = ArgumentCaptor.forClass(Schema.class);
+    ArgumentCaptor<StreamingCallback> callbackCaptor = ArgumentCaptor.forClass(StreamingCallback.class);
+
+    AvroComputeRequestBuilderV3<String> computeRequestBuilder =
+        new AvroComputeRequestBuilderV3<>(mockClient, mockClient.getSchemaReader());
+    computeRequestBuilder.project("int_field")
+        .dotProduct("float_array_field1", dotProductParam, "dot_product")
+        .filter(equalTo("int_field", IntPredicate.greaterThan(1)));
+    Assert.assertThrows(
+        VeniceClientException.class,
+        () -> computeRequestBuilder.filter(equalTo("float_field", FloatPredicate.lowerThan(1.0f))));
+
+    Set<String> filteredKeys = new HashSet<>(Arrays.asList("key1", "key2", "key3"));
+    CompletableFuture<Map<String, ComputeGenericRecord>> future = computeRequestBuilder.execute(filteredKeys);
+    verify(mockClient).compute(
+        computeRequestCaptor.capture(),
+        Mockito.any(),
+        resultSchemaCaptor.capture(),
+        callbackCaptor.capture(),
+        Mockito.anyLong());
+
+    ComputeRequestWrapper capturedComputeRequest = computeRequestCaptor.getValue();
+    Assert.assertEquals(capturedComputeRequest.getComputeRequestVersion(), 6);
+    Assert.assertNotNull(capturedComputeRequest.getFilter());
+    GenericRecord valueRecord = new GenericData.Record(VALID_RECORD_SCHEMA);
+    valueRecord.put("int_field", 2);
+    Assert.assertTrue(capturedComputeRequest.getFilter().test(valueRecord));
+    valueRecord.put("int_field", 1);
+    Assert.assertFalse(capturedComputeRequest.getFilter().test(valueRecord));
+
+    // The request is sent with the schema of version 6, which has the filter field
+    ComputeRequestV6 computeRequestV6 = SerializerDeserializerFactory
+        .getAvroSpecificDeserializer(ComputeRequestV6.SCHEMA$, ComputeRequestV6.class)
+        .deserialize(capturedComputeRequest.serialize());
+    Assert.assertEquals(computeRequestV6.operations.size(), 1);
+    Assert.assertEquals(computeRequestV6.filter.size(), 1);
+    Assert.assertEquals(computeRequestV6.filter.get(0).field.toString(), "int_field");
+
+    // The storage nodes send back the keys whose record does not match without a result, like the missing keys
+    Schema resultSchema = resultSchemaCaptor.getValue();
+    StreamingCallback<String, ComputeGenericRecord> callback = callbackCaptor.getValue();
+    GenericRecord result = new GenericData.Record(resultSchema);
+    result.put("int_field", 2);
+    result.put("dot_product", 1.0f);
+    result.put(VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME, new HashMap<>());
+    callback.onRecordReceived("key1", null);
+    callback.onRecordReceived("key2", new ComputeGenericRecord(result, VALID_RECORD_SCHEMA));
+    callback.onRecordReceived("key3", null);
+    callback.onCompletion(Optional.empty());
+
+    Map<String, ComputeGenericRecord> filteredResult = future.get();
+    Assert.assertEquals(filteredResult.keySet(), Collections.singleton("key2"));
+  }
+
+  @Test
+  public void testFilterFailsOnPartialResponse() {
+    AbstractAvroStoreClient mockClient = getMockClient(VALID_RECORD_SCHEMA);
+    ArgumentCaptor<StreamingCallback> callbackCaptor = ArgumentCaptor.forClass(StreamingCallback.class);
+
+    AvroComputeRequestBuilderV3<String> computeRequestBuilder =
+        new AvroComputeRequestBuilderV3<>(mockClient, mockClient.getSchemaReader());
+    computeRequestBuilder.project("int_field").filter(equalTo("int_field", IntPredicate.greaterThan(1)));
+    CompletableFuture<Map<String, ComputeGenericRecord>> future =
+        computeRequestBuilder.execute(new HashSet<>(Arrays.asList("key1", "key2")));
+    verify(mockClient)
+        .compute(Mockito.any(), Mockito.any(), Mockito.any(), callbackCaptor.capture(), Mockito.anyLong());
+
+    // key2 is neither returned nor reported as filtered out, so its storage node did not respond
+    StreamingCallback<String, ComputeGenericRecord> callback = callbackCaptor.getValue();
+    callback.onRecordReceived("key1", null);
+    callback.onCompletion(Optional.empty());
+
+    ExecutionException e = Assert.expectThrows(ExecutionException.class, future::get);
+    Assert.assertTrue(e.getCause() instanceof VeniceClientException);
+    Assert.assertTrue(e.getCause().getMessage().startsWith("Received partial response"), e.getCause().getMessage());
+  }
+
+  @Test
+  public void testRequestWithoutFilterIsSentAsVersion3() {
+    AbstractAvroStoreClient mockClient = getMockClient(VALID_RECORD_SCHEMA);
+    ArgumentCaptor<ComputeRequestWrapper> computeRequestCaptor = ArgumentCaptor.forClass(ComputeRequestWrapper.class);
+    new AvroComputeRequestBuilderV3<String>(mockClient, mockClient.getSchemaReader()).project("int_field")
+        .execute(keys);
+    verify(mockClient)
+        .compute(computeRequestCaptor.capture(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyLong());
+    Assert.assertEquals(computeRequestCaptor.getValue().getComputeRequestVersion(), 3);
+    Assert.assertNull(computeRequestCaptor.getValue().getFilter());
+  }
+
   private AbstractAvroStoreClient getMockClient(Schema valueSchema) {
     AbstractAvroStoreClient mockClient = mock(AbstractAvroStoreClient.class);
     String storeName = Utils.getUniqueString("store_for_mock_client");
@@ -0,0 +1,148 @@
+package com.linkedin.venice.client.store.predicate;
+
+import static com.linkedin.venice.client.store.predicate.Predicate.and;
+import static com.linkedin.venice.client.store.predicate.Predicate.anyOf;
+import static com.linkedin.venice.client.store.predicate.Predicate.equalTo;
+import static com.linkedin.venice.client.store.predicate.Predicate.or;
+
+import com.linkedin.venice.client.exceptions.VeniceClientException;
+import com.linkedin.venice.compute.ComputeFilter;
+import com.linkedin.venice.compute.protocol.request.FilterPredicate;
+import com.linkedin.venice.compute.protocol.request.enums.FilterPredicateType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class FilterPredicateConverterTest {
+  private static final Schema VALUE_SCHEMA = new Schema.Parser().parse(
+      "{" + "  \"namespace\": \"example.predicate\"," //
+          + "  \"type\": \"record\"," //
+          + "  \"name\": \"ValueRecord\"," //
+          + "  \"fields\": [" //
+          + "         { \"name\": \"stringField\", \"type\": \"string\" }," //
+          + "         { \"name\": \"intField\", \"type\": \"int\" }," //
+          + "         { \"name\": \"longField\", \"type\": \"long\" }," //
+          + "         { \"name\": \"floatField\", \"type\": \"float\" }," //
+          + "         { \"name\": \"doubleField\", \"type\": \"double\" }," //
+          + "         { \"name\": \"nullableIntField\", \"type\": [\"null\", \"int\"], \"default\": null }" //
+          + "  ]" //
+          + " }");
+
+  private static GenericRecord createRecord(int i) {
+    GenericRecord record = new GenericData.Record(VALUE_SCHEMA);
+    record.put("stringField", "value_" + (i % 3));
+    record.put("intField", i);
+    record.put("longField", (long) i * 1000);
+    record.put("floatField", i * 0.1f);
+    record.put("doubleField", i * 0.1);
+    record.put("nullableIntField", i % 2 == 0 ? null : i);
+    return record;
+  }
+
+  @Test
+  public void testServerSideEvaluationMatchesClientSideEvaluation() {
+    List<Predicate<GenericRecord>> predicates = Arrays.asList(
+        equalTo("intField", 3),
+        equalTo("intField", IntPredicate.greaterThan(3)),
+        equalTo("intField", IntPredicate.greaterOrEquals(3)),
+        equalTo("intField", IntPredicate.lowerThan(3)),
+        equalTo("intField", IntPredicate.lowerOrEquals(3)),
+        equalTo("intField", IntPredicate.anyOf(1, 5, 7)),
+        equalTo("intField", and(IntPredicate.greaterThan(2), IntPredicate.lowerThan(6))),
+        equalTo("longField", LongPredicate.greaterThan(4000L)),
+        equalTo("longField", LongPredicate.anyOf(1000L, 9000L)),
+        equalTo("floatField", FloatPredicate.equalTo(0.5f, 0.001f)),
+        equalTo("floatField", FloatPredicate.greaterOrEquals(0.3f)),
+        equalTo("floatField", FloatPredicate.lowerThan(0.3f)),
+        equalTo("doubleField", DoublePredicate.lowerOrEquals(0.5)),
+        equalTo("doubleField", DoublePredicate.anyOf(0.2, 0.7)),
+        equalTo("nullableIntField", IntPredicate.greaterThan(4)),
+        equalTo("nullableIntField", anyOf(3, 5)),
+        and(equalTo("intField", IntPredicate.greaterThan(1)), equalTo("longField", LongPredicate.lowerThan(8000L))),
+        or(equalTo("intField", 0), equalTo("doubleField", DoublePredicate.greaterThan(0.75))),
+        and(
+            or(equalTo("intField", 1), equalTo("intField", 2), equalTo("intField", 8)),
+            equalTo("floatField", FloatPredicate.lowerOrEquals(0.5f))),
+        and(),
+        or());
+
+    for (Predicate<GenericRecord> predicate: predicates) {
+      ComputeFilter filter = new ComputeFilter(FilterPredicateConverter.toFilterPredicates(predicate));
+      for (int i = 0; i < 10; i++) {
+        GenericRecord record = createRecord(i);
+        Assert.assertEquals(filter.test(record), predicate.evaluate(record), predicate + " on record " + i);
+      }
+    }
+  }
+
+  @Test
+  public void testStringsAreComparedByContent() {
+    Predicate<GenericRecord> predicate = equalTo("stringField", "value_1");
+    List<FilterPredicate> filterPredicates = FilterPredicateConverter.toFilterPredicates(predicate);
+    Assert.assertEquals(filterPredicates.size(), 1);
+    Assert.assertEquals(filterPredicates.get(0).predicateType, FilterPredicateType.EQUALS.getValue());
+    Assert.assertEquals(filterPredicates.get(0).stringValues.size(), 1);
+
+    ComputeFilter filter = new ComputeFilter(filterPredicates);
+    GenericRecord record = createRecord(1);
+    Assert.assertTrue(filter.test(record));
+    // The records decoded by the servers hold Utf8 rather than String values
+    record.put("stringField", new Utf8("value_1"));
+    Assert.assertTrue(filter.test(record));
+    record.put("stringField", new Utf8("value_2"));
+    Assert.assertFalse(filter.test(record));
+
+    predicate = equalTo("stringField", anyOf("a", "value_2"));
+    filter = new ComputeFilter(FilterPredicateConverter.toFilterPredicates(predicate));
+    Assert.assertTrue(filter.test(record));
+  }
+
+  @Test
+  public void testPredicateTreeIsFlattenedInPrefixOrder() {
+    Predicate<GenericRecord> predicate = or(
+        and(equalTo("intField", IntPredicate.greaterThan(1)), equalTo("longField", 2L)),
+        equalTo("doubleField", DoublePredicate.lowerThan(3.0)));
+    List<FilterPredicate> filterPredicates = FilterPredicateConverter.toFilterPredicates(predicate);
+
+    List<Integer> types = new ArrayList<>();
+    List<Integer> childCounts = new ArrayList<>();
+    for (FilterPredicate filterPredicate: filterPredicates) {
+      types.add(filterPredicate.predicateType);
+      childCounts.add(filterPredicate.childCount);
+    }
+    Assert.assertEquals(
+        types,
+        Arrays.asList(
+            FilterPredicateType.OR.getValue(),
+            FilterPredicateType.AND.getValue(),
+            FilterPredicateType.GREATER_THAN.getValue(),
+            FilterPredicateType.EQUALS.getValue(),
+            FilterPredicateType.LOWER_THAN.getValue()));
+    Assert.assertEquals(childCounts, Arrays.asList(2, 2, 0, 0, 0));
+    Assert.assertEquals(filterPredicates.get(2).field.toString(), "intField");
+    Assert.assertEquals(filterPredicates.get(3).longValues, Arrays.asList(2L));
+  }
+
+  @Test
+  public void testUnsupportedPredicates() {
+    Assert.assertThrows(
+        VeniceClientException.class,
+        () -> FilterPredicateConverter.toFilterPredicates(record -> record.get("intField") != null));
+    Assert.assertThrows(
+        VeniceClientException.class,
+        () -> FilterPredicateConverter.toFilterPredicates(equalTo("intField", null)));
+    Assert.assertThrows(
+        VeniceClientException.class,
+        () -> FilterPredicateConverter.toFilterPredicates(equalTo("intField", anyOf(1, 2L))));
+    Assert.assertThrows(
+        VeniceClientException.class,
+        () -> FilterPredicateConverter.toFilterPredicates(equalTo("intField", Arrays.asList(1, 2))));
+  }
+}
@@ -34,6 +34,21 @@ public class VeniceConstants {
    */
   public static final int COMPUTE_REQUEST_VERSION_V4 = 4;
 
+  /**
+   * V5 contains all V4 operators + new TopK operator
+   */
+  public static final int COMPUTE_REQUEST_VERSION_V5 = 5;
+
+  /**
+   * V6 contains all V5 operators + a new filter field, evaluated by the servers before the operators
+   */
+  public static final int COMPUTE_REQUEST_VERSION_V6 = 6;
+
+  /**
+   * V7 contains all V6 operators + new CountByValue and CountByBucket aggregation operators
+   */
+  public static final int COMPUTE_REQUEST_VERSION_V7 = 7;
+
   /**
    * The default SSL factory class name; this class is mostly used in test cases; products that uses Venice lib
    * should override the SSL factory class.
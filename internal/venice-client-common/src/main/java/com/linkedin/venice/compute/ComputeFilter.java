@@ -0,0 +1,334 @@
+package com.linkedin.venice.compute;
+
+import com.linkedin.venice.compute.protocol.request.FilterPredicate;
+import com.linkedin.venice.compute.protocol.request.enums.FilterPredicateType;
+import com.linkedin.venice.exceptions.VeniceException;
+import java.util.List;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+
+
+/**
+ * Evaluates the filter of a compute request against value records, so that the records which do not match it can be
+ * skipped before running the compute operators on them.
+ *
+ * The filter is a tree of {@link FilterPredicate} flattened in prefix order: each {@link FilterPredicateType#AND} and
+ * {@link FilterPredicateType#OR} is followed by the subtrees of its {@code childCount} predicates. The other predicates
+ * compare a field of the value record with the values of the only values array which is not empty, and never match a
+ * record whose field is missing or null, or of another type. Strings are compared by content, and floats and doubles
+ * with the epsilon of the predicate.
+ */
+public class ComputeFilter {
+  private final Node root;
+
+  public ComputeFilter(List<FilterPredicate> predicates) {
+    if (predicates.isEmpty()) {
+      throw new VeniceException("The filter of a compute request cannot be empty");
+    }
+    int[] position = new int[1];
+    this.root = parse(predicates, position);
+    if (position[0] != predicates.size()) {
+      throw new VeniceException(
+          "The filter of a compute request has " + (predicates.size() - position[0])
+              + " predicates which are not part of its tree");
+    }
+  }
+
+  /**
+   * @return the filter made of the given predicates, or null if there are none, meaning that all records match.
+   */
+  public static ComputeFilter fromPredicates(List<FilterPredicate> predicates) {
+    return predicates == null || predicates.isEmpty() ? null : new ComputeFilter(predicates);
+  }
+
+  public boolean test(GenericRecord valueRecord) {
+    return root.test(valueRecord);
+  }
+
+  private static Node parse(List<FilterPredicate> predicates, int[] position) {
+    if (position[0] >= predicates.size()) {
+      throw new VeniceException("The filter of a compute request is missing some predicates of its tree");
+    }
+    FilterPredicate predicate = predicates.get(position[0]++);
+    FilterPredicateType type = FilterPredicateType.valueOf(predicate);
+    if (type == FilterPredicateType.AND || type == FilterPredicateType.OR) {
+      if (predicate.childCount < 0) {
+        throw new VeniceException("The " + type + " predicate has a negative child count: " + predicate.childCount);
+      }
+      Node[] children = new Node[predicate.childCount];
+      for (int i = 0; i < children.length; i++) {
+        children[i] = parse(predicates, position);
+      }
+      return new CompositeNode(type == FilterPredicateType.AND, children);
+    }
+
+    String fieldName = predicate.field.toString();
+    int nonEmptyValueLists = (predicate.intValues.isEmpty() ? 0 : 1) + (predicate.longValues.isEmpty() ? 0 : 1)
+        + (predicate.floatValues.isEmpty() ? 0 : 1) + (predicate.doubleValues.isEmpty() ? 0 : 1)
+        + (predicate.stringValues.isEmpty() ? 0 : 1);
+    if (nonEmptyValueLists == 0 && type == FilterPredicateType.ANY_OF) {
+      return record -> false;
+    }
+    if (nonEmptyValueLists != 1) {
+      throw new VeniceException(
+          "The " + type + " predicate on field " + fieldName + " must have values of exactly one type, got "
+              + nonEmptyValueLists);
+    }
+    if (!predicate.intValues.isEmpty()) {
+      int[] values = new int[predicate.intValues.size()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = predicate.intValues.get(i);
+      }
+      checkValueCount(type, fieldName, values.length);
+      return new IntNode(fieldName, type, values);
+    } else if (!predicate.longValues.isEmpty()) {
+      long[] values = new long[predicate.longValues.size()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = predicate.longValues.get(i);
+      }
+      checkValueCount(type, fieldName, values.length);
+      return new LongNode(fieldName, type, values);
+    } else if (!predicate.floatValues.isEmpty()) {
+      double[] values = new double[predicate.floatValues.size()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = predicate.floatValues.get(i);
+      }
+      checkValueCount(type, fieldName, values.length);
+      return new FloatingPointNode(fieldName, type, values, predicate.epsilon, Float.class);
+    } else if (!predicate.doubleValues.isEmpty()) {
+      double[] values = new double[predicate.doubleValues.size()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = predicate.doubleValues.get(i);
+      }
+      checkValueCount(type, fieldName, values.length);
+      return new FloatingPointNode(fieldName, type, values, predicate.epsilon, Double.class);
+    } else {
+      if (type != FilterPredicateType.EQUALS && type != FilterPredicateType.ANY_OF) {
+        throw new VeniceException("The " + type + " predicate on field " + fieldName + " does not support strings");
+      }
+      String[] values = new String[predicate.stringValues.size()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = predicate.stringValues.get(i).toString();
+      }
+      checkValueCount(type, fieldName, values.length);
+      return new StringNode(fieldName, values);
+    }
+  }
+
+  private static void checkValueCount(FilterPredicateType type, String fieldName, int valueCount) {
+    if (type != FilterPredicateType.ANY_OF && valueCount != 1) {
+      throw new VeniceException(
+          "The " + type + " predicate on field " + fieldName + " must have exactly one value, got " + valueCount);
+    }
+  }
+
+  private interface Node {
+    boolean test(GenericRecord record);
+  }
+
+  private static class CompositeNode implements Node {
+    private final boolean isAnd;
+    private final Node[] children;
+
+    CompositeNode(boolean isAnd, Node[] children) {
+      this.isAnd = isAnd;
+      this.children = children;
+    }
+
+    @Override
+    public boolean test(GenericRecord record) {
+      for (Node child: children) {
+        if (child.test(record) != isAnd) {
+          return !isAnd;
+        }
+      }
+      return isAnd;
+    }
+  }
+
+  private abstract static class FieldNode implements Node {
+    private final String fieldName;
+    protected final FilterPredicateType type;
+
+    FieldNode(String fieldName, FilterPredicateType type) {
+      this.fieldName = fieldName;
+      this.type = type;
+    }
+
+    @Override
+    public boolean test(GenericRecord record) {
+      // The field is looked up for each record, since records may have been written with different value schemas
+      Schema.Field field = record.getSchema().getField(fieldName);
+      if (field == null) {
+        return false;
+      }
+      Object value = record.get(field.pos());
+      return value != null && testValue(value);
+    }
+
+    abstract boolean testValue(Object value);
+
+    /**
+     * @return whether the comparison of a value with the value of the predicate matches the predicate.
+     */
+    boolean matches(int comparison) {
+      switch (type) {
+        case EQUALS:
+          return comparison == 0;
+        case GREATER_THAN:
+          return comparison > 0;
+        case GREATER_OR_EQUALS:
+          return comparison >= 0;
+        case LOWER_THAN:
+          return comparison < 0;
+        case LOWER_OR_EQUALS:
+          return comparison <= 0;
+        default:
+          throw new VeniceException("Unexpected predicate type: " + type);
+      }
+    }
+  }
+
+  private static class IntNode extends FieldNode {
+    private final int[] values;
+
+    IntNode(String fieldName, FilterPredicateType type, int[] values) {
+      super(fieldName, type);
+      this.values = values;
+    }
+
+    @Override
+    boolean testValue(Object value) {
+      if (!(value instanceof Integer)) {
+        return false;
+      }
+      int intValue = (Integer) value;
+      if (type == FilterPredicateType.ANY_OF) {
+        for (int expectedValue: values) {
+          if (intValue == expectedValue) {
+            return true;
+          }
+        }
+        return false;
+      }
+      return matches(Integer.compare(intValue, values[0]));
+    }
+  }
+
+  private static class LongNode extends FieldNode {
+    private final long[] values;
+
+    LongNode(String fieldName, FilterPredicateType type, long[] values) {
+      super(fieldName, type);
+      this.values = values;
+    }
+
+    @Override
+    boolean testValue(Object value) {
+      if (!(value instanceof Long)) {
+        return false;
+      }
+      long longValue = (Long) value;
+      if (type == FilterPredicateType.ANY_OF) {
+        for (long expectedValue: values) {
+          if (longValue == expectedValue) {
+            return true;
+          }
+        }
+        return false;
+      }
+      return matches(Long.compare(longValue, values[0]));
+    }
+  }
+
+  /**
+   * Float values are widened to doubles, which is exact, so that both types share the same comparisons. These follow
+   * the ones of the client-side predicates: values within the epsilon of the predicate are equal.
+   */
+  private static class FloatingPointNode extends FieldNode {
+    private final double[] values;
+    private final double epsilon;
+    private final Class<? extends Number> valueClass;
+
+    FloatingPointNode(
+        String fieldName,
+        FilterPredicateType type,
+        double[] values,
+        double epsilon,
+        Class<? extends Number> valueClass) {
+      super(fieldName, type);
+      this.values = values;
+      this.epsilon = epsilon;
+      this.valueClass = valueClass;
+    }
+
+    @Override
+    boolean testValue(Object value) {
+      if (!valueClass.isInstance(value)) {
+        return false;
+      }
+      double doubleValue = ((Number) value).doubleValue();
+      switch (type) {
+        case EQUALS:
+          return isEqual(doubleValue, values[0]);
+        case GREATER_THAN:
+          return difference(doubleValue, values[0]) > epsilon;
+        case GREATER_OR_EQUALS:
+          return difference(doubleValue, values[0]) > -epsilon;
+        case LOWER_THAN:
+          return difference(values[0], doubleValue) > epsilon;
+        case LOWER_OR_EQUALS:
+          return difference(values[0], doubleValue) > -epsilon;
+        case ANY_OF:
+          for (double expectedValue: values) {
+            if (isEqual(doubleValue, expectedValue)) {
+              return true;
+            }
+          }
+          return false;
+        default:
+          throw new VeniceException("Unexpected predicate type: " + type);
+      }
+    }
+
+    private boolean isEqual(double value, double expectedValue) {
+      if (value == expectedValue) {
+        return true;
+      }
+      if (Double.isNaN(value)) {
+        return Double.isNaN(expectedValue);
+      }
+      return Math.abs(difference(value, expectedValue)) <= epsilon;
+    }
+
+    /**
+     * Rounding the difference of two widened floats back to a float gives the same result as subtracting the floats.
+     */
+    private double difference(double a, double b) {
+      return valueClass == Float.class ? (float) (a - b) : a - b;
+    }
+  }
+
+  private static class StringNode extends FieldNode {
+    private final String[] values;
+
+    StringNode(String fieldName, String[] values) {
+      super(fieldName, FilterPredicateType.ANY_OF);
+      this.values = values;
+    }
+
+    @Override
+    boolean testValue(Object value) {
+      if (!(value instanceof CharSequence)) {
+        return false;
+      }
+      String stringValue = value.toString();
+      for (String expectedValue: values) {
+        if (stringValue.equals(expectedValue)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
@@ -2,9 +2,16 @@ package com.linkedin.venice.compute;
 
 import static com.linkedin.venice.serializer.FastSerializerDeserializerFactory.getFastAvroGenericSerializer;
 
+import com.linkedin.venice.VeniceConstants;
 import com.linkedin.venice.compute.protocol.request.ComputeOperation;
 import com.linkedin.venice.compute.protocol.request.ComputeRequestV3;
+import com.linkedin.venice.compute.protocol.request.ComputeRequestV5;
+import com.linkedin.venice.compute.protocol.request.ComputeRequestV6;
+import com.linkedin.venice.compute.protocol.request.ComputeRequestV7;
+import com.linkedin.venice.compute.protocol.request.FilterPredicate;
+import com.linkedin.venice.compute.protocol.request.TopK;
 import com.linkedin.venice.serializer.RecordSerializer;
+import java.util.Collections;
 import java.util.List;
 import org.apache.avro.Schema;
 
@@ -14,20 +21,34 @@ import org.apache.avro.Schema;
  *
  * N.B.: This class used to contain multiple versions of the {@link ComputeRequestV3} but it was not necessary
  * since all the versions were anyway compatible with one another. We are now keeping only the latest version
- * used on the wire, which is 3 (version 4 was never used as a wire protocol). We can always revisit this if
- * the need to evolve read compute comes into play.
+ * used on the wire for the requests without top-K, which is 3 (version 4 was never used as a wire protocol).
+ * Version 5 adds the branch of the top-K operator to the operations union, so the requests with a top-K operation are
+ * sent with the schema of version 5, which older routers and servers reject instead of failing to decode it. Version 6
+ * adds the filter field, so the requests with a filter are sent with the schema of version 6. Version 7 adds the
+ * branches of the aggregation operators to the operations union, so the requests with aggregations are sent with the
+ * schema of version 7; all the other requests are still sent as version 3, 5 or 6.
  */
 public class ComputeRequestWrapper {
-  public static final int LATEST_SCHEMA_VERSION_FOR_COMPUTE_REQUEST = 3;
+  public static final int LATEST_SCHEMA_VERSION_FOR_COMPUTE_REQUEST = 7;
 
   private static final RecordSerializer<ComputeRequestV3> SERIALIZER =
       getFastAvroGenericSerializer(ComputeRequestV3.SCHEMA$);
+  private static final RecordSerializer<ComputeRequestV5> V5_SERIALIZER =
+      getFastAvroGenericSerializer(ComputeRequestV5.SCHEMA$);
+  private static final RecordSerializer<ComputeRequestV6> V6_SERIALIZER =
+      getFastAvroGenericSerializer(ComputeRequestV6.SCHEMA$);
+  private static final RecordSerializer<ComputeRequestV7> V7_SERIALIZER =
+      getFastAvroGenericSerializer(ComputeRequestV7.SCHEMA$);
 
   private final ComputeRequestV3 computeRequest;
   private final int valueSchemaId;
   private final Schema valueSchema;
   private final List<Schema.Field> operationResultFields;
   private final boolean originallyStreaming;
+  private final int topKOperationIndex;
+  private final boolean isAggregation;
+  private final List<FilterPredicate> filter;
+  private final ComputeFilter computeFilter;
 
   public ComputeRequestWrapper(
       int valueSchemaId,
@@ -36,6 +57,27 @@ public class ComputeRequestWrapper {
       String resultSchemaString,
       List<ComputeOperation> operations,
       boolean originallyStreaming) {
+    this(
+        valueSchemaId,
+        valueSchema,
+        resultSchema,
+        resultSchemaString,
+        operations,
+        Collections.emptyList(),
+        originallyStreaming);
+  }
+
+  /**
+   * @param filter the predicates the value records must match to be part of the response, see {@link ComputeFilter}.
+   */
+  public ComputeRequestWrapper(
+      int valueSchemaId,
+      Schema valueSchema,
+      Schema resultSchema,
+      String resultSchemaString,
+      List<ComputeOperation> operations,
+      List<FilterPredicate> filter,
+      boolean originallyStreaming) {
     this.computeRequest = new ComputeRequestV3();
     this.computeRequest.setResultSchemaStr(resultSchemaString);
     this.computeRequest.setOperations((List) operations);
@@ -43,10 +85,35 @@ public class ComputeRequestWrapper {
     this.valueSchema = valueSchema;
     this.operationResultFields = ComputeUtils.getOperationResultFields(operations, resultSchema);
     this.originallyStreaming = originallyStreaming;
+    this.topKOperationIndex = ComputeUtils.getTopKOperationIndex(operations);
+    this.isAggregation = ComputeUtils.isAggregationRequest(operations);
+    this.filter = filter;
+    this.computeFilter = ComputeFilter.fromPredicates(filter);
   }
 
   public byte[] serialize() {
-    return SERIALIZER.serialize(this.computeRequest);
+    int computeRequestVersion = getComputeRequestVersion();
+    if (computeRequestVersion < VeniceConstants.COMPUTE_REQUEST_VERSION_V5) {
+      return SERIALIZER.serialize(this.computeRequest);
+    }
+    if (computeRequestVersion == VeniceConstants.COMPUTE_REQUEST_VERSION_V5) {
+      ComputeRequestV5 requestV5 = new ComputeRequestV5();
+      requestV5.setResultSchemaStr(this.computeRequest.getResultSchemaStr());
+      requestV5.setOperations(this.computeRequest.getOperations());
+      return V5_SERIALIZER.serialize(requestV5);
+    }
+    if (computeRequestVersion >= VeniceConstants.COMPUTE_REQUEST_VERSION_V7) {
+      ComputeRequestV7 requestV7 = new ComputeRequestV7();
+      requestV7.setResultSchemaStr(this.computeRequest.getResultSchemaStr());
+      requestV7.setOperations(this.computeRequest.getOperations());
+      requestV7.setFilter(this.filter);
+      return V7_SERIALIZER.serialize(requestV7);
+    }
+    ComputeRequestV6 requestV6 = new ComputeRequestV6();
+    requestV6.setResultSchemaStr(this.computeRequest.getResultSchemaStr());
+    requestV6.setOperations(this.computeRequest.getOperations());
+    requestV6.setFilter(this.filter);
+    return V6_SERIALIZER.serialize(requestV6);
   }
 
   public CharSequence getResultSchemaStr() {
@@ -69,6 +136,43 @@ public class ComputeRequestWrapper {
     return this.operationResultFields;
   }
 
+  /**
+   * @return the version of the compute request protocol to put in the request headers.
+   */
+  public int getComputeRequestVersion() {
+    if (isAggregation) {
+      return VeniceConstants.COMPUTE_REQUEST_VERSION_V7;
+    }
+    if (computeFilter != null) {
+      return VeniceConstants.COMPUTE_REQUEST_VERSION_V6;
+    }
+    return topKOperationIndex < 0
+        ? VeniceConstants.COMPUTE_REQUEST_VERSION_V3
+        : VeniceConstants.COMPUTE_REQUEST_VERSION_V5;
+  }
+
+  /**
+   * @return the filter of the request, or null if all the records are part of the response.
+   */
+  public ComputeFilter getFilter() {
+    return computeFilter;
+  }
+
+  /**
+   * @return the top-K operation of the request, or null if there is none.
+   */
+  public TopK getTopK() {
+    return topKOperationIndex < 0 ? null : (TopK) getOperations().get(topKOperationIndex).operation;
+  }
+
+  /**
+   * @return whether the request only contains aggregation operations, whose results are the partial counts of the
+   *         records returned by each storage node rather than a result per record.
+   */
+  public boolean isAggregation() {
+    return isAggregation;
+  }
+
   public boolean isRequestOriginallyStreaming() {
     return this.originallyStreaming;
   }
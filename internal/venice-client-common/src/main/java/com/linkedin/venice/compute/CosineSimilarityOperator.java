@@ -39,31 +39,12 @@ public class CosineSimilarityOperator implements ReadComputeOperator {
         return;
       }
 
-      float dotProductResult = ComputeUtils.dotProduct(cosSimilarityParam, valueVector);
-      float valueVectorSquaredL2Norm = ComputeUtils.squaredL2Norm(valueVector);
-      float cosSimilarityParamSquaredL2Norm;
-      // Build the context as we go though all the computations
-      // The following caching is assuming the float vector is immutable, which is the case for compute.
-      IdentityHashMap<List<Float>, Float> cachedSquareL2Norm =
-          (IdentityHashMap<List<Float>, Float>) context.get(CACHED_SQUARED_L2_NORM_KEY);
-      if (cachedSquareL2Norm == null) {
-        // Build the cached identity map
-        cachedSquareL2Norm = new IdentityHashMap<>();
-        context.put(CACHED_SQUARED_L2_NORM_KEY, cachedSquareL2Norm);
-      }
-      Float cachedResult = cachedSquareL2Norm.get(cosSimilarityParam);
-      if (cachedResult != null) {
-        cosSimilarityParamSquaredL2Norm = cachedResult;
-      } else {
-        // Cache the computed result
-        cosSimilarityParamSquaredL2Norm = ComputeUtils.squaredL2Norm(cosSimilarityParam);
-        cachedSquareL2Norm.put(cosSimilarityParam, cosSimilarityParamSquaredL2Norm);
-      }
+      float cosSimilarityParamSquaredL2Norm = getCachedSquaredL2Norm(cosSimilarityParam, context);
 
       // write to result record
-      double cosineSimilarityResult =
-          dotProductResult / Math.sqrt(valueVectorSquaredL2Norm * cosSimilarityParamSquaredL2Norm);
-      putResult(resultRecord, resultField, (float) cosineSimilarityResult);
+      float cosineSimilarityResult =
+          ComputeUtils.cosineSimilarity(cosSimilarityParam, valueVector, cosSimilarityParamSquaredL2Norm);
+      putResult(resultRecord, resultField, cosineSimilarityResult);
     } catch (Exception e) {
       putResult(resultRecord, resultField, 0.0f);
       String msg = e.getClass().getSimpleName() + " : "
@@ -72,6 +53,30 @@ public class CosineSimilarityOperator implements ReadComputeOperator {
     }
   }
 
+  /**
+   * @return the squared L2 norm of the compute parameter, which is computed once per request and then cached in the
+   *         context shared by all the records of the request.
+   */
+  static float getCachedSquaredL2Norm(List<Float> param, Map<String, Object> context) {
+    // Build the context as we go though all the computations
+    // The following caching is assuming the float vector is immutable, which is the case for compute.
+    IdentityHashMap<List<Float>, Float> cachedSquareL2Norm =
+        (IdentityHashMap<List<Float>, Float>) context.get(CACHED_SQUARED_L2_NORM_KEY);
+    if (cachedSquareL2Norm == null) {
+      // Build the cached identity map
+      cachedSquareL2Norm = new IdentityHashMap<>();
+      context.put(CACHED_SQUARED_L2_NORM_KEY, cachedSquareL2Norm);
+    }
+    Float cachedResult = cachedSquareL2Norm.get(param);
+    if (cachedResult != null) {
+      return cachedResult;
+    }
+    // Cache the computed result
+    float squaredL2Norm = ComputeUtils.squaredL2Norm(param);
+    cachedSquareL2Norm.put(param, squaredL2Norm);
+    return squaredL2Norm;
+  }
+
   @Override
   public boolean allowFieldValueToBeNull() {
     return true;
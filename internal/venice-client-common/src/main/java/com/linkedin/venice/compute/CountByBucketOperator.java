@@ -0,0 +1,96 @@
+package com.linkedin.venice.compute;
+
+import com.linkedin.venice.compute.protocol.request.ComputeOperation;
+import com.linkedin.venice.compute.protocol.request.CountByBucket;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+
+
+/**
+ * Counts the records whose field matches the predicate of each bucket, keyed by bucket name. A record is counted in all
+ * the buckets it matches. Like {@link CountByValueOperator}, the result field of each record only holds its own counts,
+ * while the counts of all the records computed with the same context are accumulated in it.
+ */
+public class CountByBucketOperator implements ReadComputeOperator {
+  private static final String CACHED_BUCKET_FILTERS_KEY = "CACHED_BUCKET_FILTERS_KEY";
+
+  @Override
+  public void compute(
+      ComputeOperation op,
+      Schema.Field operatorInputField,
+      Schema.Field resultField,
+      GenericRecord inputValueRecord,
+      GenericRecord resultRecord,
+      Map<String, String> computationErrorMap,
+      Map<String, Object> context) {
+    CountByBucket countByBucket = (CountByBucket) op.operation;
+    try {
+      ComputeFilter[] bucketFilters = getCachedBucketFilters(countByBucket, context);
+      Map<String, Integer> matchedBuckets = null;
+      for (int i = 0; i < bucketFilters.length; i++) {
+        if (bucketFilters[i].test(inputValueRecord)) {
+          String bucketName = countByBucket.bucketNames.get(i).toString();
+          ComputeUtils.incrementAggregationCount(context, resultField.name(), bucketName);
+          if (matchedBuckets == null) {
+            matchedBuckets = new HashMap<>();
+          }
+          matchedBuckets.put(bucketName, 1);
+        }
+      }
+      putResult(resultRecord, resultField, matchedBuckets == null ? Collections.emptyMap() : matchedBuckets);
+    } catch (Exception e) {
+      putDefaultResult(resultRecord, resultField);
+      String msg = e.getClass().getSimpleName() + " : "
+          + (e.getMessage() == null ? "Failed to execute count-by-bucket operator." : e.getMessage());
+      computationErrorMap.put(resultField.name(), msg);
+    }
+  }
+
+  /**
+   * @return the filter of each bucket, which are parsed once per request and then cached in the context shared by all
+   *         the records of the request.
+   */
+  private static ComputeFilter[] getCachedBucketFilters(CountByBucket countByBucket, Map<String, Object> context) {
+    IdentityHashMap<CountByBucket, ComputeFilter[]> cachedBucketFilters =
+        (IdentityHashMap<CountByBucket, ComputeFilter[]>) context
+            .computeIfAbsent(CACHED_BUCKET_FILTERS_KEY, k -> new IdentityHashMap<>());
+    return cachedBucketFilters.computeIfAbsent(countByBucket, k -> {
+      ComputeFilter[] bucketFilters = new ComputeFilter[k.bucketPredicates.size()];
+      for (int i = 0; i < bucketFilters.length; i++) {
+        bucketFilters[i] = new ComputeFilter(k.bucketPredicates.get(i));
+      }
+      return bucketFilters;
+    });
+  }
+
+  @Override
+  public void putDefaultResult(GenericRecord record, Schema.Field field) {
+    putResult(record, field, Collections.emptyMap());
+  }
+
+  @Override
+  public boolean allowFieldValueToBeNull() {
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return "read-compute count-by-bucket operator";
+  }
+
+  @Override
+  public String getOperatorFieldName(ComputeOperation op) {
+    CountByBucket operation = (CountByBucket) op.operation;
+    return operation.field.toString();
+  }
+
+  @Override
+  public String getResultFieldName(ComputeOperation op) {
+    CountByBucket operation = (CountByBucket) op.operation;
+    return operation.resultFieldName.toString();
+  }
+}
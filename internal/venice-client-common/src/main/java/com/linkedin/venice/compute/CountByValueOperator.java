@@ -0,0 +1,78 @@
+package com.linkedin.venice.compute;
+
+import com.linkedin.venice.compute.protocol.request.ComputeOperation;
+import com.linkedin.venice.compute.protocol.request.CountByValue;
+import com.linkedin.venice.exceptions.VeniceException;
+import java.util.Collections;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericEnumSymbol;
+import org.apache.avro.generic.GenericRecord;
+
+
+/**
+ * Counts the occurrences of each distinct value of a field, keyed by the string form of the value. The result field of
+ * each record only holds the count of its own value, while the counts of all the records computed with the same
+ * context are accumulated in it, so that the storage nodes can return a single partial histogram per request, see
+ * {@link ComputeUtils#putAggregationResults}. Null values are not counted.
+ */
+public class CountByValueOperator implements ReadComputeOperator {
+  @Override
+  public void compute(
+      ComputeOperation op,
+      Schema.Field operatorInputField,
+      Schema.Field resultField,
+      GenericRecord inputValueRecord,
+      GenericRecord resultRecord,
+      Map<String, String> computationErrorMap,
+      Map<String, Object> context) {
+    try {
+      Object value = inputValueRecord.get(operatorInputField.pos());
+      if (value == null) {
+        putDefaultResult(resultRecord, resultField);
+        return;
+      }
+      if (!(value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+          || value instanceof GenericEnumSymbol)) {
+        throw new VeniceException(
+            "Record field " + operatorInputField.name() + " is not valid for count-by-value operation, only "
+                + "string, enum, boolean, int, long, float and double values are supported.");
+      }
+      String valueString = value.toString();
+      ComputeUtils.incrementAggregationCount(context, resultField.name(), valueString);
+      putResult(resultRecord, resultField, Collections.singletonMap(valueString, 1));
+    } catch (Exception e) {
+      putDefaultResult(resultRecord, resultField);
+      String msg = e.getClass().getSimpleName() + " : "
+          + (e.getMessage() == null ? "Failed to execute count-by-value operator." : e.getMessage());
+      computationErrorMap.put(resultField.name(), msg);
+    }
+  }
+
+  @Override
+  public void putDefaultResult(GenericRecord record, Schema.Field field) {
+    putResult(record, field, Collections.emptyMap());
+  }
+
+  @Override
+  public boolean allowFieldValueToBeNull() {
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return "read-compute count-by-value operator";
+  }
+
+  @Override
+  public String getOperatorFieldName(ComputeOperation op) {
+    CountByValue operation = (CountByValue) op.operation;
+    return operation.field.toString();
+  }
+
+  @Override
+  public String getResultFieldName(ComputeOperation op) {
+    CountByValue operation = (CountByValue) op.operation;
+    return operation.resultFieldName.toString();
+  }
+}
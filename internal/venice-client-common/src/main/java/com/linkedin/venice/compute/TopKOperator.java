@@ -0,0 +1,86 @@
+package com.linkedin.venice.compute;
+
+import com.linkedin.venice.compute.protocol.request.ComputeOperation;
+import com.linkedin.venice.compute.protocol.request.TopK;
+import java.util.List;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+
+
+/**
+ * Scores each record by the cosine similarity of its vector field with the top-K parameter, and stores the score in
+ * the result field. Only the records with the K highest scores are kept, first by each storage node in its own
+ * response, and then by the client when it merges the responses, see {@link ComputeUtils#selectTopK}.
+ */
+public class TopKOperator implements ReadComputeOperator {
+  @Override
+  public void compute(
+      ComputeOperation op,
+      Schema.Field operatorInputField,
+      Schema.Field resultField,
+      GenericRecord inputValueRecord,
+      GenericRecord resultRecord,
+      Map<String, String> computationErrorMap,
+      Map<String, Object> context) {
+    TopK topK = (TopK) op.operation;
+    try {
+      List<Float> valueVector = ComputeUtils.getNullableFieldValueAsList(inputValueRecord, operatorInputField);
+      List<Float> topKParam = topK.topKParam;
+
+      if (valueVector.size() == 0 || topKParam.size() == 0) {
+        putResult(resultRecord, resultField, null);
+        return;
+      } else if (valueVector.size() != topKParam.size()) {
+        putResult(resultRecord, resultField, null);
+        computationErrorMap.put(
+            resultField.name(),
+            "Failed to compute because size of top-K parameter is: " + topKParam.size()
+                + " while the size of value vector(" + topK.field.toString() + ") is: " + valueVector.size());
+        return;
+      }
+
+      float topKParamSquaredL2Norm = CosineSimilarityOperator.getCachedSquaredL2Norm(topKParam, context);
+      putResult(
+          resultRecord,
+          resultField,
+          ComputeUtils.cosineSimilarity(topKParam, valueVector, topKParamSquaredL2Norm));
+    } catch (Exception e) {
+      putResult(resultRecord, resultField, null);
+      String msg = e.getClass().getSimpleName() + " : "
+          + (e.getMessage() == null ? "Failed to execute top-K operator." : e.getMessage());
+      computationErrorMap.put(resultField.name(), msg);
+    }
+  }
+
+  /**
+   * Records which could not be scored get no score at all, rather than the default score of the other operators, so
+   * that they never make it to the top K.
+   */
+  @Override
+  public void putDefaultResult(GenericRecord record, Schema.Field field) {
+    putResult(record, field, null);
+  }
+
+  @Override
+  public boolean allowFieldValueToBeNull() {
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return "read-compute top-K operator";
+  }
+
+  @Override
+  public String getOperatorFieldName(ComputeOperation op) {
+    TopK operation = (TopK) op.operation;
+    return operation.field.toString();
+  }
+
+  @Override
+  public String getResultFieldName(ComputeOperation op) {
+    TopK operation = (TopK) op.operation;
+    return operation.resultFieldName.toString();
+  }
+}
@@ -1,15 +1,21 @@
 package com.linkedin.venice.compute.protocol.request.enums;
 
 import com.linkedin.venice.compute.CosineSimilarityOperator;
+import com.linkedin.venice.compute.CountByBucketOperator;
+import com.linkedin.venice.compute.CountByValueOperator;
 import com.linkedin.venice.compute.CountOperator;
 import com.linkedin.venice.compute.DotProductOperator;
 import com.linkedin.venice.compute.HadamardProductOperator;
 import com.linkedin.venice.compute.ReadComputeOperator;
+import com.linkedin.venice.compute.TopKOperator;
 import com.linkedin.venice.compute.protocol.request.ComputeOperation;
 import com.linkedin.venice.compute.protocol.request.CosineSimilarity;
 import com.linkedin.venice.compute.protocol.request.Count;
+import com.linkedin.venice.compute.protocol.request.CountByBucket;
+import com.linkedin.venice.compute.protocol.request.CountByValue;
 import com.linkedin.venice.compute.protocol.request.DotProduct;
 import com.linkedin.venice.compute.protocol.request.HadamardProduct;
+import com.linkedin.venice.compute.protocol.request.TopK;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.utils.EnumUtils;
 import com.linkedin.venice.utils.VeniceEnumValue;
@@ -18,7 +24,8 @@ import java.util.List;
 
 public enum ComputeOperationType implements VeniceEnumValue {
   DOT_PRODUCT(0, new DotProductOperator()), COSINE_SIMILARITY(1, new CosineSimilarityOperator()),
-  HADAMARD_PRODUCT(2, new HadamardProductOperator()), COUNT(3, new CountOperator());
+  HADAMARD_PRODUCT(2, new HadamardProductOperator()), COUNT(3, new CountOperator()), TOP_K(4, new TopKOperator()),
+  COUNT_BY_VALUE(5, new CountByValueOperator()), COUNT_BY_BUCKET(6, new CountByBucketOperator());
 
   private final ReadComputeOperator operator;
   private final int value;
@@ -39,6 +46,12 @@ public enum ComputeOperationType implements VeniceEnumValue {
         return new HadamardProduct();
       case COUNT:
         return new Count();
+      case TOP_K:
+        return new TopK();
+      case COUNT_BY_VALUE:
+        return new CountByValue();
+      case COUNT_BY_BUCKET:
+        return new CountByBucket();
       default:
         throw new VeniceException("Unsupported " + getClass().getSimpleName() + " value: " + value);
     }
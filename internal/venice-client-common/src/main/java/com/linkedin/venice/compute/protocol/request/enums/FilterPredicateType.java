@@ -0,0 +1,35 @@
+package com.linkedin.venice.compute.protocol.request.enums;
+
+import com.linkedin.venice.compute.protocol.request.FilterPredicate;
+import com.linkedin.venice.utils.EnumUtils;
+import com.linkedin.venice.utils.VeniceEnumValue;
+import java.util.List;
+
+
+/**
+ * The types of the {@link FilterPredicate} of a compute request. {@link #AND} and {@link #OR} combine the predicates
+ * following them, while the others compare a field of the value record with the values of the predicate.
+ */
+public enum FilterPredicateType implements VeniceEnumValue {
+  AND(0), OR(1), EQUALS(2), GREATER_THAN(3), GREATER_OR_EQUALS(4), LOWER_THAN(5), LOWER_OR_EQUALS(6), ANY_OF(7);
+
+  private final int value;
+  private static final List<FilterPredicateType> TYPES = EnumUtils.getEnumValuesList(FilterPredicateType.class);
+
+  FilterPredicateType(int value) {
+    this.value = value;
+  }
+
+  public static FilterPredicateType valueOf(int value) {
+    return EnumUtils.valueOf(TYPES, value, FilterPredicateType.class);
+  }
+
+  public static FilterPredicateType valueOf(FilterPredicate predicate) {
+    return valueOf(predicate.predicateType);
+  }
+
+  @Override
+  public int getValue() {
+    return value;
+  }
+}
@@ -77,8 +77,28 @@ public class RequestHeadersProvider {
       int keyCount,
       int computeValueSchemaId,
       boolean isRemoteComputationOnly) {
+    return getStreamingComputeHeaderMap(
+        keyCount,
+        computeValueSchemaId,
+        ReadAvroProtocolDefinition.COMPUTE_REQUEST_V3.getProtocolVersion(),
+        isRemoteComputationOnly);
+  }
+
+  /**
+   * @param computeRequestVersion the version of the compute request, which is only ever bumped past 3 for the requests
+   *                              which need the newer operators, see
+   *                              {@link com.linkedin.venice.compute.ComputeRequestWrapper#getComputeRequestVersion}.
+   */
+  public static Map<String, String> getStreamingComputeHeaderMap(
+      int keyCount,
+      int computeValueSchemaId,
+      int computeRequestVersion,
+      boolean isRemoteComputationOnly) {
     Map<String, String> headers = new HashMap<>(STREAMING_COMPUTE_HEADER_MAP_V3.size() + 3);
     headers.putAll(STREAMING_COMPUTE_HEADER_MAP_V3);
+    if (computeRequestVersion != ReadAvroProtocolDefinition.COMPUTE_REQUEST_V3.getProtocolVersion()) {
+      headers.put(HttpConstants.VENICE_API_VERSION, Integer.toString(computeRequestVersion));
+    }
     headers.put(VENICE_KEY_COUNT, Integer.toString(keyCount));
     headers.put(VENICE_COMPUTE_VALUE_SCHEMA_ID, Integer.toString(computeValueSchemaId));
     if (!isRemoteComputationOnly) {
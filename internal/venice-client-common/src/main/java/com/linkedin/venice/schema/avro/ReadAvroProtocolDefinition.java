@@ -4,6 +4,9 @@ import com.linkedin.venice.compute.protocol.request.ComputeRequestV1;
 import com.linkedin.venice.compute.protocol.request.ComputeRequestV2;
 import com.linkedin.venice.compute.protocol.request.ComputeRequestV3;
 import com.linkedin.venice.compute.protocol.request.ComputeRequestV4;
+import com.linkedin.venice.compute.protocol.request.ComputeRequestV5;
+import com.linkedin.venice.compute.protocol.request.ComputeRequestV6;
+import com.linkedin.venice.compute.protocol.request.ComputeRequestV7;
 import com.linkedin.venice.compute.protocol.request.router.ComputeRouterRequestKeyV1;
 import com.linkedin.venice.compute.protocol.response.ComputeResponseRecordV1;
 import com.linkedin.venice.exceptions.VeniceException;
@@ -76,6 +79,21 @@ public enum ReadAvroProtocolDefinition {
    */
   COMPUTE_REQUEST_V4(4, Optional.of(ComputeRequestV4.class), Optional.of(ComputeRequestV4.SCHEMA$)),
 
+  /**
+   * Compute request v5. It includes support for the top-K operator.
+   */
+  COMPUTE_REQUEST_V5(5, Optional.of(ComputeRequestV5.class), Optional.of(ComputeRequestV5.SCHEMA$)),
+
+  /**
+   * Compute request v6. It includes support for filtering the records on the server side.
+   */
+  COMPUTE_REQUEST_V6(6, Optional.of(ComputeRequestV6.class), Optional.of(ComputeRequestV6.SCHEMA$)),
+
+  /**
+   * Compute request v7. It includes support for the count-by-value and count-by-bucket aggregation operators.
+   */
+  COMPUTE_REQUEST_V7(7, Optional.of(ComputeRequestV7.class), Optional.of(ComputeRequestV7.SCHEMA$)),
+
   /**
    * Response record for compute v1
    */
@@ -12,7 +12,13 @@ import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
 import com.linkedin.venice.VeniceConstants;
 import com.linkedin.venice.compute.protocol.request.ComputeOperation;
 import com.linkedin.venice.compute.protocol.request.Count;
+import com.linkedin.venice.compute.protocol.request.DotProduct;
+import com.linkedin.venice.compute.protocol.request.FilterPredicate;
 import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
+import com.linkedin.venice.compute.protocol.request.enums.FilterPredicateType;
+import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
+import com.linkedin.venice.serializer.RecordDeserializer;
+import com.linkedin.venice.serializer.SerializerDeserializerFactory;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -75,6 +81,83 @@ public class ComputeUtilsTest {
         ((Map<String, String>) outputRecord.get(VeniceConstants.VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME)).isEmpty());
   }
 
+  @Test
+  public void testProjectedValueSchema() {
+    Schema valueSchema = SchemaBuilder.record("SampleSchema")
+        .namespace("example.compute")
+        .fields()
+        .requiredInt("id")
+        .requiredString("name")
+        .name("embedding")
+        .type()
+        .array()
+        .items()
+        .floatType()
+        .noDefault()
+        .name("tags")
+        .type()
+        .array()
+        .items()
+        .stringType()
+        .noDefault()
+        .optionalDouble("score")
+        .endRecord();
+    Schema resultSchema = SchemaBuilder.record("SampleResult")
+        .fields()
+        .requiredFloat("similarity")
+        .requiredString("name")
+        .name(VeniceConstants.VENICE_COMPUTATION_ERROR_MAP_FIELD_NAME)
+        .type()
+        .map()
+        .values()
+        .stringType()
+        .noDefault()
+        .endRecord();
+
+    ComputeOperation operation = new ComputeOperation();
+    operation.setOperationType(ComputeOperationType.DOT_PRODUCT.getValue());
+    DotProduct dotProduct = new DotProduct();
+    dotProduct.setField("embedding");
+    dotProduct.setDotProductParam(Arrays.asList(1.0f, 2.0f));
+    dotProduct.setResultFieldName("similarity");
+    operation.setOperation(dotProduct);
+    FilterPredicate and = new FilterPredicate();
+    and.predicateType = FilterPredicateType.AND.getValue();
+    and.childCount = 1;
+    FilterPredicate idFilter = new FilterPredicate();
+    idFilter.predicateType = FilterPredicateType.GREATER_THAN.getValue();
+    idFilter.field = "id";
+
+    // The operand, the filter field and the projected field are read, in the order of the value schema
+    List<String> readFieldNames = ComputeUtils.getReadValueFieldNames(
+        valueSchema,
+        resultSchema,
+        Collections.singletonList(operation),
+        Arrays.asList(and, idFilter));
+    assertEquals(readFieldNames, Arrays.asList("id", "name", "embedding"));
+
+    Schema projectedSchema = ComputeUtils.getProjectedValueSchema(valueSchema, readFieldNames);
+    assertEquals(projectedSchema.getFullName(), valueSchema.getFullName());
+    assertEquals(projectedSchema.getFields().size(), 3);
+
+    // The values written with the full schema are decoded into the projected fields only
+    GenericRecord valueRecord = new GenericData.Record(valueSchema);
+    valueRecord.put("id", 7);
+    valueRecord.put("name", "seven");
+    valueRecord.put("embedding", Arrays.asList(1.0f, 0.5f));
+    valueRecord.put("tags", Arrays.asList("a", "b"));
+    valueRecord.put("score", 0.7);
+    byte[] valueBytes = SerializerDeserializerFactory.getAvroGenericSerializer(valueSchema).serialize(valueRecord);
+    RecordDeserializer<GenericRecord> deserializer =
+        FastSerializerDeserializerFactory.getFastAvroGenericDeserializer(valueSchema, projectedSchema);
+    GenericRecord projectedRecord = deserializer.deserialize(valueBytes);
+    assertEquals(projectedRecord.getSchema(), projectedSchema);
+    assertEquals(projectedRecord.get("id"), 7);
+    assertEquals(projectedRecord.get("name").toString(), "seven");
+    assertTrue(projectedRecord.get("embedding") instanceof PrimitiveFloatList);
+    assertEquals(projectedRecord.get("embedding"), Arrays.asList(1.0f, 0.5f));
+  }
+
   @Test
   public void testGetNullableFieldValueAsList_NonNullValue() {
     GenericRecord record = createGetNullableFieldValueAsListRecord();
@@ -162,6 +245,54 @@ public class ComputeUtilsTest {
     Assert.assertEquals(result, expectedOutput);
   }
 
+  @Test
+  public void testCosineSimilarity() {
+    List<Float> list1 = Arrays.asList(1.0f, 2.0f, 2.0f);
+    List<Float> list2 = Arrays.asList(2.0f, 0.0f, 0.0f);
+    float result = ComputeUtils.cosineSimilarity(list1, list2, ComputeUtils.squaredL2Norm(list1));
+    Assert.assertEquals(result, 1.0f / 3.0f, 1e-6f);
+
+    PrimitiveFloatList primitiveList1 = createPrimitiveFloatList(1.0f, 2.0f, 2.0f);
+    PrimitiveFloatList primitiveList2 = createPrimitiveFloatList(2.0f, 0.0f, 0.0f);
+    result = ComputeUtils.cosineSimilarity(primitiveList1, primitiveList2, ComputeUtils.squaredL2Norm(primitiveList1));
+    Assert.assertEquals(result, 1.0f / 3.0f, 1e-6f);
+  }
+
+  @Test
+  public void testPrimitiveFloatListOperationsMatchBoxedOnes() {
+    // Cover both the unrolled loops and their remainders
+    for (int size: new int[] { 1, 4, 7, 256, 1023 }) {
+      float[] values1 = new float[size];
+      float[] values2 = new float[size];
+      for (int i = 0; i < size; i++) {
+        values1[i] = (i % 13) / 7.0f - 0.5f;
+        values2[i] = (i % 11) / 5.0f - 1.0f;
+      }
+      List<Float> boxedList1 = new ArrayList<>(size);
+      List<Float> boxedList2 = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        boxedList1.add(values1[i]);
+        boxedList2.add(values2[i]);
+      }
+      PrimitiveFloatList primitiveList1 = createPrimitiveFloatList(values1);
+      PrimitiveFloatList primitiveList2 = createPrimitiveFloatList(values2);
+
+      float delta = 1e-3f * size;
+      Assert.assertEquals(
+          ComputeUtils.dotProduct(primitiveList1, primitiveList2),
+          ComputeUtils.dotProduct(boxedList1, boxedList2),
+          delta);
+      Assert.assertEquals(ComputeUtils.squaredL2Norm(primitiveList2), ComputeUtils.squaredL2Norm(boxedList2), delta);
+      Assert.assertEquals(
+          ComputeUtils.cosineSimilarity(primitiveList1, primitiveList2, ComputeUtils.squaredL2Norm(primitiveList1)),
+          ComputeUtils.cosineSimilarity(boxedList1, boxedList2, ComputeUtils.squaredL2Norm(boxedList1)),
+          1e-4f);
+      Assert.assertEquals(
+          ComputeUtils.hadamardProduct(primitiveList1, primitiveList2),
+          ComputeUtils.hadamardProduct(boxedList1, boxedList2));
+    }
+  }
+
   private static GenericRecord createGetNullableFieldValueAsListRecord() {
     Schema schema = SchemaBuilder.record("SampleSchema")
         .fields()
@@ -0,0 +1,26 @@
+package com.linkedin.venice.compute.protocol.request.enums;
+
+import com.linkedin.venice.utils.CollectionUtils;
+import com.linkedin.venice.utils.VeniceEnumValueTest;
+import java.util.Map;
+
+
+public class FilterPredicateTypeTest extends VeniceEnumValueTest<FilterPredicateType> {
+  public FilterPredicateTypeTest() {
+    super(FilterPredicateType.class);
+  }
+
+  @Override
+  protected Map<Integer, FilterPredicateType> expectedMapping() {
+    return CollectionUtils.<Integer, FilterPredicateType>mapBuilder()
+        .put(0, FilterPredicateType.AND)
+        .put(1, FilterPredicateType.OR)
+        .put(2, FilterPredicateType.EQUALS)
+        .put(3, FilterPredicateType.GREATER_THAN)
+        .put(4, FilterPredicateType.GREATER_OR_EQUALS)
+        .put(5, FilterPredicateType.LOWER_THAN)
+        .put(6, FilterPredicateType.LOWER_OR_EQUALS)
+        .put(7, FilterPredicateType.ANY_OF)
+        .build();
+  }
+}
@@ -56,5 +56,10 @@ public class RequestHeadersProviderTest {
     headers = RequestHeadersProvider.getStreamingComputeHeaderMap(keyCount, computeSchemaId, true);
     Assert.assertEquals(headers.size(), 4);
     Assert.assertFalse(headers.containsKey(VENICE_CLIENT_COMPUTE));
+    Assert.assertEquals(headers.get(VENICE_API_VERSION), "3");
+
+    headers = RequestHeadersProvider.getStreamingComputeHeaderMap(keyCount, computeSchemaId, 5, true);
+    Assert.assertEquals(headers.size(), 4);
+    Assert.assertEquals(headers.get(VENICE_API_VERSION), "5");
   }
 }
@@ -666,6 +666,26 @@ public class ConfigKeys {
   public static final String SERVER_INGESTION_TASK_MAX_IDLE_COUNT = "server.ingestion.task.max.idle.count";
   public static final String STORE_WRITER_BUFFER_MEMORY_CAPACITY = "store.writer.buffer.memory.capacity";
   public static final String STORE_WRITER_BUFFER_NOTIFY_DELTA = "store.writer.buffer.notify.delta";
+  /**
+   * When positive, the buffer of each store writer is a lock-free ring buffer with this many slots, instead of the
+   * lock-based linked list. The buffer stays bounded by {@link #STORE_WRITER_BUFFER_MEMORY_CAPACITY} in both cases.
+   */
+  public static final String STORE_WRITER_BUFFER_RING_BUFFER_CAPACITY = "store.writer.buffer.ring.buffer.capacity";
+  /**
+   * The max number of buffered records each store writer pulls out of its buffer per wake-up. With the default value
+   * of 1, records are taken one at a time.
+   */
+  public static final String STORE_WRITER_BUFFER_DRAIN_BATCH_SIZE = "store.writer.buffer.drain.batch.size";
+  /**
+   * The max heap size of the buffered records each store writer pulls out of its buffer per wake-up.
+   */
+  public static final String STORE_WRITER_BUFFER_DRAIN_BATCH_MAX_BYTES = "store.writer.buffer.drain.batch.max.bytes";
+  /**
+   * When positive, the consumed records are decoded into message containers recycled through a pool holding up to this
+   * many of them, which the store writers give back once they are done with a record. With the default value of 0,
+   * a new container is allocated for each consumed record.
+   */
+  public static final String STORE_WRITER_BUFFER_MESSAGE_POOL_CAPACITY = "store.writer.buffer.message.pool.capacity";
   public static final String SERVER_REST_SERVICE_STORAGE_THREAD_NUM = "server.rest.service.storage.thread.num";
   public static final String SERVER_NETTY_IDLE_TIME_SECONDS = "server.netty.idle.time.seconds";
   public static final String SERVER_MAX_REQUEST_SIZE = "server.max.request.size";
@@ -869,6 +889,13 @@ public class ConfigKeys {
    */
   public static final String SERVER_PARALLEL_BATCH_GET_CHUNK_SIZE = "server.parallel.batch.get.chunk.size";
 
+  /**
+   * The capacity in bytes of the cache of hot values, kept by the server for each store version it hosts in front of
+   * the storage engine to serve single-get and batch-get requests. The cache is disabled when this is 0, the default.
+   */
+  public static final String SERVER_READ_CACHE_CAPACITY_PER_STORE_VERSION_IN_BYTES =
+      "server.read.cache.capacity.per.store.version.in.bytes";
+
   /**
    * The request early termination threshold map:
    * The key will be store name, and the value will be the actual threshold.
@@ -1031,6 +1058,21 @@ public class ConfigKeys {
   public static final String SERVER_DATABASE_CHECKSUM_VERIFICATION_ENABLED =
       "server.database.checksum.verification.enabled";
 
+  /**
+   * The locally mounted directory in which the push jobs may stage one finalized SST file per partition of the batch
+   * data, instead of producing it to the version topic. The staged file of a partition, if any, is imported when the
+   * end of push is consumed. Disabled when empty, which is the default.
+   */
+  public static final String SERVER_SST_FILE_PUSH_STAGING_DIR = "server.sst.file.push.staging.dir";
+
+  /**
+   * Whether the push jobs of the cluster may stage their batch data as SST files, see
+   * {@link #SERVER_SST_FILE_PUSH_STAGING_DIR}. Only to be enabled once all the servers consuming the cluster's version
+   * topics have the staging dir configured and support the end of push marking the staged data. Otherwise, the push
+   * jobs produce the batch data to the version topic as usual. Disabled by default.
+   */
+  public static final String CONTROLLER_SST_FILE_PUSH_ENABLED = "controller.sst.file.push.enabled";
+
   /**
    * Any server config that start with "server.local.consumer.config.prefix" will be used as a customized consumer config
    * for local consumer.
@@ -1989,6 +2031,12 @@ public class ConfigKeys {
   public static final String BLOB_TRANSFER_MAX_TIMEOUT_IN_MIN = "blob.transfer.max.timeout.in.min";
   // this is a config to decide the max file receive timeout time in minutes in client side.
   public static final String BLOB_RECEIVE_MAX_TIMEOUT_IN_MIN = "blob.receive.max.timeout.in.min";
+  // this is a config to decide the max concurrent connections to fetch the files of a snapshot in client side. With
+  // the default value 1, all the files are fetched one after another over a single connection.
+  public static final String BLOB_RECEIVE_PARALLEL_CONNECTION_COUNT = "blob.receive.parallel.connection.count";
+  // this is a config to decide the max peers to fetch the files of a snapshot from at the same time in client side,
+  // when the files are fetched over multiple connections.
+  public static final String BLOB_RECEIVE_MAX_PEER_COUNT = "blob.receive.max.peer.count";
   // this is a config to decide the max allowed offset lag to use kafka, even if the blob transfer is enable.
   public static final String BLOB_TRANSFER_DISABLED_OFFSET_LAG_THRESHOLD =
       "blob.transfer.disabled.offset.lag.threshold";
@@ -2178,6 +2226,12 @@ public class ConfigKeys {
    */
   public static final String ROUTER_META_STORE_SHADOW_READ_ENABLED = "router.meta.store.shadow.read.enabled";
 
+  /**
+   * The capacity in bytes of the cache of responses kept by the router for the single-get and batch-get requests of
+   * immutable, batch-only store versions. The cache is disabled when this is 0, the default.
+   */
+  public static final String ROUTER_RESPONSE_CACHE_CAPACITY_IN_BYTES = "router.response.cache.capacity.in.bytes";
+
   /**
    * Defines the key names in venice.server.kafkaClustersMap
    */
@@ -2294,10 +2348,26 @@ public class ConfigKeys {
   public static final String SERVER_SSL_HANDSHAKE_QUEUE_CAPACITY = "server.ssl.handshake.queue.capacity";
 
   /**
-   * Number of threads for online Venice producer controlling the number of concurrent write operations.
+   * Number of threads for online Venice producer resolving the schemas and serializing the records of the write
+   * operations. The threads don't wait for the writes to be acknowledged, so this doesn't bound the number of
+   * concurrent write operations, see {@link #CLIENT_PRODUCER_MAX_IN_FLIGHT_BYTES}.
    */
   public static final String CLIENT_PRODUCER_THREAD_NUM = "client.producer.thread.num";
 
+  /**
+   * The max bytes of keys and values of the write operations sent by the online Venice producer, which haven't been
+   * acknowledged by the PubSub system yet. New write operations wait for earlier ones to be acknowledged past it.
+   */
+  public static final String CLIENT_PRODUCER_MAX_IN_FLIGHT_BYTES = "client.producer.max.in.flight.bytes";
+
+  /**
+   * How long the writes of the online Venice producer linger before being sent, so that the writes to the same key in
+   * the meantime are coalesced into a single message: the last put or delete wins, and partial updates are composed
+   * whenever possible. Each coalesced write completes once the message it ended up in is durable. Disabled with the
+   * default of 0, which sends every write on its own right away.
+   */
+  public static final String CLIENT_PRODUCER_LINGER_MS = "client.producer.linger.ms";
+
   /**
    * The refresh interval for online producer to refresh value schemas and update schemas that rely on periodic polling.
    */
@@ -2578,6 +2648,13 @@ public class ConfigKeys {
 
   public static final String SERVER_AA_WC_WORKLOAD_PARALLEL_PROCESSING_THREAD_POOL_SIZE =
       "server.aa.wc.workload.parallel.processing.thread.pool.size";
+
+  /**
+   * When positive, the key level locks of the Active/Active write path are striped by key hash across this many locks
+   * (rounded up to a power of two) per store version, instead of being assigned from a pool on demand.
+   * 0 keeps using the pooled key level locks.
+   */
+  public static final String SERVER_AA_WC_KEY_LEVEL_LOCK_STRIPE_COUNT = "server.aa.wc.key.level.lock.stripe.count";
   public static final String SERVER_GLOBAL_RT_DIV_ENABLED = "server.global.rt.div.enabled";
 
   /**
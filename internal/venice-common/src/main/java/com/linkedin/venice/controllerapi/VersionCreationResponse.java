@@ -26,6 +26,7 @@ public class VersionCreationResponse extends VersionResponse {
   private int amplificationFactor = 1;
 
   private boolean daVinciPushStatusStoreEnabled = false;
+  private boolean sstFilePushEnabled = false;
 
   private String kafkaSourceRegion = null;
 
@@ -117,6 +118,14 @@ public class VersionCreationResponse extends VersionResponse {
     return this.daVinciPushStatusStoreEnabled;
   }
 
+  public void setSstFilePushEnabled(boolean sstFilePushEnabled) {
+    this.sstFilePushEnabled = sstFilePushEnabled;
+  }
+
+  public boolean isSstFilePushEnabled() {
+    return this.sstFilePushEnabled;
+  }
+
   @JsonIgnore
   public String toString() {
     return VersionCreationResponse.class.getSimpleName() + "(partitions: " + partitions + ", replicas: " + replicas
@@ -124,6 +133,7 @@ public class VersionCreationResponse extends VersionResponse {
         + kafkaSourceRegion + ", enableSSL: " + enableSSL + ", compressionStrategy: " + compressionStrategy.toString()
         + ", partitionerClass: " + partitionerClass + ", partitionerParams: " + partitionerParams
         + ", amplificationFactor: " + amplificationFactor + ", daVinciPushStatusStoreEnabled: "
-        + daVinciPushStatusStoreEnabled + ", super: " + super.toString() + ")";
+        + daVinciPushStatusStoreEnabled + ", sstFilePushEnabled: " + sstFilePushEnabled + ", super: "
+        + super.toString() + ")";
   }
 }
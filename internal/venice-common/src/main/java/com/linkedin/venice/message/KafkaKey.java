@@ -33,8 +33,8 @@ public class KafkaKey implements Measurable {
           .putInt(0)
           .putInt(0)
           .array());
-  private final byte keyHeaderByte;
-  private final byte[] key; // TODO: Consider whether we may want to use a ByteBuffer here
+  private byte keyHeaderByte;
+  private byte[] key; // TODO: Consider whether we may want to use a ByteBuffer here
 
   public KafkaKey(@Nonnull MessageType messageType, @Nonnull byte[] key) {
     this(messageType.getKeyHeaderByte(), key);
@@ -45,6 +45,15 @@ public class KafkaKey implements Measurable {
     this.key = key;
   }
 
+  /**
+   * Only meant for the subclasses which recycle their instances, see
+   * {@link com.linkedin.venice.pubsub.PooledPubSubMessage}. Other keys are never modified after being constructed.
+   */
+  protected void reset(byte keyHeaderByte, @Nonnull byte[] key) {
+    this.keyHeaderByte = keyHeaderByte;
+    this.key = key;
+  }
+
   /**
    * The key header byte is the first byte in the content of the Kafka key. This is
    * significant because it affects Kafka's Log Compaction. For {@link MessageType#PUT}
@@ -33,7 +33,12 @@ public enum PersistenceType {
   /**
    * Similar to IN_MEMORY but with different retention rules of data (that is, data is evicted under certain circumstances)
    */
-  CACHE(4);
+  CACHE(4),
+
+  /**
+   * Volatile off-heap hash index serving all the reads, backed by a log and snapshot on local disk to survive restarts.
+   */
+  IN_MEMORY_HASH_INDEX(5);
 
   public final int value;
 
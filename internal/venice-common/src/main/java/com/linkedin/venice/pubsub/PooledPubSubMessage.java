@@ -0,0 +1,146 @@
+package com.linkedin.venice.pubsub;
+
+import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
+import com.linkedin.venice.memory.ClassSizeEstimator;
+import com.linkedin.venice.memory.InstanceSizeEstimator;
+import com.linkedin.venice.message.KafkaKey;
+import com.linkedin.venice.pubsub.api.DefaultPubSubMessage;
+import com.linkedin.venice.pubsub.api.PubSubMessageHeaders;
+import com.linkedin.venice.pubsub.api.PubSubPosition;
+import com.linkedin.venice.pubsub.api.PubSubTopicPartition;
+import com.linkedin.venice.utils.pools.ObjectPool;
+
+
+/**
+ * A {@link DefaultPubSubMessage} which goes back to the {@link ObjectPool} it was taken from once {@link #release()}
+ * is called, along with its {@link KafkaKey}, so that decoding a consumed record allocates neither of them.
+ *
+ * Only the container and its key are recycled: the key bytes, the value, the position and the headers are different
+ * instances for each record, and may therefore outlive it. Whoever calls {@link #release()} must however make sure that
+ * nothing references the message nor its key anymore, since they will be handed out again for another record.
+ * Messages which never get released are simply left to the garbage collector.
+ */
+public class PooledPubSubMessage implements DefaultPubSubMessage {
+  private static final int SHALLOW_CLASS_OVERHEAD = ClassSizeEstimator.getClassOverhead(PooledPubSubMessage.class);
+  private static final byte[] EMPTY_KEY = new byte[0];
+
+  private final ObjectPool<PooledPubSubMessage> pool;
+  private final ReusableKafkaKey key = new ReusableKafkaKey();
+  private KafkaMessageEnvelope value;
+  private PubSubTopicPartition topicPartition;
+  private PubSubPosition pubSubPosition;
+  private long timestamp;
+  private int payloadSize;
+  private PubSubMessageHeaders pubSubMessageHeaders;
+  private boolean released = true;
+
+  public PooledPubSubMessage(ObjectPool<PooledPubSubMessage> pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * Fills this message, which must have been taken from its pool, with the content of a consumed record.
+   *
+   * @return this message
+   */
+  public PooledPubSubMessage init(
+      byte keyHeaderByte,
+      byte[] keyBytes,
+      KafkaMessageEnvelope value,
+      PubSubTopicPartition topicPartition,
+      PubSubPosition pubSubPosition,
+      long timestamp,
+      int payloadSize,
+      PubSubMessageHeaders pubSubMessageHeaders) {
+    this.key.reset(keyHeaderByte, keyBytes);
+    this.value = value;
+    this.topicPartition = topicPartition;
+    this.pubSubPosition = pubSubPosition;
+    this.timestamp = timestamp;
+    this.payloadSize = payloadSize;
+    this.pubSubMessageHeaders = pubSubMessageHeaders;
+    this.released = false;
+    return this;
+  }
+
+  /**
+   * Gives this message back to its pool. Releasing a message more than once has no effect, until it gets handed out
+   * again.
+   */
+  public void release() {
+    if (released) {
+      return;
+    }
+    released = true;
+    // Don't keep the content of the record alive while this message waits in the pool
+    this.key.reset(key.getKeyHeaderByte(), EMPTY_KEY);
+    this.value = null;
+    this.pubSubPosition = null;
+    this.pubSubMessageHeaders = null;
+    pool.dispose(this);
+  }
+
+  @Override
+  public KafkaKey getKey() {
+    return key;
+  }
+
+  @Override
+  public KafkaMessageEnvelope getValue() {
+    return value;
+  }
+
+  @Override
+  public PubSubTopicPartition getTopicPartition() {
+    return topicPartition;
+  }
+
+  @Override
+  public PubSubPosition getPosition() {
+    return pubSubPosition;
+  }
+
+  @Override
+  public long getPubSubMessageTime() {
+    return timestamp;
+  }
+
+  @Override
+  public int getPayloadSize() {
+    return payloadSize;
+  }
+
+  @Override
+  public boolean isEndOfBootstrap() {
+    return false;
+  }
+
+  @Override
+  public PubSubMessageHeaders getPubSubMessageHeaders() {
+    return pubSubMessageHeaders;
+  }
+
+  @Override
+  public String toString() {
+    return "PubSubMessage{" + topicPartition + ", position=" + pubSubPosition + ", timestamp=" + timestamp + '}';
+  }
+
+  @Override
+  public int getHeapSize() {
+    /** The {@link #topicPartition} is supposed to be a shared instance, and is therefore ignored. */
+    return SHALLOW_CLASS_OVERHEAD + InstanceSizeEstimator.getObjectSize(key)
+        + InstanceSizeEstimator.getObjectSize(value) + InstanceSizeEstimator.getObjectSize(pubSubPosition);
+  }
+
+  private static final class ReusableKafkaKey extends KafkaKey {
+    ReusableKafkaKey() {
+      super((byte) 0, EMPTY_KEY);
+    }
+
+    /** Overridden to make it accessible from {@link PooledPubSubMessage}, which is in the same package. */
+    @Override
+    protected void reset(byte keyHeaderByte, byte[] key) {
+      super.reset(keyHeaderByte, key);
+    }
+  }
+}
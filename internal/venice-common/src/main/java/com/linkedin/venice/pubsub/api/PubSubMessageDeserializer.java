@@ -7,11 +7,16 @@ import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
 import com.linkedin.venice.kafka.protocol.enums.MessageType;
 import com.linkedin.venice.message.KafkaKey;
 import com.linkedin.venice.pubsub.ImmutablePubSubMessage;
+import com.linkedin.venice.pubsub.PooledPubSubMessage;
 import com.linkedin.venice.serialization.KafkaKeySerializer;
 import com.linkedin.venice.serialization.avro.KafkaValueSerializer;
 import com.linkedin.venice.serialization.avro.OptimizedKafkaValueSerializer;
+import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
+import com.linkedin.venice.utils.pools.BoundedObjectPool;
 import com.linkedin.venice.utils.pools.LandFillObjectPool;
 import com.linkedin.venice.utils.pools.ObjectPool;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.function.Supplier;
 import org.apache.avro.Schema;
 import org.apache.logging.log4j.LogManager;
@@ -23,18 +28,48 @@ import org.apache.logging.log4j.Logger;
  */
 public class PubSubMessageDeserializer {
   private static final Logger LOGGER = LogManager.getLogger(PubSubMessageDeserializer.class);
+  /**
+   * The protocol schemas carried by the headers are few, so this is only a safeguard against unexpected header values.
+   */
+  private static final int MAX_CACHED_HEADER_SCHEMAS = 16;
   private final KafkaKeySerializer keySerializer = new KafkaKeySerializer();
   private final KafkaValueSerializer valueSerializer;
   private final ObjectPool<KafkaMessageEnvelope> putEnvelopePool;
   private final ObjectPool<KafkaMessageEnvelope> updateEnvelopePool;
+  /**
+   * Null when the messages are not pooled, in which case a new {@link ImmutablePubSubMessage} is allocated for each
+   * record.
+   */
+  private final ObjectPool<PooledPubSubMessage> messagePool;
+  /**
+   * The schema string of a header only needs to be parsed when its protocol version is not known yet by the
+   * {@link #valueSerializer}, but that keeps happening for as long as the new schema fails to get registered.
+   */
+  private final Map<String, Schema> headerSchemaCache = new VeniceConcurrentHashMap<>();
 
   public PubSubMessageDeserializer(
       KafkaValueSerializer valueSerializer,
       ObjectPool<KafkaMessageEnvelope> putEnvelopePool,
       ObjectPool<KafkaMessageEnvelope> updateEnvelopePool) {
+    this(valueSerializer, putEnvelopePool, updateEnvelopePool, 0);
+  }
+
+  /**
+   * @param messagePoolCapacity when positive, the deserialized messages are {@link PooledPubSubMessage}s recycled
+   *                            through a pool holding up to this many of them, and which their consumer should
+   *                            {@link PooledPubSubMessage#release()} once it is done with them.
+   */
+  public PubSubMessageDeserializer(
+      KafkaValueSerializer valueSerializer,
+      ObjectPool<KafkaMessageEnvelope> putEnvelopePool,
+      ObjectPool<KafkaMessageEnvelope> updateEnvelopePool,
+      int messagePoolCapacity) {
     this.valueSerializer = valueSerializer;
     this.putEnvelopePool = putEnvelopePool;
     this.updateEnvelopePool = updateEnvelopePool;
+    this.messagePool = messagePoolCapacity > 0
+        ? new BoundedObjectPool<>(() -> new PooledPubSubMessage(this.messagePool), messagePoolCapacity)
+        : null;
   }
 
   /**
@@ -55,18 +90,16 @@ public class PubSubMessageDeserializer {
       PubSubMessageHeaders headers,
       PubSubPosition pubSubPosition,
       Long timestamp) {
-    // TODO: Put the key in an object pool as well
-    KafkaKey key = keySerializer.deserialize(null, keyBytes);
+    byte keyHeaderByte = KafkaKeySerializer.getKeyHeaderByte(keyBytes);
     KafkaMessageEnvelope value = null;
-    if (key.isControlMessage()) {
+    if (keyHeaderByte == MessageType.Constants.CONTROL_MESSAGE_KEY_HEADER_BYTE) {
       for (PubSubMessageHeader header: headers) {
         // only process VENICE_TRANSPORT_PROTOCOL_HEADER here. Other headers will be stored in
         // ImmutablePubSubMessage and used down the ingestion path later
         if (header.key().equals(VENICE_TRANSPORT_PROTOCOL_HEADER)) {
           try {
-            Supplier<Schema> providedProtocolSchema = () -> AvroCompatibilityHelper.parse(new String(header.value()));
-            value =
-                valueSerializer.deserialize(valueBytes, providedProtocolSchema, getEnvelope(key.getKeyHeaderByte()));
+            Supplier<Schema> providedProtocolSchema = () -> getHeaderSchema(header.value());
+            value = valueSerializer.deserialize(valueBytes, providedProtocolSchema, getEnvelope(keyHeaderByte));
           } catch (Exception e) {
             // Improper header... will ignore.
             LOGGER.warn(
@@ -79,11 +112,22 @@ public class PubSubMessageDeserializer {
       }
     }
     if (value == null) {
-      value = valueSerializer.deserialize(valueBytes, getEnvelope(key.getKeyHeaderByte()));
+      value = valueSerializer.deserialize(valueBytes, getEnvelope(keyHeaderByte));
+    }
+    if (messagePool != null) {
+      return messagePool.get()
+          .init(
+              keyHeaderByte,
+              keySerializer.deserializeKeyPayload(keyBytes),
+              value,
+              topicPartition,
+              pubSubPosition,
+              timestamp,
+              keyBytes.length + valueBytes.length,
+              headers);
     }
-    // TODO: Put the message container in an object pool as well
     return new ImmutablePubSubMessage(
-        key,
+        new KafkaKey(keyHeaderByte, keySerializer.deserializeKeyPayload(keyBytes)),
         value,
         topicPartition,
         pubSubPosition,
@@ -92,6 +136,18 @@ public class PubSubMessageDeserializer {
         headers);
   }
 
+  private Schema getHeaderSchema(byte[] headerValue) {
+    String schemaString = new String(headerValue, StandardCharsets.UTF_8);
+    Schema schema = headerSchemaCache.get(schemaString);
+    if (schema == null) {
+      schema = AvroCompatibilityHelper.parse(schemaString);
+      if (headerSchemaCache.size() < MAX_CACHED_HEADER_SCHEMAS) {
+        headerSchemaCache.put(schemaString, schema);
+      }
+    }
+    return schema;
+  }
+
   private KafkaMessageEnvelope getEnvelope(byte keyHeaderByte) {
     switch (keyHeaderByte) {
       case MessageType.Constants.PUT_KEY_HEADER_BYTE:
@@ -28,6 +28,24 @@ public class AvroStoreDeserializerCache<T> implements StoreDeserializerCache<T>
             : SerializerDeserializerFactory::getAvroGenericDeserializer);
   }
 
+  /**
+   * Deserializes all the values into records of the given projected reader schema, whichever reader schema ID is
+   * passed in. The projected schema only has some of the fields of the value schema it was derived from, so that the
+   * decoder skips the other fields of the writer schema instead of materializing them.
+   */
+  public AvroStoreDeserializerCache(
+      ReadOnlySchemaRepository schemaRepository,
+      String storeName,
+      Schema projectedReaderSchema,
+      boolean fastAvroEnabled) {
+    this(
+        id -> schemaRepository.getValueSchema(storeName, id).getSchema(),
+        id -> projectedReaderSchema,
+        fastAvroEnabled
+            ? FastSerializerDeserializerFactory::getFastAvroGenericDeserializer
+            : SerializerDeserializerFactory::getAvroGenericDeserializer);
+  }
+
   public AvroStoreDeserializerCache(SchemaReader schemaReader) {
     this(schemaReader::getValueSchema, FastSerializerDeserializerFactory::getFastAvroGenericDeserializer);
   }
@@ -35,8 +53,16 @@ public class AvroStoreDeserializerCache<T> implements StoreDeserializerCache<T>
   private AvroStoreDeserializerCache(
       IntFunction<Schema> schemaGetter,
       BiFunction<Schema, Schema, RecordDeserializer<T>> deserializerGetter) {
+    this(schemaGetter, schemaGetter, deserializerGetter);
+  }
+
+  private AvroStoreDeserializerCache(
+      IntFunction<Schema> writerSchemaGetter,
+      IntFunction<Schema> readerSchemaGetter,
+      BiFunction<Schema, Schema, RecordDeserializer<T>> deserializerGetter) {
     this.cache = new BiIntKeyCache<>(
-        (writerId, readerId) -> deserializerGetter.apply(schemaGetter.apply(writerId), schemaGetter.apply(readerId)));
+        (writerId, readerId) -> deserializerGetter
+            .apply(writerSchemaGetter.apply(writerId), readerSchemaGetter.apply(readerId)));
   }
 
   public RecordDeserializer<T> getDeserializer(int writerSchemaId, int readerSchemaId) {
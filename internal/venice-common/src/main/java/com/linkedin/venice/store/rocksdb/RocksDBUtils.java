@@ -23,6 +23,16 @@ public class RocksDBUtils {
   private static final String TEMP_SST_FILE_PREFIX = "sst_file_";
   private static final String TEMP_RMD_SST_FILE_PREFIX = "sst_rmd_file_";
   private static final String TEMP_SNAPSHOT_DIR = ".snapshot_files";
+  private static final String STAGED_SST_FILE_PREFIX = "data_";
+  private static final String STAGED_SST_FILE_SUFFIX = ".sst";
+  private static final String STAGED_SST_MANIFEST_NAME = "MANIFEST";
+
+  /**
+   * The properties of the manifest which goes along with a staged SST file, see {@link #composeStagedSSTManifestPath}.
+   */
+  public static final String STAGED_SST_FILE_NAME = "file.name";
+  public static final String STAGED_SST_RECORD_COUNT = "record.count";
+  public static final String STAGED_SST_CHECKSUM = "checksum";
 
   public static String getPartitionDbName(String storeName, int partitionId) {
     return String.format(PARTITION_DB_NAME, storeName, partitionId);
@@ -70,6 +80,42 @@ public class RocksDBUtils {
     return composePartitionDbDir(dbDir, topicName, partitionId) + File.separator + TEMP_RMD_SST_FILE_DIR;
   }
 
+  // ex. /staging/directory/storeName_v3
+  public static String composeStagedSSTTopicDir(String stagingDir, String topicName) {
+    return stagingDir + "/" + topicName;
+  }
+
+  // ex. /staging/directory/storeName_v3/3
+  public static String composeStagedSSTFileDir(String stagingDir, String topicName, int partitionId) {
+    return composeStagedSSTTopicDir(stagingDir, topicName) + "/" + partitionId;
+  }
+
+  /**
+   * @param attemptId unique to the attempt of the push job task which writes the file, so that concurrent attempts
+   *                  never write into the same file
+   * @return the name of an SST file staged for a partition, holding its records as stored by the servers
+   */
+  public static String composeStagedSSTFileName(String attemptId) {
+    return STAGED_SST_FILE_PREFIX + attemptId + STAGED_SST_FILE_SUFFIX;
+  }
+
+  /**
+   * @return the path of the SST file with the given {@link #STAGED_SST_FILE_NAME}, as found in the manifest
+   */
+  public static String composeStagedSSTFilePath(String stagingDir, String topicName, int partitionId, String fileName) {
+    return composeStagedSSTFileDir(stagingDir, topicName, partitionId) + "/" + fileName;
+  }
+
+  /**
+   * @return the path of the manifest of the SST file staged for a partition, which holds its
+   *         {@link #STAGED_SST_FILE_NAME}, {@link #STAGED_SST_RECORD_COUNT} and {@link #STAGED_SST_CHECKSUM}, and which
+   *         is exclusively created once the SST file is complete. The manifest of a partition without any record only
+   *         holds a {@link #STAGED_SST_RECORD_COUNT} of 0
+   */
+  public static String composeStagedSSTManifestPath(String stagingDir, String topicName, int partitionId) {
+    return composeStagedSSTFileDir(stagingDir, topicName, partitionId) + "/" + STAGED_SST_MANIFEST_NAME;
+  }
+
   public static String composeTempSSTFileName(int fileNo) {
     return TEMP_SST_FILE_PREFIX + fileNo;
   }
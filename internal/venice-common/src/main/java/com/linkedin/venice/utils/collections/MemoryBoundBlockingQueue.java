@@ -8,7 +8,6 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Queue;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
@@ -45,7 +44,7 @@ import org.apache.logging.log4j.Logger;
  *
  * @param <T>
  */
-public class MemoryBoundBlockingQueue<T extends Measurable> implements BlockingQueue<T> {
+public class MemoryBoundBlockingQueue<T extends Measurable> implements MemoryBoundQueue<T> {
   private static final Logger LOGGER = LogManager.getLogger(MemoryBoundBlockingQueue.class);
   /**
    * Considering the node implementation: {@link java.util.LinkedList.Node}, the overhead is three references.
@@ -78,10 +77,12 @@ public class MemoryBoundBlockingQueue<T extends Measurable> implements BlockingQ
     this.remainingMemoryCapacityInByte = new AtomicLong(this.memoryCapacityInByte);
   }
 
+  @Override
   public long getMemoryUsage() {
     return memoryCapacityInByte - remainingMemoryCapacityInByte();
   }
 
+  @Override
   public long remainingMemoryCapacityInByte() {
     return remainingMemoryCapacityInByte.get();
   }
@@ -245,12 +246,44 @@ public class MemoryBoundBlockingQueue<T extends Measurable> implements BlockingQ
 
   @Override
   public int drainTo(Collection<? super T> c) {
-    throw new VeniceException("Operation is not supported yet!");
+    return drainTo(c, Integer.MAX_VALUE, Long.MAX_VALUE);
   }
 
   @Override
   public int drainTo(Collection<? super T> c, int maxElements) {
-    throw new VeniceException("Operation is not supported yet!");
+    return drainTo(c, maxElements, Long.MAX_VALUE);
+  }
+
+  /**
+   * Non-blocking, and the whole batch is moved with a single lock acquisition.
+   */
+  @Override
+  public int drainTo(Collection<? super T> c, int maxElements, long maxMemoryInBytes) {
+    if (c == this) {
+      throw new IllegalArgumentException("Cannot drain a queue into itself");
+    }
+    int count = 0;
+    long drainedMemoryInBytes = 0;
+    this.memoryLock.lock();
+    try {
+      T record;
+      while (count < maxElements && drainedMemoryInBytes < maxMemoryInBytes && (record = this.queue.poll()) != null) {
+        c.add(record);
+        drainedMemoryInBytes += getRecordSize(record);
+        ++count;
+      }
+      if (count > 0) {
+        currentFreedMemoryInBytes += drainedMemoryInBytes;
+        if (currentFreedMemoryInBytes >= notifyDeltaInByte) {
+          remainingMemoryCapacityInByte.getAndAdd(currentFreedMemoryInBytes);
+          currentFreedMemoryInBytes = 0;
+          hasEnoughMemory.signalAll();
+        }
+      }
+    } finally {
+      memoryLock.unlock();
+    }
+    return count;
   }
 
   /**
@@ -0,0 +1,26 @@
+package com.linkedin.venice.utils.collections;
+
+import com.linkedin.venice.memory.Measurable;
+import java.util.Collection;
+import java.util.concurrent.BlockingQueue;
+
+
+/**
+ * A {@link BlockingQueue} bounded by the heap size of the {@link Measurable} objects buffered inside, instead of by
+ * the number of objects.
+ *
+ * @see MemoryBoundBlockingQueue
+ * @see MemoryBoundRingBufferQueue
+ */
+public interface MemoryBoundQueue<T extends Measurable> extends BlockingQueue<T> {
+  long getMemoryUsage();
+
+  long remainingMemoryCapacityInByte();
+
+  /**
+   * Same as {@link #drainTo(Collection, int)}, but it also stops once the accumulated heap size of the
+   * drained objects reaches {@param maxMemoryInBytes}. The object crossing the threshold is still drained, so that
+   * progress can always be made.
+   */
+  int drainTo(Collection<? super T> c, int maxElements, long maxMemoryInBytes);
+}
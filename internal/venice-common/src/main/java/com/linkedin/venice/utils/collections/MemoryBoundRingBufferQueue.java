@@ -0,0 +1,461 @@
+package com.linkedin.venice.utils.collections;
+
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.memory.Measurable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * This class is a lock-free, array-backed alternative of {@link MemoryBoundBlockingQueue}, which supports multiple
+ * producers and a SINGLE consumer.
+ *
+ * The buffered objects are kept in a pre-allocated ring buffer, and each slot of the ring buffer carries a sequence
+ * number which tells the producers whether the slot is free and the consumer whether the slot has been published
+ * (bounded MPMC queue from Dmitry Vyukov, simplified for a single consumer). In the common case, {@link #put} costs a
+ * CAS on the memory capacity and a CAS on the tail of the ring buffer, and {@link #take} doesn't need any atomic
+ * read-modify-write at all, so there is neither node allocation nor lock round trip on the hot path.
+ *
+ * The memory accounting is the same as the one of {@link MemoryBoundBlockingQueue}: the queue is bounded by
+ * {@link Measurable#getHeapSize()} of the buffered objects, and the memory freed by the consumer is only handed back
+ * to the producers once it reaches {@link #notifyDeltaInByte}, check the javadoc of {@link MemoryBoundBlockingQueue}
+ * for the reason behind it. On top of that, the queue is also bounded by the number of slots of the ring buffer.
+ *
+ * The internal lock is only used by the threads which need to block, which are the producers when there is not
+ * enough memory or free slot, and the consumer when the queue is empty. The threads on the other side only touch it
+ * when they know that someone is waiting.
+ *
+ * {@link #take}, {@link #poll}, {@link #drainTo} must only be called by a single consumer thread at any given time.
+ *
+ * @param <T>
+ */
+public class MemoryBoundRingBufferQueue<T extends Measurable> implements MemoryBoundQueue<T> {
+  private static final Logger LOGGER = LogManager.getLogger(MemoryBoundRingBufferQueue.class);
+
+  private final AtomicReferenceArray<T> buffer;
+  private final AtomicLongArray sequences;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong(0);
+  /**
+   * Only updated by the consumer, and volatile so that {@link #size()} can be called by any thread.
+   */
+  private volatile long head = 0;
+
+  private final long memoryCapacityInByte;
+  private final long notifyDeltaInByte;
+  private final AtomicLong remainingMemoryCapacityInByte;
+  // Accumulated free memory since last notification, only accessed by the consumer
+  private long currentFreedMemoryInBytes = 0;
+
+  private final Lock waitLock = new ReentrantLock();
+  private final Condition hasEnoughMemory = waitLock.newCondition();
+  private final Condition hasFreeSlot = waitLock.newCondition();
+  private final Condition notEmpty = waitLock.newCondition();
+  private final AtomicInteger memoryWaiterCount = new AtomicInteger(0);
+  private final AtomicInteger slotWaiterCount = new AtomicInteger(0);
+  private volatile boolean consumerWaiting = false;
+
+  public MemoryBoundRingBufferQueue(long memoryCapacityInByte, long notifyDeltaInByte, int capacity) {
+    if (notifyDeltaInByte > memoryCapacityInByte) {
+      throw new IllegalArgumentException(
+          "Param notifyDeltaInByte: " + notifyDeltaInByte + " should not be bigger than param memoryCapacityInByte: "
+              + memoryCapacityInByte);
+    }
+    if (capacity < 1 || capacity > (1 << 30)) {
+      throw new IllegalArgumentException("Param capacity: " + capacity + " should be within [1, 2^30]");
+    }
+    int slotCount = Integer.highestOneBit(capacity);
+    if (slotCount < capacity) {
+      slotCount <<= 1;
+    }
+    this.buffer = new AtomicReferenceArray<>(slotCount);
+    this.sequences = new AtomicLongArray(slotCount);
+    for (int i = 0; i < slotCount; ++i) {
+      this.sequences.set(i, i);
+    }
+    this.mask = slotCount - 1;
+    this.memoryCapacityInByte = memoryCapacityInByte;
+    this.notifyDeltaInByte = notifyDeltaInByte;
+    this.remainingMemoryCapacityInByte = new AtomicLong(this.memoryCapacityInByte);
+  }
+
+  @Override
+  public long getMemoryUsage() {
+    return memoryCapacityInByte - remainingMemoryCapacityInByte();
+  }
+
+  @Override
+  public long remainingMemoryCapacityInByte() {
+    return remainingMemoryCapacityInByte.get();
+  }
+
+  /**
+   * @return the number of slots of the ring buffer, which is the capacity passed in rounded up to a power of two.
+   */
+  public int getSlotCount() {
+    return buffer.length();
+  }
+
+  private long getRecordSize(T record) {
+    return record.getHeapSize();
+  }
+
+  @Override
+  public void put(T record) throws InterruptedException {
+    long recordSize = getRecordSize(record);
+    if (recordSize > notifyDeltaInByte) {
+      LOGGER.warn(
+          "Record size of record: " + record + " is " + recordSize + ", which exceeds notifyDeltaInByte: "
+              + notifyDeltaInByte + ", and it could potentially be blocked when the buffer is full.");
+    }
+    reserveMemory(recordSize);
+    try {
+      enqueue(record);
+    } catch (InterruptedException e) {
+      releaseMemory(recordSize);
+      throw e;
+    }
+    if (consumerWaiting) {
+      waitLock.lock();
+      try {
+        notEmpty.signal();
+      } finally {
+        waitLock.unlock();
+      }
+    }
+  }
+
+  private void reserveMemory(long recordSize) throws InterruptedException {
+    while (true) {
+      long remaining = remainingMemoryCapacityInByte.get();
+      if (remaining >= recordSize) {
+        if (remainingMemoryCapacityInByte.compareAndSet(remaining, remaining - recordSize)) {
+          return;
+        }
+        continue;
+      }
+      /**
+       * The waiter count needs to be bumped before checking the memory capacity again, so that the consumer handing
+       * back memory either gets seen by the following check or sees the waiter and signals it.
+       */
+      memoryWaiterCount.incrementAndGet();
+      waitLock.lock();
+      try {
+        while (remainingMemoryCapacityInByte.get() < recordSize) {
+          hasEnoughMemory.await();
+        }
+      } finally {
+        waitLock.unlock();
+        memoryWaiterCount.decrementAndGet();
+      }
+    }
+  }
+
+  private void releaseMemory(long size) {
+    remainingMemoryCapacityInByte.getAndAdd(size);
+    if (memoryWaiterCount.get() > 0) {
+      waitLock.lock();
+      try {
+        hasEnoughMemory.signalAll();
+      } finally {
+        waitLock.unlock();
+      }
+    }
+  }
+
+  private void enqueue(T record) throws InterruptedException {
+    if (tryEnqueue(record)) {
+      return;
+    }
+    slotWaiterCount.incrementAndGet();
+    waitLock.lock();
+    try {
+      while (!tryEnqueue(record)) {
+        hasFreeSlot.await();
+      }
+    } finally {
+      waitLock.unlock();
+      slotWaiterCount.decrementAndGet();
+    }
+  }
+
+  private boolean tryEnqueue(T record) {
+    long position = tail.get();
+    while (true) {
+      int index = (int) (position & mask);
+      long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          buffer.lazySet(index, record);
+          // Publish the slot to the consumer
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        // The slot hasn't been consumed yet since the last lap, so the ring buffer is full.
+        return false;
+      } else {
+        // Another producer has claimed this position already.
+        position = tail.get();
+      }
+    }
+  }
+
+  /**
+   * Only called by the consumer thread.
+   *
+   * @return the head of the queue, or null if the queue is empty. The memory of the returned record is not accounted
+   *         as freed yet, which is the responsibility of the caller.
+   */
+  private T dequeue() {
+    long position = head;
+    int index = (int) (position & mask);
+    if (sequences.get(index) != position + 1) {
+      return null;
+    }
+    T record = buffer.get(index);
+    buffer.lazySet(index, null);
+    head = position + 1;
+    // Hand the slot back to the producers for the next lap
+    sequences.set(index, position + buffer.length());
+    return record;
+  }
+
+  /**
+   * Only called by the consumer thread, after having dequeued some records.
+   */
+  private void onDequeued(long freedMemoryInBytes) {
+    currentFreedMemoryInBytes += freedMemoryInBytes;
+    /**
+     * It won't notify the blocked {@link #put(Measurable)} thread until the freed memory exceeds
+     * pre-defined {@link #notifyDeltaInByte}.
+     */
+    if (currentFreedMemoryInBytes >= notifyDeltaInByte) {
+      long freed = currentFreedMemoryInBytes;
+      currentFreedMemoryInBytes = 0;
+      releaseMemory(freed);
+    }
+    if (slotWaiterCount.get() > 0) {
+      waitLock.lock();
+      try {
+        hasFreeSlot.signalAll();
+      } finally {
+        waitLock.unlock();
+      }
+    }
+  }
+
+  @Override
+  public T take() throws InterruptedException {
+    T record = dequeue();
+    if (record == null) {
+      waitLock.lock();
+      try {
+        consumerWaiting = true;
+        while ((record = dequeue()) == null) {
+          notEmpty.await();
+        }
+      } finally {
+        consumerWaiting = false;
+        waitLock.unlock();
+      }
+    }
+    onDequeued(getRecordSize(record));
+    return record;
+  }
+
+  @Override
+  public T poll() {
+    T record = dequeue();
+    if (record != null) {
+      onDequeued(getRecordSize(record));
+    }
+    return record;
+  }
+
+  @Override
+  public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+    T record = dequeue();
+    if (record == null) {
+      long remainingNanos = unit.toNanos(timeout);
+      waitLock.lock();
+      try {
+        consumerWaiting = true;
+        while ((record = dequeue()) == null) {
+          if (remainingNanos <= 0) {
+            return null;
+          }
+          remainingNanos = notEmpty.awaitNanos(remainingNanos);
+        }
+      } finally {
+        consumerWaiting = false;
+        waitLock.unlock();
+      }
+    }
+    onDequeued(getRecordSize(record));
+    return record;
+  }
+
+  /**
+   * Moves all the records currently available into the given collection without blocking, and hands the freed
+   * memory and slots back to the producers once for the whole batch.
+   */
+  @Override
+  public int drainTo(Collection<? super T> c) {
+    return drainTo(c, Integer.MAX_VALUE, Long.MAX_VALUE);
+  }
+
+  @Override
+  public int drainTo(Collection<? super T> c, int maxElements) {
+    return drainTo(c, maxElements, Long.MAX_VALUE);
+  }
+
+  @Override
+  public int drainTo(Collection<? super T> c, int maxElements, long maxMemoryInBytes) {
+    if (c == this) {
+      throw new IllegalArgumentException("Cannot drain a queue into itself");
+    }
+    int count = 0;
+    long freedMemoryInBytes = 0;
+    T record;
+    while (count < maxElements && freedMemoryInBytes < maxMemoryInBytes && (record = dequeue()) != null) {
+      c.add(record);
+      freedMemoryInBytes += getRecordSize(record);
+      ++count;
+    }
+    if (count > 0) {
+      onDequeued(freedMemoryInBytes);
+    }
+    return count;
+  }
+
+  @Override
+  public int size() {
+    /**
+     * Reading {@link #head} first guarantees that the result is never negative, and it could temporarily include
+     * the records being published by the producers.
+     */
+    long currentHead = head;
+    return (int) Math.min(tail.get() - currentHead, buffer.length());
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public boolean offer(T t, long timeout, TimeUnit unit) throws InterruptedException {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public boolean add(T t) {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public boolean offer(T t) {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public T remove() {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public T element() {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public T peek() {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public int remainingCapacity() {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public boolean containsAll(Collection<?> c) {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends T> c) {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public boolean removeAll(Collection<?> c) {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public boolean retainAll(Collection<?> c) {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public void clear() {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  /**
+   * Weakly consistent, like the iterators of the concurrent collections: the records being published or consumed
+   * concurrently may or may not be seen.
+   */
+  @Override
+  public boolean contains(Object o) {
+    if (o == null) {
+      return false;
+    }
+    long end = tail.get();
+    for (long position = head; position < end; ++position) {
+      int index = (int) (position & mask);
+      if (sequences.get(index) != position + 1) {
+        continue;
+      }
+      T record = buffer.get(index);
+      // Make sure the slot hasn't been consumed and reused while reading it
+      if (record != null && sequences.get(index) == position + 1 && o.equals(record)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public Object[] toArray() {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+
+  @Override
+  public <T1> T1[] toArray(T1[] a) {
+    throw new VeniceException("Operation is not supported yet!");
+  }
+}
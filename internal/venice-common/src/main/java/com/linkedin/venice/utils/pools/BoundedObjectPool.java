@@ -0,0 +1,39 @@
+package com.linkedin.venice.utils.pools;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+
+
+/**
+ * An implementation which keeps up to a fixed number of disposed objects around to hand them out again, and which
+ * instantiates a new object whenever none is available. The objects disposed of while the pool is full are left to
+ * the garbage collector.
+ *
+ * Objects can be gotten and disposed of from different threads, and neither operation allocates.
+ */
+public class BoundedObjectPool<O> extends AbstractObjectPool<O> {
+  private final ArrayBlockingQueue<O> pooledObjects;
+
+  public BoundedObjectPool(Supplier<O> objectSupplier, int capacity) {
+    super(objectSupplier);
+    this.pooledObjects = new ArrayBlockingQueue<>(capacity);
+  }
+
+  @Override
+  public O get() {
+    O object = pooledObjects.poll();
+    return object == null ? super.get() : object;
+  }
+
+  @Override
+  public void dispose(O object) {
+    pooledObjects.offer(object);
+  }
+
+  /**
+   * @return the number of objects currently waiting in the pool to be handed out again
+   */
+  public int size() {
+    return pooledObjects.size();
+  }
+}
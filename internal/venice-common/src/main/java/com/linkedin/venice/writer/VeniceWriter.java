@@ -17,6 +17,7 @@ import com.linkedin.venice.guid.HeartbeatGuidV3Generator;
 import com.linkedin.venice.kafka.protocol.ControlMessage;
 import com.linkedin.venice.kafka.protocol.Delete;
 import com.linkedin.venice.kafka.protocol.EndOfIncrementalPush;
+import com.linkedin.venice.kafka.protocol.EndOfPush;
 import com.linkedin.venice.kafka.protocol.EndOfSegment;
 import com.linkedin.venice.kafka.protocol.GUID;
 import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
@@ -1281,7 +1282,19 @@ public class VeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U> {
    * @param debugInfo arbitrary key/value pairs of information that will be propagated alongside the control message.
    */
   public void broadcastEndOfPush(Map<String, String> debugInfo) {
-    broadcastControlMessage(getEmptyControlMessage(ControlMessageType.END_OF_PUSH), debugInfo);
+    broadcastEndOfPush(false, debugInfo);
+  }
+
+  /**
+   * @param sstFilesStaged whether the data of the push was staged as one SST file per partition rather than produced
+   *                       to the topic, see {@link EndOfPush#sstFilesStaged}.
+   * @param debugInfo arbitrary key/value pairs of information that will be propagated alongside the control message.
+   */
+  public void broadcastEndOfPush(boolean sstFilesStaged, Map<String, String> debugInfo) {
+    ControlMessage controlMessage = getEmptyControlMessage(ControlMessageType.END_OF_PUSH);
+    EndOfPush endOfPush = (EndOfPush) controlMessage.controlMessageUnion;
+    endOfPush.sstFilesStaged = sstFilesStaged;
+    broadcastControlMessage(controlMessage, debugInfo);
     endAllSegments(true);
   }
 
@@ -3,6 +3,10 @@ package com.linkedin.venice.pubsub.api;
 import static com.linkedin.venice.pubsub.api.PubSubMessageHeaders.VENICE_TRANSPORT_PROTOCOL_HEADER;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 
 import com.linkedin.venice.exceptions.VeniceMessageException;
 import com.linkedin.venice.kafka.protocol.GUID;
@@ -11,6 +15,7 @@ import com.linkedin.venice.kafka.protocol.ProducerMetadata;
 import com.linkedin.venice.kafka.protocol.Put;
 import com.linkedin.venice.kafka.protocol.enums.MessageType;
 import com.linkedin.venice.message.KafkaKey;
+import com.linkedin.venice.pubsub.PooledPubSubMessage;
 import com.linkedin.venice.pubsub.PubSubTopicPartitionImpl;
 import com.linkedin.venice.pubsub.PubSubTopicRepository;
 import com.linkedin.venice.serialization.KafkaKeySerializer;
@@ -132,6 +137,64 @@ public class PubSubMessageDeserializerTest {
     assertEquals(message.getPosition(), position);
   }
 
+  @Test
+  public void testDeserializerWithPooledMessages() {
+    PubSubMessageDeserializer pooledDeserializer = new PubSubMessageDeserializer(
+        new OptimizedKafkaValueSerializer(),
+        new LandFillObjectPool<>(KafkaMessageEnvelope::new),
+        new LandFillObjectPool<>(KafkaMessageEnvelope::new),
+        1);
+    try {
+      KafkaKey key1 = new KafkaKey(MessageType.PUT, "key1".getBytes());
+      KafkaKey key2 = new KafkaKey(MessageType.CONTROL_MESSAGE, "key2".getBytes());
+      KafkaMessageEnvelope value = getDummyValue();
+      byte[] valueBytes = valueSerializer.serialize("test", value);
+      DefaultPubSubMessage message1 = pooledDeserializer.deserialize(
+          topicPartition,
+          keySerializer.serialize("test", key1),
+          valueBytes,
+          new PubSubMessageHeaders(),
+          position,
+          12L);
+      assertTrue(message1 instanceof PooledPubSubMessage);
+      assertEquals(message1.getKey().getKeyHeaderByte(), key1.getKeyHeaderByte());
+      assertEquals(message1.getKey().getKey(), key1.getKey());
+      assertEquals(message1.getValue(), value);
+      assertEquals(message1.getPosition(), position);
+      assertEquals(message1.getPayloadSize(), key1.getKeyLength() + 1 + valueBytes.length);
+      byte[] keyBytes1 = message1.getKey().getKey();
+
+      // The released message, along with its key, is handed out again for the next record
+      ((PooledPubSubMessage) message1).release();
+      assertNull(message1.getValue());
+      DefaultPubSubMessage message2 = pooledDeserializer.deserialize(
+          topicPartition,
+          keySerializer.serialize("test", key2),
+          valueBytes,
+          new PubSubMessageHeaders(),
+          position,
+          13L);
+      assertSame(message2, message1);
+      assertTrue(message2.getKey().isControlMessage());
+      assertEquals(message2.getKey().getKey(), key2.getKey());
+      assertEquals(message2.getPubSubMessageTime(), 13L);
+      // The key bytes of the previous record are left untouched
+      assertEquals(keyBytes1, key1.getKey());
+
+      // A message which is not released is never handed out again
+      DefaultPubSubMessage message3 = pooledDeserializer.deserialize(
+          topicPartition,
+          keySerializer.serialize("test", key1),
+          valueBytes,
+          new PubSubMessageHeaders(),
+          position,
+          14L);
+      assertNotSame(message3, message2);
+    } finally {
+      pooledDeserializer.close();
+    }
+  }
+
   private KafkaMessageEnvelope getDummyValue() {
     KafkaMessageEnvelope value = new KafkaMessageEnvelope();
     value.producerMetadata = new ProducerMetadata();
@@ -2,6 +2,8 @@ package com.linkedin.venice.utils.collections;
 
 import com.linkedin.venice.memory.Measurable;
 import com.linkedin.venice.utils.TestUtils;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.testng.Assert;
@@ -119,4 +121,24 @@ public class MemoryBoundBlockingQueueTest {
       TestUtils.shutdownThread(t);
     }
   }
+
+  @Test
+  public void testDrainToWithMemoryBound() throws InterruptedException {
+    MemoryBoundBlockingQueue<MeasurableObject> queue = new MemoryBoundBlockingQueue<>(10000, 100);
+    for (int i = 0; i < 20; ++i) {
+      queue.put(new MeasurableObject());
+    }
+    long recordSize = MemoryBoundBlockingQueue.LINKED_LIST_NODE_SHALLOW_OVERHEAD + MeasurableObject.SIZE;
+    List<MeasurableObject> drained = new ArrayList<>();
+    // The element count is the tighter bound
+    Assert.assertEquals(queue.drainTo(drained, 2, Long.MAX_VALUE), 2);
+    // The memory is the tighter bound
+    Assert.assertEquals(queue.drainTo(drained, 10, 3 * recordSize), 3);
+    // The record crossing the memory bound is still drained
+    Assert.assertEquals(queue.drainTo(drained, 10, 1), 1);
+    Assert.assertEquals(drained.size(), 6);
+    Assert.assertEquals(queue.size(), 14);
+    Assert.assertEquals(queue.drainTo(drained, Integer.MAX_VALUE, Long.MAX_VALUE), 14);
+    Assert.assertEquals(queue.getMemoryUsage(), 0);
+  }
 }
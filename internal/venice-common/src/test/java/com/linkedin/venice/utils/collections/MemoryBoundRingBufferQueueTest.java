@@ -0,0 +1,267 @@
+package com.linkedin.venice.utils.collections;
+
+import com.linkedin.venice.memory.Measurable;
+import com.linkedin.venice.utils.TestUtils;
+import com.linkedin.venice.utils.Time;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class MemoryBoundRingBufferQueueTest {
+  private static class MeasurableObject implements Measurable {
+    public static final int SIZE = 10;
+    private final int producerId;
+    private final int sequence;
+
+    MeasurableObject() {
+      this(0, 0);
+    }
+
+    MeasurableObject(int producerId, int sequence) {
+      this.producerId = producerId;
+      this.sequence = sequence;
+    }
+
+    @Override
+    public int getHeapSize() {
+      return SIZE;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof MeasurableObject)) {
+        return false;
+      }
+      MeasurableObject other = (MeasurableObject) o;
+      return producerId == other.producerId && sequence == other.sequence;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * producerId + sequence;
+    }
+  }
+
+  @Test
+  public void testSlotCountIsRoundedUpToPowerOfTwo() {
+    Assert.assertEquals(new MemoryBoundRingBufferQueue<MeasurableObject>(1000, 100, 1).getSlotCount(), 1);
+    Assert.assertEquals(new MemoryBoundRingBufferQueue<MeasurableObject>(1000, 100, 100).getSlotCount(), 128);
+    Assert.assertEquals(new MemoryBoundRingBufferQueue<MeasurableObject>(1000, 100, 128).getSlotCount(), 128);
+    Assert.assertThrows(IllegalArgumentException.class, () -> new MemoryBoundRingBufferQueue<>(1000, 100, 0));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new MemoryBoundRingBufferQueue<>(100, 1000, 16));
+  }
+
+  @Test
+  public void testPutIsBoundedByMemory() throws InterruptedException {
+    int memoryCap = 5000;
+    MemoryBoundRingBufferQueue<MeasurableObject> queue = new MemoryBoundRingBufferQueue<>(memoryCap, 1000, 1024);
+    int objectCntAtMost = memoryCap / MeasurableObject.SIZE;
+    Thread t = new Thread(() -> {
+      while (true) {
+        try {
+          queue.put(new MeasurableObject());
+        } catch (InterruptedException e) {
+          break;
+        }
+      }
+    });
+    t.start();
+    try {
+      TestUtils.waitForNonDeterministicAssertion(5, TimeUnit.SECONDS, () -> {
+        Assert.assertTrue(t.isAlive());
+        Assert.assertEquals(queue.size(), objectCntAtMost);
+        Assert.assertEquals(queue.getMemoryUsage(), memoryCap);
+        Assert.assertEquals(queue.remainingMemoryCapacityInByte(), 0);
+      });
+    } finally {
+      TestUtils.shutdownThread(t);
+    }
+  }
+
+  @Test
+  public void testPutIsBoundedBySlots() throws InterruptedException {
+    MemoryBoundRingBufferQueue<MeasurableObject> queue = new MemoryBoundRingBufferQueue<>(100000, 10, 16);
+    Thread t = new Thread(() -> {
+      while (true) {
+        try {
+          queue.put(new MeasurableObject());
+        } catch (InterruptedException e) {
+          break;
+        }
+      }
+    });
+    t.start();
+    try {
+      TestUtils.waitForNonDeterministicAssertion(5, TimeUnit.SECONDS, () -> {
+        Assert.assertTrue(t.isAlive());
+        Assert.assertEquals(queue.size(), 16);
+      });
+      // Free up a slot, which should wake up the producer
+      queue.take();
+      TestUtils.waitForNonDeterministicAssertion(5, TimeUnit.SECONDS, () -> Assert.assertEquals(queue.size(), 16));
+    } finally {
+      TestUtils.shutdownThread(t);
+    }
+  }
+
+  @Test
+  public void testThrottling() throws InterruptedException {
+    int memoryCap = 5000;
+    int notifyDelta = 1000;
+    MemoryBoundRingBufferQueue<MeasurableObject> queue =
+        new MemoryBoundRingBufferQueue<>(memoryCap, notifyDelta, 1024);
+    int objectCntAtMost = memoryCap / MeasurableObject.SIZE;
+    Thread t = new Thread(() -> {
+      while (true) {
+        try {
+          queue.put(new MeasurableObject());
+        } catch (InterruptedException e) {
+          break;
+        }
+      }
+    });
+    t.start();
+
+    try {
+      TestUtils.waitForNonDeterministicAssertion(5, TimeUnit.SECONDS, () -> {
+        Assert.assertTrue(t.isAlive());
+        Assert.assertEquals(queue.size(), objectCntAtMost);
+      });
+
+      int previousQueueSize = queue.size();
+      // The freed memory is not handed back to the producer until it reaches the notify delta
+      int objectCntTakenAtLeast = notifyDelta / MeasurableObject.SIZE;
+      for (int i = 1; i < objectCntTakenAtLeast; ++i) {
+        queue.take();
+        Assert.assertEquals(queue.size(), previousQueueSize - 1);
+        --previousQueueSize;
+      }
+      Assert.assertEquals(queue.remainingMemoryCapacityInByte(), 0);
+      // This will trigger a notification, which will allow more puts
+      queue.take();
+
+      TestUtils.waitForNonDeterministicAssertion(3, TimeUnit.SECONDS, () -> {
+        Assert.assertTrue(t.isAlive());
+        Assert.assertEquals(queue.size(), objectCntAtMost);
+      });
+    } finally {
+      TestUtils.shutdownThread(t);
+    }
+  }
+
+  @Test
+  public void testTakeBlocksUntilRecordIsAvailable() throws Exception {
+    MemoryBoundRingBufferQueue<MeasurableObject> queue = new MemoryBoundRingBufferQueue<>(5000, 100, 64);
+    Assert.assertNull(queue.poll());
+    Assert.assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<MeasurableObject> takeFuture = executor.submit(queue::take);
+      Thread.sleep(100);
+      Assert.assertFalse(takeFuture.isDone());
+      MeasurableObject object = new MeasurableObject(1, 1);
+      queue.put(object);
+      Assert.assertSame(takeFuture.get(5, TimeUnit.SECONDS), object);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testDrainToAndContains() throws InterruptedException {
+    MemoryBoundRingBufferQueue<MeasurableObject> queue = new MemoryBoundRingBufferQueue<>(5000, 100, 64);
+    // Go around the ring buffer before leaving some records inside
+    for (int i = 0; i < 70; ++i) {
+      queue.put(new MeasurableObject(0, i));
+      Assert.assertEquals(queue.take(), new MeasurableObject(0, i));
+    }
+    for (int i = 70; i < 100; ++i) {
+      queue.put(new MeasurableObject(0, i));
+    }
+    int remaining = queue.size();
+    Assert.assertEquals(remaining, 30);
+    Assert.assertTrue(queue.contains(new MeasurableObject(0, 99)));
+    Assert.assertFalse(queue.contains(new MeasurableObject(0, 69)));
+
+    List<MeasurableObject> drained = new ArrayList<>();
+    Assert.assertEquals(queue.drainTo(drained, 10), 10);
+    Assert.assertEquals(queue.drainTo(drained), remaining - 10);
+    Assert.assertEquals(queue.drainTo(drained), 0);
+    Assert.assertTrue(queue.isEmpty());
+    for (int i = 0; i < drained.size(); ++i) {
+      Assert.assertEquals(drained.get(i), new MeasurableObject(0, 70 + i));
+    }
+    Assert.assertFalse(queue.contains(new MeasurableObject(0, 99)));
+    // All the memory should be handed back once the freed memory reaches the notify delta
+    Assert.assertEquals(queue.getMemoryUsage(), 0);
+  }
+
+  @Test
+  public void testDrainToWithMemoryBound() throws InterruptedException {
+    MemoryBoundRingBufferQueue<MeasurableObject> queue = new MemoryBoundRingBufferQueue<>(5000, 100, 64);
+    for (int i = 0; i < 20; ++i) {
+      queue.put(new MeasurableObject(0, i));
+    }
+    List<MeasurableObject> drained = new ArrayList<>();
+    // The element count is the tighter bound
+    Assert.assertEquals(queue.drainTo(drained, 2, Long.MAX_VALUE), 2);
+    // The memory is the tighter bound
+    Assert.assertEquals(queue.drainTo(drained, 10, 3 * MeasurableObject.SIZE), 3);
+    // The record crossing the memory bound is still drained
+    Assert.assertEquals(queue.drainTo(drained, 10, 1), 1);
+    Assert.assertEquals(queue.size(), 14);
+    for (int i = 0; i < drained.size(); ++i) {
+      Assert.assertEquals(drained.get(i), new MeasurableObject(0, i));
+    }
+    Assert.assertEquals(queue.drainTo(drained, Integer.MAX_VALUE, Long.MAX_VALUE), 14);
+    Assert.assertEquals(queue.getMemoryUsage(), 0);
+  }
+
+  @Test(timeOut = 60 * Time.MS_PER_SECOND)
+  public void testMultipleProducersKeepPerProducerOrder() throws Exception {
+    int producerCount = 8;
+    int recordCountPerProducer = 20000;
+    MemoryBoundRingBufferQueue<MeasurableObject> queue = new MemoryBoundRingBufferQueue<>(10000, 1000, 128);
+    ExecutorService executor = Executors.newFixedThreadPool(producerCount);
+    AtomicInteger failedProducerCount = new AtomicInteger(0);
+    try {
+      for (int p = 0; p < producerCount; ++p) {
+        int producerId = p;
+        executor.submit(() -> {
+          try {
+            for (int i = 0; i < recordCountPerProducer; ++i) {
+              queue.put(new MeasurableObject(producerId, i));
+            }
+          } catch (InterruptedException e) {
+            failedProducerCount.incrementAndGet();
+          }
+        });
+      }
+      int[] nextSequences = new int[producerCount];
+      List<MeasurableObject> batch = new ArrayList<>();
+      int consumed = 0;
+      while (consumed < producerCount * recordCountPerProducer) {
+        batch.clear();
+        if (queue.drainTo(batch, 100) == 0) {
+          batch.add(queue.take());
+        }
+        for (MeasurableObject object: batch) {
+          Assert.assertEquals(object.sequence, nextSequences[object.producerId]++);
+        }
+        consumed += batch.size();
+      }
+      Assert.assertTrue(queue.isEmpty());
+      Assert.assertEquals(failedProducerCount.get(), 0);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -79,7 +79,8 @@ public class TestVeniceServer extends VeniceServer {
           ReadMetadataRetriever readMetadataRetriever,
           DiskHealthCheckService diskHealthService,
           StorageEngineBackedCompressorFactory compressorFactory,
-          Optional<ResourceReadUsageTracker> resourceReadUsageTracker) {
+          Optional<ResourceReadUsageTracker> resourceReadUsageTracker,
+          MetricsRepository metricsRepository) {
 
         return new StorageReadRequestHandler(
             serverConfig,
@@ -92,7 +93,8 @@ public class TestVeniceServer extends VeniceServer {
             readMetadataRetriever,
             diskHealthService,
             compressorFactory,
-            resourceReadUsageTracker) {
+            resourceReadUsageTracker,
+            metricsRepository) {
           @Override
           public void channelRead(ChannelHandlerContext context, Object message) throws Exception {
             RequestHandler handler = requestHandler.get();
@@ -0,0 +1,172 @@
+package com.linkedin.davinci.kafka.consumer;
+
+import com.linkedin.davinci.utils.ByteArrayKey;
+import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
+import com.linkedin.venice.kafka.protocol.enums.MessageType;
+import com.linkedin.venice.message.KafkaKey;
+import com.linkedin.venice.pubsub.ImmutablePubSubMessage;
+import com.linkedin.venice.pubsub.PubSubTopicPartitionImpl;
+import com.linkedin.venice.pubsub.PubSubTopicRepository;
+import com.linkedin.venice.pubsub.api.DefaultPubSubMessage;
+import com.linkedin.venice.pubsub.api.PubSubTopicPartition;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Compares the lock contention of {@link KeyLevelLocksManager} against {@link StripedKeyLevelLocksManager}, both for
+ * the per-record locking of {@link ActiveActiveStoreIngestionTask} and for the batch locking of
+ * {@link IngestionBatchProcessor}.
+ *
+ * This benchmark lives in the same package as the lock managers, since the API of {@link KeyLevelLocksManager} is
+ * package-private.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class KeyLevelLocksManagerBenchmark {
+  private static final int MAX_THREAD_COUNT = 32;
+  private static final int BATCH_SIZE = 16;
+  private static final int STRIPE_COUNT = 4096;
+  private static final PubSubTopicRepository TOPIC_REPOSITORY = new PubSubTopicRepository();
+
+  @Param({ "POOLED", "STRIPED" })
+  String lockManagerType;
+
+  /**
+   * A small key space simulates hot keys, and a large one simulates uniformly distributed writes.
+   */
+  @Param({ "64", "100000" })
+  int keySpaceSize;
+
+  KeyLevelLocksManager pooledLocksManager;
+  StripedKeyLevelLocksManager stripedLocksManager;
+  IngestionBatchProcessor batchProcessor;
+  byte[][] keys;
+  List<List<DefaultPubSubMessage>> batches;
+
+  public static void main(String[] args) throws RunnerException {
+    org.openjdk.jmh.runner.options.Options opt =
+        new OptionsBuilder().include(KeyLevelLocksManagerBenchmark.class.getSimpleName()).build();
+    new Runner(opt).run();
+  }
+
+  @Setup
+  public void setUp() {
+    if (lockManagerType.equals("STRIPED")) {
+      stripedLocksManager = new StripedKeyLevelLocksManager(STRIPE_COUNT);
+    } else {
+      // Every thread could hold the locks of a whole batch at the same time
+      pooledLocksManager =
+          new KeyLevelLocksManager("store_v1", MAX_THREAD_COUNT, MAX_THREAD_COUNT * BATCH_SIZE + 1);
+    }
+    batchProcessor = new IngestionBatchProcessor(
+        "store_v1",
+        null,
+        pooledLocksManager,
+        stripedLocksManager,
+        (ignored1, ignored2, ignored3, ignored4, ignored5, ignored6, ignored7) -> null,
+        true,
+        true,
+        null,
+        null);
+
+    keys = new byte[keySpaceSize][];
+    for (int i = 0; i < keySpaceSize; i++) {
+      keys[i] = ("key_" + i).getBytes(StandardCharsets.UTF_8);
+    }
+    PubSubTopicPartition rtTopicPartition = new PubSubTopicPartitionImpl(TOPIC_REPOSITORY.getTopic("store_rt"), 0);
+    batches = new ArrayList<>(1024);
+    for (int b = 0; b < 1024; b++) {
+      List<DefaultPubSubMessage> batch = new ArrayList<>(BATCH_SIZE);
+      for (int i = 0; i < BATCH_SIZE; i++) {
+        byte[] key = keys[ThreadLocalRandom.current().nextInt(keySpaceSize)];
+        batch.add(
+            new ImmutablePubSubMessage(
+                new KafkaKey(MessageType.PUT, key),
+                new KafkaMessageEnvelope(),
+                rtTopicPartition,
+                null,
+                0,
+                0));
+      }
+      batches.add(batch);
+    }
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void lockSingleKeyWithThreadCount_8() {
+    lockSingleKey();
+  }
+
+  @Benchmark
+  @Threads(16)
+  public void lockSingleKeyWithThreadCount_16() {
+    lockSingleKey();
+  }
+
+  @Benchmark
+  @Threads(32)
+  public void lockSingleKeyWithThreadCount_32() {
+    lockSingleKey();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void lockBatchWithThreadCount_8() {
+    lockBatch();
+  }
+
+  @Benchmark
+  @Threads(32)
+  public void lockBatchWithThreadCount_32() {
+    lockBatch();
+  }
+
+  /**
+   * Mirrors the critical section of {@link ActiveActiveStoreIngestionTask#delegateConsumerRecord}.
+   */
+  private void lockSingleKey() {
+    byte[] key = keys[ThreadLocalRandom.current().nextInt(keySpaceSize)];
+    if (stripedLocksManager != null) {
+      ReentrantLock lock = stripedLocksManager.getLockForKey(key);
+      lock.lock();
+      lock.unlock();
+    } else {
+      ByteArrayKey byteArrayKey = ByteArrayKey.wrap(key);
+      ReentrantLock lock = pooledLocksManager.acquireLockByKey(byteArrayKey);
+      lock.lock();
+      lock.unlock();
+      pooledLocksManager.releaseLock(byteArrayKey);
+    }
+  }
+
+  private void lockBatch() {
+    List<DefaultPubSubMessage> batch = batches.get(ThreadLocalRandom.current().nextInt(batches.size()));
+    IngestionBatchProcessor.LockedKeys lockedKeys = batchProcessor.lockKeys(batch);
+    batchProcessor.unlockKeys(lockedKeys);
+  }
+}
@@ -0,0 +1,110 @@
+package com.linkedin.davinci.store.memory;
+
+import com.linkedin.venice.utils.ByteArray;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Compares the memory footprint of {@link InMemoryStoragePartition}, which packs its records into slabs, against the
+ * map of {@link ByteArray} it used to keep, along with the time it takes to load them.
+ *
+ * Every invocation loads a fresh partition, and reports the heap it retains once loaded in the
+ * {@link Footprint#retainedBytesPerRecord} counter, while {@link Footprint#slabOverheadBytesPerRecord} is what the
+ * slabs and their index hold on top of the keys and values. This benchmark lives in the same package as the
+ * partition, to reach its package-private size accounting.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = { "-Xms4g", "-Xmx4g" })
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class InMemoryStoragePartitionBenchmark {
+  @Param({ "MAP", "SLAB" })
+  String partitionType;
+
+  @Param({ "1000000" })
+  int recordCount;
+
+  /**
+   * Meta store records are small, while 1KB is closer to the values of the test harnesses.
+   */
+  @Param({ "32", "1024" })
+  int valueSize;
+
+  private byte[][] keys;
+  private long keyBytes;
+  private byte[] value;
+
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class Footprint {
+    public long retainedBytesPerRecord;
+    public long slabOverheadBytesPerRecord;
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    keys = new byte[recordCount][];
+    for (int i = 0; i < recordCount; i++) {
+      keys[i] = ("key_" + i).getBytes(StandardCharsets.UTF_8);
+      keyBytes += keys[i].length;
+    }
+    value = new byte[valueSize];
+  }
+
+  @Benchmark
+  public Object load(Footprint footprint) {
+    long heapBefore = getUsedHeap();
+    Object partition;
+    if (partitionType.equals("MAP")) {
+      Map<ByteArray, ByteArray> map = new ConcurrentHashMap<>();
+      for (byte[] key: keys) {
+        // Copied, since the partition doesn't share the arrays it's given either
+        map.put(new ByteArray(key.clone()), new ByteArray(value.clone()));
+      }
+      partition = map;
+    } else {
+      InMemoryStoragePartition slabPartition = new InMemoryStoragePartition(0);
+      for (byte[] key: keys) {
+        slabPartition.put(key, value);
+      }
+      long payloadBytes = keyBytes + (long) recordCount * valueSize;
+      footprint.slabOverheadBytesPerRecord = (slabPartition.getAllocatedSizeInBytes() - payloadBytes) / recordCount;
+      partition = slabPartition;
+    }
+    footprint.retainedBytesPerRecord = (getUsedHeap() - heapBefore) / recordCount;
+    return partition;
+  }
+
+  private static long getUsedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(InMemoryStoragePartitionBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -0,0 +1,178 @@
+package com.linkedin.davinci.validation;
+
+import com.linkedin.venice.guid.GuidUtils;
+import com.linkedin.venice.kafka.protocol.ControlMessage;
+import com.linkedin.venice.kafka.protocol.GUID;
+import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
+import com.linkedin.venice.kafka.protocol.ProducerMetadata;
+import com.linkedin.venice.kafka.protocol.Put;
+import com.linkedin.venice.kafka.protocol.StartOfSegment;
+import com.linkedin.venice.kafka.protocol.enums.ControlMessageType;
+import com.linkedin.venice.kafka.protocol.enums.MessageType;
+import com.linkedin.venice.kafka.validation.Segment;
+import com.linkedin.venice.kafka.validation.checksum.CheckSumType;
+import com.linkedin.venice.message.KafkaKey;
+import com.linkedin.venice.pubsub.ImmutablePubSubMessage;
+import com.linkedin.venice.pubsub.PubSubTopicPartitionImpl;
+import com.linkedin.venice.pubsub.PubSubTopicRepository;
+import com.linkedin.venice.pubsub.adapter.kafka.common.ApacheKafkaOffsetPosition;
+import com.linkedin.venice.pubsub.api.DefaultPubSubMessage;
+import com.linkedin.venice.pubsub.api.PubSubTopicPartition;
+import com.linkedin.venice.utils.VeniceProperties;
+import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
+import com.linkedin.venice.utils.lazy.Lazy;
+import com.linkedin.venice.writer.VeniceWriter;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Measures the DIV of a real-time topic partition which many producers write to, as {@link PartitionTracker} does for
+ * every consumed record, along with the producer segment lookup alone in {@link ProducerSegmentMap} compared against
+ * the {@link VeniceConcurrentHashMap} keyed by {@link GUID} which it replaced.
+ *
+ * The synthetic stream interleaves the records of all the producers in a random order, each producer writing a single
+ * segment with consecutive sequence numbers, so that every record passes the validation.
+ *
+ * This benchmark lives in the same package as {@link ProducerSegmentMap}, since its API is package-private.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PartitionTrackerBenchmark {
+  private static final PubSubTopicRepository TOPIC_REPOSITORY = new PubSubTopicRepository();
+  private static final PartitionTracker.TopicType REAL_TIME_TOPIC =
+      PartitionTracker.TopicType.of(PartitionTracker.TopicType.REALTIME_TOPIC_TYPE, "localhost:1234");
+  private static final int STREAM_LENGTH = 1 << 16;
+
+  @Param({ "10", "1000", "10000" })
+  int producerCount;
+
+  PartitionTracker partitionTracker;
+  ProducerSegmentMap producerSegmentMap;
+  VeniceConcurrentHashMap<GUID, Segment> guidSegmentMap;
+  GUID[] guids;
+  /** The record of each producer, whose sequence number gets incremented each time it is validated. */
+  DefaultPubSubMessage[] producerRecords;
+  /** The index of the producer of each record of the stream. */
+  int[] stream;
+  int streamPosition;
+  long offset;
+
+  public static void main(String[] args) throws RunnerException {
+    org.openjdk.jmh.runner.options.Options opt =
+        new OptionsBuilder().include(PartitionTrackerBenchmark.class.getSimpleName()).build();
+    new Runner(opt).run();
+  }
+
+  @Setup
+  public void setUp() {
+    PubSubTopicPartition topicPartition = new PubSubTopicPartitionImpl(TOPIC_REPOSITORY.getTopic("store_rt"), 0);
+    partitionTracker = new PartitionTracker("store_v1", 0);
+    producerSegmentMap = new ProducerSegmentMap();
+    guidSegmentMap = new VeniceConcurrentHashMap<>();
+    guids = new GUID[producerCount];
+    producerRecords = new DefaultPubSubMessage[producerCount];
+    for (int i = 0; i < producerCount; i++) {
+      guids[i] = GuidUtils.getGUID(VeniceProperties.empty());
+      KafkaMessageEnvelope envelope = new KafkaMessageEnvelope();
+      envelope.messageType = MessageType.CONTROL_MESSAGE.getValue();
+      envelope.producerMetadata = getProducerMetadata(guids[i]);
+      envelope.payloadUnion = getStartOfSegment();
+      partitionTracker.validateMessage(REAL_TIME_TOPIC, getRecord(envelope, topicPartition), false, Lazy.FALSE);
+
+      // All the following records of the producer are puts
+      KafkaMessageEnvelope putEnvelope = new KafkaMessageEnvelope();
+      putEnvelope.messageType = MessageType.PUT.getValue();
+      putEnvelope.producerMetadata = getProducerMetadata(guids[i]);
+      Put put = new Put();
+      put.putValue = ByteBuffer.wrap(new byte[] { 1 });
+      put.schemaId = 1;
+      putEnvelope.payloadUnion = put;
+      producerRecords[i] = getRecord(putEnvelope, topicPartition);
+
+      Segment segment = new Segment(0, 0, CheckSumType.NONE);
+      producerSegmentMap.put(guids[i], segment);
+      guidSegmentMap.put(guids[i], segment);
+    }
+    stream = new int[STREAM_LENGTH];
+    for (int i = 0; i < STREAM_LENGTH; i++) {
+      stream[i] = ThreadLocalRandom.current().nextInt(producerCount);
+    }
+  }
+
+  @Benchmark
+  public void validateMessage() {
+    DefaultPubSubMessage record = producerRecords[nextProducer()];
+    record.getValue().producerMetadata.messageSequenceNumber++;
+    partitionTracker.validateMessage(REAL_TIME_TOPIC, record, true, Lazy.FALSE);
+  }
+
+  @Benchmark
+  public void lookUpProducerSegmentMap(Blackhole blackhole) {
+    blackhole.consume(producerSegmentMap.get(guids[nextProducer()]));
+  }
+
+  @Benchmark
+  public void lookUpGuidSegmentMap(Blackhole blackhole) {
+    blackhole.consume(guidSegmentMap.get(guids[nextProducer()]));
+  }
+
+  private int nextProducer() {
+    int producer = stream[streamPosition];
+    streamPosition = (streamPosition + 1) & (STREAM_LENGTH - 1);
+    return producer;
+  }
+
+  private DefaultPubSubMessage getRecord(KafkaMessageEnvelope envelope, PubSubTopicPartition topicPartition) {
+    return new ImmutablePubSubMessage(
+        new KafkaKey(MessageType.valueOf(envelope), new byte[] { 1 }),
+        envelope,
+        topicPartition,
+        ApacheKafkaOffsetPosition.of(offset++),
+        System.currentTimeMillis(),
+        0);
+  }
+
+  private static ProducerMetadata getProducerMetadata(GUID guid) {
+    ProducerMetadata producerMetadata = new ProducerMetadata();
+    producerMetadata.producerGUID = guid;
+    producerMetadata.segmentNumber = 0;
+    producerMetadata.messageSequenceNumber = 0;
+    producerMetadata.messageTimestamp = System.currentTimeMillis();
+    producerMetadata.logicalTimestamp = VeniceWriter.VENICE_DEFAULT_LOGICAL_TS;
+    return producerMetadata;
+  }
+
+  private static ControlMessage getStartOfSegment() {
+    ControlMessage controlMessage = new ControlMessage();
+    controlMessage.controlMessageType = ControlMessageType.START_OF_SEGMENT.getValue();
+    StartOfSegment startOfSegment = new StartOfSegment();
+    startOfSegment.upcomingAggregates = new ArrayList<>();
+    startOfSegment.checksumType = CheckSumType.NONE.getValue();
+    controlMessage.controlMessageUnion = startOfSegment;
+    controlMessage.debugInfo = new HashMap<>();
+    return controlMessage;
+  }
+}
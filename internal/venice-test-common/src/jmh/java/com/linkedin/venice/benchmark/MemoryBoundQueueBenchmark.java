@@ -0,0 +1,131 @@
+package com.linkedin.venice.benchmark;
+
+import com.linkedin.venice.memory.Measurable;
+import com.linkedin.venice.utils.collections.MemoryBoundBlockingQueue;
+import com.linkedin.venice.utils.collections.MemoryBoundQueue;
+import com.linkedin.venice.utils.collections.MemoryBoundRingBufferQueue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Compares {@link MemoryBoundBlockingQueue} against {@link MemoryBoundRingBufferQueue} with 8/16/32 producers and a
+ * single consumer, which is how the queues of {@link com.linkedin.davinci.kafka.consumer.StoreBufferService} are used.
+ *
+ * The benchmark threads are the producers, and the consumer is a background thread which keeps draining the queue for
+ * the whole trial, so that blocked producers can always make progress when an iteration ends.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MemoryBoundQueueBenchmark {
+  private static final long MEMORY_CAPACITY_IN_BYTES = 10 * 1024 * 1024;
+  private static final long NOTIFY_DELTA_IN_BYTES = 1024 * 1024;
+  private static final int RING_BUFFER_CAPACITY = 64 * 1024;
+  private static final int DRAIN_BATCH_SIZE = 100;
+
+  @Param({ "LINKED_LIST", "RING_BUFFER" })
+  String queueType;
+
+  @Param({ "100", "1000" })
+  int recordSize;
+
+  MemoryBoundQueue<Record> queue;
+  Thread consumer;
+
+  private static class Record implements Measurable {
+    private final int heapSize;
+
+    Record(int heapSize) {
+      this.heapSize = heapSize;
+    }
+
+    @Override
+    public int getHeapSize() {
+      return heapSize;
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    org.openjdk.jmh.runner.options.Options opt =
+        new OptionsBuilder().include(MemoryBoundQueueBenchmark.class.getSimpleName()).build();
+    new Runner(opt).run();
+  }
+
+  @Setup
+  public void setUp() {
+    if (queueType.equals("RING_BUFFER")) {
+      queue = new MemoryBoundRingBufferQueue<>(MEMORY_CAPACITY_IN_BYTES, NOTIFY_DELTA_IN_BYTES, RING_BUFFER_CAPACITY);
+      consumer = new Thread(() -> {
+        List<Record> batch = new ArrayList<>(DRAIN_BATCH_SIZE);
+        try {
+          while (true) {
+            batch.clear();
+            if (queue.drainTo(batch, DRAIN_BATCH_SIZE) == 0) {
+              queue.take();
+            }
+          }
+        } catch (InterruptedException e) {
+          // Expected when the trial is over
+        }
+      });
+    } else {
+      queue = new MemoryBoundBlockingQueue<>(MEMORY_CAPACITY_IN_BYTES, NOTIFY_DELTA_IN_BYTES);
+      consumer = new Thread(() -> {
+        try {
+          while (true) {
+            queue.take();
+          }
+        } catch (InterruptedException e) {
+          // Expected when the trial is over
+        }
+      });
+    }
+    consumer.setDaemon(true);
+    consumer.start();
+  }
+
+  @TearDown
+  public void cleanUp() throws InterruptedException {
+    consumer.interrupt();
+    consumer.join(TimeUnit.SECONDS.toMillis(10));
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void putWithProducerCount_8() throws InterruptedException {
+    queue.put(new Record(recordSize));
+  }
+
+  @Benchmark
+  @Threads(16)
+  public void putWithProducerCount_16() throws InterruptedException {
+    queue.put(new Record(recordSize));
+  }
+
+  @Benchmark
+  @Threads(32)
+  public void putWithProducerCount_32() throws InterruptedException {
+    queue.put(new Record(recordSize));
+  }
+}
@@ -0,0 +1,138 @@
+package com.linkedin.venice.benchmark;
+
+import com.linkedin.venice.guid.GuidUtils;
+import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
+import com.linkedin.venice.kafka.protocol.ProducerMetadata;
+import com.linkedin.venice.kafka.protocol.Put;
+import com.linkedin.venice.kafka.protocol.enums.MessageType;
+import com.linkedin.venice.message.KafkaKey;
+import com.linkedin.venice.pubsub.PooledPubSubMessage;
+import com.linkedin.venice.pubsub.PubSubTopicPartitionImpl;
+import com.linkedin.venice.pubsub.PubSubTopicRepository;
+import com.linkedin.venice.pubsub.adapter.kafka.common.ApacheKafkaOffsetPosition;
+import com.linkedin.venice.pubsub.api.DefaultPubSubMessage;
+import com.linkedin.venice.pubsub.api.PubSubMessageDeserializer;
+import com.linkedin.venice.pubsub.api.PubSubMessageHeaders;
+import com.linkedin.venice.pubsub.api.PubSubPosition;
+import com.linkedin.venice.pubsub.api.PubSubTopicPartition;
+import com.linkedin.venice.serialization.KafkaKeySerializer;
+import com.linkedin.venice.serialization.avro.OptimizedKafkaValueSerializer;
+import com.linkedin.venice.utils.VeniceProperties;
+import com.linkedin.venice.utils.pools.LandFillObjectPool;
+import com.linkedin.venice.writer.VeniceWriter;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Measures the decoding of consumed put records by {@link PubSubMessageDeserializer}, with and without recycling the
+ * message containers through {@link PooledPubSubMessage}. Each pooled message is released right after being decoded,
+ * as the drainers do once they are done with a record.
+ *
+ * The allocation rate per decoded record is the figure of interest, and is reported as "gc.alloc.rate.norm" thanks to
+ * the {@link GCProfiler}.
+ */
+@Fork(value = 1, jvmArgs = { "-Xms4G", "-Xmx4G" })
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PubSubMessageDeserializerBenchmark {
+  private static final int NUMBER_OF_RECORDS = 10_000;
+  private static final PubSubTopicRepository TOPIC_REPOSITORY = new PubSubTopicRepository();
+
+  @Param({ "0", "1024" })
+  private int messagePoolCapacity;
+
+  @Param({ "100" })
+  private int valueSize;
+
+  private PubSubMessageDeserializer deserializer;
+  private PubSubTopicPartition topicPartition;
+  private PubSubMessageHeaders headers;
+  private byte[][] keyBytes;
+  private byte[][] valueBytes;
+  private PubSubPosition[] positions;
+
+  @Setup
+  public void setUp() {
+    deserializer = new PubSubMessageDeserializer(
+        new OptimizedKafkaValueSerializer(),
+        new LandFillObjectPool<>(KafkaMessageEnvelope::new),
+        new LandFillObjectPool<>(KafkaMessageEnvelope::new),
+        messagePoolCapacity);
+    topicPartition = new PubSubTopicPartitionImpl(TOPIC_REPOSITORY.getTopic("store_v1"), 0);
+    headers = new PubSubMessageHeaders();
+    KafkaKeySerializer keySerializer = new KafkaKeySerializer();
+    OptimizedKafkaValueSerializer valueSerializer = new OptimizedKafkaValueSerializer();
+    keyBytes = new byte[NUMBER_OF_RECORDS][];
+    valueBytes = new byte[NUMBER_OF_RECORDS][];
+    positions = new PubSubPosition[NUMBER_OF_RECORDS];
+    ProducerMetadata producerMetadata = new ProducerMetadata();
+    producerMetadata.producerGUID = GuidUtils.getGUID(VeniceProperties.empty());
+    producerMetadata.logicalTimestamp = VeniceWriter.VENICE_DEFAULT_LOGICAL_TS;
+    for (int i = 0; i < NUMBER_OF_RECORDS; i++) {
+      keyBytes[i] = keySerializer.serialize(null, new KafkaKey(MessageType.PUT, ("key_" + i).getBytes()));
+      byte[] value = new byte[valueSize];
+      ThreadLocalRandom.current().nextBytes(value);
+      Put put = new Put();
+      put.putValue = ByteBuffer.wrap(value);
+      put.schemaId = 1;
+      put.replicationMetadataPayload = ByteBuffer.allocate(0);
+      producerMetadata.messageSequenceNumber = i;
+      producerMetadata.messageTimestamp = System.currentTimeMillis();
+      KafkaMessageEnvelope envelope = new KafkaMessageEnvelope();
+      envelope.messageType = MessageType.PUT.getValue();
+      envelope.producerMetadata = producerMetadata;
+      envelope.payloadUnion = put;
+      valueBytes[i] = valueSerializer.serialize(null, envelope);
+      positions[i] = ApacheKafkaOffsetPosition.of(i);
+    }
+  }
+
+  @TearDown
+  public void cleanUp() {
+    deserializer.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUMBER_OF_RECORDS)
+  public void deserializePuts(Blackhole bh) {
+    for (int i = 0; i < NUMBER_OF_RECORDS; i++) {
+      DefaultPubSubMessage message =
+          deserializer.deserialize(topicPartition, keyBytes[i], valueBytes[i], headers, positions[i], 0L);
+      bh.consume(message.getKey().getKey());
+      bh.consume(message.getValue());
+      if (message instanceof PooledPubSubMessage) {
+        ((PooledPubSubMessage) message).release();
+      }
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    Options opt = new OptionsBuilder().include(PubSubMessageDeserializerBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .build();
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,90 @@
+package com.linkedin.venice.benchmark;
+
+import com.linkedin.avro.api.PrimitiveFloatList;
+import com.linkedin.avro.fastserde.primitive.PrimitiveFloatArrayList;
+import com.linkedin.venice.compute.ComputeUtils;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Measures the vector operations of read compute, as applied by the server to the embedding of each record of a
+ * batch-get request with a single compute parameter. Results are per request.
+ */
+@Fork(value = 2, jvmArgs = { "-Xms4G", "-Xmx4G" })
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadComputeVectorOperationBenchmark {
+  @Param({ "256", "512", "1024" })
+  private int dimension;
+
+  @Param({ "1", "100", "1000" })
+  private int batchSize;
+
+  private PrimitiveFloatList computeParameter;
+  private float computeParameterSquaredL2Norm;
+  private PrimitiveFloatList[] embeddings;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    computeParameter = createEmbedding(random, dimension);
+    computeParameterSquaredL2Norm = ComputeUtils.squaredL2Norm(computeParameter);
+    embeddings = new PrimitiveFloatList[batchSize];
+    for (int i = 0; i < batchSize; i++) {
+      embeddings[i] = createEmbedding(random, dimension);
+    }
+  }
+
+  private static PrimitiveFloatList createEmbedding(Random random, int dimension) {
+    PrimitiveFloatList embedding = new PrimitiveFloatArrayList(dimension);
+    for (int i = 0; i < dimension; i++) {
+      embedding.add(random.nextFloat() * 2 - 1);
+    }
+    return embedding;
+  }
+
+  @Benchmark
+  public void dotProduct(Blackhole bh) {
+    for (PrimitiveFloatList embedding: embeddings) {
+      bh.consume(ComputeUtils.dotProduct(computeParameter, embedding));
+    }
+  }
+
+  @Benchmark
+  public void cosineSimilarity(Blackhole bh) {
+    for (PrimitiveFloatList embedding: embeddings) {
+      bh.consume(ComputeUtils.cosineSimilarity(computeParameter, embedding, computeParameterSquaredL2Norm));
+    }
+  }
+
+  @Benchmark
+  public void hadamardProduct(Blackhole bh) {
+    for (PrimitiveFloatList embedding: embeddings) {
+      bh.consume(ComputeUtils.hadamardProduct(computeParameter, embedding));
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    Options opt = new OptionsBuilder().include(ReadComputeVectorOperationBenchmark.class.getSimpleName()).build();
+    new Runner(opt).run();
+  }
+}
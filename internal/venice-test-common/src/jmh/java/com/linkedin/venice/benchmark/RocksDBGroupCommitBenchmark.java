@@ -0,0 +1,111 @@
+package com.linkedin.venice.benchmark;
+
+import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_GROUP_COMMIT_ENABLED;
+import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_PLAIN_TABLE_FORMAT_ENABLED;
+import static com.linkedin.venice.ConfigKeys.PERSISTENCE_TYPE;
+
+import com.linkedin.davinci.config.VeniceServerConfig;
+import com.linkedin.davinci.store.StoragePartitionConfig;
+import com.linkedin.davinci.store.rocksdb.RocksDBServerConfig;
+import com.linkedin.davinci.store.rocksdb.RocksDBStorageEngineFactory;
+import com.linkedin.davinci.store.rocksdb.RocksDBStoragePartition;
+import com.linkedin.davinci.store.rocksdb.RocksDBThrottler;
+import com.linkedin.venice.meta.PersistenceType;
+import com.linkedin.venice.utils.Utils;
+import com.linkedin.venice.utils.VeniceProperties;
+import java.nio.ByteBuffer;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.rocksdb.RocksDB;
+
+
+/**
+ * Compares the throughput of the puts into a single {@link RocksDBStoragePartition}, with and without
+ * {@link RocksDBServerConfig#ROCKSDB_GROUP_COMMIT_ENABLED}, for a single writer, which is the usual case with one
+ * drainer per partition, and for several concurrent writers.
+ *
+ * The values are slices of a larger array, the same as the ones handed over by the ingestion path.
+ */
+@Fork(value = 1, jvmArgs = { "-Xms4G", "-Xmx4G" })
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RocksDBGroupCommitBenchmark {
+  private static final String DATA_BASE_DIR = Utils.getUniqueTempPath();
+  private static final int VALUE_OFFSET = 4;
+
+  @Param({ "false", "true" })
+  private boolean groupCommitEnabled;
+
+  @Param({ "100", "1000" })
+  private int valueSize;
+
+  private RocksDBStoragePartition storagePartition;
+  private byte[] value;
+
+  @Setup
+  public void setUp() {
+    RocksDB.loadLibrary();
+    Properties properties = new Properties();
+    properties.put(PERSISTENCE_TYPE, PersistenceType.ROCKS_DB.toString());
+    properties.put(ROCKSDB_PLAIN_TABLE_FORMAT_ENABLED, "true");
+    properties.put(ROCKSDB_GROUP_COMMIT_ENABLED, Boolean.toString(groupCommitEnabled));
+    VeniceProperties serverProperties =
+        RocksDBLookupApiBenchmark.getServerProperties(PersistenceType.ROCKS_DB, properties);
+    storagePartition = new RocksDBStoragePartition(
+        new StoragePartitionConfig(Utils.getUniqueString("test_store"), 0),
+        new RocksDBStorageEngineFactory(new VeniceServerConfig(serverProperties)),
+        DATA_BASE_DIR,
+        null,
+        new RocksDBThrottler(3),
+        new RocksDBServerConfig(serverProperties));
+    value = new byte[VALUE_OFFSET + valueSize];
+    ThreadLocalRandom.current().nextBytes(value);
+  }
+
+  @TearDown
+  public void tearDown() {
+    storagePartition.drop();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void singleWriter() {
+    put();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void fourWriters() {
+    put();
+  }
+
+  private void put() {
+    byte[] key = Long.toString(ThreadLocalRandom.current().nextLong()).getBytes();
+    storagePartition.put(key, ByteBuffer.wrap(value, VALUE_OFFSET, valueSize));
+  }
+
+  public static void main(String[] args) throws Exception {
+    Options opt = new OptionsBuilder().include(RocksDBGroupCommitBenchmark.class.getSimpleName()).build();
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,195 @@
+package com.linkedin.venice.producer;
+
+import static com.linkedin.venice.ConfigKeys.CLIENT_PRODUCER_MAX_IN_FLIGHT_BYTES;
+import static com.linkedin.venice.ConfigKeys.CLIENT_PRODUCER_THREAD_NUM;
+import static com.linkedin.venice.writer.VeniceWriter.APP_DEFAULT_LOGICAL_TS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.linkedin.venice.controllerapi.VersionCreationResponse;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.partitioner.DefaultVenicePartitioner;
+import com.linkedin.venice.pubsub.api.PubSubProducerCallback;
+import com.linkedin.venice.schema.SchemaReader;
+import com.linkedin.venice.serializer.RecordSerializer;
+import com.linkedin.venice.serializer.SerializerDeserializerFactory;
+import com.linkedin.venice.utils.VeniceProperties;
+import com.linkedin.venice.writer.VeniceWriter;
+import com.linkedin.venice.writer.VeniceWriterOptions;
+import io.tehuti.metrics.MetricsRepository;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.avro.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Measures the write throughput of {@link AbstractVeniceProducer} against a {@link VeniceWriter} which acknowledges
+ * every write after a fixed latency, standing in for the round trip to the PubSub brokers.
+ *
+ * {@link #asyncPut()} goes through the pipelined write path of the producer, which is only bounded by
+ * {@link com.linkedin.venice.ConfigKeys#CLIENT_PRODUCER_MAX_IN_FLIGHT_BYTES}. {@link #blockingPut()} is the baseline:
+ * it dispatches the same writes the way the producer used to, holding one of {@code threadNum} threads per write until
+ * the ack comes back, which caps it at {@code threadNum / ackLatency} writes per second (2000 writes/s with 10
+ * threads and 5ms acks).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class VeniceProducerBenchmark {
+  private static final int WRITES_PER_INVOCATION = 1000;
+  private static final Schema STRING_SCHEMA = Schema.create(Schema.Type.STRING);
+
+  @Param({ "0", "5" })
+  long ackLatencyMs;
+
+  @Param({ "10" })
+  int threadNum;
+
+  private ScheduledExecutorService ackExecutor;
+  private BenchmarkProducer producer;
+  private ExecutorService blockingExecutor;
+  private VeniceWriter<byte[], byte[], byte[]> blockingWriter;
+  private RecordSerializer<String> serializer;
+  private String[] keys;
+  private String value;
+
+  private class BenchmarkProducer extends AbstractVeniceProducer<String, String> {
+    BenchmarkProducer(VeniceProperties producerConfigs) {
+      SchemaReader schemaReader = mock(SchemaReader.class);
+      doReturn(STRING_SCHEMA).when(schemaReader).getKeySchema();
+      doReturn(1).when(schemaReader).getValueSchemaId(any());
+      configure("benchmark_store", producerConfigs, new MetricsRepository(), schemaReader, null);
+    }
+
+    @Override
+    protected VersionCreationResponse requestTopic() {
+      VersionCreationResponse response = new VersionCreationResponse();
+      response.setKafkaTopic("benchmark_store_rt");
+      response.setKafkaBootstrapServers("localhost:1234");
+      response.setPartitions(16);
+      response.setPartitionerClass(DefaultVenicePartitioner.class.getName());
+      response.setPartitionerParams(Collections.emptyMap());
+      return response;
+    }
+
+    @Override
+    protected VeniceWriter<byte[], byte[], byte[]> constructVeniceWriter(
+        Properties properties,
+        VeniceWriterOptions writerOptions) {
+      return createAckingWriter();
+    }
+  }
+
+  /**
+   * @return a writer which acknowledges every put after {@link #ackLatencyMs}.
+   */
+  private VeniceWriter<byte[], byte[], byte[]> createAckingWriter() {
+    VeniceWriter<byte[], byte[], byte[]> veniceWriter = mock(VeniceWriter.class);
+    doAnswer(invocation -> {
+      PubSubProducerCallback callback = invocation.getArgument(4);
+      if (ackLatencyMs == 0) {
+        callback.onCompletion(null, null);
+      } else {
+        ackExecutor.schedule(() -> callback.onCompletion(null, null), ackLatencyMs, TimeUnit.MILLISECONDS);
+      }
+      return null;
+    }).when(veniceWriter).put(any(), any(), anyInt(), anyLong(), any());
+    return veniceWriter;
+  }
+
+  @Setup
+  public void setUp() {
+    ackExecutor = Executors.newScheduledThreadPool(2);
+    Properties properties = new Properties();
+    properties.put(CLIENT_PRODUCER_THREAD_NUM, threadNum);
+    properties.put(CLIENT_PRODUCER_MAX_IN_FLIGHT_BYTES, 64 * 1024 * 1024);
+    producer = new BenchmarkProducer(new VeniceProperties(properties));
+    blockingExecutor = Executors.newFixedThreadPool(threadNum);
+    blockingWriter = createAckingWriter();
+    serializer = SerializerDeserializerFactory.getAvroGenericSerializer(STRING_SCHEMA);
+    keys = new String[WRITES_PER_INVOCATION];
+    for (int i = 0; i < WRITES_PER_INVOCATION; i++) {
+      keys[i] = "key_" + i;
+    }
+    value = new String(new char[100]).replace('\0', 'v');
+  }
+
+  @TearDown
+  public void cleanUp() throws IOException {
+    producer.close();
+    blockingExecutor.shutdownNow();
+    ackExecutor.shutdownNow();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(WRITES_PER_INVOCATION)
+  public void asyncPut() {
+    CompletableFuture<?>[] futures = new CompletableFuture[WRITES_PER_INVOCATION];
+    for (int i = 0; i < WRITES_PER_INVOCATION; i++) {
+      futures[i] = producer.asyncPut(keys[i], value);
+    }
+    CompletableFuture.allOf(futures).join();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(WRITES_PER_INVOCATION)
+  public void blockingPut() {
+    CompletableFuture<?>[] futures = new CompletableFuture[WRITES_PER_INVOCATION];
+    for (int i = 0; i < WRITES_PER_INVOCATION; i++) {
+      String key = keys[i];
+      futures[i] = CompletableFuture.supplyAsync(() -> {
+        CompletableFuture<Void> ackFuture = new CompletableFuture<>();
+        PubSubProducerCallback callback = (produceResult, exception) -> {
+          if (exception == null) {
+            ackFuture.complete(null);
+          } else {
+            ackFuture.completeExceptionally(exception);
+          }
+        };
+        blockingWriter
+            .put(serializer.serialize(key), serializer.serialize(value), 1, APP_DEFAULT_LOGICAL_TS, callback);
+        try {
+          ackFuture.get();
+        } catch (InterruptedException | ExecutionException e) {
+          throw new VeniceException(e);
+        }
+        return null;
+      }, blockingExecutor);
+    }
+    CompletableFuture.allOf(futures).join();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(VeniceProducerBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -567,6 +567,7 @@ public class VeniceControllerClusterConfig {
   private final Set<PushJobCheckpoints> pushJobUserErrorCheckpoints;
   private final boolean isRealTimeTopicVersioningEnabled;
   private final boolean isHybridStorePartitionCountUpdateEnabled;
+  private final boolean sstFilePushEnabled;
 
   /**
    * Configs for DeferredVersionSwapService
@@ -1088,6 +1089,7 @@ public class VeniceControllerClusterConfig {
         DEFAULT_CONTROLLER_ENABLE_REAL_TIME_TOPIC_VERSIONING);
     this.isHybridStorePartitionCountUpdateEnabled =
         props.getBoolean(ConfigKeys.CONTROLLER_ENABLE_HYBRID_STORE_PARTITION_COUNT_UPDATE, false);
+    this.sstFilePushEnabled = props.getBoolean(ConfigKeys.CONTROLLER_SST_FILE_PUSH_ENABLED, false);
 
     this.isProtocolVersionAutoDetectionServiceEnabled =
         props.getBoolean(CONTROLLER_PROTOCOL_VERSION_AUTO_DETECTION_SERVICE_ENABLED, false);
@@ -1979,6 +1981,10 @@ public class VeniceControllerClusterConfig {
     return isHybridStorePartitionCountUpdateEnabled;
   }
 
+  public boolean isSstFilePushEnabled() {
+    return sstFilePushEnabled;
+  }
+
   public boolean getRealTimeTopicVersioningEnabled() {
     return isRealTimeTopicVersioningEnabled;
   }
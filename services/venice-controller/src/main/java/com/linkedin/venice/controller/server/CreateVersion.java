@@ -407,6 +407,7 @@ public class CreateVersion extends AbstractRoute {
     }
 
     response.setDaVinciPushStatusStoreEnabled(store.isDaVinciPushStatusStoreEnabled());
+    response.setSstFilePushEnabled(admin.getControllerConfig(clusterName).isSstFilePushEnabled());
     response.setAmplificationFactor(1);
   }
 
@@ -53,6 +53,7 @@ import com.linkedin.venice.acl.DynamicAccessController;
 import com.linkedin.venice.acl.NoOpDynamicAccessController;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.controller.Admin;
+import com.linkedin.venice.controller.VeniceControllerClusterConfig;
 import com.linkedin.venice.controllerapi.RequestTopicForPushRequest;
 import com.linkedin.venice.controllerapi.VersionCreationResponse;
 import com.linkedin.venice.exceptions.VeniceException;
@@ -102,6 +103,7 @@ public class CreateVersionTest {
   private static final String JOB_ID = "push_1";
 
   private Admin admin;
+  private VeniceControllerClusterConfig clusterConfig;
   private X509Certificate certificate;
   private Request request;
   private Response response;
@@ -110,6 +112,7 @@ public class CreateVersionTest {
   @BeforeMethod
   public void setUp() {
     admin = mock(Admin.class);
+    clusterConfig = mock(VeniceControllerClusterConfig.class);
     request = mock(Request.class);
     response = mock(Response.class);
     accessClient = mock(DynamicAccessController.class);
@@ -142,6 +145,7 @@ public class CreateVersionTest {
     doReturn(queryMap).when(httpServletRequest).getParameterMap();
     doReturn(certificateArray).when(httpServletRequest).getAttribute(CONTROLLER_SSL_CERTIFICATE_ATTRIBUTE_NAME);
     doReturn(true).when(admin).isLeaderControllerFor(CLUSTER_NAME);
+    doReturn(clusterConfig).when(admin).getControllerConfig(CLUSTER_NAME);
   }
 
   @Test(dataProvider = "True-and-False", dataProviderClass = DataProviderUtils.class)
@@ -302,6 +306,7 @@ public class CreateVersionTest {
     doReturn(store).when(admin).getStore(CLUSTER_NAME, STORE_NAME);
     doReturn("default-src.region.io").when(admin).getKafkaBootstrapServers(anyBoolean());
     doReturn(emergencySrcRegion).when(admin).getEmergencySourceRegion(CLUSTER_NAME);
+    doReturn(true).when(clusterConfig).isSstFilePushEnabled();
     doCallRealMethod().when(request).queryParamOrDefault(any(), any());
     doReturn(true).when(accessClient).isAllowlistUsers(certificate, STORE_NAME, HTTP_GET);
     doReturn("dc-1.region.io").when(admin).getNativeReplicationKafkaBootstrapServerAddress(emergencySrcRegion.get());
@@ -337,6 +342,7 @@ public class CreateVersionTest {
         OBJECT_MAPPER.readValue(result.toString(), VersionCreationResponse.class);
     assertEquals(versionCreationResponse.getKafkaBootstrapServers(), "dc-1.region.io");
     assertEquals(versionCreationResponse.getKafkaSourceRegion(), "dc-0");
+    assertTrue(versionCreationResponse.isSstFilePushEnabled());
   }
 
   private Store getHybridTestStore() {
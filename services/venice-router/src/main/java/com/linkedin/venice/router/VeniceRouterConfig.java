@@ -84,6 +84,7 @@ import static com.linkedin.venice.ConfigKeys.ROUTER_QUOTA_CHECK_WINDOW;
 import static com.linkedin.venice.ConfigKeys.ROUTER_READ_QUOTA_THROTTLING_LEASE_TIMEOUT_MS;
 import static com.linkedin.venice.ConfigKeys.ROUTER_RESOLVE_QUEUE_CAPACITY;
 import static com.linkedin.venice.ConfigKeys.ROUTER_RESOLVE_THREADS;
+import static com.linkedin.venice.ConfigKeys.ROUTER_RESPONSE_CACHE_CAPACITY_IN_BYTES;
 import static com.linkedin.venice.ConfigKeys.ROUTER_RETRY_MANAGER_CORE_POOL_SIZE;
 import static com.linkedin.venice.ConfigKeys.ROUTER_SINGLEGET_TARDY_LATENCY_MS;
 import static com.linkedin.venice.ConfigKeys.ROUTER_SINGLE_KEY_LONG_TAIL_RETRY_BUDGET_PERCENT_DECIMAL;
@@ -217,6 +218,7 @@ public class VeniceRouterConfig implements RouterRetryConfig {
   private final int http2HeaderTableSize;
   private final int http2MaxHeaderListSize;
   private final boolean metaStoreShadowReadEnabled;
+  private final long responseCacheCapacityInBytes;
   private final boolean unregisterMetricForDeletedStoreEnabled;
   private final int routerIOWorkerCount;
   private final double perStoreRouterQuotaBuffer;
@@ -392,6 +394,7 @@ public class VeniceRouterConfig implements RouterRetryConfig {
       http2MaxHeaderListSize = props.getInt(ROUTER_HTTP2_MAX_HEADER_LIST_SIZE, 8192);
 
       metaStoreShadowReadEnabled = props.getBoolean(ROUTER_META_STORE_SHADOW_READ_ENABLED, false);
+      responseCacheCapacityInBytes = props.getSizeInBytes(ROUTER_RESPONSE_CACHE_CAPACITY_IN_BYTES, 0L);
       unregisterMetricForDeletedStoreEnabled = props.getBoolean(UNREGISTER_METRIC_FOR_DELETED_STORE_ENABLED, false);
       /**
        * This config is used to maintain the existing io thread count being used by Router, and we
@@ -856,6 +859,10 @@ public class VeniceRouterConfig implements RouterRetryConfig {
     return metaStoreShadowReadEnabled;
   }
 
+  public long getResponseCacheCapacityInBytes() {
+    return responseCacheCapacityInBytes;
+  }
+
   public boolean isUnregisterMetricForDeletedStoreEnabled() {
     return unregisterMetricForDeletedStoreEnabled;
   }
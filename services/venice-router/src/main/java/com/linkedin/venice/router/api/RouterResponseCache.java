@@ -0,0 +1,314 @@
+package com.linkedin.venice.router.api;
+
+import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.meta.ReadOnlyStoreRepository;
+import com.linkedin.venice.meta.Store;
+import com.linkedin.venice.meta.StoreDataChangedListener;
+import com.linkedin.venice.meta.Version;
+import com.linkedin.venice.meta.VersionStatus;
+import com.linkedin.venice.read.RequestType;
+import com.linkedin.venice.router.api.path.VenicePath;
+import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+
+/**
+ * A cache of the values returned by storage nodes for the single-get and batch-get requests of immutable store
+ * versions, which {@link VeniceDispatcher} keeps so that cached keys get answered without a round trip to a storage
+ * node. Only the ONLINE versions of batch-only stores without incremental push are cached, since their data never
+ * changes once the push is complete. The values are kept serialized, and still compressed, exactly as they are sent by
+ * the storage nodes.
+ *
+ * The cache is keyed by resource name and key bytes, and split into segments by key hash, each of them being an LRU map
+ * bounded by its share of the capacity in bytes. The entries of a store version get dropped as soon as it stops being
+ * the current version of its store, and the ones of a store when it gets deleted.
+ *
+ * Since a request may still be in flight when the entries of its resource get dropped, values are only added under the
+ * epoch of their resource read before the request got sent, see {@link #getEpoch}, so that they do not outlive the
+ * drop.
+ */
+public class RouterResponseCache implements StoreDataChangedListener {
+  /**
+   * A rough estimate of the heap used by an entry on top of its key and value: the map entry, the cache key, the
+   * cached value and the buffer and array headers.
+   */
+  static final int ENTRY_OVERHEAD_IN_BYTES = 160;
+  private static final int SEGMENT_COUNT = 16;
+
+  private final ReadOnlyStoreRepository storeRepository;
+  private final Segment[] segments;
+  /**
+   * Whether each resource seen so far can be cached, evaluated again whenever its store changes.
+   */
+  private final Map<String, Boolean> cacheableResources = new VeniceConcurrentHashMap<>();
+  /**
+   * The resources which got values added to the cache, until they get dropped from it.
+   */
+  private final Set<String> cachedResources = VeniceConcurrentHashMap.newKeySet();
+  /**
+   * The current epoch of each resource looked up so far, until it gets dropped. A resource looked up again after being
+   * dropped gets a new epoch, which is never reused.
+   */
+  private final Map<String, Long> resourceEpochs = new VeniceConcurrentHashMap<>();
+  private final AtomicLong lastEpoch = new AtomicLong();
+
+  public RouterResponseCache(long capacityInBytes, ReadOnlyStoreRepository storeRepository) {
+    if (capacityInBytes <= 0) {
+      throw new IllegalArgumentException("The response cache capacity must be positive, got: " + capacityInBytes);
+    }
+    this.storeRepository = storeRepository;
+    this.segments = new Segment[SEGMENT_COUNT];
+    for (int i = 0; i < SEGMENT_COUNT; i++) {
+      segments[i] = new Segment(Math.max(capacityInBytes / SEGMENT_COUNT, 1));
+    }
+    this.storeRepository.registerStoreDataChangedListener(this);
+  }
+
+  /**
+   * @return whether the keys of the given path can be answered from, and added to, the cache. Streaming requests and
+   *         compute requests are never cached.
+   */
+  public boolean isCacheable(VenicePath path) {
+    RequestType requestType = path.getRequestType();
+    if (requestType != RequestType.SINGLE_GET && requestType != RequestType.MULTI_GET) {
+      return false;
+    }
+    return cacheableResources.computeIfAbsent(
+        path.getResourceName(),
+        resourceName -> isImmutableVersion(path.getStoreName(), Version.parseVersionFromKafkaTopicName(resourceName)));
+  }
+
+  /**
+   * @return the cached value of the key, or null if it is not cached.
+   */
+  public CachedValue get(String resourceName, ByteBuffer key) {
+    CacheKey cacheKey = new CacheKey(resourceName, key);
+    Segment segment = segmentFor(cacheKey);
+    synchronized (segment) {
+      return segment.get(cacheKey);
+    }
+  }
+
+  /**
+   * @return the epoch to add the values of the given resource to the cache with, to be read before the storage node
+   *         gets queried for them.
+   */
+  public long getEpoch(String resourceName) {
+    return resourceEpochs.computeIfAbsent(resourceName, r -> lastEpoch.incrementAndGet());
+  }
+
+  /**
+   * Add a value returned by a storage node to the cache, unless its resource got dropped since the given epoch was
+   * read. The key and value are copied.
+   *
+   * @param latencyMs the time the storage node took to answer the request the value is part of, which is saved
+   *                  whenever the cached value spares the router a request to a storage node.
+   */
+  public void put(
+      String resourceName,
+      long epoch,
+      ByteBuffer key,
+      int schemaId,
+      CompressionStrategy compressionStrategy,
+      ByteBuffer value,
+      double latencyMs) {
+    long sizeInBytes = (long) key.remaining() + value.remaining() + ENTRY_OVERHEAD_IN_BYTES;
+    CacheKey lookupKey = new CacheKey(resourceName, key);
+    Segment segment = segmentFor(lookupKey);
+    if (sizeInBytes > segment.capacityInBytes) {
+      return;
+    }
+    CacheKey storedKey = new CacheKey(resourceName, copy(key), lookupKey.hash);
+    CachedValue cachedValue = new CachedValue(schemaId, compressionStrategy, copy(value), latencyMs, sizeInBytes);
+    cachedResources.add(resourceName);
+    synchronized (segment) {
+      // Checked under the lock of the segment, which the drop of the resource takes after changing its epoch
+      Long currentEpoch = resourceEpochs.get(resourceName);
+      if (currentEpoch == null || currentEpoch != epoch) {
+        return;
+      }
+      CachedValue previousValue = segment.put(storedKey, cachedValue);
+      if (previousValue != null) {
+        segment.usedBytes -= previousValue.sizeInBytes;
+      }
+      segment.usedBytes += sizeInBytes;
+      Iterator<CachedValue> iterator = segment.values().iterator();
+      while (segment.usedBytes > segment.capacityInBytes) {
+        segment.usedBytes -= iterator.next().sizeInBytes;
+        iterator.remove();
+      }
+    }
+  }
+
+  @Override
+  public void handleStoreChanged(Store store) {
+    String storeName = store.getName();
+    int currentVersion = store.getCurrentVersion();
+    cacheableResources.keySet().removeIf(resourceName -> isResourceOfStore(resourceName, storeName));
+    dropResources(
+        resourceName -> isResourceOfStore(resourceName, storeName)
+            && Version.parseVersionFromKafkaTopicName(resourceName) != currentVersion);
+  }
+
+  @Override
+  public void handleStoreDeleted(String storeName) {
+    cacheableResources.keySet().removeIf(resourceName -> isResourceOfStore(resourceName, storeName));
+    dropResources(resourceName -> isResourceOfStore(resourceName, storeName));
+  }
+
+  // For testing purpose only.
+  long getUsedBytes() {
+    long usedBytes = 0;
+    for (Segment segment: segments) {
+      synchronized (segment) {
+        usedBytes += segment.usedBytes;
+      }
+    }
+    return usedBytes;
+  }
+
+  private boolean isImmutableVersion(String storeName, int versionNumber) {
+    Store store = storeRepository.getStore(storeName);
+    if (store == null || store.isIncrementalPushEnabled() || store.getCurrentVersion() != versionNumber) {
+      return false;
+    }
+    Version version = store.getVersion(versionNumber);
+    return version != null && version.getStatus() == VersionStatus.ONLINE && version.getHybridStoreConfig() == null
+        && !version.isIncrementalPushEnabled();
+  }
+
+  private static boolean isResourceOfStore(String resourceName, String storeName) {
+    return Version.parseStoreFromKafkaTopicName(resourceName).equals(storeName);
+  }
+
+  private void dropResources(Predicate<String> resourceFilter) {
+    resourceEpochs.keySet().removeIf(resourceFilter);
+    Set<String> droppedResources = new HashSet<>();
+    for (String resourceName: cachedResources) {
+      if (resourceFilter.test(resourceName)) {
+        droppedResources.add(resourceName);
+      }
+    }
+    if (droppedResources.isEmpty()) {
+      return;
+    }
+    cachedResources.removeAll(droppedResources);
+    for (Segment segment: segments) {
+      synchronized (segment) {
+        Iterator<Map.Entry<CacheKey, CachedValue>> iterator = segment.entrySet().iterator();
+        while (iterator.hasNext()) {
+          Map.Entry<CacheKey, CachedValue> entry = iterator.next();
+          if (droppedResources.contains(entry.getKey().resourceName)) {
+            segment.usedBytes -= entry.getValue().sizeInBytes;
+            iterator.remove();
+          }
+        }
+      }
+    }
+  }
+
+  private Segment segmentFor(CacheKey cacheKey) {
+    return segments[(cacheKey.hash ^ (cacheKey.hash >>> 16)) & (SEGMENT_COUNT - 1)];
+  }
+
+  private static ByteBuffer copy(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return ByteBuffer.wrap(bytes);
+  }
+
+  public static final class CachedValue {
+    private final int schemaId;
+    private final CompressionStrategy compressionStrategy;
+    private final ByteBuffer value;
+    private final double latencyMs;
+    private final long sizeInBytes;
+
+    CachedValue(
+        int schemaId,
+        CompressionStrategy compressionStrategy,
+        ByteBuffer value,
+        double latencyMs,
+        long sizeInBytes) {
+      this.schemaId = schemaId;
+      this.compressionStrategy = compressionStrategy;
+      this.value = value;
+      this.latencyMs = latencyMs;
+      this.sizeInBytes = sizeInBytes;
+    }
+
+    public int getSchemaId() {
+      return schemaId;
+    }
+
+    public CompressionStrategy getCompressionStrategy() {
+      return compressionStrategy;
+    }
+
+    /**
+     * @return a read-only view of the value, which callers are free to consume.
+     */
+    public ByteBuffer getValue() {
+      return value.asReadOnlyBuffer();
+    }
+
+    public double getLatencyMs() {
+      return latencyMs;
+    }
+  }
+
+  private static final class CacheKey {
+    final String resourceName;
+    final ByteBuffer key;
+    final int hash;
+
+    CacheKey(String resourceName, ByteBuffer key) {
+      this(resourceName, key, 31 * resourceName.hashCode() + key.hashCode());
+    }
+
+    CacheKey(String resourceName, ByteBuffer key, int hash) {
+      this.resourceName = resourceName;
+      this.key = key;
+      this.hash = hash;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof CacheKey)) {
+        return false;
+      }
+      CacheKey that = (CacheKey) o;
+      return key.equals(that.key) && resourceName.equals(that.resourceName);
+    }
+  }
+
+  /**
+   * An access-ordered map, whose eldest entry is the least recently used one. It is guarded by its own monitor.
+   */
+  private static final class Segment extends LinkedHashMap<CacheKey, CachedValue> {
+    private static final long serialVersionUID = 1L;
+
+    final long capacityInBytes;
+    long usedBytes;
+
+    Segment(long capacityInBytes) {
+      super(16, 0.75f, true);
+      this.capacityInBytes = capacityInBytes;
+    }
+  }
+}
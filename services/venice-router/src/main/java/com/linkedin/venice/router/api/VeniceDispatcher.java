@@ -19,7 +19,9 @@ import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.meta.Instance;
 import com.linkedin.venice.meta.ReadOnlyStoreRepository;
 import com.linkedin.venice.read.RequestType;
+import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
 import com.linkedin.venice.router.VeniceRouterConfig;
+import com.linkedin.venice.router.api.path.VeniceMultiGetPath;
 import com.linkedin.venice.router.api.path.VenicePath;
 import com.linkedin.venice.router.httpclient.PortableHttpResponse;
 import com.linkedin.venice.router.httpclient.StorageNodeClient;
@@ -30,6 +32,10 @@ import com.linkedin.venice.router.stats.RouteHttpStats;
 import com.linkedin.venice.router.stats.RouterStats;
 import com.linkedin.venice.router.streaming.VeniceChunkedResponse;
 import com.linkedin.venice.router.throttle.PendingRequestThrottler;
+import com.linkedin.venice.schema.avro.ReadAvroProtocolDefinition;
+import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
+import com.linkedin.venice.serializer.RecordDeserializer;
+import com.linkedin.venice.serializer.RecordSerializer;
 import com.linkedin.venice.utils.LatencyUtils;
 import com.linkedin.venice.utils.Pair;
 import com.linkedin.venice.utils.Utils;
@@ -42,14 +48,20 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
 import io.tehuti.metrics.MetricsRepository;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 import javax.annotation.Nonnull;
+import org.apache.avro.io.OptimizedBinaryDecoderFactory;
 import org.apache.http.HttpHeaders;
 import org.apache.http.HttpStatus;
 import org.apache.logging.log4j.LogManager;
@@ -70,6 +82,11 @@ public final class VeniceDispatcher implements PartitionDispatchHandler4<Instanc
   private static final Set<Integer> PASS_THROUGH_ERROR_CODES = Utils.setOf(TOO_MANY_REQUESTS.code());
   private static final Set<Integer> RETRIABLE_ERROR_CODES =
       Utils.setOf(INTERNAL_SERVER_ERROR.code(), SERVICE_UNAVAILABLE.code());
+  private static final RecordSerializer<MultiGetResponseRecordV1> MULTI_GET_RESPONSE_SERIALIZER =
+      FastSerializerDeserializerFactory.getFastAvroGenericSerializer(MultiGetResponseRecordV1.getClassSchema());
+  private static final RecordDeserializer<MultiGetResponseRecordV1> MULTI_GET_RESPONSE_DESERIALIZER =
+      FastSerializerDeserializerFactory
+          .getFastAvroSpecificDeserializer(MultiGetResponseRecordV1.getClassSchema(), MultiGetResponseRecordV1.class);
 
   private final VeniceRouterConfig routerConfig;
   private final ReadOnlyStoreRepository storeRepository;
@@ -90,6 +107,11 @@ public final class VeniceDispatcher implements PartitionDispatchHandler4<Instanc
 
   private final RouterStats<AggRouterHttpRequestStats> routerStats;
 
+  /**
+   * Null if the response cache is disabled.
+   */
+  private final RouterResponseCache responseCache;
+
   public VeniceDispatcher(
       VeniceRouterConfig config,
       ReadOnlyStoreRepository storeRepository,
@@ -113,6 +135,9 @@ public final class VeniceDispatcher implements PartitionDispatchHandler4<Instanc
     this.leakedCompletableFutureCleanupService = new LeakedCompletableFutureCleanupService();
     this.leakedCompletableFutureCleanupService.start();
     this.routerStats = routerStats;
+    this.responseCache = config.getResponseCacheCapacityInBytes() > 0
+        ? new RouterResponseCache(config.getResponseCacheCapacityInBytes(), storeRepository)
+        : null;
   }
 
   @Override
@@ -141,8 +166,24 @@ public final class VeniceDispatcher implements PartitionDispatchHandler4<Instanc
     Instance storageNode = part.getHosts().get(0);
     hostSelected.setSuccess(storageNode);
 
+    ResponseCacheLookup cacheLookup = lookUpResponseCache(path);
+    if (cacheLookup != null && cacheLookup.missedKeys.isEmpty()) {
+      // All the keys of the part got answered from the response cache, so no storage node needs to be queried
+      try {
+        PortableHttpResponse cachedResponse = buildCachedResponse(path, cacheLookup);
+        responseFuture.setSuccess(Collections.singletonList(buildResponse(path, cachedResponse)));
+      } catch (Throwable e) {
+        responseFuture.setFailure(e);
+      }
+      return;
+    }
+    VenicePath requestPath = cacheLookup == null || cacheLookup.cachedValues.isEmpty()
+        ? path
+        : path.substitutePartitionKey(cacheLookup.missedKeys);
+    long requestStartTimeInNs = System.nanoTime();
+
     // sendRequest completes future either immediately in the calling thread context or on the executor
-    sendRequest(storageNode, path, retryFuture).whenComplete((response, throwable) -> {
+    sendRequest(storageNode, requestPath, retryFuture).whenComplete((response, throwable) -> {
       try {
         int statusCode = response != null ? response.getStatusCode() : HttpStatus.SC_INTERNAL_SERVER_ERROR;
         if (!retryFuture.isCancelled() && RETRIABLE_ERROR_CODES.contains(statusCode)) {
@@ -161,13 +202,169 @@ public final class VeniceDispatcher implements PartitionDispatchHandler4<Instanc
           path.markStorageNodeAsFast(storageNode.getNodeId());
         }
 
-        responseFuture.setSuccess(Collections.singletonList(buildResponse(path, response)));
+        PortableHttpResponse serverResponse = response;
+        if (cacheLookup != null && statusCode == HttpStatus.SC_OK) {
+          serverResponse = mergeWithResponseCache(
+              path,
+              cacheLookup,
+              response,
+              LatencyUtils.getElapsedTimeFromNSToMS(requestStartTimeInNs));
+        }
+        responseFuture.setSuccess(Collections.singletonList(buildResponse(path, serverResponse)));
       } catch (Throwable e) {
         responseFuture.setFailure(e);
       }
     });
   }
 
+  /**
+   * @return the cached values of the keys of the given path, along with the keys which are not cached, or null if the
+   *         path is not eligible to the response cache.
+   */
+  private ResponseCacheLookup lookUpResponseCache(VenicePath path) {
+    if (responseCache == null || !responseCache.isCacheable(path)) {
+      return null;
+    }
+    String resourceName = path.getResourceName();
+    Collection<RouterKey> keys = path.getPartitionKeys();
+    ResponseCacheLookup cacheLookup = new ResponseCacheLookup(keys.size(), responseCache.getEpoch(resourceName));
+    for (RouterKey key: keys) {
+      RouterResponseCache.CachedValue cachedValue = responseCache.get(resourceName, key.getKeyBuffer());
+      if (cachedValue == null) {
+        cacheLookup.missedKeys.add(key);
+      } else {
+        cacheLookup.cachedValues.put(key, cachedValue);
+      }
+    }
+    String storeName = path.getStoreName();
+    AggRouterHttpRequestStats stats = routerStats.getStatsByType(path.getRequestType());
+    if (!cacheLookup.cachedValues.isEmpty()) {
+      stats.recordResponseCacheHit(storeName, cacheLookup.cachedValues.size());
+    }
+    if (cacheLookup.missedKeys.isEmpty()) {
+      double latencySaved = 0;
+      for (RouterResponseCache.CachedValue cachedValue: cacheLookup.cachedValues.values()) {
+        latencySaved = Math.max(latencySaved, cachedValue.getLatencyMs());
+      }
+      stats.recordResponseCacheLatencySaved(storeName, latencySaved);
+    } else {
+      stats.recordResponseCacheMiss(storeName, cacheLookup.missedKeys.size());
+    }
+    return cacheLookup;
+  }
+
+  /**
+   * Build the response a storage node would have sent for a path whose keys are all cached.
+   */
+  private PortableHttpResponse buildCachedResponse(VenicePath path, ResponseCacheLookup cacheLookup) {
+    RouterResponseCache.CachedValue anyCachedValue = cacheLookup.cachedValues.values().iterator().next();
+    Map<String, String> headers = new HashMap<>(4);
+    headers.put(HttpHeaders.CONTENT_TYPE, HttpConstants.AVRO_BINARY);
+    headers.put(VENICE_COMPRESSION_STRATEGY, Integer.toString(anyCachedValue.getCompressionStrategy().getValue()));
+    ByteBuf content;
+    if (path.getRequestType() == RequestType.SINGLE_GET) {
+      headers.put(HttpConstants.VENICE_SCHEMA_ID, Integer.toString(anyCachedValue.getSchemaId()));
+      content = Unpooled.wrappedBuffer(anyCachedValue.getValue());
+    } else {
+      headers.put(
+          HttpConstants.VENICE_SCHEMA_ID,
+          Integer.toString(ReadAvroProtocolDefinition.MULTI_GET_RESPONSE_V1.getProtocolVersion()));
+      content = Unpooled.wrappedBuffer(serializeCachedRecords((VeniceMultiGetPath) path, cacheLookup));
+    }
+    return new ResponseCacheHttpResponse(headers, content);
+  }
+
+  /**
+   * Add the values returned by the storage node to the response cache, and the cached values of the keys which were
+   * not requested from the storage node to its response. When none of the keys were cached, the content of the
+   * storage node is returned without being copied.
+   */
+  private PortableHttpResponse mergeWithResponseCache(
+      VenicePath path,
+      ResponseCacheLookup cacheLookup,
+      PortableHttpResponse serverResponse,
+      double latencyMs) throws IOException {
+    String resourceName = path.getResourceName();
+    CompressionStrategy compressionStrategy =
+        VeniceResponseDecompressor.getCompressionStrategy(serverResponse.getFirstHeader(VENICE_COMPRESSION_STRATEGY));
+    Map<String, String> headers = new HashMap<>(4);
+    for (String headerName: new String[] { HttpHeaders.CONTENT_TYPE, HttpConstants.VENICE_SCHEMA_ID,
+        VENICE_COMPRESSION_STRATEGY, VENICE_REQUEST_RCU }) {
+      if (serverResponse.containsHeader(headerName)) {
+        headers.put(headerName, serverResponse.getFirstHeader(headerName));
+      }
+    }
+    // The content of the response can only be read once, so it is wrapped in a new response
+    ByteBuf content = serverResponse.getContentInByteBuf();
+    if (path.getRequestType() == RequestType.SINGLE_GET) {
+      responseCache.put(
+          resourceName,
+          cacheLookup.epoch,
+          path.getPartitionKey().getKeyBuffer(),
+          Integer.parseInt(serverResponse.getFirstHeader(HttpConstants.VENICE_SCHEMA_ID)),
+          compressionStrategy,
+          content.nioBuffer(),
+          latencyMs);
+      return new ResponseCacheHttpResponse(headers, content);
+    }
+
+    VeniceMultiGetPath multiGetPath = (VeniceMultiGetPath) path;
+    Map<Integer, RouterKey> missedKeysByIndex = new HashMap<>(cacheLookup.missedKeys.size());
+    for (RouterKey key: cacheLookup.missedKeys) {
+      missedKeysByIndex.put(multiGetPath.getKeyIndex(key), key);
+    }
+    boolean merged = !cacheLookup.cachedValues.isEmpty();
+    byte[] serverContent;
+    int serverContentOffset;
+    if (content.hasArray() && !merged) {
+      // The content is only read to populate the cache, so there is no need to copy it
+      serverContent = content.array();
+      serverContentOffset = content.arrayOffset() + content.readerIndex();
+    } else {
+      serverContent = new byte[content.readableBytes()];
+      serverContentOffset = 0;
+      content.getBytes(content.readerIndex(), serverContent);
+    }
+    int serverContentLength = content.readableBytes();
+    Iterable<MultiGetResponseRecordV1> records = MULTI_GET_RESPONSE_DESERIALIZER.deserializeObjects(
+        OptimizedBinaryDecoderFactory.defaultFactory()
+            .createOptimizedBinaryDecoder(serverContent, serverContentOffset, serverContentLength));
+    for (MultiGetResponseRecordV1 record: records) {
+      RouterKey key = missedKeysByIndex.get(record.keyIndex);
+      if (key != null) {
+        responseCache.put(
+            resourceName,
+            cacheLookup.epoch,
+            key.getKeyBuffer(),
+            record.schemaId,
+            compressionStrategy,
+            record.value,
+            latencyMs);
+      }
+    }
+    if (!merged) {
+      return new ResponseCacheHttpResponse(headers, content);
+    }
+    content.release();
+    byte[] cachedContent = serializeCachedRecords(multiGetPath, cacheLookup);
+    byte[] mergedContent = new byte[serverContent.length + cachedContent.length];
+    System.arraycopy(serverContent, 0, mergedContent, 0, serverContent.length);
+    System.arraycopy(cachedContent, 0, mergedContent, serverContent.length, cachedContent.length);
+    return new ResponseCacheHttpResponse(headers, Unpooled.wrappedBuffer(mergedContent));
+  }
+
+  private static byte[] serializeCachedRecords(VeniceMultiGetPath path, ResponseCacheLookup cacheLookup) {
+    List<MultiGetResponseRecordV1> records = new ArrayList<>(cacheLookup.cachedValues.size());
+    for (Map.Entry<RouterKey, RouterResponseCache.CachedValue> entry: cacheLookup.cachedValues.entrySet()) {
+      MultiGetResponseRecordV1 record = new MultiGetResponseRecordV1();
+      record.keyIndex = path.getKeyIndex(entry.getKey());
+      record.value = entry.getValue().getValue();
+      record.schemaId = entry.getValue().getSchemaId();
+      records.add(record);
+    }
+    return MULTI_GET_RESPONSE_SERIALIZER.serializeObjects(records);
+  }
+
   protected CompletableFuture<PortableHttpResponse> sendRequest(
       Instance storageNode,
       VenicePath path,
@@ -357,6 +554,55 @@ public final class VeniceDispatcher implements PartitionDispatchHandler4<Instanc
     this.leakedCompletableFutureCleanupService.interrupt();
   }
 
+  /**
+   * The outcome of looking up the keys of a request part in the {@link RouterResponseCache}.
+   */
+  private static final class ResponseCacheLookup {
+    private final Map<RouterKey, RouterResponseCache.CachedValue> cachedValues;
+    private final List<RouterKey> missedKeys;
+    private final long epoch;
+
+    private ResponseCacheLookup(int keyCount, long epoch) {
+      this.cachedValues = new LinkedHashMap<>(keyCount);
+      this.missedKeys = new ArrayList<>(keyCount);
+      this.epoch = epoch;
+    }
+  }
+
+  /**
+   * A successful storage node response, either built from the response cache or combining the content returned by a
+   * storage node with cached values.
+   */
+  private static final class ResponseCacheHttpResponse implements PortableHttpResponse {
+    private final Map<String, String> headers;
+    private final ByteBuf content;
+
+    private ResponseCacheHttpResponse(Map<String, String> headers, ByteBuf content) {
+      this.headers = headers;
+      this.content = content;
+    }
+
+    @Override
+    public int getStatusCode() {
+      return HttpStatus.SC_OK;
+    }
+
+    @Override
+    public ByteBuf getContentInByteBuf() {
+      return content;
+    }
+
+    @Override
+    public boolean containsHeader(String headerName) {
+      return headers.containsKey(headerName);
+    }
+
+    @Override
+    public String getFirstHeader(String headerName) {
+      return headers.get(headerName);
+    }
+  }
+
   /**
    * This implementation of {@link CompletableFuture} has the capability to track the start time.
    * @param <T>
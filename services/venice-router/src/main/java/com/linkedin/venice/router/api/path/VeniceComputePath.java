@@ -9,7 +9,11 @@ import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import com.linkedin.alpini.netty4.misc.BasicFullHttpRequest;
 import com.linkedin.alpini.router.api.RouterException;
 import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.VeniceConstants;
 import com.linkedin.venice.compute.protocol.request.ComputeRequestV3;
+import com.linkedin.venice.compute.protocol.request.ComputeRequestV5;
+import com.linkedin.venice.compute.protocol.request.ComputeRequestV6;
+import com.linkedin.venice.compute.protocol.request.ComputeRequestV7;
 import com.linkedin.venice.compute.protocol.request.router.ComputeRouterRequestKeyV1;
 import com.linkedin.venice.meta.RetryManager;
 import com.linkedin.venice.meta.StoreVersionName;
@@ -50,6 +54,30 @@ public class VeniceComputePath extends VeniceMultiKeyPath<ComputeRouterRequestKe
       Collections.emptyList());
   private static final ThreadLocal<GenericRecord> EMPTY_COMPUTE_REQUEST_RECORD =
       ThreadLocal.withInitial(() -> new GenericData.Record(EMPTY_RECORD_SCHEMA));
+  private static final Schema EMPTY_V5_RECORD_SCHEMA = Schema.createRecord(
+      ComputeRequestV5.class.getSimpleName(),
+      "no-op",
+      ComputeRequestV5.class.getPackage().getName(),
+      false,
+      Collections.emptyList());
+  private static final ThreadLocal<GenericRecord> EMPTY_V5_COMPUTE_REQUEST_RECORD =
+      ThreadLocal.withInitial(() -> new GenericData.Record(EMPTY_V5_RECORD_SCHEMA));
+  private static final Schema EMPTY_V6_RECORD_SCHEMA = Schema.createRecord(
+      ComputeRequestV6.class.getSimpleName(),
+      "no-op",
+      ComputeRequestV6.class.getPackage().getName(),
+      false,
+      Collections.emptyList());
+  private static final ThreadLocal<GenericRecord> EMPTY_V6_COMPUTE_REQUEST_RECORD =
+      ThreadLocal.withInitial(() -> new GenericData.Record(EMPTY_V6_RECORD_SCHEMA));
+  private static final Schema EMPTY_V7_RECORD_SCHEMA = Schema.createRecord(
+      ComputeRequestV7.class.getSimpleName(),
+      "no-op",
+      ComputeRequestV7.class.getPackage().getName(),
+      false,
+      Collections.emptyList());
+  private static final ThreadLocal<GenericRecord> EMPTY_V7_COMPUTE_REQUEST_RECORD =
+      ThreadLocal.withInitial(() -> new GenericData.Record(EMPTY_V7_RECORD_SCHEMA));
 
   /**
    * N.B. This deserializer takes V3 as the writer schema, but the reader schema is just an empty record.
@@ -64,13 +92,25 @@ public class VeniceComputePath extends VeniceMultiKeyPath<ComputeRouterRequestKe
    *    V3 is capable of deserializing the previous two as well. This is because these schemas have only ever added new
    *    branches to the {@link com.linkedin.venice.compute.protocol.request.ComputeRequest#operations} union, and thus
    *    the schema with all the branches can deserialize those with fewer branches. For this reason, it is not necessary
-   *    here to take the schema the client used to encode as the writer schema the router uses to decode. If, however,
-   *    in the future, we keep evolving the compute request protocol, we need to reevaluate if the evolution will
-   *    require passing in the precise writer schema used. For example, if adding a new field, we would need to start
-   *    using the correct writer schema (either V3 or the newer one).
+   *    here to take the schema the client used to encode as the writer schema the router uses to decode.
+   *
+   * 3. Version 5, however, added the branch of the top-K operator after the ones V3 knows about, so its requests are
+   *    skipped with their precise writer schema, see {@link #COMPUTE_REQUEST_V5_NO_OP_DESERIALIZER}. Likewise,
+   *    version 6 added the filter field, so its requests are skipped with
+   *    {@link #COMPUTE_REQUEST_V6_NO_OP_DESERIALIZER}, and version 7 added the branches of the aggregation operators,
+   *    so its requests are skipped with {@link #COMPUTE_REQUEST_V7_NO_OP_DESERIALIZER}.
    */
   private static final RecordDeserializer<GenericRecord> COMPUTE_REQUEST_NO_OP_DESERIALIZER =
       FastSerializerDeserializerFactory.getFastAvroGenericDeserializer(ComputeRequestV3.SCHEMA$, EMPTY_RECORD_SCHEMA);
+  private static final RecordDeserializer<GenericRecord> COMPUTE_REQUEST_V5_NO_OP_DESERIALIZER =
+      FastSerializerDeserializerFactory
+          .getFastAvroGenericDeserializer(ComputeRequestV5.SCHEMA$, EMPTY_V5_RECORD_SCHEMA);
+  private static final RecordDeserializer<GenericRecord> COMPUTE_REQUEST_V6_NO_OP_DESERIALIZER =
+      FastSerializerDeserializerFactory
+          .getFastAvroGenericDeserializer(ComputeRequestV6.SCHEMA$, EMPTY_V6_RECORD_SCHEMA);
+  private static final RecordDeserializer<GenericRecord> COMPUTE_REQUEST_V7_NO_OP_DESERIALIZER =
+      FastSerializerDeserializerFactory
+          .getFastAvroGenericDeserializer(ComputeRequestV7.SCHEMA$, EMPTY_V7_RECORD_SCHEMA);
   private static final RecordDeserializer<ByteBuffer> COMPUTE_REQUEST_CLIENT_KEY_V1_DESERIALIZER =
       FastSerializerDeserializerFactory.getFastAvroGenericDeserializer(
           ReadAvroProtocolDefinition.COMPUTE_REQUEST_CLIENT_KEY_V1.getSchema(),
@@ -78,8 +118,16 @@ public class VeniceComputePath extends VeniceMultiKeyPath<ComputeRouterRequestKe
   private static final RecordSerializer<ComputeRouterRequestKeyV1> COMPUTE_ROUTER_REQUEST_KEY_V1_SERIALIZER =
       FastSerializerDeserializerFactory.getFastAvroGenericSerializer(ComputeRouterRequestKeyV1.getClassSchema());
 
-  private static void skipOverComputeRequest(BinaryDecoder decoder) {
-    COMPUTE_REQUEST_NO_OP_DESERIALIZER.deserialize(EMPTY_COMPUTE_REQUEST_RECORD.get(), decoder);
+  private static void skipOverComputeRequest(int computeRequestVersion, BinaryDecoder decoder) {
+    if (computeRequestVersion >= VeniceConstants.COMPUTE_REQUEST_VERSION_V7) {
+      COMPUTE_REQUEST_V7_NO_OP_DESERIALIZER.deserialize(EMPTY_V7_COMPUTE_REQUEST_RECORD.get(), decoder);
+    } else if (computeRequestVersion >= VeniceConstants.COMPUTE_REQUEST_VERSION_V6) {
+      COMPUTE_REQUEST_V6_NO_OP_DESERIALIZER.deserialize(EMPTY_V6_COMPUTE_REQUEST_RECORD.get(), decoder);
+    } else if (computeRequestVersion >= VeniceConstants.COMPUTE_REQUEST_VERSION_V5) {
+      COMPUTE_REQUEST_V5_NO_OP_DESERIALIZER.deserialize(EMPTY_V5_COMPUTE_REQUEST_RECORD.get(), decoder);
+    } else {
+      COMPUTE_REQUEST_NO_OP_DESERIALIZER.deserialize(EMPTY_COMPUTE_REQUEST_RECORD.get(), decoder);
+    }
   }
 
   private final byte[] requestContent;
@@ -122,7 +170,7 @@ public class VeniceComputePath extends VeniceMultiKeyPath<ComputeRouterRequestKe
      */
     BinaryDecoder decoder = OptimizedBinaryDecoderFactory.defaultFactory()
         .createOptimizedBinaryDecoder(requestContent, 0, requestContent.length);
-    skipOverComputeRequest(decoder);
+    skipOverComputeRequest(computeRequestVersion, decoder);
     try {
       // record the length of the serialized ComputeRequest
       computeRequestLengthInBytes = requestContent.length - decoder.inputStream().available();
@@ -137,6 +137,15 @@ public class VeniceMultiGetPath extends VeniceMultiKeyPath<MultiGetRouterRequest
     return routerRequestKey;
   }
 
+  /**
+   * @return the index of the key in the original request, which the storage nodes refer to the key by in their
+   *         responses, or -1 if the key is not part of this path.
+   */
+  public int getKeyIndex(RouterKey key) {
+    MultiGetRouterRequestKeyV1 routerRequestKey = routerKeyMap.get(key);
+    return routerRequestKey == null ? -1 : routerRequestKey.keyIndex;
+  }
+
   @Override
   protected byte[] serializeRouterRequest() {
     return MULTI_GET_ROUTER_REQUEST_KEY_V1_SERIALIZER.serializeObjects(routerKeyMap.values());
@@ -238,6 +238,21 @@ public class AggRouterHttpRequestStats extends AbstractVeniceAggStoreStats<Route
     recordStoreStats(storeName, RouterHttpRequestStats::recordMetaStoreShadowRead);
   }
 
+  public void recordResponseCacheHit(String storeName, int keyCount) {
+    totalStats.recordResponseCacheHit(keyCount);
+    recordStoreStats(storeName, stats -> stats.recordResponseCacheHit(keyCount));
+  }
+
+  public void recordResponseCacheMiss(String storeName, int keyCount) {
+    totalStats.recordResponseCacheMiss(keyCount);
+    recordStoreStats(storeName, stats -> stats.recordResponseCacheMiss(keyCount));
+  }
+
+  public void recordResponseCacheLatencySaved(String storeName, double latency) {
+    totalStats.recordResponseCacheLatencySaved(latency);
+    recordStoreStats(storeName, stats -> stats.recordResponseCacheLatencySaved(latency));
+  }
+
   private class AggScatterGatherStats extends ScatterGatherStats {
     private long getAggStats(Function<ScatterGatherStats, Long> func) {
       long total = 0;
@@ -124,6 +124,9 @@ public class RouterHttpRequestStats extends AbstractVeniceHttpStats {
   private final Sensor unavailableReplicaStreamingRequestSensor;
   private final Sensor multiGetFallbackSensor;
   private final Sensor metaStoreShadowReadSensor;
+  private final Sensor responseCacheHitSensor;
+  private final Sensor responseCacheMissSensor;
+  private final Sensor responseCacheLatencySavedSensor;
   private Sensor keySizeSensor;
 
   /** TODO: Need to clarify the usage and add new OTel metrics or add it as a part of existing ones */
@@ -462,6 +465,18 @@ public class RouterHttpRequestStats extends AbstractVeniceHttpStats {
     currentInFlightRequest = new AtomicInteger();
 
     metaStoreShadowReadSensor = registerSensor("meta_store_shadow_read", new OccurrenceRate());
+
+    /**
+     * The response cache metrics count keys, and the latency saved is the one of the storage node responses, which
+     * the router did not have to wait for since all the keys of a request part got answered from its cache.
+     */
+    Rate responseCacheHitRate = new Rate();
+    Rate responseCacheMissRate = new Rate();
+    responseCacheHitSensor = registerSensor("response_cache_hit", new Total(), responseCacheHitRate);
+    responseCacheMissSensor = registerSensor("response_cache_miss", new Total(), responseCacheMissRate);
+    registerSensor(
+        new TehutiUtils.RatioStat(responseCacheHitRate, responseCacheMissRate, "response_cache_hit_ratio"));
+    responseCacheLatencySavedSensor = registerSensor("response_cache_latency_saved", new Avg(), new Total());
     this.totalInFlightRequestSensor = totalInFlightRequestSensor;
   }
 
@@ -711,6 +726,18 @@ public class RouterHttpRequestStats extends AbstractVeniceHttpStats {
     metaStoreShadowReadSensor.record();
   }
 
+  public void recordResponseCacheHit(int keyCount) {
+    responseCacheHitSensor.record(keyCount);
+  }
+
+  public void recordResponseCacheMiss(int keyCount) {
+    responseCacheMissSensor.record(keyCount);
+  }
+
+  public void recordResponseCacheLatencySaved(double latency) {
+    responseCacheLatencySavedSensor.record(latency);
+  }
+
   @Override
   protected Sensor registerSensor(String sensorName, MeasurableStat... stats) {
     return super.registerSensor(systemStoreName == null ? sensorName : systemStoreName, null, stats);
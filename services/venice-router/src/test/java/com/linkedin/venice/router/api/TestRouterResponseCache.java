@@ -0,0 +1,148 @@
+package com.linkedin.venice.router.api;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.meta.HybridStoreConfig;
+import com.linkedin.venice.meta.ReadOnlyStoreRepository;
+import com.linkedin.venice.meta.Store;
+import com.linkedin.venice.meta.Version;
+import com.linkedin.venice.meta.VersionStatus;
+import com.linkedin.venice.read.RequestType;
+import com.linkedin.venice.router.api.path.VenicePath;
+import java.nio.ByteBuffer;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+
+public class TestRouterResponseCache {
+  private static final String STORE_NAME = "test_store";
+
+  private ReadOnlyStoreRepository storeRepository;
+  private Store store;
+  private Version version;
+
+  @BeforeMethod
+  public void setUp() {
+    storeRepository = mock(ReadOnlyStoreRepository.class);
+    store = mock(Store.class);
+    version = mock(Version.class);
+    doReturn(STORE_NAME).when(store).getName();
+    doReturn(1).when(store).getCurrentVersion();
+    doReturn(version).when(store).getVersion(1);
+    doReturn(VersionStatus.ONLINE).when(version).getStatus();
+    doReturn(store).when(storeRepository).getStore(STORE_NAME);
+  }
+
+  private static VenicePath mockPath(int versionNumber, RequestType requestType) {
+    VenicePath path = mock(VenicePath.class);
+    doReturn(STORE_NAME).when(path).getStoreName();
+    doReturn(Version.composeKafkaTopic(STORE_NAME, versionNumber)).when(path).getResourceName();
+    doReturn(requestType).when(path).getRequestType();
+    return path;
+  }
+
+  private static ByteBuffer bytes(String s) {
+    return ByteBuffer.wrap(s.getBytes());
+  }
+
+  @Test
+  public void testOnlyImmutableVersionsAreCacheable() {
+    RouterResponseCache cache = new RouterResponseCache(1024 * 1024, storeRepository);
+    verify(storeRepository).registerStoreDataChangedListener(cache);
+    Assert.assertTrue(cache.isCacheable(mockPath(1, RequestType.SINGLE_GET)));
+    Assert.assertTrue(cache.isCacheable(mockPath(1, RequestType.MULTI_GET)));
+    Assert.assertFalse(cache.isCacheable(mockPath(1, RequestType.MULTI_GET_STREAMING)));
+    Assert.assertFalse(cache.isCacheable(mockPath(1, RequestType.COMPUTE)));
+    // Not the current version
+    Assert.assertFalse(cache.isCacheable(mockPath(2, RequestType.SINGLE_GET)));
+
+    // Hybrid versions are not immutable
+    doReturn(mock(HybridStoreConfig.class)).when(version).getHybridStoreConfig();
+    cache.handleStoreChanged(store);
+    Assert.assertFalse(cache.isCacheable(mockPath(1, RequestType.SINGLE_GET)));
+
+    // Neither are the ones of stores with incremental push
+    doReturn(null).when(version).getHybridStoreConfig();
+    doReturn(true).when(store).isIncrementalPushEnabled();
+    cache.handleStoreChanged(store);
+    Assert.assertFalse(cache.isCacheable(mockPath(1, RequestType.SINGLE_GET)));
+  }
+
+  @Test
+  public void testVersionSwapDropsCachedValues() {
+    RouterResponseCache cache = new RouterResponseCache(1024 * 1024, storeRepository);
+    String resourceName = Version.composeKafkaTopic(STORE_NAME, 1);
+    long epoch = cache.getEpoch(resourceName);
+    cache.put(resourceName, epoch, bytes("key"), 1, CompressionStrategy.GZIP, bytes("value"), 5.0);
+
+    RouterResponseCache.CachedValue cachedValue = cache.get(resourceName, bytes("key"));
+    Assert.assertNotNull(cachedValue);
+    Assert.assertEquals(cachedValue.getSchemaId(), 1);
+    Assert.assertEquals(cachedValue.getCompressionStrategy(), CompressionStrategy.GZIP);
+    Assert.assertEquals(cachedValue.getValue(), bytes("value"));
+    Assert.assertEquals(cachedValue.getLatencyMs(), 5.0);
+    Assert.assertNull(cache.get(Version.composeKafkaTopic(STORE_NAME, 2), bytes("key")));
+
+    // Unrelated changes to the store keep the current version cached
+    cache.handleStoreChanged(store);
+    Assert.assertNotNull(cache.get(resourceName, bytes("key")));
+
+    doReturn(2).when(store).getCurrentVersion();
+    cache.handleStoreChanged(store);
+    Assert.assertNull(cache.get(resourceName, bytes("key")));
+    Assert.assertEquals(cache.getUsedBytes(), 0);
+
+    String newResourceName = Version.composeKafkaTopic(STORE_NAME, 2);
+    long newEpoch = cache.getEpoch(newResourceName);
+    cache.put(newResourceName, newEpoch, bytes("key"), 1, CompressionStrategy.NO_OP, bytes("value"), 5.0);
+    Assert.assertNotNull(cache.get(newResourceName, bytes("key")));
+    cache.handleStoreDeleted(STORE_NAME);
+    Assert.assertNull(cache.get(newResourceName, bytes("key")));
+    Assert.assertEquals(cache.getUsedBytes(), 0);
+  }
+
+  @Test
+  public void testCapacityIsBounded() {
+    int valueSize = 100;
+    long capacity = 64 * (valueSize + RouterResponseCache.ENTRY_OVERHEAD_IN_BYTES);
+    RouterResponseCache cache = new RouterResponseCache(capacity, storeRepository);
+    String resourceName = Version.composeKafkaTopic(STORE_NAME, 1);
+    ByteBuffer value = ByteBuffer.wrap(new byte[valueSize]);
+    long epoch = cache.getEpoch(resourceName);
+    for (int i = 0; i < 1000; i++) {
+      cache.put(resourceName, epoch, bytes("key_" + i), 1, CompressionStrategy.NO_OP, value, 1.0);
+      Assert.assertTrue(cache.getUsedBytes() <= capacity);
+    }
+    Assert.assertEquals(value.position(), 0);
+    Assert.assertNotNull(cache.get(resourceName, bytes("key_999")));
+    Assert.assertNull(cache.get(resourceName, bytes("key_0")));
+
+    // A value larger than the capacity is not cached
+    ByteBuffer bigValue = ByteBuffer.wrap(new byte[10000]);
+    cache.put(resourceName, epoch, bytes("big_key"), 1, CompressionStrategy.NO_OP, bigValue, 1.0);
+    Assert.assertNull(cache.get(resourceName, bytes("big_key")));
+  }
+
+  @Test
+  public void testInFlightValuesOfDroppedResourceAreNotCached() {
+    RouterResponseCache cache = new RouterResponseCache(1024 * 1024, storeRepository);
+    String resourceName = Version.composeKafkaTopic(STORE_NAME, 1);
+    // The epoch is read before the storage node gets queried, and the resource gets dropped while it answers
+    long epoch = cache.getEpoch(resourceName);
+    doReturn(2).when(store).getCurrentVersion();
+    cache.handleStoreChanged(store);
+    cache.put(resourceName, epoch, bytes("key"), 1, CompressionStrategy.NO_OP, bytes("value"), 1.0);
+    Assert.assertNull(cache.get(resourceName, bytes("key")));
+    Assert.assertEquals(cache.getUsedBytes(), 0);
+
+    // A request sent after the drop gets a new epoch
+    long newEpoch = cache.getEpoch(resourceName);
+    Assert.assertNotEquals(newEpoch, epoch);
+    cache.put(resourceName, newEpoch, bytes("key"), 1, CompressionStrategy.NO_OP, bytes("value"), 1.0);
+    Assert.assertNotNull(cache.get(resourceName, bytes("key")));
+  }
+}
@@ -10,11 +10,14 @@ import static org.mockito.Mockito.when;
 import com.linkedin.alpini.netty4.misc.BasicFullHttpRequest;
 import com.linkedin.alpini.router.api.RouterException;
 import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.VeniceConstants;
 import com.linkedin.venice.compute.protocol.request.ComputeOperation;
 import com.linkedin.venice.compute.protocol.request.ComputeRequestV1;
 import com.linkedin.venice.compute.protocol.request.ComputeRequestV2;
+import com.linkedin.venice.compute.protocol.request.ComputeRequestV5;
 import com.linkedin.venice.compute.protocol.request.CosineSimilarity;
 import com.linkedin.venice.compute.protocol.request.DotProduct;
+import com.linkedin.venice.compute.protocol.request.TopK;
 import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
 import com.linkedin.venice.meta.NameRepository;
 import com.linkedin.venice.meta.RetryManager;
@@ -89,6 +92,10 @@ public class TestVeniceComputePath {
     RecordSerializer<ComputeRequestV1> computeRequestSerializer =
         SerializerDeserializerFactory.getAvroGenericSerializer(ComputeRequestV1.getClassSchema());
     byte[] serializedComputeRequest = computeRequestSerializer.serialize(request);
+    if (apiVersion >= VeniceConstants.COMPUTE_REQUEST_VERSION_V6) {
+      // Version 6 is encoded like the previous ones, followed by the filter, which is an empty array here
+      serializedComputeRequest = ArrayUtils.add(serializedComputeRequest, (byte) 0);
+    }
 
     RecordSerializer<ByteBuffer> keySerializer = SerializerDeserializerFactory
         .getAvroGenericSerializer(ReadAvroProtocolDefinition.COMPUTE_REQUEST_CLIENT_KEY_V1.getSchema());
@@ -138,10 +145,62 @@ public class TestVeniceComputePath {
           retryConfig,
           mock(RetryManager.class),
           mock(VeniceResponseDecompressor.class));
-      Assert.assertEquals(computePath.getComputeRequestLengthInBytes(), expectedLength);
+      Assert.assertEquals(
+          computePath.getComputeRequestLengthInBytes(),
+          apiVersion >= VeniceConstants.COMPUTE_REQUEST_VERSION_V6 ? expectedLength + 1 : expectedLength);
     }
   }
 
+  @Test
+  public void testTopKRequestDeserialization() throws RouterException {
+    String resourceName = Utils.getUniqueString("test_store") + "_v1";
+    List<ByteBuffer> keys = new ArrayList<>();
+    for (int i = 0; i < 5; ++i) {
+      keys.add(ByteBuffer.wrap(("key_" + i).getBytes()));
+    }
+
+    TopK topK = (TopK) ComputeOperationType.TOP_K.getNewInstance();
+    topK.field = "member_feature";
+    topK.topKParam = new ArrayList<>();
+    topK.topKParam.add(0.4f);
+    topK.k = 3;
+    topK.resultFieldName = "member_score";
+    ComputeOperation operation = new ComputeOperation();
+    operation.operationType = ComputeOperationType.TOP_K.getValue();
+    operation.operation = topK;
+    ComputeRequestV5 computeRequest = new ComputeRequestV5();
+    computeRequest.operations = new ArrayList<>();
+    computeRequest.operations.add(operation);
+    computeRequest.resultSchemaStr = resultSchemaStr;
+
+    // The top-K branch is unknown to the schema of V3, so the request can only be skipped with the one of V5
+    byte[] serializedComputeRequest =
+        SerializerDeserializerFactory.getAvroGenericSerializer(ComputeRequestV5.getClassSchema())
+            .serialize(computeRequest);
+    byte[] serializedKeys = SerializerDeserializerFactory
+        .getAvroGenericSerializer(ReadAvroProtocolDefinition.COMPUTE_REQUEST_CLIENT_KEY_V1.getSchema())
+        .serializeObjects(keys);
+    BasicFullHttpRequest request = getComputeHttpRequest(
+        resourceName,
+        ArrayUtils.addAll(serializedComputeRequest, serializedKeys),
+        VeniceConstants.COMPUTE_REQUEST_VERSION_V5);
+
+    RouterRetryConfig retryConfig = mock(RouterRetryConfig.class);
+    when(retryConfig.isSmartLongTailRetryEnabled()).thenReturn(false);
+    when(retryConfig.getSmartLongTailRetryAbortThresholdMs()).thenReturn(-1);
+    when(retryConfig.getLongTailRetryMaxRouteForMultiKeyReq()).thenReturn(1);
+    VeniceComputePath computePath = new VeniceComputePath(
+        nameRepository.getStoreVersionName(resourceName),
+        request,
+        getVenicePartitionFinder(-1),
+        10,
+        mock(AggRouterHttpRequestStats.class),
+        retryConfig,
+        mock(RetryManager.class),
+        mock(VeniceResponseDecompressor.class));
+    Assert.assertEquals(computePath.getComputeRequestLengthInBytes(), serializedComputeRequest.length);
+  }
+
   @Test
   public void testComputeRequestVersionBackwardCompatible() {
     // generate a version 1 record
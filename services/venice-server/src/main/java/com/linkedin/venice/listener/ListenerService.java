@@ -114,7 +114,8 @@ public class ListenerService extends AbstractVeniceService {
         readMetadataRetriever,
         diskHealthService,
         compressorFactory,
-        resourceReadUsageTracker);
+        resourceReadUsageTracker,
+        metricsRepository);
 
     HttpChannelInitializer channelInitializer = new HttpChannelInitializer(
         storeMetadataRepository,
@@ -235,7 +236,8 @@ public class ListenerService extends AbstractVeniceService {
       ReadMetadataRetriever readMetadataRetriever,
       DiskHealthCheckService diskHealthService,
       StorageEngineBackedCompressorFactory compressorFactory,
-      Optional<ResourceReadUsageTracker> resourceReadUsageTracker) {
+      Optional<ResourceReadUsageTracker> resourceReadUsageTracker,
+      MetricsRepository metricsRepository) {
     return new StorageReadRequestHandler(
         serverConfig,
         executor,
@@ -247,6 +249,7 @@ public class ListenerService extends AbstractVeniceService {
         readMetadataRetriever,
         diskHealthService,
         compressorFactory,
-        resourceReadUsageTracker);
+        resourceReadUsageTracker,
+        metricsRepository);
   }
 }
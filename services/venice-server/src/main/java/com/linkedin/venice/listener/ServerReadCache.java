@@ -0,0 +1,224 @@
+package com.linkedin.venice.listener;
+
+import com.linkedin.davinci.store.StorageEngine;
+import com.linkedin.davinci.store.cache.offheap.FrequencySketch;
+import com.linkedin.venice.stats.AggServerReadCacheStats;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * A cache of the hot values of a store version, which {@link StorageReadRequestHandler} keeps in front of the storage
+ * engine to serve single-get and batch-get requests. The values are kept serialized, and still compressed, exactly as
+ * they are sent back to the router.
+ *
+ * The cache is split into segments by key hash, each of them being an LRU map bounded by its share of the capacity in
+ * bytes. When a segment is full, a new value only gets admitted if a {@link FrequencySketch} estimates that it is
+ * requested more often than the least recently used value of the segment (TinyLFU admission), so that a scan through
+ * cold keys does not flush the hot ones.
+ *
+ * Every value is tagged with the {@link StorageEngine#getPartitionWriteGeneration} of its partition, read before the
+ * value got looked up in the storage engine, and is only served while the partition has not been written to since. A
+ * write to any key of a partition thus invalidates all the values cached for it, and the cache never serves a value
+ * older than the last write applied by ingestion. The cache is bound to a single storage engine instance, since the
+ * write generations of a new instance of the same store version start over.
+ */
+class ServerReadCache {
+  /**
+   * A rough estimate of the heap used by an entry on top of its key and value: the map entry, the key wrapper, the
+   * cached value and the array headers.
+   */
+  static final int ENTRY_OVERHEAD_IN_BYTES = 128;
+  private static final int SEGMENT_COUNT = 16;
+
+  private final StorageEngine storageEngine;
+  private final String storeName;
+  private final AggServerReadCacheStats stats;
+  private final Segment[] segments;
+
+  ServerReadCache(StorageEngine storageEngine, String storeName, long capacityInBytes, AggServerReadCacheStats stats) {
+    if (capacityInBytes <= 0) {
+      throw new IllegalArgumentException("The capacity of the read cache must be positive, got: " + capacityInBytes);
+    }
+    this.storageEngine = storageEngine;
+    // The storage engines only pay for tracking their writes once a cache relies on it
+    this.storageEngine.enableWriteGenerationTracking();
+    this.storeName = storeName;
+    this.stats = stats;
+    this.segments = new Segment[SEGMENT_COUNT];
+    for (int i = 0; i < SEGMENT_COUNT; i++) {
+      segments[i] = new Segment(Math.max(capacityInBytes / SEGMENT_COUNT, 1));
+    }
+  }
+
+  /**
+   * @return the write generation to look up and cache values of the partition with, or -1 if values read from the
+   *         given storage engine cannot be cached at the moment.
+   */
+  long getWriteGeneration(StorageEngine storageEngine, int partition) {
+    if (storageEngine != this.storageEngine) {
+      return -1;
+    }
+    return storageEngine.getPartitionWriteGeneration(partition);
+  }
+
+  /**
+   * @return the cached value of the key, or null if it is not cached or if its partition got written to since.
+   */
+  CachedValue get(int partition, byte[] key, long writeGeneration) {
+    CacheKey cacheKey = new CacheKey(partition, key);
+    Segment segment = segmentFor(cacheKey);
+    CachedValue cachedValue;
+    synchronized (segment) {
+      segment.sketch.increment(cacheKey.hash);
+      cachedValue = writeGeneration < 0 ? null : segment.get(cacheKey);
+      if (cachedValue != null && cachedValue.writeGeneration != writeGeneration) {
+        segment.remove(cacheKey);
+        segment.usedBytes -= cachedValue.sizeInBytes;
+        cachedValue = null;
+      }
+    }
+    if (cachedValue == null) {
+      stats.recordMiss(storeName);
+    } else {
+      stats.recordHit(storeName);
+    }
+    return cachedValue;
+  }
+
+  /**
+   * Offer a value read from the storage engine to the cache. The key and value are only copied if the value gets
+   * admitted.
+   *
+   * @param writeGeneration the one returned by {@link #getWriteGeneration} before reading the value.
+   */
+  void put(int partition, byte[] key, long writeGeneration, int schemaId, ByteBuffer value) {
+    if (writeGeneration < 0) {
+      return;
+    }
+    CacheKey cacheKey = new CacheKey(partition, key);
+    Segment segment = segmentFor(cacheKey);
+    long sizeInBytes = (long) key.length + value.remaining() + ENTRY_OVERHEAD_IN_BYTES;
+    if (sizeInBytes > segment.capacityInBytes) {
+      return;
+    }
+    int evictionCount = 0;
+    boolean admitted = true;
+    synchronized (segment) {
+      CachedValue previousValue = segment.remove(cacheKey);
+      if (previousValue != null) {
+        segment.usedBytes -= previousValue.sizeInBytes;
+      }
+      int candidateFrequency = segment.sketch.frequency(cacheKey.hash);
+      Iterator<Map.Entry<CacheKey, CachedValue>> iterator = segment.entrySet().iterator();
+      while (segment.usedBytes + sizeInBytes > segment.capacityInBytes) {
+        Map.Entry<CacheKey, CachedValue> victim = iterator.next();
+        // Values of partitions written to since they got cached are evicted regardless of their popularity
+        boolean isVictimValid = victim.getValue().writeGeneration == storageEngine
+            .getPartitionWriteGeneration(victim.getKey().partition);
+        if (isVictimValid && segment.sketch.frequency(victim.getKey().hash) >= candidateFrequency) {
+          admitted = false;
+          break;
+        }
+        iterator.remove();
+        segment.usedBytes -= victim.getValue().sizeInBytes;
+        evictionCount++;
+      }
+      if (admitted) {
+        byte[] valueBytes = new byte[value.remaining()];
+        value.duplicate().get(valueBytes);
+        CacheKey storedKey = new CacheKey(partition, Arrays.copyOf(key, key.length), cacheKey.hash);
+        segment.put(storedKey, new CachedValue(schemaId, valueBytes, writeGeneration, sizeInBytes));
+        segment.usedBytes += sizeInBytes;
+      }
+    }
+    for (int i = 0; i < evictionCount; i++) {
+      stats.recordEviction(storeName);
+    }
+    if (!admitted) {
+      stats.recordRejectedAdmission(storeName);
+    }
+  }
+
+  // For testing purpose only.
+  long getUsedBytes() {
+    long usedBytes = 0;
+    for (Segment segment: segments) {
+      synchronized (segment) {
+        usedBytes += segment.usedBytes;
+      }
+    }
+    return usedBytes;
+  }
+
+  private Segment segmentFor(CacheKey cacheKey) {
+    return segments[(cacheKey.hash ^ (cacheKey.hash >>> 16)) & (SEGMENT_COUNT - 1)];
+  }
+
+  static final class CachedValue {
+    final int schemaId;
+    final byte[] value;
+    final long writeGeneration;
+    final long sizeInBytes;
+
+    CachedValue(int schemaId, byte[] value, long writeGeneration, long sizeInBytes) {
+      this.schemaId = schemaId;
+      this.value = value;
+      this.writeGeneration = writeGeneration;
+      this.sizeInBytes = sizeInBytes;
+    }
+  }
+
+  private static final class CacheKey {
+    final int partition;
+    final byte[] key;
+    final int hash;
+
+    CacheKey(int partition, byte[] key) {
+      this(partition, key, 31 * Arrays.hashCode(key) + partition);
+    }
+
+    CacheKey(int partition, byte[] key, int hash) {
+      this.partition = partition;
+      this.key = key;
+      this.hash = hash;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof CacheKey)) {
+        return false;
+      }
+      CacheKey that = (CacheKey) o;
+      return partition == that.partition && Arrays.equals(key, that.key);
+    }
+  }
+
+  /**
+   * An access-ordered map, whose eldest entry is the least recently used one. It is guarded by its own monitor.
+   */
+  private static final class Segment extends LinkedHashMap<CacheKey, CachedValue> {
+    private static final long serialVersionUID = 1L;
+
+    final long capacityInBytes;
+    final FrequencySketch sketch;
+    long usedBytes;
+
+    Segment(long capacityInBytes) {
+      super(16, 0.75f, true);
+      this.capacityInBytes = capacityInBytes;
+      this.sketch = new FrequencySketch(capacityInBytes / ENTRY_OVERHEAD_IN_BYTES);
+    }
+  }
+}
@@ -22,9 +22,11 @@ import com.linkedin.davinci.store.record.ValueRecord;
 import com.linkedin.venice.cleaner.ResourceReadUsageTracker;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.compression.VeniceCompressor;
+import com.linkedin.venice.compute.ComputeFilter;
 import com.linkedin.venice.compute.ComputeUtils;
 import com.linkedin.venice.compute.protocol.request.ComputeOperation;
 import com.linkedin.venice.compute.protocol.request.ComputeRequest;
+import com.linkedin.venice.compute.protocol.request.TopK;
 import com.linkedin.venice.compute.protocol.request.enums.ComputeOperationType;
 import com.linkedin.venice.compute.protocol.request.router.ComputeRouterRequestKeyV1;
 import com.linkedin.venice.compute.protocol.response.ComputeResponseRecordV1;
@@ -67,6 +69,7 @@ import com.linkedin.venice.serialization.StoreDeserializerCache;
 import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
 import com.linkedin.venice.serializer.RecordSerializer;
 import com.linkedin.venice.serializer.SerializerDeserializerFactory;
+import com.linkedin.venice.stats.AggServerReadCacheStats;
 import com.linkedin.venice.streaming.StreamingConstants;
 import com.linkedin.venice.streaming.StreamingUtils;
 import com.linkedin.venice.utils.AvroRecordUtils;
@@ -80,12 +83,15 @@ import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.tehuti.metrics.MetricsRepository;
 import java.nio.ByteBuffer;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -109,6 +115,11 @@ import org.apache.logging.log4j.Logger;
 @ChannelHandler.Sharable
 public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
   private static final Logger LOGGER = LogManager.getLogger(StorageReadRequestHandler.class);
+  /**
+   * Every projected value reader generates its own deserializer classes, which cannot be unloaded, so the number of
+   * them per store version is capped, see {@link #getProjectedValueReader}.
+   */
+  static final int MAX_PROJECTED_VALUE_READERS_PER_STORE_VERSION = 64;
   private static final RedundantExceptionFilter REDUNDANT_LOGGING_FILTER =
       RedundantExceptionFilter.getRedundantExceptionFilter();
   private final DiskHealthCheckService diskHealthCheckService;
@@ -129,6 +140,8 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
       new VeniceConcurrentHashMap<>();
   private final StorageEngineBackedCompressorFactory compressorFactory;
   private final Consumer<String> resourceReadUsageTracker;
+  private final long readCacheCapacityInBytes;
+  private final AggServerReadCacheStats readCacheStats;
 
   /**
    * The function handles below are used to drive the K/V size profiling, which is enabled (or not) by an immutable
@@ -143,12 +156,38 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
   private static class PerStoreVersionState {
     final StoreDeserializerCache<GenericRecord> storeDeserializerCache;
     StorageEngine storageEngine;
+    /**
+     * Null if the read cache is disabled. It is replaced along with {@link #storageEngine}, and ignores lookups made
+     * against any other storage engine than its own.
+     */
+    ServerReadCache readCache;
+    /**
+     * The readers of the values projected down to the fields which compute requests read, keyed by the value schema ID
+     * and the names of these fields, see {@link #getProjectedValueReader}. It holds at most
+     * {@link #MAX_PROJECTED_VALUE_READERS_PER_STORE_VERSION} readers, and is only added to under its own monitor.
+     */
+    final Map<String, ProjectedValueReader> projectedValueReaderMap = new VeniceConcurrentHashMap<>();
 
     public PerStoreVersionState(
         StorageEngine storageEngine,
-        StoreDeserializerCache<GenericRecord> storeDeserializerCache) {
+        StoreDeserializerCache<GenericRecord> storeDeserializerCache,
+        ServerReadCache readCache) {
       this.storageEngine = storageEngine;
       this.storeDeserializerCache = storeDeserializerCache;
+      this.readCache = readCache;
+    }
+  }
+
+  /**
+   * The reader schema of the values of a compute request, and the deserializers from any writer schema into it.
+   */
+  private static class ProjectedValueReader {
+    final Schema readerSchema;
+    final StoreDeserializerCache<GenericRecord> storeDeserializerCache;
+
+    ProjectedValueReader(Schema readerSchema, StoreDeserializerCache<GenericRecord> storeDeserializerCache) {
+      this.readerSchema = readerSchema;
+      this.storeDeserializerCache = storeDeserializerCache;
     }
   }
 
@@ -200,7 +239,8 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
       ReadMetadataRetriever readMetadataRetriever,
       DiskHealthCheckService healthCheckService,
       StorageEngineBackedCompressorFactory compressorFactory,
-      Optional<ResourceReadUsageTracker> optionalResourceReadUsageTracker) {
+      Optional<ResourceReadUsageTracker> optionalResourceReadUsageTracker,
+      MetricsRepository metricsRepository) {
     this(
         serverConfig,
         executor,
@@ -213,6 +253,7 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
         healthCheckService,
         compressorFactory,
         optionalResourceReadUsageTracker,
+        metricsRepository,
         serverConfig.isKeyValueProfilingEnabled()
             ? s -> new MultiGetResponseWrapper(s, new MultiGetResponseStatsWithSizeProfiling(s))
             : MultiGetResponseWrapper::new,
@@ -236,6 +277,7 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
       DiskHealthCheckService healthCheckService,
       StorageEngineBackedCompressorFactory compressorFactory,
       Optional<ResourceReadUsageTracker> optionalResourceReadUsageTracker,
+      MetricsRepository metricsRepository,
       IntFunction<MultiGetResponseWrapper> multiGetResponseProvider,
       IntFunction<ComputeResponseWrapper> computeResponseProvider) {
     this.executor = executor;
@@ -269,6 +311,10 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
     } else {
       this.resourceReadUsageTracker = ignored -> {};
     }
+    this.readCacheCapacityInBytes = serverConfig.getReadCacheCapacityPerStoreVersionInBytes();
+    this.readCacheStats = this.readCacheCapacityInBytes > 0
+        ? new AggServerReadCacheStats(serverConfig.getClusterName(), metricsRepository)
+        : null;
   }
 
   @Override
@@ -438,7 +484,9 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
        * rebalance happens. In such case, we refresh the storage engine by getting a reference to the latest one from
        * the {@link storageEngineRepository}.
        */
-      s.storageEngine = getStorageEngineOrThrow(storeVersion);
+      StorageEngine storageEngine = getStorageEngineOrThrow(storeVersion);
+      s.readCache = createReadCache(storeVersion, storageEngine);
+      s.storageEngine = storageEngine;
     }
     return s;
   }
@@ -449,7 +497,21 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
     StoreDeserializerCache<GenericRecord> storeDeserializerCache = storeDeserializerCacheMap.computeIfAbsent(
         storeName,
         s -> new AvroStoreDeserializerCache<>(this.schemaRepository, s, this.fastAvroEnabled));
-    return new PerStoreVersionState(storageEngine, storeDeserializerCache);
+    return new PerStoreVersionState(
+        storageEngine,
+        storeDeserializerCache,
+        createReadCache(storeVersion, storageEngine));
+  }
+
+  private ServerReadCache createReadCache(String storeVersion, StorageEngine storageEngine) {
+    if (readCacheCapacityInBytes <= 0) {
+      return null;
+    }
+    return new ServerReadCache(
+        storageEngine,
+        Version.parseStoreFromKafkaTopicName(storeVersion),
+        readCacheCapacityInBytes,
+        readCacheStats);
   }
 
   private StorageEngine getStorageEngineOrThrow(String storeVersion) {
@@ -480,8 +542,13 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
       SingleGetResponseWrapper response = new SingleGetResponseWrapper();
       response.setCompressionStrategy(StoreVersionStateUtils.getCompressionStrategy(svs));
 
-      ValueRecord valueRecord =
-          SingleGetChunkingAdapter.get(storageEngine, request.getPartition(), key, isChunked, response.getStats());
+      ValueRecord valueRecord = getValueRecord(
+          perStoreVersionState.readCache,
+          storageEngine,
+          request.getPartition(),
+          key,
+          isChunked,
+          response.getStats());
       response.setValueRecord(valueRecord);
 
       response.getStats().addKeySize(key.length);
@@ -492,6 +559,56 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
     }, executor);
   }
 
+  private static ValueRecord getValueRecord(
+      ServerReadCache readCache,
+      StorageEngine storageEngine,
+      int partition,
+      byte[] key,
+      boolean isChunked,
+      ReadResponseStats stats) {
+    if (readCache == null) {
+      return SingleGetChunkingAdapter.get(storageEngine, partition, key, isChunked, stats);
+    }
+    // The write generation must be read before the value, see ServerReadCache
+    long writeGeneration = readCache.getWriteGeneration(storageEngine, partition);
+    ServerReadCache.CachedValue cachedValue = readCache.get(partition, key, writeGeneration);
+    if (cachedValue != null) {
+      return ValueRecord.create(cachedValue.schemaId, cachedValue.value);
+    }
+    ValueRecord valueRecord = SingleGetChunkingAdapter.get(storageEngine, partition, key, isChunked, stats);
+    if (valueRecord != null) {
+      readCache
+          .put(partition, key, writeGeneration, valueRecord.getSchemaId(), valueRecord.getData().nioBuffer());
+    }
+    return valueRecord;
+  }
+
+  private static MultiGetResponseRecordV1 getMultiGetResponseRecord(
+      ServerReadCache readCache,
+      StorageEngine storageEngine,
+      int partition,
+      ByteBuffer key,
+      boolean isChunked,
+      ReadResponseStats stats) {
+    if (readCache == null) {
+      return BatchGetChunkingAdapter.get(storageEngine, partition, key, isChunked, stats);
+    }
+    byte[] keyBytes = ByteUtils.extractByteArray(key);
+    long writeGeneration = readCache.getWriteGeneration(storageEngine, partition);
+    ServerReadCache.CachedValue cachedValue = readCache.get(partition, keyBytes, writeGeneration);
+    if (cachedValue != null) {
+      MultiGetResponseRecordV1 record = new MultiGetResponseRecordV1();
+      record.schemaId = cachedValue.schemaId;
+      record.value = ByteBuffer.wrap(cachedValue.value);
+      return record;
+    }
+    MultiGetResponseRecordV1 record = BatchGetChunkingAdapter.get(storageEngine, partition, key, isChunked, stats);
+    if (record != null) {
+      readCache.put(partition, keyBytes, writeGeneration, record.schemaId, record.value);
+    }
+    return record;
+  }
+
   private CompletableFuture<ReadResponse> handleMultiGetRequestInParallel(MultiGetRouterRequestWrapper request) {
     List<MultiGetRouterRequestKeyV1> keys = request.getKeys();
     RequestContext requestContext = new RequestContext(request, this);
@@ -573,7 +690,8 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
     for (int subChunkCur = startPos; subChunkCur < endPos; ++subChunkCur) {
       key = keys.get(subChunkCur);
       response.getStats().addKeySize(key.getKeyBytes().remaining());
-      record = BatchGetChunkingAdapter.get(
+      record = getMultiGetResponseRecord(
+          requestContext.storeVersion.readCache,
           requestContext.storeVersion.storageEngine,
           key.partitionId,
           key.keyBytes,
@@ -702,6 +820,26 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
     final RecordSerializer<GenericRecord> resultSerializer;
     final List<ComputeOperation> operations;
     final List<Schema.Field> operationResultFields;
+    /**
+     * The K of the top-K operation of the request, if any, in which case only the K records with the highest score in
+     * {@link #topKScoreField} are returned, or 0 otherwise.
+     */
+    final int topK;
+    final Schema.Field topKScoreField;
+    /**
+     * The filter of the request, if any, in which case the records which do not match it are neither computed nor
+     * returned, or null otherwise.
+     */
+    final ComputeFilter filter;
+    /**
+     * Whether the request only contains aggregation operations, in which case the counts of all the records of each
+     * chunk of keys are returned in a single record, rather than one record per key.
+     */
+    final boolean isAggregation;
+    /**
+     * The values are only decoded into the fields which the request reads, unless it reads all of them.
+     */
+    final ProjectedValueReader valueReader;
 
     ComputeRequestContext(ComputeRouterRequestWrapper request, StorageReadRequestHandler handler) {
       super(request, handler);
@@ -714,6 +852,25 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
           handler.serverConfig.getZstdDictCompressionLevel());
       this.operations = request.getComputeRequest().getOperations();
       this.operationResultFields = ComputeUtils.getOperationResultFields(operations, resultSchema);
+      int topKOperationIndex = ComputeUtils.getTopKOperationIndex(operations);
+      this.topK = topKOperationIndex < 0 ? 0 : ((TopK) operations.get(topKOperationIndex).operation).k;
+      this.topKScoreField = topKOperationIndex < 0 ? null : operationResultFields.get(topKOperationIndex);
+      this.filter = ComputeFilter.fromPredicates(request.getComputeRequest().getFilter());
+      this.isAggregation = ComputeUtils.isAggregationRequest(operations);
+      this.valueReader = handler.getProjectedValueReader(request, storeVersion, valueSchemaEntry, resultSchema);
+    }
+  }
+
+  private static class ScoredComputeResponseRecord {
+    static final Comparator<ScoredComputeResponseRecord> LOWEST_SCORE_FIRST =
+        (r1, r2) -> Float.compare(r1.score, r2.score);
+
+    final float score;
+    final ComputeResponseRecordV1 record;
+
+    ScoredComputeResponseRecord(float score, ComputeResponseRecordV1 record) {
+      this.score = score;
+      this.record = record;
     }
   }
 
@@ -729,11 +886,23 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
      */
     ReusableObjects reusableObjects = threadLocalReusableObjects.get();
     GenericRecord reusableValueRecord = reusableObjects.valueRecordMap
-        .computeIfAbsent(requestContext.valueSchemaEntry.getSchema(), GenericData.Record::new);
+        .computeIfAbsent(requestContext.valueReader.readerSchema, GenericData.Record::new);
     GenericRecord reusableResultRecord =
         reusableObjects.resultRecordMap.computeIfAbsent(requestContext.resultSchema, GenericData.Record::new);
     reusableObjects.computeContext.clear();
 
+    /**
+     * For top-K requests, only the records with the K highest scores of this chunk of keys are kept, with the lowest
+     * score at the head of the queue. Records which cannot make it into the top K do not even get serialized, and their
+     * keys are sent back without a result, like the keys which do not exist.
+     */
+    PriorityQueue<ScoredComputeResponseRecord> topRecords = requestContext.topK > 0
+        ? new PriorityQueue<>(
+            Math.min(requestContext.topK, endPos - startPos) + 1,
+            ScoredComputeResponseRecord.LOWEST_SCORE_FIRST)
+        : null;
+    Float score = null;
+
     int hits = 0;
     long serializeStartTimeInNS, computeStartTimeInNS;
     ComputeRouterRequestKeyV1 key;
@@ -752,9 +921,16 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
           requestContext.isChunked,
           response.getStats(),
           requestContext.valueSchemaEntry.getId(),
-          requestContext.storeVersion.storeDeserializerCache,
+          requestContext.valueReader.storeDeserializerCache,
           requestContext.compressor);
       if (reusableValueRecord != null) {
+        if (requestContext.filter != null && !requestContext.filter.test(reusableValueRecord)) {
+          // The record is left out of the response, but its key is still sent back, without a result
+          if (!requestContext.isAggregation) {
+            addKeyWithoutResult(key.getKeyIndex(), requestContext, response);
+          }
+          continue;
+        }
         computeStartTimeInNS = System.nanoTime();
         reusableResultRecord = ComputeUtils.computeResult(
             requestContext.operations,
@@ -762,6 +938,22 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
             reusableObjects.computeContext,
             reusableValueRecord,
             reusableResultRecord);
+        hits++;
+
+        if (requestContext.isAggregation) {
+          // The counts are accumulated in the compute context, and serialized once for the whole chunk below
+          response.getStats().addReadComputeLatency(LatencyUtils.getElapsedTimeFromNSToMS(computeStartTimeInNS));
+          continue;
+        }
+
+        if (topRecords != null) {
+          score = (Float) reusableResultRecord.get(requestContext.topKScoreField.pos());
+          if (score == null || (topRecords.size() >= requestContext.topK && score <= topRecords.peek().score)) {
+            response.getStats().addReadComputeLatency(LatencyUtils.getElapsedTimeFromNSToMS(computeStartTimeInNS));
+            addKeyWithoutResult(key.getKeyIndex(), requestContext, response);
+            continue;
+          }
+        }
 
         serializeStartTimeInNS = System.nanoTime(); // N.B. This clock call is also used as the end of the compute time
         record = new ComputeResponseRecordV1();
@@ -774,24 +966,98 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
             .addReadComputeLatency(LatencyUtils.convertNSToMS(serializeStartTimeInNS - computeStartTimeInNS));
         response.getStats().addReadComputeOutputSize(record.value.remaining());
 
-        response.addRecord(record);
-        hits++;
-      } else if (requestContext.isStreaming) {
-        // For streaming, we need to send back non-existing keys
-        record = new ComputeResponseRecordV1();
-        // Negative key index to indicate non-existing key
-        record.keyIndex = Math.negateExact(key.getKeyIndex());
-        record.value = StreamingUtils.EMPTY_BYTE_BUFFER;
-        response.addRecord(record);
+        if (topRecords != null) {
+          topRecords.add(new ScoredComputeResponseRecord(score, record));
+          if (topRecords.size() > requestContext.topK) {
+            addKeyWithoutResult(topRecords.poll().record.keyIndex, requestContext, response);
+          }
+        } else {
+          response.addRecord(record);
+        }
+      } else if (!requestContext.isAggregation) {
+        // For streaming, we need to send back non-existing keys, unless the response is not made of one record per key
+        addKeyWithoutResult(key.getKeyIndex(), requestContext, response);
+      }
+    }
+
+    if (topRecords != null) {
+      for (ScoredComputeResponseRecord scoredRecord: topRecords) {
+        response.addRecord(scoredRecord.record);
       }
     }
 
+    if (requestContext.isAggregation && startPos < endPos) {
+      addAggregationResults(startPos, endPos, keys, hits, requestContext, reusableObjects, response);
+    }
+
     // Trigger serialization
     response.getResponseBody();
 
     incrementOperatorCounters(response.getStats(), requestContext.operations, hits);
   }
 
+  /**
+   * The partial histograms of the chunk are returned as the result of its first key, so that they go through the
+   * routers and the clients like any other record, and the clients merge the counts of all the records they receive.
+   * For streaming, all the other keys of the chunk are sent back without a result, so that the clients can tell that
+   * the counts of the whole chunk were received. Since the counts do not depend on which keys exist, a router retrying
+   * the same keys on another replica gets them under the same keys, which the clients drop as duplicates instead of
+   * counting them twice. The clients must not retry a subset of the keys though, whose chunks would differ.
+   */
+  private void addAggregationResults(
+      int startPos,
+      int endPos,
+      List<ComputeRouterRequestKeyV1> keys,
+      int hits,
+      ComputeRequestContext requestContext,
+      ReusableObjects reusableObjects,
+      ComputeResponseWrapper response) {
+    int firstKeyIndex = keys.get(startPos).getKeyIndex();
+    if (hits > 0) {
+      long serializeStartTimeInNS = System.nanoTime();
+      GenericRecord reusableResultRecord =
+          reusableObjects.resultRecordMap.computeIfAbsent(requestContext.resultSchema, GenericData.Record::new);
+      AvroRecordUtils.clearRecord(reusableResultRecord);
+      ComputeUtils.putAggregationResults(
+          requestContext.operations,
+          requestContext.operationResultFields,
+          reusableObjects.computeContext,
+          reusableResultRecord);
+      ComputeResponseRecordV1 record = new ComputeResponseRecordV1();
+      record.keyIndex = firstKeyIndex;
+      record.value = ByteBuffer.wrap(requestContext.resultSerializer.serialize(reusableResultRecord));
+      response.getStats()
+          .addReadComputeSerializationLatency(LatencyUtils.getElapsedTimeFromNSToMS(serializeStartTimeInNS));
+      response.getStats().addReadComputeOutputSize(record.value.remaining());
+      response.addRecord(record);
+    } else {
+      addKeyWithoutResult(firstKeyIndex, requestContext, response);
+    }
+    for (int i = startPos + 1; i < endPos; i++) {
+      addKeyWithoutResult(keys.get(i).getKeyIndex(), requestContext, response);
+    }
+  }
+
+  /**
+   * For streaming, the keys which have no record in the response are sent back with a negative key index and an empty
+   * value, which the clients treat as non-existing keys. Besides the keys which do not exist, this covers the keys
+   * whose record does not match the filter of the request, and the keys left out of a top-K response, so that the
+   * clients can tell a complete response apart from a partial one, which is missing the keys of some storage nodes.
+   */
+  private static void addKeyWithoutResult(
+      int keyIndex,
+      ComputeRequestContext requestContext,
+      ComputeResponseWrapper response) {
+    if (!requestContext.isStreaming) {
+      return;
+    }
+    ComputeResponseRecordV1 record = new ComputeResponseRecordV1();
+    // Negative key index to indicate non-existing key
+    record.keyIndex = Math.negateExact(keyIndex);
+    record.value = StreamingUtils.EMPTY_BYTE_BUFFER;
+    response.addRecord(record);
+  }
+
   private BinaryResponse handleDictionaryFetchRequest(DictionaryFetchRequest request) {
     ByteBuffer dictionary = ingestionMetadataRetriever.getStoreVersionCompressionDictionary(request.getResourceName());
     return new BinaryResponse(dictionary);
@@ -821,6 +1087,53 @@ public class StorageReadRequestHandler extends ChannelInboundHandlerAdapter {
     return resultSchema;
   }
 
+  /**
+   * Wide values are decoded much faster when the reader schema only has the few fields which a compute request reads,
+   * since the decoder then skips the other ones at the byte level instead of materializing them. The projected reader
+   * schemas and their deserializers are cached per combination of fields, which the requests of a given use case
+   * rarely vary. Once {@link #MAX_PROJECTED_VALUE_READERS_PER_STORE_VERSION} combinations are cached for the store
+   * version, the values of any other combination are fully decoded instead, with the deserializers of the store.
+   */
+  private ProjectedValueReader getProjectedValueReader(
+      ComputeRouterRequestWrapper request,
+      PerStoreVersionState storeVersion,
+      SchemaEntry valueSchemaEntry,
+      Schema resultSchema) {
+    Schema valueSchema = valueSchemaEntry.getSchema();
+    List<String> readFieldNames = ComputeUtils.getReadValueFieldNames(
+        valueSchema,
+        resultSchema,
+        request.getComputeRequest().getOperations(),
+        request.getComputeRequest().getFilter());
+    if (readFieldNames.size() == valueSchema.getFields().size()) {
+      return new ProjectedValueReader(valueSchema, storeVersion.storeDeserializerCache);
+    }
+    String projectionKey = valueSchemaEntry.getId() + ":" + String.join(",", readFieldNames);
+    Map<String, ProjectedValueReader> readerMap = storeVersion.projectedValueReaderMap;
+    ProjectedValueReader valueReader = readerMap.get(projectionKey);
+    if (valueReader != null) {
+      return valueReader;
+    }
+    synchronized (readerMap) {
+      valueReader = readerMap.get(projectionKey);
+      if (valueReader == null) {
+        if (readerMap.size() >= MAX_PROJECTED_VALUE_READERS_PER_STORE_VERSION) {
+          return new ProjectedValueReader(valueSchema, storeVersion.storeDeserializerCache);
+        }
+        Schema projectedSchema = ComputeUtils.getProjectedValueSchema(valueSchema, readFieldNames);
+        valueReader = new ProjectedValueReader(
+            projectedSchema,
+            new AvroStoreDeserializerCache<>(
+                schemaRepository,
+                request.getStoreName(),
+                projectedSchema,
+                fastAvroEnabled));
+        readerMap.put(projectionKey, valueReader);
+      }
+      return valueReader;
+    }
+  }
+
   private SchemaEntry getComputeValueSchema(ComputeRouterRequestWrapper request) {
     SchemaEntry superSetOrLatestValueSchema = schemaRepository.getSupersetOrLatestValueSchema(request.getStoreName());
     return request.getValueSchemaId() != SchemaData.INVALID_VALUE_SCHEMA_ID
@@ -490,7 +490,9 @@ public class VeniceServer {
           serverConfig.getBlobTransferPeersConnectivityFreshnessInSeconds(),
           serverConfig.getBlobTransferClientReadLimitBytesPerSec(),
           serverConfig.getBlobTransferServiceWriteLimitBytesPerSec(),
-          serverConfig.getSnapshotCleanupIntervalInMins());
+          serverConfig.getSnapshotCleanupIntervalInMins(),
+          serverConfig.getBlobReceiveParallelConnectionCount(),
+          serverConfig.getBlobReceiveMaxPeerCount());
 
       blobTransferManager = new BlobTransferManagerBuilder().setBlobTransferConfig(p2PBlobTransferConfig)
           .setCustomizedViewFuture(customizedViewFuture)
@@ -0,0 +1,38 @@
+package com.linkedin.venice.stats;
+
+import io.tehuti.metrics.MetricsRepository;
+
+
+/**
+ * {@code AggServerReadCacheStats} is the aggregate statistics for {@code ServerReadCacheStats}, which measures the
+ * hits, misses and evictions of the read cache of each store.
+ */
+public class AggServerReadCacheStats extends AbstractVeniceAggStats<ServerReadCacheStats> {
+  public AggServerReadCacheStats(String cluster, MetricsRepository metricsRepository) {
+    super(
+        cluster,
+        metricsRepository,
+        (metrics, storeName, clusterName) -> new ServerReadCacheStats(metrics, storeName),
+        false);
+  }
+
+  public void recordHit(String storeName) {
+    totalStats.recordHit();
+    getStoreStats(storeName).recordHit();
+  }
+
+  public void recordMiss(String storeName) {
+    totalStats.recordMiss();
+    getStoreStats(storeName).recordMiss();
+  }
+
+  public void recordEviction(String storeName) {
+    totalStats.recordEviction();
+    getStoreStats(storeName).recordEviction();
+  }
+
+  public void recordRejectedAdmission(String storeName) {
+    totalStats.recordRejectedAdmission();
+    getStoreStats(storeName).recordRejectedAdmission();
+  }
+}
@@ -0,0 +1,48 @@
+package com.linkedin.venice.stats;
+
+import io.tehuti.metrics.MetricsRepository;
+import io.tehuti.metrics.Sensor;
+import io.tehuti.metrics.stats.OccurrenceRate;
+import io.tehuti.metrics.stats.Rate;
+
+
+/**
+ * Measures the efficiency of the read cache the server keeps in front of the storage engine of a store.
+ */
+public class ServerReadCacheStats extends AbstractVeniceStats {
+  private final Sensor hitSensor;
+  private final Sensor missSensor;
+  private final Sensor evictionSensor;
+  private final Sensor rejectedAdmissionSensor;
+
+  public ServerReadCacheStats(MetricsRepository metricsRepository, String name) {
+    super(metricsRepository, name);
+    /**
+     * Check java doc of function: {@link TehutiUtils.RatioStat} to understand why choosing {@link Rate} instead of
+     * {@link io.tehuti.metrics.stats.SampledStat}.
+     */
+    Rate hitRate = new OccurrenceRate();
+    Rate missRate = new OccurrenceRate();
+    hitSensor = registerSensor("read_cache_hit", hitRate);
+    missSensor = registerSensor("read_cache_miss", missRate);
+    registerSensor("read_cache_hit_ratio", new TehutiUtils.RatioStat(hitRate, missRate, "read_cache_hit_ratio"));
+    evictionSensor = registerSensor("read_cache_eviction", new OccurrenceRate());
+    rejectedAdmissionSensor = registerSensor("read_cache_rejected_admission", new OccurrenceRate());
+  }
+
+  public void recordHit() {
+    hitSensor.record();
+  }
+
+  public void recordMiss() {
+    missSensor.record();
+  }
+
+  public void recordEviction() {
+    evictionSensor.record();
+  }
+
+  public void recordRejectedAdmission() {
+    rejectedAdmissionSensor.record();
+  }
+}
@@ -0,0 +1,136 @@
+package com.linkedin.venice.listener;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.linkedin.davinci.store.StorageEngine;
+import com.linkedin.venice.stats.AggServerReadCacheStats;
+import java.nio.ByteBuffer;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+
+public class ServerReadCacheTest {
+  private static final String STORE_NAME = "test_store";
+  private static final int PARTITION = 1;
+
+  private StorageEngine storageEngine;
+  private AggServerReadCacheStats stats;
+
+  @BeforeMethod
+  public void setUp() {
+    storageEngine = mock(StorageEngine.class);
+    doReturn(0L).when(storageEngine).getPartitionWriteGeneration(anyInt());
+    stats = mock(AggServerReadCacheStats.class);
+  }
+
+  @Test
+  public void testValueIsServedUntilPartitionIsWritten() {
+    ServerReadCache cache = new ServerReadCache(storageEngine, STORE_NAME, 1024 * 1024, stats);
+    verify(storageEngine).enableWriteGenerationTracking();
+    byte[] key = "key".getBytes();
+    long generation = cache.getWriteGeneration(storageEngine, PARTITION);
+    Assert.assertNull(cache.get(PARTITION, key, generation));
+    cache.put(PARTITION, key, generation, 2, ByteBuffer.wrap("value".getBytes()));
+
+    ServerReadCache.CachedValue cachedValue = cache.get(PARTITION, key, generation);
+    Assert.assertNotNull(cachedValue);
+    Assert.assertEquals(cachedValue.schemaId, 2);
+    Assert.assertEquals(cachedValue.value, "value".getBytes());
+    // Another partition does not share the cached value
+    Assert.assertNull(cache.get(PARTITION + 1, key, generation));
+
+    // Once the partition gets written to, the cached value must not be served anymore
+    doReturn(1L).when(storageEngine).getPartitionWriteGeneration(PARTITION);
+    Assert.assertNull(cache.get(PARTITION, key, cache.getWriteGeneration(storageEngine, PARTITION)));
+    Assert.assertEquals(cache.getUsedBytes(), 0);
+
+    verify(stats, times(1)).recordHit(STORE_NAME);
+    verify(stats, times(3)).recordMiss(STORE_NAME);
+  }
+
+  @Test
+  public void testNothingIsCachedWhileWritesAreInFlight() {
+    ServerReadCache cache = new ServerReadCache(storageEngine, STORE_NAME, 1024 * 1024, stats);
+    byte[] key = "key".getBytes();
+    doReturn(-1L).when(storageEngine).getPartitionWriteGeneration(PARTITION);
+    long generation = cache.getWriteGeneration(storageEngine, PARTITION);
+    Assert.assertEquals(generation, -1);
+    cache.put(PARTITION, key, generation, 1, ByteBuffer.wrap("value".getBytes()));
+    Assert.assertEquals(cache.getUsedBytes(), 0);
+    Assert.assertNull(cache.get(PARTITION, key, generation));
+  }
+
+  @Test
+  public void testOtherStorageEngineBypassesCache() {
+    ServerReadCache cache = new ServerReadCache(storageEngine, STORE_NAME, 1024 * 1024, stats);
+    StorageEngine newStorageEngine = mock(StorageEngine.class);
+    doReturn(0L).when(newStorageEngine).getPartitionWriteGeneration(anyInt());
+    Assert.assertEquals(cache.getWriteGeneration(newStorageEngine, PARTITION), -1);
+  }
+
+  @Test
+  public void testCapacityIsBoundedAndHotKeySurvivesScan() {
+    int valueSize = 100;
+    long capacity = 64 * (valueSize + ServerReadCache.ENTRY_OVERHEAD_IN_BYTES);
+    ServerReadCache cache = new ServerReadCache(storageEngine, STORE_NAME, capacity, stats);
+    byte[] hotKey = "hot_key".getBytes();
+    ByteBuffer value = ByteBuffer.wrap(new byte[valueSize]);
+    for (int i = 0; i < 10; i++) {
+      if (cache.get(PARTITION, hotKey, 0) == null) {
+        cache.put(PARTITION, hotKey, 0, 1, value);
+      }
+    }
+
+    for (int i = 0; i < 1000; i++) {
+      byte[] coldKey = ("cold_key_" + i).getBytes();
+      Assert.assertNull(cache.get(PARTITION, coldKey, 0));
+      cache.put(PARTITION, coldKey, 0, 1, value);
+      Assert.assertTrue(cache.getUsedBytes() <= capacity);
+    }
+    Assert.assertEquals(value.position(), 0);
+    Assert.assertNotNull(cache.get(PARTITION, hotKey, 0));
+    verify(stats, atLeastOnce()).recordRejectedAdmission(STORE_NAME);
+  }
+
+  @Test
+  public void testInvalidatedValuesAreEvictedRegardlessOfPopularity() {
+    int valueSize = 100;
+    long capacity = 64 * (valueSize + ServerReadCache.ENTRY_OVERHEAD_IN_BYTES);
+    ServerReadCache cache = new ServerReadCache(storageEngine, STORE_NAME, capacity, stats);
+    ByteBuffer value = ByteBuffer.wrap(new byte[valueSize]);
+    for (int i = 0; i < 1000; i++) {
+      byte[] key = ("key_" + i).getBytes();
+      cache.get(PARTITION, key, 0);
+      cache.get(PARTITION, key, 0);
+      cache.put(PARTITION, key, 0, 1, value);
+    }
+    long usedBytes = cache.getUsedBytes();
+
+    // Once the partition gets written to, its values make room for the ones of other partitions
+    doReturn(1L).when(storageEngine).getPartitionWriteGeneration(PARTITION);
+    for (int i = 0; i < 1000; i++) {
+      byte[] key = ("key_" + i).getBytes();
+      cache.get(PARTITION + 1, key, 0);
+      cache.put(PARTITION + 1, key, 0, 1, value);
+      Assert.assertTrue(cache.getUsedBytes() <= capacity);
+    }
+    verify(stats, atLeastOnce()).recordEviction(STORE_NAME);
+    Assert.assertTrue(cache.getUsedBytes() >= usedBytes);
+  }
+
+  @Test
+  public void testValueLargerThanCapacityIsNotCached() {
+    ServerReadCache cache = new ServerReadCache(storageEngine, STORE_NAME, 1024, stats);
+    byte[] key = "key".getBytes();
+    cache.put(PARTITION, key, 0, 1, ByteBuffer.wrap(new byte[2048]));
+    Assert.assertEquals(cache.getUsedBytes(), 0);
+    verify(stats, never()).recordRejectedAdmission(STORE_NAME);
+  }
+}
@@ -21,6 +21,8 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 import com.linkedin.davinci.compression.StorageEngineBackedCompressorFactory;
@@ -37,8 +39,11 @@ import com.linkedin.davinci.store.StorageEngine;
 import com.linkedin.davinci.store.record.ValueRecord;
 import com.linkedin.davinci.store.rocksdb.RocksDBServerConfig;
 import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.client.store.AvroComputeAggregationRequestBuilder;
 import com.linkedin.venice.client.store.AvroComputeRequestBuilderV3;
 import com.linkedin.venice.client.store.AvroGenericReadComputeStoreClient;
+import com.linkedin.venice.client.store.predicate.IntPredicate;
+import com.linkedin.venice.client.store.predicate.Predicate;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.compression.NoopCompressor;
 import com.linkedin.venice.compute.ComputeRequestWrapper;
@@ -120,6 +125,7 @@ import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
+import io.tehuti.metrics.MetricsRepository;
 import java.net.URI;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
@@ -267,6 +273,7 @@ public class StorageReadRequestHandlerTest {
         healthCheckService,
         compressorFactory,
         Optional.empty(),
+        new MetricsRepository(),
         multiGetResponseProvider,
         ComputeResponseWrapper::new);
   }
@@ -773,6 +780,266 @@ public class StorageReadRequestHandlerTest {
     }
   }
 
+  @Test
+  public void testHandleTopKComputeRequest() throws Exception {
+    doReturn(true).when(storeRepository).isReadComputationEnabled(any());
+
+    Schema valueSchema = SchemaBuilder.record("SampleSchema")
+        .fields()
+        .name("listField")
+        .type()
+        .array()
+        .items()
+        .floatType()
+        .noDefault()
+        .endRecord();
+    SchemaEntry schemaEntry = new SchemaEntry(1, valueSchema);
+    doReturn(schemaEntry).when(schemaRepository).getSupersetOrLatestValueSchema(any());
+    doReturn(schemaEntry).when(schemaRepository).getValueSchema(any(), anyInt());
+
+    // The cosine similarities of the values with the top-K parameter are 1, 0, 0.7 and -1 respectively
+    List<List<Float>> vectors = Arrays.asList(
+        Arrays.asList(1.0f, 0.0f),
+        Arrays.asList(0.0f, 1.0f),
+        Arrays.asList(1.0f, 1.0f),
+        Arrays.asList(-1.0f, 0.0f));
+    int partition = 1;
+    AvroSerializer valueSerializer = new AvroSerializer<>(valueSchema);
+    List<ComputeRouterRequestKeyV1> keys = new ArrayList<>();
+    Set<Object> keySet = new HashSet<>();
+    for (int i = 0; i < vectors.size(); i++) {
+      String keyString = "test-key-" + i;
+      GenericRecord valueRecord = new GenericData.Record(valueSchema);
+      valueRecord.put("listField", vectors.get(i));
+      byte[] valueBytes = ValueRecord.create(schemaEntry.getId(), valueSerializer.serialize(valueRecord)).serialize();
+      doReturn(ByteBuffer.wrap(valueBytes)).when(storageEngine).get(eq(partition), eq(keyString.getBytes()), any());
+      keys.add(new ComputeRouterRequestKeyV1(i, ByteBuffer.wrap(keyString.getBytes()), partition));
+      keySet.add(keyString);
+    }
+
+    AvroGenericReadComputeStoreClient storeClient = mock(AvroGenericReadComputeStoreClient.class);
+    doReturn("test-store").when(storeClient).getStoreName();
+    Schema keySchema = AvroSchemaParseUtils.parseSchemaFromJSONLooseValidation("\"string\"");
+    new AvroComputeRequestBuilderV3<>(storeClient, getMockSchemaReader(keySchema, valueSchema))
+        .topK("listField", Arrays.asList(1.0f, 0.0f), 2, "score")
+        .execute(keySet);
+    ArgumentCaptor<ComputeRequestWrapper> requestCaptor = ArgumentCaptor.forClass(ComputeRequestWrapper.class);
+    verify(storeClient, times(1)).compute(requestCaptor.capture(), any(), any(), any(), anyLong());
+    ComputeRequestWrapper computeRequestWrapper = requestCaptor.getValue();
+    ComputeRequest computeRequest = ComputeUtils.deserializeComputeRequest(
+        computeRequestWrapper.getComputeRequestVersion(),
+        OptimizedBinaryDecoderFactory.defaultFactory()
+            .createOptimizedBinaryDecoder(ByteBuffer.wrap(computeRequestWrapper.serialize())),
+        null);
+
+    ComputeRouterRequestWrapper request = mock(ComputeRouterRequestWrapper.class);
+    doReturn(RequestType.COMPUTE).when(request).getRequestType();
+    doReturn(true).when(request).isStreamingRequest();
+    doReturn(schemaEntry.getId()).when(request).getValueSchemaId();
+    doReturn(computeRequest).when(request).getComputeRequest();
+    doReturn(version.kafkaTopicName()).when(request).getResourceName();
+    doReturn(keys).when(request).getKeys();
+    doReturn(keys.size()).when(request).getKeyCount();
+
+    StorageReadRequestHandler requestHandler = createStorageReadRequestHandler();
+    requestHandler.channelRead(context, request);
+
+    verify(context, times(1)).writeAndFlush(argumentCaptor.capture());
+    ComputeResponseWrapper computeResponse = (ComputeResponseWrapper) argumentCaptor.getValue();
+    RecordDeserializer<ComputeResponseRecordV1> responseDeserializer =
+        SerializerDeserializerFactory.getAvroSpecificDeserializer(ComputeResponseRecordV1.class);
+    Set<Integer> returnedKeyIndexes = new HashSet<>();
+    for (ComputeResponseRecordV1 record: responseDeserializer
+        .deserializeObjects(computeResponse.getResponseBody().array())) {
+      returnedKeyIndexes.add(record.getKeyIndex());
+    }
+    // Only the top 2 records are returned, and the other keys are sent back without a result
+    assertEquals(returnedKeyIndexes, new HashSet<>(Arrays.asList(0, 2, -1, -3)));
+  }
+
+  @Test
+  public void testHandleFilteredComputeRequest() throws Exception {
+    doReturn(true).when(storeRepository).isReadComputationEnabled(any());
+
+    Schema valueSchema = SchemaBuilder.record("SampleSchema")
+        .fields()
+        .name("intField")
+        .type()
+        .intType()
+        .noDefault()
+        .name("listField")
+        .type()
+        .array()
+        .items()
+        .floatType()
+        .noDefault()
+        .endRecord();
+    SchemaEntry schemaEntry = new SchemaEntry(1, valueSchema);
+    doReturn(schemaEntry).when(schemaRepository).getSupersetOrLatestValueSchema(any());
+    doReturn(schemaEntry).when(schemaRepository).getValueSchema(any(), anyInt());
+
+    int partition = 1;
+    int existingKeyCount = 4;
+    AvroSerializer valueSerializer = new AvroSerializer<>(valueSchema);
+    List<ComputeRouterRequestKeyV1> keys = new ArrayList<>();
+    Set<Object> keySet = new HashSet<>();
+    for (int i = 0; i <= existingKeyCount; i++) {
+      String keyString = "test-key-" + i;
+      if (i < existingKeyCount) {
+        GenericRecord valueRecord = new GenericData.Record(valueSchema);
+        valueRecord.put("intField", i);
+        valueRecord.put("listField", Arrays.asList(1.0f, 2.0f));
+        byte[] valueBytes = ValueRecord.create(schemaEntry.getId(), valueSerializer.serialize(valueRecord)).serialize();
+        doReturn(ByteBuffer.wrap(valueBytes)).when(storageEngine).get(eq(partition), eq(keyString.getBytes()), any());
+      }
+      keys.add(new ComputeRouterRequestKeyV1(i, ByteBuffer.wrap(keyString.getBytes()), partition));
+      keySet.add(keyString);
+    }
+
+    AvroGenericReadComputeStoreClient storeClient = mock(AvroGenericReadComputeStoreClient.class);
+    doReturn("test-store").when(storeClient).getStoreName();
+    Schema keySchema = AvroSchemaParseUtils.parseSchemaFromJSONLooseValidation("\"string\"");
+    new AvroComputeRequestBuilderV3<>(storeClient, getMockSchemaReader(keySchema, valueSchema))
+        .dotProduct("listField", Arrays.asList(1.0f, 1.0f), "score")
+        .filter(Predicate.equalTo("intField", IntPredicate.greaterOrEquals(2)))
+        .execute(keySet);
+    ArgumentCaptor<ComputeRequestWrapper> requestCaptor = ArgumentCaptor.forClass(ComputeRequestWrapper.class);
+    verify(storeClient, times(1)).compute(requestCaptor.capture(), any(), any(), any(), anyLong());
+    ComputeRequest computeRequest = ComputeUtils.deserializeComputeRequest(
+        requestCaptor.getValue().getComputeRequestVersion(),
+        OptimizedBinaryDecoderFactory.defaultFactory()
+            .createOptimizedBinaryDecoder(ByteBuffer.wrap(requestCaptor.getValue().serialize())),
+        null);
+
+    ComputeRouterRequestWrapper request = mock(ComputeRouterRequestWrapper.class);
+    doReturn(RequestType.COMPUTE).when(request).getRequestType();
+    doReturn(true).when(request).isStreamingRequest();
+    doReturn(schemaEntry.getId()).when(request).getValueSchemaId();
+    doReturn(computeRequest).when(request).getComputeRequest();
+    doReturn(version.kafkaTopicName()).when(request).getResourceName();
+    doReturn(keys).when(request).getKeys();
+    doReturn(keys.size()).when(request).getKeyCount();
+
+    StorageReadRequestHandler requestHandler = createStorageReadRequestHandler();
+    requestHandler.channelRead(context, request);
+
+    verify(context, times(1)).writeAndFlush(argumentCaptor.capture());
+    ComputeResponseWrapper computeResponse = (ComputeResponseWrapper) argumentCaptor.getValue();
+    RecordDeserializer<ComputeResponseRecordV1> responseDeserializer =
+        SerializerDeserializerFactory.getAvroSpecificDeserializer(ComputeResponseRecordV1.class);
+    Set<Integer> returnedKeyIndexes = new HashSet<>();
+    for (ComputeResponseRecordV1 record: responseDeserializer
+        .deserializeObjects(computeResponse.getResponseBody().array())) {
+      returnedKeyIndexes.add(record.getKeyIndex());
+    }
+    // The keys whose record does not match the filter are sent back without a result, like the missing key
+    assertEquals(returnedKeyIndexes, new HashSet<>(Arrays.asList(0, -1, 2, 3, -existingKeyCount)));
+  }
+
+  @Test
+  public void testHandleAggregationComputeRequest() throws Exception {
+    doReturn(true).when(storeRepository).isReadComputationEnabled(any());
+
+    Schema valueSchema = SchemaBuilder.record("SampleSchema")
+        .fields()
+        .name("intField")
+        .type()
+        .intType()
+        .noDefault()
+        .name("stringField")
+        .type()
+        .stringType()
+        .noDefault()
+        .endRecord();
+    SchemaEntry schemaEntry = new SchemaEntry(1, valueSchema);
+    doReturn(schemaEntry).when(schemaRepository).getSupersetOrLatestValueSchema(any());
+    doReturn(schemaEntry).when(schemaRepository).getValueSchema(any(), anyInt());
+
+    int partition = 1;
+    int existingKeyCount = 5;
+    AvroSerializer valueSerializer = new AvroSerializer<>(valueSchema);
+    List<ComputeRouterRequestKeyV1> keys = new ArrayList<>();
+    Set<Object> keySet = new HashSet<>();
+    for (int i = 0; i <= existingKeyCount; i++) {
+      String keyString = "test-key-" + i;
+      if (i < existingKeyCount) {
+        GenericRecord valueRecord = new GenericData.Record(valueSchema);
+        valueRecord.put("intField", i);
+        valueRecord.put("stringField", "value_" + (i % 2));
+        byte[] valueBytes = ValueRecord.create(schemaEntry.getId(), valueSerializer.serialize(valueRecord)).serialize();
+        doReturn(ByteBuffer.wrap(valueBytes)).when(storageEngine).get(eq(partition), eq(keyString.getBytes()), any());
+      }
+      keys.add(new ComputeRouterRequestKeyV1(i, ByteBuffer.wrap(keyString.getBytes()), partition));
+      keySet.add(keyString);
+    }
+
+    AvroGenericReadComputeStoreClient storeClient = mock(AvroGenericReadComputeStoreClient.class);
+    doReturn("test-store").when(storeClient).getStoreName();
+    Schema keySchema = AvroSchemaParseUtils.parseSchemaFromJSONLooseValidation("\"string\"");
+    new AvroComputeAggregationRequestBuilder<>(storeClient, getMockSchemaReader(keySchema, valueSchema))
+        .countGroupByValue(10, "stringField")
+        .countGroupByBucket(Collections.singletonMap("high", IntPredicate.greaterOrEquals(3)), "intField")
+        .execute(keySet);
+    ArgumentCaptor<ComputeRequestWrapper> requestCaptor = ArgumentCaptor.forClass(ComputeRequestWrapper.class);
+    verify(storeClient, times(1)).compute(requestCaptor.capture(), any(), any(), any(), anyLong());
+    ComputeRequest computeRequest = ComputeUtils.deserializeComputeRequest(
+        requestCaptor.getValue().getComputeRequestVersion(),
+        OptimizedBinaryDecoderFactory.defaultFactory()
+            .createOptimizedBinaryDecoder(ByteBuffer.wrap(requestCaptor.getValue().serialize())),
+        null);
+
+    ComputeRouterRequestWrapper request = mock(ComputeRouterRequestWrapper.class);
+    doReturn(RequestType.COMPUTE).when(request).getRequestType();
+    doReturn(true).when(request).isStreamingRequest();
+    doReturn(schemaEntry.getId()).when(request).getValueSchemaId();
+    doReturn(computeRequest).when(request).getComputeRequest();
+    doReturn(version.kafkaTopicName()).when(request).getResourceName();
+    doReturn(keys).when(request).getKeys();
+    doReturn(keys.size()).when(request).getKeyCount();
+
+    StorageReadRequestHandler requestHandler = createStorageReadRequestHandler();
+    requestHandler.channelRead(context, request);
+
+    verify(context, times(1)).writeAndFlush(argumentCaptor.capture());
+    ComputeResponseWrapper computeResponse = (ComputeResponseWrapper) argumentCaptor.getValue();
+    RecordDeserializer<ComputeResponseRecordV1> responseDeserializer =
+        SerializerDeserializerFactory.getAvroSpecificDeserializer(ComputeResponseRecordV1.class);
+    List<ComputeResponseRecordV1> records =
+        responseDeserializer.deserializeObjects(computeResponse.getResponseBody().array());
+    /**
+     * The counts of all the keys are returned in a single record, as the result of the first key of the chunk, and all
+     * the other keys, including the missing one, are sent back without a result.
+     */
+    ComputeResponseRecordV1 countsRecord = null;
+    Set<Integer> keyIndexesWithoutResult = new HashSet<>();
+    for (ComputeResponseRecordV1 record: records) {
+      if (record.getValue().remaining() > 0) {
+        assertNull(countsRecord);
+        countsRecord = record;
+      } else {
+        keyIndexesWithoutResult.add(record.getKeyIndex());
+      }
+    }
+    assertNotNull(countsRecord);
+    assertEquals(countsRecord.getKeyIndex(), 0);
+    assertEquals(keyIndexesWithoutResult, new HashSet<>(Arrays.asList(-1, -2, -3, -4, -existingKeyCount)));
+
+    Schema resultSchema = new Schema.Parser().parse(requestCaptor.getValue().getResultSchemaStr().toString());
+    RecordDeserializer<GenericRecord> resultDeserializer =
+        SerializerDeserializerFactory.getAvroGenericDeserializer(resultSchema);
+    GenericRecord result = resultDeserializer.deserialize(countsRecord.getValue());
+    Map<String, Integer> valueCounts = new HashMap<>();
+    ((Map<Object, Integer>) result.get("countByValue_stringField"))
+        .forEach((value, count) -> valueCounts.put(value.toString(), count));
+    Map<String, Integer> expectedValueCounts = new HashMap<>();
+    expectedValueCounts.put("value_0", 3);
+    expectedValueCounts.put("value_1", 2);
+    assertEquals(valueCounts, expectedValueCounts);
+    Map<Object, Integer> bucketCounts = (Map<Object, Integer>) result.get("countByBucket_intField");
+    assertEquals(bucketCounts.size(), 1);
+    assertEquals(bucketCounts.values().iterator().next(), Integer.valueOf(2));
+  }
+
   /**
    * There was a regression where the "perStoreVersionStateMap" inside {@link StorageReadRequestHandler} could be stale
    * during rebalance. In the following rebalance scenario, the storage engine reference in the map would be stale:
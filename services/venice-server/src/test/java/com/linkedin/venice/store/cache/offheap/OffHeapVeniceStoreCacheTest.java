@@ -0,0 +1,199 @@
+package com.linkedin.venice.store.cache.offheap;
+
+import com.linkedin.davinci.store.cache.backend.ObjectCacheConfig;
+import com.linkedin.davinci.store.cache.backend.ObjectCacheType;
+import com.linkedin.davinci.store.cache.offheap.OffHeapVeniceStoreCache;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class OffHeapVeniceStoreCacheTest {
+  private static String NON_PRESENT_KEY = "Skyrgamur";
+  private static String PRESENT_KEY = "Stekkjarstaur";
+  private static String PRESENT_VALUE = "Giljagaur";
+  private static String SECOND_PRESENT_VALUE = "Stufur";
+  private static final Schema VALUE_SCHEMA = new Schema.Parser().parse(
+      "{\"type\":\"record\",\"name\":\"Yule\",\"fields\":[{\"name\":\"name\",\"type\":\"string\"},"
+          + "{\"name\":\"age\",\"type\":\"int\"}]}");
+
+  private static ObjectCacheConfig buildConfig(long sizeInBytes) {
+    return new ObjectCacheConfig().setCacheType(ObjectCacheType.OFF_HEAP)
+        .setMaxPerPartitionCacheSizeInBytes(sizeInBytes);
+  }
+
+  @Test
+  public void testCRUDOperations() {
+    OffHeapVeniceStoreCache cache = new OffHeapVeniceStoreCache(buildConfig(64 * 1024), (key, executor) -> null);
+    try {
+      Assert.assertNull(cache.getIfPresent(NON_PRESENT_KEY));
+
+      cache.insert(PRESENT_KEY, PRESENT_VALUE);
+      Assert.assertEquals(cache.getIfPresent(PRESENT_KEY), PRESENT_VALUE);
+
+      cache.insert(PRESENT_KEY, SECOND_PRESENT_VALUE);
+      Assert.assertEquals(cache.getIfPresent(PRESENT_KEY), SECOND_PRESENT_VALUE);
+
+      cache.invalidate(PRESENT_KEY);
+      Assert.assertNull(cache.getIfPresent(PRESENT_KEY));
+
+      cache.insert(PRESENT_KEY, PRESENT_VALUE);
+      cache.insert(NON_PRESENT_KEY, SECOND_PRESENT_VALUE);
+      Assert.assertEquals(cache.size(), 2);
+      Map<String, String> presentValues =
+          cache.getAllPresent(Arrays.asList(PRESENT_KEY, NON_PRESENT_KEY, "Pottaskefill"));
+      Assert.assertEquals(presentValues.size(), 2);
+      Assert.assertEquals(presentValues.get(NON_PRESENT_KEY), SECOND_PRESENT_VALUE);
+
+      cache.clear();
+      Assert.assertNull(cache.getIfPresent(PRESENT_KEY));
+      Assert.assertNull(cache.getIfPresent(NON_PRESENT_KEY));
+      Assert.assertEquals(cache.size(), 0);
+      Assert.assertEquals(cache.hitCount(), 4);
+      Assert.assertEquals(cache.missCount(), 5);
+    } finally {
+      cache.close();
+    }
+  }
+
+  @Test
+  public void testRecordsAreDeserializedOnHit() {
+    OffHeapVeniceStoreCache cache = new OffHeapVeniceStoreCache(buildConfig(64 * 1024), (key, executor) -> null);
+    try {
+      GenericRecord record = new GenericData.Record(VALUE_SCHEMA);
+      record.put("name", "Kertasnikir");
+      record.put("age", 13);
+      cache.insert(PRESENT_KEY, record);
+
+      GenericRecord cachedRecord = cache.getIfPresent(PRESENT_KEY);
+      Assert.assertNotSame(cachedRecord, record);
+      Assert.assertEquals(cachedRecord.get("name").toString(), "Kertasnikir");
+      Assert.assertEquals(cachedRecord.get("age"), 13);
+      // Mutating a handed out record doesn't affect the cached value
+      cachedRecord.put("age", 14);
+      Assert.assertEquals(((GenericRecord) cache.getIfPresent(PRESENT_KEY)).get("age"), 13);
+    } finally {
+      cache.close();
+    }
+  }
+
+  @Test
+  public void testLoadingFunction() {
+    AtomicInteger loadCount = new AtomicInteger();
+    OffHeapVeniceStoreCache cache = new OffHeapVeniceStoreCache(buildConfig(64 * 1024), (key, executor) -> {
+      loadCount.incrementAndGet();
+      return CompletableFuture.completedFuture(key + "_value");
+    });
+    try {
+      Assert.assertEquals(cache.get(PRESENT_KEY).join(), PRESENT_KEY + "_value");
+      Assert.assertEquals(cache.get(PRESENT_KEY).join(), PRESENT_KEY + "_value");
+      Assert.assertEquals(loadCount.get(), 1);
+
+      Map<String, String> values =
+          cache.<String, String>getAll(Arrays.asList(PRESENT_KEY, NON_PRESENT_KEY), keys -> {
+            Assert.assertFalse(keys.iterator().next().equals(PRESENT_KEY));
+            return Collections.singletonMap(NON_PRESENT_KEY, SECOND_PRESENT_VALUE);
+          }).join();
+      Assert.assertEquals(values.size(), 2);
+      Assert.assertEquals(cache.getIfPresent(NON_PRESENT_KEY), SECOND_PRESENT_VALUE);
+    } finally {
+      cache.close();
+    }
+  }
+
+  @Test
+  public void testCapacityAndAdmission() {
+    // A single slab of 1KB, holding 16 chunks of the smallest size class
+    OffHeapVeniceStoreCache cache =
+        new OffHeapVeniceStoreCache(buildConfig(1024), (key, executor) -> CompletableFuture.completedFuture("v"));
+    try {
+      String hotKey = "hot";
+      for (int i = 0; i < 10; i++) {
+        Assert.assertEquals(cache.get(hotKey).join(), "v");
+      }
+      for (int i = 0; i < 1000; i++) {
+        Assert.assertEquals(cache.get("cold_" + i).join(), "v");
+        if (i % 10 == 0) {
+          Assert.assertEquals(cache.get(hotKey).join(), "v");
+        }
+      }
+      Assert.assertTrue(cache.size() <= 16, "Cache holds " + cache.size() + " entries");
+      Assert.assertEquals(cache.getAllocatedSizeInBytes(), 1024);
+      // The one-hit wonders never win against the frequently accessed key
+      Assert.assertEquals(cache.getIfPresent(hotKey), "v");
+
+      // Values bigger than the capacity are never cached
+      char[] bigValue = new char[2048];
+      Arrays.fill(bigValue, 'a');
+      cache.insert("big", new String(bigValue));
+      Assert.assertNull(cache.getIfPresent("big"));
+    } finally {
+      cache.close();
+    }
+  }
+
+  @Test
+  public void testLoadRacingWithWriteIsNotCached() {
+    CompletableFuture<Object> pendingLoad = new CompletableFuture<>();
+    OffHeapVeniceStoreCache cache =
+        new OffHeapVeniceStoreCache(buildConfig(64 * 1024), (key, executor) -> pendingLoad);
+    try {
+      CompletableFuture<String> load = cache.get(PRESENT_KEY);
+      cache.invalidate(PRESENT_KEY);
+      pendingLoad.complete(PRESENT_VALUE);
+      // The load still completes for its reader, but its value may be stale
+      Assert.assertEquals(load.join(), PRESENT_VALUE);
+      Assert.assertNull(cache.getIfPresent(PRESENT_KEY));
+
+      Map<String, String> values = cache.<String, String>getAll(Collections.singletonList(PRESENT_KEY), keys -> {
+        // Written while the values were being loaded
+        cache.insert(PRESENT_KEY, SECOND_PRESENT_VALUE);
+        return Collections.singletonMap(PRESENT_KEY, PRESENT_VALUE);
+      }).join();
+      Assert.assertEquals(values.get(PRESENT_KEY), PRESENT_VALUE);
+      Assert.assertEquals(cache.getIfPresent(PRESENT_KEY), SECOND_PRESENT_VALUE);
+    } finally {
+      cache.close();
+    }
+  }
+
+  @Test
+  public void testSlabsMoveToTheSizeClassInUse() {
+    // 4 slabs of 1MB
+    OffHeapVeniceStoreCache cache = new OffHeapVeniceStoreCache(buildConfig(4 * 1024 * 1024), (key, executor) -> null);
+    try {
+      // Small values take all the slabs
+      for (int i = 0; i < 100_000; i++) {
+        cache.insert("small_" + i, "v" + i);
+      }
+      Assert.assertEquals(cache.getAllocatedSizeInBytes(), 4 * 1024 * 1024);
+      long smallValueCount = cache.size();
+
+      // Then the values grow, and the slabs follow them
+      char[] bigValue = new char[500];
+      Arrays.fill(bigValue, 'a');
+      for (int i = 0; i < 10_000; i++) {
+        cache.insert("big_" + i, new String(bigValue));
+      }
+      int bigValueCount = 0;
+      for (int i = 0; i < 10_000; i++) {
+        if (cache.getIfPresent("big_" + i) != null) {
+          bigValueCount++;
+        }
+      }
+      // More than what a single slab of chunks of at least 512 bytes holds
+      Assert.assertTrue(bigValueCount > 2048, "Cache holds " + bigValueCount + " big values");
+      Assert.assertTrue(cache.size() < smallValueCount, "Cache holds " + cache.size() + " entries");
+      Assert.assertEquals(cache.getAllocatedSizeInBytes(), 4 * 1024 * 1024);
+    } finally {
+      cache.close();
+    }
+  }
+}